@@ -0,0 +1,134 @@
+package teammates.client.scripts;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.common.util.ActivityLogEntry;
+
+import com.google.appengine.api.log.AppLogLine;
+
+/**
+ * Compares the cost of turning a dump of app log lines into activity log entries the way
+ * AdminActivityLogPageAction used to do it, splitting every line with a regex and generating
+ * the HTML of every entry, against the way it does it now, splitting lines without a regex
+ * and generating the HTML of the shown entries only.<br>
+ * Both throughput and the number of bytes allocated are reported.<br>
+ * Usage: java ActivityLogParsingBenchmark [number of log lines] [number of rounds]
+ */
+public final class ActivityLogParsingBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_LOG_LINES = 100000;
+    private static final int DEFAULT_NUMBER_OF_ROUNDS = 5;
+    private static final int WARM_UP_ROUNDS = 2;
+
+    /** Number of entries shown on one activity log page */
+    private static final int ENTRIES_SHOWN = 50;
+
+    private ActivityLogParsingBenchmark() {
+        // script, not meant to be instantiated
+    }
+
+    public static void main(String[] args) {
+        int numberOfLogLines = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUMBER_OF_LOG_LINES;
+        int numberOfRounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUMBER_OF_ROUNDS;
+
+        List<AppLogLine> logLines = generateLogLines(numberOfLogLines);
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            parseEagerly(logLines);
+            parseLazily(logLines);
+        }
+
+        long eagerNanos = 0;
+        long lazyNanos = 0;
+        long eagerBytes = 0;
+        long lazyBytes = 0;
+        for (int i = 0; i < numberOfRounds; i++) {
+            long startBytes = getAllocatedBytes();
+            long start = System.nanoTime();
+            parseEagerly(logLines);
+            eagerNanos += System.nanoTime() - start;
+            eagerBytes += getAllocatedBytes() - startBytes;
+
+            startBytes = getAllocatedBytes();
+            start = System.nanoTime();
+            parseLazily(logLines);
+            lazyNanos += System.nanoTime() - start;
+            lazyBytes += getAllocatedBytes() - startBytes;
+        }
+
+        System.out.println("Parsing " + numberOfLogLines + " log lines, " + numberOfRounds + " rounds");
+        printResult("regex split, eager HTML", numberOfLogLines * numberOfRounds, eagerNanos, eagerBytes);
+        printResult("tokenizer, lazy HTML", numberOfLogLines * numberOfRounds, lazyNanos, lazyBytes);
+    }
+
+    private static long parseEagerly(List<AppLogLine> logLines) {
+        long totalLength = 0;
+        for (AppLogLine logLine : logLines) {
+            // the fields were split with a regex before the entry was created
+            totalLength += logLine.getLogMessage().split("\\|\\|\\|", -1).length;
+            ActivityLogEntry entry = new ActivityLogEntry(logLine);
+            totalLength += entry.getLogInfoForTableRowAsHtml().length();
+        }
+        return totalLength;
+    }
+
+    private static long parseLazily(List<AppLogLine> logLines) {
+        long totalLength = 0;
+        int entriesShown = 0;
+        for (AppLogLine logLine : logLines) {
+            ActivityLogEntry entry = new ActivityLogEntry(logLine);
+            if (entriesShown < ENTRIES_SHOWN) {
+                totalLength += entry.getLogInfoForTableRowAsHtml().length();
+                entriesShown++;
+            }
+        }
+        return totalLength;
+    }
+
+    /**
+     * @return the number of bytes allocated by the current thread so far, or 0 if the JVM cannot tell
+     */
+    private static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+        if (threadMxBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMxBean).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static void printResult(String name, int numberOfLogLines, long nanos, long bytes) {
+        double seconds = nanos / 1e9;
+        System.out.println(String.format("%-24s %10.0f lines/s %8.0f bytes/line (%.3f s in total)",
+                                         name, numberOfLogLines / seconds, (double) bytes / numberOfLogLines,
+                                         seconds));
+    }
+
+    /**
+     * Generates log lines of page loads by instructors and students, in the format of
+     * {@link ActivityLogEntry#generateLogMessage()} followed by the time taken.
+     */
+    private static List<AppLogLine> generateLogLines(int numberOfLogLines) {
+        List<AppLogLine> logLines = new ArrayList<AppLogLine>();
+        long time = 1476835200000L;
+        for (int i = 0; i < numberOfLogLines; i++) {
+            boolean isInstructor = i % 3 == 0;
+            String googleId = (isInstructor ? "instructor" : "student") + i % 500;
+            String servletName = isInstructor ? "instructorHomePage" : "studentFeedbackSubmissionEditPage";
+            String logMessage = "TEAMMATESLOG|||" + servletName + "|||" + servletName + "|||true|||"
+                              + (isInstructor ? "Instructor" : "Student") + "|||User " + i % 500 + "|||" + googleId
+                              + "|||" + googleId + "@u.nus.edu|||"
+                              + "Page loaded for <span class=\"bold\">" + googleId + "</span> in CS2103T-AY1617S1"
+                              + "|||/page/" + servletName + "?user=" + googleId
+                              + "|||" + googleId + "%20161019" + String.format("%09d", i) + "|||" + (50 + i % 2000);
+            AppLogLine logLine = new AppLogLine();
+            logLine.setLogMessage(logMessage);
+            logLine.setTimeUsec((time + i * 100L) * 1000);
+            logLines.add(logLine);
+        }
+        return logLines;
+    }
+
+}
@@ -0,0 +1,96 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import teammates.client.remoteapi.RemoteApiClient;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackResponse;
+
+/**
+ * Script to set the sections of the giver and the recipient kept in each response, for the responses
+ * stored before the sections were kept, so that the responses are found by the queries for a section.
+ * 
+ * The responses are read a page at a time in order of response ID, and the responses of a page whose sections
+ * need setting are saved together, keeping their update timestamps.
+ * Responses whose sections are already set are left as they are, so the script can be run again if stopped.
+ * 
+ * Once the script has run without finding responses to update, set {@code app.responses.sections.migrated}
+ * in build.properties so that the queries for a section use the sections kept in each response.
+ */
+public class DataMigrationForSectionsInResponses extends RemoteApiClient {
+    
+    private static final boolean isPreview = true;
+    
+    private static final int PAGE_SIZE = 500;
+    
+    public static void main(String[] args) throws IOException {
+        DataMigrationForSectionsInResponses migrator = new DataMigrationForSectionsInResponses();
+        migrator.doOperationRemotely();
+    }
+    
+    @Override
+    protected void doOperation() {
+        Datastore.initialize();
+        
+        int numberOfResponsesRead = 0;
+        int numberOfResponsesToUpdate = 0;
+        String cursor = null;
+        do {
+            List<FeedbackResponse> responses = getResponsesAfter(cursor);
+            List<FeedbackResponse> responsesToUpdate = new ArrayList<FeedbackResponse>();
+            for (FeedbackResponse response : responses) {
+                if (!JDOHelper.isDeleted(response) && !response.hasSectionsUpdated()) {
+                    responsesToUpdate.add(response);
+                }
+            }
+            numberOfResponsesRead += responses.size();
+            numberOfResponsesToUpdate += responsesToUpdate.size();
+            
+            if (!isPreview) {
+                updateSections(responsesToUpdate);
+            }
+            cursor = responses.size() < PAGE_SIZE ? null : responses.get(responses.size() - 1).getId();
+            System.out.println(numberOfResponsesRead + " responses read, " + numberOfResponsesToUpdate
+                               + (isPreview ? " to be updated" : " updated"));
+        } while (cursor != null);
+    }
+    
+    private void updateSections(List<FeedbackResponse> responses) {
+        for (FeedbackResponse response : responses) {
+            response.keepUpdateTimestamp = true;
+            response.updateSections();
+        }
+        getPm().makePersistentAll(responses);
+        getPm().flush();
+        // the responses of the page are not needed after they are saved
+        getPm().evictAll();
+    }
+    
+    private List<FeedbackResponse> getResponsesAfter(String cursor) {
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.setOrdering("feedbackResponseId ascending");
+        q.setRange(0, PAGE_SIZE);
+        
+        if (cursor == null) {
+            @SuppressWarnings("unchecked")
+            List<FeedbackResponse> responses = (List<FeedbackResponse>) q.execute();
+            return responses;
+        }
+        q.declareParameters("String cursorParam");
+        q.setFilter("feedbackResponseId > cursorParam");
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> responses = (List<FeedbackResponse>) q.execute(cursor);
+        return responses;
+    }
+    
+    private PersistenceManager getPm() {
+        return Datastore.getPersistenceManager();
+    }
+    
+}
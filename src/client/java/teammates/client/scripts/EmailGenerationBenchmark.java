@@ -0,0 +1,117 @@
+package teammates.client.scripts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.common.util.CompiledTemplate;
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+
+/**
+ * Compares the throughput of populating feedback session opening emails for a large course
+ * with {@link Templates#populateTemplate(String, String...)}, as EmailGenerator used to do,
+ * against {@link CompiledTemplate}, which EmailGenerator uses now.<br>
+ * Only the rendering of the email bodies is measured; reading the course from the datastore is not.<br>
+ * Usage: java EmailGenerationBenchmark [number of students] [number of rounds]
+ */
+public final class EmailGenerationBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_STUDENTS = 2000;
+    private static final int DEFAULT_NUMBER_OF_ROUNDS = 20;
+    private static final int WARM_UP_ROUNDS = 5;
+
+    private static final String STATUS = "is now open";
+    private static final CompiledTemplate FEEDBACK_SESSION_OPENING = CompiledTemplate.compile(
+            EmailTemplates.USER_FEEDBACK_SESSION.replace("${status}", STATUS));
+
+    private EmailGenerationBenchmark() {
+        // script, not meant to be instantiated
+    }
+
+    public static void main(String[] args) {
+        int numberOfStudents = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUMBER_OF_STUDENTS;
+        int numberOfRounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUMBER_OF_ROUNDS;
+
+        List<String[]> recipients = generateRecipientValues(numberOfStudents);
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            renderWithPopulateTemplate(recipients);
+            renderWithCompiledTemplate(recipients);
+        }
+
+        long populateTemplateNanos = 0;
+        long compiledTemplateNanos = 0;
+        // the rendered lengths are used so that the rendering cannot be optimised away
+        long populateTemplateLength = 0;
+        long compiledTemplateLength = 0;
+        for (int i = 0; i < numberOfRounds; i++) {
+            long start = System.nanoTime();
+            populateTemplateLength += renderWithPopulateTemplate(recipients);
+            populateTemplateNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            compiledTemplateLength += renderWithCompiledTemplate(recipients);
+            compiledTemplateNanos += System.nanoTime() - start;
+        }
+
+        if (populateTemplateLength != compiledTemplateLength) {
+            System.out.println("Warning: the two ways of rendering gave emails of different lengths");
+        }
+
+        System.out.println("Opening emails for " + numberOfStudents + " students, " + numberOfRounds + " rounds");
+        printThroughput("populateTemplate", numberOfStudents * numberOfRounds, populateTemplateNanos);
+        printThroughput("CompiledTemplate", numberOfStudents * numberOfRounds, compiledTemplateNanos);
+    }
+
+    private static long renderWithPopulateTemplate(List<String[]> recipients) {
+        long totalLength = 0;
+        for (String[] values : recipients) {
+            String emailBody = Templates.populateTemplate(EmailTemplates.USER_FEEDBACK_SESSION, values);
+            totalLength += emailBody.replace("${status}", STATUS).length();
+        }
+        return totalLength;
+    }
+
+    private static long renderWithCompiledTemplate(List<String[]> recipients) {
+        long totalLength = 0;
+        for (String[] values : recipients) {
+            totalLength += FEEDBACK_SESSION_OPENING.render(values).length();
+        }
+        return totalLength;
+    }
+
+    private static void printThroughput(String name, int numberOfEmails, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.println(String.format("%-18s %10.0f emails/s (%.3f s in total)",
+                                         name, numberOfEmails / seconds, seconds));
+    }
+
+    /**
+     * Generates the values EmailGenerator fills in for each student of a course,
+     * with URLs of realistic length.
+     */
+    private static List<String[]> generateRecipientValues(int numberOfStudents) {
+        List<String[]> recipients = new ArrayList<String[]>();
+        String courseId = "CS2103T-AY1617S1";
+        String sessionName = "Peer Evaluation 1";
+        for (int i = 0; i < numberOfStudents; i++) {
+            String studentEmail = "student" + i + "@u.nus.edu";
+            String key = String.format("%064x", i);
+            String urlParams = "?courseid=" + courseId + "&fsname=Peer+Evaluation+1&key=" + key
+                             + "&studentemail=" + studentEmail;
+            recipients.add(new String[] {
+                    "${userName}", "Student " + i,
+                    "${courseName}", "Software Engineering",
+                    "${courseId}", courseId,
+                    "${feedbackSessionName}", sessionName,
+                    "${deadline}", "Sun, 20 Nov 2016, 11:59 PM",
+                    "${instructorFragment}", "",
+                    "${submitUrl}", "https://teammatesv4.appspot.com/page/studentFeedbackSubmissionEditPage" + urlParams,
+                    "${reportUrl}", "https://teammatesv4.appspot.com/page/studentFeedbackResultsPage" + urlParams,
+                    "${supportEmail}", "teammates@comp.nus.edu.sg"
+            });
+        }
+        return recipients;
+    }
+
+}
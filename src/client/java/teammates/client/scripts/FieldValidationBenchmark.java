@@ -0,0 +1,147 @@
+package teammates.client.scripts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentAttributesFactory;
+import teammates.common.exception.EnrollException;
+import teammates.common.util.CompiledRegex;
+import teammates.common.util.FieldValidator;
+
+/**
+ * Measures the cost of validating the students of a large enrollment.<br>
+ * The regex checks done for every student are timed both the way StringHelper used to do them,
+ * compiling each regex with {@link Pattern#CANON_EQ} on every call, and with the {@link CompiledRegex}
+ * instances FieldValidator holds now; the results of both must be the same for every row.
+ * The whole enrollment, i.e. parsing each line and validating the student, is timed as well.<br>
+ * Usage: java FieldValidationBenchmark [number of students] [number of rounds]
+ */
+public final class FieldValidationBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_STUDENTS = 10000;
+    private static final int DEFAULT_NUMBER_OF_ROUNDS = 10;
+    private static final int WARM_UP_ROUNDS = 3;
+
+    private static final String COURSE_ID = "CS2103T-AY1617S1";
+    private static final String HEADER_ROW = "Section|Team|Name|Email|Comments";
+
+    private static final CompiledRegex COMPILED_REGEX_NAME = CompiledRegex.compile(FieldValidator.REGEX_NAME);
+    private static final CompiledRegex COMPILED_REGEX_EMAIL = CompiledRegex.compile(FieldValidator.REGEX_EMAIL);
+    private static final CompiledRegex COMPILED_REGEX_COURSE_ID =
+            CompiledRegex.compile(FieldValidator.REGEX_COURSE_ID);
+
+    private FieldValidationBenchmark() {
+        // script, not meant to be instantiated
+    }
+
+    public static void main(String[] args) throws EnrollException {
+        int numberOfStudents = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUMBER_OF_STUDENTS;
+        int numberOfRounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUMBER_OF_ROUNDS;
+
+        List<String> enrollLines = generateEnrollLines(numberOfStudents);
+        List<String[]> rows = new ArrayList<String[]>();
+        for (String line : enrollLines) {
+            rows.add(line.split("\\|"));
+        }
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            matchWithPatternCompiledPerCall(rows);
+            matchWithCompiledRegex(rows);
+            enroll(enrollLines);
+        }
+
+        long perCallNanos = 0;
+        long compiledNanos = 0;
+        long enrollNanos = 0;
+        for (int i = 0; i < numberOfRounds; i++) {
+            long start = System.nanoTime();
+            int perCallResult = matchWithPatternCompiledPerCall(rows);
+            perCallNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int compiledResult = matchWithCompiledRegex(rows);
+            compiledNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            enroll(enrollLines);
+            enrollNanos += System.nanoTime() - start;
+
+            if (perCallResult != compiledResult) {
+                System.out.println("Warning: the two ways of matching gave different results");
+            }
+        }
+
+        System.out.println("Validating " + numberOfStudents + " students, " + numberOfRounds + " rounds");
+        printThroughput("regex compiled per call", numberOfStudents * numberOfRounds, perCallNanos);
+        printThroughput("CompiledRegex", numberOfStudents * numberOfRounds, compiledNanos);
+        printThroughput("whole enrollment", numberOfStudents * numberOfRounds, enrollNanos);
+    }
+
+    /**
+     * @return a checksum of the results, one bit per check, so that both ways can be compared
+     */
+    private static int matchWithPatternCompiledPerCall(List<String[]> rows) {
+        int checksum = 0;
+        for (String[] row : rows) {
+            int result = 0;
+            result = result << 1 | (matchesPerCall(row[2], FieldValidator.REGEX_NAME) ? 1 : 0);
+            result = result << 1 | (matchesPerCall(row[1], FieldValidator.REGEX_NAME) ? 1 : 0);
+            result = result << 1 | (matchesPerCall(row[3], FieldValidator.REGEX_EMAIL) ? 1 : 0);
+            result = result << 1 | (matchesPerCall(COURSE_ID, FieldValidator.REGEX_COURSE_ID) ? 1 : 0);
+            checksum = checksum * 31 + result;
+        }
+        return checksum;
+    }
+
+    private static int matchWithCompiledRegex(List<String[]> rows) {
+        int checksum = 0;
+        for (String[] row : rows) {
+            int result = 0;
+            result = result << 1 | (COMPILED_REGEX_NAME.matches(row[2]) ? 1 : 0);
+            result = result << 1 | (COMPILED_REGEX_NAME.matches(row[1]) ? 1 : 0);
+            result = result << 1 | (COMPILED_REGEX_EMAIL.matches(row[3]) ? 1 : 0);
+            result = result << 1 | (COMPILED_REGEX_COURSE_ID.matches(COURSE_ID) ? 1 : 0);
+            checksum = checksum * 31 + result;
+        }
+        return checksum;
+    }
+
+    private static boolean matchesPerCall(String input, String regex) {
+        return Pattern.compile(regex, Pattern.CANON_EQ).matcher(input).matches();
+    }
+
+    private static int enroll(List<String> enrollLines) throws EnrollException {
+        StudentAttributesFactory factory = new StudentAttributesFactory(HEADER_ROW);
+        int numberOfInvalidStudents = 0;
+        for (String line : enrollLines) {
+            StudentAttributes student = factory.makeStudent(line, COURSE_ID);
+            if (!student.getInvalidityInfo().isEmpty()) {
+                numberOfInvalidStudents++;
+            }
+        }
+        return numberOfInvalidStudents;
+    }
+
+    private static void printThroughput(String name, int numberOfStudents, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.println(String.format("%-24s %10.0f students/s (%.3f s in total)",
+                                         name, numberOfStudents / seconds, seconds));
+    }
+
+    /**
+     * Generates enroll lines, with one in ten names having accented characters
+     * and one in fifty emails being invalid.
+     */
+    private static List<String> generateEnrollLines(int numberOfStudents) {
+        List<String> lines = new ArrayList<String>();
+        for (int i = 0; i < numberOfStudents; i++) {
+            String name = i % 10 == 0 ? "José Ramírez " + i : "Student Name " + i;
+            String email = i % 50 == 0 ? "student" + i + "@invalid" : "student" + i + "@u.nus.edu";
+            lines.add("Tutorial " + i / 500 + "|Team " + i / 5 + "|" + name + "|" + email + "|comment " + i);
+        }
+        return lines;
+    }
+
+}
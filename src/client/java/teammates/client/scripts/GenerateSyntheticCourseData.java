@@ -0,0 +1,60 @@
+package teammates.client.scripts;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.util.Utils;
+import teammates.test.driver.SyntheticDataBundleGenerator;
+import teammates.test.util.FileHelper;
+
+/**
+ * Script to write the data of a synthetic course generated by {@link SyntheticDataBundleGenerator}
+ * to JSON files, e.g. as fixtures of load tests and benchmarks.<br>
+ * The shape of the course and the seed are given by the system properties {@code synthetic.*},
+ * as described in {@link SyntheticDataBundleGenerator.Shape#fromProperties}, and the files are written to
+ * the folder given by {@code synthetic.outputDir}. Run it with {@code ./gradlew generateSyntheticData}.
+ *
+ * The course, with its students, sessions and questions, is written to {@code <courseId>.json}, and the
+ * responses and comments of each session to a file of the session of their own, so that a course with
+ * millions of responses is written without keeping all its responses in memory.
+ */
+public final class GenerateSyntheticCourseData {
+
+    private static final String DEFAULT_OUTPUT_DIR = "build/synthetic-data";
+
+    private GenerateSyntheticCourseData() {
+        // script, not meant to be instantiated
+    }
+
+    public static void main(String[] args) throws IOException {
+        Properties properties = System.getProperties();
+        SyntheticDataBundleGenerator generator = new SyntheticDataBundleGenerator(
+                SyntheticDataBundleGenerator.Shape.fromProperties(properties),
+                SyntheticDataBundleGenerator.getSeed(properties));
+        String courseId = generator.getShape().courseId;
+        File outputDir = new File(properties.getProperty(SyntheticDataBundleGenerator.PROPERTY_PREFIX + "outputDir",
+                                                         DEFAULT_OUTPUT_DIR));
+        outputDir.mkdirs();
+
+        writeDataBundle(generator.generateCourse(), new File(outputDir, courseId + ".json"));
+
+        int numOfResponses = 0;
+        for (int sessionIndex = 0; sessionIndex < generator.getShape().numOfSessions; sessionIndex++) {
+            DataBundle sessionResponses = generator.generateResponses(sessionIndex);
+            writeDataBundle(sessionResponses,
+                            new File(outputDir, courseId + "-session" + (sessionIndex + 1) + ".json"));
+            numOfResponses += sessionResponses.feedbackResponses.size();
+            System.out.println(generator.getSessionName(sessionIndex) + ": "
+                               + sessionResponses.feedbackResponses.size() + " responses, "
+                               + sessionResponses.feedbackResponseComments.size() + " comments");
+        }
+        System.out.println(numOfResponses + " responses written to " + outputDir.getAbsolutePath());
+    }
+
+    private static void writeDataBundle(DataBundle dataBundle, File file) throws IOException {
+        FileHelper.saveFile(file.getPath(), Utils.getTeammatesGson().toJson(dataBundle));
+    }
+
+}
@@ -28,7 +28,10 @@ import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Url;
 import teammates.logic.api.Logic;
+import teammates.logic.automated.EntityModifiedLogsServlet;
 import teammates.storage.api.CommentsDb;
 import teammates.storage.api.FeedbackQuestionsDb;
 import teammates.storage.api.FeedbackResponseCommentsDb;
@@ -58,22 +61,32 @@ public class OfflineBackup extends RemoteApiClient {
     }
     
     /**
-     * Opens a connection to the entityModifiedLogs servlet to retrieve a log of all recently modified entities
+     * Opens connections to the entityModifiedLogs servlet to retrieve the IDs of all recently modified courses,
+     * a page of the course change feed at a time
      */
     private List<String> getModifiedLogs() {
         List<String> modifiedLogs = new ArrayList<String>();
+        // fixes the end of the window so that all the pages are of the same window
+        String endTime = String.valueOf(System.currentTimeMillis());
+        String cursor = null;
         try {
-            //Opens a URL connection to obtain the entity modified logs
-            URL url = new URL(TestProperties.TEAMMATES_URL + "/entityModifiedLogs");
+            do {
+                //Opens a URL connection to obtain a page of the entity modified logs
+                String pageUrl = Url.addParamToUrl(TestProperties.TEAMMATES_URL + "/entityModifiedLogs",
+                                                   Const.ParamsNames.CHANGE_FEED_ENDTIME, endTime);
+                pageUrl = Url.addParamToUrl(pageUrl, Const.ParamsNames.CHANGE_FEED_CURSOR, cursor);
+                URL url = new URL(pageUrl);
+                
+                URLConnection urlConn = url.openConnection();
             
-            URLConnection urlConn = url.openConnection();
-        
-            BufferedReader in = new BufferedReader(new InputStreamReader(urlConn.getInputStream()));
-            String logMessage;
-            while ((logMessage = in.readLine()) != null) {
-                modifiedLogs.add(logMessage);
-            }
-            in.close();
+                BufferedReader in = new BufferedReader(new InputStreamReader(urlConn.getInputStream()));
+                String logMessage;
+                while ((logMessage = in.readLine()) != null) {
+                    modifiedLogs.add(logMessage);
+                }
+                in.close();
+                cursor = urlConn.getHeaderField(EntityModifiedLogsServlet.NEXT_CURSOR_HEADER);
+            } while (cursor != null);
         } catch (IOException e) {
             System.out.println("Error occurred while trying to access modified entity logs: " + e.getMessage());
         }
@@ -0,0 +1,63 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import teammates.client.remoteapi.RemoteApiClient;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.InvalidParametersException;
+import teammates.storage.datastore.Datastore;
+import teammates.test.driver.SyntheticCourseDataPersister;
+import teammates.test.driver.SyntheticDataBundleGenerator;
+
+/**
+ * Script to persist a synthetic course generated by {@link SyntheticDataBundleGenerator} straight into
+ * the datastore of the app, e.g. to load test the app with a course with millions of responses.<br>
+ * The shape of the course and the seed are given by the system properties {@code synthetic.*},
+ * as described in {@link SyntheticDataBundleGenerator.Shape#fromProperties}.
+ * The data is persisted by {@link SyntheticCourseDataPersister}, a session of responses at a time.
+ */
+public class PersistSyntheticCourseData extends RemoteApiClient {
+
+    private static final boolean isPreview = true;
+
+    public static void main(String[] args) throws IOException {
+        PersistSyntheticCourseData persister = new PersistSyntheticCourseData();
+        persister.doOperationRemotely();
+    }
+
+    @Override
+    protected void doOperation() {
+        Datastore.initialize();
+
+        Properties properties = System.getProperties();
+        SyntheticDataBundleGenerator generator = new SyntheticDataBundleGenerator(
+                SyntheticDataBundleGenerator.Shape.fromProperties(properties),
+                SyntheticDataBundleGenerator.getSeed(properties));
+        SyntheticCourseDataPersister persister = new SyntheticCourseDataPersister();
+        DataBundle course = generator.generateCourse();
+        System.out.println(course.students.size() + " students, " + course.feedbackSessions.size() + " sessions, "
+                           + course.feedbackQuestions.size() + " questions"
+                           + (isPreview ? " to be persisted" : " persisted"));
+
+        try {
+            if (!isPreview) {
+                persister.persistCourse(course);
+            }
+            for (int sessionIndex = 0; sessionIndex < generator.getShape().numOfSessions; sessionIndex++) {
+                String sessionName = generator.getSessionName(sessionIndex);
+                DataBundle sessionResponses = generator.generateResponses(sessionIndex);
+                System.out.println(sessionName + ": " + sessionResponses.feedbackResponses.size() + " responses, "
+                                   + sessionResponses.feedbackResponseComments.size() + " comments"
+                                   + (isPreview ? " to be persisted" : " persisted"));
+                if (!isPreview) {
+                    persister.persistResponses(generator.getShape().courseId, sessionName, sessionResponses);
+                }
+            }
+        } catch (InvalidParametersException | EntityDoesNotExistException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
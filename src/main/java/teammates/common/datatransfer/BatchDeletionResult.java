@@ -0,0 +1,39 @@
+package teammates.common.datatransfer;
+
+/**
+ * The result of deleting a batch of the entities of a course: the number of entities the batch deleted,
+ * and whether the batch was the last one, i.e. its query found fewer entities than the batch size.<br>
+ * The two are kept apart because the query of a batch may still return entities deleted by an earlier batch,
+ * which count towards the batch size but are not deleted again.
+ */
+public class BatchDeletionResult {
+
+    private final int numberOfEntitiesDeleted;
+    private final boolean isLastBatch;
+
+    public BatchDeletionResult(int numberOfEntitiesDeleted, boolean isLastBatch) {
+        this.numberOfEntitiesDeleted = numberOfEntitiesDeleted;
+        this.isLastBatch = isLastBatch;
+    }
+
+    public int getNumberOfEntitiesDeleted() {
+        return numberOfEntitiesDeleted;
+    }
+
+    /**
+     * @return true if there are no more entities left to delete after this batch
+     */
+    public boolean isLastBatch() {
+        return isLastBatch;
+    }
+
+    /**
+     * @return the result of this batch together with {@code next}, a batch of entities of another kind
+     *         deleted after those of this batch, which is the last batch only if both are
+     */
+    public BatchDeletionResult followedBy(BatchDeletionResult next) {
+        return new BatchDeletionResult(numberOfEntitiesDeleted + next.numberOfEntitiesDeleted,
+                                       isLastBatch && next.isLastBatch);
+    }
+
+}
@@ -0,0 +1,415 @@
+package teammates.common.datatransfer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+
+/**
+ * An immutable form of {@link InstructorPrivileges} which answers privilege checks with array lookups.<br>
+ * Each privilege is a bit, so the privileges of a level are a bitset. The section and session names are
+ * mapped to small ids once, and the privileges of every (section, session) pair are resolved in advance
+ * with the same fallback as {@link InstructorPrivileges}: session level, then section level, then course level.<br>
+ * It also has a compact text encoding for storage, which is much shorter than the JSON of the privileges.
+ * Every level records which privileges are set as well as which are allowed,
+ * so that the privileges can be recreated exactly from the encoding.
+ */
+public final class CompiledInstructorPrivileges {
+
+    /**
+     * The privileges in the order of their bits. The order is part of the stored encoding,
+     * so new privileges must be added at the end.
+     */
+    private static final String[] PRIVILEGE_NAMES = new String[] {
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COURSE,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_INSTRUCTOR,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_STUDENT,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_COMMENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_GIVE_COMMENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COMMENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION_COMMENT_IN_SECTIONS
+    };
+
+    /** Starts every compact encoding, which tells it apart from the JSON of the privileges */
+    private static final String COMPACT_TEXT_PREFIX = "~1";
+
+    /** Number of hex digits used for a bitset in the compact encoding */
+    private static final int HEX_DIGITS_PER_BITSET = 3;
+
+    /** Flags for whether a section has section level and session level privileges in the compact encoding */
+    private static final int HAS_SECTION_LEVEL = 1;
+    private static final int HAS_SESSION_LEVEL = 2;
+
+    /** Stands for a (section, session) pair with no session level privileges */
+    private static final int NOT_SPECIAL = -1;
+
+    private static final HashMap<String, Integer> PRIVILEGE_BITS = new HashMap<String, Integer>();
+
+    static {
+        for (int i = 0; i < PRIVILEGE_NAMES.length; i++) {
+            PRIVILEGE_BITS.put(PRIVILEGE_NAMES[i], 1 << i);
+        }
+    }
+
+    private final int courseSet;
+    private final int courseAllowed;
+
+    private final HashMap<String, Integer> sectionIds = new HashMap<String, Integer>();
+    private final String[] sectionNames;
+    private final boolean[] isSectionSpecial;
+    private final boolean[] isSessionsInSectionSpecial;
+    private final int[] sectionSet;
+    private final int[] sectionAllowed;
+
+    private final HashMap<String, Integer> sessionIds = new HashMap<String, Integer>();
+    private final String[] sessionNames;
+    private final int[][] sessionSet;
+    private final int[][] sessionAllowed;
+
+    /** For each session, the privileges allowed for it in at least one section */
+    private final int[] anySectionAllowed;
+    /** The privileges allowed in at least one section for sessions without session level privileges */
+    private int anySectionAllowedByDefault;
+
+    private CompiledInstructorPrivileges(int courseSet, int courseAllowed, String[] sectionNames, String[] sessionNames) {
+        this.courseSet = courseSet;
+        this.courseAllowed = courseAllowed;
+
+        this.sectionNames = sectionNames;
+        this.isSectionSpecial = new boolean[sectionNames.length];
+        this.isSessionsInSectionSpecial = new boolean[sectionNames.length];
+        this.sectionSet = new int[sectionNames.length];
+        this.sectionAllowed = new int[sectionNames.length];
+        for (int i = 0; i < sectionNames.length; i++) {
+            sectionIds.put(sectionNames[i], i);
+            sectionAllowed[i] = courseAllowed;
+        }
+
+        this.sessionNames = sessionNames;
+        this.sessionSet = new int[sectionNames.length][sessionNames.length];
+        this.sessionAllowed = new int[sectionNames.length][sessionNames.length];
+        for (int i = 0; i < sectionNames.length; i++) {
+            Arrays.fill(sessionSet[i], NOT_SPECIAL);
+            Arrays.fill(sessionAllowed[i], NOT_SPECIAL);
+        }
+        for (int i = 0; i < sessionNames.length; i++) {
+            sessionIds.put(sessionNames[i], i);
+        }
+
+        this.anySectionAllowed = new int[sessionNames.length];
+    }
+
+    /**
+     * Compiles the privileges of the three levels, in the form kept by {@link InstructorPrivileges}.
+     * Privileges with unknown names are left out, as they cannot be checked anyway.
+     */
+    static CompiledInstructorPrivileges compile(
+            Map<String, Boolean> courseLevel, Map<String, ? extends Map<String, Boolean>> sectionLevel,
+            Map<String, ? extends Map<String, ? extends Map<String, Boolean>>> sessionLevel) {
+        TreeSet<String> sections = new TreeSet<String>(sectionLevel.keySet());
+        sections.addAll(sessionLevel.keySet());
+        TreeSet<String> sessions = new TreeSet<String>();
+        for (Map<String, ? extends Map<String, Boolean>> sessionsInSection : sessionLevel.values()) {
+            sessions.addAll(sessionsInSection.keySet());
+        }
+
+        CompiledInstructorPrivileges compiled = new CompiledInstructorPrivileges(
+                getSetBits(courseLevel), getAllowedBits(courseLevel),
+                sections.toArray(new String[sections.size()]), sessions.toArray(new String[sessions.size()]));
+
+        for (Map.Entry<String, ? extends Map<String, Boolean>> section : sectionLevel.entrySet()) {
+            compiled.setSectionBits(compiled.sectionIds.get(section.getKey()),
+                                    getSetBits(section.getValue()), getAllowedBits(section.getValue()));
+        }
+        for (Map.Entry<String, ? extends Map<String, ? extends Map<String, Boolean>>> section
+                : sessionLevel.entrySet()) {
+            int sectionId = compiled.sectionIds.get(section.getKey());
+            compiled.isSessionsInSectionSpecial[sectionId] = true;
+            for (Map.Entry<String, ? extends Map<String, Boolean>> session : section.getValue().entrySet()) {
+                compiled.setSessionBits(sectionId, compiled.sessionIds.get(session.getKey()),
+                                        getSetBits(session.getValue()), getAllowedBits(session.getValue()));
+            }
+        }
+        compiled.resolveAnySectionBits();
+        return compiled;
+    }
+
+    /**
+     * @return whether {@code text} is in the compact encoding, as opposed to the JSON of the privileges
+     */
+    public static boolean isCompactText(String text) {
+        return text != null && text.startsWith(COMPACT_TEXT_PREFIX);
+    }
+
+    /**
+     * Reads privileges from their compact encoding, as given by {@link #toCompactText()}.
+     */
+    public static CompiledInstructorPrivileges fromCompactText(String text) {
+        Assumption.assertTrue("Not compact instructor privileges: " + text, isCompactText(text));
+        CompactTextReader reader = new CompactTextReader(text, COMPACT_TEXT_PREFIX.length());
+
+        HashMap<String, Boolean> courseLevel = reader.readPrivileges();
+        HashMap<String, HashMap<String, Boolean>> sectionLevel = new HashMap<String, HashMap<String, Boolean>>();
+        HashMap<String, HashMap<String, HashMap<String, Boolean>>> sessionLevel =
+                new HashMap<String, HashMap<String, HashMap<String, Boolean>>>();
+        int numberOfSections = reader.readNumber();
+        for (int i = 0; i < numberOfSections; i++) {
+            String sectionName = reader.readName();
+            int levels = reader.readNumber();
+            if ((levels & HAS_SECTION_LEVEL) != 0) {
+                sectionLevel.put(sectionName, reader.readPrivileges());
+            }
+            if ((levels & HAS_SESSION_LEVEL) != 0) {
+                HashMap<String, HashMap<String, Boolean>> sessions = new HashMap<String, HashMap<String, Boolean>>();
+                int numberOfSessions = reader.readNumber();
+                for (int j = 0; j < numberOfSessions; j++) {
+                    String sessionName = reader.readName();
+                    sessions.put(sessionName, reader.readPrivileges());
+                }
+                sessionLevel.put(sectionName, sessions);
+            }
+        }
+        Assumption.assertTrue("Unexpected content after instructor privileges: " + text, reader.isAtEnd());
+
+        return compile(courseLevel, sectionLevel, sessionLevel);
+    }
+
+    /**
+     * @return the privileges in a compact encoding, e.g. {@code ~17ff7ff0:} for co-owner privileges.<br>
+     *         The encoding is the prefix, the course level bitsets, the number of sections,
+     *         then for each section its length-prefixed name, whether it has section and session level
+     *         privileges, its bitsets if so, and the number, names and bitsets of its sessions if so.
+     *         The bitsets of a level are the privileges set followed by the privileges allowed.
+     */
+    public String toCompactText() {
+        StringBuilder text = new StringBuilder(COMPACT_TEXT_PREFIX);
+        appendBitset(text, courseSet);
+        appendBitset(text, courseAllowed);
+        text.append(sectionNames.length).append(':');
+        for (int i = 0; i < sectionNames.length; i++) {
+            appendName(text, sectionNames[i]);
+            int levels = (isSectionSpecial[i] ? HAS_SECTION_LEVEL : 0)
+                         | (isSessionsInSectionSpecial[i] ? HAS_SESSION_LEVEL : 0);
+            text.append(levels).append(':');
+            if (isSectionSpecial[i]) {
+                appendBitset(text, sectionSet[i]);
+                appendBitset(text, sectionAllowed[i]);
+            }
+            if (isSessionsInSectionSpecial[i]) {
+                int numberOfSessions = 0;
+                for (int bits : sessionSet[i]) {
+                    numberOfSessions += bits == NOT_SPECIAL ? 0 : 1;
+                }
+                text.append(numberOfSessions).append(':');
+                for (int j = 0; j < sessionNames.length; j++) {
+                    if (sessionSet[i][j] != NOT_SPECIAL) {
+                        appendName(text, sessionNames[j]);
+                        appendBitset(text, sessionSet[i][j]);
+                        appendBitset(text, sessionAllowed[i][j]);
+                    }
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return the privileges in the form kept by {@link InstructorPrivileges}
+     */
+    public InstructorPrivileges toInstructorPrivileges() {
+        HashMap<String, Boolean> courseLevel = toMap(courseSet, courseAllowed);
+        HashMap<String, HashMap<String, Boolean>> sectionLevel = new HashMap<String, HashMap<String, Boolean>>();
+        HashMap<String, HashMap<String, HashMap<String, Boolean>>> sessionLevel =
+                new HashMap<String, HashMap<String, HashMap<String, Boolean>>>();
+        for (int i = 0; i < sectionNames.length; i++) {
+            if (isSectionSpecial[i]) {
+                sectionLevel.put(sectionNames[i], toMap(sectionSet[i], sectionAllowed[i]));
+            }
+            if (isSessionsInSectionSpecial[i]) {
+                HashMap<String, HashMap<String, Boolean>> sessions = new HashMap<String, HashMap<String, Boolean>>();
+                for (int j = 0; j < sessionNames.length; j++) {
+                    if (sessionSet[i][j] != NOT_SPECIAL) {
+                        sessions.put(sessionNames[j], toMap(sessionSet[i][j], sessionAllowed[i][j]));
+                    }
+                }
+                sessionLevel.put(sectionNames[i], sessions);
+            }
+        }
+        return new InstructorPrivileges(courseLevel, sectionLevel, sessionLevel, this);
+    }
+
+    /**
+     * @return whether the privilege is allowed in the course level
+     */
+    public boolean isAllowed(String privilegeName) {
+        return (courseAllowed & getBit(privilegeName)) != 0;
+    }
+
+    /**
+     * @return whether the privilege is allowed in {@code sectionName}
+     */
+    public boolean isAllowed(String sectionName, String privilegeName) {
+        int bit = getBit(privilegeName);
+        Integer sectionId = sectionIds.get(sectionName);
+        int allowed = sectionId == null ? courseAllowed : sectionAllowed[sectionId];
+        return (allowed & bit) != 0;
+    }
+
+    /**
+     * @return whether the privilege is allowed for {@code sessionName} in {@code sectionName}
+     */
+    public boolean isAllowed(String sectionName, String sessionName, String privilegeName) {
+        int bit = getBit(privilegeName);
+        Integer sectionId = sectionIds.get(sectionName);
+        if (sectionId == null) {
+            return (courseAllowed & bit) != 0;
+        }
+        Integer sessionId = sessionIds.get(sessionName);
+        int allowed = sessionId == null ? NOT_SPECIAL : sessionAllowed[sectionId][sessionId];
+        if (allowed == NOT_SPECIAL) {
+            allowed = sectionAllowed[sectionId];
+        }
+        return (allowed & bit) != 0;
+    }
+
+    /**
+     * @return whether the privilege is allowed for {@code sessionName} in at least one section
+     *         with section or session level privileges
+     */
+    public boolean isAllowedInAnySection(String sessionName, String privilegeName) {
+        int bit = getBit(privilegeName);
+        Integer sessionId = sessionIds.get(sessionName);
+        int allowed = sessionId == null ? anySectionAllowedByDefault : anySectionAllowed[sessionId];
+        return (allowed & bit) != 0;
+    }
+
+    private void setSectionBits(int sectionId, int set, int allowed) {
+        isSectionSpecial[sectionId] = true;
+        sectionSet[sectionId] = set;
+        sectionAllowed[sectionId] = allowed;
+    }
+
+    private void setSessionBits(int sectionId, int sessionId, int set, int allowed) {
+        sessionSet[sectionId][sessionId] = set;
+        sessionAllowed[sectionId][sessionId] = allowed;
+    }
+
+    private void resolveAnySectionBits() {
+        anySectionAllowedByDefault = 0;
+        for (int allowed : sectionAllowed) {
+            anySectionAllowedByDefault |= allowed;
+        }
+        for (int j = 0; j < sessionNames.length; j++) {
+            int allowedInAnySection = 0;
+            for (int i = 0; i < sectionNames.length; i++) {
+                int allowed = sessionAllowed[i][j];
+                allowedInAnySection |= allowed == NOT_SPECIAL ? sectionAllowed[i] : allowed;
+            }
+            anySectionAllowed[j] = allowedInAnySection;
+        }
+    }
+
+    private static int getBit(String privilegeName) {
+        Integer bit = PRIVILEGE_BITS.get(privilegeName);
+        Assumption.assertNotNull("Invalid privilege name: " + privilegeName, bit);
+        return bit;
+    }
+
+    private static int getSetBits(Map<String, Boolean> privileges) {
+        int bits = 0;
+        for (String privilegeName : privileges.keySet()) {
+            Integer bit = PRIVILEGE_BITS.get(privilegeName);
+            bits |= bit == null ? 0 : bit;
+        }
+        return bits;
+    }
+
+    private static int getAllowedBits(Map<String, Boolean> privileges) {
+        int bits = 0;
+        for (Map.Entry<String, Boolean> privilege : privileges.entrySet()) {
+            Integer bit = PRIVILEGE_BITS.get(privilege.getKey());
+            if (bit != null && privilege.getValue() != null && privilege.getValue()) {
+                bits |= bit;
+            }
+        }
+        return bits;
+    }
+
+    private static HashMap<String, Boolean> toMap(int set, int allowed) {
+        HashMap<String, Boolean> privileges = new HashMap<String, Boolean>();
+        for (int i = 0; i < PRIVILEGE_NAMES.length; i++) {
+            if ((set & 1 << i) != 0) {
+                privileges.put(PRIVILEGE_NAMES[i], (allowed & 1 << i) != 0);
+            }
+        }
+        return privileges;
+    }
+
+    private static void appendBitset(StringBuilder text, int bits) {
+        String hex = Integer.toHexString(bits);
+        for (int i = hex.length(); i < HEX_DIGITS_PER_BITSET; i++) {
+            text.append('0');
+        }
+        text.append(hex);
+    }
+
+    private static void appendName(StringBuilder text, String name) {
+        text.append(name.length()).append(':').append(name);
+    }
+
+    /**
+     * Reads the parts of a compact encoding in turn.
+     */
+    private static class CompactTextReader {
+
+        private final String text;
+        private int position;
+
+        CompactTextReader(String text, int position) {
+            this.text = text;
+            this.position = position;
+        }
+
+        HashMap<String, Boolean> readPrivileges() {
+            int set = readBitset();
+            int allowed = readBitset();
+            return toMap(set, allowed);
+        }
+
+        int readBitset() {
+            Assumption.assertTrue("Truncated instructor privileges: " + text,
+                                  position + HEX_DIGITS_PER_BITSET <= text.length());
+            int bits = Integer.parseInt(text.substring(position, position + HEX_DIGITS_PER_BITSET), 16);
+            position += HEX_DIGITS_PER_BITSET;
+            return bits;
+        }
+
+        int readNumber() {
+            int end = text.indexOf(':', position);
+            Assumption.assertTrue("Truncated instructor privileges: " + text, end > position);
+            int number = Integer.parseInt(text.substring(position, end));
+            position = end + 1;
+            return number;
+        }
+
+        String readName() {
+            int length = readNumber();
+            Assumption.assertTrue("Truncated instructor privileges: " + text, position + length <= text.length());
+            String name = text.substring(position, position + length);
+            position += length;
+            return name;
+        }
+
+        boolean isAtEnd() {
+            return position == text.length();
+        }
+    }
+
+}
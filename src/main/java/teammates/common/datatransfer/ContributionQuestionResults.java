@@ -0,0 +1,136 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.util.Const;
+import teammates.logic.core.TeamEvalResult;
+
+/**
+ * The results of a contribution question, calculated from the actual responses of a
+ * {@link FeedbackSessionResultsBundle}.<br>
+ * The {@link TeamEvalResult} of each team is calculated when it is first needed, and then shared
+ * by the statistics and responses of the question rendered from the same bundle.
+ */
+class ContributionQuestionResults {
+
+    private final FeedbackSessionResultsBundle bundle;
+
+    /** Actual responses of the question, sorted by giver, recipient and question */
+    private final List<FeedbackResponseAttributes> actualResponses;
+
+    /** Teams with at least one response, in order of their first response */
+    private final List<String> teamsWithAtLeastOneResponse;
+
+    /** Each team's responses, keyed by the team of the giver */
+    private final Map<String, List<FeedbackResponseAttributes>> teamResponses;
+
+    private final Map<String, TeamEvalResult> teamResults = new HashMap<String, TeamEvalResult>();
+
+    ContributionQuestionResults(FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
+        this.bundle = bundle;
+        this.actualResponses = getActualResponses(question, bundle);
+        this.teamsWithAtLeastOneResponse = new ArrayList<String>();
+        this.teamResponses = new HashMap<String, List<FeedbackResponseAttributes>>();
+        for (FeedbackResponseAttributes response : actualResponses) {
+            String teamNameOfResponseGiver = bundle.getTeamNameForEmail(response.giver);
+            if (!teamsWithAtLeastOneResponse.contains(teamNameOfResponseGiver)) {
+                teamsWithAtLeastOneResponse.add(teamNameOfResponseGiver);
+            }
+            String team = bundle.emailTeamNameTable.get(response.giver);
+            List<FeedbackResponseAttributes> responsesOfTeam = teamResponses.get(team);
+            if (responsesOfTeam == null) {
+                responsesOfTeam = new ArrayList<FeedbackResponseAttributes>();
+                teamResponses.put(team, responsesOfTeam);
+            }
+            responsesOfTeam.add(response);
+        }
+    }
+
+    List<FeedbackResponseAttributes> getActualResponses() {
+        return actualResponses;
+    }
+
+    List<String> getTeamsWithAtLeastOneResponse() {
+        return teamsWithAtLeastOneResponse;
+    }
+
+    /**
+     * @return each team's results, keyed by team name in the order of {@code teamNames}.
+     *         The {@link TeamEvalResult#studentEmails} of each result lists the team members,
+     *         sorted, in the order of the rows and columns of its matrices.
+     */
+    Map<String, TeamEvalResult> getTeamResults(List<String> teamNames) {
+        Map<String, TeamEvalResult> results = new LinkedHashMap<String, TeamEvalResult>();
+        for (String team : teamNames) {
+            TeamEvalResult teamResult = teamResults.get(team);
+            if (teamResult == null) {
+                teamResult = calculateTeamResult(team);
+                teamResults.put(team, teamResult);
+            }
+            results.put(team, teamResult);
+        }
+        return results;
+    }
+
+    /**
+     * @return the number of {@link TeamEvalResult}s calculated for the question
+     */
+    int getNumberOfTeamResultsCalculated() {
+        return teamResults.size();
+    }
+
+    private TeamEvalResult calculateTeamResult(String team) {
+        List<String> memberEmails = new ArrayList<String>(bundle.rosterTeamNameMembersTable.get(team));
+        Collections.sort(memberEmails);
+
+        //Get the team's submission array. -> int[teamSize][teamSize]
+        //Where int[0][1] refers points from student 0 to student 1
+        //Where student 0 is the 0th student in memberEmails
+        int teamSize = memberEmails.size();
+        int[][] submissions = new int[teamSize][teamSize];
+        //Initialize all as not submitted.
+        for (int i = 0; i < teamSize; i++) {
+            for (int j = 0; j < teamSize; j++) {
+                submissions[i][j] = Const.POINTS_NOT_SUBMITTED;
+            }
+        }
+        //Fill in submitted points
+        List<FeedbackResponseAttributes> responsesOfTeam = teamResponses.get(team);
+        if (responsesOfTeam != null) {
+            for (FeedbackResponseAttributes response : responsesOfTeam) {
+                int giverIndx = memberEmails.indexOf(response.giver);
+                int recipientIndx = memberEmails.indexOf(response.recipient);
+                if (giverIndx == -1 || recipientIndx == -1) {
+                    continue;
+                }
+                int points = ((FeedbackContributionResponseDetails) response.getResponseDetails()).getAnswer();
+                submissions[giverIndx][recipientIndx] = points;
+            }
+        }
+
+        TeamEvalResult teamResult = new TeamEvalResult(submissions);
+        teamResult.studentEmails = memberEmails;
+        return teamResult;
+    }
+
+    private static List<FeedbackResponseAttributes> getActualResponses(
+            FeedbackQuestionAttributes question,
+            FeedbackSessionResultsBundle bundle) {
+        String questionId = question.getId();
+        //Get all actual responses for this question.
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : bundle.actualResponses) {
+            if (response.feedbackQuestionId.equals(questionId)) {
+                responses.add(response);
+            }
+        }
+        Collections.sort(responses, bundle.compareByGiverRecipientQuestion);
+        return responses;
+    }
+
+}
@@ -0,0 +1,37 @@
+package teammates.common.datatransfer;
+
+import java.util.List;
+
+/**
+ * A page of the course change feed: the IDs of the courses modified in a window of time,
+ * in order of the time they were modified, with the cursor to read the rest of the window from.
+ */
+public class CourseChangeFeedPage {
+
+    private final List<String> courseIds;
+    private final String nextCursor;
+
+    public CourseChangeFeedPage(List<String> courseIds, String nextCursor) {
+        this.courseIds = courseIds;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the IDs of the courses modified, each listed once in the page
+     */
+    public List<String> getCourseIds() {
+        return courseIds;
+    }
+
+    /**
+     * @return the cursor to read the next page from, or null if this is the last page of the window
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+
+}
@@ -0,0 +1,100 @@
+package teammates.common.datatransfer;
+
+import java.util.Date;
+
+/**
+ * The progress of deleting a course a batch at a time: the kind of entities being deleted
+ * and the number of entities deleted so far. The entities are deleted kind by kind, in the order
+ * of {@link Stage}, and the course itself last.
+ */
+public class CourseDeletionProgress {
+
+    /**
+     * The kinds of entities deleted, in order. Instructors are deleted first so that the course
+     * is gone from the pages of its instructors while the rest is being deleted.
+     */
+    public enum Stage {
+        INSTRUCTORS("instructors"),
+        STUDENTS("students"),
+        COMMENTS("comments"),
+        RESPONSE_COMMENTS("response comments"),
+        RESPONSES("responses"),
+        QUESTION_STATISTICS("question statistics"),
+        QUESTIONS("questions"),
+        SESSIONS("sessions"),
+        COURSE("course"),
+        DONE("nothing");
+
+        private final String entitiesName;
+
+        Stage(String entitiesName) {
+            this.entitiesName = entitiesName;
+        }
+
+        public String getEntitiesName() {
+            return entitiesName;
+        }
+
+        public Stage getNext() {
+            return this == DONE ? DONE : values()[ordinal() + 1];
+        }
+    }
+
+    private final String courseId;
+    private Stage stage;
+    private long numberOfEntitiesDeleted;
+    private final Date startedAt;
+    private Date updatedAt;
+
+    public CourseDeletionProgress(String courseId, Stage stage, long numberOfEntitiesDeleted,
+                                  Date startedAt, Date updatedAt) {
+        this.courseId = courseId;
+        this.stage = stage;
+        this.numberOfEntitiesDeleted = numberOfEntitiesDeleted;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Records that {@code numberOfEntities} entities of the current stage were deleted at {@code time},
+     * moving on to the next stage if {@code isStageDone}.
+     */
+    public void recordBatch(int numberOfEntities, boolean isStageDone, Date time) {
+        numberOfEntitiesDeleted += numberOfEntities;
+        if (isStageDone) {
+            stage = stage.getNext();
+        }
+        updatedAt = time;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public boolean isDone() {
+        return stage == Stage.DONE;
+    }
+
+    public long getNumberOfEntitiesDeleted() {
+        return numberOfEntitiesDeleted;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Course " + courseId + ": " + numberOfEntitiesDeleted + " entities deleted, deleting "
+               + stage.getEntitiesName();
+    }
+
+}
@@ -2,10 +2,12 @@ package teammates.common.datatransfer;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -384,15 +386,14 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
         StringBuilder fragments = new StringBuilder();
         List<String> options = constSumOptions;
         
-        Map<String, List<Integer>> optionPoints = generateOptionPointsMapping(responses);
+        ConstSumStatistics statistics = new ConstSumStatistics(responses);
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : optionPoints.entrySet()) {
+        for (Entry<String, List<Integer>> entry : statistics.optionPoints.entrySet()) {
             
-            List<Integer> points = entry.getValue();
-            double average = computeAverage(points);
-            String pointsReceived = getListOfPointsAsString(points);
+            double average = statistics.averagePoints.get(entry.getKey());
+            String pointsReceived = getListOfPointsAsString(entry.getValue());
             
             if (distributeToRecipients) {
                 String participantIdentifier = entry.getKey();
@@ -435,81 +436,53 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
         }
         
         StringBuilder fragments = new StringBuilder();
-        List<String> options = constSumOptions;
-        Map<String, List<Integer>> optionPoints = generateOptionPointsMapping(responses);
-
-        DecimalFormat df = new DecimalFormat("#.##");
+        List<List<String>> rows = getQuestionResultStatisticsRows(responses, question, bundle);
         
-        for (Entry<String, List<Integer>> entry : optionPoints.entrySet()) {
-            String option;
-            if (distributeToRecipients) {
-                String teamName = bundle.getTeamNameForEmail(entry.getKey());
-                String recipientName = bundle.getNameForEmail(entry.getKey());
-                option = Sanitizer.sanitizeForCsv(teamName) + "," + Sanitizer.sanitizeForCsv(recipientName);
-            } else {
-                option = Sanitizer.sanitizeForCsv(options.get(Integer.parseInt(entry.getKey())));
-            }
-            
-            List<Integer> points = entry.getValue();
-            double average = computeAverage(points);
-            fragments.append(option).append(',').append(df.format(average)).append(Const.EOL);
-            
+        for (List<String> row : rows.subList(1, rows.size())) {
+            // the labels are sanitized, the average points is the last cell
+            List<String> labels = Sanitizer.sanitizeListForCsv(row.subList(0, row.size() - 1));
+            fragments.append(StringHelper.toString(labels, ",")).append(',')
+                     .append(row.get(row.size() - 1)).append(Const.EOL);
         }
         
-        return (distributeToRecipients ? "Team, Recipient" : "Option")
-               + ", Average Points" + Const.EOL
+        return StringHelper.toString(rows.get(0), ", ") + Const.EOL
                + fragments + Const.EOL;
     }
 
-    /**
-     * From the feedback responses, generate a mapping of the option to a list of points received for that option.
-     * The key of the map returned is the option name / recipient's participant identifier.
-     * The values of the map are list of points received by the key.
-     * @param responses  a list of responses
-     */
-    private Map<String, List<Integer>> generateOptionPointsMapping(
-            List<FeedbackResponseAttributes> responses) {
+    @Override
+    public List<List<String>> getQuestionResultStatisticsRows(
+            List<FeedbackResponseAttributes> responses,
+            FeedbackQuestionAttributes question,
+            FeedbackSessionResultsBundle bundle) {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        if (responses.isEmpty()) {
+            return rows;
+        }
         
-        Map<String, List<Integer>> optionPoints = new HashMap<String, List<Integer>>();
-        for (FeedbackResponseAttributes response : responses) {
-            FeedbackConstantSumResponseDetails frd = (FeedbackConstantSumResponseDetails) response.getResponseDetails();
-            
-            for (int i = 0; i < frd.getAnswerList().size(); i++) {
-                String optionReceivingPoints =
-                        distributeToRecipients ? response.recipient : String.valueOf(i);
-                
-                int pointsReceived = frd.getAnswerList().get(i);
-                updateOptionPointsMapping(optionPoints, optionReceivingPoints, pointsReceived);
+        rows.add(distributeToRecipients
+                 ? Arrays.asList("Team", "Recipient", "Average Points")
+                 : Arrays.asList("Option", "Average Points"));
+        
+        ConstSumStatistics statistics = new ConstSumStatistics(responses);
+        DecimalFormat df = new DecimalFormat("#.##");
+        
+        for (Entry<String, Double> entry : statistics.averagePoints.entrySet()) {
+            String average = df.format(entry.getValue());
+            if (distributeToRecipients) {
+                rows.add(Arrays.asList(bundle.getTeamNameForEmail(entry.getKey()),
+                                       bundle.getNameForEmail(entry.getKey()), average));
+            } else {
+                rows.add(Arrays.asList(constSumOptions.get(Integer.parseInt(entry.getKey())), average));
             }
         }
-        return optionPoints;
-    }
-
-    /**
-     * Used to update the OptionPointsMapping for the option optionReceivingPoints
-     * 
-     * @param optionPoints
-     * @param optionReceivingPoints
-     * @param pointsReceived
-     */
-    private void updateOptionPointsMapping(
-            Map<String, List<Integer>> optionPoints,
-            String optionReceivingPoints, int pointsReceived) {
-        List<Integer> points = optionPoints.get(optionReceivingPoints);
-        if (points == null) {
-            points = new ArrayList<Integer>();
-            optionPoints.put(optionReceivingPoints, points);
-        }
-        
-        points.add(pointsReceived);
+        return rows;
     }
 
     /**
      * Returns the list of points as as string to display
-     * @param points
+     * @param points  the points, sorted in ascending order
      */
     private String getListOfPointsAsString(List<Integer> points) {
-        Collections.sort(points);
         StringBuilder pointsReceived = new StringBuilder();
         if (points.size() > 10) {
             for (int i = 0; i < 5; i++) {
@@ -530,15 +503,6 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
         return pointsReceived.toString();
     }
 
-    private double computeAverage(List<Integer> points) {
-        double average = 0;
-        for (Integer point : points) {
-            average += point;
-        }
-        average = average / points.size();
-        return average;
-    }
-
     @Override
     public boolean isChangesRequiresResponseDeletion(
             FeedbackQuestionDetails newDetails) {
@@ -699,5 +663,52 @@ public class FeedbackConstantSumQuestionDetails extends FeedbackQuestionDetails
     public int getPoints() {
         return points;
     }
-
+    
+    /**
+     * The points received by each option or recipient, collected in a single pass over the responses
+     * and rendered by the HTML, CSV and row statistics of the question.
+     * The keys of the maps are the option index / recipient's participant identifier.
+     */
+    private final class ConstSumStatistics {
+        /** Points received by each key, sorted in ascending order */
+        private final Map<String, List<Integer>> optionPoints;
+        /** Average points received by each key, in the same order as {@link #optionPoints} */
+        private final Map<String, Double> averagePoints;
+        
+        ConstSumStatistics(List<FeedbackResponseAttributes> responses) {
+            Map<String, List<Integer>> points = new HashMap<String, List<Integer>>();
+            for (FeedbackResponseAttributes response : responses) {
+                FeedbackConstantSumResponseDetails frd =
+                        (FeedbackConstantSumResponseDetails) response.getResponseDetails();
+                List<Integer> answers = frd.getAnswerList();
+                
+                for (int i = 0; i < answers.size(); i++) {
+                    String optionReceivingPoints =
+                            distributeToRecipients ? response.recipient : String.valueOf(i);
+                    
+                    List<Integer> pointsOfOption = points.get(optionReceivingPoints);
+                    if (pointsOfOption == null) {
+                        pointsOfOption = new ArrayList<Integer>();
+                        points.put(optionReceivingPoints, pointsOfOption);
+                    }
+                    pointsOfOption.add(answers.get(i));
+                }
+            }
+            
+            Map<String, Double> averages = new LinkedHashMap<String, Double>();
+            for (Entry<String, List<Integer>> entry : points.entrySet()) {
+                List<Integer> pointsOfOption = entry.getValue();
+                double total = 0;
+                for (Integer point : pointsOfOption) {
+                    total += point;
+                }
+                averages.put(entry.getKey(), total / pointsOfOption.size());
+                Collections.sort(pointsOfOption);
+                entry.setValue(Collections.unmodifiableList(pointsOfOption));
+            }
+            
+            this.optionPoints = Collections.unmodifiableMap(points);
+            this.averagePoints = Collections.unmodifiableMap(averages);
+        }
+    }
 }
@@ -163,33 +163,18 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
     
         String currentUserTeam = bundle.emailTeamNameTable.get(studentEmail);
         
-        List<FeedbackResponseAttributes> actualResponses = getActualResponses(question, bundle);
+        ContributionQuestionResults results = bundle.getContributionQuestionResults(question);
 
-        //List of teams with at least one response
-        List<String> teamNames = getTeamsWithAtLeastOneResponse(actualResponses, bundle);
-        
-        //Each team's member(email) list
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-        
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-        
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
-        //Each team's contribution question results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
-
-        TeamEvalResult currentUserTeamResults = teamResults.get(currentUserTeam);
-        if (currentUserTeamResults == null) {
+        //Only teams with at least one response have results
+        if (!results.getTeamsWithAtLeastOneResponse().contains(currentUserTeam)) {
             return "";
         }
+        
+        //The contribution question results of the current user's team only.
+        TeamEvalResult currentUserTeamResults =
+                results.getTeamResults(Collections.singletonList(currentUserTeam)).get(currentUserTeam);
 
-        int currentUserIndex = teamMembersEmail.get(currentUserTeam).indexOf(studentEmail);
+        int currentUserIndex = currentUserTeamResults.studentEmails.indexOf(studentEmail);
         int selfClaim = currentUserTeamResults.claimed[currentUserIndex][currentUserIndex];
         int teamClaim = currentUserTeamResults.denormalizedAveragePerceived[currentUserIndex][currentUserIndex];
         
@@ -222,30 +207,17 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             return "";
         }
     
-        List<FeedbackResponseAttributes> actualResponses = getActualResponses(question, bundle);
+        ContributionQuestionResults results = bundle.getContributionQuestionResults(question);
+        List<FeedbackResponseAttributes> actualResponses = results.getActualResponses();
         
         //List of teams visible to the instructor and in the selected section
         List<String> teamNames = getTeamNames(bundle);
         
-        //Each team's member(email) list
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-        
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-        
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
         //Each team's eval results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = results.getTeamResults(teamNames);
         
         //Each person's results summary
-        Map<String, StudentResultSummary> studentResults = getStudentResults(
-                teamMembersEmail, teamResults);
+        Map<String, StudentResultSummary> studentResults = getStudentResults(teamResults);
 
         //Check visibility of recipient
         boolean hideRecipient = false;
@@ -266,9 +238,8 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             String name = bundle.roster.getStudentForEmail(email).name;
             String team = bundle.roster.getStudentForEmail(email).team;
             
-            List<String> teamEmails = teamMembersEmail.get(team);
             TeamEvalResult teamResult = teamResults.get(team);
-            int studentIndx = teamEmails.indexOf(email);
+            int studentIndx = teamResult.studentEmails.indexOf(email);
             
             String displayName = name;
             String displayTeam = team;
@@ -311,30 +282,17 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             return "";
         }
     
-        List<FeedbackResponseAttributes> actualResponses = getActualResponses(question, bundle);
+        ContributionQuestionResults results = bundle.getContributionQuestionResults(question);
+        List<FeedbackResponseAttributes> actualResponses = results.getActualResponses();
 
         //List of teams visible to the instructor and in the selected section
         List<String> teamNames = getTeamNames(bundle);
         
-        //Each team's member(email) list
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-
-        //Each team's responses
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                actualResponses, bundle, teamNames);
-        
-        //Get each team's submission array. -> int[teamSize][teamSize]
-        //Where int[0][1] refers points from student 0 to student 1
-        //Where student 0 is the 0th student in the list in teamMembersEmail
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
         //Each team's eval results.
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
+        Map<String, TeamEvalResult> teamResults = results.getTeamResults(teamNames);
         
         //Each person's results summary
-        Map<String, StudentResultSummary> studentResults = getStudentResults(
-                teamMembersEmail, teamResults);
+        Map<String, StudentResultSummary> studentResults = getStudentResults(teamResults);
         
         //Check visibility of recipient
         boolean hideRecipient = false;
@@ -358,9 +316,8 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
             String name = bundle.roster.getStudentForEmail(email).name;
             String team = bundle.roster.getStudentForEmail(email).team;
             
-            List<String> teamEmails = teamMembersEmail.get(team);
             TeamEvalResult teamResult = teamResults.get(team);
-            int studentIndx = teamEmails.indexOf(email);
+            int studentIndx = teamResult.studentEmails.indexOf(email);
             
             String displayName;
             String displayTeam;
@@ -427,55 +384,26 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
     Map<String, StudentResultSummary> getStudentResults(FeedbackSessionResultsBundle bundle,
             FeedbackQuestionAttributes question) {
         
-        List<FeedbackResponseAttributes> responses = getActualResponses(question, bundle);
-
-        List<String> teamNames = getTeamsWithAtLeastOneResponse(responses, bundle);
-        
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-        
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                responses, bundle, teamNames);
-        
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
-        
-        return getStudentResults(teamMembersEmail, teamResults);
+        return getStudentResults(getTeamEvalResults(bundle, question));
     }
     
     /**
-     * @return A Map with student email as key and TeamEvalResult as value for the specified question.
+     * @return A Map with team name as key and TeamEvalResult as value for the specified question,
+     *         for the teams with at least one response.
      */
     Map<String, TeamEvalResult> getTeamEvalResults(FeedbackSessionResultsBundle bundle,
             FeedbackQuestionAttributes question) {
         
-        List<FeedbackResponseAttributes> responses = getActualResponses(question, bundle);
-
-        List<String> teamNames = getTeamsWithAtLeastOneResponse(responses, bundle);
-        
-        Map<String, List<String>> teamMembersEmail = getTeamMembersEmail(bundle, teamNames);
-        
-        Map<String, List<FeedbackResponseAttributes>> teamResponses = getTeamResponses(
-                responses, bundle, teamNames);
+        ContributionQuestionResults results = bundle.getContributionQuestionResults(question);
         
-        Map<String, int[][]> teamSubmissionArray = getTeamSubmissionArray(
-                teamNames, teamMembersEmail, teamResponses);
-        
-        Map<String, TeamEvalResult> teamResults = getTeamResults(teamNames, teamSubmissionArray, teamMembersEmail);
-        
-        return teamResults;
+        return results.getTeamResults(results.getTeamsWithAtLeastOneResponse());
     }
 
-    private Map<String, StudentResultSummary> getStudentResults(
-            Map<String, List<String>> teamMembersEmail,
-            Map<String, TeamEvalResult> teamResults) {
+    private Map<String, StudentResultSummary> getStudentResults(Map<String, TeamEvalResult> teamResults) {
         Map<String, StudentResultSummary> studentResults = new LinkedHashMap<String, StudentResultSummary>();
-        for (Map.Entry<String, TeamEvalResult> entry : teamResults.entrySet()) {
-            TeamEvalResult teamResult = entry.getValue();
-            List<String> teamEmails = teamMembersEmail.get(entry.getKey());
+        for (TeamEvalResult teamResult : teamResults.values()) {
             int i = 0;
-            for (String studentEmail : teamEmails) {
+            for (String studentEmail : teamResult.studentEmails) {
                 StudentResultSummary summary = new StudentResultSummary();
                 summary.claimedFromStudent = teamResult.claimed[i][i];
                 summary.claimedToInstructor = teamResult.normalizedClaimed[i][i];
@@ -490,104 +418,6 @@ public class FeedbackContributionQuestionDetails extends FeedbackQuestionDetails
         return studentResults;
     }
     
-    @SuppressWarnings("PMD.UnusedPrivateMethod") // false positive by PMD.
-    private Map<String, TeamEvalResult> getTeamResults(List<String> teamNames,
-            Map<String, int[][]> teamSubmissionArray, Map<String, List<String>> teamMembersEmail) {
-        Map<String, TeamEvalResult> teamResults = new LinkedHashMap<String, TeamEvalResult>();
-        for (String team : teamNames) {
-            TeamEvalResult teamEvalResult = new TeamEvalResult(teamSubmissionArray.get(team));
-            teamEvalResult.studentEmails = teamMembersEmail.get(team);
-            teamResults.put(team, teamEvalResult);
-        }
-        return teamResults;
-    }
-
-    private Map<String, int[][]> getTeamSubmissionArray(List<String> teamNames,
-            Map<String, List<String>> teamMembersEmail,
-            Map<String, List<FeedbackResponseAttributes>> teamResponses) {
-        Map<String, int[][]> teamSubmissionArray = new LinkedHashMap<String, int[][]>();
-        for (String team : teamNames) {
-            int teamSize = teamMembersEmail.get(team).size();
-            teamSubmissionArray.put(team, new int[teamSize][teamSize]);
-            //Initialize all as not submitted.
-            for (int i = 0; i < teamSize; i++) {
-                for (int j = 0; j < teamSize; j++) {
-                    teamSubmissionArray.get(team)[i][j] = Const.POINTS_NOT_SUBMITTED;
-                }
-            }
-            //Fill in submitted points
-            List<FeedbackResponseAttributes> teamResponseList = teamResponses.get(team);
-            List<String> memberEmailList = teamMembersEmail.get(team);
-            for (FeedbackResponseAttributes response : teamResponseList) {
-                int giverIndx = memberEmailList.indexOf(response.giver);
-                int recipientIndx = memberEmailList.indexOf(response.recipient);
-                if (giverIndx == -1 || recipientIndx == -1) {
-                    continue;
-                }
-                int points = ((FeedbackContributionResponseDetails) response.getResponseDetails()).getAnswer();
-                teamSubmissionArray.get(team)[giverIndx][recipientIndx] = points;
-            }
-        }
-        return teamSubmissionArray;
-    }
-
-    private Map<String, List<FeedbackResponseAttributes>> getTeamResponses(
-            List<FeedbackResponseAttributes> responses,
-            FeedbackSessionResultsBundle bundle, List<String> teamNames) {
-        Map<String, List<FeedbackResponseAttributes>> teamResponses =
-                new LinkedHashMap<String, List<FeedbackResponseAttributes>>();
-        for (String teamName : teamNames) {
-            teamResponses.put(teamName, new ArrayList<FeedbackResponseAttributes>());
-        }
-        for (FeedbackResponseAttributes response : responses) {
-            String team = bundle.emailTeamNameTable.get(response.giver);
-            if (teamResponses.containsKey(team)) {
-                teamResponses.get(team).add(response);
-            }
-        }
-        return teamResponses;
-    }
-
-    private Map<String, List<String>> getTeamMembersEmail(
-            FeedbackSessionResultsBundle bundle, List<String> teamNames) {
-        Map<String, List<String>> teamMembersEmail = new LinkedHashMap<String, List<String>>();
-        for (String teamName : teamNames) {
-            List<String> memberEmails = new ArrayList<String>(bundle.rosterTeamNameMembersTable.get(teamName));
-            Collections.sort(memberEmails);
-            teamMembersEmail.put(teamName, memberEmails);
-        }
-        return teamMembersEmail;
-    }
-
-    private List<String> getTeamsWithAtLeastOneResponse(
-            List<FeedbackResponseAttributes> responses,
-            FeedbackSessionResultsBundle bundle) {
-        List<String> teamNames = new ArrayList<String>();
-        for (FeedbackResponseAttributes response : responses) {
-            String teamNameOfResponseGiver = bundle.getTeamNameForEmail(response.giver);
-            if (!teamNames.contains(teamNameOfResponseGiver)) {
-                teamNames.add(teamNameOfResponseGiver);
-            }
-        }
-        return teamNames;
-    }
-
-    private List<FeedbackResponseAttributes> getActualResponses(
-            FeedbackQuestionAttributes question,
-            FeedbackSessionResultsBundle bundle) {
-        List<FeedbackResponseAttributes> responses;
-        String questionId = question.getId();
-        //Get all actual responses for this question.
-        responses = new ArrayList<FeedbackResponseAttributes>();
-        for (FeedbackResponseAttributes response : bundle.actualResponses) {
-            if (response.feedbackQuestionId.equals(questionId)) {
-                responses.add(response);
-            }
-        }
-        Collections.sort(responses, bundle.compareByGiverRecipientQuestion);
-        return responses;
-    }
-    
     private static String getNormalizedPointsListColorizedDescending(int[] subs, int index) {
         List<String> result = new ArrayList<String>();
         for (int i = 0; i < subs.length; i++) {
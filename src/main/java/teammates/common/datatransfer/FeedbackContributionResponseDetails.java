@@ -84,7 +84,8 @@ public class FeedbackContributionResponseDetails extends FeedbackResponseDetails
             FeedbackResponseAttributes response,
             FeedbackQuestionAttributes question,
             FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
-        Map<String, TeamEvalResult> teamResults = getContribQnTeamEvalResult(question, feedbackSessionResultsBundle);
+        FeedbackContributionQuestionDetails fqcd = (FeedbackContributionQuestionDetails) question.getQuestionDetails();
+        Map<String, TeamEvalResult> teamResults = fqcd.getTeamEvalResults(feedbackSessionResultsBundle, question);
         
         // Need to get actual team name and giver/recipient emails here,
         // only for getting the responseAnswer.
@@ -134,7 +135,8 @@ public class FeedbackContributionResponseDetails extends FeedbackResponseDetails
             FeedbackResponseAttributes response,
             FeedbackQuestionAttributes question,
             FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
-        Map<String, TeamEvalResult> teamResults = getContribQnTeamEvalResult(question, feedbackSessionResultsBundle);
+        FeedbackContributionQuestionDetails fqcd = (FeedbackContributionQuestionDetails) question.getQuestionDetails();
+        Map<String, TeamEvalResult> teamResults = fqcd.getTeamEvalResults(feedbackSessionResultsBundle, question);
         Map<String, StudentResultSummary> stats = getContribQnStudentResultSummary(question, feedbackSessionResultsBundle);
         
         // Need to get actual team name and giver/recipient emails here,
@@ -204,17 +206,4 @@ public class FeedbackContributionResponseDetails extends FeedbackResponseDetails
         
         return contribQnStats;
     }
-    
-    public Map<String, TeamEvalResult> getContribQnTeamEvalResult(FeedbackQuestionAttributes question,
-            FeedbackSessionResultsBundle feedbackSessionResultsBundle) {
-        Map<String, TeamEvalResult> contribQnStats =
-                feedbackSessionResultsBundle.contributionQuestionTeamEvalResults.get(question.getId());
-        if (contribQnStats == null) {
-            FeedbackContributionQuestionDetails fqcd = (FeedbackContributionQuestionDetails) question.getQuestionDetails();
-            contribQnStats = fqcd.getTeamEvalResults(feedbackSessionResultsBundle, question);
-            feedbackSessionResultsBundle.contributionQuestionTeamEvalResults.put(question.getId(), contribQnStats);
-        }
-        
-        return contribQnStats;
-    }
 }
@@ -2,6 +2,7 @@ package teammates.common.datatransfer;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -24,6 +25,9 @@ import teammates.logic.core.StudentsLogic;
 import teammates.ui.template.InstructorFeedbackResultsResponseRow;
 
 public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
+    /** Key of the answers counted in the statistics aggregate of the question */
+    private static final String STATISTICS_ANSWER_KEY = "answer";
+
     private int numOfMcqChoices;
     private List<String> mcqChoices;
     private boolean otherEnabled;
@@ -370,42 +374,14 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
             return "";
         }
         
+        McqStatistics statistics = getStatistics(responses, question, bundle);
         StringBuilder fragments = new StringBuilder();
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        
-        for (String option : mcqChoices) {
-            answerFrequency.put(option, 0);
-        }
-        
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
-        
-        for (FeedbackResponseAttributes response : responses) {
-            String answerString = response.getResponseDetails().getAnswerString();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMcqResponseDetails) (response.getResponseDetails())).isOtherOptionAnswer();
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-            } else {
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-            }
-        }
-        
-        DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, Integer> entry : answerFrequency.entrySet()) {
+        for (Entry<String, Integer> entry : statistics.answerFrequency.entrySet()) {
             fragments.append(Templates.populateTemplate(FormTemplates.MCQ_RESULT_STATS_OPTIONFRAGMENT,
                     Slots.MCQ_CHOICE_VALUE, Sanitizer.sanitizeForHtml(entry.getKey()),
                     Slots.COUNT, entry.getValue().toString(),
-                    Slots.PERCENTAGE, df.format(100 * (double) entry.getValue() / responses.size())));
+                    Slots.PERCENTAGE, statistics.getPercentage(entry.getValue())));
         }
         
         return Templates.populateTemplate(FormTemplates.MCQ_RESULT_STATS,
@@ -421,47 +397,58 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
             return "";
         }
         
+        McqStatistics statistics = getStatistics(responses, question, bundle);
         StringBuilder fragments = new StringBuilder();
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        
-        for (String option : mcqChoices) {
-            answerFrequency.put(option, 0);
-        }
         
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
-        
-        for (FeedbackResponseAttributes response : responses) {
-            String answerString = response.getResponseDetails().getAnswerString();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMcqResponseDetails) (response.getResponseDetails())).isOtherOptionAnswer();
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-            } else {
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-            }
-        }
-        
-        DecimalFormat df = new DecimalFormat("#.##");
-        
-        for (Entry<String, Integer> entry : answerFrequency.entrySet()) {
+        for (Entry<String, Integer> entry : statistics.answerFrequency.entrySet()) {
             fragments.append(Sanitizer.sanitizeForCsv(entry.getKey())).append(',')
                      .append(entry.getValue().toString()).append(',')
-                     .append(df.format(100 * (double) entry.getValue() / responses.size())).append(Const.EOL);
+                     .append(statistics.getPercentage(entry.getValue())).append(Const.EOL);
         }
         
         return "Choice, Response Count, Percentage" + Const.EOL
                + fragments.toString();
     }
     
+    @Override
+    public List<List<String>> getQuestionResultStatisticsRows(
+            List<FeedbackResponseAttributes> responses,
+            FeedbackQuestionAttributes question,
+            FeedbackSessionResultsBundle bundle) {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        if (responses.isEmpty()) {
+            return rows;
+        }
+        
+        McqStatistics statistics = getStatistics(responses, question, bundle);
+        rows.add(Arrays.asList("Choice", "Response Count", "Percentage"));
+        for (Entry<String, Integer> entry : statistics.answerFrequency.entrySet()) {
+            rows.add(Arrays.asList(entry.getKey(), entry.getValue().toString(),
+                                   statistics.getPercentage(entry.getValue())));
+        }
+        return rows;
+    }
+    
+    @Override
+    public boolean isStatisticsAggregatable() {
+        return true;
+    }
+    
+    @Override
+    public void countInStatisticsAggregate(FeedbackResponseAttributes response,
+                                           FeedbackQuestionStatisticsAggregate aggregate, int times) {
+        FeedbackMcqResponseDetails frd = (FeedbackMcqResponseDetails) response.getResponseDetails();
+        aggregate.count(STATISTICS_ANSWER_KEY, frd.isOtherOptionAnswer() ? "Other" : frd.getAnswerString(), times);
+        aggregate.countResponses(times);
+    }
+    
+    private McqStatistics getStatistics(List<FeedbackResponseAttributes> responses,
+                                        FeedbackQuestionAttributes question,
+                                        FeedbackSessionResultsBundle bundle) {
+        FeedbackQuestionStatisticsAggregate aggregate = bundle.getStatisticsAggregate(question, responses);
+        return aggregate == null ? new McqStatistics(responses) : new McqStatistics(aggregate);
+    }
+    
     @Override
     public String getCsvHeader() {
         return "Feedback";
@@ -512,4 +499,57 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
     public String validateGiverRecipientVisibility(FeedbackQuestionAttributes feedbackQuestionAttributes) {
         return "";
     }
+    
+    /**
+     * The number of responses for each choice, counted in a single pass over the responses
+     * or read from the statistics aggregate of the question,
+     * and rendered by the HTML, CSV and row statistics of the question.
+     */
+    private final class McqStatistics {
+        private final Map<String, Integer> answerFrequency;
+        private final int numOfResponses;
+        private final DecimalFormat df = new DecimalFormat("#.##");
+        
+        McqStatistics(List<FeedbackResponseAttributes> responses) {
+            Map<String, Integer> frequency = getFrequencyOfNoResponses();
+            for (FeedbackResponseAttributes response : responses) {
+                FeedbackMcqResponseDetails frd = (FeedbackMcqResponseDetails) response.getResponseDetails();
+                String answer = frd.isOtherOptionAnswer() ? "Other" : frd.getAnswerString();
+                addCount(frequency, answer, 1);
+            }
+            
+            this.answerFrequency = Collections.unmodifiableMap(frequency);
+            this.numOfResponses = responses.size();
+        }
+        
+        McqStatistics(FeedbackQuestionStatisticsAggregate aggregate) {
+            Map<String, Integer> frequency = getFrequencyOfNoResponses();
+            for (Entry<String, Integer> count : aggregate.getCounts(STATISTICS_ANSWER_KEY).entrySet()) {
+                addCount(frequency, count.getKey(), count.getValue());
+            }
+            
+            this.answerFrequency = Collections.unmodifiableMap(frequency);
+            this.numOfResponses = aggregate.getNumberOfResponses();
+        }
+        
+        String getPercentage(int count) {
+            return df.format(100 * (double) count / numOfResponses);
+        }
+        
+        private Map<String, Integer> getFrequencyOfNoResponses() {
+            Map<String, Integer> frequency = new LinkedHashMap<String, Integer>();
+            for (String option : mcqChoices) {
+                frequency.put(option, 0);
+            }
+            if (otherEnabled) {
+                frequency.put("Other", 0);
+            }
+            return frequency;
+        }
+        
+        private void addCount(Map<String, Integer> frequency, String answer, int times) {
+            Integer count = frequency.get(answer);
+            frequency.put(answer, count == null ? times : count + times);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package teammates.common.datatransfer;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -25,6 +26,11 @@ import teammates.logic.core.StudentsLogic;
 import teammates.ui.template.InstructorFeedbackResultsResponseRow;
 
 public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
+    /** Key of the choices counted in the statistics aggregate of the question, including "Other" */
+    private static final String STATISTICS_ANSWER_KEY = "answer";
+    /** Key of the "Other" answers counted in the statistics aggregate, to tell them from a choice named "Other" */
+    private static final String STATISTICS_OTHER_OPTION_KEY = "otherOption";
+
     private int numOfMsqChoices;
     private List<String> msqChoices;
     private boolean otherEnabled;
@@ -395,71 +401,18 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
             return "";
         }
         
-        boolean isContainsNonEmptyResponse = false; // we will only show stats if there is at least one nonempty response
-
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        
-        for (String option : msqChoices) {
-            answerFrequency.put(option, 0);
-        }
-        
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
-        
-        int numChoicesSelected = 0;
-        for (FeedbackResponseAttributes response : responses) {
-            List<String> answerStrings =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).getAnswerStrings();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).isOtherOptionAnswer();
-            String otherAnswer = "";
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-                
-                numChoicesSelected++;
-                // remove other answer temporarily to calculate stats for other options
-                otherAnswer = answerStrings.get(answerStrings.size() - 1);
-                answerStrings.remove(otherAnswer);
-            }
-            
-            for (String answerString : answerStrings) {
-                if (answerString.isEmpty()) {
-                    continue;
-                }
-                
-                isContainsNonEmptyResponse = true;
-                numChoicesSelected++;
-                
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-            }
-            
-            // restore other answer if any
-            if (isOtherOptionAnswer) {
-                answerStrings.add(otherAnswer);
-            }
-        }
-        
-        if (!isContainsNonEmptyResponse) {
+        MsqStatistics statistics = getStatistics(responses, question, bundle);
+        // we will only show stats if there is at least one nonempty response
+        if (!statistics.isContainsNonEmptyResponse) {
             return "";
         }
         
-        DecimalFormat df = new DecimalFormat("#.##");
-        
         StringBuilder fragments = new StringBuilder();
-        for (Entry<String, Integer> entry : answerFrequency.entrySet()) {
+        for (Entry<String, Integer> entry : statistics.answerFrequency.entrySet()) {
             fragments.append(Templates.populateTemplate(FormTemplates.MCQ_RESULT_STATS_OPTIONFRAGMENT,
                                 Slots.MCQ_CHOICE_VALUE, entry.getKey(),
                                 Slots.COUNT, entry.getValue().toString(),
-                                Slots.PERCENTAGE, df.format(100 * (double) entry.getValue() / numChoicesSelected)));
+                                Slots.PERCENTAGE, statistics.getPercentage(entry.getValue())));
 
         }
         //Use same template as MCQ for now, until they need to be different.
@@ -475,67 +428,17 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
             return "";
         }
 
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        boolean isContainsNonEmptyResponse = false; // we will only show stats if there is at least one nonempty response
-        
-        for (String option : msqChoices) {
-            answerFrequency.put(option, 0);
-        }
-        
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
-        
-        int numChoicesSelected = 0;
-        
-        for (FeedbackResponseAttributes response : responses) {
-            List<String> answerStrings =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).getAnswerStrings();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).isOtherOptionAnswer();
-            String otherAnswer = "";
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-                
-                numChoicesSelected++;
-                // remove other answer temporarily to calculate stats for other options
-                otherAnswer = answerStrings.get(answerStrings.size() - 1);
-                answerStrings.remove(otherAnswer);
-            }
-            
-            for (String answerString : answerStrings) {
-                if (answerString.isEmpty()) {
-                    continue;
-                }
-                isContainsNonEmptyResponse = true;
-                numChoicesSelected++;
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-                
-            }
-            
-            // restore other answer if any
-            if (isOtherOptionAnswer) {
-                answerStrings.add(otherAnswer);
-            }
-        }
-        
-        if (!isContainsNonEmptyResponse) {
+        MsqStatistics statistics = getStatistics(responses, question, bundle);
+        // we will only show stats if there is at least one nonempty response
+        if (!statistics.isContainsNonEmptyResponse) {
             return "";
         }
         
-        DecimalFormat df = new DecimalFormat("#.##");
         StringBuilder fragments = new StringBuilder();
-        for (Entry<String, Integer> entry : answerFrequency.entrySet()) {
+        for (Entry<String, Integer> entry : statistics.answerFrequency.entrySet()) {
             fragments.append(Sanitizer.sanitizeForCsv(entry.getKey()) + ','
                              + entry.getValue().toString() + ','
-                             + df.format(100 * (double) entry.getValue() / numChoicesSelected) + Const.EOL);
+                             + statistics.getPercentage(entry.getValue()) + Const.EOL);
         }
 
         
@@ -543,6 +446,61 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
                + fragments + Const.EOL;
     }
 
+    @Override
+    public List<List<String>> getQuestionResultStatisticsRows(
+            List<FeedbackResponseAttributes> responses,
+            FeedbackQuestionAttributes question,
+            FeedbackSessionResultsBundle bundle) {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        if (responses.isEmpty()) {
+            return rows;
+        }
+        
+        MsqStatistics statistics = getStatistics(responses, question, bundle);
+        if (!statistics.isContainsNonEmptyResponse) {
+            return rows;
+        }
+        
+        rows.add(Arrays.asList("Choice", "Response Count", "Percentage"));
+        for (Entry<String, Integer> entry : statistics.answerFrequency.entrySet()) {
+            rows.add(Arrays.asList(entry.getKey(), entry.getValue().toString(),
+                                   statistics.getPercentage(entry.getValue())));
+        }
+        return rows;
+    }
+
+    @Override
+    public boolean isStatisticsAggregatable() {
+        return true;
+    }
+
+    @Override
+    public void countInStatisticsAggregate(FeedbackResponseAttributes response,
+                                           FeedbackQuestionStatisticsAggregate aggregate, int times) {
+        FeedbackMsqResponseDetails frd = (FeedbackMsqResponseDetails) response.getResponseDetails();
+        List<String> answerStrings = frd.getAnswerStrings();
+        if (frd.isOtherOptionAnswer()) {
+            aggregate.count(STATISTICS_ANSWER_KEY, "Other", times);
+            aggregate.count(STATISTICS_OTHER_OPTION_KEY, "Other", times);
+            // leave out the other answer as the statistics do
+            answerStrings = new ArrayList<String>(answerStrings);
+            answerStrings.remove(answerStrings.get(answerStrings.size() - 1));
+        }
+        for (String answerString : answerStrings) {
+            if (!answerString.isEmpty()) {
+                aggregate.count(STATISTICS_ANSWER_KEY, answerString, times);
+            }
+        }
+        aggregate.countResponses(times);
+    }
+
+    private MsqStatistics getStatistics(List<FeedbackResponseAttributes> responses,
+                                        FeedbackQuestionAttributes question,
+                                        FeedbackSessionResultsBundle bundle) {
+        FeedbackQuestionStatisticsAggregate aggregate = bundle.getStatisticsAggregate(question, responses);
+        return aggregate == null ? new MsqStatistics(responses) : new MsqStatistics(aggregate);
+    }
+
     @Override
     public String getCsvHeader() {
         List<String> sanitizedChoices = Sanitizer.sanitizeListForCsv(msqChoices);
@@ -612,5 +570,84 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
     public List<String> getMsqChoices() {
         return msqChoices;
     }
-
+    
+    /**
+     * The number of times each choice is selected, counted in a single pass over the responses
+     * or read from the statistics aggregate of the question,
+     * and rendered by the HTML, CSV and row statistics of the question.
+     */
+    private final class MsqStatistics {
+        private final Map<String, Integer> answerFrequency;
+        private final int numChoicesSelected;
+        private final boolean isContainsNonEmptyResponse;
+        private final DecimalFormat df = new DecimalFormat("#.##");
+        
+        MsqStatistics(List<FeedbackResponseAttributes> responses) {
+            Map<String, Integer> frequency = getFrequencyOfNoResponses();
+            
+            int numSelected = 0;
+            boolean isNonEmpty = false;
+            for (FeedbackResponseAttributes response : responses) {
+                FeedbackMsqResponseDetails frd = (FeedbackMsqResponseDetails) response.getResponseDetails();
+                List<String> answerStrings = frd.getAnswerStrings();
+                
+                if (frd.isOtherOptionAnswer()) {
+                    addCount(frequency, "Other", 1);
+                    numSelected++;
+                    // leave out the other answer to calculate stats for other options
+                    answerStrings = new ArrayList<String>(answerStrings);
+                    answerStrings.remove(answerStrings.get(answerStrings.size() - 1));
+                }
+                
+                for (String answerString : answerStrings) {
+                    if (answerString.isEmpty()) {
+                        continue;
+                    }
+                    isNonEmpty = true;
+                    numSelected++;
+                    addCount(frequency, answerString, 1);
+                }
+            }
+            
+            this.answerFrequency = Collections.unmodifiableMap(frequency);
+            this.numChoicesSelected = numSelected;
+            this.isContainsNonEmptyResponse = isNonEmpty;
+        }
+        
+        MsqStatistics(FeedbackQuestionStatisticsAggregate aggregate) {
+            Map<String, Integer> frequency = getFrequencyOfNoResponses();
+            
+            int numSelected = 0;
+            for (Entry<String, Integer> count : aggregate.getCounts(STATISTICS_ANSWER_KEY).entrySet()) {
+                addCount(frequency, count.getKey(), count.getValue());
+                numSelected += count.getValue();
+            }
+            Integer numOtherOptionSelected = aggregate.getCounts(STATISTICS_OTHER_OPTION_KEY).get("Other");
+            
+            this.answerFrequency = Collections.unmodifiableMap(frequency);
+            this.numChoicesSelected = numSelected;
+            this.isContainsNonEmptyResponse =
+                    numSelected > (numOtherOptionSelected == null ? 0 : numOtherOptionSelected);
+        }
+        
+        String getPercentage(int count) {
+            return df.format(100 * (double) count / numChoicesSelected);
+        }
+        
+        private Map<String, Integer> getFrequencyOfNoResponses() {
+            Map<String, Integer> frequency = new LinkedHashMap<String, Integer>();
+            for (String option : msqChoices) {
+                frequency.put(option, 0);
+            }
+            if (otherEnabled) {
+                frequency.put("Other", 0);
+            }
+            return frequency;
+        }
+        
+        private void addCount(Map<String, Integer> frequency, String answer, int times) {
+            Integer count = frequency.get(answer);
+            frequency.put(answer, count == null ? times : count + times);
+        }
+    }
 }
@@ -3,8 +3,11 @@ package teammates.common.datatransfer;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,6 +24,9 @@ import teammates.ui.template.InstructorFeedbackResultsResponseRow;
 
 public class FeedbackNumericalScaleQuestionDetails extends
         FeedbackQuestionDetails {
+    /** Prefix of the self response scores counted in the statistics aggregate of the question */
+    private static final String STATISTICS_SELF_RESPONSE_PREFIX = "self:";
+
     private int minScale;
     private int maxScale;
     private double step;
@@ -166,52 +172,35 @@ public class FeedbackNumericalScaleQuestionDetails extends
             FeedbackSessionResultsBundle bundle,
             String view) {
         
+        NumScaleStatistics statistics = getStatistics(responses, question, bundle);
         if ("student".equals(view)) {
-            return getStudentQuestionResultsStatisticsHtml(responses, studentEmail, question, bundle);
+            return getStudentQuestionResultsStatisticsHtml(statistics, studentEmail, question, bundle);
         }
-        return getInstructorQuestionResultsStatisticsHtml(responses, question, bundle);
+        return getInstructorQuestionResultsStatisticsHtml(statistics, bundle);
     }
 
     private String getInstructorQuestionResultsStatisticsHtml(
-            List<FeedbackResponseAttributes> responses,
-            FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
-        
-        // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
-        List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
-
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
-        
-        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
+            NumScaleStatistics statistics, FeedbackSessionResultsBundle bundle) {
+        boolean showAvgExcludingSelf = statistics.isAverageExcludingSelfShown;
         
         String fragmentTemplateToUse = showAvgExcludingSelf
                                      ? FormTemplates.NUMSCALE_RESULTS_STATS_FRAGMENT_WITH_SELF_RESPONSE
                                      : FormTemplates.NUMSCALE_RESULTS_STATS_FRAGMENT;
         
-        DecimalFormat df = new DecimalFormat();
-        df.setMinimumFractionDigits(0);
-        df.setMaximumFractionDigits(5);
-        df.setRoundingMode(RoundingMode.DOWN);
+        DecimalFormat df = getDecimalFormat();
   
         StringBuilder fragmentHtml = new StringBuilder();
         
-        for (String recipient : numResponses.keySet()) {
+        for (Map.Entry<String, RecipientScores> entry : statistics.recipientScores.entrySet()) {
+            String recipient = entry.getKey();
             // hidden recipients do not appear in the summary table, so ignore responses with hidden recipients
-            if (hiddenRecipients.contains(recipient)) {
+            if (statistics.hiddenRecipients.contains(recipient)) {
                 continue;
             }
             
-            Double userAverageExcludingSelf = averageExcludingSelf.get(recipient);
+            RecipientScores scores = entry.getValue();
             String userAverageExcludingSelfText =
-                    getAverageExcludingSelfText(showAvgExcludingSelf, df, userAverageExcludingSelf);
+                    getAverageExcludingSelfText(showAvgExcludingSelf, df, scores.getAverageExcludingSelf());
             
             String recipientName = recipient.equals(Const.GENERAL_QUESTION) ? "General" : bundle.getNameForEmail(recipient);
             String recipientTeam = bundle.getTeamNameForEmail(recipient);
@@ -220,9 +209,9 @@ public class FeedbackNumericalScaleQuestionDetails extends
                                     fragmentTemplateToUse,
                                     Slots.RECIPIENT_TEAM, Sanitizer.sanitizeForHtml(recipientTeam),
                                     Slots.RECIPIENT_NAME, Sanitizer.sanitizeForHtml(recipientName),
-                                    Slots.AVERAGE, df.format(average.get(recipient)),
-                                    Slots.MAX, df.format(max.get(recipient)),
-                                    Slots.MIN, df.format(min.get(recipient)),
+                                    Slots.AVERAGE, df.format(scores.getAverage()),
+                                    Slots.MAX, df.format(scores.max),
+                                    Slots.MIN, df.format(scores.min),
                                     Slots.AVERAGE_EXCLUDING_SELF_RESPONSE, userAverageExcludingSelfText));
         }
         
@@ -241,33 +230,16 @@ public class FeedbackNumericalScaleQuestionDetails extends
     }
 
     private String getStudentQuestionResultsStatisticsHtml(
-            List<FeedbackResponseAttributes> responses, String studentEmail,
+            NumScaleStatistics statistics, String studentEmail,
             FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
        
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
-        
-        // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
-        List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
-
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
-        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
+        boolean showAvgExcludingSelf = statistics.isAverageExcludingSelfShown;
 
         String fragmentTemplateToUse = showAvgExcludingSelf
                                      ? FormTemplates.NUMSCALE_RESULTS_STATS_FRAGMENT_WITH_SELF_RESPONSE
                                      : FormTemplates.NUMSCALE_RESULTS_STATS_FRAGMENT;
         
-        DecimalFormat df = new DecimalFormat();
-        df.setMinimumFractionDigits(0);
-        df.setMaximumFractionDigits(5);
-        df.setRoundingMode(RoundingMode.DOWN);
+        DecimalFormat df = getDecimalFormat();
 
         boolean isRecipientTypeGeneral = question.recipientType == FeedbackParticipantType.NONE;
         boolean isRecipientTypeTeam = question.recipientType == FeedbackParticipantType.TEAMS
@@ -275,11 +247,11 @@ public class FeedbackNumericalScaleQuestionDetails extends
         boolean isRecipientTypeStudent = !isRecipientTypeGeneral && !isRecipientTypeTeam;
         
         String currentUserTeam = bundle.getTeamNameForEmail(studentEmail);
-        String currentUserIdentifier = getCurrentUserIdentifier(numResponses,
+        String currentUserIdentifier = getCurrentUserIdentifier(statistics,
                                                                 isRecipientTypeStudent, studentEmail,
                                                                 isRecipientTypeTeam, currentUserTeam);
         
-        Set<String> recipientSet = numResponses.keySet();
+        Set<String> recipientSet = statistics.recipientScores.keySet();
         ArrayList<String> recipientList = new ArrayList<String>();
         
         boolean hasCurrentUserReceivedAnyResponse = recipientSet.contains(currentUserIdentifier);
@@ -296,14 +268,15 @@ public class FeedbackNumericalScaleQuestionDetails extends
             recipientList.add(otherRecipient);
         }
         
+        boolean hasAtLeastTwoResponses = statistics.hasAtLeastTwoResponses(currentUserIdentifier);
+        boolean hasAtLeastTwoResponsesOtherThanCurrentUser =
+                statistics.hasAtLeastTwoResponsesOtherThanCurrentUser(currentUserIdentifier);
+        
         StringBuilder fragmentHtml = new StringBuilder();
         for (String recipient : recipientList) {
             
             // hidden recipients do not appear in the summary table, so ignore responses with hidden recipients
-            boolean isHiddenRecipient = false;
-            if (hiddenRecipients.contains(recipient)) {
-                isHiddenRecipient = true;
-            }
+            boolean isHiddenRecipient = statistics.hiddenRecipients.contains(recipient);
             
             String recipientName = null;
             String recipientTeam = null;
@@ -312,46 +285,34 @@ public class FeedbackNumericalScaleQuestionDetails extends
             boolean isRecipientGeneral = recipient.equalsIgnoreCase(Const.GENERAL_QUESTION);
             
             recipientName = getDisplayableRecipientName(isHiddenRecipient,
-                            isRecipientCurrentUser, hasAtLeastTwoResponses(numResponses, currentUserIdentifier),
-                            isRecipientTypeStudent, hasAtLeastTwoResponsesOtherThanCurrentUser(
-                                                            numResponses, currentUserIdentifier, hiddenRecipients),
+                            isRecipientCurrentUser, hasAtLeastTwoResponses,
+                            isRecipientTypeStudent, hasAtLeastTwoResponsesOtherThanCurrentUser,
                             isRecipientGeneral, bundle.getNameForEmail(recipient), currentUserTeam);
             
             recipientTeam = getDisplayableRecipientTeam(isHiddenRecipient,
                                                         isRecipientCurrentUser,
-                                                        hasAtLeastTwoResponses(numResponses, currentUserIdentifier),
+                                                        hasAtLeastTwoResponses,
                                                         isRecipientTypeStudent,
-                                                        hasAtLeastTwoResponsesOtherThanCurrentUser(numResponses,
-                                                                                                   currentUserIdentifier,
-                                                                                                   hiddenRecipients),
+                                                        hasAtLeastTwoResponsesOtherThanCurrentUser,
                                                         bundle.getTeamNameForEmail(recipient), currentUserTeam);
 
-            Double minScore = null;
-            Double maxScore = null;
-            Double averageScore = null;
-            Double averageScoreExcludingSelf = null;
-            
             boolean isRecipientDetailsAvailable = recipientName != null && recipientTeam != null;
             
             if (!isRecipientDetailsAvailable) {
                 continue;
             }
             
-            minScore = min.get(recipient);
-            maxScore = max.get(recipient);
-            averageScore = average.get(recipient);
-            averageScoreExcludingSelf = averageExcludingSelf.get(recipient);
-            
+            RecipientScores scores = statistics.recipientScores.get(recipient);
             String averageScoreExcludingSelfText =
-                    getAverageExcludingSelfText(showAvgExcludingSelf, df, averageScoreExcludingSelf);
+                    getAverageExcludingSelfText(showAvgExcludingSelf, df, scores.getAverageExcludingSelf());
             
             String recipientFragmentHtml = Templates.populateTemplate(
                     fragmentTemplateToUse,
                     Slots.RECIPIENT_TEAM, Sanitizer.sanitizeForHtml(recipientTeam),
                     Slots.RECIPIENT_NAME, Sanitizer.sanitizeForHtml(recipientName),
-                    Slots.AVERAGE, df.format(averageScore),
-                    Slots.MAX, df.format(maxScore),
-                    Slots.MIN, df.format(minScore),
+                    Slots.AVERAGE, df.format(scores.getAverage()),
+                    Slots.MAX, df.format(scores.max),
+                    Slots.MIN, df.format(scores.min),
                     Slots.AVERAGE_EXCLUDING_SELF_RESPONSE, averageScoreExcludingSelfText);
             
             fragmentHtml.append(recipientFragmentHtml);
@@ -362,8 +323,7 @@ public class FeedbackNumericalScaleQuestionDetails extends
         }
         
         String statsTitle = getStatsTitle(
-                isRecipientTypeGeneral, isRecipientTypeTeam,
-                hasAtLeastTwoResponsesOtherThanCurrentUser(numResponses, currentUserIdentifier, hiddenRecipients));
+                isRecipientTypeGeneral, isRecipientTypeTeam, hasAtLeastTwoResponsesOtherThanCurrentUser);
         String templateToUse = showAvgExcludingSelf
                              ? FormTemplates.NUMSCALE_RESULT_STATS_WITH_SELF_RESPONSE
                              : FormTemplates.NUMSCALE_RESULT_STATS;
@@ -406,30 +366,19 @@ public class FeedbackNumericalScaleQuestionDetails extends
         return null;
     }
     
-    private String getCurrentUserIdentifier(Map<String, Integer> numResponses,
+    private String getCurrentUserIdentifier(NumScaleStatistics statistics,
             boolean isRecipientStudent, String currentUserEmail,
             boolean isRecipientTeam, String currentUserTeam) {
         
-        if (isRecipientStudent && numResponses.containsKey(currentUserEmail)
-                && numResponses.get(currentUserEmail) >= 1) {
+        if (isRecipientStudent && statistics.recipientScores.containsKey(currentUserEmail)) {
             return currentUserEmail;
-        } else if (isRecipientTeam && numResponses.containsKey(currentUserTeam)
-                   && numResponses.get(currentUserTeam) >= 1) {
+        } else if (isRecipientTeam && statistics.recipientScores.containsKey(currentUserTeam)) {
             return currentUserTeam;
         } else {
             return "";
         }
     }
 
-    private boolean hasAtLeastTwoResponses(Map<String, Integer> numResponses,
-            String recipient) {
-        if (numResponses == null) {
-            return false;
-        }
-        Integer numOfResponses = numResponses.get(recipient);
-        return numOfResponses != null && numOfResponses >= 2;
-    }
-
     private String getAverageExcludingSelfText(boolean showAvgExcludingSelf, DecimalFormat df, Double averageExcludingSelf) {
         if (showAvgExcludingSelf) {
             // Display a dash if the user has only self response
@@ -447,178 +396,112 @@ public class FeedbackNumericalScaleQuestionDetails extends
             return "";
         }
         
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
-        
-        // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
-        List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
-        
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
-        
-        boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
+        List<List<String>> rows = getQuestionResultStatisticsRows(responses, question, bundle);
         
-        DecimalFormat df = new DecimalFormat();
-        df.setMinimumFractionDigits(0);
-        df.setMaximumFractionDigits(5);
-        df.setRoundingMode(RoundingMode.DOWN);
-  
-        String csvHeader = "Team, Recipient, Average, Minimum, Maximum"
-                         + (showAvgExcludingSelf ? ", Average excluding self response" : "")
-                         + Const.EOL;
+        String csvHeader = StringHelper.toString(rows.get(0), ", ") + Const.EOL;
         
         StringBuilder csvBody = new StringBuilder();
-        for (String recipient : numResponses.keySet()) {
-            // hidden recipients do not appear in the summary table, so ignore responses with hidden recipients
-            if (hiddenRecipients.contains(recipient)) {
-                continue;
-            }
-            
-            String recipientTeam = bundle.getTeamNameForEmail(recipient);
-            boolean isRecipientGeneral = recipient.equals(Const.GENERAL_QUESTION);
-            
-            Double averageScoreExcludingSelf = averageExcludingSelf.get(recipient);
-            String averageScoreExcludingSelfText =
-                    getAverageExcludingSelfText(showAvgExcludingSelf, df, averageScoreExcludingSelf);
-            
-            csvBody.append(Sanitizer.sanitizeForCsv(recipientTeam) + ','
-                           + Sanitizer.sanitizeForCsv(isRecipientGeneral
-                                                      ? "General"
-                                                      : bundle.getNameForEmail(recipient))
-                           + ','
-                           + df.format(average.get(recipient)) + ','
-                           + df.format(min.get(recipient)) + ','
-                           + df.format(max.get(recipient))
-                           + (showAvgExcludingSelf ? ',' + averageScoreExcludingSelfText : "")
+        for (List<String> row : rows.subList(1, rows.size())) {
+            // only the team and recipient names need to be sanitized, the scores are formatted numbers
+            csvBody.append(Sanitizer.sanitizeForCsv(row.get(0)) + ','
+                           + Sanitizer.sanitizeForCsv(row.get(1)) + ','
+                           + StringHelper.toString(row.subList(2, row.size()), ",")
                            + Const.EOL);
         }
 
         return csvHeader + csvBody.toString();
     }
     
-    private boolean showAverageExcludingSelf(
-            FeedbackQuestionAttributes question, Map<String, Double> averageExcludingSelf) {
-        
-        if (question.recipientType == FeedbackParticipantType.NONE) {
-            // General recipient type would not give self response
-            // Therefore average exclude self response will always be hidden
-            return false;
+    @Override
+    public List<List<String>> getQuestionResultStatisticsRows(
+            List<FeedbackResponseAttributes> responses,
+            FeedbackQuestionAttributes question,
+            FeedbackSessionResultsBundle bundle) {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        if (responses.isEmpty()) {
+            return rows;
         }
         
-        for (Double average : averageExcludingSelf.values()) {
-            // There exists at least one average score exclude self
-            if (average != null) {
-                return true;
-            }
+        NumScaleStatistics statistics = getStatistics(responses, question, bundle);
+        boolean showAvgExcludingSelf = statistics.isAverageExcludingSelfShown;
+        DecimalFormat df = getDecimalFormat();
+        
+        List<String> header = new ArrayList<String>(Arrays.asList("Team", "Recipient", "Average", "Minimum", "Maximum"));
+        if (showAvgExcludingSelf) {
+            header.add("Average excluding self response");
         }
-        return false;
-    }
-
-    private void populateSummaryStatisticsFromResponses(
-            List<FeedbackResponseAttributes> responses,
-            Map<String, Double> min, Map<String, Double> max,
-            Map<String, Double> average, Map<String, Double> averageExcludingSelf,
-            Map<String, Double> total, Map<String, Double> totalExcludingSelf,
-            Map<String, Integer> numResponses,
-            Map<String, Integer> numResponsesExcludingSelf) {
+        rows.add(header);
         
-        for (FeedbackResponseAttributes response : responses) {
-            FeedbackNumericalScaleResponseDetails responseDetails =
-                    (FeedbackNumericalScaleResponseDetails) response.getResponseDetails();
-            double answer = responseDetails.getAnswer();
-            String giverEmail = response.giver;
-            String recipientEmail = response.recipient;
-
-            // Compute number of responses including user's self response
-            if (!numResponses.containsKey(recipientEmail)) {
-                numResponses.put(recipientEmail, 0);
-            }
-            int numOfResponses = numResponses.get(recipientEmail) + 1;
-            numResponses.put(recipientEmail, numOfResponses);
-
-            // Compute number of responses excluding user's self response
-            if (!numResponsesExcludingSelf.containsKey(recipientEmail)) {
-                numResponsesExcludingSelf.put(recipientEmail, 0);
-            }
-            boolean isSelfResponse = giverEmail.equalsIgnoreCase(recipientEmail);
-            if (!isSelfResponse) {
-                int numOfResponsesExcludingSelf = numResponsesExcludingSelf.get(recipientEmail) + 1;
-                numResponsesExcludingSelf.put(recipientEmail, numOfResponsesExcludingSelf);
-            }
-
-            // Compute minimum score received
-            if (!min.containsKey(recipientEmail)) {
-                min.put(recipientEmail, answer);
-            }
-            double minScoreReceived = Math.min(answer, min.get(recipientEmail));
-            min.put(recipientEmail, minScoreReceived);
-
-            // Compute maximum score received
-            if (!max.containsKey(recipientEmail)) {
-                max.put(recipientEmail, answer);
-            }
-            double maxScoreReceived = Math.max(answer, max.get(recipientEmail));
-            max.put(recipientEmail, maxScoreReceived);
-
-            // Compute total score received
-            if (!total.containsKey(recipientEmail)) {
-                total.put(recipientEmail, 0.0);
-            }
-            double totalScore = total.get(recipientEmail) + answer;
-            total.put(recipientEmail, totalScore);
-
-            // Compute total score received excluding self
-            if (!totalExcludingSelf.containsKey(recipientEmail)) {
-                totalExcludingSelf.put(recipientEmail, null);
-            }
-            if (!isSelfResponse) {
-                Double totalScoreExcludingSelf = totalExcludingSelf.get(recipientEmail);
-                
-                // totalScoreExcludingSelf == null when the user has only self response
-                totalExcludingSelf.put(recipientEmail,
-                                       totalScoreExcludingSelf == null ? answer : totalScoreExcludingSelf + answer);
-            }
-
-            // Compute average score received
-            if (!average.containsKey(recipientEmail)) {
-                average.put(recipientEmail, 0.0);
-            }
-            double averageReceived = total.get(recipientEmail) / numResponses.get(recipientEmail);
-            average.put(recipientEmail, averageReceived);
-
-            // Compute average score received excluding self
-            if (!averageExcludingSelf.containsKey(recipientEmail)) {
-                averageExcludingSelf.put(recipientEmail, null);
+        for (Map.Entry<String, RecipientScores> entry : statistics.recipientScores.entrySet()) {
+            String recipient = entry.getKey();
+            // hidden recipients do not appear in the summary table, so ignore responses with hidden recipients
+            if (statistics.hiddenRecipients.contains(recipient)) {
+                continue;
             }
-            if (!isSelfResponse && totalExcludingSelf.get(recipientEmail) != null) {
-                double averageReceivedExcludingSelf =
-                        totalExcludingSelf.get(recipientEmail) / numResponsesExcludingSelf.get(recipientEmail);
-                averageExcludingSelf.put(recipientEmail, averageReceivedExcludingSelf);
+            
+            RecipientScores scores = entry.getValue();
+            boolean isRecipientGeneral = recipient.equals(Const.GENERAL_QUESTION);
+            
+            List<String> row = new ArrayList<String>();
+            row.add(bundle.getTeamNameForEmail(recipient));
+            row.add(isRecipientGeneral ? "General" : bundle.getNameForEmail(recipient));
+            row.add(df.format(scores.getAverage()));
+            row.add(df.format(scores.min));
+            row.add(df.format(scores.max));
+            if (showAvgExcludingSelf) {
+                row.add(getAverageExcludingSelfText(showAvgExcludingSelf, df, scores.getAverageExcludingSelf()));
             }
+            rows.add(row);
         }
+        return rows;
     }
     
-    private List<String> getHiddenRecipients(
-            List<FeedbackResponseAttributes> responses,
-            FeedbackQuestionAttributes question,
-            FeedbackSessionResultsBundle bundle) {
-        List<String> hiddenRecipients = new ArrayList<String>(); // List of recipients to hide
-        FeedbackParticipantType type = question.recipientType;
-        for (FeedbackResponseAttributes response : responses) {
-            if (!bundle.visibilityTable.get(response.getId())[1]
-                    && type != FeedbackParticipantType.SELF
-                    && type != FeedbackParticipantType.NONE) {
-                
-                hiddenRecipients.add(response.recipient);
-            }
+    @Override
+    public boolean isStatisticsAggregatable() {
+        return true;
+    }
+    
+    /**
+     * Counts the score received by the recipient, keyed by the recipient, marking self response scores
+     * with {@link #STATISTICS_SELF_RESPONSE_PREFIX}.
+     */
+    @Override
+    public void countInStatisticsAggregate(FeedbackResponseAttributes response,
+                                           FeedbackQuestionStatisticsAggregate aggregate, int times) {
+        FeedbackNumericalScaleResponseDetails frd =
+                (FeedbackNumericalScaleResponseDetails) response.getResponseDetails();
+        String score = Double.toString(frd.getAnswer());
+        boolean isSelfResponse = response.giver.equalsIgnoreCase(response.recipient);
+        aggregate.count(response.recipient, isSelfResponse ? STATISTICS_SELF_RESPONSE_PREFIX + score : score, times);
+        aggregate.countResponses(times);
+    }
+    
+    /**
+     * The statistics are read from the aggregate of the question only where the names of all the recipients
+     * are shown, as the aggregate does not tell which responses have their recipients hidden.
+     */
+    private NumScaleStatistics getStatistics(List<FeedbackResponseAttributes> responses,
+                                             FeedbackQuestionAttributes question,
+                                             FeedbackSessionResultsBundle bundle) {
+        FeedbackQuestionStatisticsAggregate aggregate = bundle.getStatisticsAggregate(question, responses);
+        if (aggregate == null || isRecipientHideable(question)
+                                 && !question.showRecipientNameTo.contains(FeedbackParticipantType.INSTRUCTORS)) {
+            return new NumScaleStatistics(responses, question, bundle);
         }
-        return hiddenRecipients;
+        return new NumScaleStatistics(aggregate, question);
+    }
+    
+    private static boolean isRecipientHideable(FeedbackQuestionAttributes question) {
+        return question.recipientType != FeedbackParticipantType.SELF
+               && question.recipientType != FeedbackParticipantType.NONE;
+    }
+    
+    private DecimalFormat getDecimalFormat() {
+        DecimalFormat df = new DecimalFormat();
+        df.setMinimumFractionDigits(0);
+        df.setMaximumFractionDigits(5);
+        df.setRoundingMode(RoundingMode.DOWN);
+        return df;
     }
 
     private String getStatsTitle(boolean isDirectedAtGeneral,
@@ -634,33 +517,6 @@ public class FeedbackNumericalScaleQuestionDetails extends
         return statsTitle;
     }
 
-    /**
-     * Return true when the number of responses for any visible recipient, other than the current user,
-     * has at least 2 responses.
-     * This is used for displaying the statistic for other users as it doesn't make sense when all other users
-     * have only 1 response each
-     * Return false otherwise.
-     */
-    private boolean hasAtLeastTwoResponsesOtherThanCurrentUser(
-            Map<String, Integer> numResponses, String currentUserIdentifier, List<String> hiddenRecipients) {
-        boolean isAtLeastTwoResponsesOtherThanCurrentUser = false;
-        
-        // At least 2 responses are given to any recipient other than current user
-        for (String recipient : numResponses.keySet()) {
-            if (hiddenRecipients.contains(recipient)) {
-                continue;
-            }
-
-            if (hasAtLeastTwoResponses(numResponses, recipient)
-                    && !recipient.equals(currentUserIdentifier)) {
-                
-                isAtLeastTwoResponsesOtherThanCurrentUser = true;
-                break;
-            }
-        }
-        return isAtLeastTwoResponsesOtherThanCurrentUser;
-    }
-
     @Override
     public boolean isChangesRequiresResponseDeletion(
             FeedbackQuestionDetails newDetails) {
@@ -777,5 +633,136 @@ public class FeedbackNumericalScaleQuestionDetails extends
     public double getStep() {
         return step;
     }
-
+    
+    /**
+     * The scores received by each recipient, aggregated in a single pass over the responses
+     * or read from the statistics aggregate of the question,
+     * and rendered by the HTML, CSV and row statistics of the question.
+     */
+    private static final class NumScaleStatistics {
+        /** Scores received by each recipient, keyed by recipient */
+        private final Map<String, RecipientScores> recipientScores;
+        /** Recipients that are anonymised, who do not appear in the summary table */
+        private final Set<String> hiddenRecipients;
+        private final boolean isAverageExcludingSelfShown;
+        
+        NumScaleStatistics(List<FeedbackResponseAttributes> responses,
+                           FeedbackQuestionAttributes question,
+                           FeedbackSessionResultsBundle bundle) {
+            Map<String, RecipientScores> scoresOfRecipients = new HashMap<String, RecipientScores>();
+            Set<String> hidden = new HashSet<String>();
+            FeedbackParticipantType type = question.recipientType;
+            boolean isRecipientHideable = isRecipientHideable(question);
+            boolean hasAverageExcludingSelf = false;
+            
+            for (FeedbackResponseAttributes response : responses) {
+                FeedbackNumericalScaleResponseDetails responseDetails =
+                        (FeedbackNumericalScaleResponseDetails) response.getResponseDetails();
+                String recipientEmail = response.recipient;
+                
+                RecipientScores scores = scoresOfRecipients.get(recipientEmail);
+                if (scores == null) {
+                    scores = new RecipientScores();
+                    scoresOfRecipients.put(recipientEmail, scores);
+                }
+                boolean isSelfResponse = response.giver.equalsIgnoreCase(recipientEmail);
+                scores.add(responseDetails.getAnswer(), isSelfResponse);
+                hasAverageExcludingSelf = hasAverageExcludingSelf || !isSelfResponse;
+                
+                if (isRecipientHideable && !bundle.visibilityTable.get(response.getId())[1]) {
+                    hidden.add(recipientEmail);
+                }
+            }
+            
+            this.recipientScores = Collections.unmodifiableMap(scoresOfRecipients);
+            this.hiddenRecipients = Collections.unmodifiableSet(hidden);
+            // General recipient type would not give self response
+            // Therefore average exclude self response will always be hidden
+            this.isAverageExcludingSelfShown = type != FeedbackParticipantType.NONE && hasAverageExcludingSelf;
+        }
+        
+        NumScaleStatistics(FeedbackQuestionStatisticsAggregate aggregate, FeedbackQuestionAttributes question) {
+            Map<String, RecipientScores> scoresOfRecipients = new HashMap<String, RecipientScores>();
+            boolean hasAverageExcludingSelf = false;
+            
+            for (String recipientEmail : aggregate.getKeys()) {
+                RecipientScores scores = new RecipientScores();
+                for (Map.Entry<String, Integer> count : aggregate.getCounts(recipientEmail).entrySet()) {
+                    String score = count.getKey();
+                    boolean isSelfResponse = score.startsWith(STATISTICS_SELF_RESPONSE_PREFIX);
+                    if (isSelfResponse) {
+                        score = score.substring(STATISTICS_SELF_RESPONSE_PREFIX.length());
+                    }
+                    scores.add(Double.parseDouble(score), isSelfResponse, count.getValue());
+                    hasAverageExcludingSelf = hasAverageExcludingSelf || !isSelfResponse;
+                }
+                scoresOfRecipients.put(recipientEmail, scores);
+            }
+            
+            this.recipientScores = Collections.unmodifiableMap(scoresOfRecipients);
+            this.hiddenRecipients = Collections.<String>emptySet();
+            this.isAverageExcludingSelfShown = question.recipientType != FeedbackParticipantType.NONE
+                                               && hasAverageExcludingSelf;
+        }
+        
+        boolean hasAtLeastTwoResponses(String recipient) {
+            RecipientScores scores = recipientScores.get(recipient);
+            return scores != null && scores.numResponses >= 2;
+        }
+        
+        /**
+         * Return true when the number of responses for any visible recipient, other than the current user,
+         * has at least 2 responses.
+         * This is used for displaying the statistic for other users as it doesn't make sense when all other users
+         * have only 1 response each
+         * Return false otherwise.
+         */
+        boolean hasAtLeastTwoResponsesOtherThanCurrentUser(String currentUserIdentifier) {
+            for (Map.Entry<String, RecipientScores> entry : recipientScores.entrySet()) {
+                String recipient = entry.getKey();
+                if (!hiddenRecipients.contains(recipient) && entry.getValue().numResponses >= 2
+                        && !recipient.equals(currentUserIdentifier)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * The minimum, maximum and total scores received by a recipient.
+     * Only {@link NumScaleStatistics} adds scores to it.
+     */
+    private static final class RecipientScores {
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private double total;
+        private int numResponses;
+        /** Total score received excluding self, {@code null} when the recipient has only self response */
+        private Double totalExcludingSelf;
+        private int numResponsesExcludingSelf;
+        
+        void add(double answer, boolean isSelfResponse) {
+            add(answer, isSelfResponse, 1);
+        }
+        
+        void add(double answer, boolean isSelfResponse, int times) {
+            min = Math.min(answer, min);
+            max = Math.max(answer, max);
+            total += answer * times;
+            numResponses += times;
+            if (!isSelfResponse) {
+                totalExcludingSelf = totalExcludingSelf == null ? answer * times : totalExcludingSelf + answer * times;
+                numResponsesExcludingSelf += times;
+            }
+        }
+        
+        double getAverage() {
+            return total / numResponses;
+        }
+        
+        Double getAverageExcludingSelf() {
+            return totalExcludingSelf == null ? null : totalExcludingSelf / numResponsesExcludingSelf;
+        }
+    }
 }
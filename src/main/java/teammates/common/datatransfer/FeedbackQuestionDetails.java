@@ -1,5 +1,6 @@
 package teammates.common.datatransfer;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -58,6 +59,39 @@ public abstract class FeedbackQuestionDetails {
                                                           FeedbackQuestionAttributes question,
                                                           FeedbackSessionResultsBundle bundle);
 
+    /**
+     * Returns the statistics of the responses as rows of unformatted cell values, the first row being
+     * the header, for exporting to a spreadsheet. The rows hold the same values as
+     * {@link #getQuestionResultStatisticsCsv}, without the CSV escaping.
+     * Override for question types with statistics.
+     *
+     * @return the rows of the statistics, or an empty list if there are none.
+     */
+    public List<List<String>> getQuestionResultStatisticsRows(List<FeedbackResponseAttributes> responses,
+                                                              FeedbackQuestionAttributes question,
+                                                              FeedbackSessionResultsBundle bundle) {
+        return new ArrayList<List<String>>();
+    }
+
+    /**
+     * Returns true if the statistics of the question type can be rendered from a
+     * {@link FeedbackQuestionStatisticsAggregate} kept as responses are changed, instead of
+     * from all the responses. Override together with {@link #countInStatisticsAggregate}.
+     */
+    public boolean isStatisticsAggregatable() {
+        return false;
+    }
+
+    /**
+     * Counts {@code response} in {@code aggregate} {@code times} times, which is -1 to take back
+     * the counts of a response deleted. Only the details of the response are used, so that a
+     * question details instance without the question's own details can count the response.
+     */
+    public void countInStatisticsAggregate(FeedbackResponseAttributes response,
+                                           FeedbackQuestionStatisticsAggregate aggregate, int times) {
+        Assumption.fail("Statistics of " + questionType + " questions are not aggregatable");
+    }
+
     public abstract boolean isChangesRequiresResponseDeletion(FeedbackQuestionDetails newDetails);
 
     public abstract String getCsvHeader();
@@ -0,0 +1,170 @@
+package teammates.common.datatransfer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import teammates.common.util.Utils;
+
+/**
+ * The counts from which the statistics of a question are rendered, maintained as responses to the
+ * question are created, updated and deleted instead of being counted from all the responses every time
+ * the results are viewed.<br>
+ * The counts are kept as a number of times each value is counted for each key, e.g. the number of times
+ * each choice is chosen for the key of a rubric sub-question. What the keys and values are is decided by
+ * {@link FeedbackQuestionDetails#countInStatisticsAggregate}, which also does the counting.
+ */
+public class FeedbackQuestionStatisticsAggregate {
+
+    private int numberOfResponses;
+
+    /** The number of times each value is counted for each key, without values counted zero times */
+    private Map<String, Map<String, Integer>> counts = new LinkedHashMap<String, Map<String, Integer>>();
+
+    /**
+     * The number of times the aggregate was changed in the datastore, or for the counts of one response,
+     * the version of the response they are counted from; it is not part of the counts
+     */
+    private transient long version;
+
+    /**
+     * Counts the {@code value} of {@code key} {@code times} more times, which is negative to take back
+     * counts of a response deleted or updated.
+     */
+    public void count(String key, String value, int times) {
+        Map<String, Integer> countsOfKey = counts.get(key);
+        if (countsOfKey == null) {
+            countsOfKey = new LinkedHashMap<String, Integer>();
+            counts.put(key, countsOfKey);
+        }
+        Integer count = countsOfKey.get(value);
+        int newCount = (count == null ? 0 : count) + times;
+        if (newCount == 0) {
+            countsOfKey.remove(value);
+            if (countsOfKey.isEmpty()) {
+                counts.remove(key);
+            }
+        } else {
+            countsOfKey.put(value, newCount);
+        }
+    }
+
+    /**
+     * Counts {@code times} more responses, which is negative to take back responses deleted.
+     */
+    public void countResponses(int times) {
+        numberOfResponses += times;
+    }
+
+    /**
+     * @return the number of times each value of {@code key} is counted, in the order the values
+     *         are first counted, or an empty map if none is counted
+     */
+    public Map<String, Integer> getCounts(String key) {
+        Map<String, Integer> countsOfKey = counts.get(key);
+        return countsOfKey == null
+               ? Collections.<String, Integer>emptyMap()
+               : Collections.unmodifiableMap(countsOfKey);
+    }
+
+    /**
+     * @return the keys counted, in the order they are first counted
+     */
+    public Iterable<String> getKeys() {
+        return Collections.unmodifiableSet(counts.keySet());
+    }
+
+    public int getNumberOfResponses() {
+        return numberOfResponses;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Adds the counts of {@code other} to the counts of this aggregate.
+     */
+    public void add(FeedbackQuestionStatisticsAggregate other) {
+        numberOfResponses += other.numberOfResponses;
+        for (Map.Entry<String, Map<String, Integer>> countsOfKey : other.counts.entrySet()) {
+            for (Map.Entry<String, Integer> count : countsOfKey.getValue().entrySet()) {
+                count(countsOfKey.getKey(), count.getKey(), count.getValue());
+            }
+        }
+    }
+
+    /**
+     * Takes back the counts of {@code other} from the counts of this aggregate.
+     */
+    public void subtract(FeedbackQuestionStatisticsAggregate other) {
+        numberOfResponses -= other.numberOfResponses;
+        for (Map.Entry<String, Map<String, Integer>> countsOfKey : other.counts.entrySet()) {
+            for (Map.Entry<String, Integer> count : countsOfKey.getValue().entrySet()) {
+                count(countsOfKey.getKey(), count.getKey(), -count.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return true if nothing is counted, e.g. when the counts of a response are counted
+     *         and taken back again by an update that does not change the response
+     */
+    public boolean isEmpty() {
+        return numberOfResponses == 0 && counts.isEmpty();
+    }
+
+    /**
+     * @return true if more counts are taken back than counted, which happens only if the aggregate
+     *         is no longer the sum of the counts of the responses folded into it
+     */
+    public boolean hasNegativeCounts() {
+        if (numberOfResponses < 0) {
+            return true;
+        }
+        for (Map<String, Integer> countsOfKey : counts.values()) {
+            for (int count : countsOfKey.values()) {
+                if (count < 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public String toJson() {
+        return Utils.getTeammatesGson().toJson(this);
+    }
+
+    public static FeedbackQuestionStatisticsAggregate fromJson(String json) {
+        return Utils.getTeammatesGson().fromJson(json, FeedbackQuestionStatisticsAggregate.class);
+    }
+
+    /**
+     * Aggregates are equal if they have the same counts, in whichever order they are counted.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof FeedbackQuestionStatisticsAggregate)) {
+            return false;
+        }
+        FeedbackQuestionStatisticsAggregate otherAggregate = (FeedbackQuestionStatisticsAggregate) other;
+        return numberOfResponses == otherAggregate.numberOfResponses && counts.equals(otherAggregate.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * numberOfResponses + counts.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FeedbackQuestionStatisticsAggregate[numberOfResponses=" + numberOfResponses
+               + ", counts=" + counts + "]";
+    }
+
+}
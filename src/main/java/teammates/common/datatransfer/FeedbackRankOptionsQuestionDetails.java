@@ -2,6 +2,7 @@ package teammates.common.datatransfer;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -247,17 +248,15 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
         
         StringBuilder fragments = new StringBuilder(100);
         
-        Map<String, List<Integer>> optionRanks = generateOptionRanksMapping(responses);
+        RankStatistics statistics = generateOptionRankStatistics(responses);
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : optionRanks.entrySet()) {
+        for (Entry<String, List<Integer>> entry : statistics.ranksReceived.entrySet()) {
             
-            List<Integer> ranks = entry.getValue();
-            double average = computeAverage(ranks);
-            String ranksReceived = getListOfRanksReceivedAsString(ranks);
-
             String option = entry.getKey();
+            double average = statistics.averageRanks.get(option);
+            String ranksReceived = getListOfRanksReceivedAsString(entry.getValue());
             
             fragments.append(Templates.populateTemplate(FormTemplates.RANK_RESULT_STATS_OPTIONFRAGMENT,
                     Slots.RANK_OPTION_VALUE, Sanitizer.sanitizeForHtml(option),
@@ -281,30 +280,44 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
         }
         
         StringBuilder fragments = new StringBuilder();
-        Map<String, List<Integer>> optionRanks = generateOptionRanksMapping(responses);
-
-        DecimalFormat df = new DecimalFormat("#.##");
+        List<List<String>> rows = getQuestionResultStatisticsRows(responses, question, bundle);
         
-        for (Entry<String, List<Integer>> entry : optionRanks.entrySet()) {
-            String option = Sanitizer.sanitizeForCsv(entry.getKey());
-          
-            List<Integer> ranksAssigned = entry.getValue();
-            double average = computeAverage(ranksAssigned);
-            String fragment = option + "," + df.format(average) + Const.EOL;
+        for (List<String> row : rows.subList(1, rows.size())) {
+            String option = Sanitizer.sanitizeForCsv(row.get(0));
+            String fragment = option + "," + row.get(1) + Const.EOL;
             fragments.append(fragment);
         }
 
         return "Option, Average Rank" + Const.EOL + fragments.toString() + Const.EOL;
     }
 
+    @Override
+    public List<List<String>> getQuestionResultStatisticsRows(
+                        List<FeedbackResponseAttributes> responses,
+                        FeedbackQuestionAttributes question,
+                        FeedbackSessionResultsBundle bundle) {
+        List<List<String>> rows = new ArrayList<>();
+        if (responses.isEmpty()) {
+            return rows;
+        }
+        
+        rows.add(Arrays.asList("Option", "Average Rank"));
+        
+        RankStatistics statistics = generateOptionRankStatistics(responses);
+        DecimalFormat df = new DecimalFormat("#.##");
+        
+        for (Entry<String, Double> entry : statistics.averageRanks.entrySet()) {
+            rows.add(Arrays.asList(entry.getKey(), df.format(entry.getValue())));
+        }
+        return rows;
+    }
+
     /**
-     * From the feedback responses, generate a mapping of the option to a list of
-     * ranks received for that option.
-     * The key of the map returned is the option name.
-     * The values of the map are list of ranks received by the key.
+     * From the feedback responses, generate the statistics of the ranks received by each option.
+     * The ranks of each response are normalised before they are collected.
      * @param responses  a list of responses
      */
-    private Map<String, List<Integer>> generateOptionRanksMapping(
+    private RankStatistics generateOptionRankStatistics(
                                             List<FeedbackResponseAttributes> responses) {
         Map<String, List<Integer>> optionRanks = new HashMap<>();
         for (FeedbackResponseAttributes response : responses) {
@@ -332,7 +345,7 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
                 }
             }
         }
-        return optionRanks;
+        return new RankStatistics(optionRanks);
     }
 
     @Override
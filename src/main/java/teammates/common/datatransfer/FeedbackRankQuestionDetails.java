@@ -3,6 +3,7 @@ package teammates.common.datatransfer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -72,10 +73,9 @@ public abstract class FeedbackRankQuestionDetails extends FeedbackQuestionDetail
 
     /**
      * Returns the list of points as as string to display
-     * @param ranksReceived
+     * @param ranksReceived  the ranks, sorted in ascending order
      */
     protected String getListOfRanksReceivedAsString(List<Integer> ranksReceived) {
-        Collections.sort(ranksReceived);
         StringBuilder pointsReceived = new StringBuilder();
         
         if (ranksReceived.size() > 10) {
@@ -154,4 +154,28 @@ public abstract class FeedbackRankQuestionDetails extends FeedbackQuestionDetail
         return areDuplicatesAllowed;
     }
 
+    /**
+     * The ranks received by each option or recipient, collected in a single pass over the responses,
+     * with the average rank of each. Rendered by the HTML, CSV and row statistics of rank questions.
+     */
+    final class RankStatistics {
+        /** Ranks received by each option / recipient, sorted in ascending order */
+        final Map<String, List<Integer>> ranksReceived;
+        /** Average rank received by each option / recipient, in the same order as {@link #ranksReceived} */
+        final Map<String, Double> averageRanks;
+        
+        RankStatistics(Map<String, List<Integer>> ranks) {
+            Map<String, Double> averages = new LinkedHashMap<>();
+            for (Map.Entry<String, List<Integer>> entry : ranks.entrySet()) {
+                List<Integer> ranksOfOption = entry.getValue();
+                averages.put(entry.getKey(), computeAverage(ranksOfOption));
+                Collections.sort(ranksOfOption);
+                entry.setValue(Collections.unmodifiableList(ranksOfOption));
+            }
+            
+            this.ranksReceived = Collections.unmodifiableMap(ranks);
+            this.averageRanks = Collections.unmodifiableMap(averages);
+        }
+    }
+
 }
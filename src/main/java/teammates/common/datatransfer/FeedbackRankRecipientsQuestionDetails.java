@@ -2,6 +2,7 @@ package teammates.common.datatransfer;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -176,17 +177,16 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
         
         StringBuilder fragments = new StringBuilder();
         
-        Map<String, List<Integer>> recipientRanks = generateOptionRanksMapping(responses);
+        RankStatistics statistics = generateRecipientRankStatistics(responses);
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : recipientRanks.entrySet()) {
-            
-            List<Integer> ranks = entry.getValue();
-            double average = computeAverage(ranks);
-            String ranksReceived = getListOfRanksReceivedAsString(ranks);
+        for (Entry<String, List<Integer>> entry : statistics.ranksReceived.entrySet()) {
             
             String participantIdentifier = entry.getKey();
+            double average = statistics.averageRanks.get(participantIdentifier);
+            String ranksReceived = getListOfRanksReceivedAsString(entry.getValue());
+            
             String name = bundle.getNameForEmail(participantIdentifier);
             String teamName = bundle.getTeamNameForEmail(participantIdentifier);
             
@@ -215,74 +215,94 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
         }
         
         StringBuilder fragments = new StringBuilder();
-        Map<String, List<Integer>> recipientRanks = generateOptionRanksMapping(responses);
-
-        DecimalFormat df = new DecimalFormat("#.##");
+        List<List<String>> rows = getQuestionResultStatisticsRows(responses, question, bundle);
         
-        for (Entry<String, List<Integer>> entry : recipientRanks.entrySet()) {
-            
-            String teamName = bundle.getTeamNameForEmail(entry.getKey());
-            String recipientName = bundle.getNameForEmail(entry.getKey());
-            String option = Sanitizer.sanitizeForCsv(teamName)
+        for (List<String> row : rows.subList(1, rows.size())) {
+            String option = Sanitizer.sanitizeForCsv(row.get(0))
                             + ","
-                            + Sanitizer.sanitizeForCsv(recipientName);
-
-            List<Integer> ranks = entry.getValue();
-            double average = computeAverage(ranks);
-            fragments.append(option).append(',').append(df.format(average)).append(Const.EOL);
+                            + Sanitizer.sanitizeForCsv(row.get(1));
+            fragments.append(option).append(',').append(row.get(2)).append(Const.EOL);
         }
         
         return "Team, Recipient" + ", Average Rank" + Const.EOL + fragments + Const.EOL;
     }
     
+    @Override
+    public List<List<String>> getQuestionResultStatisticsRows(
+                        List<FeedbackResponseAttributes> responses,
+                        FeedbackQuestionAttributes question,
+                        FeedbackSessionResultsBundle bundle) {
+        List<List<String>> rows = new ArrayList<>();
+        if (responses.isEmpty()) {
+            return rows;
+        }
+        
+        rows.add(Arrays.asList("Team", "Recipient", "Average Rank"));
+        
+        RankStatistics statistics = generateRecipientRankStatistics(responses);
+        DecimalFormat df = new DecimalFormat("#.##");
+        
+        for (Entry<String, Double> entry : statistics.averageRanks.entrySet()) {
+            rows.add(Arrays.asList(bundle.getTeamNameForEmail(entry.getKey()),
+                                   bundle.getNameForEmail(entry.getKey()),
+                                   df.format(entry.getValue())));
+        }
+        return rows;
+    }
+    
     /**
-     * From the feedback responses, generate a mapping of the option to a list of
-     * ranks received for that option.
-     * The key of the map returned is the recipient's participant identifier.
-     * The values of the map are list of ranks received by the recipient.
+     * From the feedback responses, generate the statistics of the ranks received by each recipient.
+     * The key of the statistics is the recipient's participant identifier.
      * @param responses  a list of responses
      */
-    private Map<String, List<Integer>> generateOptionRanksMapping(List<FeedbackResponseAttributes> responses) {
+    private RankStatistics generateRecipientRankStatistics(List<FeedbackResponseAttributes> responses) {
         
-        Map<FeedbackResponseAttributes, Integer> normalisedRankOfResponse = getNormalisedRankForEachResponse(responses);
+        int[] normalisedRankOfResponse = getNormalisedRankForEachResponse(responses);
 
-        Map<String, List<Integer>> optionRanks = new HashMap<>();
-        for (FeedbackResponseAttributes response : responses) {
-            updateOptionRanksMapping(optionRanks, response.recipient, normalisedRankOfResponse.get(response));
+        Map<String, List<Integer>> recipientRanks = new HashMap<>();
+        for (int i = 0; i < responses.size(); i++) {
+            updateOptionRanksMapping(recipientRanks, responses.get(i).recipient, normalisedRankOfResponse[i]);
         }
         
-        return optionRanks;
+        return new RankStatistics(recipientRanks);
     }
 
     /**
-     * Returns a map of response to the normalised rank by resolving ties for each giver's set of responses
+     * Returns the normalised rank of each response, by resolving ties for each giver's set of responses.
+     * The rank at index {@code i} is the normalised rank of {@code responses.get(i)}.
      * @param responses
      * @see FeedbackRankQuestionDetails#obtainMappingToNormalisedRanksForRanking(Map, List) for how ties are resolved
      */
-    private Map<FeedbackResponseAttributes, Integer> getNormalisedRankForEachResponse(
-                                                            List<FeedbackResponseAttributes> responses) {
+    private int[] getNormalisedRankForEachResponse(List<FeedbackResponseAttributes> responses) {
 
-        // collect each giver's responses
-        Map<String, List<FeedbackResponseAttributes>> responsesGivenByPerson = new HashMap<>();
-        for (FeedbackResponseAttributes response : responses) {
+        // collect the rank of each response, and the indexes of each giver's responses
+        int[] rankOfResponse = new int[responses.size()];
+        Map<String, List<Integer>> responsesGivenByPerson = new HashMap<>();
+        for (int i = 0; i < responses.size(); i++) {
+            FeedbackResponseAttributes response = responses.get(i);
+            rankOfResponse[i] = ((FeedbackRankRecipientsResponseDetails) response.getResponseDetails()).answer;
+            
             if (!responsesGivenByPerson.containsKey(response.giver)) {
-                responsesGivenByPerson.put(response.giver, new ArrayList<FeedbackResponseAttributes>());
+                responsesGivenByPerson.put(response.giver, new ArrayList<Integer>());
             }
             
             responsesGivenByPerson.get(response.giver)
-                                  .add(response);
+                                  .add(i);
         }
         
         // resolve ties for each giver's responses
-        Map<FeedbackResponseAttributes, Integer> normalisedRankOfResponse = new HashMap<>();
-        for (Map.Entry<String, List<FeedbackResponseAttributes>> entry : responsesGivenByPerson.entrySet()) {
-            Map<FeedbackResponseAttributes, Integer> rankOfResponse = new HashMap<>();
-            for (FeedbackResponseAttributes res : responses) {
-                FeedbackRankRecipientsResponseDetails frd = (FeedbackRankRecipientsResponseDetails) res.getResponseDetails();
-                rankOfResponse.put(res, frd.answer);
+        int[] normalisedRankOfResponse = new int[responses.size()];
+        for (List<Integer> responsesOfGiver : responsesGivenByPerson.values()) {
+            Map<Integer, Integer> rankOfGiversResponse = new HashMap<>();
+            for (int i : responsesOfGiver) {
+                rankOfGiversResponse.put(i, rankOfResponse[i]);
             }
             
-            normalisedRankOfResponse.putAll(obtainMappingToNormalisedRanksForRanking(rankOfResponse, entry.getValue()));
+            Map<Integer, Integer> normalisedRank =
+                    obtainMappingToNormalisedRanksForRanking(rankOfGiversResponse, responsesOfGiver);
+            for (int i : responsesOfGiver) {
+                normalisedRankOfResponse[i] = normalisedRank.get(i);
+            }
         }
         
         return normalisedRankOfResponse;
@@ -0,0 +1,11 @@
+package teammates.common.datatransfer;
+
+/**
+ * Receives the responses of a query one at a time as they are read page by page,
+ * so that the responses of a large session need not be held in memory all at once.
+ */
+public interface FeedbackResponseConsumer {
+
+    void accept(FeedbackResponseAttributes response);
+
+}
@@ -0,0 +1,34 @@
+package teammates.common.datatransfer;
+
+import java.util.List;
+
+/**
+ * A page of the responses of a query, in order of response ID,
+ * with the cursor to read the rest of the responses of the query from.
+ */
+public class FeedbackResponsesPage {
+
+    private final List<FeedbackResponseAttributes> responses;
+    private final String nextCursor;
+
+    public FeedbackResponsesPage(List<FeedbackResponseAttributes> responses, String nextCursor) {
+        this.responses = responses;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<FeedbackResponseAttributes> getResponses() {
+        return responses;
+    }
+
+    /**
+     * @return the cursor to read the next page from, or null if this is the last page of the query
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+
+}
@@ -531,9 +531,7 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
             FeedbackSessionResultsBundle bundle,
             String view) {
 
-        FeedbackRubricQuestionDetails fqd = (FeedbackRubricQuestionDetails) question.getQuestionDetails();
-        int[][] responseFrequency = calculateResponseFrequency(responses, fqd);
-        float[][] rubricStats = calculateRubricStats(responses, question);
+        RubricStatistics rubricStats = getStatistics(responses, question, bundle);
         DecimalFormat weightFormat = new DecimalFormat("#.##");
         
         // Create table row header fragments
@@ -542,7 +540,7 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
         for (int i = 0; i < numOfRubricChoices; i++) {
 
             String header = Sanitizer.sanitizeForHtml(rubricChoices.get(i))
-                          + (fqd.hasAssignedWeights
+                          + (hasAssignedWeights
                             ? "<span style=\"font-weight:normal;\"> (Weight: "
                               + weightFormat.format(rubricWeights.get(i)) + ")</span>"
                             : "");
@@ -553,7 +551,7 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
             tableHeaderFragmentHtml.append(tableHeaderCell).append(Const.EOL);
         }
 
-        if (fqd.hasAssignedWeights) {
+        if (hasAssignedWeights) {
             String tableHeaderAverageCell =
                     Templates.populateTemplate(tableHeaderFragmentTemplate,
                             Slots.RUBRIC_CHOICE_VALUE, "Average");
@@ -565,7 +563,6 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
         
         String tableBodyFragmentTemplate = FormTemplates.RUBRIC_RESULT_STATS_BODY_FRAGMENT;
         String tableBodyTemplate = FormTemplates.RUBRIC_RESULT_STATS_BODY;
-        DecimalFormat df = new DecimalFormat("#");
         DecimalFormat dfAverage = new DecimalFormat("0.00");
 
         for (int j = 0; j < numOfRubricSubQuestions; j++) {
@@ -574,15 +571,15 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
                 String tableBodyCell =
                         Templates.populateTemplate(tableBodyFragmentTemplate,
                                 Slots.RUBRIC_PERCENTAGE_FREQUENCY_OR_AVERAGE,
-                                        df.format(rubricStats[j][i] * 100) + "% (" + responseFrequency[j][i] + ")");
+                                        rubricStats.getPercentageFrequencyText(j, i));
                 tableBodyFragmentHtml.append(tableBodyCell).append(Const.EOL);
             }
 
-            if (fqd.hasAssignedWeights) {
+            if (hasAssignedWeights) {
                 String tableBodyAverageCell =
                         Templates.populateTemplate(tableBodyFragmentTemplate,
                                 Slots.RUBRIC_PERCENTAGE_FREQUENCY_OR_AVERAGE,
-                                        dfAverage.format(rubricStats[j][numOfRubricChoices]));
+                                        dfAverage.format(rubricStats.average[j]));
                 tableBodyFragmentHtml.append(tableBodyAverageCell).append(Const.EOL);
             }
 
@@ -603,116 +600,6 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
                 Slots.TABLE_BODY_HTML, tableBodyHtml.toString());
     }
     
-    /**
-     * Calculates the statistics for rubric question
-     * 
-     * Returns a 2D float array to indicate the percentage frequency
-     * a choice is selected for each sub-question.
-     * 
-     * e.g.
-     * pecentageFrequency[subQuestionIndex][choiceIndex]
-     *  -> is the percentage choiceIndex is chosen for subQuestionIndex, for the given question/responses.
-     *
-     */
-    private float[][] calculateRubricStats(List<FeedbackResponseAttributes> responses,
-            FeedbackQuestionAttributes question) {
-        FeedbackRubricQuestionDetails fqd = (FeedbackRubricQuestionDetails) question.getQuestionDetails();
-        
-        // Initialize response frequency variable, used to store frequency each choice is selected.
-        int[][] responseFrequency = calculateResponseFrequency(responses, fqd);
-        
-        return getPercentageFrequencyAndAverage(responseFrequency, fqd);
-    }
-
-    /**
-     * gets the result of the percentage frequency for each choice and average value for each subquestion
-     */
-    private float[][] getPercentageFrequencyAndAverage(int[][] responseFrequency,
-                                                       FeedbackRubricQuestionDetails fqd) {
-        float[][] percentageFrequencyOrAverage = initializePercentageFrequenciesAndAverageValue(responseFrequency, fqd);
-        return calculatePercentageFrequencyAndAverageValue(responseFrequency, fqd, percentageFrequencyOrAverage);
-    }
-
-    /**
-     * Calculates the response frequency for each choice
-     */
-    private int[][] calculateResponseFrequency(List<FeedbackResponseAttributes> responses,
-                                               FeedbackRubricQuestionDetails fqd) {
-        int[][] responseFrequency = new int[fqd.numOfRubricSubQuestions][];
-        for (int i = 0; i < responseFrequency.length; i++) {
-            responseFrequency[i] = new int[fqd.numOfRubricChoices];
-            for (int j = 0; j < responseFrequency[i].length; j++) {
-                responseFrequency[i][j] = 0;
-            }
-        }
-        
-        // Count frequencies
-        for (FeedbackResponseAttributes response : responses) {
-            FeedbackRubricResponseDetails frd = (FeedbackRubricResponseDetails) response.getResponseDetails();
-            for (int i = 0; i < fqd.numOfRubricSubQuestions; i++) {
-                int chosenChoice = frd.getAnswer(i);
-                if (chosenChoice != -1) {
-                    responseFrequency[i][chosenChoice] += 1;
-                }
-            }
-        }
-        return responseFrequency;
-    }
-    
-    /**
-     * Initializes a 2D float array percentageFrequencyOrAverage using response frequency statistics
-     */
-    private float[][] initializePercentageFrequenciesAndAverageValue(int[][] responseFrequency,
-                                                                     FeedbackRubricQuestionDetails fqd) {
-        
-        float[][] percentageFrequencyOrAverage = new float[fqd.numOfRubricSubQuestions][];
-        for (int i = 0; i < percentageFrequencyOrAverage.length; i++) {
-            //+ 1 is the position for average value
-            percentageFrequencyOrAverage[i] = new float[fqd.numOfRubricChoices + 1];
-            for (int j = 0; j < percentageFrequencyOrAverage[i].length - 1; j++) {
-                // Initialize to be number of responses
-                percentageFrequencyOrAverage[i][j] = responseFrequency[i][j];
-            }
-            percentageFrequencyOrAverage[i][fqd.numOfRubricChoices] = 0;
-        }
-        return percentageFrequencyOrAverage;
-    }
-   
-    /**
-     * Calculates the percentage frequency for each choice and the average value for each subquestion
-     * using the response frequency statistics
-     */
-    private float[][] calculatePercentageFrequencyAndAverageValue(int[][] responseFrequency,
-                                                                  FeedbackRubricQuestionDetails fqd,
-                                                                  float[][] percentageFrequencyOrAverage) {
-        float[][] percentageFrequencyAndAverageValue = percentageFrequencyOrAverage;
-        for (int i = 0; i < percentageFrequencyAndAverageValue.length; i++) {
-            // Count total number of responses for each sub-question
-            int totalForSubQuestion = 0;
-            for (int j = 0; j < percentageFrequencyAndAverageValue[i].length - 1; j++) {
-                totalForSubQuestion += responseFrequency[i][j];
-            }
-            
-            // Divide by totalForSubQuestion to get percentage and calculate the average value
-            for (int j = 0; j < percentageFrequencyAndAverageValue[i].length - 1; j++) {
-                percentageFrequencyAndAverageValue[i][j] /= totalForSubQuestion;
-            }
-
-            // Calculate the average for each sub-question
-            if (fqd.hasAssignedWeights) {
-
-                for (int j = 0; j < percentageFrequencyOrAverage[i].length - 1; j++) {
-                    float choiceWeight = (float) (fqd.rubricWeights.get(j) * responseFrequency[i][j]);
-                    percentageFrequencyOrAverage[i][fqd.numOfRubricChoices] += choiceWeight;
-                }
-
-                percentageFrequencyOrAverage[i][fqd.numOfRubricChoices] /= totalForSubQuestion;
-            }
-        }
-        
-        return percentageFrequencyAndAverageValue;
-    }
-
     @Override
     public String getQuestionResultStatisticsCsv(
             List<FeedbackResponseAttributes> responses,
@@ -743,22 +630,19 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
         csv.append(Const.EOL);
 
         // table body
-        DecimalFormat df = new DecimalFormat("#");
         DecimalFormat dfAverage = new DecimalFormat("0.00");
 
-        int[][] responseFrequency = calculateResponseFrequency(responses, this);
-        float[][] rubricStats = calculateRubricStats(responses, question);
+        RubricStatistics rubricStats = getStatistics(responses, question, bundle);
         
         for (int i = 0; i < rubricSubQuestions.size(); i++) {
             String alphabeticalIndex = StringHelper.integerToLowerCaseAlphabeticalIndex(i + 1);
             csv.append(Sanitizer.sanitizeForCsv(alphabeticalIndex + ") " + rubricSubQuestions.get(i)));
             for (int j = 0; j < rubricChoices.size(); j++) {
-                String percentageFrequency = df.format(rubricStats[i][j] * 100) + "%";
-                csv.append("," + percentageFrequency + " (" + responseFrequency[i][j] + ")");
+                csv.append(',').append(rubricStats.getPercentageFrequencyText(i, j));
             }
 
             if (hasAssignedWeights) {
-                csv.append(',').append(dfAverage.format(rubricStats[i][rubricWeights.size()]));
+                csv.append(',').append(dfAverage.format(rubricStats.average[i]));
             }
 
             csv.append(Const.EOL);
@@ -767,6 +651,54 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
         return csv.toString();
     }
     
+    @Override
+    public List<List<String>> getQuestionResultStatisticsRows(
+            List<FeedbackResponseAttributes> responses,
+            FeedbackQuestionAttributes question,
+            FeedbackSessionResultsBundle bundle) {
+        List<List<String>> rows = new ArrayList<List<String>>();
+        if (responses.isEmpty()) {
+            return rows;
+        }
+
+        DecimalFormat dfWeight = new DecimalFormat("#.##");
+
+        // table header
+        List<String> header = new ArrayList<String>();
+        header.add("");
+        for (int i = 0; i < rubricChoices.size(); i++) {
+            header.add(rubricChoices.get(i)
+                       + (hasAssignedWeights
+                         ? " (Weight: " + dfWeight.format(rubricWeights.get(i)) + ")"
+                         : ""));
+        }
+
+        if (hasAssignedWeights) {
+            header.add("Average");
+        }
+        rows.add(header);
+
+        // table body
+        DecimalFormat dfAverage = new DecimalFormat("0.00");
+        RubricStatistics rubricStats = getStatistics(responses, question, bundle);
+        
+        for (int i = 0; i < rubricSubQuestions.size(); i++) {
+            List<String> row = new ArrayList<String>();
+            String alphabeticalIndex = StringHelper.integerToLowerCaseAlphabeticalIndex(i + 1);
+            row.add(alphabeticalIndex + ") " + rubricSubQuestions.get(i));
+            for (int j = 0; j < rubricChoices.size(); j++) {
+                row.add(rubricStats.getPercentageFrequencyText(i, j));
+            }
+
+            if (hasAssignedWeights) {
+                row.add(dfAverage.format(rubricStats.average[i]));
+            }
+            rows.add(row);
+        }
+
+        return rows;
+    }
+    
     @Override
     public String getNoResponseTextInCsv(String giverEmail, String recipientEmail,
             FeedbackSessionResultsBundle bundle,
@@ -775,6 +707,65 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
              + Sanitizer.sanitizeForCsv(getNoResponseText(giverEmail, recipientEmail, bundle, question));
     }
     
+    @Override
+    public boolean isStatisticsAggregatable() {
+        return true;
+    }
+    
+    /**
+     * Counts the choice chosen for each sub-question, keyed by the index of the sub-question.
+     */
+    @Override
+    public void countInStatisticsAggregate(FeedbackResponseAttributes response,
+                                           FeedbackQuestionStatisticsAggregate aggregate, int times) {
+        FeedbackRubricResponseDetails frd = (FeedbackRubricResponseDetails) response.getResponseDetails();
+        for (int i = 0; i < frd.answer.size(); i++) {
+            int chosenChoice = frd.getAnswer(i);
+            if (chosenChoice != -1) {
+                aggregate.count(String.valueOf(i), String.valueOf(chosenChoice), times);
+            }
+        }
+        aggregate.countResponses(times);
+    }
+    
+    private RubricStatistics getStatistics(List<FeedbackResponseAttributes> responses,
+                                           FeedbackQuestionAttributes question,
+                                           FeedbackSessionResultsBundle bundle) {
+        FeedbackQuestionStatisticsAggregate aggregate = bundle.getStatisticsAggregate(question, responses);
+        if (aggregate == null) {
+            return new RubricStatistics(countResponseFrequency(responses));
+        }
+        return new RubricStatistics(countResponseFrequency(aggregate));
+    }
+    
+    private int[][] countResponseFrequency(List<FeedbackResponseAttributes> responses) {
+        int[][] responseFrequency = new int[numOfRubricSubQuestions][numOfRubricChoices];
+        for (FeedbackResponseAttributes response : responses) {
+            FeedbackRubricResponseDetails frd = (FeedbackRubricResponseDetails) response.getResponseDetails();
+            for (int i = 0; i < numOfRubricSubQuestions; i++) {
+                int chosenChoice = frd.getAnswer(i);
+                if (chosenChoice != -1) {
+                    responseFrequency[i][chosenChoice] += 1;
+                }
+            }
+        }
+        return responseFrequency;
+    }
+    
+    private int[][] countResponseFrequency(FeedbackQuestionStatisticsAggregate aggregate) {
+        int[][] responseFrequency = new int[numOfRubricSubQuestions][numOfRubricChoices];
+        for (int i = 0; i < numOfRubricSubQuestions; i++) {
+            for (Map.Entry<String, Integer> count : aggregate.getCounts(String.valueOf(i)).entrySet()) {
+                int chosenChoice = Integer.parseInt(count.getKey());
+                // choices beyond the current ones are not shown, as when counting from the responses
+                if (chosenChoice < numOfRubricChoices) {
+                    responseFrequency[i][chosenChoice] += count.getValue();
+                }
+            }
+        }
+        return responseFrequency;
+    }
+    
     @Override
     public String getCsvHeader() {
         return "Choice Value";
@@ -938,5 +929,53 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
     public List<String> getRubricSubQuestions() {
         return rubricSubQuestions;
     }
-
+    
+    /**
+     * The number of times each choice is chosen for each sub-question, counted in a single pass
+     * over the responses or read from the statistics aggregate of the question,
+     * with the percentage frequencies and weighted averages derived from it.
+     * Rendered by the HTML, CSV and row statistics of the question.
+     */
+    private final class RubricStatistics {
+        /** responseFrequency[subQuestionIndex][choiceIndex] is the number of times the choice is chosen */
+        private final int[][] responseFrequency;
+        /** percentageFrequency[subQuestionIndex][choiceIndex] is the fraction of times the choice is chosen */
+        private final float[][] percentageFrequency;
+        /** average[subQuestionIndex] is the weighted average, or 0 if the question has no weights */
+        private final float[] average;
+        private final DecimalFormat df = new DecimalFormat("#");
+        
+        RubricStatistics(int[][] responseFrequency) {
+            this.responseFrequency = responseFrequency;
+            
+            percentageFrequency = new float[numOfRubricSubQuestions][numOfRubricChoices];
+            average = new float[numOfRubricSubQuestions];
+            for (int i = 0; i < numOfRubricSubQuestions; i++) {
+                // Count total number of responses for each sub-question
+                int totalForSubQuestion = 0;
+                for (int j = 0; j < numOfRubricChoices; j++) {
+                    totalForSubQuestion += responseFrequency[i][j];
+                }
+                
+                for (int j = 0; j < numOfRubricChoices; j++) {
+                    percentageFrequency[i][j] = (float) responseFrequency[i][j] / totalForSubQuestion;
+                }
+                
+                if (hasAssignedWeights) {
+                    for (int j = 0; j < numOfRubricChoices; j++) {
+                        average[i] += (float) (rubricWeights.get(j) * responseFrequency[i][j]);
+                    }
+                    average[i] /= totalForSubQuestion;
+                }
+            }
+        }
+        
+        /**
+         * @return the percentage frequency of the choice for the sub-question, followed by its count
+         */
+        String getPercentageFrequencyText(int subQuestionIndex, int choiceIndex) {
+            return df.format(percentageFrequency[subQuestionIndex][choiceIndex] * 100) + "% ("
+                   + responseFrequency[subQuestionIndex][choiceIndex] + ")";
+        }
+    }
 }
@@ -52,9 +52,12 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
     // Key is questionId, value is a map of student email to StudentResultSumary
     public Map<String, Map<String, StudentResultSummary>> contributionQuestionStudentResultSummary =
             new HashMap<String, Map<String, StudentResultSummary>>();
-    // Key is questionId, value is a map of team name to TeamEvalResult
-    public Map<String, Map<String, TeamEvalResult>> contributionQuestionTeamEvalResults =
-            new HashMap<String, Map<String, TeamEvalResult>>();
+    // Key is questionId, value is the results calculated for the question so far
+    private Map<String, ContributionQuestionResults> contributionQuestionResults =
+            new HashMap<String, ContributionQuestionResults>();
+    // Key is questionId, value is the statistics aggregate kept for the question in the datastore
+    private Map<String, FeedbackQuestionStatisticsAggregate> statisticsAggregates =
+            new HashMap<String, FeedbackQuestionStatisticsAggregate>();
     
     /* 
      * sectionTeamNameTable takes into account the section viewing privileges of the logged-in instructor
@@ -1563,6 +1566,53 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         }
     }
 
+    /**
+     * @return the results of the contribution question {@code question}, calculated once for this bundle
+     *         and shared by the statistics and responses of the question
+     */
+    ContributionQuestionResults getContributionQuestionResults(FeedbackQuestionAttributes question) {
+        ContributionQuestionResults results = contributionQuestionResults.get(question.getId());
+        if (results == null) {
+            results = new ContributionQuestionResults(question, this);
+            contributionQuestionResults.put(question.getId(), results);
+        }
+        return results;
+    }
+
+    /**
+     * Sets the statistics aggregates kept for the questions, keyed by question ID, from which the
+     * statistics of the questions are rendered where they count exactly the responses of this bundle.
+     */
+    public void setStatisticsAggregates(Map<String, FeedbackQuestionStatisticsAggregate> statisticsAggregates) {
+        this.statisticsAggregates = statisticsAggregates;
+    }
+
+    /**
+     * @return the statistics aggregate of {@code question} if it counts as many responses as {@code responses},
+     *         the responses of the question in this bundle, or null if the statistics are to be calculated
+     *         from {@code responses}, e.g. because some responses are not visible or not in the section viewed
+     */
+    FeedbackQuestionStatisticsAggregate getStatisticsAggregate(FeedbackQuestionAttributes question,
+                                                               List<FeedbackResponseAttributes> responses) {
+        FeedbackQuestionStatisticsAggregate aggregate = statisticsAggregates.get(question.getId());
+        if (aggregate == null || aggregate.getNumberOfResponses() != responses.size()) {
+            return null;
+        }
+        return aggregate;
+    }
+
+    /**
+     * @return the number of {@link TeamEvalResult}s calculated for the contribution questions of this bundle,
+     *         i.e. for the request that rendered it
+     */
+    public int getNumberOfContributionTeamResultsCalculated() {
+        int numberOfTeamResultsCalculated = 0;
+        for (ContributionQuestionResults results : contributionQuestionResults.values()) {
+            numberOfTeamResultsCalculated += results.getNumberOfTeamResultsCalculated();
+        }
+        return numberOfTeamResultsCalculated;
+    }
+
     public String getTeamNameForEmail(String email) {
         String teamName = emailTeamNameTable.get(email);
         if (teamName == null || email.equals(Const.GENERAL_QUESTION)) {
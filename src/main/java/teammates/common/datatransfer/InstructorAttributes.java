@@ -168,11 +168,23 @@ public class InstructorAttributes extends EntityAttributes {
         return new InstructorAttributes(this);
     }
 
+    /**
+     * @return the privileges in the compact encoding of {@link CompiledInstructorPrivileges}, for storage
+     */
     public String getTextFromInstructorPrivileges() {
-        return gson.toJson(privileges, InstructorPrivileges.class);
+        if (privileges == null) {
+            return gson.toJson(privileges, InstructorPrivileges.class);
+        }
+        return privileges.getCompiled().toCompactText();
     }
     
+    /**
+     * Reads privileges stored in the compact encoding, or as JSON as they were stored before.
+     */
     private static InstructorPrivileges getInstructorPrivilegesFromText(String instructorPrivilegesAsText) {
+        if (CompiledInstructorPrivileges.isCompactText(instructorPrivilegesAsText)) {
+            return CompiledInstructorPrivileges.fromCompactText(instructorPrivilegesAsText).toInstructorPrivileges();
+        }
         return gson.fromJson(instructorPrivilegesAsText, InstructorPrivileges.class);
     }
     
@@ -111,12 +111,24 @@ public final class InstructorPrivileges {
     private HashMap<String, HashMap<String, Boolean>> sectionLevel;
     private HashMap<String, HashMap<String, HashMap<String, Boolean>>> sessionLevel;
     
+    /** The privileges compiled for checking, made when first needed and dropped when the privileges change */
+    private transient CompiledInstructorPrivileges compiled;
+    
     public InstructorPrivileges() {
         this.courseLevel = new HashMap<String, Boolean>();
         this.sectionLevel = new HashMap<String, HashMap<String, Boolean>>();
         this.sessionLevel = new HashMap<String, HashMap<String, HashMap<String, Boolean>>>();
     }
     
+    InstructorPrivileges(HashMap<String, Boolean> courseLevel, HashMap<String, HashMap<String, Boolean>> sectionLevel,
+                         HashMap<String, HashMap<String, HashMap<String, Boolean>>> sessionLevel,
+                         CompiledInstructorPrivileges compiled) {
+        this.courseLevel = courseLevel;
+        this.sectionLevel = sectionLevel;
+        this.sessionLevel = sessionLevel;
+        this.compiled = compiled;
+    }
+    
     public InstructorPrivileges(String instrRole) {
         this();
         switch (instrRole) {
@@ -177,6 +189,7 @@ public final class InstructorPrivileges {
     }
     
     private void setDefaultPrivileges(HashMap<String, Boolean> defaultPrivileges) {
+        compiled = null;
         for (String privilege : defaultPrivileges.keySet()) {
             courseLevel.put(privilege, defaultPrivileges.get(privilege));
         }
@@ -255,6 +268,7 @@ public final class InstructorPrivileges {
         if (!isPrivilegeNameValid(privilegeName)) {
             return;
         }
+        compiled = null;
         this.courseLevel.put(privilegeName, isAllowed);
     }
     
@@ -262,6 +276,7 @@ public final class InstructorPrivileges {
         if (!isPrivilegeNameValidForSectionLevel(privilegeName)) {
             return;
         }
+        compiled = null;
         if (!this.sectionLevel.containsKey(sectionName)) {
             sectionLevel.put(sectionName, new HashMap<String, Boolean>());
         }
@@ -273,6 +288,7 @@ public final class InstructorPrivileges {
         if (!isPrivilegeNameValidForSessionLevel(privilegeName)) {
             return;
         }
+        compiled = null;
         verifyExistenceOfsectionName(sectionName);
         if (!this.sessionLevel.get(sectionName).containsKey(sessionName)) {
             this.sessionLevel.get(sectionName).put(sessionName, new HashMap<String, Boolean>());
@@ -308,6 +324,7 @@ public final class InstructorPrivileges {
                 return;
             }
         }
+        compiled = null;
         sectionLevel.put(sectionName, (HashMap<String, Boolean>) privileges.clone());
     }
     
@@ -319,12 +336,14 @@ public final class InstructorPrivileges {
                 return;
             }
         }
+        compiled = null;
         verifyExistenceOfsectionName(sectionName);
         this.sessionLevel.get(sectionName).put(sessionName, (HashMap<String, Boolean>) privileges.clone());
     }
 
     private void verifyExistenceOfsectionName(String sectionName) {
         if (!this.sessionLevel.containsKey(sectionName)) {
+            compiled = null;
             addSectionWithDefaultPrivileges(sectionName);
             this.sessionLevel.put(sectionName, new HashMap<String, HashMap<String, Boolean>>());
         }
@@ -334,6 +353,7 @@ public final class InstructorPrivileges {
         if (this.sectionLevel.containsKey(sectionName)) {
             return;
         }
+        compiled = null;
         this.sectionLevel.put(sectionName, getOverallPrivilegesForSections());
     }
     
@@ -342,6 +362,7 @@ public final class InstructorPrivileges {
         if (this.sessionLevel.get(sectionName).containsKey(sessionName)) {
             return;
         }
+        compiled = null;
         this.sessionLevel.get(sectionName).put(sessionName, getOverallPrivilegesForSessionsInSection(sectionName));
     }
     
@@ -350,7 +371,7 @@ public final class InstructorPrivileges {
      * @return whether it is allowed for the privilege specified by privilegeName
      */
     public boolean isAllowedForPrivilege(String privilegeName) {
-        return isAllowedInCourseLevel(privilegeName);
+        return getCompiled().isAllowed(privilegeName);
     }
     
     /**
@@ -360,7 +381,7 @@ public final class InstructorPrivileges {
      * @return whether it is allowed for the privilege specified by privilegeName in sectionName
      */
     public boolean isAllowedForPrivilege(String sectionName, String privilegeName) {
-        return isAllowedInSectionLevel(sectionName, privilegeName);
+        return getCompiled().isAllowed(sectionName, privilegeName);
     }
     
     /**
@@ -371,14 +392,24 @@ public final class InstructorPrivileges {
      * @return whether it is allowed for the privilege specified by privilegeName for sessionName in sectionName
      */
     public boolean isAllowedForPrivilege(String sectionName, String sessionName, String privilegeName) {
-        return isAllowedInSessionLevel(sectionName, sessionName, privilegeName);
+        return getCompiled().isAllowed(sectionName, sessionName, privilegeName);
     }
     
     /**
      * Returns true if privilege for session is present for any section.
      */
     public boolean isAllowedForPrivilegeAnySection(String sessionName, String privilegeName) {
-        return isAllowedInSessionLevelAnySection(sessionName, privilegeName);
+        return getCompiled().isAllowedInAnySection(sessionName, privilegeName);
+    }
+    
+    /**
+     * @return the privileges compiled for checking, which are compiled again only after the privileges change
+     */
+    public CompiledInstructorPrivileges getCompiled() {
+        if (compiled == null) {
+            compiled = CompiledInstructorPrivileges.compile(courseLevel, sectionLevel, sessionLevel);
+        }
+        return compiled;
     }
 
     public boolean hasCoownerPrivileges() {
@@ -441,6 +472,7 @@ public final class InstructorPrivileges {
      * @param sectionName
      */
     public void removeSectionLevelPrivileges(String sectionName) {
+        compiled = null;
         if (this.sectionLevel.containsKey(sectionName)) {
             this.sectionLevel.remove(sectionName);
         }
@@ -452,6 +484,7 @@ public final class InstructorPrivileges {
      * @param sectionName
      */
     public void removeSessionsPrivilegesForSection(String sectionName) {
+        compiled = null;
         if (this.sessionLevel.containsKey(sectionName)) {
             this.sessionLevel.remove(sectionName);
         }
@@ -463,6 +496,7 @@ public final class InstructorPrivileges {
      * @param sessionName
      */
     public void removeSessionPrivileges(String sectionName, String sessionName) {
+        compiled = null;
         if (this.sessionLevel.containsKey(sectionName) && this.sessionLevel.get(sectionName).containsKey(sessionName)) {
             this.sessionLevel.get(sectionName).remove(sessionName);
         }
@@ -492,40 +526,13 @@ public final class InstructorPrivileges {
         return this.sectionLevel.get(sectionName).get(privilegeName).booleanValue();
     }
     
-    private boolean isAllowedInSessionLevel(String sectionName, String sessionName, String privilegeName) {
-
-        Assumption.assertTrue(isPrivilegeNameValid(privilegeName));
-
-        if (!this.sessionLevel.containsKey(sectionName)
-                || !this.sessionLevel.get(sectionName).containsKey(sessionName)) {
-            return isAllowedInSectionLevel(sectionName, privilegeName);
-        }
-        if (!this.sessionLevel.get(sectionName).get(sessionName).containsKey(privilegeName)) {
-            return false;
-        }
-        return this.sessionLevel.get(sectionName).get(sessionName).get(privilegeName).booleanValue();
-    }
-    
-    private boolean isAllowedInSessionLevelAnySection(String sessionName, String privilegeName) {
-
-        Assumption.assertTrue(isPrivilegeNameValid(privilegeName));
-
-        HashSet<String> sections = new HashSet<String>(this.sessionLevel.keySet());
-        sections.addAll(this.sectionLevel.keySet());
-        for (String sectionName : sections) {
-            if (isAllowedInSessionLevel(sectionName, sessionName, privilegeName)) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
     /**
      * validate the privileges in course level, section level and session level
      * make sure there is nothing wrong with privileges hierarchy by adding the
      * prerequisite privileges if they have not been granted yet
      */
     public void validatePrivileges() {
+        compiled = null;
         if (this.courseLevel.containsKey(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COMMENT_IN_SECTIONS)
                 && this.courseLevel.get(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COMMENT_IN_SECTIONS).booleanValue()) {
             this.courseLevel.put(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_COMMENT_IN_SECTIONS, true);
@@ -2,6 +2,7 @@ package teammates.common.datatransfer;
 
 import teammates.common.exception.EnrollException;
 import teammates.common.util.Assumption;
+import teammates.common.util.CompiledRegex;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.common.util.StringHelper;
@@ -30,6 +31,12 @@ public class StudentAttributesFactory {
     public static final int FOURTH_COLUMN_INDEX = 3;
     public static final int FIFTH_COLUMN_INDEX = 4;
 
+    private static final CompiledRegex[] REGEX_COLUMN_SECTION = CompiledRegex.compile(FieldValidator.REGEX_COLUMN_SECTION);
+    private static final CompiledRegex[] REGEX_COLUMN_TEAM = CompiledRegex.compile(FieldValidator.REGEX_COLUMN_TEAM);
+    private static final CompiledRegex[] REGEX_COLUMN_NAME = CompiledRegex.compile(FieldValidator.REGEX_COLUMN_NAME);
+    private static final CompiledRegex[] REGEX_COLUMN_EMAIL = CompiledRegex.compile(FieldValidator.REGEX_COLUMN_EMAIL);
+    private static final CompiledRegex[] REGEX_COLUMN_COMMENT = CompiledRegex.compile(FieldValidator.REGEX_COLUMN_COMMENT);
+
     private int sectionColumnIndex;
     private int teamColumnIndex;
     private int nameColumnIndex;
@@ -132,27 +139,27 @@ public class StudentAttributesFactory {
         for (int curPos = 0; curPos < columns.length; curPos++) {
             String str = columns[curPos].trim().toLowerCase();
 
-            if (StringHelper.isAnyMatching(str, FieldValidator.REGEX_COLUMN_SECTION)) {
+            if (StringHelper.isAnyMatching(str, REGEX_COLUMN_SECTION)) {
                 sectionColumnIndex = curPos;
                 count++;
                 fieldCount = hasSection ? fieldCount : fieldCount + 1;
                 hasSection = true;
-            } else if (StringHelper.isAnyMatching(str, FieldValidator.REGEX_COLUMN_TEAM)) {
+            } else if (StringHelper.isAnyMatching(str, REGEX_COLUMN_TEAM)) {
                 teamColumnIndex = curPos;
                 count++;
                 fieldCount = hasTeam ? fieldCount : fieldCount + 1;
                 hasTeam = true;
-            } else if (StringHelper.isAnyMatching(str, FieldValidator.REGEX_COLUMN_NAME)) {
+            } else if (StringHelper.isAnyMatching(str, REGEX_COLUMN_NAME)) {
                 nameColumnIndex = curPos;
                 count++;
                 fieldCount = hasName ? fieldCount : fieldCount + 1;
                 hasName = true;
-            } else if (StringHelper.isAnyMatching(str, FieldValidator.REGEX_COLUMN_EMAIL)) {
+            } else if (StringHelper.isAnyMatching(str, REGEX_COLUMN_EMAIL)) {
                 emailColumnIndex = curPos;
                 count++;
                 fieldCount = hasEmail ? fieldCount : fieldCount + 1;
                 hasEmail = true;
-            } else if (StringHelper.isAnyMatching(str, FieldValidator.REGEX_COLUMN_COMMENT)) {
+            } else if (StringHelper.isAnyMatching(str, REGEX_COLUMN_COMMENT)) {
                 commentColumnIndex = curPos;
                 count++;
                 fieldCount = hasComment ? fieldCount : fieldCount + 1;
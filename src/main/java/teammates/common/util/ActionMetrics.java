@@ -0,0 +1,85 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the {@link ActionStats} of the requests served by this instance since they were last drained,
+ * one for each action and result type.<br>
+ * ControllerServlet records every request here; the stats are drained periodically into the datastore,
+ * where the stats of all instances are put together for the admin action metrics page.
+ */
+public final class ActionMetrics {
+
+    private static final ConcurrentMap<String, ActionStats> STATS = new ConcurrentHashMap<String, ActionStats>();
+
+    private ActionMetrics() {
+        // utility class
+    }
+
+    /**
+     * Records one request to {@code actionName} which gave a result of {@code resultType}.
+     */
+    public static void record(String actionName, String resultType, long latencyInMillis, long responseSizeInBytes) {
+        getOrCreateStats(actionName, resultType).record(latencyInMillis, responseSizeInBytes);
+    }
+
+    /**
+     * Adds {@code stats} back, e.g. after they were drained but could not be kept elsewhere.
+     */
+    public static void add(ActionStats stats) {
+        getOrCreateStats(stats.getActionName(), stats.getResultType()).add(stats);
+    }
+
+    /**
+     * @return the stats recorded for {@code actionName} and {@code resultType}, or null if there are none
+     */
+    public static ActionStats getStats(String actionName, String resultType) {
+        return STATS.get(ActionStats.getKey(actionName, resultType));
+    }
+
+    /**
+     * @return the stats of all actions, which keep being recorded into
+     */
+    public static List<ActionStats> getAllStats() {
+        return new ArrayList<ActionStats>(STATS.values());
+    }
+
+    /**
+     * Moves the stats recorded so far out, leaving empty stats to record new requests.
+     * @return the stats of the actions with requests recorded since they were last drained
+     */
+    public static List<ActionStats> drainAllStats() {
+        List<ActionStats> drainedStats = new ArrayList<ActionStats>();
+        for (ActionStats stats : STATS.values()) {
+            ActionStats drained = stats.drain();
+            if (drained.getCount() > 0) {
+                drainedStats.add(drained);
+            }
+        }
+        return drainedStats;
+    }
+
+    /**
+     * Removes all stats recorded.
+     */
+    public static void clear() {
+        STATS.clear();
+    }
+
+    private static ActionStats getOrCreateStats(String actionName, String resultType) {
+        String key = ActionStats.getKey(actionName, resultType);
+        ActionStats stats = STATS.get(key);
+        if (stats == null) {
+            ActionStats newStats = new ActionStats(actionName, resultType);
+            stats = STATS.putIfAbsent(key, newStats);
+            if (stats == null) {
+                stats = newStats;
+            }
+        }
+        return stats;
+    }
+
+}
@@ -0,0 +1,105 @@
+package teammates.common.util;
+
+/**
+ * The latencies and response sizes of the requests to an action which gave one type of result,
+ * e.g. the requests to InstructorHomePageAction which showed a page.<br>
+ * Values can be recorded from many threads at once without locking.
+ */
+public class ActionStats {
+
+    private static final long MILLISECONDS_PER_MINUTE = 60 * 1000;
+
+    private final String actionName;
+    private final String resultType;
+    private final LogLinearHistogram latencies;
+    private final LogLinearHistogram responseSizes;
+
+    public ActionStats(String actionName, String resultType) {
+        this(actionName, resultType, new LogLinearHistogram(), new LogLinearHistogram());
+    }
+
+    /**
+     * @param latencies in milliseconds
+     * @param responseSizes in bytes
+     */
+    public ActionStats(String actionName, String resultType,
+                       LogLinearHistogram latencies, LogLinearHistogram responseSizes) {
+        this.actionName = actionName;
+        this.resultType = resultType;
+        this.latencies = latencies;
+        this.responseSizes = responseSizes;
+    }
+
+    /**
+     * Records one request.
+     */
+    public void record(long latencyInMillis, long responseSizeInBytes) {
+        latencies.record(latencyInMillis);
+        responseSizes.record(responseSizeInBytes);
+    }
+
+    /**
+     * Adds the requests recorded in {@code other}, which must be of the same action and result type.
+     */
+    public void add(ActionStats other) {
+        Assumption.assertEquals(getKey(), other.getKey());
+        latencies.add(other.latencies);
+        responseSizes.add(other.responseSizes);
+    }
+
+    /**
+     * Moves the requests recorded so far into new stats, leaving these to record new requests.
+     * @see LogLinearHistogram#drain()
+     */
+    public ActionStats drain() {
+        return new ActionStats(actionName, resultType, latencies.drain(), responseSizes.drain());
+    }
+
+    /**
+     * @return the key identifying the action and result type together
+     */
+    public String getKey() {
+        return getKey(actionName, resultType);
+    }
+
+    public static String getKey(String actionName, String resultType) {
+        return actionName + "|" + resultType;
+    }
+
+    public String getActionName() {
+        return actionName;
+    }
+
+    public String getResultType() {
+        return resultType;
+    }
+
+    public LogLinearHistogram getLatencies() {
+        return latencies;
+    }
+
+    public LogLinearHistogram getResponseSizes() {
+        return responseSizes;
+    }
+
+    public long getCount() {
+        return latencies.getTotalCount();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency in milliseconds at {@code percentile}
+     */
+    public long getLatencyAtPercentile(double percentile) {
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * @return the number of requests per minute, if these stats are of a period of {@code periodInMillis}
+     */
+    public double getThroughputPerMinute(long periodInMillis) {
+        Assumption.assertTrue(periodInMillis > 0);
+        return (double) getCount() * MILLISECONDS_PER_MINUTE / periodInMillis;
+    }
+
+}
@@ -20,6 +20,10 @@ public class ActivityLogEntry {
     
     public static String[] automatedActions = {
             Const.AutomatedActionNames.AUTOMATED_LOG_COMPILATION,
+            Const.AutomatedActionNames.AUTOMATED_ACTIVITY_LOG_RETENTION,
+            Const.AutomatedActionNames.AUTOMATED_ACTION_STATS_RETENTION,
+            Const.AutomatedActionNames.AUTOMATED_COURSE_CHANGE_FEED_RETENTION,
+            Const.AutomatedActionNames.AUTOMATED_FEEDBACK_QUESTION_STATISTICS_RECONCILIATION,
             Const.AutomatedActionNames.AUTOMATED_FEEDBACKSESSION_CLOSING_MAIL_ACTION,
             Const.AutomatedActionNames.AUTOMATED_FEEDBACKSESSION_CLOSED_MAIL_ACTION,
             Const.AutomatedActionNames.AUTOMATED_FEEDBACKSESSION_OPENING_MAIL_ACTION,
@@ -46,8 +50,11 @@ public class ActivityLogEntry {
     public static final int POSITION_OF_URL = 9;
     public static final int POSITION_OF_ID = 10;
     public static final int POSITION_OF_TIMETAKEN = 11;
+    public static final int POSITION_OF_STORAGE_ACCESS_STATS = 12;
     
     private static final int POSITION_OF_TIMETAKEN_IN_OLD_LOGS = 10;
+    
+    private static final String FIELD_SEPARATOR = "|||";
 
     private static final int TIME_TAKEN_WARNING_LOWER_RANGE = 10000;
     private static final int TIME_TAKEN_WARNING_UPPER_RANGE = 20000;
@@ -64,6 +71,7 @@ public class ActivityLogEntry {
     private String message;
     private String url;
     private Long timeTaken;
+    private String storageAccessStats;
     
     // id can be in the form of <googleId>%<time> e.g. bamboo3250%20151103170618465
     // or <studentemail>%<courseId>%<time> (for unregistered students)
@@ -72,6 +80,10 @@ public class ActivityLogEntry {
     
     private boolean isFirstRow;
     
+    /**
+     * The row of the entry in the activity log table, only generated for entries that are shown.
+     * Null until {@link #getLogInfoForTableRowAsHtml()} is called.
+     */
     @SuppressWarnings("unused") // used by js
     private String logInfoAsHtml;
     
@@ -100,20 +112,21 @@ public class ActivityLogEntry {
 
     /**
      * Constructor that creates an ActivityLog object from a app log on the server.
-     * Used in AdminActivityLogServlet.
+     * Used in AdminActivityLogServlet.<br>
+     * Only the fields of the log message are read; the HTML of the entry is generated later,
+     * and only if the entry is shown.
      */
     public ActivityLogEntry(AppLogLine appLog) {
         time = appLog.getTimeUsec() / 1000;
         
         try {
-            String[] tokens = appLog.getLogMessage().split("\\|\\|\\|", -1);
+            String[] tokens = splitLogMessage(appLog.getLogMessage());
             initUsingAppLogMessage(tokens);
         } catch (ArrayIndexOutOfBoundsException e) {
             initAsFailure(appLog, e);
         }
         
         keyStringsToHighlight = null;
-        logInfoAsHtml = getLogInfoForTableRowAsHtml();
     }
 
     /**
@@ -220,6 +233,29 @@ public class ActivityLogEntry {
         id = generateLogId(googleId, unregisteredStudent, time);
     }
     
+    /**
+     * Splits a log message into its fields, in the same way as {@code logMessage.split("\\|\\|\\|", -1)}
+     * but without going through a regex, as every log line fetched for the activity log page is split.
+     */
+    public static String[] splitLogMessage(String logMessage) {
+        int numberOfFields = 1;
+        int separatorIndex = logMessage.indexOf(FIELD_SEPARATOR);
+        while (separatorIndex != -1) {
+            numberOfFields++;
+            separatorIndex = logMessage.indexOf(FIELD_SEPARATOR, separatorIndex + FIELD_SEPARATOR.length());
+        }
+        
+        String[] fields = new String[numberOfFields];
+        int fieldStart = 0;
+        for (int i = 0; i < numberOfFields - 1; i++) {
+            int fieldEnd = logMessage.indexOf(FIELD_SEPARATOR, fieldStart);
+            fields[i] = logMessage.substring(fieldStart, fieldEnd);
+            fieldStart = fieldEnd + FIELD_SEPARATOR.length();
+        }
+        fields[numberOfFields - 1] = logMessage.substring(fieldStart);
+        return fields;
+    }
+    
     private void initUsingAppLogMessage(String[] tokens) {
         servletName = tokens[POSITION_OF_SERVLETNAME];
         action = tokens[POSITION_OF_ACTION];
@@ -243,10 +279,15 @@ public class ActivityLogEntry {
                 timeTaken = Long.parseLong(tokens[POSITION_OF_TIMETAKEN_IN_OLD_LOGS].trim());
             } else {
                 // TEAMMATESLOG|||SERVLET_NAME|||ACTION|||TO_SHOW|||ROLE|||NAME|||GOOGLE_ID|||EMAIL|||
-                // MESSAGE(IN HTML)|||URL|||ID|||TIME_TAKEN
+                // MESSAGE(IN HTML)|||URL|||ID|||TIME_TAKEN|||STORAGE_ACCESS_STATS
+                // where the storage access stats are only in newer logs
                 id = tokens[POSITION_OF_ID];
-                timeTaken = tokens.length == 12 ? Long.parseLong(tokens[POSITION_OF_TIMETAKEN].trim())
-                                                : null;
+                timeTaken = tokens.length > POSITION_OF_TIMETAKEN
+                          ? Long.parseLong(tokens[POSITION_OF_TIMETAKEN].trim())
+                          : null;
+                storageAccessStats = tokens.length > POSITION_OF_STORAGE_ACCESS_STATS
+                                   ? tokens[POSITION_OF_STORAGE_ACCESS_STATS]
+                                   : null;
             }
         }
     }
@@ -371,13 +412,13 @@ public class ActivityLogEntry {
     public String getMessageInfo() {
         
         if (message.toLowerCase().contains(Const.ACTION_RESULT_FAILURE.toLowerCase())) {
-            message = message.replace(Const.ACTION_RESULT_FAILURE, "<span class=\"text-danger\"><strong>"
-                      + Const.ACTION_RESULT_FAILURE + "</strong><br>");
-            message = message + "</span><br>";
+            return message.replace(Const.ACTION_RESULT_FAILURE, "<span class=\"text-danger\"><strong>"
+                                   + Const.ACTION_RESULT_FAILURE + "</strong><br>")
+                   + "</span><br>";
         } else if (message.toLowerCase().contains(Const.ACTION_RESULT_SYSTEM_ERROR_REPORT.toLowerCase())) {
-            message = message.replace(Const.ACTION_RESULT_SYSTEM_ERROR_REPORT, "<span class=\"text-danger\"><strong>"
-                      + Const.ACTION_RESULT_SYSTEM_ERROR_REPORT + "</strong><br>");
-            message = message + "</span><br>";
+            return message.replace(Const.ACTION_RESULT_SYSTEM_ERROR_REPORT, "<span class=\"text-danger\"><strong>"
+                                   + Const.ACTION_RESULT_SYSTEM_ERROR_REPORT + "</strong><br>")
+                   + "</span><br>";
         }
                 
         return message;
@@ -482,6 +523,13 @@ public class ActivityLogEntry {
         return email;
     }
     
+    /**
+     * @return the summary of the datastore accesses of the request, or null if the log does not have it
+     */
+    public String getStorageAccessStats() {
+        return storageAccessStats;
+    }
+    
     public Long getTimeTaken() {
         
         return timeTaken;
@@ -581,7 +629,17 @@ public class ActivityLogEntry {
         return link;
     }
 
+    /**
+     * Returns the row of the entry in the activity log table, generating it on the first call.
+     */
     public String getLogInfoForTableRowAsHtml() {
+        if (logInfoAsHtml == null) {
+            logInfoAsHtml = generateLogInfoForTableRowAsHtml();
+        }
+        return logInfoAsHtml;
+    }
+    
+    private String generateLogInfoForTableRowAsHtml() {
         return "<tr" + (isFirstRow ? " id=\"first-row\"" : "") + ">"
                  + "<td class=\"" + getTableCellColorCode(timeTaken) + "\" style=\"vertical-align: middle;\">"
                      + "<a onclick=\"submitLocalTimeAjaxRequest('" + time + "','" + googleId + "','" + role + "',this);\">"
@@ -591,6 +649,9 @@ public class ActivityLogEntry {
                      + "<p class=\"" + getColorCode(getTimeTaken()) + "\">"
                          + "<strong>" + TimeHelper.convertToStandardDuration(getTimeTaken()) + "</strong>"
                      + "</p>"
+                     + (storageAccessStats == null
+                        ? ""
+                        : "<p class=\"text-muted\"><small>" + storageAccessStats + "</small></p>")
                  + "</td>"
                  + "<td class=\"" + getTableCellColorCode(timeTaken) + "\">"
                      + "<form method=\"get\" action=\"" + Const.ActionURIs.ADMIN_ACTIVITY_LOG_PAGE + "\">"
@@ -642,12 +703,14 @@ public class ActivityLogEntry {
             }
         }
         
-        logInfoAsHtml = getLogInfoForTableRowAsHtml();
+        // the row is generated again with the highlights if needed
+        logInfoAsHtml = null;
         
     }
     
     public void setFirstRow() {
         isFirstRow = true;
+        logInfoAsHtml = null;
     }
     
     public boolean isTestingData() {
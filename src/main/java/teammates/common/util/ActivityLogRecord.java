@@ -0,0 +1,109 @@
+package teammates.common.util;
+
+import com.google.appengine.api.log.AppLogLine;
+
+/**
+ * An activity log line as kept by an activity log store: the TEAMMATESLOG message written by
+ * ControllerServlet, the time it was written, and the values it is indexed by.
+ */
+public final class ActivityLogRecord {
+
+    private final long time;
+    private final String logMessage;
+    private final String courseId;
+    private final String version;
+
+    private final String servletName;
+    private final String role;
+    private final String googleId;
+    private final String email;
+    private final String name;
+
+    /**
+     * @param courseId the course the request was about, or null if it was not about a course
+     */
+    public ActivityLogRecord(long time, String logMessage, String courseId) {
+        this(time, logMessage, courseId, null);
+    }
+
+    /**
+     * @param courseId the course the request was about, or null if it was not about a course
+     * @param version the version of the app that wrote the log line, e.g. 5.0 or 5-0,
+     *                or null if it is not known
+     */
+    public ActivityLogRecord(long time, String logMessage, String courseId, String version) {
+        this.time = time;
+        this.logMessage = logMessage;
+        this.courseId = courseId == null || courseId.isEmpty() ? null : courseId;
+        this.version = version == null || version.isEmpty() ? null : version.replace('.', '-');
+
+        String[] tokens = ActivityLogEntry.splitLogMessage(logMessage);
+        this.servletName = getToken(tokens, ActivityLogEntry.POSITION_OF_SERVLETNAME);
+        this.role = getToken(tokens, ActivityLogEntry.POSITION_OF_ROLE);
+        this.googleId = getToken(tokens, ActivityLogEntry.POSITION_OF_GOOGLEID);
+        this.email = getToken(tokens, ActivityLogEntry.POSITION_OF_EMAIL);
+        this.name = getToken(tokens, ActivityLogEntry.POSITION_OF_NAME);
+    }
+
+    private static String getToken(String[] tokens, int position) {
+        return position < tokens.length ? tokens[position] : null;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public String getLogMessage() {
+        return logMessage;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * @return the version of the app that wrote the log line, with dashes as in 5-0,
+     *         or null if it is not known
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public String getServletName() {
+        return servletName;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getGoogleId() {
+        return googleId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return true if {@code person} is the Google ID, email or name of the user, ignoring case
+     */
+    public boolean isOfPerson(String person) {
+        return person.equalsIgnoreCase(googleId) || person.equalsIgnoreCase(email) || person.equalsIgnoreCase(name);
+    }
+
+    /**
+     * @return the record as the app log line it was written as, to be read by {@link ActivityLogEntry}
+     */
+    public AppLogLine toAppLogLine() {
+        AppLogLine appLogLine = new AppLogLine();
+        appLogLine.setLogMessage(logMessage);
+        appLogLine.setTimeUsec(time * 1000);
+        return appLogLine;
+    }
+
+}
@@ -0,0 +1,135 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A query for the records of an activity log store.<br>
+ * Records within the time period are matched, newest first, up to the limit.
+ * Each of the servlet names, roles, person and course ID is an additional condition
+ * if it is set, and is answered by the matching index of the store.
+ * The versions are an additional condition checked on the records found.
+ */
+public class ActivityLogStoreQuery {
+
+    private final long startTime;
+    private final long endTime;
+    private final int limit;
+
+    private List<String> servletNames;
+    private List<String> roles;
+    private String person;
+    private String courseId;
+    private List<String> versions;
+
+    /**
+     * @param startTime the earliest time of the records to match, inclusive
+     * @param endTime the latest time of the records to match, inclusive
+     * @param limit the maximum number of records to return
+     */
+    public ActivityLogStoreQuery(long startTime, long endTime, int limit) {
+        Assumption.assertTrue(limit > 0);
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.limit = limit;
+    }
+
+    /**
+     * Matches only records of requests to one of the {@code servletNames}, ignoring case.
+     */
+    public void setServletNames(String... servletNames) {
+        this.servletNames = toLowerCase(servletNames);
+    }
+
+    /**
+     * Matches only records of users having one of the {@code roles}, ignoring case.
+     */
+    public void setRoles(String... roles) {
+        this.roles = toLowerCase(roles);
+    }
+
+    private static List<String> toLowerCase(String[] values) {
+        List<String> lowerCaseValues = new ArrayList<String>();
+        for (String value : values) {
+            lowerCaseValues.add(value.toLowerCase());
+        }
+        return lowerCaseValues;
+    }
+
+    private static String toLowerCase(String value) {
+        return value == null ? null : value.toLowerCase();
+    }
+
+    /**
+     * Matches only records of the user with {@code person} as Google ID, email or name, ignoring case.
+     */
+    public void setPerson(String person) {
+        this.person = person;
+    }
+
+    /**
+     * Matches only records of requests about the course with {@code courseId}.
+     */
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+
+    /**
+     * Matches only records written by one of the {@code versions} of the app, given with dashes as in 5-0.
+     * Records of unknown versions, written before the versions were recorded, are not matched.
+     */
+    public void setVersions(List<String> versions) {
+        this.versions = versions;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the servlet names to match, in lower case
+     */
+    public List<String> getServletNames() {
+        return servletNames;
+    }
+
+    /**
+     * @return the roles to match, in lower case
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public String getPerson() {
+        return person;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public List<String> getVersions() {
+        return versions;
+    }
+
+    /**
+     * @return true if {@code record} satisfies all the conditions of the query
+     */
+    public boolean matches(ActivityLogRecord record) {
+        return record.getTime() >= startTime && record.getTime() <= endTime
+               && (servletNames == null || servletNames.contains(toLowerCase(record.getServletName())))
+               && (roles == null || roles.contains(toLowerCase(record.getRole())))
+               && (person == null || record.isOfPerson(person))
+               && (courseId == null || courseId.equals(record.getCourseId()))
+               && (versions == null || versions.contains(record.getVersion()));
+    }
+
+}
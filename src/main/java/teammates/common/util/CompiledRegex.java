@@ -0,0 +1,68 @@
+package teammates.common.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * A regex compiled once, for matching many inputs with canonical equivalence.<br>
+ * Canonical equivalence makes sure that characters such as é are matched regardless of
+ * whether they are encoded as one or two code points, but {@link Pattern#CANON_EQ} makes
+ * every match considerably slower. Inputs made of ASCII characters only, such as most
+ * emails, Google IDs and course IDs, have no other encoding, so they are matched
+ * without it, with the same result.
+ */
+public final class CompiledRegex {
+
+    private static final char LAST_ASCII_CHARACTER = '\u007f';
+
+    private final String regex;
+    private final Pattern canonicalPattern;
+    private final Pattern asciiPattern;
+
+    private CompiledRegex(String regex) {
+        this.regex = regex;
+        this.canonicalPattern = Pattern.compile(regex, Pattern.CANON_EQ);
+        this.asciiPattern = Pattern.compile(regex);
+    }
+
+    /**
+     * Compiles {@code regex}. Meant to be done once per regex, e.g. when initialising a static field.
+     */
+    public static CompiledRegex compile(String regex) {
+        Assumption.assertNotNull(regex);
+        return new CompiledRegex(regex);
+    }
+
+    /**
+     * Compiles each of the {@code regexes}.
+     * @see #compile(String)
+     */
+    public static CompiledRegex[] compile(String[] regexes) {
+        CompiledRegex[] compiledRegexes = new CompiledRegex[regexes.length];
+        for (int i = 0; i < regexes.length; i++) {
+            compiledRegexes[i] = compile(regexes[i]);
+        }
+        return compiledRegexes;
+    }
+
+    public String getRegex() {
+        return regex;
+    }
+
+    /**
+     * @return true if the whole of {@code input} matches the regex
+     */
+    public boolean matches(String input) {
+        Pattern pattern = isAscii(input) ? asciiPattern : canonicalPattern;
+        return pattern.matcher(input).matches();
+    }
+
+    private static boolean isAscii(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) > LAST_ASCII_CHARACTER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,119 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template that has been split once into literal text and <code>${placeholder}</code> slots,
+ * so that it can be populated many times in a single pass.<br>
+ * Unlike {@link Templates#populateTemplate(String, String...)}, which copies the whole template
+ * once per placeholder, rendering only copies each literal and value once.<br>
+ * Values are inserted as is: placeholders inside a value are not populated.
+ * Placeholders without a value are kept in the output.
+ */
+public final class CompiledTemplate {
+
+    private static final String PLACEHOLDER_START = "${";
+    private static final String PLACEHOLDER_END = "}";
+
+    /** Literal text; {@code literals[i]} comes right before {@code placeholders[i]} */
+    private final String[] literals;
+
+    /** Placeholders including their delimiters, e.g. <code>${userName}</code> */
+    private final String[] placeholders;
+
+    private final int literalsLength;
+
+    private CompiledTemplate(List<String> literals, List<String> placeholders) {
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.placeholders = placeholders.toArray(new String[placeholders.size()]);
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * Splits {@code template} into literal text and placeholders.
+     * Meant to be done once per template, e.g. when initialising a static field.
+     */
+    public static CompiledTemplate compile(String template) {
+        Assumption.assertNotNull(template);
+
+        List<String> literals = new ArrayList<String>();
+        List<String> placeholders = new ArrayList<String>();
+
+        int literalStart = 0;
+        int placeholderStart = template.indexOf(PLACEHOLDER_START);
+        while (placeholderStart != -1) {
+            int placeholderEnd = template.indexOf(PLACEHOLDER_END, placeholderStart + PLACEHOLDER_START.length());
+            if (placeholderEnd == -1) {
+                break;
+            }
+            placeholderEnd += PLACEHOLDER_END.length();
+
+            literals.add(template.substring(literalStart, placeholderStart));
+            placeholders.add(template.substring(placeholderStart, placeholderEnd));
+
+            literalStart = placeholderEnd;
+            placeholderStart = template.indexOf(PLACEHOLDER_START, literalStart);
+        }
+        // the text after the last placeholder
+        literals.add(template.substring(literalStart));
+
+        return new CompiledTemplate(literals, placeholders);
+    }
+
+    /**
+     * Populates the template in a single pass.
+     * @param values Array of a variable, even number of key-value pairs:
+     *                   { "${key1}", "val1", "${key2}", "val2", ... }
+     * @return The populated template
+     */
+    public String render(String... values) {
+        Assumption.assertTrue("The number of values passed in must be even", values.length % 2 == 0);
+        StringBuilder result = new StringBuilder(getRenderedLength(values));
+        appendTo(result, values);
+        return result.toString();
+    }
+
+    /**
+     * Populates the template and appends the result to {@code result}, without creating
+     * intermediate strings. Useful when several populated templates are joined together.
+     * @see #render(String...)
+     */
+    public void appendTo(StringBuilder result, String... values) {
+        Assumption.assertTrue("The number of values passed in must be even", values.length % 2 == 0);
+        for (int i = 0; i < placeholders.length; i++) {
+            result.append(literals[i]);
+            String value = getValue(placeholders[i], values);
+            result.append(value == null ? placeholders[i] : value);
+        }
+        result.append(literals[placeholders.length]);
+    }
+
+    private int getRenderedLength(String... values) {
+        int length = literalsLength;
+        for (String placeholder : placeholders) {
+            String value = getValue(placeholder, values);
+            length += value == null ? placeholder.length() : value.length();
+        }
+        return length;
+    }
+
+    /**
+     * Templates only have a handful of placeholders, so a linear search is
+     * cheaper than building a map for every rendering.
+     */
+    private static String getValue(String placeholder, String... values) {
+        for (int i = 0; i < values.length; i += 2) {
+            if (placeholder.equals(values[i])) {
+                return values[i + 1];
+            }
+        }
+        return null;
+    }
+
+}
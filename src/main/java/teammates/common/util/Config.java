@@ -10,6 +10,8 @@ import com.google.appengine.api.utils.SystemProperty;
  * This can be used to access values in the build.properties file too.
  */
 public final class Config {
+    
+    private static final int DEFAULT_ACTIVITY_LOG_RETENTION_DAYS = 30;
 
     /** The value of the "app.url" in build.properties file */
     public static final String APP_URL;
@@ -59,6 +61,18 @@ public final class Config {
     /** The value of the "app.mailjet.secretkey" in build.properties file */
     public static final String MAILJET_SECRETKEY;
     
+    /** The value of the "app.activitylog.store" in build.properties file */
+    public static final String ACTIVITY_LOG_STORE;
+    
+    /** The value of the "app.activitylog.store.directory" in build.properties file */
+    public static final String ACTIVITY_LOG_STORE_DIRECTORY;
+    
+    /** The value of the "app.activitylog.retentiondays" in build.properties file */
+    public static final int ACTIVITY_LOG_RETENTION_DAYS;
+    
+    /** The value of the "app.responses.sections.migrated" in build.properties file */
+    public static final boolean IS_RESPONSE_SECTIONS_MIGRATED;
+    
     static {
         Properties properties = new Properties();
         try {
@@ -82,6 +96,13 @@ public final class Config {
         MAILGUN_DOMAINNAME = properties.getProperty("app.mailgun.domainname");
         MAILJET_APIKEY = properties.getProperty("app.mailjet.apikey");
         MAILJET_SECRETKEY = properties.getProperty("app.mailjet.secretkey");
+        ACTIVITY_LOG_STORE = properties.getProperty("app.activitylog.store");
+        ACTIVITY_LOG_STORE_DIRECTORY = properties.getProperty("app.activitylog.store.directory");
+        String activityLogRetentionDays = properties.getProperty("app.activitylog.retentiondays");
+        ACTIVITY_LOG_RETENTION_DAYS = activityLogRetentionDays == null || activityLogRetentionDays.trim().isEmpty()
+                                      ? DEFAULT_ACTIVITY_LOG_RETENTION_DAYS
+                                      : Integer.parseInt(activityLogRetentionDays.trim());
+        IS_RESPONSE_SECTIONS_MIGRATED = Boolean.parseBoolean(properties.getProperty("app.responses.sections.migrated"));
     }
     
     private Config() {
@@ -136,4 +157,13 @@ public final class Config {
                 && MAILJET_SECRETKEY != null && !MAILJET_SECRETKEY.isEmpty();
     }
     
+    public static boolean isUsingFileActivityLogStore() {
+        return "file".equalsIgnoreCase(ACTIVITY_LOG_STORE) && ACTIVITY_LOG_STORE_DIRECTORY != null
+                && !ACTIVITY_LOG_STORE_DIRECTORY.isEmpty();
+    }
+    
+    public static boolean isUsingDatastoreActivityLogStore() {
+        return "datastore".equalsIgnoreCase(ACTIVITY_LOG_STORE);
+    }
+    
 }
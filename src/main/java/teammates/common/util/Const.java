@@ -163,9 +163,39 @@ public final class Const {
                 "feedback-remind-email-particular-users-queue";
         public static final String SEND_EMAIL_TASK_QUEUE = "send-email-queue";
         
+        /** Queue of the tasks deleting courses a batch at a time, each continuing the deletion of one course */
+        public static final String COURSE_DELETION_TASK_QUEUE = "course-deletion-queue";
+        
+        /** Queue of the tasks reconciling the statistics aggregate of a question with its responses */
+        public static final String FEEDBACK_QUESTION_STATISTICS_RECONCILIATION_TASK_QUEUE =
+                "feedback-question-statistics-reconciliation-queue";
+        
+        /** Pull queue holding the responses changed, tagged by question, to be folded into the statistics aggregates */
+        public static final String FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE =
+                "feedback-question-statistics-change-queue";
+        
+        /** Queue of the tasks folding the responses changed into the statistics aggregate of a question */
+        public static final String FEEDBACK_QUESTION_STATISTICS_FOLD_TASK_QUEUE =
+                "feedback-question-statistics-fold-queue";
+        
+        /** Pull queue holding the emails waiting to be sent in batches by the send email batch worker */
+        public static final String PENDING_EMAIL_TASK_QUEUE = "pending-email-queue";
+        
+        /** Maximum number of pending emails drained by one run of the send email batch worker */
+        public static final int MAX_EMAILS_PER_SEND_BATCH = 50;
+        
         public static final String QUEUE_XML_PATH = "src/main/webapp/WEB-INF/queue.xml";
         public static final String DEFAULT_PROFILE_PICTURE_PATH = "/images/profile_picture_default.png";
         
+        /** Width and height (in pixels) of the thumbnail stored alongside each edited profile picture */
+        public static final int PROFILE_PICTURE_THUMBNAIL_SIZE = 50;
+        
+        /** How long (in seconds) a browser may reuse an image served through a versioned URL */
+        public static final int IMAGE_CACHE_MAX_AGE_SECONDS = 7 * 24 * 60 * 60;
+        
+        /** Maximum number of threads a single request may use to read the datastore in parallel */
+        public static final int MAX_PARALLEL_TASKS_PER_REQUEST = 8;
+        
         public static final List<String> PAGES_ACCESSIBLE_WITHOUT_GOOGLE_LOGIN = Arrays.asList(
                 ActionURIs.STUDENT_COURSE_JOIN,
                 ActionURIs.STUDENT_COURSE_JOIN_NEW,
@@ -590,6 +620,7 @@ public final class Const {
         public static final String COPIED_FEEDBACK_SESSION_NAME = "copiedfsname";
         public static final String COPIED_COURSE_ID = "copiedcourseid";
         public static final String COPIED_COURSES_ID = "copiedcoursesid";
+        public static final String COPIABLE_QUESTIONS_CURSOR = "copiablequestionscursor";
         
         public static final String CSV_TO_HTML_TABLE_NEEDED = "csvtohtmltable";
         
@@ -637,6 +668,12 @@ public final class Const {
         public static final String ADMIN_SEARCH_KEY = "searchkey";
         public static final String ADMIN_SEARCH_BUTTON_HIT = "searchbuttonhit";
         
+        public static final String ADMIN_ACTION_METRICS_WINDOW = "window";
+
+        public static final String CHANGE_FEED_STARTTIME = "feedstarttime";
+        public static final String CHANGE_FEED_ENDTIME = "feedendtime";
+        public static final String CHANGE_FEED_CURSOR = "feedcursor";
+        
         public static final String ADMIN_EMAIL_CONTENT = "emailcontent";
         public static final String ADMIN_EMAIL_SUBJECT = "emailsubject";
         public static final String ADMIN_EMAIL_RECEIVER = "emailreceiver";
@@ -802,6 +839,8 @@ public final class Const {
         public static final String EMAIL_TYPE = "type";
         
         public static final String EMAIL_CONTENT = "content";
+        public static final String EMAIL_CONTENT_TEMPLATE = "contenttemplate";
+        public static final String EMAIL_CONTENT_TEMPLATE_VALUES = "contenttemplatevalues";
         public static final String EMAIL_SENDER = "sender";
         public static final String EMAIL_SENDERNAME = "sendername";
         public static final String EMAIL_SUBJECT = "subject";
@@ -831,6 +870,8 @@ public final class Const {
         public static final String PROFILE_PICTURE_HEIGHT = "pictureheight";
         public static final String PROFILE_PICTURE_WIDTH = "picturewidth";
         public static final String PROFILE_PICTURE_ROTATE = "picturerotate";
+        public static final String PROFILE_PICTURE_THUMBNAIL = "picturethumbnail";
+        public static final String PROFILE_PICTURE_VERSION = "pictureversion";
         
         public static final String SEARCH_STUDENTS = "searchstudents";
         public static final String SEARCH_COMMENTS_FOR_STUDENTS = "searchcommentforstudents";
@@ -970,6 +1011,7 @@ public final class Const {
         public static final String STUDENT_PROFILE_PICTURE = "/page/studentProfilePic";
         public static final String STUDENT_PROFILE_PICTURE_UPLOAD = "/page/studentProfilePictureUpload";
         public static final String STUDENT_PROFILE_PICTURE_EDIT = "/page/studentProfilePictureEdit";
+        public static final String STUDENT_PROFILE_PICTURE_LINKS = "/page/studentProfilePictureLinks";
         public static final String STUDENT_PROFILE_CREATEUPLOADFORMURL = "/page/studentProfileCreateFormUrl";
         
         public static final String ADMIN_EMAIL_LOG_PAGE = "/admin/adminEmailLogPage";
@@ -980,6 +1022,7 @@ public final class Const {
         public static final String ADMIN_ACCOUNT_DELETE = "/admin/adminAccountDelete";
         public static final String ADMIN_EXCEPTION_TEST = "/admin/adminExceptionTest";
         public static final String ADMIN_ACTIVITY_LOG_PAGE = "/admin/adminActivityLogPage";
+        public static final String ADMIN_ACTION_METRICS_PAGE = "/admin/adminActionMetricsPage";
         public static final String ADMIN_SESSIONS_PAGE = "/admin/adminSessionsPage";
         public static final String ADMIN_SEARCH_PAGE = "/admin/adminSearchPage";
         public static final String ADMIN_EMAIL_COMPOSE_PAGE = "/admin/adminEmailComposePage";
@@ -1017,11 +1060,21 @@ public final class Const {
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_WORKER =
                                     "/feedbackRemindEmailParticularUsersWorker";
         public static final String SEND_EMAIL_WORKER = "/sendEmailWorker";
+        public static final String SEND_EMAIL_BATCH_WORKER = "/sendEmailBatchWorker";
+        public static final String COURSE_DELETION_WORKER = "/courseDeletionWorker";
+        public static final String FEEDBACK_QUESTION_STATISTICS_RECONCILIATION_WORKER =
+                                    "/feedbackQuestionStatisticsReconciliationWorker";
+        public static final String FEEDBACK_QUESTION_STATISTICS_FOLD_WORKER = "/feedbackQuestionStatisticsFoldWorker";
     }
     
     public class AutomatedActionNames {
         //real servlet names to be logged for automated actions, not for url pattern recognition
         public static final String AUTOMATED_LOG_COMPILATION = "logCompilation";
+        public static final String AUTOMATED_ACTIVITY_LOG_RETENTION = "activityLogRetention";
+        public static final String AUTOMATED_ACTION_STATS_RETENTION = "actionStatsRetention";
+        public static final String AUTOMATED_COURSE_CHANGE_FEED_RETENTION = "courseChangeFeedRetention";
+        public static final String AUTOMATED_FEEDBACK_QUESTION_STATISTICS_RECONCILIATION =
+                                                                "feedbackQuestionStatisticsReconciliation";
         public static final String AUTOMATED_FEEDBACKSESSION_CLOSING_MAIL_ACTION = "feedbackSessionClosingMailAction";
         public static final String AUTOMATED_FEEDBACKSESSION_CLOSED_MAIL_ACTION = "feedbackSessionClosedMailAction";
         public static final String AUTOMATED_FEEDBACKSESSION_OPENING_MAIL_ACTION = "feedbackSessionOpeningMailAction";
@@ -1052,6 +1105,7 @@ public final class Const {
     
         public static final String INSTRUCTOR_HOME = "/jsp/instructorHome.jsp";
         public static final String INSTRUCTOR_HOME_AJAX_COURSE_TABLE = "/jsp/instructorHomeAjaxCourse.jsp";
+        public static final String INSTRUCTOR_HOME_AJAX_COURSE_TABLES = "/jsp/instructorHomeAjaxCourses.jsp";
         public static final String INSTRUCTOR_COMMENTS = "/jsp/instructorComments.jsp";
         public static final String INSTRUCTOR_FEEDBACK_RESPONSE_COMMENTS_ADD =
                 "/jsp/instructorFeedbackResponseCommentsAdd.jsp";
@@ -1107,6 +1161,7 @@ public final class Const {
         public static final String ADMIN_SEARCH = "/jsp/adminSearch.jsp";
         public static final String ADMIN_EMAIL = "/jsp/adminEmail.jsp";
         public static final String ADMIN_ACTIVITY_LOG = "/jsp/adminActivityLog.jsp";
+        public static final String ADMIN_ACTION_METRICS = "/jsp/adminActionMetrics.jsp";
         public static final String ADMIN_ACCOUNT_DETAILS = "/jsp/adminAccountDetails.jsp";
         public static final String ADMIN_SESSIONS = "/jsp/adminSessions.jsp";
         public static final String ADMIN_EMAIL_LOG = "/jsp/adminEmailLog.jsp";
@@ -1166,6 +1221,9 @@ public final class Const {
         public static final String COURSE_EXISTS =
                 "A course by the same ID already exists in the system, possibly created by another user. "
                 + "Please choose a different course ID";
+        public static final String COURSE_BEING_DELETED =
+                "A course by the same ID is still being deleted. "
+                + "Please try again in a few minutes, or choose a different course ID";
         public static final String COURSE_EDITED = "The course has been edited.";
         public static final String COURSE_ARCHIVED =
                 "The course %s has been archived. It will not appear in the home page any more.";
@@ -0,0 +1,34 @@
+package teammates.common.util;
+
+import teammates.common.util.Templates.EmailTemplates;
+
+/**
+ * Compiled templates of the emails that are sent to every student of a course.<br>
+ * Such emails carry only the name of their template and the values to fill in until
+ * they are actually sent, instead of their full content.
+ * @see EmailWrapper#setContentFromTemplate(EmailBodyTemplate, String...)
+ */
+public enum EmailBodyTemplate {
+
+    FEEDBACK_SESSION_OPENING(EmailTemplates.USER_FEEDBACK_SESSION.replace("${status}", "is now open")),
+    FEEDBACK_SESSION_REMINDER(EmailTemplates.USER_FEEDBACK_SESSION.replace("${status}", "is still open for submissions")),
+    FEEDBACK_SESSION_CLOSING(EmailTemplates.USER_FEEDBACK_SESSION_CLOSING.replace("${status}", "is closing soon")),
+    FEEDBACK_SESSION_CLOSED(EmailTemplates.USER_FEEDBACK_SESSION_CLOSED),
+    FEEDBACK_SESSION_PUBLISHED(EmailTemplates.USER_FEEDBACK_SESSION_PUBLISHED),
+    FEEDBACK_SESSION_UNPUBLISHED(EmailTemplates.USER_FEEDBACK_SESSION_UNPUBLISHED);
+
+    private final CompiledTemplate template;
+
+    EmailBodyTemplate(String template) {
+        this.template = CompiledTemplate.compile(template);
+    }
+
+    /**
+     * Populates this template with the given key-value pairs.
+     * @see CompiledTemplate#render(String...)
+     */
+    public String render(String... values) {
+        return template.render(values);
+    }
+
+}
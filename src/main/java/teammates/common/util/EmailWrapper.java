@@ -12,6 +12,8 @@ public class EmailWrapper {
     private String bcc;
     private String subject;
     private String content;
+    private EmailBodyTemplate contentTemplate;
+    private String[] contentTemplateValues;
     
     public String getSenderName() {
         return senderName;
@@ -61,12 +63,43 @@ public class EmailWrapper {
         this.subject = subject;
     }
     
+    /**
+     * Returns the content of the email, populating its template first if the content
+     * was set with {@link #setContentFromTemplate(EmailBodyTemplate, String...)}.
+     * The populated content is not kept, so that many such emails can be held at once.
+     */
     public String getContent() {
-        return content;
+        return contentTemplate == null ? content : contentTemplate.render(contentTemplateValues);
     }
     
     public void setContent(String content) {
         this.content = content;
+        this.contentTemplate = null;
+        this.contentTemplateValues = null;
+    }
+    
+    /**
+     * Sets the content of the email to be {@code template} populated with {@code values},
+     * without populating it yet.
+     * @param values Array of a variable, even number of key-value pairs:
+     *                   { "${key1}", "val1", "${key2}", "val2", ... }
+     */
+    public void setContentFromTemplate(EmailBodyTemplate template, String... values) {
+        Assumption.assertTrue("The number of values passed in must be even", values.length % 2 == 0);
+        this.content = null;
+        this.contentTemplate = template;
+        this.contentTemplateValues = values;
+    }
+    
+    /**
+     * @return the template of the content, or null if the content was set directly
+     */
+    public EmailBodyTemplate getContentTemplate() {
+        return contentTemplate;
+    }
+    
+    public String[] getContentTemplateValues() {
+        return contentTemplateValues;
     }
     
     public String getInfoForLogging() {
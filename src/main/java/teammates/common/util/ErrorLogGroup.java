@@ -0,0 +1,150 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.appengine.api.log.AppLogLine;
+
+/**
+ * The error log lines which have the same fingerprint, i.e. are most likely from the same error,
+ * with the number of such lines and one of them as a sample.<br>
+ * The fingerprint of a line with a stack trace is made from the exception types and the topmost frames,
+ * so that the same exception thrown at the same place is grouped whatever its message.
+ * The fingerprint of a line without a stack trace is made from its first line with the numbers removed.
+ */
+public class ErrorLogGroup {
+
+    /** Number of frames of the stack trace used for the fingerprint */
+    private static final int FINGERPRINT_FRAMES = 8;
+
+    private static final String FRAME_PREFIX = "at ";
+    private static final String CAUSE_PREFIX = "Caused by: ";
+
+    private static final Comparator<ErrorLogGroup> BY_COUNT_DESCENDING = new Comparator<ErrorLogGroup>() {
+        @Override
+        public int compare(ErrorLogGroup group1, ErrorLogGroup group2) {
+            return Integer.compare(group2.count, group1.count);
+        }
+    };
+
+    private final String fingerprint;
+    private final String logLevel;
+    private final String sampleMessage;
+    private int count;
+    private long firstTimeUsec;
+    private long lastTimeUsec;
+
+    public ErrorLogGroup(String fingerprint, String logLevel, String sampleMessage, long timeUsec) {
+        this.fingerprint = fingerprint;
+        this.logLevel = logLevel;
+        this.sampleMessage = sampleMessage;
+        this.count = 1;
+        this.firstTimeUsec = timeUsec;
+        this.lastTimeUsec = timeUsec;
+    }
+
+    /**
+     * Groups {@code logLines} by their fingerprints.
+     * @return the groups, the ones with more lines first
+     */
+    public static List<ErrorLogGroup> groupByFingerprint(List<AppLogLine> logLines) {
+        Map<String, ErrorLogGroup> groups = new LinkedHashMap<String, ErrorLogGroup>();
+        for (AppLogLine logLine : logLines) {
+            String logLevel = logLine.getLogLevel().toString();
+            String fingerprint = getFingerprint(logLevel, logLine.getLogMessage());
+            ErrorLogGroup group = groups.get(fingerprint);
+            if (group == null) {
+                groups.put(fingerprint, new ErrorLogGroup(fingerprint, logLevel, logLine.getLogMessage(),
+                                                          logLine.getTimeUsec()));
+            } else {
+                group.addOccurrence(logLine.getTimeUsec());
+            }
+        }
+        List<ErrorLogGroup> groupList = new ArrayList<ErrorLogGroup>(groups.values());
+        Collections.sort(groupList, BY_COUNT_DESCENDING);
+        return groupList;
+    }
+
+    /**
+     * @return a short hexadecimal ID which is the same for log lines of {@code logLevel} and messages
+     *         most likely from the same error, e.g. the same exception thrown at the same place
+     */
+    public static String getFingerprint(String logLevel, String logMessage) {
+        StringBuilder fingerprintSource = new StringBuilder(logLevel);
+        String[] lines = logMessage.trim().split("\n");
+        String previousLine = "";
+        int numberOfFrames = 0;
+        boolean hasStackTrace = false;
+        for (String line : lines) {
+            String trimmedLine = line.trim();
+            if (trimmedLine.startsWith(FRAME_PREFIX)) {
+                if (!hasStackTrace) {
+                    // the line before the first frame names the exception thrown
+                    fingerprintSource.append('|').append(getExceptionType(previousLine));
+                    hasStackTrace = true;
+                }
+                if (numberOfFrames < FINGERPRINT_FRAMES) {
+                    fingerprintSource.append('|').append(trimmedLine);
+                    numberOfFrames++;
+                }
+            } else if (trimmedLine.startsWith(CAUSE_PREFIX)) {
+                fingerprintSource.append('|').append(getExceptionType(trimmedLine.substring(CAUSE_PREFIX.length())));
+            }
+            previousLine = trimmedLine;
+        }
+        if (!hasStackTrace) {
+            fingerprintSource.append('|').append(lines[0].trim().replaceAll("\\d+", "#"));
+        }
+        return String.format("%08x", fingerprintSource.toString().hashCode());
+    }
+
+    /**
+     * @return the exception type in {@code line}, which starts with it, e.g. "java.lang.NullPointerException"
+     *         for "java.lang.NullPointerException: message"
+     */
+    private static String getExceptionType(String line) {
+        int endOfType = line.indexOf(':');
+        return endOfType == -1 ? line : line.substring(0, endOfType);
+    }
+
+    /**
+     * Records another log line of the group logged at {@code timeUsec}.
+     */
+    public void addOccurrence(long timeUsec) {
+        count++;
+        firstTimeUsec = Math.min(firstTimeUsec, timeUsec);
+        lastTimeUsec = Math.max(lastTimeUsec, timeUsec);
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getLogLevel() {
+        return logLevel;
+    }
+
+    /**
+     * @return the message of the first log line of the group compiled
+     */
+    public String getSampleMessage() {
+        return sampleMessage;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getFirstTimeUsec() {
+        return firstTimeUsec;
+    }
+
+    public long getLastTimeUsec() {
+        return lastTimeUsec;
+    }
+
+}
@@ -223,6 +223,13 @@ public class FieldValidator {
              "e-mails?\\s+address(es)?", "contacts?"};
     public static final String[] REGEX_COLUMN_COMMENT = {"comments?", "notes?"};
     
+    // the regexes above compiled once, as they are matched for every field of every entity validated
+    private static final CompiledRegex COMPILED_REGEX_NAME = CompiledRegex.compile(REGEX_NAME);
+    private static final CompiledRegex COMPILED_REGEX_COURSE_ID = CompiledRegex.compile(REGEX_COURSE_ID);
+    private static final CompiledRegex COMPILED_REGEX_EMAIL = CompiledRegex.compile(REGEX_EMAIL);
+    private static final CompiledRegex COMPILED_REGEX_GOOGLE_ID_NON_EMAIL =
+            CompiledRegex.compile(REGEX_GOOGLE_ID_NON_EMAIL);
+    
 
     /////////////////////////////////////////
     // VALIDATION METHODS FOR EXTERNAL USE //
@@ -274,7 +281,7 @@ public class FieldValidator {
         } else if (email.length() > EMAIL_MAX_LENGTH) {
             return getPopulatedErrorMessage(EMAIL_ERROR_MESSAGE, sanitizedValue, EMAIL_FIELD_NAME,
                                             REASON_TOO_LONG, EMAIL_MAX_LENGTH);
-        } else if (!StringHelper.isMatching(email, REGEX_EMAIL)) {
+        } else if (!StringHelper.isMatching(email, COMPILED_REGEX_EMAIL)) {
             return getPopulatedErrorMessage(EMAIL_ERROR_MESSAGE, sanitizedValue, EMAIL_FIELD_NAME,
                                             REASON_INCORRECT_FORMAT, EMAIL_MAX_LENGTH);
         }
@@ -296,8 +303,8 @@ public class FieldValidator {
                 !googleId.toLowerCase().endsWith("@gmail.com"));
         String sanitizedValue = Sanitizer.sanitizeForHtml(googleId);
 
-        boolean isValidFullEmail = StringHelper.isMatching(googleId, REGEX_EMAIL);
-        boolean isValidEmailWithoutDomain = StringHelper.isMatching(googleId, REGEX_GOOGLE_ID_NON_EMAIL);
+        boolean isValidFullEmail = StringHelper.isMatching(googleId, COMPILED_REGEX_EMAIL);
+        boolean isValidEmailWithoutDomain = StringHelper.isMatching(googleId, COMPILED_REGEX_GOOGLE_ID_NON_EMAIL);
 
         if (googleId.isEmpty()) {
             return getPopulatedErrorMessage(GOOGLE_ID_ERROR_MESSAGE, googleId, GOOGLE_ID_FIELD_NAME,
@@ -338,7 +345,7 @@ public class FieldValidator {
             return getPopulatedErrorMessage(COURSE_ID_ERROR_MESSAGE, sanitizedValue, COURSE_ID_FIELD_NAME,
                                             REASON_TOO_LONG, COURSE_ID_MAX_LENGTH);
         }
-        if (!StringHelper.isMatching(courseId, REGEX_COURSE_ID)) {
+        if (!StringHelper.isMatching(courseId, COMPILED_REGEX_COURSE_ID)) {
             return getPopulatedErrorMessage(COURSE_ID_ERROR_MESSAGE, sanitizedValue, COURSE_ID_FIELD_NAME,
                                             REASON_INCORRECT_FORMAT, COURSE_ID_MAX_LENGTH);
         }
@@ -551,13 +558,13 @@ public class FieldValidator {
                 return getPopulatedErrorMessage(INVALID_NAME_ERROR_MESSAGE, sanitizedValue,
                                                 fieldName, REASON_START_WITH_NON_ALPHANUMERIC_CHAR);
             }
-            if (!StringHelper.isMatching(value.substring(1), REGEX_NAME)) {
+            if (!StringHelper.isMatching(value.substring(1), COMPILED_REGEX_NAME)) {
                 return getPopulatedErrorMessage(INVALID_NAME_ERROR_MESSAGE, sanitizedValue, fieldName,
                                                 REASON_CONTAINS_INVALID_CHAR);
             }
             return "";
         }
-        if (!StringHelper.isMatching(value, REGEX_NAME)) {
+        if (!StringHelper.isMatching(value, COMPILED_REGEX_NAME)) {
             return getPopulatedErrorMessage(INVALID_NAME_ERROR_MESSAGE, sanitizedValue, fieldName,
                                             REASON_CONTAINS_INVALID_CHAR);
         }
@@ -737,7 +744,7 @@ public class FieldValidator {
      * @return true if it is a valid email address, else false.
      */
     public static boolean isValidEmailAddress(String email) {
-        return StringHelper.isMatching(email, REGEX_EMAIL);
+        return StringHelper.isMatching(email, COMPILED_REGEX_EMAIL);
     }
 
     private static String getPopulatedErrorMessage(
@@ -25,6 +25,7 @@ import com.google.appengine.tools.cloudstorage.RetryParams;
 public final class GoogleCloudStorageHelper {
     
     private static final int MAX_READING_LENGTH = 900000;
+    private static final String THUMBNAIL_FILE_PREFIX = "thumbnail/";
     private static final Logger log = Utils.getLogger();
     
     private GoogleCloudStorageHelper() {
@@ -70,8 +71,33 @@ public final class GoogleCloudStorageHelper {
         outputChannel.write(ByteBuffer.wrap(imageData));
         outputChannel.close();
         
+        return getBlobKeyForFileName(googleId).getKeyString();
+    }
+    
+    /**
+     * Writes a byte array {@code thumbnailData} to the Google Cloud Storage as the
+     * thumbnail of the picture identified by {@code pictureKey}.
+     * @return the {@link BlobKey} used as the thumbnail's identifier in Google Cloud Storage
+     */
+    public static String writeThumbnailDataToGcs(String pictureKey, byte[] thumbnailData) throws IOException {
+        return writeImageDataToGcs(getThumbnailFileName(pictureKey), thumbnailData);
+    }
+    
+    /**
+     * @return the {@link BlobKey} of the thumbnail of the picture identified by {@code pictureKey}.
+     *         The thumbnail is not guaranteed to exist, e.g. for pictures that have never been edited.
+     */
+    public static BlobKey getThumbnailKey(String pictureKey) {
+        return getBlobKeyForFileName(getThumbnailFileName(pictureKey));
+    }
+    
+    private static String getThumbnailFileName(String pictureKey) {
+        return THUMBNAIL_FILE_PREFIX + pictureKey;
+    }
+    
+    private static BlobKey getBlobKeyForFileName(String fileName) {
         return BlobstoreServiceFactory.getBlobstoreService()
-                .createGsBlobKey("/gs/" + Config.GCS_BUCKETNAME + "/" + googleId).getKeyString();
+                .createGsBlobKey("/gs/" + Config.GCS_BUCKETNAME + "/" + fileName);
     }
     
     /**
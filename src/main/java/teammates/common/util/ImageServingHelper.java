@@ -0,0 +1,112 @@
+package teammates.common.util;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.appengine.api.blobstore.BlobKey;
+import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
+
+/**
+ * Holds functions for serving images stored in Google Cloud Storage with
+ * HTTP caching headers, so that browsers can reuse or revalidate images
+ * instead of downloading them again on every page load.
+ */
+public final class ImageServingHelper {
+
+    /** Cache policy for images whose URL changes whenever the image changes */
+    public static final String CACHE_CONTROL_IMMUTABLE_PRIVATE =
+            "private, max-age=" + Const.SystemParams.IMAGE_CACHE_MAX_AGE_SECONDS;
+
+    /** Cache policy for public images that are never overwritten once uploaded */
+    public static final String CACHE_CONTROL_IMMUTABLE_PUBLIC =
+            "public, max-age=" + Const.SystemParams.IMAGE_CACHE_MAX_AGE_SECONDS;
+
+    /** Cache policy for images that may be overwritten in place; browsers must revalidate */
+    public static final String CACHE_CONTROL_REVALIDATE = "private, no-cache";
+
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    private ImageServingHelper() {
+        // utility class
+    }
+
+    /**
+     * Generates a strong entity tag for the image identified by {@code blobKey}.
+     * @param version any string that changes whenever the image content changes,
+     *        e.g. the last modified time of the owning entity. Can be empty if the
+     *        image identified by {@code blobKey} is never overwritten.
+     * @return the quoted entity tag, suitable for use as the value of an ETag header
+     */
+    public static String generateEtag(String blobKey, String version) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest((blobKey + "|" + version).getBytes(Const.SystemParams.ENCODING));
+            StringBuilder etag = new StringBuilder(hash.length * 2 + 2);
+            etag.append('"');
+            for (byte b : hash) {
+                etag.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+            }
+            return etag.append('"').toString();
+        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return true if the {@code If-None-Match} header of {@code req} matches {@code etag},
+     *         i.e. the browser already has the current version of the image.
+     */
+    public static boolean isNotModified(HttpServletRequest req, String etag) {
+        String ifNoneMatch = req.getHeader(HEADER_IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith(WEAK_ETAG_PREFIX)) {
+                trimmed = trimmed.substring(WEAK_ETAG_PREFIX.length());
+            }
+            if ("*".equals(trimmed) || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the caching headers of {@code resp} for an image with the given {@code etag}, and
+     * responds with {@code 304 Not Modified} if the browser already holds that version of the image.
+     *
+     * @param cacheControl one of the {@code CACHE_CONTROL_*} policies of this class
+     * @return true if a {@code 304} was sent, in which case the image content must not be sent
+     */
+    public static boolean sendNotModifiedIfMatching(HttpServletRequest req, HttpServletResponse resp,
+                                                    String etag, String cacheControl) {
+        resp.setHeader(HEADER_ETAG, etag);
+        resp.setHeader(HEADER_CACHE_CONTROL, cacheControl);
+
+        if (isNotModified(req, etag)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Streams the PNG image identified by {@code blobKey} to {@code resp}.
+     */
+    public static void serveImage(HttpServletResponse resp, String blobKey) throws IOException {
+        resp.setContentType("image/png");
+        BlobstoreServiceFactory.getBlobstoreService().serve(new BlobKey(blobKey), resp);
+    }
+
+}
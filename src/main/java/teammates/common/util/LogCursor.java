@@ -0,0 +1,53 @@
+package teammates.common.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The position in the application logs up to which the logs were compiled: the end time of the last
+ * request compiled, and the IDs of the requests compiled which ended at that time, as more than
+ * one request can end in the same microsecond.
+ */
+public class LogCursor {
+
+    private long endTimeUsec;
+    private final Set<String> requestIds;
+
+    public LogCursor(long endTimeUsec, Set<String> requestIds) {
+        this.endTimeUsec = endTimeUsec;
+        this.requestIds = new HashSet<String>(requestIds);
+    }
+
+    public long getEndTimeUsec() {
+        return endTimeUsec;
+    }
+
+    public Set<String> getRequestIds() {
+        return requestIds;
+    }
+
+    /**
+     * @return whether the request with {@code requestId} which ended at {@code requestEndTimeUsec}
+     *         is at or before the cursor, i.e. was already compiled
+     */
+    public boolean isCompiled(long requestEndTimeUsec, String requestId) {
+        return requestEndTimeUsec < endTimeUsec
+               || requestEndTimeUsec == endTimeUsec && requestIds.contains(requestId);
+    }
+
+    /**
+     * Moves the cursor past the request with {@code requestId} which ended at {@code requestEndTimeUsec},
+     * if it is not already past it.
+     */
+    public void advance(long requestEndTimeUsec, String requestId) {
+        if (requestEndTimeUsec < endTimeUsec) {
+            return;
+        }
+        if (requestEndTimeUsec > endTimeUsec) {
+            endTimeUsec = requestEndTimeUsec;
+            requestIds.clear();
+        }
+        requestIds.add(requestId);
+    }
+
+}
@@ -0,0 +1,180 @@
+package teammates.common.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative values such as latencies in milliseconds or sizes in bytes,
+ * which can be recorded into from many threads at once without locking.<br>
+ * Like HdrHistogram, values below {@link #LINEAR_BUCKET_COUNT} have a bucket each, and every power of two
+ * above that is split into {@link #SUB_BUCKET_COUNT} equal buckets, so that percentiles are reported
+ * with an error of at most 1/16 of the value. Values above {@link #MAX_TRACKABLE_VALUE} are counted
+ * in the last bucket.
+ */
+public class LogLinearHistogram {
+
+    public static final int LINEAR_BUCKET_COUNT = 32;
+    public static final int SUB_BUCKET_COUNT = 16;
+    public static final long MAX_TRACKABLE_VALUE = (1L << 30) - 1;
+    /** The linear buckets, followed by the sub-buckets of each power of two from 2^5 to 2^29 */
+    public static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + 25 * SUB_BUCKET_COUNT;
+
+    /** log2 of {@link #LINEAR_BUCKET_COUNT}, the magnitude of the first value with logarithmic buckets */
+    private static final int FIRST_LOGARITHMIC_MAGNITUDE = 5;
+    /** log2 of {@link #SUB_BUCKET_COUNT} */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records one occurrence of {@code value}. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long valueToRecord = Math.max(0, value);
+        counts.incrementAndGet(getBucketIndex(valueToRecord));
+        totalValue.addAndGet(valueToRecord);
+
+        long currentMax = maxValue.get();
+        while (valueToRecord > currentMax && !maxValue.compareAndSet(currentMax, valueToRecord)) {
+            currentMax = maxValue.get();
+        }
+    }
+
+    /**
+     * Adds the values recorded in {@code other} to this histogram.
+     */
+    public void add(LogLinearHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalValue.addAndGet(other.totalValue.get());
+
+        long otherMax = other.maxValue.get();
+        long currentMax = maxValue.get();
+        while (otherMax > currentMax && !maxValue.compareAndSet(currentMax, otherMax)) {
+            currentMax = maxValue.get();
+        }
+    }
+
+    /**
+     * Moves the values recorded so far into a new histogram, leaving this one to record new values.<br>
+     * Values recorded while this is done end up in either histogram, but are never lost.
+     */
+    public LogLinearHistogram drain() {
+        LogLinearHistogram drained = new LogLinearHistogram();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.getAndSet(i, 0);
+            if (count > 0) {
+                drained.counts.set(i, count);
+            }
+        }
+        drained.totalValue.set(totalValue.getAndSet(0));
+        drained.maxValue.set(maxValue.getAndSet(0));
+        return drained;
+    }
+
+    /**
+     * @return the number of recorded values, as the sum of the bucket counts so that it is always
+     *         consistent with them
+     */
+    public long getTotalCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getTotalValue() {
+        return totalValue.get();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, or 0 if there are none
+     */
+    public double getMean() {
+        long count = getTotalCount();
+        return count == 0 ? 0 : (double) totalValue.get() / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the value at or below which {@code percentile} percent of the recorded values are,
+     *         rounded up to the highest value of its bucket, or 0 if there are no recorded values
+     */
+    public long getValueAtPercentile(double percentile) {
+        Assumption.assertTrue(percentile >= 0 && percentile <= 100);
+        long count = getTotalCount();
+        if (count == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulativeCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulativeCount += counts.get(i);
+            boolean isLastBucket = i == BUCKET_COUNT - 1; // also holds the values above MAX_TRACKABLE_VALUE
+            if (cumulativeCount >= countAtPercentile) {
+                return isLastBucket ? maxValue.get() : Math.min(getHighestValueOfBucket(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * @return the number of values recorded in each bucket, for keeping the histogram elsewhere
+     */
+    public long[] getBucketCounts() {
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] = counts.get(i);
+        }
+        return bucketCounts;
+    }
+
+    /**
+     * Recreates a histogram kept elsewhere.
+     * @see #getBucketCounts()
+     */
+    public static LogLinearHistogram fromBucketCounts(long[] bucketCounts, long totalValue, long maxValue) {
+        Assumption.assertEquals(BUCKET_COUNT, bucketCounts.length);
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            histogram.counts.set(i, bucketCounts[i]);
+        }
+        histogram.totalValue.set(totalValue);
+        histogram.maxValue.set(maxValue);
+        return histogram;
+    }
+
+    private static int getBucketIndex(long value) {
+        if (value < LINEAR_BUCKET_COUNT) {
+            return (int) value;
+        }
+        long trackedValue = Math.min(value, MAX_TRACKABLE_VALUE);
+        int magnitude = 63 - Long.numberOfLeadingZeros(trackedValue);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (trackedValue >> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_BUCKET_COUNT + (magnitude - FIRST_LOGARITHMIC_MAGNITUDE) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long getHighestValueOfBucket(int bucketIndex) {
+        if (bucketIndex < LINEAR_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        int logarithmicIndex = bucketIndex - LINEAR_BUCKET_COUNT;
+        int magnitude = FIRST_LOGARITHMIC_MAGNITUDE + logarithmicIndex / SUB_BUCKET_COUNT;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        long subBucket = SUB_BUCKET_COUNT + logarithmicIndex % SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
@@ -0,0 +1,144 @@
+package teammates.common.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the datastore accesses of one request: the queries by kind and filter shape,
+ * the entities they returned, the entities fetched by key, the writes and the time spent on all of them.<br>
+ * The persistence manager given out by the storage layer records into the stats of the current request,
+ * which are started afresh for every request. Threads started by a request to run tasks in parallel
+ * record into the stats of that request too, so recording is synchronized.<br>
+ * Queries of the same shape issued many times in one request are likely to be an N+1 pattern,
+ * i.e. one query per item of an earlier result where one query for all the items would do.
+ */
+public class StorageAccessStats {
+
+    /** Number of times a query shape is issued in one request for it to be flagged as a likely N+1 pattern */
+    public static final int REPEATED_QUERY_THRESHOLD = 5;
+
+    private static final ThreadLocal<StorageAccessStats> CURRENT = new ThreadLocal<StorageAccessStats>();
+
+    private final Map<String, Integer> queryCountsByShape = new LinkedHashMap<String, Integer>();
+    private int queryCount;
+    private int entitiesReturned;
+    private int getCount;
+    private int writeCount;
+    private long timeSpentInNanos;
+
+    /**
+     * Starts new stats for the request served by the current thread.
+     * @return the new stats
+     */
+    public static StorageAccessStats startRequest() {
+        StorageAccessStats stats = new StorageAccessStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return the stats of the request served by the current thread, started if there are none yet
+     */
+    public static StorageAccessStats current() {
+        StorageAccessStats stats = CURRENT.get();
+        return stats == null ? startRequest() : stats;
+    }
+
+    /**
+     * Makes the current thread record into {@code stats}, e.g. when it runs a task for another thread's request.
+     * Recording goes back to new stats if {@code stats} is null.
+     */
+    public static void setCurrent(StorageAccessStats stats) {
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+    }
+
+    /**
+     * @param shape what identifies queries of the same form, e.g. the kind and the filter with its parameter names
+     */
+    public synchronized void recordQuery(String shape, int numberOfEntitiesReturned, long timeInNanos) {
+        Integer count = queryCountsByShape.get(shape);
+        queryCountsByShape.put(shape, count == null ? 1 : count + 1);
+        queryCount++;
+        entitiesReturned += numberOfEntitiesReturned;
+        timeSpentInNanos += timeInNanos;
+    }
+
+    /**
+     * Records {@code numberOfEntities} more entities returned by a query already recorded,
+     * for query results that are counted as they are read.
+     */
+    public synchronized void recordEntitiesReturned(int numberOfEntities) {
+        entitiesReturned += numberOfEntities;
+    }
+
+    /**
+     * Records the fetching of one entity by its key.
+     */
+    public synchronized void recordGet(long timeInNanos) {
+        getCount++;
+        timeSpentInNanos += timeInNanos;
+    }
+
+    /**
+     * Records the creation, update or deletion of {@code numberOfEntities} entities.
+     */
+    public synchronized void recordWrite(int numberOfEntities, long timeInNanos) {
+        writeCount += numberOfEntities;
+        timeSpentInNanos += timeInNanos;
+    }
+
+    public synchronized int getQueryCount() {
+        return queryCount;
+    }
+
+    public synchronized int getEntitiesReturned() {
+        return entitiesReturned;
+    }
+
+    public synchronized int getGetCount() {
+        return getCount;
+    }
+
+    public synchronized int getWriteCount() {
+        return writeCount;
+    }
+
+    public synchronized long getTimeSpentInMillis() {
+        return timeSpentInNanos / 1000000;
+    }
+
+    /**
+     * @return the number of times each query shape was issued, in the order they were first issued
+     */
+    public synchronized Map<String, Integer> getQueryCountsByShape() {
+        return new LinkedHashMap<String, Integer>(queryCountsByShape);
+    }
+
+    /**
+     * @return the query shapes issued at least {@link #REPEATED_QUERY_THRESHOLD} times,
+     *         which are likely N+1 patterns, with the number of times they were issued
+     */
+    public synchronized Map<String, Integer> getRepeatedQueryShapes() {
+        Map<String, Integer> repeatedShapes = new LinkedHashMap<String, Integer>();
+        for (Map.Entry<String, Integer> entry : queryCountsByShape.entrySet()) {
+            if (entry.getValue() >= REPEATED_QUERY_THRESHOLD) {
+                repeatedShapes.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return repeatedShapes;
+    }
+
+    /**
+     * @return a one-line summary, e.g. "queries:12 returned:340 gets:3 writes:2 time:85ms"
+     */
+    @Override
+    public synchronized String toString() {
+        return "queries:" + queryCount + " returned:" + entitiesReturned + " gets:" + getCount
+               + " writes:" + writeCount + " time:" + getTimeSpentInMillis() + "ms";
+    }
+
+}
@@ -6,7 +6,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
@@ -16,6 +17,10 @@ import javax.crypto.spec.SecretKeySpec;
  */
 public final class StringHelper {
     
+    /** Regexes matched through {@link #isMatching(String, String)}, compiled on first use */
+    private static final ConcurrentMap<String, CompiledRegex> COMPILED_REGEXES =
+            new ConcurrentHashMap<String, CompiledRegex>();
+    
     private StringHelper() {
         // utility class
     }
@@ -43,9 +48,18 @@ public final class StringHelper {
      * @param regex The regex  used for the matching
      */
     public static boolean isMatching(String input, String regex) {
-        // Important to use the CANON_EQ flag to make sure that canonical characters
+        // Important to match with canonical equivalence to make sure that canonical characters
         // such as é is correctly matched regardless of single/double code point encoding
-        return Pattern.compile(regex, Pattern.CANON_EQ).matcher(input).matches();
+        return getCompiledRegex(regex).matches(input);
+    }
+    
+    /**
+     * Check whether the input string matches the compiled regex
+     * @param input The string to be matched
+     * @param regex The regex used for the matching
+     */
+    public static boolean isMatching(String input, CompiledRegex regex) {
+        return regex.matches(input);
     }
     
     /**
@@ -56,13 +70,39 @@ public final class StringHelper {
      * @param regexArray The regex array used for the matching
      */
     public static boolean isAnyMatching(String input, String[] regexArray) {
+        String normalizedInput = input.trim().toLowerCase();
         for (String regex : regexArray) {
-            if (isMatching(input.trim().toLowerCase(), regex)) {
+            if (isMatching(normalizedInput, regex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Check whether any substring of the input string matches any of the given compiled regexes
+     * Case Insensitive
+     * @see #isAnyMatching(String, String[])
+     */
+    public static boolean isAnyMatching(String input, CompiledRegex[] regexArray) {
+        String normalizedInput = input.trim().toLowerCase();
+        for (CompiledRegex regex : regexArray) {
+            if (regex.matches(normalizedInput)) {
                 return true;
             }
         }
         return false;
     }
+    
+    private static CompiledRegex getCompiledRegex(String regex) {
+        CompiledRegex compiledRegex = COMPILED_REGEXES.get(regex);
+        if (compiledRegex == null) {
+            // compiling the same regex twice in a race is harmless
+            compiledRegex = CompiledRegex.compile(regex);
+            COMPILED_REGEXES.putIfAbsent(regex, compiledRegex);
+        }
+        return compiledRegex;
+    }
 
     public static String getIndent(int length) {
         return generateStringOfLength(length, ' ');
@@ -2,14 +2,28 @@ package teammates.common.util;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.logging.Logger;
 
 import teammates.common.exception.TeammatesException;
 
+import com.google.appengine.api.ThreadManager;
+import com.google.apphosting.api.ApiProxy;
+
 public final class ThreadHelper {
     public static final int WAIT_DURATION = 20;
     private static final Logger log = Utils.getLogger();
     
+    /** Run by each worker thread after its task, e.g. to release the storage resources of the thread */
+    private static volatile Runnable parallelTaskCleanup;
+    
     private ThreadHelper() {
         // utility class
     }
@@ -33,6 +47,119 @@ public final class ThreadHelper {
         }
     }
     
+    /**
+     * Sets what each worker thread of {@link #runInParallel} runs after its task. The storage layer sets it
+     * when it is initialized, so that this class need not depend on the storage layer.
+     */
+    public static void setParallelTaskCleanup(Runnable cleanup) {
+        parallelTaskCleanup = cleanup;
+    }
+    
+    /**
+     * Runs the given tasks using at most {@code maxParallelTasks} threads of the current request,
+     * and waits for all of them to finish.<br>
+     * Falls back to running the tasks one after another in the current thread if request threads
+     * are not available, e.g. when running outside of a request.<br>
+     * Each worker thread runs the {@link #setParallelTaskCleanup cleanup} after its task, which closes
+     * the persistence manager of the thread, so tasks may read the datastore but must not share entities
+     * across threads.
+     * 
+     * @return the results of the tasks, in the same order as {@code tasks}
+     * @throws RuntimeException if any of the tasks failed; checked exceptions thrown by
+     *         a task are wrapped, unchecked exceptions are rethrown as is
+     */
+    public static <T> List<T> runInParallel(List<? extends Callable<T>> tasks, int maxParallelTasks) {
+        List<T> results = new ArrayList<T>(tasks.size());
+        ThreadFactory threadFactory = getRequestThreadFactory();
+        
+        if (threadFactory == null || tasks.size() <= 1 || maxParallelTasks <= 1) {
+            for (Callable<T> task : tasks) {
+                results.add(call(task));
+            }
+            return results;
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks.size(), maxParallelTasks),
+                                                                threadFactory);
+        try {
+            List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(new CleanedUpTask<T>(task, parallelTaskCleanup)));
+            }
+            for (Future<T> future : futures) {
+                results.add(getResult(future));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private static ThreadFactory getRequestThreadFactory() {
+        // request threads can only be created while serving a request
+        return ApiProxy.getCurrentEnvironment() == null ? null : ThreadManager.currentRequestThreadFactory();
+    }
+    
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+    
+    /**
+     * Runs the cleanup of the worker thread after the task,
+     * as worker threads do not pass through the usual request cleanup.<br>
+     * The task records its datastore accesses in the stats of the request which submitted it.
+     */
+    private static class CleanedUpTask<T> implements Callable<T> {
+        
+        private final Callable<T> task;
+        private final Runnable cleanup;
+        private final StorageAccessStats storageAccessStats;
+        
+        CleanedUpTask(Callable<T> task, Runnable cleanup) {
+            this.task = task;
+            this.cleanup = cleanup;
+            // the datastore accesses of the task count towards the request which submitted it
+            this.storageAccessStats = StorageAccessStats.current();
+        }
+        
+        @Override
+        public T call() throws Exception {
+            StorageAccessStats.setCurrent(storageAccessStats);
+            try {
+                return task.call();
+            } finally {
+                if (cleanup != null) {
+                    cleanup.run();
+                }
+                StorageAccessStats.setCurrent(null);
+            }
+        }
+    }
+    
     public static String getCurrentThreadStack() {
         StringWriter sw = new StringWriter();
         new Throwable("").printStackTrace(new PrintWriter(sw));
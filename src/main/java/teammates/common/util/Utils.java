@@ -10,6 +10,13 @@ import com.google.gson.GsonBuilder;
 
 public final class Utils {
 
+    /** Gson instances are immutable and thread-safe, so one is shared instead of built for every call */
+    private static final Gson TEAMMATES_GSON = new GsonBuilder()
+            .setDateFormat(DateFormat.FULL)
+            .setDateFormat(SystemParams.DEFAULT_DATE_TIME_FORMAT)
+            .setPrettyPrinting()
+            .create();
+
     private Utils() {
         // utility class
     }
@@ -28,11 +35,7 @@ public final class Utils {
      * Json file and also reformat the Json string in pretty-print format.
      */
     public static Gson getTeammatesGson() {
-        return new GsonBuilder()
-                .setDateFormat(DateFormat.FULL)
-                .setDateFormat(SystemParams.DEFAULT_DATE_TIME_FORMAT)
-                .setPrettyPrinting()
-                .create();
+        return TEAMMATES_GSON;
     }
 
 }
@@ -11,8 +11,11 @@ import teammates.common.exception.UnauthorizedAccessException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.logic.core.AccountsLogic;
+import teammates.logic.core.CourseDeletionLogic;
 import teammates.logic.core.InstructorsLogic;
 import teammates.logic.core.StudentsLogic;
+import teammates.logic.core.UserRolesCache;
+import teammates.logic.core.UserRolesCache.UserRoles;
 
 import com.google.appengine.api.users.User;
 import com.google.appengine.api.users.UserService;
@@ -57,17 +60,30 @@ public class GateKeeper {
             userType.isAdmin = true;
         }
         
-        if (isInstructor()) {
+        UserRoles roles = getRolesOfCurrentUser();
+        
+        if (roles.isInstructor()) {
             userType.isInstructor = true;
         }
         
-        if (isStudent()) {
+        if (roles.isStudent()) {
             userType.isStudent = true;
         }
 
         return userType;
     }
 
+    /**
+     * @return the account of the logged in user, without the student profile,
+     *         or null if the user is not logged in or has no account
+     */
+    public AccountAttributes getAccountOfCurrentUser() {
+        if (getCurrentGoogleUser() == null) {
+            return null;
+        }
+        return getRolesOfCurrentUser().getAccount();
+    }
+
     public String getLoginUrl(String redirectPage) {
         User user = userService.getCurrentUser();
 
@@ -137,6 +153,7 @@ public class GateKeeper {
         verifyNotNull(student.course, "student's course ID");
         verifyNotNull(course, "course");
         verifyNotNull(course.getId(), "course ID");
+        verifyNotBeingDeleted(course.getId());
 
         if (!student.course.equals(course.getId())) {
             throw new UnauthorizedAccessException("Course [" + course.getId() + "] is not accessible to student ["
@@ -149,6 +166,7 @@ public class GateKeeper {
         verifyNotNull(student.course, "student's course ID");
         verifyNotNull(feedbacksession, "feedback session");
         verifyNotNull(feedbacksession.getCourseId(), "feedback session's course ID");
+        verifyNotBeingDeleted(feedbacksession.getCourseId());
 
         if (!student.course.equals(feedbacksession.getCourseId()) || feedbacksession.isPrivateSession()) {
             throw new UnauthorizedAccessException("Feedback session [" + feedbacksession.getFeedbackSessionName()
@@ -324,6 +342,16 @@ public class GateKeeper {
 
     }
 
+    /**
+     * Rejects access to a course being deleted. Only the checks of students need this,
+     * as the instructors of a course are deleted as soon as its deletion starts.
+     */
+    private void verifyNotBeingDeleted(String courseId) {
+        if (CourseDeletionLogic.inst().isCourseBeingDeleted(courseId)) {
+            throw new UnauthorizedAccessException("Course [" + courseId + "] is being deleted");
+        }
+    }
+
     private User getCurrentGoogleUser() {
         return userService.getCurrentUser();
     }
@@ -333,17 +361,23 @@ public class GateKeeper {
         return userService.isUserAdmin();
     }
 
-    private boolean isInstructor() {
-        User user = userService.getCurrentUser();
-        Assumption.assertNotNull(user);
-        return AccountsLogic.inst().isAccountAnInstructor(user.getNickname());
-    }
-
-    private boolean isStudent() {
+    /**
+     * Gets the roles of the logged in user from the cache, as they are needed on every request,
+     * retrieving and caching them if they are not cached.
+     */
+    private UserRoles getRolesOfCurrentUser() {
         User user = userService.getCurrentUser();
         Assumption.assertNotNull(user);
-
-        return StudentsLogic.inst().isStudentInAnyCourse(user.getNickname());
+        String googleId = user.getNickname();
+
+        UserRoles roles = UserRolesCache.get(googleId);
+        if (roles == null) {
+            // reserved before reading, so that roles read before a concurrent change are not cached after it
+            UserRolesCache.Reservation reservation = UserRolesCache.reserve(googleId);
+            roles = UserRolesCache.put(reservation, AccountsLogic.inst().getAccount(googleId),
+                                       StudentsLogic.inst().isStudentInAnyCourse(googleId));
+        }
+        return roles;
     }
 
     public void verifyAccessibleForCurrentUserAsInstructor(AccountAttributes account, String courseId, String section) {
@@ -1,5 +1,6 @@
 package teammates.logic.api;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -13,6 +14,7 @@ import teammates.common.datatransfer.CommentParticipantType;
 import teammates.common.datatransfer.CommentSearchResultBundle;
 import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CourseDeletionProgress;
 import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.CourseSummaryBundle;
@@ -40,12 +42,18 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.ExceedingRangeException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.exception.JoinCourseException;
+import teammates.common.util.ActionStats;
+import teammates.common.util.ActivityLogRecord;
+import teammates.common.util.ActivityLogStoreQuery;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.EmailWrapper;
 import teammates.logic.core.AccountsLogic;
+import teammates.logic.core.ActionStatsLogic;
+import teammates.logic.core.ActivityLogsLogic;
 import teammates.logic.core.AdminEmailsLogic;
 import teammates.logic.core.CommentsLogic;
+import teammates.logic.core.CourseDeletionLogic;
 import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.EmailGenerator;
 import teammates.logic.core.EmailSender;
@@ -85,6 +93,9 @@ public class Logic {
     protected static FeedbackResponsesLogic feedbackResponsesLogic = FeedbackResponsesLogic.inst();
     protected static FeedbackResponseCommentsLogic feedbackResponseCommentsLogic = FeedbackResponseCommentsLogic.inst();
     protected static AdminEmailsLogic adminEmailsLogic = AdminEmailsLogic.inst();
+    protected static ActivityLogsLogic activityLogsLogic = ActivityLogsLogic.inst();
+    protected static ActionStatsLogic actionStatsLogic = ActionStatsLogic.inst();
+    protected static CourseDeletionLogic courseDeletionLogic = CourseDeletionLogic.inst();
     
 
     /**
@@ -121,6 +132,15 @@ public class Logic {
         return gateKeeper.getCurrentUser();
     }
 
+    /**
+     * The account is cached for a short time, as it is needed on every request.
+     * It does not have the student profile; use {@link #getStudentProfile(String)} for that.
+     * @return the account of the logged in user, or null if the user is not logged in or has no account
+     */
+    public AccountAttributes getCurrentUserAccount() {
+        return gateKeeper.getAccountOfCurrentUser();
+    }
+
 
     /**
      * Creates a new Account based on given values. If a profile is not given,
@@ -838,6 +858,38 @@ public class Logic {
         coursesLogic.deleteCourseCascade(courseId);
     }
 
+    /**
+     * Deletes the instructors of the course at once, so that the course is gone from their pages,
+     * and leaves the rest of the course and all data related to it to be deleted in the background.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void scheduleCourseDeletion(String courseId) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        coursesLogic.scheduleCourseDeletionCascade(courseId);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the progress of the deletion of the course, or null if the course is not being deleted
+     */
+    public CourseDeletionProgress getCourseDeletionProgress(String courseId) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        return courseDeletionLogic.getCourseDeletionProgress(courseId);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return whether the course is being deleted, in which case it is no longer accessible
+     *         and its ID cannot be used for a new course until the deletion is complete
+     */
+    public boolean isCourseBeingDeleted(String courseId) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        return courseDeletionLogic.isCourseBeingDeleted(courseId);
+    }
+
 
     /**
      * Creates a student. <br>
@@ -945,6 +997,18 @@ public class Logic {
         return accountsLogic.getStudentProfile(googleId);
     }
 
+    /**
+     * Gets the profiles of all the given googleIds with a single batch lookup.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * 
+     * @return a map of googleId to profile. GoogleIds without a profile are not included.
+     */
+    public Map<String, StudentProfileAttributes> getStudentProfiles(Collection<String> googleIds) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleIds);
+        return accountsLogic.getStudentProfiles(googleIds);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1349,6 +1413,29 @@ public class Logic {
                 copiedCourseId, feedbackSessionName, courseId, instructorEmail);
     }
     
+    /**
+     * Copies the session to each of the courses {@code copiedCourseIds}, creating the questions
+     * of each copy in one batched write.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackSessionAttributes> copyFeedbackSession(String copiedFeedbackSessionName,
+                                                               List<String> copiedCourseIds,
+                                                               String feedbackSessionName,
+                                                               String courseId,
+                                                               String instructorEmail)
+            throws EntityAlreadyExistsException, InvalidParametersException, EntityDoesNotExistException {
+
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, copiedFeedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, copiedCourseIds);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, instructorEmail);
+
+        return feedbackSessionsLogic.copyFeedbackSession(copiedFeedbackSessionName,
+                copiedCourseIds, feedbackSessionName, courseId, instructorEmail);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1729,6 +1816,25 @@ public class Logic {
                                                            feedbackSessionName, courseId, instructorEmail);
     }
     
+    /**
+     * Copies the questions to the end of the given session in one batched write.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackQuestionAttributes> copyFeedbackQuestions(List<String> feedbackQuestionIds,
+                                                                  String feedbackSessionName,
+                                                                  String courseId, String instructorEmail)
+            throws InvalidParametersException {
+
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackQuestionIds);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, instructorEmail);
+
+        return feedbackQuestionsLogic.copyFeedbackQuestions(feedbackQuestionIds, feedbackSessionName,
+                                                            courseId, instructorEmail);
+    }
+    
     /**
      * Updates the question number of a Feedback Question.<br>
      * Preconditions: <br>
@@ -1792,6 +1898,33 @@ public class Logic {
         return feedbackQuestionsLogic.getCopiableFeedbackQuestionsForInstructor(googleId);
     }
     
+    /**
+     * Gets a page of the copiable questions for an instructor,
+     * in the order of {@link #getCopiableFeedbackQuestionsForInstructor(String)}.<br>
+     * Preconditions: <br>
+     * * {@code googleId} is non-null.
+     * @param cursor the cursor of the question the page starts after,
+     *         from {@link #getCopiableQuestionsCursor(FeedbackQuestionAttributes)}, or null for the first page
+     * @param limit the number of questions in the page at most
+     * @throws InvalidParametersException if the cursor is not a valid cursor
+     */
+    public List<FeedbackQuestionAttributes> getCopiableFeedbackQuestionsForInstructor(String googleId,
+                                                                                      String cursor, int limit)
+            throws InvalidParametersException {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
+        return feedbackQuestionsLogic.getCopiableFeedbackQuestionsForInstructor(googleId, cursor, limit);
+    }
+    
+    /**
+     * Gets the cursor to get the copiable questions after the question with.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public String getCopiableQuestionsCursor(FeedbackQuestionAttributes question) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, question);
+        return FeedbackQuestionsLogic.getCopiableQuestionsCursor(question);
+    }
+    
     /**
      * Gets all questions for a feedback session.<br>
      * Returns an empty list if they are no questions
@@ -2624,6 +2757,51 @@ public class Logic {
         return errorReport;
     }
 
+    /**
+     * @return true if the activity logs are kept in a store besides the GAE logs,
+     *         so they can be queried with {@link #getActivityLogs(ActivityLogStoreQuery)}
+     */
+    public boolean isActivityLogStoreEnabled() {
+        return activityLogsLogic.isActivityLogStoreEnabled();
+    }
+
+    /**
+     * Stores an activity log line, if the activity logs are kept in a store.
+     * @param courseId the course the request was about, or null if it was not about a course
+     */
+    public void appendActivityLog(long time, String logMessage, String courseId) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, logMessage);
+        activityLogsLogic.appendActivityLog(time, logMessage, courseId);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * The activity logs are kept in a store.
+     * @return the stored activity logs matching {@code query}, newest first
+     */
+    public List<ActivityLogRecord> getActivityLogs(ActivityLogStoreQuery query) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, query);
+        return activityLogsLogic.getActivityLogs(query);
+    }
+
+    /**
+     * Keeps the action stats recorded by this instance in the datastore,
+     * if they were last kept long enough ago.
+     */
+    public void flushActionStatsIfDue() {
+        actionStatsLogic.flushActionStatsIfDue(System.currentTimeMillis());
+    }
+
+    /**
+     * @param isIncludingUnflushedStats whether to include the requests served by this instance
+     *         which are not kept in the datastore yet
+     * @return the stats of the requests served between {@code startTime} and {@code endTime},
+     *         one for each action and result type, ordered by action and result type
+     */
+    public List<ActionStats> getActionStats(long startTime, long endTime, boolean isIncludingUnflushedStats) {
+        return actionStatsLogic.getActionStats(startTime, endTime, isIncludingUnflushedStats);
+    }
+
     public List<String> getArchivedCourseIds(List<CourseAttributes> allCourses,
                                              Map<String, InstructorAttributes> instructorsForCourses) {
         Assumption.assertNotNull(allCourses);
@@ -0,0 +1,24 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Const;
+import teammates.logic.core.ActionStatsLogic;
+
+/**
+ * Removes the action stats kept in the datastore for longer than the longest window
+ * shown in the admin action metrics page.
+ */
+@SuppressWarnings("serial")
+public class ActionStatsRetentionServlet extends AutomatedRemindersServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = Const.AutomatedActionNames.AUTOMATED_ACTION_STATS_RETENTION;
+        action = "remove action stats outside the retention period";
+
+        int numberOfPeriodsDeleted = ActionStatsLogic.inst().deleteActionStatsOutsideRetentionPeriod();
+        logMessage(req, "Removed " + numberOfPeriodsDeleted + " action stats periods");
+    }
+}
@@ -0,0 +1,32 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Config;
+import teammates.common.util.Const;
+import teammates.logic.core.ActivityLogsLogic;
+
+/**
+ * Removes the activity logs kept in the activity log store for longer than the retention period
+ * given by "app.activitylog.retentiondays" in build.properties, and compacts the store.
+ */
+@SuppressWarnings("serial")
+public class ActivityLogRetentionServlet extends AutomatedRemindersServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = Const.AutomatedActionNames.AUTOMATED_ACTIVITY_LOG_RETENTION;
+        action = "remove activity logs outside the retention period";
+
+        ActivityLogsLogic activityLogsLogic = ActivityLogsLogic.inst();
+        if (!activityLogsLogic.isActivityLogStoreEnabled()) {
+            return;
+        }
+
+        int numberOfLogsDeleted = activityLogsLogic.deleteActivityLogsOutsideRetentionPeriod(
+                System.currentTimeMillis(), Config.ACTIVITY_LOG_RETENTION_DAYS);
+        logMessage(req, "Removed " + numberOfLogsDeleted + " activity logs older than "
+                        + Config.ACTIVITY_LOG_RETENTION_DAYS + " days");
+    }
+}
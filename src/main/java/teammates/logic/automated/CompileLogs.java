@@ -1,12 +1,16 @@
 package teammates.logic.automated;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.ErrorLogGroup;
+import teammates.common.util.LogCursor;
 import teammates.logic.core.EmailGenerator;
 import teammates.logic.core.EmailSender;
+import teammates.logic.core.LogCompilationLogic;
 
 import com.google.appengine.api.log.AppLogLine;
 import com.google.appengine.api.log.LogQuery;
@@ -15,15 +19,48 @@ import com.google.appengine.api.log.LogService.LogLevel;
 import com.google.appengine.api.log.LogServiceFactory;
 import com.google.appengine.api.log.RequestLogs;
 
+/**
+ * Compiles the error logs written since the last compilation, grouped by fingerprint.<br>
+ * The cursor up to which the logs were compiled is kept in the datastore, and only saved with
+ * {@link #saveCursor()} once the compiled logs are sent, so that logs are neither sent twice nor lost.
+ */
 public class CompileLogs {
     
-    public List<AppLogLine> doLogExam() {
-        LogService logService = LogServiceFactory.getLogService();
-
+    public static final String COMPILATION_NAME = "errorLogs";
+    
+    /** Range of the first compilation, when there is no cursor yet */
+    private static final long INITIAL_QUERY_RANGE_MILLIS = 1000 * 60 * 6;
+    
+    /** Longest range compiled at a time, e.g. after compilation was not done for a while */
+    private static final long MAX_QUERY_RANGE_MILLIS = 1000 * 60 * 60;
+    
+    private final LogService logService;
+    
+    private LogCursor cursor;
+    
+    public CompileLogs() {
+        this(LogServiceFactory.getLogService());
+    }
+    
+    /**
+     * @param logService the service the application logs are read from
+     */
+    public CompileLogs(LogService logService) {
+        this.logService = logService;
+    }
+    
+    /**
+     * @return the error logs of the requests which ended after the cursor, grouped by fingerprint
+     */
+    public List<ErrorLogGroup> doLogExam() {
         long endTime = new java.util.Date().getTime();
-        // Sets the range to 6 minutes to slightly overlap the 5 minute email timer
-        long queryRange = 1000 * 60 * 6;
-        long startTime = endTime - queryRange;
+        cursor = LogCompilationLogic.inst().getCursor(COMPILATION_NAME);
+        long startTime = cursor == null
+                       ? endTime - INITIAL_QUERY_RANGE_MILLIS
+                       : Math.max(cursor.getEndTimeUsec() / 1000, endTime - MAX_QUERY_RANGE_MILLIS);
+        if (cursor == null) {
+            cursor = new LogCursor(startTime * 1000, new HashSet<String>());
+        }
 
         LogQuery q = LogQuery.Builder.withDefaults()
                                      .includeAppLogs(true)
@@ -33,9 +70,15 @@ public class CompileLogs {
         
         Iterator<RequestLogs> logIterator = logService.fetch(q).iterator();
         List<AppLogLine> errorLogs = new ArrayList<AppLogLine>();
+        // the logs come newest first, so requests are checked against the cursor as it was before it is moved
+        LogCursor previousCursor = new LogCursor(cursor.getEndTimeUsec(), cursor.getRequestIds());
 
         while (logIterator.hasNext()) {
             RequestLogs requestLogs = logIterator.next();
+            if (previousCursor.isCompiled(requestLogs.getEndTimeUsec(), requestLogs.getRequestId())) {
+                continue;
+            }
+            cursor.advance(requestLogs.getEndTimeUsec(), requestLogs.getRequestId());
             List<AppLogLine> logList = requestLogs.getAppLogLines();
 
             for (AppLogLine currentLog : logList) {
@@ -47,14 +90,21 @@ public class CompileLogs {
             }
         }
 
-        return errorLogs;
+        return ErrorLogGroup.groupByFingerprint(errorLogs);
     }
 
-    public void sendEmail(List<AppLogLine> logs) {
+    public void sendEmail(List<ErrorLogGroup> logGroups) {
         // Do not send any emails if there are no severe logs; prevents spamming
-        if (!logs.isEmpty()) {
-            EmailWrapper message = new EmailGenerator().generateCompiledLogsEmail(logs);
+        if (!logGroups.isEmpty()) {
+            EmailWrapper message = new EmailGenerator().generateCompiledLogsEmail(logGroups);
             new EmailSender().sendLogReport(message);
         }
     }
+    
+    /**
+     * Keeps the cursor moved by {@link #doLogExam()}, so that the next compilation starts after it.
+     */
+    public void saveCursor() {
+        LogCompilationLogic.inst().saveCursor(COMPILATION_NAME, cursor);
+    }
 }
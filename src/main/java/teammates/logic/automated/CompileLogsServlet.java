@@ -18,5 +18,6 @@ public class CompileLogsServlet extends AutomatedRemindersServlet {
         
         CompileLogs compileLog = new CompileLogs();
         compileLog.sendEmail(compileLog.doLogExam());
+        compileLog.saveCursor();
     }
 }
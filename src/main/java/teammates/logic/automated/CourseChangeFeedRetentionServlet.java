@@ -0,0 +1,23 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Const;
+import teammates.logic.core.CourseChangeFeedLogic;
+
+/**
+ * Removes the course change feed entries older than the longest window the feed can be read for.
+ */
+@SuppressWarnings("serial")
+public class CourseChangeFeedRetentionServlet extends AutomatedRemindersServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = Const.AutomatedActionNames.AUTOMATED_COURSE_CHANGE_FEED_RETENTION;
+        action = "remove course change feed entries outside the retention period";
+
+        int numberOfEntriesDeleted = CourseChangeFeedLogic.inst().deleteCourseModificationsOutsideRetentionPeriod();
+        logMessage(req, "Removed " + numberOfEntriesDeleted + " course change feed entries");
+    }
+}
@@ -0,0 +1,42 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.CourseDeletionLogic;
+
+/**
+ * Continues the deletion of a course a batch at a time for up to {@link CourseDeletionLogic#TASK_TIME_BUDGET_MILLIS},
+ * then adds a task to continue if the course is not fully deleted.
+ */
+@SuppressWarnings("serial")
+public class CourseDeletionWorkerServlet extends WorkerServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = "courseDeletionWorker";
+        action = "delete a course a batch at a time";
+
+        String courseId = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.COURSE_ID);
+        Assumption.assertNotNull(courseId);
+
+        CourseDeletionLogic courseDeletionLogic = CourseDeletionLogic.inst();
+        try {
+            long deadline = System.currentTimeMillis() + CourseDeletionLogic.TASK_TIME_BUDGET_MILLIS;
+            if (courseDeletionLogic.deleteCourseInBatches(courseId, deadline)) {
+                logMessage(req, "Course deleted: " + courseId);
+            } else {
+                logMessage(req, courseDeletionLogic.getCourseDeletionProgress(courseId).toString());
+                courseDeletionLogic.scheduleCourseDeletionTask(courseId);
+            }
+        } catch (Exception e) {
+            log.severe("Error while deleting course " + courseId + ": " + TeammatesException.toStringWithStackTrace(e));
+            // Sets an arbitrary retry code outside of the range 200-299 so GAE will automatically retry upon failure
+            resp.setStatus(100);
+        }
+    }
+}
@@ -2,61 +2,65 @@ package teammates.logic.automated;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.Iterator;
-import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import teammates.common.datatransfer.CourseChangeFeedPage;
 import teammates.common.exception.TeammatesException;
+import teammates.common.util.Const;
+import teammates.logic.core.CourseChangeFeedLogic;
 
-import com.google.appengine.api.log.AppLogLine;
-import com.google.appengine.api.log.LogQuery;
-import com.google.appengine.api.log.LogService;
-import com.google.appengine.api.log.LogServiceFactory;
-import com.google.appengine.api.log.RequestLogs;
-
+/**
+ * Lists the IDs of the courses modified in a window of time, one per line, read from the course change feed
+ * a page at a time. The window is the last 24 hours unless given in the
+ * {@link Const.ParamsNames#CHANGE_FEED_STARTTIME} and {@link Const.ParamsNames#CHANGE_FEED_ENDTIME} parameters,
+ * in milliseconds. If there are more courses in the window, the cursor to pass in the
+ * {@link Const.ParamsNames#CHANGE_FEED_CURSOR} parameter for the next page is given in the
+ * {@link #NEXT_CURSOR_HEADER} header.
+ */
 @SuppressWarnings("serial")
 public class EntityModifiedLogsServlet extends AutomatedRemindersServlet {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final long DEFAULT_WINDOW_MILLIS = 1000 * 60 * 60 * 24;
+
     @Override
     public void doGet(HttpServletRequest req, HttpServletResponse resp) {
         servletName = "entityModifiedLogs";
-        action = "extracts entities that were modified from logs";
+        action = "extracts entities that were modified from the course change feed";
 
-        String message = "Compiling logs for email notification";
-        logMessage(req, message);
+        String startTimeParam = req.getParameter(Const.ParamsNames.CHANGE_FEED_STARTTIME);
+        String endTimeParam = req.getParameter(Const.ParamsNames.CHANGE_FEED_ENDTIME);
+        String cursor = req.getParameter(Const.ParamsNames.CHANGE_FEED_CURSOR);
 
-        resp.setContentType("application/json");
-   
+        long endTime;
+        long startTime;
         try {
-            PrintWriter writer = resp.getWriter();
+            endTime = endTimeParam == null ? System.currentTimeMillis() : Long.parseLong(endTimeParam);
+            startTime = startTimeParam == null ? endTime - DEFAULT_WINDOW_MILLIS : Long.parseLong(startTimeParam);
+        } catch (NumberFormatException e) {
+            log.warning("Invalid window for the course change feed: " + startTimeParam + " to " + endTimeParam);
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
 
-            LogService logService = LogServiceFactory.getLogService();
+        String message = "Reading course change feed from " + startTime + " to " + endTime
+                         + (cursor == null ? "" : " after " + cursor);
+        logMessage(req, message);
 
-            long endTime = new java.util.Date().getTime();
-            // Sets the range to 6 minutes to slightly overlap the 5 minute scheduled task timer
-            long queryRange = 1000 * 60 * 60 * 24;
-            long startTime = endTime - queryRange;
+        resp.setContentType("text/plain");
 
-            LogQuery q = LogQuery.Builder.withDefaults().includeAppLogs(true)
-                    .startTimeMillis(startTime).endTimeMillis(endTime);
-            Iterator<RequestLogs> logIterator = logService.fetch(q).iterator();
+        try {
+            CourseChangeFeedPage page = CourseChangeFeedLogic.inst().getModifiedCourses(startTime, endTime, cursor);
+            if (page.hasNextPage()) {
+                resp.setHeader(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
 
-            while (logIterator.hasNext()) {
-                RequestLogs requestLogs = logIterator.next();
-                List<AppLogLine> logList = requestLogs.getAppLogLines();
-                
-                for (int i = 0; i < logList.size(); i++) {
-                    AppLogLine currentLog = logList.get(i);
-                    String logMessage = currentLog.getLogMessage();
-                    if (logMessage.contains("modified course::")) {
-                        String[] tokens = logMessage.split("::");
-                        String courseId = tokens[1];
-                      
-                        writer.println(courseId);
-                    }
-                }
+            PrintWriter writer = resp.getWriter();
+            for (String courseId : page.getCourseIds()) {
+                writer.println(courseId);
             }
         } catch (IOException e) {
             log.severe(TeammatesException.toStringWithStackTrace(e));
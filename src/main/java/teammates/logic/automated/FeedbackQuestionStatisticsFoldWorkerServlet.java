@@ -0,0 +1,37 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.FeedbackQuestionStatisticsLogic;
+
+/**
+ * Folds the responses to a question changed since its last fold into the statistics aggregate of the question.
+ */
+@SuppressWarnings("serial")
+public class FeedbackQuestionStatisticsFoldWorkerServlet extends WorkerServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = "feedbackQuestionStatisticsFoldWorker";
+        action = "fold the responses changed into the statistics aggregate of a question";
+
+        String feedbackQuestionId =
+                HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.FEEDBACK_QUESTION_ID);
+        Assumption.assertNotNull(feedbackQuestionId);
+
+        if (FeedbackQuestionStatisticsLogic.inst().foldResponsesChanged(feedbackQuestionId)) {
+            logMessage(req, "Responses changed folded into the statistics aggregate of question "
+                            + feedbackQuestionId);
+        } else {
+            logMessage(req, "Responses changed not folded into the statistics aggregate of question "
+                            + feedbackQuestionId + " as the aggregate is being changed");
+
+            // Sets an arbitrary retry code outside of the range 200-299 so GAE will automatically retry upon failure
+            resp.setStatus(100);
+        }
+    }
+}
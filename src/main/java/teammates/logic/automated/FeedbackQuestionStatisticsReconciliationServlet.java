@@ -0,0 +1,26 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Const;
+import teammates.logic.core.FeedbackQuestionStatisticsLogic;
+
+/**
+ * Schedules the reconciliation of the statistics aggregates of the questions of the sessions accepting responses,
+ * one task per question, so that aggregates which drifted from the responses are corrected.
+ */
+@SuppressWarnings("serial")
+public class FeedbackQuestionStatisticsReconciliationServlet extends AutomatedRemindersServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = Const.AutomatedActionNames.AUTOMATED_FEEDBACK_QUESTION_STATISTICS_RECONCILIATION;
+        action = "schedule the reconciliation of question statistics aggregates";
+
+        int numberOfQuestionsScheduled =
+                FeedbackQuestionStatisticsLogic.inst().scheduleReconciliationsForSessionsAcceptingResponses();
+        logMessage(req, "Scheduled the reconciliation of the statistics of " + numberOfQuestionsScheduled
+                        + " questions");
+    }
+}
@@ -0,0 +1,36 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.FeedbackQuestionStatisticsLogic;
+
+/**
+ * Reconciles the statistics aggregate of a question with its responses, creating the aggregate if there is none.
+ */
+@SuppressWarnings("serial")
+public class FeedbackQuestionStatisticsReconciliationWorkerServlet extends WorkerServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = "feedbackQuestionStatisticsReconciliationWorker";
+        action = "reconcile the statistics aggregate of a question";
+
+        String feedbackQuestionId =
+                HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.FEEDBACK_QUESTION_ID);
+        Assumption.assertNotNull(feedbackQuestionId);
+
+        if (FeedbackQuestionStatisticsLogic.inst().reconcileAggregate(feedbackQuestionId)) {
+            logMessage(req, "Statistics aggregate reconciled for question " + feedbackQuestionId);
+        } else {
+            logMessage(req, "Statistics aggregate of question " + feedbackQuestionId
+                            + " changed while being reconciled");
+
+            // Sets an arbitrary retry code outside of the range 200-299 so GAE will automatically retry upon failure
+            resp.setStatus(100);
+        }
+    }
+}
@@ -2,11 +2,11 @@ package teammates.logic.automated;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPage;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.util.ActivityLogEntry;
@@ -74,22 +74,27 @@ public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
             return false;
         }
         
-        List<FeedbackResponseAttributes> allResponses =
-                                        FeedbackResponsesLogic.inst().getFeedbackResponsesForSession(
-                                                                        feedbackSession.getFeedbackSessionName(),
-                                                                        feedbackSession.getCourseId());
         Gson gsonParser = Utils.getTeammatesGson();
         ArrayList<StudentEnrollDetails> enrollmentList =
                 gsonParser.fromJson(enrollmentDetails, new TypeToken<ArrayList<StudentEnrollDetails>>(){}.getType());
-        for (FeedbackResponseAttributes response : allResponses) {
-            try {
-                StudentsLogic.inst().adjustFeedbackResponseForEnrollments(enrollmentList, response);
-            } catch (Exception e) {
-                log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
-                                                ActivityLogEntry.generateServletActionFailureLogMessage(request, e)));
-                return false;
+        
+        // the responses are adjusted a page at a time so that large sessions are not read into memory at once
+        String cursor = null;
+        do {
+            FeedbackResponsesPage page = FeedbackResponsesLogic.inst().getFeedbackResponsesForSessionPage(
+                    feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                    cursor, FeedbackResponsesLogic.RESPONSES_PAGE_SIZE);
+            for (FeedbackResponseAttributes response : page.getResponses()) {
+                try {
+                    StudentsLogic.inst().adjustFeedbackResponseForEnrollments(enrollmentList, response);
+                } catch (Exception e) {
+                    log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
+                                             ActivityLogEntry.generateServletActionFailureLogMessage(request, e)));
+                    return false;
+                }
             }
-        }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
         return true;
            
     }
@@ -0,0 +1,140 @@
+package teammates.logic.automated;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.common.util.EmailBodyTemplate;
+import teammates.common.util.EmailWrapper;
+import teammates.logic.core.EmailSender;
+import teammates.logic.core.TaskQueuesLogic;
+
+import com.google.appengine.api.taskqueue.TaskHandle;
+
+/**
+ * Drains a batch of pending emails from {@link SystemParams#PENDING_EMAIL_TASK_QUEUE} and sends them
+ * with as few calls to the email service as possible.<br>
+ * Emails that fail to send are put back into the queue, to be drained again when this worker is retried.
+ */
+@SuppressWarnings("serial")
+public class SendEmailBatchWorkerServlet extends WorkerServlet {
+
+    /** Long enough for a whole batch to be sent before the same emails can be leased again */
+    private static final long LEASE_SECONDS = 5 * 60;
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        TaskQueuesLogic taskQueuesLogic = TaskQueuesLogic.inst();
+        List<TaskHandle> tasks = taskQueuesLogic.leaseTasks(SystemParams.PENDING_EMAIL_TASK_QUEUE, LEASE_SECONDS,
+                                                            SystemParams.MAX_EMAILS_PER_SEND_BATCH);
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        List<EmailWrapper> messages = new ArrayList<EmailWrapper>();
+        Map<EmailWrapper, TaskHandle> taskOfMessage = new IdentityHashMap<EmailWrapper, TaskHandle>();
+        List<TaskHandle> malformedTasks = new ArrayList<TaskHandle>();
+        for (TaskHandle task : tasks) {
+            try {
+                EmailWrapper message = parseEmail(task);
+                messages.add(message);
+                taskOfMessage.put(message, task);
+            } catch (UnsupportedEncodingException e) {
+                log.severe("Error while reading pending email " + task.getName() + ": "
+                           + TeammatesException.toStringWithStackTrace(e));
+                malformedTasks.add(task);
+            }
+        }
+        // malformed emails will never be sent, so they are not kept in the queue
+        taskQueuesLogic.deleteTasks(SystemParams.PENDING_EMAIL_TASK_QUEUE, malformedTasks);
+
+        List<EmailWrapper> failedMessages;
+        try {
+            failedMessages = new EmailSender().sendEmailBatch(messages);
+        } catch (Exception e) {
+            log.severe("Error while sending email batch via servlet: " + TeammatesException.toStringWithStackTrace(e));
+            failedMessages = messages;
+        }
+
+        Set<EmailWrapper> failedMessageSet = Collections.newSetFromMap(new IdentityHashMap<EmailWrapper, Boolean>());
+        failedMessageSet.addAll(failedMessages);
+        List<TaskHandle> sentTasks = new ArrayList<TaskHandle>();
+        List<TaskHandle> failedTasks = new ArrayList<TaskHandle>();
+        for (EmailWrapper message : messages) {
+            if (failedMessageSet.contains(message)) {
+                failedTasks.add(taskOfMessage.get(message));
+            } else {
+                sentTasks.add(taskOfMessage.get(message));
+            }
+        }
+        taskQueuesLogic.deleteTasks(SystemParams.PENDING_EMAIL_TASK_QUEUE, sentTasks);
+
+        if (!failedTasks.isEmpty()) {
+            taskQueuesLogic.releaseTasks(SystemParams.PENDING_EMAIL_TASK_QUEUE, failedTasks);
+
+            // Sets an arbitrary retry code outside of the range 200-299 so GAE will automatically retry upon failure
+            resp.setStatus(100);
+        }
+    }
+
+    private EmailWrapper parseEmail(TaskHandle task) throws UnsupportedEncodingException {
+        Map<String, List<String>> params = new HashMap<String, List<String>>();
+        for (Map.Entry<String, String> param : task.extractParams()) {
+            List<String> values = params.get(param.getKey());
+            if (values == null) {
+                values = new ArrayList<String>();
+                params.put(param.getKey(), values);
+            }
+            values.add(param.getValue());
+        }
+
+        String emailSubject = getValue(params, ParamsNames.EMAIL_SUBJECT);
+        Assumption.assertNotNull(emailSubject);
+
+        String emailContentTemplate = getValue(params, ParamsNames.EMAIL_CONTENT_TEMPLATE);
+        Assumption.assertNotNull(emailContentTemplate);
+
+        List<String> emailContentTemplateValues = params.get(ParamsNames.EMAIL_CONTENT_TEMPLATE_VALUES);
+        Assumption.assertNotNull(emailContentTemplateValues);
+
+        String emailSender = getValue(params, ParamsNames.EMAIL_SENDER);
+        Assumption.assertNotNull(emailSender);
+
+        String emailSenderName = getValue(params, ParamsNames.EMAIL_SENDERNAME);
+
+        String emailReceiver = getValue(params, ParamsNames.EMAIL_RECEIVER);
+        Assumption.assertNotNull(emailReceiver);
+
+        String emailReply = getValue(params, ParamsNames.EMAIL_REPLY_TO_ADDRESS);
+        Assumption.assertNotNull(emailReply);
+
+        EmailWrapper message = new EmailWrapper();
+        message.setRecipient(emailReceiver);
+        message.setSenderEmail(emailSender);
+        if (emailSenderName != null) {
+            message.setSenderName(emailSenderName);
+        }
+        message.setContentFromTemplate(EmailBodyTemplate.valueOf(emailContentTemplate),
+                emailContentTemplateValues.toArray(new String[emailContentTemplateValues.size()]));
+        message.setSubject(emailSubject);
+        message.setReplyTo(emailReply);
+        return message;
+    }
+
+    private static String getValue(Map<String, List<String>> params, String key) {
+        List<String> values = params.get(key);
+        return values == null ? null : values.get(0);
+    }
+}
@@ -6,6 +6,7 @@ import javax.servlet.http.HttpServletResponse;
 import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.EmailBodyTemplate;
 import teammates.common.util.EmailWrapper;
 import teammates.common.util.HttpRequestHelper;
 import teammates.logic.core.EmailSender;
@@ -18,8 +19,19 @@ public class SendEmailWorkerServlet extends WorkerServlet {
         String emailSubject = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_SUBJECT);
         Assumption.assertNotNull(emailSubject);
         
-        String emailContent = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_CONTENT);
-        Assumption.assertNotNull(emailContent);
+        // emails sent to a whole course carry their template instead of their content
+        String emailContentTemplate =
+                HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_CONTENT_TEMPLATE);
+        String emailContent = null;
+        String[] emailContentTemplateValues = null;
+        if (emailContentTemplate == null) {
+            emailContent = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_CONTENT);
+            Assumption.assertNotNull(emailContent);
+        } else {
+            emailContentTemplateValues = HttpRequestHelper.getValuesFromRequestParameterMap(
+                    req, ParamsNames.EMAIL_CONTENT_TEMPLATE_VALUES);
+            Assumption.assertNotNull(emailContentTemplateValues);
+        }
         
         String emailSender = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_SENDER);
         Assumption.assertNotNull(emailSender);
@@ -38,7 +50,11 @@ public class SendEmailWorkerServlet extends WorkerServlet {
         if (emailSenderName != null) {
             message.setSenderName(emailSenderName);
         }
-        message.setContent(emailContent);
+        if (emailContentTemplate == null) {
+            message.setContent(emailContent);
+        } else {
+            message.setContentFromTemplate(EmailBodyTemplate.valueOf(emailContentTemplate), emailContentTemplateValues);
+        }
         message.setSubject(emailSubject);
         message.setReplyTo(emailReply);
         
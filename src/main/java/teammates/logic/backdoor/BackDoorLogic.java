@@ -30,6 +30,7 @@ import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 import teammates.logic.api.Logic;
+import teammates.logic.core.UserRolesCache;
 import teammates.storage.api.AccountsDb;
 import teammates.storage.api.CommentsDb;
 import teammates.storage.api.CoursesDb;
@@ -87,6 +88,9 @@ public class BackDoorLogic extends Logic {
         
         //deleteExistingData(dataBundle);
         
+        // the data is persisted without going through the logic which keeps the cached roles up to date
+        UserRolesCache.invalidateAll();
+        
         HashMap<String, AccountAttributes> accounts = dataBundle.accounts;
         for (AccountAttributes account : accounts.values()) {
             if (account.studentProfile == null) {
@@ -460,6 +464,9 @@ public class BackDoorLogic extends Logic {
         }
         accountsDb.deleteAccounts(dataBundle.accounts.values());
         //waitUntilDeletePersists(dataBundle);
+        
+        // the data is deleted without going through the logic which keeps the cached roles up to date
+        UserRolesCache.invalidateAll();
     }
 
     private void deleteCourses(Collection<CourseAttributes> courses) {
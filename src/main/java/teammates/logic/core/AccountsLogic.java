@@ -1,6 +1,8 @@
 package teammates.logic.core;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.AccountAttributes;
@@ -54,6 +56,7 @@ public class AccountsLogic {
         log.info("going to create account :\n" + accountData.toString());
         
         accountsDb.createAccount(accountData);
+        UserRolesCache.invalidate(accountData.googleId);
     }
 
     public AccountAttributes getAccount(String googleId) {
@@ -102,12 +105,13 @@ public class AccountsLogic {
 
     public void updateAccount(AccountAttributes account)
             throws InvalidParametersException, EntityDoesNotExistException {
-        accountsDb.updateAccount(account, false);
+        updateAccount(account, false);
     }
     
     public void updateAccount(AccountAttributes account, boolean updateStudentProfile)
             throws InvalidParametersException, EntityDoesNotExistException {
         accountsDb.updateAccount(account, updateStudentProfile);
+        UserRolesCache.invalidate(account.googleId);
     }
     
     public void joinCourseForStudent(String registrationKey, String googleId)
@@ -128,6 +132,7 @@ public class AccountsLogic {
         if (accountsDb.getAccount(googleId) == null) {
             createStudentAccount(student);
         }
+        UserRolesCache.invalidate(googleId);
     }
 
     /**
@@ -182,7 +187,7 @@ public class AccountsLogic {
             student.googleId = googleId;
             StudentsLogic.inst().updateStudentCascade(instructor.email, student);
         }
-        
+        UserRolesCache.invalidate(googleId);
     }
     
     /**
@@ -316,6 +321,7 @@ public class AccountsLogic {
             account.isInstructor = false;
             try {
                 accountsDb.updateAccount(account);
+                UserRolesCache.invalidate(googleId);
             } catch (InvalidParametersException | EntityDoesNotExistException e) {
                 Assumption.fail("Invalid account data detected unexpectedly "
                                 + "while removing instruction privileges from account :" + account.toString());
@@ -333,6 +339,7 @@ public class AccountsLogic {
             account.isInstructor = true;
             try {
                 accountsDb.updateAccount(account);
+                UserRolesCache.invalidate(googleId);
             } catch (InvalidParametersException | EntityDoesNotExistException e) {
                 Assumption.fail("Invalid account data detected unexpectedly "
                                 + "while adding instruction privileges to account :" + account.toString());
@@ -344,6 +351,7 @@ public class AccountsLogic {
         InstructorsLogic.inst().deleteInstructorsForGoogleIdAndCascade(googleId);
         StudentsLogic.inst().deleteStudentsForGoogleIdAndCascade(googleId);
         accountsDb.deleteAccount(googleId);
+        UserRolesCache.invalidate(googleId);
         //TODO: deal with orphan courses, submissions etc.
     }
     
@@ -367,6 +375,10 @@ public class AccountsLogic {
         return profilesDb.getStudentProfile(googleId);
     }
 
+    public Map<String, StudentProfileAttributes> getStudentProfiles(Collection<String> googleIds) {
+        return profilesDb.getStudentProfiles(googleIds);
+    }
+
     public void updateStudentProfile(StudentProfileAttributes newStudentProfileAttributes)
             throws InvalidParametersException, EntityDoesNotExistException {
         profilesDb.updateStudentProfile(newStudentProfileAttributes);
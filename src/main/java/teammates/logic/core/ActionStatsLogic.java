@@ -0,0 +1,128 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.ActionMetrics;
+import teammates.common.util.ActionStats;
+import teammates.common.util.Utils;
+import teammates.storage.api.ActionStatsDb;
+
+/**
+ * Handles the logic related to the latencies and response sizes of actions, recorded per instance
+ * in {@link ActionMetrics} and kept in the datastore periodically.
+ */
+public class ActionStatsLogic {
+
+    /** How often the stats recorded by an instance are kept in the datastore */
+    public static final long FLUSH_INTERVAL_MILLIS = 5 * 60 * 1000;
+
+    /** How long the stats are kept in the datastore, which is the longest window the admin can view */
+    public static final long RETENTION_PERIOD_MILLIS = 7 * 24 * 60 * 60 * 1000L;
+
+    private static final Logger log = Utils.getLogger();
+
+    private static final AtomicLong lastFlushTime = new AtomicLong(System.currentTimeMillis());
+
+    private static ActionStatsLogic instance;
+    private static final ActionStatsDb actionStatsDb = new ActionStatsDb();
+
+    private static final Comparator<ActionStats> BY_ACTION_AND_RESULT_TYPE = new Comparator<ActionStats>() {
+        @Override
+        public int compare(ActionStats stats1, ActionStats stats2) {
+            return stats1.getKey().compareTo(stats2.getKey());
+        }
+    };
+
+    public static ActionStatsLogic inst() {
+        if (instance == null) {
+            instance = new ActionStatsLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * Keeps the stats recorded by this instance in the datastore if the last time it was done is
+     * at least {@link #FLUSH_INTERVAL_MILLIS} before {@code now}. Only one of the requests running
+     * at the same time does so. Stats which cannot be kept are added back, to be kept the next time.
+     * @return true if the stats were kept in the datastore
+     */
+    public boolean flushActionStatsIfDue(long now) {
+        long lastFlush = lastFlushTime.get();
+        if (now - lastFlush < FLUSH_INTERVAL_MILLIS || !lastFlushTime.compareAndSet(lastFlush, now)) {
+            return false;
+        }
+
+        List<ActionStats> drainedStats = ActionMetrics.drainAllStats();
+        if (drainedStats.isEmpty()) {
+            return false;
+        }
+        try {
+            actionStatsDb.createActionStats(drainedStats, now);
+            return true;
+        } catch (Exception e) {
+            log.warning("Error while keeping action stats: " + TeammatesException.toStringWithStackTrace(e));
+            for (ActionStats stats : drainedStats) {
+                ActionMetrics.add(stats);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @param isIncludingUnflushedStats whether to include the requests served by this instance which are
+     *         not kept in the datastore yet, for when {@code endTime} is now
+     * @return the stats of the requests served by all instances between {@code startTime} and {@code endTime},
+     *         one for each action and result type, ordered by action and result type
+     */
+    public List<ActionStats> getActionStats(long startTime, long endTime, boolean isIncludingUnflushedStats) {
+        Map<String, ActionStats> combinedStats = new LinkedHashMap<String, ActionStats>();
+        for (ActionStats stats : actionStatsDb.getActionStats(startTime, endTime)) {
+            addToCombinedStats(combinedStats, stats);
+        }
+        if (isIncludingUnflushedStats) {
+            for (ActionStats stats : ActionMetrics.getAllStats()) {
+                if (stats.getCount() > 0) {
+                    addToCombinedStats(combinedStats, stats);
+                }
+            }
+        }
+
+        List<ActionStats> statsList = new ArrayList<ActionStats>(combinedStats.values());
+        Collections.sort(statsList, BY_ACTION_AND_RESULT_TYPE);
+        return statsList;
+    }
+
+    private static void addToCombinedStats(Map<String, ActionStats> combinedStats, ActionStats stats) {
+        ActionStats combined = combinedStats.get(stats.getKey());
+        if (combined == null) {
+            combined = new ActionStats(stats.getActionName(), stats.getResultType());
+            combinedStats.put(stats.getKey(), combined);
+        }
+        combined.add(stats);
+    }
+
+    /**
+     * Deletes the stats kept in the datastore of the periods ending before {@code time}.
+     * @return the number of periods deleted
+     */
+    public int deleteActionStatsOlderThan(long time) {
+        return actionStatsDb.deleteActionStatsOlderThan(time);
+    }
+
+    /**
+     * Deletes the stats kept in the datastore which are older than {@link #RETENTION_PERIOD_MILLIS}.
+     * @return the number of periods deleted
+     */
+    public int deleteActionStatsOutsideRetentionPeriod() {
+        return deleteActionStatsOlderThan(System.currentTimeMillis() - RETENTION_PERIOD_MILLIS);
+    }
+
+}
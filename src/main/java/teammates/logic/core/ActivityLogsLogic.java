@@ -0,0 +1,78 @@
+package teammates.logic.core;
+
+import java.util.List;
+
+import teammates.common.util.ActivityLogRecord;
+import teammates.common.util.ActivityLogStoreQuery;
+import teammates.common.util.Assumption;
+import teammates.common.util.Config;
+import teammates.storage.api.ActivityLogStore;
+import teammates.storage.api.ActivityLogStores;
+
+/**
+ * Handles the logic related to the activity logs kept in the configured {@link ActivityLogStore}.
+ * If no store is configured, the activity logs are only in the GAE logs and the methods here do nothing.
+ */
+public class ActivityLogsLogic {
+
+    private static final long MILLISECONDS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static ActivityLogsLogic instance;
+
+    public static ActivityLogsLogic inst() {
+        if (instance == null) {
+            instance = new ActivityLogsLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * @return true if the activity logs are kept in a store, so they can be queried with
+     *         {@link #getActivityLogs(ActivityLogStoreQuery)}
+     */
+    public boolean isActivityLogStoreEnabled() {
+        return getStore() != null;
+    }
+
+    /**
+     * Stores an activity log line written at {@code time} by the current version of the app.
+     * @param courseId the course the request was about, or null if it was not about a course
+     */
+    public void appendActivityLog(long time, String logMessage, String courseId) {
+        Assumption.assertNotNull(logMessage);
+        ActivityLogStore store = getStore();
+        if (store != null) {
+            store.append(new ActivityLogRecord(time, logMessage, courseId, Config.getAppVersion()));
+        }
+    }
+
+    /**
+     * @return the stored activity logs matching {@code query}, newest first
+     */
+    public List<ActivityLogRecord> getActivityLogs(ActivityLogStoreQuery query) {
+        Assumption.assertNotNull(query);
+        ActivityLogStore store = getStore();
+        Assumption.assertNotNull("No activity log store is configured", store);
+        return store.query(query);
+    }
+
+    /**
+     * Removes the stored activity logs older than {@code retentionDays} days before {@code now},
+     * then compacts the store.
+     * @return the number of activity logs removed
+     */
+    public int deleteActivityLogsOutsideRetentionPeriod(long now, int retentionDays) {
+        ActivityLogStore store = getStore();
+        if (store == null) {
+            return 0;
+        }
+        int numberOfLogsDeleted = store.deleteOlderThan(now - retentionDays * MILLISECONDS_PER_DAY);
+        store.compact();
+        return numberOfLogsDeleted;
+    }
+
+    private ActivityLogStore getStore() {
+        return ActivityLogStores.getConfiguredStore();
+    }
+
+}
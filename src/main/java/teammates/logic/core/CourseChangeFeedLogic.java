@@ -0,0 +1,49 @@
+package teammates.logic.core;
+
+import teammates.common.datatransfer.CourseChangeFeedPage;
+import teammates.storage.api.CourseChangeFeedDb;
+
+/**
+ * Handles the logic related to the course change feed, which records which courses were modified when
+ * so that consumers such as the offline backup can find them without scanning the application logs.
+ */
+public class CourseChangeFeedLogic {
+
+    /** Number of feed entries read for a page of the feed */
+    public static final int PAGE_SIZE = 1000;
+
+    /** How long the feed entries are kept, which is the longest window the feed can be read for */
+    public static final long RETENTION_PERIOD_MILLIS = 30 * 24 * 60 * 60 * 1000L;
+
+    private static CourseChangeFeedLogic instance;
+    private static final CourseChangeFeedDb courseChangeFeedDb = new CourseChangeFeedDb();
+
+    public static CourseChangeFeedLogic inst() {
+        if (instance == null) {
+            instance = new CourseChangeFeedLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * Windows are widened to whole time buckets of {@link CourseChangeFeedDb#TIME_BUCKET_MILLIS},
+     * so a course modified near either end of the window may be included even if modified just outside it.
+     * @param cursor the cursor given with the previous page, or null for the first page
+     * @return a page of the courses modified between {@code startTime} and {@code endTime}
+     */
+    public CourseChangeFeedPage getModifiedCourses(long startTime, long endTime, String cursor) {
+        return courseChangeFeedDb.getCourseModifications(startTime, endTime, cursor, PAGE_SIZE);
+    }
+
+    /**
+     * Deletes the feed entries older than {@link #RETENTION_PERIOD_MILLIS}.
+     * @return the number of entries deleted
+     */
+    public int deleteCourseModificationsOutsideRetentionPeriod() {
+        int numberOfEntriesDeleted =
+                courseChangeFeedDb.deleteCourseModificationsBefore(System.currentTimeMillis() - RETENTION_PERIOD_MILLIS);
+        courseChangeFeedDb.clearRecordedTimeBuckets();
+        return numberOfEntriesDeleted;
+    }
+
+}
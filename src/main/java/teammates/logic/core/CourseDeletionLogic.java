@@ -0,0 +1,182 @@
+package teammates.logic.core;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.BatchDeletionResult;
+import teammates.common.datatransfer.CourseDeletionProgress;
+import teammates.common.datatransfer.CourseDeletionProgress.Stage;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.common.util.Utils;
+import teammates.storage.api.CommentsDb;
+import teammates.storage.api.CourseDeletionJobsDb;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.FeedbackQuestionStatisticsDb;
+import teammates.storage.api.FeedbackQuestionsDb;
+import teammates.storage.api.FeedbackResponseCommentsDb;
+import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.api.FeedbackSessionsDb;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+
+/**
+ * Handles the deletion of courses a batch of entities at a time, so that a course of any size
+ * can be deleted by task queue tasks within their deadlines and without holding all its entities in memory.<br>
+ * The progress of the deletion is kept as a checkpoint after every batch, so that a task which fails
+ * or runs out of time is resumed from where it stopped.<br>
+ * The checkpoint is kept from the start of the deletion to its end, marking the course as being deleted:
+ * the course is hidden from its students and no longer accessible, and its ID cannot be used for a new course
+ * until the deletion ends.
+ */
+public class CourseDeletionLogic {
+
+    /** Number of entities deleted at a time */
+    public static final int BATCH_SIZE = 500;
+
+    /** How long a task deletes batches for before leaving the rest to a new task, well within the task deadline */
+    public static final long TASK_TIME_BUDGET_MILLIS = 60 * 1000;
+
+    private static final Logger log = Utils.getLogger();
+
+    private static CourseDeletionLogic instance;
+
+    private static final CourseDeletionJobsDb courseDeletionJobsDb = new CourseDeletionJobsDb();
+    private static final InstructorsDb instructorsDb = new InstructorsDb();
+    private static final StudentsDb studentsDb = new StudentsDb();
+    private static final CommentsDb commentsDb = new CommentsDb();
+    private static final FeedbackResponseCommentsDb frcDb = new FeedbackResponseCommentsDb();
+    private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+    private static final FeedbackQuestionStatisticsDb fqStatisticsDb = new FeedbackQuestionStatisticsDb();
+    private static final FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
+    private static final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private static final CoursesDb coursesDb = new CoursesDb();
+
+    public static CourseDeletionLogic inst() {
+        if (instance == null) {
+            instance = new CourseDeletionLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * Marks the course as being deleted and deletes its instructors, so that it is gone from their pages,
+     * then leaves the rest of the course to be deleted by task queue tasks.
+     */
+    public void scheduleCourseDeletion(String courseId) {
+        Assumption.assertNotNull(courseId);
+
+        CourseDeletionProgress progress = courseDeletionJobsDb.createJob(courseId);
+        while (progress.getStage() == Stage.INSTRUCTORS) {
+            deleteNextBatch(progress);
+        }
+        scheduleCourseDeletionTask(courseId);
+    }
+
+    /**
+     * Deletes the course and all data related to the course in the request calling it.
+     * Suitable for small courses only, e.g. those created for testing.
+     */
+    public void deleteCourseNow(String courseId) {
+        Assumption.assertNotNull(courseId);
+
+        courseDeletionJobsDb.createJob(courseId);
+        deleteCourseInBatches(courseId, Long.MAX_VALUE);
+    }
+
+    /**
+     * Deletes batches of the entities of the course being deleted until all are deleted
+     * or until {@code deadline}, resuming from the checkpoint of the deletion.
+     * At least one batch is deleted.
+     * @param deadline in milliseconds since the epoch
+     * @return true if the course is fully deleted, or was not being deleted
+     */
+    public boolean deleteCourseInBatches(String courseId, long deadline) {
+        CourseDeletionProgress progress = courseDeletionJobsDb.getProgress(courseId);
+        if (progress == null) {
+            return true;
+        }
+        do {
+            deleteNextBatch(progress);
+            if (progress.isDone()) {
+                courseDeletionJobsDb.deleteJob(courseId);
+                return true;
+            }
+        } while (System.currentTimeMillis() < deadline);
+
+        log.info(progress.toString());
+        return false;
+    }
+
+    /**
+     * Adds a task to continue deleting the course with {@code courseId}.
+     */
+    public void scheduleCourseDeletionTask(String courseId) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.COURSE_ID, courseId);
+        TaskQueuesLogic.inst().createAndAddTask(SystemParams.COURSE_DELETION_TASK_QUEUE,
+                                                Const.ActionURIs.COURSE_DELETION_WORKER, paramMap);
+    }
+
+    /**
+     * @return the progress of the deletion of the course, or null if the course is not being deleted
+     */
+    public CourseDeletionProgress getCourseDeletionProgress(String courseId) {
+        return courseDeletionJobsDb.getProgress(courseId);
+    }
+
+    public boolean isCourseBeingDeleted(String courseId) {
+        return getCourseDeletionProgress(courseId) != null;
+    }
+
+    /**
+     * @return the IDs of the courses among {@code courseIds} which are being deleted,
+     *         looked up together instead of one at a time
+     */
+    public Set<String> getCourseIdsBeingDeleted(List<String> courseIds) {
+        return courseDeletionJobsDb.getCourseIdsBeingDeleted(courseIds);
+    }
+
+    private void deleteNextBatch(CourseDeletionProgress progress) {
+        BatchDeletionResult result = deleteBatch(progress.getStage(), progress.getCourseId());
+        progress.recordBatch(result.getNumberOfEntitiesDeleted(), result.isLastBatch(), new Date());
+        courseDeletionJobsDb.saveProgress(progress);
+    }
+
+    /**
+     * Deletes a batch of up to {@link #BATCH_SIZE} entities of {@code stage}. The stage is done only when the query
+     * of the batch finds fewer entities than that, as it may still return entities deleted by an earlier batch.
+     */
+    private BatchDeletionResult deleteBatch(Stage stage, String courseId) {
+        switch (stage) {
+        case INSTRUCTORS:
+            return instructorsDb.deleteInstructorsForCourseInBatch(courseId, BATCH_SIZE);
+        case STUDENTS:
+            return studentsDb.deleteStudentsForCourseInBatch(courseId, BATCH_SIZE);
+        case COMMENTS:
+            return commentsDb.deleteCommentsForCourseInBatch(courseId, BATCH_SIZE);
+        case RESPONSE_COMMENTS:
+            return frcDb.deleteFeedbackResponseCommentsForCourseInBatch(courseId, BATCH_SIZE);
+        case RESPONSES:
+            return frDb.deleteFeedbackResponsesForCourseInBatch(courseId, BATCH_SIZE);
+        case QUESTION_STATISTICS:
+            return fqStatisticsDb.deleteAggregatesForCourseInBatch(courseId, BATCH_SIZE);
+        case QUESTIONS:
+            return fqDb.deleteFeedbackQuestionsForCourseInBatch(courseId, BATCH_SIZE);
+        case SESSIONS:
+            return fsDb.deleteFeedbackSessionsForCourseInBatch(courseId, BATCH_SIZE);
+        case COURSE:
+            coursesDb.deleteCourse(courseId);
+            return new BatchDeletionResult(1, true);
+        default:
+            return new BatchDeletionResult(0, true);
+        }
+    }
+
+}
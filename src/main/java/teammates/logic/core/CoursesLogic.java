@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.AccountAttributes;
@@ -25,10 +26,12 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
+import teammates.common.util.CompiledRegex;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
+import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 import teammates.storage.api.CoursesDb;
 
@@ -47,6 +50,12 @@ public class CoursesLogic {
     
     private static final Logger log = Utils.getLogger();
     
+    private static final String ERROR_COURSE_BEING_DELETED =
+            "The course %s is still being deleted. Its ID can be used again once the deletion is complete.";
+    
+    private static final CompiledRegex REGEX_SAMPLE_COURSE_ID =
+            CompiledRegex.compile(FieldValidator.REGEX_SAMPLE_COURSE_ID);
+    
     /* Explanation: This class depends on CoursesDb class but no other *Db classes.
      * That is because reading/writing entities from/to the datastore is the
      * responsibility of the matching *Logic class.
@@ -61,7 +70,6 @@ public class CoursesLogic {
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
     private static final AccountsLogic accountsLogic = AccountsLogic.inst();
     private static final FeedbackSessionsLogic feedbackSessionsLogic = FeedbackSessionsLogic.inst();
-    private static final CommentsLogic commentsLogic = CommentsLogic.inst();
 
     public static CoursesLogic inst() {
         if (instance == null) {
@@ -73,6 +81,9 @@ public class CoursesLogic {
     public void createCourse(String courseId, String courseName, String courseTimeZone)
             throws InvalidParametersException, EntityAlreadyExistsException {
         
+        if (CourseDeletionLogic.inst().isCourseBeingDeleted(courseId)) {
+            throw new EntityAlreadyExistsException(String.format(ERROR_COURSE_BEING_DELETED, courseId));
+        }
         CourseAttributes courseToAdd = new CourseAttributes(courseId, courseName, courseTimeZone);
         coursesDb.createEntity(courseToAdd);
     }
@@ -142,7 +153,7 @@ public class CoursesLogic {
      */
     public boolean isSampleCourse(String courseId) {
         Assumption.assertNotNull("Course ID is null", courseId);
-        return StringHelper.isMatching(courseId, FieldValidator.REGEX_SAMPLE_COURSE_ID);
+        return StringHelper.isMatching(courseId, REGEX_SAMPLE_COURSE_ID);
     }
 
     /**
@@ -580,6 +591,18 @@ public class CoursesLogic {
         }
         List<CourseAttributes> courseList = coursesDb.getCourses(courseIds);
         
+        // courses being deleted are hidden from their students until their students are deleted too
+        Set<String> courseIdsBeingDeleted = CourseDeletionLogic.inst().getCourseIdsBeingDeleted(courseIds);
+        if (!courseIdsBeingDeleted.isEmpty()) {
+            List<CourseAttributes> coursesNotBeingDeleted = new ArrayList<CourseAttributes>();
+            for (CourseAttributes course : courseList) {
+                if (!courseIdsBeingDeleted.contains(course.getId())) {
+                    coursesNotBeingDeleted.add(course);
+                }
+            }
+            courseList = coursesNotBeingDeleted;
+        }
+        
         return courseList;
     }
 
@@ -675,8 +698,20 @@ public class CoursesLogic {
             log.severe("Course(s) was deleted but the instructor still exists: " + Const.EOL + courseIdList.toString());
         }
         
-        for (CourseAttributes ca : courseList) {
-            courseSummaryList.put(ca.getId(), getCourseSummary(ca));
+        // each summary needs its own student query, so the summaries are computed in parallel
+        List<Callable<CourseDetailsBundle>> summaryTasks = new ArrayList<Callable<CourseDetailsBundle>>();
+        for (final CourseAttributes ca : courseList) {
+            summaryTasks.add(new Callable<CourseDetailsBundle>() {
+                @Override
+                public CourseDetailsBundle call() {
+                    return getCourseSummary(ca);
+                }
+            });
+        }
+        
+        for (CourseDetailsBundle cdd : ThreadHelper.runInParallel(summaryTasks,
+                                                                  Const.SystemParams.MAX_PARALLEL_TASKS_PER_REQUEST)) {
+            courseSummaryList.put(cdd.course.getId(), cdd);
         }
         
         return courseSummaryList;
@@ -779,11 +814,15 @@ public class CoursesLogic {
      * This will also cascade the data in other databases which are related to this course
      */
     public void deleteCourseCascade(String courseId) {
-        studentsLogic.deleteStudentsForCourse(courseId);
-        instructorsLogic.deleteInstructorsForCourse(courseId);
-        commentsLogic.deleteCommentsForCourse(courseId);
-        feedbackSessionsLogic.deleteFeedbackSessionsForCourseCascade(courseId);
-        coursesDb.deleteCourse(courseId);
+        CourseDeletionLogic.inst().deleteCourseNow(courseId);
+    }
+    
+    /**
+     * Deletes the instructors of the course at once, and the rest of the course and all data
+     * related to it in task queue tasks, a batch at a time.
+     */
+    public void scheduleCourseDeletionCascade(String courseId) {
+        CourseDeletionLogic.inst().scheduleCourseDeletion(courseId);
     }
     
     private HashMap<String, CourseSummaryBundle> getCourseSummaryWithoutStatsForInstructor(
@@ -6,8 +6,6 @@ import java.util.List;
 import java.util.Set;
 import java.util.logging.Logger;
 
-import com.google.appengine.api.log.AppLogLine;
-
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
@@ -15,12 +13,14 @@ import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.UserType;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.TeammatesException;
+import teammates.common.util.CompiledTemplate;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
+import teammates.common.util.EmailBodyTemplate;
 import teammates.common.util.EmailType;
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.ErrorLogGroup;
 import teammates.common.util.StringHelper;
-import teammates.common.util.Templates;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.Templates.EmailTemplates;
 import teammates.common.util.Utils;
@@ -40,12 +40,38 @@ public class EmailGenerator {
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
     
+    /*
+     * Templates are compiled once, as the same template is populated for every recipient.
+     * Fragments and texts that do not depend on the recipient are filled in before compiling.
+     * Templates of emails sent to a whole course are in EmailBodyTemplate instead, as such
+     * emails are only populated when they are sent.
+     */
+    private static final CompiledTemplate FEEDBACK_SUBMISSION_CONFIRMATION =
+            CompiledTemplate.compile(EmailTemplates.USER_FEEDBACK_SUBMISSION_CONFIRMATION);
+    private static final CompiledTemplate PENDING_COMMENTS_CLEARED = CompiledTemplate.compile(
+            EmailTemplates.USER_PENDING_COMMENTS_CLEARED.replace("${joinFragment}", ""));
+    private static final CompiledTemplate PENDING_COMMENTS_CLEARED_WITH_STUDENT_JOIN = CompiledTemplate.compile(
+            EmailTemplates.USER_PENDING_COMMENTS_CLEARED.replace("${joinFragment}",
+                                                                 EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN));
+    private static final CompiledTemplate STUDENT_COURSE_JOIN = CompiledTemplate.compile(
+            EmailTemplates.USER_COURSE_JOIN.replace("${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN));
+    private static final CompiledTemplate STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET = CompiledTemplate.compile(
+            EmailTemplates.USER_COURSE_JOIN.replace("${joinFragment}",
+                                                    EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET));
+    private static final CompiledTemplate INSTRUCTOR_COURSE_JOIN = CompiledTemplate.compile(
+            EmailTemplates.USER_COURSE_JOIN.replace("${joinFragment}", EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN));
+    private static final CompiledTemplate NEW_INSTRUCTOR_ACCOUNT_WELCOME =
+            CompiledTemplate.compile(EmailTemplates.NEW_INSTRUCTOR_ACCOUNT_WELCOME);
+    private static final CompiledTemplate SYSTEM_ERROR = CompiledTemplate.compile(EmailTemplates.SYSTEM_ERROR);
+    private static final CompiledTemplate SEVERE_ERROR_LOG_LINE =
+            CompiledTemplate.compile(EmailTemplates.SEVERE_ERROR_LOG_LINE);
+    
     /**
      * Generates the feedback session opening emails for the given {@code session}.
      */
     public List<EmailWrapper> generateFeedbackSessionOpeningEmails(FeedbackSessionAttributes session) {
         
-        String template = EmailTemplates.USER_FEEDBACK_SESSION;
+        EmailBodyTemplate template = EmailBodyTemplate.FEEDBACK_SESSION_OPENING;
         
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
         boolean isEmailNeeded = fsLogic.isFeedbackSessionForStudentsToAnswer(session);
@@ -56,12 +82,8 @@ public class EmailGenerator {
                                            ? studentsLogic.getStudentsForCourse(session.getCourseId())
                                            : new ArrayList<StudentAttributes>();
         
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_OPENING.getSubject());
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is now open"));
-        }
-        return emails;
+        return generateFeedbackSessionEmailBases(course, session, students, instructors, template,
+                                                 EmailType.FEEDBACK_OPENING.getSubject());
     }
     
     /**
@@ -73,16 +95,12 @@ public class EmailGenerator {
             List<InstructorAttributes> instructorsToRemind, List<InstructorAttributes> instructorsToNotify) {
         
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
-        String template = EmailTemplates.USER_FEEDBACK_SESSION;
+        EmailBodyTemplate template = EmailBodyTemplate.FEEDBACK_SESSION_REMINDER;
         List<EmailWrapper> emails =
                 generateFeedbackSessionEmailBasesForInstructorReminders(course, session, instructorsToRemind, template,
                                                                         EmailType.FEEDBACK_SESSION_REMINDER.getSubject());
         emails.addAll(generateFeedbackSessionEmailBases(course, session, students, instructorsToNotify, template,
                                                         EmailType.FEEDBACK_SESSION_REMINDER.getSubject()));
-        
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is still open for submissions"));
-        }
         return emails;
     }
     
@@ -119,7 +137,7 @@ public class EmailGenerator {
     
     private List<EmailWrapper> generateFeedbackSessionEmailBasesForInstructorReminders(
             CourseAttributes course, FeedbackSessionAttributes session, List<InstructorAttributes> instructors,
-            String template, String subject) {
+            EmailBodyTemplate template, String subject) {
         
         List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
         for (InstructorAttributes instructor : instructors) {
@@ -132,10 +150,9 @@ public class EmailGenerator {
     private EmailWrapper generateSubmissionConfirmationEmail(
             CourseAttributes course, FeedbackSessionAttributes session, String submitUrl,
             String userName, String userEmail, String timeStamp) {
-        String template = EmailTemplates.USER_FEEDBACK_SUBMISSION_CONFIRMATION;
         String subject = EmailType.FEEDBACK_SUBMISSION_CONFIRMATION.getSubject();
         
-        String emailBody = Templates.populateTemplate(template,
+        String emailBody = FEEDBACK_SUBMISSION_CONFIRMATION.render(
                 "${userName}", userName,
                 "${courseName}", course.getName(),
                 "${courseId}", course.getId(),
@@ -154,7 +171,7 @@ public class EmailGenerator {
     
     private EmailWrapper generateFeedbackSessionEmailBaseForInstructorReminders(
             CourseAttributes course, FeedbackSessionAttributes session, InstructorAttributes instructor,
-            String template, String subject) {
+            EmailBodyTemplate template, String subject) {
         
         String submitUrl = Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_FEEDBACK_SUBMISSION_EDIT_PAGE)
                                  .withCourseId(course.getId())
@@ -166,7 +183,9 @@ public class EmailGenerator {
                                  .withSessionName(session.getFeedbackSessionName())
                                  .toAbsoluteString();
         
-        String emailBody = Templates.populateTemplate(template,
+        EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
+        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
+        email.setContentFromTemplate(template,
                 "${userName}", instructor.name,
                 "${courseName}", course.getName(),
                 "${courseId}", course.getId(),
@@ -176,10 +195,6 @@ public class EmailGenerator {
                 "${submitUrl}", submitUrl,
                 "${reportUrl}", reportUrl,
                 "${supportEmail}", Config.SUPPORT_EMAIL);
-        
-        EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
-        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
-        email.setContent(emailBody);
         return email;
     }
     
@@ -210,18 +225,14 @@ public class EmailGenerator {
             }
         }
         
-        String template = EmailTemplates.USER_FEEDBACK_SESSION_CLOSING;
+        EmailBodyTemplate template = EmailBodyTemplate.FEEDBACK_SESSION_CLOSING;
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
         List<InstructorAttributes> instructors = isEmailNeeded
                                                  ? instructorsLogic.getInstructorsForCourse(session.getCourseId())
                                                  : new ArrayList<InstructorAttributes>();
         
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_CLOSING.getSubject());
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is closing soon"));
-        }
-        return emails;
+        return generateFeedbackSessionEmailBases(course, session, students, instructors, template,
+                                                 EmailType.FEEDBACK_CLOSING.getSubject());
     }
     
     /**
@@ -255,7 +266,7 @@ public class EmailGenerator {
      */
     public List<EmailWrapper> generateFeedbackSessionPublishedEmails(FeedbackSessionAttributes session) {
         
-        String template = EmailTemplates.USER_FEEDBACK_SESSION_PUBLISHED;
+        EmailBodyTemplate template = EmailBodyTemplate.FEEDBACK_SESSION_PUBLISHED;
         
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
         boolean isEmailNeeded = fsLogic.isFeedbackSessionViewableToStudents(session);
@@ -276,7 +287,7 @@ public class EmailGenerator {
      */
     public List<EmailWrapper> generateFeedbackSessionUnpublishedEmails(FeedbackSessionAttributes session) {
         
-        String template = EmailTemplates.USER_FEEDBACK_SESSION_UNPUBLISHED;
+        EmailBodyTemplate template = EmailBodyTemplate.FEEDBACK_SESSION_UNPUBLISHED;
         
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
         boolean isEmailNeeded = fsLogic.isFeedbackSessionViewableToStudents(session);
@@ -294,7 +305,7 @@ public class EmailGenerator {
     
     private List<EmailWrapper> generateFeedbackSessionEmailBases(
             CourseAttributes course, FeedbackSessionAttributes session, List<StudentAttributes> students,
-            List<InstructorAttributes> instructors, String template, String subject) {
+            List<InstructorAttributes> instructors, EmailBodyTemplate template, String subject) {
         
         List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
         for (StudentAttributes student : students) {
@@ -307,8 +318,8 @@ public class EmailGenerator {
     }
     
     private EmailWrapper generateFeedbackSessionEmailBaseForStudents(
-            CourseAttributes course, FeedbackSessionAttributes session, StudentAttributes student, String template,
-            String subject) {
+            CourseAttributes course, FeedbackSessionAttributes session, StudentAttributes student,
+            EmailBodyTemplate template, String subject) {
         
         String submitUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE)
                                  .withCourseId(course.getId())
@@ -324,7 +335,9 @@ public class EmailGenerator {
                                  .withStudentEmail(student.email)
                                  .toAbsoluteString();
         
-        String emailBody = Templates.populateTemplate(template,
+        EmailWrapper email = getEmptyEmailAddressedToEmail(student.email);
+        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
+        email.setContentFromTemplate(template,
                 "${userName}", student.name,
                 "${courseName}", course.getName(),
                 "${courseId}", course.getId(),
@@ -334,18 +347,16 @@ public class EmailGenerator {
                 "${submitUrl}", submitUrl,
                 "${reportUrl}", reportUrl,
                 "${supportEmail}", Config.SUPPORT_EMAIL);
-        
-        EmailWrapper email = getEmptyEmailAddressedToEmail(student.email);
-        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
-        email.setContent(emailBody);
         return email;
     }
     
     private EmailWrapper generateFeedbackSessionEmailBaseForInstructors(
             CourseAttributes course, FeedbackSessionAttributes session, InstructorAttributes instructor,
-            String template, String subject) {
+            EmailBodyTemplate template, String subject) {
         
-        String emailBody = Templates.populateTemplate(template,
+        EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
+        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
+        email.setContentFromTemplate(template,
                 "${userName}", instructor.name,
                 "${courseName}", course.getName(),
                 "${courseId}", course.getId(),
@@ -357,10 +368,6 @@ public class EmailGenerator {
                 "${submitUrl}", "{in the actual email sent to the students, this will be the unique link}",
                 "${reportUrl}", "{in the actual email sent to the students, this will be the unique link}",
                 "${supportEmail}", Config.SUPPORT_EMAIL);
-        
-        EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
-        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
-        email.setContent(emailBody);
         return email;
     }
     
@@ -382,20 +389,17 @@ public class EmailGenerator {
     
     private EmailWrapper generateFeedbackSessionClosedEmail(CourseAttributes course,
             FeedbackSessionAttributes session, String userName, String userEmail) {
-        String template = EmailTemplates.USER_FEEDBACK_SESSION_CLOSED;
         String subject = EmailType.FEEDBACK_CLOSED.getSubject();
 
-        String emailBody = Templates.populateTemplate(template,
+        EmailWrapper email = getEmptyEmailAddressedToEmail(userEmail);
+        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
+        email.setContentFromTemplate(EmailBodyTemplate.FEEDBACK_SESSION_CLOSED,
                 "${userName}", userName,
                 "${courseName}", course.getName(),
                 "${courseId}", course.getId(),
                 "${feedbackSessionName}", session.getFeedbackSessionName(),
                 "${deadline}", TimeHelper.formatTime12H(session.getEndTime()),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
-
-        EmailWrapper email = getEmptyEmailAddressedToEmail(userEmail);
-        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
-        email.setContent(emailBody);
         return email;
     }
     
@@ -414,29 +418,30 @@ public class EmailGenerator {
         
         List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
         CourseAttributes course = coursesLogic.getCourse(courseId);
-        String template = EmailTemplates.USER_PENDING_COMMENTS_CLEARED;
         
         for (String recipientEmail : recipients) {
             StudentAttributes student = studentsLogic.getStudentForEmail(courseId, recipientEmail);
             if (student == null) {
                 continue;
             }
-            EmailWrapper email = generatePendingCommentsClearedEmailBaseForStudent(course, student, template);
+            EmailWrapper email = generatePendingCommentsClearedEmailBaseForStudent(course, student);
             emails.add(email);
         }
         return emails;
     }
     
     private EmailWrapper generatePendingCommentsClearedEmailBaseForStudent(
-            CourseAttributes course, StudentAttributes student, String template) {
+            CourseAttributes course, StudentAttributes student) {
         
         String commentsPageUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_COMMENTS_PAGE)
                                        .withCourseId(course.getId())
                                        .toAbsoluteString();
         
-        String emailBody = Templates.populateTemplate(
-                isYetToJoinCourse(student) ? fillUpStudentJoinFragment(student, template)
-                                           : template.replace("${joinFragment}", ""),
+        boolean isYetToJoinCourse = isYetToJoinCourse(student);
+        CompiledTemplate template = isYetToJoinCourse ? PENDING_COMMENTS_CLEARED_WITH_STUDENT_JOIN
+                                                      : PENDING_COMMENTS_CLEARED;
+        String emailBody = template.render(
+                "${joinUrl}", isYetToJoinCourse ? getStudentJoinUrl(student) : "",
                 "${userName}", student.name,
                 "${courseName}", course.getName(),
                 "${courseId}", course.getId(),
@@ -462,7 +467,7 @@ public class EmailGenerator {
         
         String joinUrl = generateNewInstructorAccountJoinLink(instructor, institute);
         
-        String emailBody = Templates.populateTemplate(EmailTemplates.NEW_INSTRUCTOR_ACCOUNT_WELCOME,
+        String emailBody = NEW_INSTRUCTOR_ACCOUNT_WELCOME.render(
                 "${userName}", shortName,
                 "${joinUrl}", joinUrl);
         
@@ -488,8 +493,8 @@ public class EmailGenerator {
      */
     public EmailWrapper generateStudentCourseJoinEmail(CourseAttributes course, StudentAttributes student) {
         
-        String emailBody = Templates.populateTemplate(
-                fillUpStudentJoinFragment(student, EmailTemplates.USER_COURSE_JOIN),
+        String emailBody = STUDENT_COURSE_JOIN.render(
+                "${joinUrl}", getStudentJoinUrl(student),
                 "${userName}", student.name,
                 "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
@@ -507,8 +512,8 @@ public class EmailGenerator {
     public EmailWrapper generateStudentCourseRejoinEmailAfterGoogleIdReset(
             CourseAttributes course, StudentAttributes student) {
         
-        String emailBody = Templates.populateTemplate(
-                fillUpStudentRejoinAfterGoogleIdResetFragment(student, EmailTemplates.USER_COURSE_JOIN),
+        String emailBody = STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET.render(
+                "${joinUrl}", getStudentJoinUrl(student),
                 "${userName}", student.name,
                 "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
@@ -525,8 +530,12 @@ public class EmailGenerator {
      */
     public EmailWrapper generateInstructorCourseJoinEmail(CourseAttributes course, InstructorAttributes instructor) {
         
-        String emailBody = Templates.populateTemplate(
-                fillUpInstructorJoinFragment(instructor, EmailTemplates.USER_COURSE_JOIN),
+        String joinUrl = Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_COURSE_JOIN)
+                               .withRegistrationKey(StringHelper.encrypt(instructor.key))
+                               .toAbsoluteString();
+        
+        String emailBody = INSTRUCTOR_COURSE_JOIN.render(
+                "${joinUrl}", joinUrl,
                 "${userName}", instructor.name,
                 "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
@@ -538,31 +547,8 @@ public class EmailGenerator {
         return email;
     }
     
-    private String fillUpStudentJoinFragment(StudentAttributes student, String emailBody) {
-        String joinUrl = Config.getAppUrl(student.getRegistrationUrl()).toAbsoluteString();
-        
-        return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN,
-                "${joinUrl}", joinUrl);
-    }
-    
-    private String fillUpStudentRejoinAfterGoogleIdResetFragment(StudentAttributes student, String emailBody) {
-        String joinUrl = Config.getAppUrl(student.getRegistrationUrl()).toAbsoluteString();
-        
-        return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
-                "${joinUrl}", joinUrl,
-                "${supportEmail}", Config.SUPPORT_EMAIL);
-    }
-    
-    private String fillUpInstructorJoinFragment(InstructorAttributes instructor, String emailBody) {
-        String joinUrl = Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_COURSE_JOIN)
-                               .withRegistrationKey(StringHelper.encrypt(instructor.key))
-                               .toAbsoluteString();
-        
-        return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN,
-                "${joinUrl}", joinUrl);
+    private String getStudentJoinUrl(StudentAttributes student) {
+        return Config.getAppUrl(student.getRegistrationUrl()).toAbsoluteString();
     }
     
     /**
@@ -588,7 +574,7 @@ public class EmailGenerator {
         
         String actualUser = userType == null || userType.id == null ? "Not logged in" : userType.id;
         
-        String emailBody = Templates.populateTemplate(EmailTemplates.SYSTEM_ERROR,
+        String emailBody = SYSTEM_ERROR.render(
                 "${actualUser}", actualUser,
                 "${requestMethod}", requestMethod,
                 "${requestUserAgent}", requestUserAgent,
@@ -605,12 +591,12 @@ public class EmailGenerator {
     }
     
     /**
-     * Generates the logs compilation email for the given {@code logs}.
+     * Generates the logs compilation email for the given {@code logGroups}, one entry per group.
      */
-    public EmailWrapper generateCompiledLogsEmail(List<AppLogLine> logs) {
+    public EmailWrapper generateCompiledLogsEmail(List<ErrorLogGroup> logGroups) {
         StringBuilder emailBody = new StringBuilder();
-        for (int i = 0; i < logs.size(); i++) {
-            emailBody.append(generateSevereErrorLogLine(i, logs.get(i)));
+        for (int i = 0; i < logGroups.size(); i++) {
+            appendSevereErrorLogLine(emailBody, i, logGroups.get(i));
         }
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(Config.SUPPORT_EMAIL);
@@ -619,12 +605,13 @@ public class EmailGenerator {
         return email;
     }
     
-    private String generateSevereErrorLogLine(int index, AppLogLine logLine) {
-        return Templates.populateTemplate(
-                EmailTemplates.SEVERE_ERROR_LOG_LINE,
+    private void appendSevereErrorLogLine(StringBuilder emailBody, int index, ErrorLogGroup logGroup) {
+        SEVERE_ERROR_LOG_LINE.appendTo(emailBody,
                 "${index}", String.valueOf(index),
-                "${errorType}", logLine.getLogLevel().toString(),
-                "${errorMessage}", logLine.getLogMessage().replace("\n", "<br>"));
+                "${errorType}", logGroup.getLogLevel(),
+                "${fingerprint}", logGroup.getFingerprint(),
+                "${count}", String.valueOf(logGroup.getCount()),
+                "${errorMessage}", logGroup.getSampleMessage().replace("\n", "<br>"));
     }
     
     /**
@@ -1,8 +1,12 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import teammates.common.exception.EmailSendingException;
@@ -15,6 +19,9 @@ import teammates.common.util.EmailLogEntry;
 import teammates.common.util.EmailWrapper;
 import teammates.common.util.Utils;
 
+import com.google.appengine.api.taskqueue.QueueConstants;
+import com.google.appengine.api.taskqueue.TaskOptions;
+
 /**
  * Handles operations related to sending emails.
  */
@@ -37,7 +44,13 @@ public class EmailSender {
     }
     
     /**
-     * Sends the given list of {@code messages}.
+     * Sends the given list of {@code messages}.<br>
+     * The emails are added to the task queue in batches, each of which needs only one call
+     * to the task queue service. Emails with templated content are queued with their template
+     * and values only, and populated when they are actually sent.<br>
+     * Such emails are held in a pull queue, from which the send email batch worker drains
+     * up to {@link SystemParams#MAX_EMAILS_PER_SEND_BATCH} at a time, so that the email service
+     * can send them with one call per batch instead of one call per email.
      */
     public void sendEmails(List<EmailWrapper> messages) {
         if (messages.isEmpty()) {
@@ -49,44 +62,144 @@ public class EmailSender {
         int oneHourInMillis = 60 * 60 * 1000;
         int emailIntervalMillis = Math.min(5000, oneHourInMillis / messages.size());
         
+        int batchSize = QueueConstants.maxTasksPerAdd();
+        List<TaskOptions> batch = new ArrayList<TaskOptions>();
+        List<EmailWrapper> messagesInBatch = new ArrayList<EmailWrapper>();
+        List<TaskOptions> pendingBatch = new ArrayList<TaskOptions>();
+        List<EmailWrapper> pendingMessagesInBatch = new ArrayList<EmailWrapper>();
+        
         int numberOfEmailsSent = 0;
+        int numberOfPendingEmails = 0;
         for (EmailWrapper m : messages) {
+            if (m.getContentTemplate() != null) {
+                TaskOptions task = createPendingEmailTask(m);
+                if (task == null) {
+                    continue;
+                }
+                pendingBatch.add(task);
+                pendingMessagesInBatch.add(m);
+                
+                if (pendingBatch.size() == batchSize) {
+                    numberOfPendingEmails += addEmailTasksToTaskQueue(SystemParams.PENDING_EMAIL_TASK_QUEUE,
+                                                                      pendingBatch, pendingMessagesInBatch);
+                    pendingBatch.clear();
+                    pendingMessagesInBatch.clear();
+                }
+                continue;
+            }
+            
             long emailDelayTimer = numberOfEmailsSent * emailIntervalMillis;
-            addEmailToTaskQueue(m, emailDelayTimer);
             numberOfEmailsSent++;
+            
+            TaskOptions task = createSendEmailTask(m, emailDelayTimer);
+            if (task == null) {
+                continue;
+            }
+            batch.add(task);
+            messagesInBatch.add(m);
+            
+            if (batch.size() == batchSize) {
+                addEmailTasksToTaskQueue(SystemParams.SEND_EMAIL_TASK_QUEUE, batch, messagesInBatch);
+                batch.clear();
+                messagesInBatch.clear();
+            }
         }
+        addEmailTasksToTaskQueue(SystemParams.SEND_EMAIL_TASK_QUEUE, batch, messagesInBatch);
+        numberOfPendingEmails += addEmailTasksToTaskQueue(SystemParams.PENDING_EMAIL_TASK_QUEUE,
+                                                          pendingBatch, pendingMessagesInBatch);
+        
+        addSendEmailBatchTasks(numberOfPendingEmails, emailIntervalMillis);
     }
     
-    private void addEmailToTaskQueue(EmailWrapper message, long emailDelayTimer) {
-        String emailSubject = message.getSubject();
+    private Map<String, String[]> getSendEmailTaskParams(EmailWrapper message) {
+        Map<String, String[]> paramMap = new HashMap<String, String[]>();
+        paramMap.put(ParamsNames.EMAIL_SUBJECT, new String[] { message.getSubject() });
+        if (message.getContentTemplate() == null) {
+            paramMap.put(ParamsNames.EMAIL_CONTENT, new String[] { message.getContent() });
+        } else {
+            paramMap.put(ParamsNames.EMAIL_CONTENT_TEMPLATE, new String[] { message.getContentTemplate().name() });
+            paramMap.put(ParamsNames.EMAIL_CONTENT_TEMPLATE_VALUES, message.getContentTemplateValues());
+        }
+        paramMap.put(ParamsNames.EMAIL_SENDER, new String[] { message.getSenderEmail() });
         String emailSenderName = message.getSenderName();
-        String emailSender = message.getSenderEmail();
-        String emailReceiver = message.getRecipient();
-        String emailReplyToAddress = message.getReplyTo();
+        if (emailSenderName != null && !emailSenderName.isEmpty()) {
+            paramMap.put(ParamsNames.EMAIL_SENDERNAME, new String[] { emailSenderName });
+        }
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, new String[] { message.getRecipient() });
+        paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, new String[] { message.getReplyTo() });
+        return paramMap;
+    }
+    
+    private TaskOptions createSendEmailTask(EmailWrapper message, long emailDelayTimer) {
+        try {
+            return TaskQueuesLogic.inst().createDeferredTaskMultisetParam(Const.ActionURIs.SEND_EMAIL_WORKER,
+                                                                          getSendEmailTaskParams(message),
+                                                                          emailDelayTimer);
+        } catch (Exception e) {
+            logSevereForErrorInAddingToTaskQueue(e, message);
+            return null;
+        }
+    }
+    
+    private TaskOptions createPendingEmailTask(EmailWrapper message) {
         try {
-            Map<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.EMAIL_SUBJECT, emailSubject);
-            paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent());
-            paramMap.put(ParamsNames.EMAIL_SENDER, emailSender);
-            if (emailSenderName != null && !emailSenderName.isEmpty()) {
-                paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
+            return TaskQueuesLogic.inst().createPullTaskMultisetParam(getSendEmailTaskParams(message));
+        } catch (Exception e) {
+            logSevereForErrorInAddingToTaskQueue(e, message);
+            return null;
+        }
+    }
+    
+    /**
+     * @return the number of tasks added, which is 0 if the tasks could not be added
+     */
+    private int addEmailTasksToTaskQueue(String queueName, List<TaskOptions> tasks, List<EmailWrapper> messages) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        try {
+            TaskQueuesLogic.inst().addTasks(queueName, tasks);
+            return tasks.size();
+        } catch (Exception e) {
+            for (EmailWrapper message : messages) {
+                logSevereForErrorInAddingToTaskQueue(e, message);
             }
-            paramMap.put(ParamsNames.EMAIL_RECEIVER, emailReceiver);
-            paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, emailReplyToAddress);
-            
-            TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-            taskQueueLogic.createAndAddDeferredTask(SystemParams.SEND_EMAIL_TASK_QUEUE,
-                    Const.ActionURIs.SEND_EMAIL_WORKER, paramMap, emailDelayTimer);
+            return 0;
+        }
+    }
+    
+    /**
+     * Schedules enough runs of the send email batch worker to drain {@code numberOfPendingEmails}
+     * emails from the pull queue, spread out as if the emails were sent one every {@code emailIntervalMillis}.
+     */
+    private void addSendEmailBatchTasks(int numberOfPendingEmails, int emailIntervalMillis) {
+        int emailsPerBatch = SystemParams.MAX_EMAILS_PER_SEND_BATCH;
+        List<TaskOptions> tasks = new ArrayList<TaskOptions>();
+        for (int i = 0; i * emailsPerBatch < numberOfPendingEmails; i++) {
+            long batchDelayTimer = (long) i * emailsPerBatch * emailIntervalMillis;
+            tasks.add(TaskQueuesLogic.inst().createDeferredTaskMultisetParam(
+                    Const.ActionURIs.SEND_EMAIL_BATCH_WORKER, new HashMap<String, String[]>(), batchDelayTimer));
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            TaskQueuesLogic.inst().addTasks(SystemParams.SEND_EMAIL_TASK_QUEUE, tasks);
         } catch (Exception e) {
-            log.severe("Error when adding email to task queue: " + e.getMessage() + "\n"
-                       + "Email sender: " + emailSender + "\n"
-                       + "Email sender name: " + emailSenderName + "\n"
-                       + "Email receiver: " + emailReceiver + "\n"
-                       + "Email subject: " + emailSubject + "\n"
-                       + "Email reply to address: " + emailReplyToAddress);
+            log.severe("Error when scheduling the sending of " + numberOfPendingEmails + " pending emails: "
+                       + TeammatesException.toStringWithStackTrace(e));
         }
     }
     
+    private void logSevereForErrorInAddingToTaskQueue(Exception e, EmailWrapper message) {
+        log.severe("Error when adding email to task queue: " + e.getMessage() + "\n"
+                   + "Email sender: " + message.getSenderEmail() + "\n"
+                   + "Email sender name: " + message.getSenderName() + "\n"
+                   + "Email receiver: " + message.getRecipient() + "\n"
+                   + "Email subject: " + message.getSubject() + "\n"
+                   + "Email reply to address: " + message.getReplyTo());
+    }
+    
     /**
      * Sends the given {@code message} and generates a log report.
      */
@@ -98,6 +211,25 @@ public class EmailSender {
         log.info(emailLogInfo);
     }
     
+    /**
+     * Sends the given {@code messages} with as few calls to the email service as possible,
+     * and generates a log report for each email sent.
+     * @return the emails that failed to send
+     * @see EmailSenderService#sendEmails(List)
+     */
+    public List<EmailWrapper> sendEmailBatch(List<EmailWrapper> messages) {
+        List<EmailWrapper> failedMessages = service.sendEmails(messages);
+        
+        Set<EmailWrapper> failedMessageSet = Collections.newSetFromMap(new IdentityHashMap<EmailWrapper, Boolean>());
+        failedMessageSet.addAll(failedMessages);
+        for (EmailWrapper message : messages) {
+            if (!failedMessageSet.contains(message)) {
+                log.info(new EmailLogEntry(message).generateLogMessage());
+            }
+        }
+        return failedMessages;
+    }
+    
     /**
      * Sends the given {@code message} with Javamail service regardless of configuration.
      */
@@ -1,8 +1,18 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
+import org.jsoup.Jsoup;
+
 import teammates.common.exception.EmailSendingException;
+import teammates.common.exception.TeammatesException;
 import teammates.common.util.EmailWrapper;
 import teammates.common.util.Utils;
 
@@ -15,6 +25,9 @@ public abstract class EmailSenderService {
     
     protected static final Logger log = Utils.getLogger();
     
+    /** Appended to the name of a placeholder in the plain text part of a batch */
+    protected static final String TEXT_KEY_SUFFIX = "Text";
+    
     /**
      * Parses the {@code wrapper} email object to specific implementations of email object
      * used by the service.
@@ -34,8 +47,159 @@ public abstract class EmailSenderService {
         }
     }
     
+    /**
+     * Sends all the given {@code wrappers}, with as few calls to the service as it allows.<br>
+     * Emails populated from the same template, and identical except for their recipient and
+     * the values of the template, are sent together in one call as one message whose template
+     * is populated by the service for each recipient.
+     * Other emails are sent one at a time.
+     * @return the emails that failed to send; the others have been sent.
+     */
+    public List<EmailWrapper> sendEmails(List<EmailWrapper> wrappers) {
+        List<EmailWrapper> failedEmails = new ArrayList<EmailWrapper>();
+        for (List<EmailWrapper> batch : groupIntoBatches(wrappers)) {
+            try {
+                if (batch.size() == 1) {
+                    sendEmailWithService(batch.get(0));
+                } else {
+                    sendEmailBatchWithService(batch);
+                }
+            } catch (Exception e) {
+                log.severe("Failed to send " + batch.size() + " email(s): "
+                           + TeammatesException.toStringWithStackTrace(e));
+                failedEmails.addAll(batch);
+            }
+        }
+        return failedEmails;
+    }
+    
+    /**
+     * Returns the maximum number of recipients the service accepts for one message populated
+     * per recipient. Services that cannot populate a message per recipient keep the default of 1,
+     * so that all emails are sent one at a time.
+     */
+    protected int getMaxBatchSize() {
+        return 1;
+    }
+    
     @SuppressWarnings("PMD.SignatureDeclareThrowsException")
     // accounts for the many different Exceptions from different email services
     protected abstract void sendEmailWithService(EmailWrapper wrapper) throws Exception;
     
+    /**
+     * Sends the given {@code batch} of emails, which are identical except for their recipient
+     * and the values of their common template, in a single call to the service.
+     * Only called for services that accept batches of more than 1 email.
+     * @see #getMaxBatchSize()
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    // accounts for the many different Exceptions from different email services
+    protected void sendEmailBatchWithService(List<EmailWrapper> batch) throws Exception {
+        for (EmailWrapper wrapper : batch) {
+            sendEmailWithService(wrapper);
+        }
+    }
+    
+    /**
+     * Groups the {@code wrappers} into batches that can each be sent with a single call to the service.
+     * Emails that cannot be batched are in batches of their own.
+     */
+    private List<List<EmailWrapper>> groupIntoBatches(List<EmailWrapper> wrappers) {
+        List<List<EmailWrapper>> batches = new ArrayList<List<EmailWrapper>>();
+        Map<String, List<EmailWrapper>> openBatches = new LinkedHashMap<String, List<EmailWrapper>>();
+        Map<String, Set<String>> openBatchRecipients = new LinkedHashMap<String, Set<String>>();
+        int maxBatchSize = getMaxBatchSize();
+        
+        for (EmailWrapper wrapper : wrappers) {
+            String batchKey = maxBatchSize > 1 ? getBatchKey(wrapper) : null;
+            if (batchKey == null) {
+                batches.add(Arrays.asList(wrapper));
+                continue;
+            }
+            
+            List<EmailWrapper> batch = openBatches.get(batchKey);
+            Set<String> recipients = openBatchRecipients.get(batchKey);
+            // services populate the template by recipient, so a batch cannot hold the same recipient twice
+            if (batch == null || batch.size() == maxBatchSize || recipients.contains(wrapper.getRecipient())) {
+                batch = new ArrayList<EmailWrapper>();
+                recipients = new HashSet<String>();
+                batches.add(batch);
+                openBatches.put(batchKey, batch);
+                openBatchRecipients.put(batchKey, recipients);
+            }
+            batch.add(wrapper);
+            recipients.add(wrapper.getRecipient());
+        }
+        return batches;
+    }
+    
+    /**
+     * Returns a key shared by all emails that can be sent in the same batch as {@code wrapper},
+     * or null if it has to be sent on its own.
+     */
+    private static String getBatchKey(EmailWrapper wrapper) {
+        boolean hasBcc = wrapper.getBcc() != null && !wrapper.getBcc().isEmpty();
+        if (wrapper.getContentTemplate() == null || hasBcc) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder();
+        key.append(wrapper.getContentTemplate().name())
+           .append('\n').append(wrapper.getSubject())
+           .append('\n').append(wrapper.getSenderEmail())
+           .append('\n').append(wrapper.getSenderName())
+           .append('\n').append(wrapper.getReplyTo());
+        String[] values = wrapper.getContentTemplateValues();
+        for (int i = 0; i < values.length; i += 2) {
+            key.append('\n').append(values[i]);
+        }
+        return key.toString();
+    }
+    
+    /**
+     * Returns the template shared by the emails of a batch, with each placeholder
+     * <code>${key}</code> replaced by the service-specific placeholder {@code String.format(format, key)}.
+     */
+    protected static String getContentTemplateForBatch(List<EmailWrapper> batch, String format) {
+        EmailWrapper first = batch.get(0);
+        String[] keys = getContentTemplateKeys(first);
+        String[] placeholders = new String[keys.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            placeholders[2 * i] = "${" + keys[i] + "}";
+            placeholders[2 * i + 1] = String.format(format, keys[i]);
+        }
+        return first.getContentTemplate().render(placeholders);
+    }
+    
+    /**
+     * Returns the plain text of the template shared by the emails of a batch, with each placeholder
+     * <code>${key}</code> replaced by the service-specific placeholder
+     * {@code String.format(format, key + TEXT_KEY_SUFFIX)}, to be populated with
+     * the plain text of the value of <code>${key}</code> given by {@link #getTextValue(String)}.
+     */
+    protected static String getContentTextTemplateForBatch(List<EmailWrapper> batch, String format) {
+        return Jsoup.parse(getContentTemplateForBatch(batch, String.format(format, "%s" + TEXT_KEY_SUFFIX))).text();
+    }
+    
+    /**
+     * Returns the plain text of the {@code value} of a placeholder, as it is shown in the plain text
+     * part of an email, e.g. without the markup of the instructor fragment.
+     */
+    protected static String getTextValue(String value) {
+        return Jsoup.parse(value).text();
+    }
+    
+    /**
+     * Returns the names of the placeholders populated in the template of {@code wrapper},
+     * e.g. <code>userName</code> for <code>${userName}</code>.
+     */
+    protected static String[] getContentTemplateKeys(EmailWrapper wrapper) {
+        String[] values = wrapper.getContentTemplateValues();
+        String[] keys = new String[values.length / 2];
+        for (int i = 0; i < keys.length; i++) {
+            String placeholder = values[2 * i];
+            keys[i] = placeholder.substring("${".length(), placeholder.length() - "}".length());
+        }
+        return keys;
+    }
+    
 }
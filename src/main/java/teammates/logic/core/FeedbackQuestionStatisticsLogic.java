@@ -0,0 +1,304 @@
+package teammates.logic.core;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAggregate;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseConsumer;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Const.ActionURIs;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.common.util.Utils;
+import teammates.storage.api.FeedbackQuestionStatisticsDb;
+
+import com.google.appengine.api.taskqueue.TaskHandle;
+import com.google.appengine.api.taskqueue.TaskOptions;
+
+/**
+ * Handles the statistics aggregates of the feedback questions, from which the statistics of the questions
+ * whose types are {@link FeedbackQuestionDetails#isStatisticsAggregatable() aggregatable} are rendered
+ * instead of being counted from all the responses.<br>
+ * Whenever {@link FeedbackResponsesLogic} creates, updates or deletes responses, the IDs of the responses
+ * are put in {@link SystemParams#FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE}, tagged with their question,
+ * and a fold of the question is scheduled a few seconds later. The fold reads the responses again and folds
+ * their counts into the aggregate in one transaction, so that the responses changed in the meantime
+ * are folded together, and a fold that fails is retried by the task queue without counting anything twice.
+ * The aggregates are also reconciled with the responses periodically.<br>
+ * A question without an aggregate reconciled at least once has its statistics counted from the responses.
+ */
+public class FeedbackQuestionStatisticsLogic {
+
+    /** How long to wait for the responses to a question changed together before folding them */
+    private static final long FOLD_DELAY_MILLIS = 5 * 1000;
+
+    /** The largest number of responses folded in one transaction */
+    private static final int FOLD_BATCH_SIZE = 100;
+
+    /** Long enough for a batch of responses to be folded before the same changes can be leased again */
+    private static final long FOLD_LEASE_SECONDS = 60;
+
+    /** How long to wait for the reconciliation of a question not reconciled yet before scheduling another */
+    private static final long RECONCILIATION_RESCHEDULE_MILLIS = 10 * 60 * 1000;
+
+    private static final Logger log = Utils.getLogger();
+
+    /**
+     * The time at which this instance last scheduled the reconciliation of each question not reconciled yet,
+     * so that each fold of such a question does not schedule one.
+     */
+    private static final ConcurrentHashMap<String, Long> lastScheduledReconciliations =
+            new ConcurrentHashMap<String, Long>();
+
+    private static FeedbackQuestionStatisticsLogic instance;
+    private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+    private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static final FeedbackQuestionStatisticsDb fqStatisticsDb = new FeedbackQuestionStatisticsDb();
+
+    public static FeedbackQuestionStatisticsLogic inst() {
+        if (instance == null) {
+            instance = new FeedbackQuestionStatisticsLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * Schedules the fold of the responses into the aggregates of their questions, for responses created,
+     * updated or deleted. A response is read again when it is folded, so it can be given as it was
+     * either before or after the change, and the same response can be given more than once.
+     */
+    public void scheduleFoldForResponses(List<FeedbackResponseAttributes> responses) {
+        TaskQueuesLogic taskQueuesLogic = TaskQueuesLogic.inst();
+        List<TaskOptions> tasks = new ArrayList<TaskOptions>();
+        Set<String> feedbackQuestionIds = new LinkedHashSet<String>();
+        for (FeedbackResponseAttributes response : responses) {
+            if (!response.feedbackQuestionType.getFeedbackQuestionDetailsInstance().isStatisticsAggregatable()) {
+                continue;
+            }
+            Map<String, String> paramMap = new HashMap<String, String>();
+            paramMap.put(ParamsNames.FEEDBACK_RESPONSE_ID, response.getId());
+            tasks.add(taskQueuesLogic.createTaggedPullTask(response.feedbackQuestionId, paramMap));
+            feedbackQuestionIds.add(response.feedbackQuestionId);
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        taskQueuesLogic.addTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE, tasks);
+
+        // a fold scheduled in this time bucket runs after the bucket ends, so it folds the responses put above
+        long timeBucket = System.currentTimeMillis() / FOLD_DELAY_MILLIS;
+        for (String feedbackQuestionId : feedbackQuestionIds) {
+            Map<String, String> paramMap = new HashMap<String, String>();
+            paramMap.put(ParamsNames.FEEDBACK_QUESTION_ID, feedbackQuestionId);
+            taskQueuesLogic.createAndAddNamedDeferredTask(
+                    SystemParams.FEEDBACK_QUESTION_STATISTICS_FOLD_TASK_QUEUE,
+                    ActionURIs.FEEDBACK_QUESTION_STATISTICS_FOLD_WORKER,
+                    getFoldTaskName(feedbackQuestionId, timeBucket), paramMap, FOLD_DELAY_MILLIS);
+        }
+    }
+
+    /**
+     * Folds a batch of the responses to the question put in
+     * {@link SystemParams#FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE}, and schedules another fold
+     * if there may be more.
+     * @return false if the responses could not be folded, in which case they are left in the queue
+     *         to be folded when the fold is retried
+     */
+    public boolean foldResponsesChanged(String feedbackQuestionId) {
+        TaskQueuesLogic taskQueuesLogic = TaskQueuesLogic.inst();
+        List<TaskHandle> tasks = taskQueuesLogic.leaseTasksByTag(
+                SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE, FOLD_LEASE_SECONDS,
+                FOLD_BATCH_SIZE, feedbackQuestionId);
+        if (tasks.isEmpty()) {
+            return true;
+        }
+
+        Set<String> feedbackResponseIds = new LinkedHashSet<String>();
+        for (TaskHandle task : tasks) {
+            try {
+                for (Map.Entry<String, String> param : task.extractParams()) {
+                    if (ParamsNames.FEEDBACK_RESPONSE_ID.equals(param.getKey())) {
+                        feedbackResponseIds.add(param.getValue());
+                    }
+                }
+            } catch (UnsupportedEncodingException e) {
+                // the task is deleted with the others as it will never be read
+                log.severe("Error while reading response changed " + task.getName() + ": "
+                           + TeammatesException.toStringWithStackTrace(e));
+            }
+        }
+
+        if (!foldResponsesOfQuestion(feedbackQuestionId, feedbackResponseIds)) {
+            taskQueuesLogic.releaseTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE, tasks);
+            return false;
+        }
+        taskQueuesLogic.deleteTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE, tasks);
+
+        if (tasks.size() == FOLD_BATCH_SIZE) {
+            Map<String, String> paramMap = new HashMap<String, String>();
+            paramMap.put(ParamsNames.FEEDBACK_QUESTION_ID, feedbackQuestionId);
+            taskQueuesLogic.createAndAddTask(SystemParams.FEEDBACK_QUESTION_STATISTICS_FOLD_TASK_QUEUE,
+                                             ActionURIs.FEEDBACK_QUESTION_STATISTICS_FOLD_WORKER, paramMap);
+        }
+        return true;
+    }
+
+    /**
+     * @return the aggregates of the questions of the session reconciled at least once, keyed by question ID
+     */
+    public Map<String, FeedbackQuestionStatisticsAggregate> getAggregatesForSession(String courseId,
+                                                                                  String feedbackSessionName) {
+        return fqStatisticsDb.getAggregatesForSession(courseId, feedbackSessionName);
+    }
+
+    /**
+     * Folds all the responses of the question into its aggregate again, together with the responses
+     * folded before which are deleted since, and then checks the aggregate against the counts folded
+     * for each response, read with strongly consistent reads, creating the aggregate if there is none.
+     * @return false if a transaction failed, in which case the reconciliation should be retried
+     */
+    public boolean reconcileAggregate(String feedbackQuestionId) {
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(feedbackQuestionId);
+        if (question == null) {
+            fqStatisticsDb.deleteAggregate(feedbackQuestionId);
+            return true;
+        }
+        if (!question.getQuestionDetails().isStatisticsAggregatable()) {
+            return true;
+        }
+
+        final List<String> feedbackResponseIds =
+                new ArrayList<String>(fqStatisticsDb.getFoldedResponseIds(feedbackQuestionId));
+        frLogic.forEachFeedbackResponseForQuestion(feedbackQuestionId, new FeedbackResponseConsumer() {
+            @Override
+            public void accept(FeedbackResponseAttributes response) {
+                feedbackResponseIds.add(response.getId());
+            }
+        });
+        for (int i = 0; i < feedbackResponseIds.size(); i += FOLD_BATCH_SIZE) {
+            List<String> batch = feedbackResponseIds.subList(i, Math.min(i + FOLD_BATCH_SIZE,
+                                                                         feedbackResponseIds.size()));
+            if (!foldResponses(question, new LinkedHashSet<String>(batch))) {
+                return false;
+            }
+        }
+        return fqStatisticsDb.reconcileAggregateWithMarkers(feedbackQuestionId, question.courseId,
+                                                            question.feedbackSessionName);
+    }
+
+    /**
+     * Schedules the reconciliation of the aggregates of the questions of the sessions accepting responses.
+     * @return the number of questions scheduled
+     */
+    public int scheduleReconciliationsForSessionsAcceptingResponses() {
+        int numberOfQuestionsScheduled = 0;
+        for (FeedbackSessionAttributes session : fsLogic.getFeedbackSessionsAcceptingResponses()) {
+            List<FeedbackQuestionAttributes> questions;
+            try {
+                questions = fqLogic.getFeedbackQuestionsForSession(session.getFeedbackSessionName(),
+                                                                   session.getCourseId());
+            } catch (EntityDoesNotExistException e) {
+                // the session is deleted meanwhile, so there is nothing to reconcile
+                continue;
+            }
+            for (FeedbackQuestionAttributes question : questions) {
+                if (question.getQuestionDetails().isStatisticsAggregatable()) {
+                    scheduleReconciliation(question.getId());
+                    numberOfQuestionsScheduled++;
+                }
+            }
+        }
+        return numberOfQuestionsScheduled;
+    }
+
+    public void deleteAggregate(String feedbackQuestionId) {
+        fqStatisticsDb.deleteAggregate(feedbackQuestionId);
+    }
+
+    public void deleteAggregatesForCourse(String courseId) {
+        while (!fqStatisticsDb.deleteAggregatesForCourseInBatch(courseId, CourseDeletionLogic.BATCH_SIZE)
+                              .isLastBatch()) {
+            // delete the next batch
+        }
+    }
+
+    private boolean foldResponsesOfQuestion(String feedbackQuestionId, Collection<String> feedbackResponseIds) {
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(feedbackQuestionId);
+        if (question == null) {
+            // the aggregate is deleted with the question, so there is nothing to fold into
+            return true;
+        }
+        if (!foldResponses(question, feedbackResponseIds)) {
+            return false;
+        }
+        if (!fqStatisticsDb.hasReconciledAggregate(feedbackQuestionId)) {
+            scheduleReconciliationUnlessScheduledRecently(feedbackQuestionId);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the responses and folds their counts into the aggregate of the question. The counts of a response
+     * are versioned by when it was last updated, or by when it was found deleted, which is taken
+     * before the responses are read so that it is not later than a change not read.
+     */
+    private boolean foldResponses(FeedbackQuestionAttributes question, Collection<String> feedbackResponseIds) {
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        long readTime = System.currentTimeMillis();
+        Map<String, FeedbackResponseAttributes> responses = frLogic.getFeedbackResponses(feedbackResponseIds);
+
+        Map<String, FeedbackQuestionStatisticsAggregate> contributions =
+                new LinkedHashMap<String, FeedbackQuestionStatisticsAggregate>();
+        for (String feedbackResponseId : feedbackResponseIds) {
+            FeedbackQuestionStatisticsAggregate contribution = new FeedbackQuestionStatisticsAggregate();
+            FeedbackResponseAttributes response = responses.get(feedbackResponseId);
+            if (response == null) {
+                contribution.setVersion(readTime);
+            } else {
+                questionDetails.countInStatisticsAggregate(response, contribution, 1);
+                contribution.setVersion(response.getUpdatedAt().getTime());
+            }
+            contributions.put(feedbackResponseId, contribution);
+        }
+        return fqStatisticsDb.foldContributions(question.getId(), question.courseId, question.feedbackSessionName,
+                                                contributions);
+    }
+
+    private void scheduleReconciliationUnlessScheduledRecently(String feedbackQuestionId) {
+        long now = System.currentTimeMillis();
+        Long lastScheduled = lastScheduledReconciliations.get(feedbackQuestionId);
+        if (lastScheduled == null || now - lastScheduled > RECONCILIATION_RESCHEDULE_MILLIS) {
+            lastScheduledReconciliations.put(feedbackQuestionId, now);
+            scheduleReconciliation(feedbackQuestionId);
+        }
+    }
+
+    private void scheduleReconciliation(String feedbackQuestionId) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.FEEDBACK_QUESTION_ID, feedbackQuestionId);
+        TaskQueuesLogic.inst().createAndAddTask(SystemParams.FEEDBACK_QUESTION_STATISTICS_RECONCILIATION_TASK_QUEUE,
+                                                ActionURIs.FEEDBACK_QUESTION_STATISTICS_RECONCILIATION_WORKER,
+                                                paramMap);
+    }
+
+    private static String getFoldTaskName(String feedbackQuestionId, long timeBucket) {
+        // task names may have only letters, digits, hyphens and underscores
+        return "fold-" + feedbackQuestionId.replaceAll("[^a-zA-Z0-9_-]", "_") + "-" + timeBucket;
+    }
+
+}
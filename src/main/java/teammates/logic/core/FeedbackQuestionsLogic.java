@@ -2,18 +2,18 @@ package teammates.logic.core;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
-import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
-import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
@@ -28,6 +28,8 @@ import teammates.storage.api.FeedbackQuestionsDb;
 
 public class FeedbackQuestionsLogic {
     
+    public static final String ERROR_INVALID_COPIABLE_QUESTIONS_CURSOR = "Invalid copiable questions cursor: ";
+    
     private static final Logger log = Utils.getLogger();
 
     private static FeedbackQuestionsLogic instance;
@@ -98,6 +100,54 @@ public class FeedbackQuestionsLogic {
         return question;
     }
 
+    /**
+     * Used for creating the questions of a session in one go, e.g. when copying them.
+     * Does not check if feedback session exists.
+     * Does not check if the question numbers are valid (does not check for clashes, or make adjustments).
+     * @return the questions created, with their generated IDs
+     */
+    public List<FeedbackQuestionAttributes> createFeedbackQuestionsNoIntegrityCheck(
+            List<FeedbackQuestionAttributes> questions) throws InvalidParametersException {
+        for (FeedbackQuestionAttributes question : questions) {
+            question.removeIrrelevantVisibilityOptions();
+        }
+        return fqDb.createFeedbackQuestionsWithoutExistenceCheck(questions);
+    }
+
+    /**
+     * Copies the questions with IDs {@code feedbackQuestionIds} to the end of the given session,
+     * in the order of the IDs.<br>
+     * The question numbers of the copies are worked out in memory and all the copies
+     * are created in one batched write.
+     * @return the copies created
+     */
+    public List<FeedbackQuestionAttributes> copyFeedbackQuestions(
+            List<String> feedbackQuestionIds,
+            String feedbackSessionName, String courseId, String instructorEmail)
+            throws InvalidParametersException {
+
+        int numberOfExistingQuestions = 0;
+        try {
+            numberOfExistingQuestions = getFeedbackQuestionsForSession(feedbackSessionName, courseId).size();
+        } catch (EntityDoesNotExistException e) {
+            Assumption.fail("Session disappeared.");
+        }
+
+        List<FeedbackQuestionAttributes> copies = new ArrayList<FeedbackQuestionAttributes>();
+        for (String feedbackQuestionId : feedbackQuestionIds) {
+            FeedbackQuestionAttributes question = getFeedbackQuestion(feedbackQuestionId);
+            Assumption.assertNotNull("Question to copy disappeared: " + feedbackQuestionId, question);
+            question.feedbackSessionName = feedbackSessionName;
+            question.courseId = courseId;
+            question.creatorEmail = instructorEmail;
+            question.questionNumber = numberOfExistingQuestions + copies.size() + 1;
+            question.setId(null);
+            copies.add(question);
+        }
+
+        return createFeedbackQuestionsNoIntegrityCheck(copies);
+    }
+
     
     /**
      * Gets a single question corresponding to the given parameters. <br><br>
@@ -161,50 +211,182 @@ public class FeedbackQuestionsLogic {
     
 
     /**
-     *  Gets a {@link List} of every FeedbackQuestion that the instructor can copy
+     *  Gets a {@link List} of every FeedbackQuestion that the instructor can copy,
+     *  sorted by course ID, session name, question type and question number.
      */
     public List<FeedbackQuestionAttributes> getCopiableFeedbackQuestionsForInstructor(String googleId)
             throws EntityDoesNotExistException {
+        return getCopiableFeedbackQuestions(googleId, null, Integer.MAX_VALUE);
+    }
+    
+    /**
+     *  Gets a page of the {@link List} of every FeedbackQuestion that the instructor can copy,
+     *  in the order of {@link #getCopiableFeedbackQuestionsForInstructor(String)}.
+     *  The questions of each course are read with one query, in order of session name from the session
+     *  of the cursor, so the courses and sessions before the page are not read.
+     * @param cursor the cursor of the question the page starts after,
+     *         from {@link #getCopiableQuestionsCursor(FeedbackQuestionAttributes)}, or null for the first page
+     * @param limit the number of questions in the page at most
+     * @throws InvalidParametersException if the cursor is not a valid cursor
+     */
+    public List<FeedbackQuestionAttributes> getCopiableFeedbackQuestionsForInstructor(
+            String googleId, String cursor, int limit) throws InvalidParametersException {
+        CopiableQuestion startAfter = cursor == null ? null : CopiableQuestion.fromCursor(cursor);
+        return getCopiableFeedbackQuestions(googleId, startAfter, limit);
+    }
+    
+    /**
+     * @return the cursor of the position of the question in the list of copiable questions,
+     *         to get the questions after it with
+     *         {@link #getCopiableFeedbackQuestionsForInstructor(String, String, int)}
+     */
+    public static String getCopiableQuestionsCursor(FeedbackQuestionAttributes question) {
+        return new CopiableQuestion(question).toCursor();
+    }
+    
+    private List<FeedbackQuestionAttributes> getCopiableFeedbackQuestions(
+            String googleId, CopiableQuestion startAfter, int limit) {
         
-        List<FeedbackQuestionAttributes> copiableQuestions = new ArrayList<FeedbackQuestionAttributes>();
-        List<CourseAttributes> courses = coursesLogic.getCoursesForInstructor(googleId);
-        for (CourseAttributes course : courses) {
-            List<FeedbackSessionAttributes> sessions = fsLogic.getFeedbackSessionsForCourse(course.getId());
-            for (FeedbackSessionAttributes session : sessions) {
-                List<FeedbackQuestionAttributes> questions =
-                        getFeedbackQuestionsForSession(session.getFeedbackSessionName(), course.getId());
-                copiableQuestions.addAll(questions);
-            }
+        List<String> courseIds = new ArrayList<String>();
+        for (InstructorAttributes instructor : instructorsLogic.getInstructorsForGoogleId(googleId)) {
+            courseIds.add(instructor.courseId);
         }
-        Collections.sort(copiableQuestions, new Comparator<FeedbackQuestionAttributes>() {
-            @Override
-            public int compare(FeedbackQuestionAttributes q1, FeedbackQuestionAttributes q2) {
-                int order = q1.courseId.compareTo(q2.courseId);
-                if (order != 0) {
-                    return order;
+        Collections.sort(courseIds);
+        
+        List<FeedbackQuestionAttributes> page = new ArrayList<FeedbackQuestionAttributes>();
+        for (String courseId : courseIds) {
+            if (page.size() >= limit) {
+                return page;
+            }
+            if (startAfter != null && startAfter.isAfterCourse(courseId)) {
+                continue;
+            }
+            
+            String fromSessionName = startAfter != null && startAfter.courseId.equals(courseId)
+                                     ? startAfter.feedbackSessionName
+                                     : null;
+            List<FeedbackQuestionAttributes> questionsInCourse =
+                    fqDb.getFeedbackQuestionsForCourseInSessionOrder(courseId, fromSessionName);
+            
+            // the questions of a session are next to each other, and are sorted before they are added to the page
+            List<CopiableQuestion> questionsInSession = new ArrayList<CopiableQuestion>();
+            for (FeedbackQuestionAttributes question : questionsInCourse) {
+                if (!questionsInSession.isEmpty()
+                        && !question.feedbackSessionName.equals(questionsInSession.get(0).feedbackSessionName)) {
+                    addCopiableQuestionsToPage(questionsInSession, page, limit);
+                    if (page.size() >= limit) {
+                        return page;
+                    }
                 }
                 
-                order = q1.feedbackSessionName.compareTo(q2.feedbackSessionName);
-                if (order != 0) {
-                    return order;
+                CopiableQuestion copiableQuestion = new CopiableQuestion(question);
+                if (startAfter == null || copiableQuestion.compareTo(startAfter) > 0) {
+                    questionsInSession.add(copiableQuestion);
                 }
-                
-                FeedbackQuestionDetails q1Details = q1.getQuestionDetails();
-                FeedbackQuestionDetails q2Details = q2.getQuestionDetails();
-                
-                String q1DisplayName = q1Details.getQuestionTypeDisplayName();
-                String q2DisplayName = q2Details.getQuestionTypeDisplayName();
-                
-                order = q1DisplayName.compareTo(q2DisplayName);
-                if (order != 0) {
-                    return order;
+            }
+            addCopiableQuestionsToPage(questionsInSession, page, limit);
+        }
+        return page;
+    }
+    
+    /**
+     * Sorts the questions of a session and adds them to the page until it has {@code limit} questions,
+     * clearing {@code questionsInSession}.
+     */
+    private static void addCopiableQuestionsToPage(List<CopiableQuestion> questionsInSession,
+                                                   List<FeedbackQuestionAttributes> page, int limit) {
+        Collections.sort(questionsInSession);
+        for (int i = 0; i < questionsInSession.size() && page.size() < limit; i++) {
+            page.add(questionsInSession.get(i).question);
+        }
+        questionsInSession.clear();
+    }
+    
+    /**
+     * The key a question is sorted by in the list of copiable questions, and the question if any.
+     * The question type display name is looked up by the question type, so that the question details
+     * are not parsed. A key without a question is the position given by a cursor.
+     */
+    private static class CopiableQuestion implements Comparable<CopiableQuestion> {
+        
+        /** Separates the parts of a cursor; course IDs and session names cannot contain it */
+        private static final String CURSOR_SEPARATOR = "|";
+        
+        private static final Map<FeedbackQuestionType, String> QUESTION_TYPE_DISPLAY_NAMES =
+                new EnumMap<FeedbackQuestionType, String>(FeedbackQuestionType.class);
+        
+        static {
+            for (FeedbackQuestionType questionType : FeedbackQuestionType.values()) {
+                QUESTION_TYPE_DISPLAY_NAMES.put(questionType,
+                        questionType.getFeedbackQuestionDetailsInstance().getQuestionTypeDisplayName());
+            }
+        }
+        
+        final FeedbackQuestionAttributes question;
+        final String courseId;
+        final String feedbackSessionName;
+        final FeedbackQuestionType questionType;
+        final int questionNumber;
+        
+        CopiableQuestion(FeedbackQuestionAttributes question) {
+            this(question, question.courseId, question.feedbackSessionName,
+                 question.questionType, question.questionNumber);
+        }
+        
+        private CopiableQuestion(FeedbackQuestionAttributes question, String courseId, String feedbackSessionName,
+                                 FeedbackQuestionType questionType, int questionNumber) {
+            this.question = question;
+            this.courseId = courseId;
+            this.feedbackSessionName = feedbackSessionName;
+            this.questionType = questionType;
+            this.questionNumber = questionNumber;
+        }
+        
+        static CopiableQuestion fromCursor(String cursor) throws InvalidParametersException {
+            String[] parts = cursor.split(Pattern.quote(CURSOR_SEPARATOR), -1);
+            if (parts.length == 4) {
+                try {
+                    return new CopiableQuestion(null, parts[0], parts[1],
+                                                FeedbackQuestionType.valueOf(parts[2]), Integer.parseInt(parts[3]));
+                } catch (IllegalArgumentException e) {
+                    // not a question type or not a question number, the cursor is rejected below
                 }
-                
-                return q1Details.getQuestionText().compareTo(q2Details.getQuestionText());
             }
-        });
+            throw new InvalidParametersException(ERROR_INVALID_COPIABLE_QUESTIONS_CURSOR + cursor);
+        }
+        
+        String toCursor() {
+            return courseId + CURSOR_SEPARATOR + feedbackSessionName + CURSOR_SEPARATOR
+                   + questionType.name() + CURSOR_SEPARATOR + questionNumber;
+        }
+        
+        /**
+         * @return true if the course comes before the course of this key
+         */
+        boolean isAfterCourse(String otherCourseId) {
+            return courseId.compareTo(otherCourseId) > 0;
+        }
         
-        return copiableQuestions;
+        @Override
+        public int compareTo(CopiableQuestion other) {
+            int order = courseId.compareTo(other.courseId);
+            if (order != 0) {
+                return order;
+            }
+            
+            order = feedbackSessionName.compareTo(other.feedbackSessionName);
+            if (order != 0) {
+                return order;
+            }
+            
+            order = QUESTION_TYPE_DISPLAY_NAMES.get(questionType)
+                    .compareTo(QUESTION_TYPE_DISPLAY_NAMES.get(other.questionType));
+            if (order != 0) {
+                return order;
+            }
+            
+            return Integer.compare(questionNumber, other.questionNumber);
+        }
     }
     
     /**
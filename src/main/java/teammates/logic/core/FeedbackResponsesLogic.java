@@ -1,6 +1,8 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -12,6 +14,8 @@ import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseConsumer;
+import teammates.common.datatransfer.FeedbackResponsesPage;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.UserType;
@@ -25,6 +29,9 @@ import teammates.storage.entity.FeedbackResponse;
 
 public class FeedbackResponsesLogic {
 
+    /** Number of responses read at a time when going through the responses of a session or question */
+    public static final int RESPONSES_PAGE_SIZE = 500;
+
     private static final Logger log = Utils.getLogger();
 
     private static FeedbackResponsesLogic instance;
@@ -33,6 +40,7 @@ public class FeedbackResponsesLogic {
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic
             .inst();
     private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
+    private static final FeedbackQuestionStatisticsLogic fqStatisticsLogic = FeedbackQuestionStatisticsLogic.inst();
     private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
 
     public static FeedbackResponsesLogic inst() {
@@ -45,7 +53,9 @@ public class FeedbackResponsesLogic {
     public void createFeedbackResponse(FeedbackResponseAttributes fra)
             throws InvalidParametersException, EntityDoesNotExistException {
         try {
-            frDb.createEntity(fra);
+            FeedbackResponse createdResponseEntity = (FeedbackResponse) frDb.createEntity(fra);
+            fqStatisticsLogic.scheduleFoldForResponses(
+                    Arrays.asList(new FeedbackResponseAttributes(createdResponseEntity)));
         } catch (EntityAlreadyExistsException eaee) {
             try {
                 updateFeedbackResponse(fra, (FeedbackResponse) eaee.existingEntity);
@@ -60,6 +70,14 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponse(feedbackResponseId);
     }
 
+    /**
+     * @return the responses with the given IDs which exist, keyed by response ID,
+     *         read with strongly consistent gets
+     */
+    public Map<String, FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        return frDb.getFeedbackResponses(feedbackResponseIds);
+    }
+
     public FeedbackResponseAttributes getFeedbackResponse(
             String feedbackQuestionId, String giverEmail, String recipient) {
         return frDb.getFeedbackResponse(feedbackQuestionId, giverEmail, recipient);
@@ -126,6 +144,71 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesForSessionToSectionWithinRange(feedbackSessionName, courseId, section, range);
     }
 
+    public FeedbackResponsesPage getFeedbackResponsesForSessionPage(
+            String feedbackSessionName, String courseId, String cursor, int pageSize) {
+        return frDb.getFeedbackResponsesForSessionPage(feedbackSessionName, courseId, cursor, pageSize);
+    }
+
+    /**
+     * Passes each response of the session to {@code consumer}, reading {@link #RESPONSES_PAGE_SIZE}
+     * responses at a time, so that sessions of any size can be gone through in bounded memory.
+     */
+    public void forEachFeedbackResponseInSession(String feedbackSessionName, String courseId,
+                                                 FeedbackResponseConsumer consumer) {
+        frDb.forEachFeedbackResponseInSession(feedbackSessionName, courseId, RESPONSES_PAGE_SIZE, consumer);
+    }
+
+    /**
+     * Passes each response of the session from givers or to recipients in the section, or each response
+     * of the session if {@code section} is null, to {@code consumer}, reading {@link #RESPONSES_PAGE_SIZE}
+     * responses at a time.
+     */
+    public void forEachFeedbackResponseInSessionInSection(String feedbackSessionName, String courseId,
+                                                          String section, FeedbackResponseConsumer consumer) {
+        if (section == null) {
+            forEachFeedbackResponseInSession(feedbackSessionName, courseId, consumer);
+            return;
+        }
+        frDb.forEachFeedbackResponseInSessionInSection(feedbackSessionName, courseId, section,
+                                                       RESPONSES_PAGE_SIZE, consumer);
+    }
+
+    /**
+     * Passes each response of the session from givers in the section, or each response of the session
+     * if {@code section} is null, to {@code consumer}, reading {@link #RESPONSES_PAGE_SIZE} responses at a time.
+     */
+    public void forEachFeedbackResponseInSessionFromSection(String feedbackSessionName, String courseId,
+                                                            String section, FeedbackResponseConsumer consumer) {
+        if (section == null) {
+            forEachFeedbackResponseInSession(feedbackSessionName, courseId, consumer);
+            return;
+        }
+        frDb.forEachFeedbackResponseInSessionFromSection(feedbackSessionName, courseId, section,
+                                                         RESPONSES_PAGE_SIZE, consumer);
+    }
+
+    /**
+     * Passes each response of the session to recipients in the section, or each response of the session
+     * if {@code section} is null, to {@code consumer}, reading {@link #RESPONSES_PAGE_SIZE} responses at a time.
+     */
+    public void forEachFeedbackResponseInSessionToSection(String feedbackSessionName, String courseId,
+                                                          String section, FeedbackResponseConsumer consumer) {
+        if (section == null) {
+            forEachFeedbackResponseInSession(feedbackSessionName, courseId, consumer);
+            return;
+        }
+        frDb.forEachFeedbackResponseInSessionToSection(feedbackSessionName, courseId, section,
+                                                       RESPONSES_PAGE_SIZE, consumer);
+    }
+
+    /**
+     * Passes each response of the question to {@code consumer}, reading {@link #RESPONSES_PAGE_SIZE}
+     * responses at a time.
+     */
+    public void forEachFeedbackResponseForQuestion(String feedbackQuestionId, FeedbackResponseConsumer consumer) {
+        frDb.forEachFeedbackResponseForQuestion(feedbackQuestionId, RESPONSES_PAGE_SIZE, consumer);
+    }
+
     public List<FeedbackResponseAttributes> getFeedbackResponsesForQuestion(String feedbackQuestionId) {
         return frDb.getFeedbackResponsesForQuestion(feedbackQuestionId);
     }
@@ -447,13 +530,18 @@ public class FeedbackResponsesLogic {
             } catch (EntityDoesNotExistException e) {
                 Assumption.fail();
             }
+            fqStatisticsLogic.scheduleFoldForResponses(Arrays.asList(oldResponse));
         } else {
             // Recreate response to prevent possible future id conflict.
-            recreateResponse(newResponse, oldResponse);
+            FeedbackResponseAttributes recreatedResponse = recreateResponse(newResponse, oldResponse);
+            fqStatisticsLogic.scheduleFoldForResponses(Arrays.asList(oldResponse, recreatedResponse));
         }
     }
 
-    private void recreateResponse(
+    /**
+     * @return the response recreated, with its new ID
+     */
+    private FeedbackResponseAttributes recreateResponse(
             FeedbackResponseAttributes newResponse, FeedbackResponseAttributes oldResponse)
             throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
         try {
@@ -463,6 +551,7 @@ public class FeedbackResponsesLogic {
             frDb.deleteEntity(oldResponse);
             frcLogic.updateFeedbackResponseCommentsForChangingResponseId(
                     oldResponse.getId(), createdResponseEntity.getId());
+            return new FeedbackResponseAttributes(createdResponseEntity);
         } catch (EntityAlreadyExistsException e) {
             log.warning("Trying to update an existing response to one that already exists.");
             throw e;
@@ -478,6 +567,7 @@ public class FeedbackResponsesLogic {
             String courseId, String userEmail, String oldTeam, String newTeam) {
 
         FeedbackQuestionAttributes question;
+        List<FeedbackResponseAttributes> responsesDeleted = new ArrayList<FeedbackResponseAttributes>();
 
         List<FeedbackResponseAttributes> responsesFromUser =
                 getFeedbackResponsesFromGiverForCourse(courseId, userEmail);
@@ -487,6 +577,7 @@ public class FeedbackResponsesLogic {
             if (question.giverType == FeedbackParticipantType.TEAMS
                     || isRecipientTypeTeamMembers(question)) {
                 frDb.deleteEntity(response);
+                responsesDeleted.add(response);
             }
         }
 
@@ -497,6 +588,7 @@ public class FeedbackResponsesLogic {
             question = fqLogic.getFeedbackQuestion(response.feedbackQuestionId);
             if (isRecipientTypeTeamMembers(question)) {
                 frDb.deleteEntity(response);
+                responsesDeleted.add(response);
             }
         }
 
@@ -505,8 +597,10 @@ public class FeedbackResponsesLogic {
                     getFeedbackResponsesForReceiverForCourse(courseId, oldTeam);
             for (FeedbackResponseAttributes response : responsesToTeam) {
                 frDb.deleteEntity(response);
+                responsesDeleted.add(response);
             }
         }
+        fqStatisticsLogic.scheduleFoldForResponses(responsesDeleted);
     }
 
     public void updateFeedbackResponsesForChangingSection(
@@ -555,6 +649,7 @@ public class FeedbackResponsesLogic {
 
         if (shouldDeleteResponse) {
             frDb.deleteEntity(response);
+            fqStatisticsLogic.scheduleFoldForResponses(Arrays.asList(response));
             updateSessionResponseRateForDeletingStudentResponse(enrollment.email,
                     response.feedbackSessionName, enrollment.course);
         }
@@ -637,6 +732,15 @@ public class FeedbackResponsesLogic {
     }
 
     public void deleteFeedbackResponseAndCascade(FeedbackResponseAttributes responseToDelete) {
+        deleteFeedbackResponseAndCascadeWithoutStatistics(responseToDelete);
+        fqStatisticsLogic.scheduleFoldForResponses(Arrays.asList(responseToDelete));
+    }
+
+    /**
+     * Deletes the response and its comments, leaving the statistics aggregate of its question to the caller,
+     * which schedules the fold of many responses deleted at once.
+     */
+    private void deleteFeedbackResponseAndCascadeWithoutStatistics(FeedbackResponseAttributes responseToDelete) {
         frcLogic.deleteFeedbackResponseCommentsForResponse(responseToDelete.getId());
         frDb.deleteEntity(responseToDelete);
     }
@@ -649,9 +753,11 @@ public class FeedbackResponsesLogic {
         Set<String> emails = new HashSet<String>();
 
         for (FeedbackResponseAttributes response : responsesForQuestion) {
-            this.deleteFeedbackResponseAndCascade(response);
+            deleteFeedbackResponseAndCascadeWithoutStatistics(response);
             emails.add(response.giver);
         }
+        // the aggregate is created again when the question is next responded to, and is used once reconciled
+        fqStatisticsLogic.deleteAggregate(feedbackQuestionId);
 
         if (!hasResponseRateUpdate) {
             return;
@@ -702,8 +808,9 @@ public class FeedbackResponsesLogic {
         }
 
         for (FeedbackResponseAttributes response : responses) {
-            this.deleteFeedbackResponseAndCascade(response);
+            deleteFeedbackResponseAndCascadeWithoutStatistics(response);
         }
+        fqStatisticsLogic.scheduleFoldForResponses(responses);
     }
 
     /**
@@ -713,6 +820,7 @@ public class FeedbackResponsesLogic {
      */
     public void deleteFeedbackResponsesForCourse(String courseId) {
         frDb.deleteFeedbackResponsesForCourse(courseId);
+        fqStatisticsLogic.deleteAggregatesForCourse(courseId);
     }
 
     /**
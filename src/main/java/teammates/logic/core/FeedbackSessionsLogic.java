@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
@@ -19,6 +20,7 @@ import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseConsumer;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
@@ -59,6 +61,7 @@ public class FeedbackSessionsLogic {
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
     private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
+    private static final FeedbackQuestionStatisticsLogic fqStatisticsLogic = FeedbackQuestionStatisticsLogic.inst();
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
@@ -138,25 +141,68 @@ public class FeedbackSessionsLogic {
     public FeedbackSessionAttributes copyFeedbackSession(String newFeedbackSessionName,
             String newCourseId, String feedbackSessionName, String courseId, String instructorEmail)
             throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
-        FeedbackSessionAttributes copiedFeedbackSession = getFeedbackSession(feedbackSessionName, courseId);
-        copiedFeedbackSession.setCreatorEmail(instructorEmail);
-        copiedFeedbackSession.setFeedbackSessionName(newFeedbackSessionName);
-        copiedFeedbackSession.setCourseId(newCourseId);
-        copiedFeedbackSession.setCreatedTime(new Date());
-        copiedFeedbackSession.setRespondingInstructorList(new HashSet<String>());
-        copiedFeedbackSession.setRespondingStudentList(new HashSet<String>());
-        fsDb.createEntity(copiedFeedbackSession);
-        
-        List<FeedbackQuestionAttributes> feedbackQuestions =
-                fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
-        for (FeedbackQuestionAttributes question : feedbackQuestions) {
-            question.courseId = newCourseId;
-            question.feedbackSessionName = newFeedbackSessionName;
-            question.creatorEmail = instructorEmail;
-            fqLogic.createFeedbackQuestionNoIntegrityCheck(question, question.questionNumber);
+        return copyFeedbackSession(newFeedbackSessionName, Arrays.asList(newCourseId),
+                                   feedbackSessionName, courseId, instructorEmail).get(0);
+    }
+
+    /**
+     * Copies the session and its questions to each of the courses {@code newCourseIds}.<br>
+     * The session and its questions are read once, and the questions of each copy
+     * are created in one batched write.
+     * @return the copies created, in the order of {@code newCourseIds}
+     */
+    public List<FeedbackSessionAttributes> copyFeedbackSession(String newFeedbackSessionName,
+            List<String> newCourseIds, String feedbackSessionName, String courseId, String instructorEmail)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        return copyFeedbackSessions(Collections.singletonMap(feedbackSessionName, newFeedbackSessionName),
+                                    newCourseIds, courseId, instructorEmail);
+    }
+
+    /**
+     * Copies each session of the course with {@code courseId} named by the keys of {@code newFeedbackSessionNames},
+     * with its questions, to each of the courses {@code newCourseIds}, naming the copies by the values.<br>
+     * Each session and its questions are read once, and the questions of each copy
+     * are created in one batched write.
+     * @return the copies created, for each session in the order of {@code newFeedbackSessionNames},
+     *         in the order of {@code newCourseIds}
+     */
+    public List<FeedbackSessionAttributes> copyFeedbackSessions(Map<String, String> newFeedbackSessionNames,
+            List<String> newCourseIds, String courseId, String instructorEmail)
+            throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
+        List<FeedbackSessionAttributes> copiedFeedbackSessions = new ArrayList<FeedbackSessionAttributes>();
+        for (Entry<String, String> sessionNames : newFeedbackSessionNames.entrySet()) {
+            String feedbackSessionName = sessionNames.getKey();
+            String newFeedbackSessionName = sessionNames.getValue();
+            FeedbackSessionAttributes feedbackSession = getFeedbackSession(feedbackSessionName, courseId);
+            List<FeedbackQuestionAttributes> feedbackQuestions =
+                    fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+
+            for (String newCourseId : newCourseIds) {
+                FeedbackSessionAttributes copiedFeedbackSession = feedbackSession.getCopy();
+                copiedFeedbackSession.setCreatorEmail(instructorEmail);
+                copiedFeedbackSession.setFeedbackSessionName(newFeedbackSessionName);
+                copiedFeedbackSession.setCourseId(newCourseId);
+                copiedFeedbackSession.setCreatedTime(new Date());
+                copiedFeedbackSession.setRespondingInstructorList(new HashSet<String>());
+                copiedFeedbackSession.setRespondingStudentList(new HashSet<String>());
+                fsDb.createEntity(copiedFeedbackSession);
+
+                List<FeedbackQuestionAttributes> copiedQuestions = new ArrayList<FeedbackQuestionAttributes>();
+                for (FeedbackQuestionAttributes question : feedbackQuestions) {
+                    FeedbackQuestionAttributes copiedQuestion = question.getCopy();
+                    copiedQuestion.courseId = newCourseId;
+                    copiedQuestion.feedbackSessionName = newFeedbackSessionName;
+                    copiedQuestion.creatorEmail = instructorEmail;
+                    copiedQuestion.setId(null);
+                    copiedQuestions.add(copiedQuestion);
+                }
+                fqLogic.createFeedbackQuestionsNoIntegrityCheck(copiedQuestions);
+
+                copiedFeedbackSessions.add(copiedFeedbackSession);
+            }
         }
-        
-        return copiedFeedbackSession;
+
+        return copiedFeedbackSessions;
     }
 
     /**
@@ -853,6 +899,10 @@ public class FeedbackSessionsLogic {
             String section, String filterText, boolean isMissingResponsesShown, boolean isStatsShown)
             throws EntityDoesNotExistException, ExceedingRangeException {
         
+        // The whole bundle is held in memory to be sorted before it is written out, so the
+        // export of a whole session stays capped rather than paged. Paging it needs the CSV
+        // to be written question by question from FeedbackResponsesLogic#forEachFeedbackResponseInSession,
+        // which is deferred; a session over the cap is exported section by section instead.
         long indicatedRange = (section == null) ? 10000 : -1;
         FeedbackSessionResultsBundle results = getFeedbackSessionResultsForInstructorInSectionWithinRangeFromView(
                 feedbackSessionName, courseId, userEmail, section,
@@ -1259,7 +1309,7 @@ public class FeedbackSessionsLogic {
         List<FeedbackQuestionAttributes> questions = fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
         List<InstructorAttributes> instructors = instructorsLogic.getInstructorsForCourse(courseId);
         
-        Map<String, List<String>> instructorQuestionsMap = new HashMap<String, List<String>>();
+        final Map<String, List<String>> instructorQuestionsMap = new HashMap<String, List<String>>();
         
         for (InstructorAttributes instructor : instructors) {
             List<FeedbackQuestionAttributes> instructorQns = fqLogic
@@ -1275,17 +1325,19 @@ public class FeedbackSessionsLogic {
             }
         }
         
-        Set<String> respondingStudentList = new HashSet<String>();
-        Set<String> respondingInstructorList = new HashSet<String>();
-        List<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForSession(feedbackSessionName, courseId);
-        for (FeedbackResponseAttributes response : responses) {
-            List<String> instructorQuestions = instructorQuestionsMap.get(response.giver);
-            if (instructorQuestions != null && instructorQuestions.contains(response.feedbackQuestionId)) {
-                respondingInstructorList.add(response.giver);
-            } else {
-                respondingStudentList.add(response.giver);
+        final Set<String> respondingStudentList = new HashSet<String>();
+        final Set<String> respondingInstructorList = new HashSet<String>();
+        frLogic.forEachFeedbackResponseInSession(feedbackSessionName, courseId, new FeedbackResponseConsumer() {
+            @Override
+            public void accept(FeedbackResponseAttributes response) {
+                List<String> instructorQuestions = instructorQuestionsMap.get(response.giver);
+                if (instructorQuestions != null && instructorQuestions.contains(response.feedbackQuestionId)) {
+                    respondingInstructorList.add(response.giver);
+                } else {
+                    respondingStudentList.add(response.giver);
+                }
             }
-        }
+        });
         
         addInstructorRespondants(new ArrayList<String>(respondingInstructorList), feedbackSessionName, courseId);
         addStudentRespondants(new ArrayList<String>(respondingStudentList), feedbackSessionName, courseId);
@@ -1693,6 +1745,21 @@ public class FeedbackSessionsLogic {
         return requiredSessions;
     }
 
+    /**
+     * @return the sessions which are open or in their grace period, i.e. accepting responses
+     */
+    public List<FeedbackSessionAttributes> getFeedbackSessionsAcceptingResponses() {
+        List<FeedbackSessionAttributes> requiredSessions = new ArrayList<FeedbackSessionAttributes>();
+        List<FeedbackSessionAttributes> nonPrivateSessions = fsDb.getNonPrivateFeedbackSessions();
+
+        for (FeedbackSessionAttributes session : nonPrivateSessions) {
+            if (session.isOpened() || session.isInGracePeriod()) {
+                requiredSessions.add(session);
+            }
+        }
+        return requiredSessions;
+    }
+
     public void scheduleFeedbackSessionClosingEmails() {
 
         List<FeedbackSessionAttributes> sessions = getFeedbackSessionsClosingWithinTimeLimit();
@@ -1927,21 +1994,15 @@ public class FeedbackSessionsLogic {
             }
         }
         
-        InstructorAttributes instructor = null;
-        if (role == Role.INSTRUCTOR) {
-            instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
-        }
-        
         List<FeedbackResponseCommentAttributes> allResponseComments =
                 frcLogic.getFeedbackResponseCommentForSession(courseId,
                         feedbackSessionName);
+        ResponseCommentVisibilityEvaluator commentVisibility =
+                new ResponseCommentVisibilityEvaluator(userEmail, role, student, studentsEmailInTeam);
         for (FeedbackResponseCommentAttributes frc : allResponseComments) {
             FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
             FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
-            boolean isVisibleResponseComment = frcLogic.isResponseCommentVisibleForUser(userEmail, courseId,
-                    role, section, student, studentsEmailInTeam, relatedResponse,
-                    relatedQuestion, frc, instructor);
-            if (isVisibleResponseComment) {
+            if (commentVisibility.isVisible(frc, relatedResponse, relatedQuestion)) {
                 if (!frcLogic.isNameVisibleTo(frc, relatedResponse, userEmail, roster)) {
                     frc.giverEmail = "Anonymous";
                 }
@@ -1967,6 +2028,7 @@ public class FeedbackSessionsLogic {
                         session, responses, relevantQuestions, emailNameTable,
                         emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
                         visibilityTable, responseStatus, roster, responseComments);
+        setStatisticsAggregates(results, role, section);
 
         return results;
     }
@@ -2115,6 +2177,7 @@ public class FeedbackSessionsLogic {
                             session, responses, relevantQuestions, emailNameTable,
                             emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
                             visibilityTable, responseStatus, roster, responseComments, true);
+            setStatisticsAggregates(results, role, section);
 
             return results;
         }
@@ -2144,6 +2207,9 @@ public class FeedbackSessionsLogic {
                 Assumption.fail(ASSUMPTION_FAIL_RESPONSE_ORIGIN);
             }
         } else {
+            // Still capped rather than paged: the bundle keeps every response for rendering, so reading
+            // them page by page would not bound memory. Paging waits for the results page to load
+            // its responses per question; until then an incomplete bundle asks for a narrower view.
             long range = Long.parseLong(params.get(PARAM_RANGE));
             if (isInSection) {
                 allResponses = frLogic.getFeedbackResponsesForSessionInSectionWithinRange(feedbackSessionName,
@@ -2219,13 +2285,12 @@ public class FeedbackSessionsLogic {
             List<FeedbackResponseCommentAttributes> allResponseComments =
                     frcLogic.getFeedbackResponseCommentForSessionInSection(courseId,
                             feedbackSessionName, section);
+            ResponseCommentVisibilityEvaluator commentVisibility =
+                    new ResponseCommentVisibilityEvaluator(userEmail, role, student, studentsEmailInTeam);
             for (FeedbackResponseCommentAttributes frc : allResponseComments) {
                 FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
                 FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
-                boolean isVisibleResponseComment = frcLogic.isResponseCommentVisibleForUser(userEmail, courseId,
-                        role, section, student, studentsEmailInTeam, relatedResponse,
-                        relatedQuestion, frc, instructor);
-                if (isVisibleResponseComment) {
+                if (commentVisibility.isVisible(frc, relatedResponse, relatedQuestion)) {
                     if (!frcLogic.isNameVisibleTo(frc, relatedResponse, userEmail, roster)) {
                         frc.giverEmail = "Anonymous";
                     }
@@ -2256,10 +2321,23 @@ public class FeedbackSessionsLogic {
                         session, responses, relevantQuestions, emailNameTable,
                         emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
                         visibilityTable, responseStatus, roster, responseComments, isComplete);
+        setStatisticsAggregates(results, role, section);
 
         return results;
     }
 
+    /**
+     * Gives {@code results} the statistics aggregates of the questions of its session if it is for an instructor
+     * viewing all the sections, as only then may the aggregates count exactly the responses of the results.
+     * The results render the statistics of a question from its aggregate only if they do.
+     */
+    private void setStatisticsAggregates(FeedbackSessionResultsBundle results, UserType.Role role, String section) {
+        if (role == UserType.Role.INSTRUCTOR && section == null) {
+            results.setStatisticsAggregates(fqStatisticsLogic.getAggregatesForSession(
+                    results.feedbackSession.getCourseId(), results.feedbackSession.getFeedbackSessionName()));
+        }
+    }
+
     private void addSectionTeamNamesToTable(Map<String, Set<String>> sectionTeamNameTable,
                                     CourseRoster roster, String courseId, String userEmail, Role role,
                                     String feedbackSessionName, String sectionToView) {
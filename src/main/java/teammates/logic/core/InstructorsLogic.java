@@ -79,7 +79,9 @@ public class InstructorsLogic {
         
         log.info("going to create instructor :\n" + instructorToAdd.toString());
         
-        return instructorsDb.createInstructor(instructorToAdd);
+        InstructorAttributes createdInstructor = instructorsDb.createInstructor(instructorToAdd);
+        UserRolesCache.invalidate(instructorToAdd.googleId);
+        return createdInstructor;
     }
 
     public void setArchiveStatusOfInstructor(String googleId, String courseId, boolean archiveStatus)
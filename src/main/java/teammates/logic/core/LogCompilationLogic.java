@@ -0,0 +1,34 @@
+package teammates.logic.core;
+
+import teammates.common.util.LogCursor;
+import teammates.storage.api.LogCompilationStateDb;
+
+/**
+ * Handles the logic related to the cursors up to which the compilations of the application logs have gone,
+ * so that each compilation reads only the logs written since it was last done.
+ */
+public class LogCompilationLogic {
+
+    private static LogCompilationLogic instance;
+    private static final LogCompilationStateDb logCompilationStateDb = new LogCompilationStateDb();
+
+    public static LogCompilationLogic inst() {
+        if (instance == null) {
+            instance = new LogCompilationLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * @return the cursor of the compilation named {@code compilationName},
+     *         or null if the compilation has not been done before
+     */
+    public LogCursor getCursor(String compilationName) {
+        return logCompilationStateDb.getCursor(compilationName);
+    }
+
+    public void saveCursor(String compilationName, LogCursor cursor) {
+        logCompilationStateDb.saveCursor(compilationName, cursor);
+    }
+
+}
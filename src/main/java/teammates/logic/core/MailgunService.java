@@ -1,7 +1,11 @@
 package teammates.logic.core;
 
+import java.util.List;
+
 import javax.ws.rs.core.MediaType;
 
+import org.json.JSONObject;
+
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
@@ -17,6 +21,9 @@ import teammates.common.util.EmailWrapper;
  */
 public class MailgunService extends EmailSenderService {
     
+    /** Mailgun accepts at most 1000 recipients in a batch sending */
+    private static final int MAX_BATCH_SIZE = 1000;
+    
     /**
      * {@inheritDoc}
      */
@@ -42,9 +49,58 @@ public class MailgunService extends EmailSenderService {
         return formData;
     }
     
+    /**
+     * Parses a {@code batch} of emails sharing the same template into a single batch sending,
+     * in which Mailgun sends a separate email to each recipient, populating the placeholders
+     * of the template with the recipient variables of that recipient.
+     */
+    public FormDataMultiPart parseToEmailBatch(List<EmailWrapper> batch) {
+        EmailWrapper first = batch.get(0);
+        FormDataMultiPart formData = new FormDataMultiPart();
+        
+        String sender = first.getSenderName() == null || first.getSenderName().isEmpty()
+                        ? first.getSenderEmail()
+                        : first.getSenderName() + " <" + first.getSenderEmail() + ">";
+        formData.field("from", sender);
+        
+        String[] keys = getContentTemplateKeys(first);
+        JSONObject recipientVariables = new JSONObject();
+        for (EmailWrapper wrapper : batch) {
+            formData.field("to", wrapper.getRecipient());
+            
+            JSONObject variables = new JSONObject();
+            for (int k = 0; k < keys.length; k++) {
+                variables.put(keys[k], wrapper.getContentTemplateValues()[2 * k + 1]);
+            }
+            recipientVariables.put(wrapper.getRecipient(), variables);
+        }
+        formData.field("recipient-variables", recipientVariables.toString());
+        
+        formData.field("h:Reply-To", first.getReplyTo());
+        formData.field("subject", first.getSubject());
+        formData.field("html", getContentTemplateForBatch(batch, "%%recipient.%s%%"));
+        
+        return formData;
+    }
+    
     @Override
     protected void sendEmailWithService(EmailWrapper wrapper) {
         FormDataMultiPart email = parseToEmail(wrapper);
+        send(email);
+    }
+    
+    @Override
+    protected void sendEmailBatchWithService(List<EmailWrapper> batch) {
+        FormDataMultiPart email = parseToEmailBatch(batch);
+        send(email);
+    }
+    
+    @Override
+    protected int getMaxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+    
+    private void send(FormDataMultiPart email) {
         Client client = Client.create();
         client.addFilter(new HTTPBasicAuthFilter("api", Config.MAILGUN_APIKEY));
         WebResource webResource =
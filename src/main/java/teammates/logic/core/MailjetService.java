@@ -1,5 +1,7 @@
 package teammates.logic.core;
 
+import java.util.List;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
@@ -23,6 +25,9 @@ import teammates.common.util.EmailWrapper;
  */
 public class MailjetService extends EmailSenderService {
     
+    /** Mailjet accepts at most 50 recipients in one message */
+    private static final int MAX_BATCH_SIZE = 50;
+    
     /**
      * {@inheritDoc}
      */
@@ -46,9 +51,58 @@ public class MailjetService extends EmailSenderService {
         return request;
     }
     
+    /**
+     * Parses a {@code batch} of emails sharing the same template into a single message,
+     * which Mailjet sends separately to each of its recipients, populating the placeholders
+     * of the template with the variables of that recipient.
+     */
+    public MailjetRequest parseToEmailBatch(List<EmailWrapper> batch) {
+        EmailWrapper first = batch.get(0);
+        MailjetRequest request = new MailjetRequest(Email.resource);
+        request.property(Email.FROMEMAIL, first.getSenderEmail());
+        if (first.getSenderName() != null && !first.getSenderName().isEmpty()) {
+            request.property(Email.FROMNAME, first.getSenderName());
+        }
+        
+        String[] keys = getContentTemplateKeys(first);
+        JSONArray recipients = new JSONArray();
+        for (EmailWrapper wrapper : batch) {
+            JSONObject variables = new JSONObject();
+            for (int k = 0; k < keys.length; k++) {
+                String value = wrapper.getContentTemplateValues()[2 * k + 1];
+                variables.put(keys[k], value);
+                variables.put(keys[k] + TEXT_KEY_SUFFIX, getTextValue(value));
+            }
+            recipients.put(new JSONObject().put("Email", wrapper.getRecipient()).put("Vars", variables));
+        }
+        request.property(Email.RECIPIENTS, recipients);
+        
+        request.property(Email.HEADERS, new JSONObject().put("Reply-To", first.getReplyTo()));
+        request.property(Email.SUBJECT, first.getSubject());
+        request.property(Email.MJTEMPLATELANGUAGE, true);
+        request.property(Email.HTMLPART, getContentTemplateForBatch(batch, "{{var:%s}}"));
+        request.property(Email.TEXTPART, getContentTextTemplateForBatch(batch, "{{var:%s}}"));
+        return request;
+    }
+    
     @Override
     protected void sendEmailWithService(EmailWrapper wrapper) throws MailjetException {
         MailjetRequest email = parseToEmail(wrapper);
+        send(email);
+    }
+    
+    @Override
+    protected void sendEmailBatchWithService(List<EmailWrapper> batch) throws MailjetException {
+        MailjetRequest email = parseToEmailBatch(batch);
+        send(email);
+    }
+    
+    @Override
+    protected int getMaxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+    
+    private void send(MailjetRequest email) throws MailjetException {
         MailjetClient mailjet = new MailjetClient(Config.MAILJET_APIKEY, Config.MAILJET_SECRETKEY);
         MailjetResponse response = mailjet.post(email);
         if (response.getStatus() != SUCCESS_CODE) {
@@ -0,0 +1,111 @@
+package teammates.logic.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.UserType.Role;
+
+/**
+ * Decides which feedback response comments one user can see, giving the same results as
+ * {@link FeedbackResponseCommentsLogic#isResponseCommentVisibleForUser} for the comments of a whole session.<br>
+ * The participant types a comment is visible to are kept as a bitmask. The mask of the comments following
+ * the visibility of their question is worked out once per question, and the types the user sees all comments
+ * visible to (instructors or students) once per user, so that most comments are decided by a couple of bit tests.
+ */
+public class ResponseCommentVisibilityEvaluator {
+
+    private static final int GIVER = getMask(FeedbackParticipantType.GIVER);
+    private static final int RECEIVER = getMask(FeedbackParticipantType.RECEIVER);
+    private static final int OWN_TEAM_MEMBERS = getMask(FeedbackParticipantType.OWN_TEAM_MEMBERS);
+    private static final int RECEIVER_TEAM_MEMBERS = getMask(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS);
+
+    private final String userEmail;
+    private final boolean isStudent;
+    private final String userTeam;
+    private final Set<String> studentsEmailInTeam;
+
+    /** The participant types whose comments the user can see whatever the response */
+    private final int typesVisibleToUser;
+
+    private final Map<String, Integer> visibleTypesOfQuestions = new HashMap<String, Integer>();
+
+    /**
+     * @param student the user as a student, needed if {@code role} is {@link Role#STUDENT}
+     * @param studentsEmailInTeam the emails of the students in the team of the user, empty if the user is not a student
+     */
+    public ResponseCommentVisibilityEvaluator(String userEmail, Role role, StudentAttributes student,
+                                              Set<String> studentsEmailInTeam) {
+        this.userEmail = userEmail;
+        this.isStudent = role == Role.STUDENT;
+        this.userTeam = isStudent ? student.team : null;
+        this.studentsEmailInTeam = studentsEmailInTeam;
+        this.typesVisibleToUser = role == Role.INSTRUCTOR ? getMask(FeedbackParticipantType.INSTRUCTORS)
+                                : isStudent ? getMask(FeedbackParticipantType.STUDENTS)
+                                : 0;
+    }
+
+    /**
+     * @return whether the user can see {@code comment} on {@code response} to {@code question},
+     *         false if the response or the question is not known, e.g. because the user cannot see it
+     */
+    public boolean isVisible(FeedbackResponseCommentAttributes comment, FeedbackResponseAttributes response,
+                             FeedbackQuestionAttributes question) {
+        if (response == null || question == null) {
+            return false;
+        }
+        int visibleTypes = comment.isVisibilityFollowingFeedbackQuestion
+                         ? getVisibleTypes(question)
+                         : getMask(comment.showCommentTo);
+
+        if ((visibleTypes & typesVisibleToUser) != 0 || comment.giverEmail.equals(userEmail)) {
+            return true;
+        }
+        if ((visibleTypes & RECEIVER) != 0
+                && (response.recipient.equals(userEmail)
+                    || isStudent && question.recipientType == FeedbackParticipantType.TEAMS
+                       && response.recipient.equals(userTeam))) {
+            return true;
+        }
+        if ((visibleTypes & GIVER) != 0 && response.giver.equals(userEmail)) {
+            return true;
+        }
+        if (((visibleTypes & OWN_TEAM_MEMBERS) != 0 || question.giverType == FeedbackParticipantType.TEAMS)
+                && studentsEmailInTeam.contains(response.giver)) {
+            return true;
+        }
+        return (visibleTypes & RECEIVER_TEAM_MEMBERS) != 0 && studentsEmailInTeam.contains(response.recipient);
+    }
+
+    /**
+     * @return the types the comments following the visibility of {@code question} are visible to,
+     *         which include the giver of the response as such comments are always visible to the giver
+     */
+    private int getVisibleTypes(FeedbackQuestionAttributes question) {
+        Integer visibleTypes = visibleTypesOfQuestions.get(question.getId());
+        if (visibleTypes == null) {
+            visibleTypes = getMask(question.showResponsesTo) | GIVER;
+            visibleTypesOfQuestions.put(question.getId(), visibleTypes);
+        }
+        return visibleTypes;
+    }
+
+    private static int getMask(List<FeedbackParticipantType> types) {
+        int mask = 0;
+        for (FeedbackParticipantType type : types) {
+            mask |= getMask(type);
+        }
+        return mask;
+    }
+
+    private static int getMask(FeedbackParticipantType type) {
+        return 1 << type.ordinal();
+    }
+
+}
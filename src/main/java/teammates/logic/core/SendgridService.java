@@ -1,5 +1,7 @@
 package teammates.logic.core;
 
+import java.util.List;
+
 import org.jsoup.Jsoup;
 
 import com.sendgrid.SendGrid;
@@ -18,6 +20,9 @@ import teammates.common.util.EmailWrapper;
  */
 public class SendgridService extends EmailSenderService {
     
+    /** SendGrid recommends no more than 1000 recipients in the X-SMTPAPI header of a message */
+    private static final int MAX_BATCH_SIZE = 1000;
+    
     /**
      * {@inheritDoc}
      */
@@ -39,9 +44,65 @@ public class SendgridService extends EmailSenderService {
         return email;
     }
     
+    /**
+     * Parses a {@code batch} of emails sharing the same template into a single email whose
+     * recipients are in the X-SMTPAPI header, so that SendGrid sends a separate email to
+     * each of them, populating the placeholders of the template with their substitutions.
+     */
+    public Email parseToEmailBatch(List<EmailWrapper> batch) {
+        EmailWrapper first = batch.get(0);
+        Email email = new Email();
+        email.setFrom(first.getSenderEmail());
+        if (first.getSenderName() != null && !first.getSenderName().isEmpty()) {
+            email.setFromName(first.getSenderName());
+        }
+        email.setReplyTo(first.getReplyTo());
+        email.setSubject(first.getSubject());
+        // the placeholders of the template are used as the substitution tags as they are
+        email.setHtml(getContentTemplateForBatch(batch, "${%s}"));
+        email.setText(getContentTextTemplateForBatch(batch, "${%s}"));
+        
+        String[] recipients = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            recipients[i] = batch.get(i).getRecipient();
+        }
+        email.addSmtpApiTo(recipients);
+        
+        String[] keys = getContentTemplateKeys(first);
+        for (int k = 0; k < keys.length; k++) {
+            String[] substitutions = new String[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                substitutions[i] = batch.get(i).getContentTemplateValues()[2 * k + 1];
+            }
+            email.addSubstitution("${" + keys[k] + "}", substitutions);
+            
+            String[] textSubstitutions = new String[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                textSubstitutions[i] = getTextValue(substitutions[i]);
+            }
+            email.addSubstitution("${" + keys[k] + TEXT_KEY_SUFFIX + "}", textSubstitutions);
+        }
+        return email;
+    }
+    
     @Override
     protected void sendEmailWithService(EmailWrapper wrapper) throws SendGridException {
         Email email = parseToEmail(wrapper);
+        send(email);
+    }
+    
+    @Override
+    protected void sendEmailBatchWithService(List<EmailWrapper> batch) throws SendGridException {
+        Email email = parseToEmailBatch(batch);
+        send(email);
+    }
+    
+    @Override
+    protected int getMaxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+    
+    private void send(Email email) throws SendGridException {
         SendGrid sendgrid = new SendGrid(Config.SENDGRID_APIKEY);
         Response response = sendgrid.send(email);
         if (response.getCode() != SUCCESS_CODE) {
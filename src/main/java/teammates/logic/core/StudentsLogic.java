@@ -76,6 +76,7 @@ public class StudentsLogic {
     public void createStudentCascade(StudentAttributes studentData, boolean hasDocument)
             throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
         studentsDb.createStudent(studentData, hasDocument);
+        UserRolesCache.invalidate(studentData.googleId);
         
         if (!coursesLogic.isCoursePresent(studentData.course)) {
             throw new EntityDoesNotExistException(
@@ -262,6 +263,8 @@ public class StudentsLogic {
         
         studentsDb.updateStudent(student.course, originalEmail, student.name, student.team, student.section,
                                  student.email, student.googleId, student.comments, hasDocument, false);
+        UserRolesCache.invalidate(originalStudent.googleId);
+        UserRolesCache.invalidate(student.googleId);
         
         // cascade email change, if any
         if (!originalEmail.equals(student.email)) {
@@ -279,6 +282,7 @@ public class StudentsLogic {
     
         studentsDb.verifyStudentExists(courseId, originalEmail);
         StudentAttributes originalStudent = getStudentForEmail(courseId, originalEmail);
+        String originalGoogleId = originalStudent.googleId;
         originalStudent.googleId = null;
         
         if (!originalStudent.isValid()) {
@@ -287,6 +291,7 @@ public class StudentsLogic {
         studentsDb.updateStudent(originalStudent.course, originalEmail, originalStudent.name,
                                  originalStudent.team, originalStudent.section, originalStudent.email,
                                  originalStudent.googleId, originalStudent.comments, hasDocument, false);
+        UserRolesCache.invalidate(originalGoogleId);
     }
 
     public List<StudentAttributes> enrollStudents(String enrollLines,
@@ -614,8 +619,12 @@ public class StudentsLogic {
         // delete responses before deleting the student as we need to know the student's team.
         frLogic.deleteFeedbackResponsesForStudentAndCascade(courseId, studentEmail);
         commentsLogic.deleteCommentsForStudent(courseId, studentEmail);
-        fsLogic.deleteStudentFromRespondantsList(getStudentForEmail(courseId, studentEmail));
+        StudentAttributes student = getStudentForEmail(courseId, studentEmail);
+        fsLogic.deleteStudentFromRespondantsList(student);
         studentsDb.deleteStudent(courseId, studentEmail, hasDocument);
+        if (student != null) {
+            UserRolesCache.invalidate(student.googleId);
+        }
     }
 
     public void deleteStudentsForGoogleId(String googleId) {
@@ -624,6 +633,7 @@ public class StudentsLogic {
             fsLogic.deleteStudentFromRespondantsList(student);
         }
         studentsDb.deleteStudentsForGoogleId(googleId);
+        UserRolesCache.invalidate(googleId);
     }
 
     public void deleteStudentsForGoogleIdWithoutDocument(String googleId) {
@@ -632,6 +642,7 @@ public class StudentsLogic {
             fsLogic.deleteStudentFromRespondantsList(student);
         }
         studentsDb.deleteStudentsForGoogleIdWithoutDocument(googleId);
+        UserRolesCache.invalidate(googleId);
     }
     
     public void deleteStudentsForGoogleIdAndCascade(String googleId) {
@@ -1,9 +1,14 @@
 package teammates.logic.core;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import com.google.appengine.api.taskqueue.Queue;
+import com.google.appengine.api.taskqueue.QueueConstants;
 import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskAlreadyExistsException;
+import com.google.appengine.api.taskqueue.TaskHandle;
 import com.google.appengine.api.taskqueue.TaskOptions;
 
 /**
@@ -68,4 +73,125 @@ public class TaskQueuesLogic {
         
         requiredQueue.add(taskToBeAdded);
     }
+    
+    /**
+     * Adds a task with the given {@code taskName} unless a task with that name was added before,
+     * so that the same work asked for many times in a short while is done by one task.<br>
+     * The name is kept by the queue for days after the task is run, so it should include e.g. a time bucket.
+     * @return false if a task with that name was added before
+     */
+    public boolean createAndAddNamedDeferredTask(String queueName, String workerUrl, String taskName,
+                                                 Map<String, String> paramMap, long countdownTime) {
+        Queue requiredQueue = QueueFactory.getQueue(queueName);
+        TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl).taskName(taskName);
+        taskToBeAdded.countdownMillis(countdownTime);
+        
+        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
+            taskToBeAdded = taskToBeAdded.param(entry.getKey(), entry.getValue());
+        }
+        
+        try {
+            requiredQueue.add(taskToBeAdded);
+            return true;
+        } catch (TaskAlreadyExistsException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Creates a task with the given parameters without adding it to any queue,
+     * so that many such tasks can be added at once with {@link #addTasks(String, List)}.
+     */
+    public TaskOptions createDeferredTaskMultisetParam(String workerUrl, Map<String, String[]> paramMap,
+                                                       long countdownTime) {
+        TaskOptions task = TaskOptions.Builder.withUrl(workerUrl);
+        task.countdownMillis(countdownTime);
+        
+        for (Map.Entry<String, String[]> entry : paramMap.entrySet()) {
+            for (String value : entry.getValue()) {
+                task = task.param(entry.getKey(), value);
+            }
+        }
+        return task;
+    }
+    
+    /**
+     * Adds the given {@code tasks} to the queue, with one call to the task queue service
+     * for every {@link QueueConstants#maxTasksPerAdd()} tasks instead of one call per task.
+     */
+    public void addTasks(String queueName, List<TaskOptions> tasks) {
+        Queue requiredQueue = QueueFactory.getQueue(queueName);
+        int batchSize = QueueConstants.maxTasksPerAdd();
+        
+        for (int i = 0; i < tasks.size(); i += batchSize) {
+            requiredQueue.add(tasks.subList(i, Math.min(i + batchSize, tasks.size())));
+        }
+    }
+    
+    /**
+     * Creates a task to be added to a pull queue with {@link #addTasks(String, List)}.
+     * Such a task is not run on its own, but leased by a worker with {@link #leaseTasks(String, long, int)}.
+     */
+    public TaskOptions createPullTaskMultisetParam(Map<String, String[]> paramMap) {
+        TaskOptions task = TaskOptions.Builder.withMethod(TaskOptions.Method.PULL);
+        
+        for (Map.Entry<String, String[]> entry : paramMap.entrySet()) {
+            for (String value : entry.getValue()) {
+                task = task.param(entry.getKey(), value);
+            }
+        }
+        return task;
+    }
+    
+    /**
+     * Creates a task with the given {@code tag} to be added to a pull queue with {@link #addTasks(String, List)},
+     * so that the tasks with the same tag can be leased together with
+     * {@link #leaseTasksByTag(String, long, int, String)}.
+     */
+    public TaskOptions createTaggedPullTask(String tag, Map<String, String> paramMap) {
+        TaskOptions task = TaskOptions.Builder.withMethod(TaskOptions.Method.PULL).tag(tag);
+        
+        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
+            task = task.param(entry.getKey(), entry.getValue());
+        }
+        return task;
+    }
+    
+    /**
+     * Leases up to {@code maxTasks} tasks from the pull queue, so that no other worker
+     * can lease them for {@code leaseSeconds} seconds.
+     */
+    public List<TaskHandle> leaseTasks(String queueName, long leaseSeconds, int maxTasks) {
+        Queue requiredQueue = QueueFactory.getQueue(queueName);
+        return requiredQueue.leaseTasks(leaseSeconds, TimeUnit.SECONDS, maxTasks);
+    }
+    
+    /**
+     * Leases up to {@code maxTasks} tasks with the given {@code tag} from the pull queue, so that no other
+     * worker can lease them for {@code leaseSeconds} seconds.
+     */
+    public List<TaskHandle> leaseTasksByTag(String queueName, long leaseSeconds, int maxTasks, String tag) {
+        Queue requiredQueue = QueueFactory.getQueue(queueName);
+        return requiredQueue.leaseTasksByTag(leaseSeconds, TimeUnit.SECONDS, maxTasks, tag);
+    }
+    
+    /**
+     * Deletes leased tasks that have been completed from the pull queue.
+     */
+    public void deleteTasks(String queueName, List<TaskHandle> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        QueueFactory.getQueue(queueName).deleteTask(tasks);
+    }
+    
+    /**
+     * Ends the lease of tasks that could not be completed, so that they can be leased again at once.
+     */
+    public void releaseTasks(String queueName, List<TaskHandle> tasks) {
+        Queue requiredQueue = QueueFactory.getQueue(queueName);
+        for (TaskHandle task : tasks) {
+            requiredQueue.modifyTaskLease(task, 0, TimeUnit.SECONDS);
+        }
+    }
 }
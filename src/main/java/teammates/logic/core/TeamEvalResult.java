@@ -2,6 +2,7 @@ package teammates.logic.core;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import teammates.common.util.Const;
@@ -21,6 +22,14 @@ public class TeamEvalResult {
     /** did Not SuBmit */
     public static final int NSB = Const.POINTS_NOT_SUBMITTED;
     private static final Logger log = Utils.getLogger();
+    
+    /** buffers for the intermediate values of the calculation, reused by the results calculated in a thread */
+    private static final ThreadLocal<ScratchBuffers> scratchBuffers = new ThreadLocal<ScratchBuffers>() {
+        @Override
+        protected ScratchBuffers initialValue() {
+            return new ScratchBuffers();
+        }
+    };
 
     /** submission values originally from students of the team */
     public int[][] claimed;
@@ -43,104 +52,255 @@ public class TeamEvalResult {
         /*This is the only method that should be public. However, many of the
          * other methods are set as public for the ease of testing.
          */
-
-        log.fine("==================\n" + "starting result calculation for\n"
-                + pointsToString(submissionValues));
-
+        
+        // The intermediate matrices are kept in reusable flat buffers, [giverIndex * teamSize + recipientIndex],
+        // and only the results are allocated. The steps give the same values as the public helper methods.
+        int teamSize = submissionValues.length;
+        ScratchBuffers buffers = scratchBuffers.get();
+        buffers.ensureCapacity(teamSize);
+        int[] claimedSanitized = buffers.claimedSanitized;
+        double[] claimedSanitizedNormalized = buffers.claimedSanitizedNormalized;
+        double[] peerContributionRatio = buffers.peerContributionRatio;
+        double[] averagePerceived = buffers.averagePerceived;
+        double[] normalizedAveragePerceivedAsDouble = buffers.normalizedAveragePerceived;
+        double[] row = buffers.row;
+        
+        boolean isLoggingDetails = log.isLoggable(Level.FINE);
+        if (isLoggingDetails) {
+            log.fine("==================\n" + "starting result calculation for\n"
+                    + pointsToString(submissionValues));
+        }
+        
         claimed = submissionValues;
-
-        normalizedClaimed = normalizeValues(claimed);
-
-        int[][] claimedSanitized = sanitizeInput(submissionValues);
-        log.fine("claimed values sanitized :\n"
-                + pointsToString(claimedSanitized));
-
-        double[][] claimedSanitizedNormalized = normalizeValues(intToDouble(claimedSanitized));
-        log.fine("claimed values sanitized and normalized :\n"
-                + pointsToString(claimedSanitizedNormalized));
-
-        double[][] peerContributionRatioAsDouble = calculatePeerContributionRatio(claimedSanitizedNormalized);
-        log.fine("peerContributionRatio as double :\n"
-                + pointsToString(peerContributionRatioAsDouble));
-
-        double[] averagePerceivedAsDouble = averageColumns(peerContributionRatioAsDouble);
-        log.fine("averagePerceived as double:\n"
-                + replaceMagicNumbers(Arrays.toString(averagePerceivedAsDouble)));
-
-        double[] normalizedAveragePerceivedAsDouble = normalizeValues(averagePerceivedAsDouble);
-        log.fine("normalizedAveragePerceivedAsDouble as double:\n"
-                + replaceMagicNumbers(Arrays
-                        .toString(normalizedAveragePerceivedAsDouble)));
-
-        double[][] normalizedPeerContributionRatioAsDouble =
-                adjustPeerContributionRatioToTallyNormalizedAveragePerceived(peerContributionRatioAsDouble);
-        log.fine("normalizedPeerContributionRatio as double :\n"
-                + pointsToString(peerContributionRatioAsDouble));
-
-        normalizedPeerContributionRatio = doubleToInt(normalizedPeerContributionRatioAsDouble);
-        log.fine("normalizedUnbiasedClaimed as int :\n"
-                + pointsToString(normalizedPeerContributionRatio));
-
-        denormalizedAveragePerceived = calculatePerceivedForStudents(
-                claimedSanitized, normalizedAveragePerceivedAsDouble);
-        log.fine("perceived to students :\n"
-                + pointsToString(denormalizedAveragePerceived));
-
-        normalizedAveragePerceived = doubleToInt(normalizedAveragePerceivedAsDouble);
-
-        log.fine("Final result:\n" + this.toString());
-
-        log.fine("==================");
+        
+        normalizedClaimed = new int[teamSize][];
+        for (int i = 0; i < teamSize; i++) {
+            for (int j = 0; j < teamSize; j++) {
+                row[j] = submissionValues[i][j];
+            }
+            normalizedClaimed[i] = roundToInt(normalizeInPlace(row, 0, teamSize), 0, teamSize);
+        }
+        
+        for (int i = 0; i < teamSize * teamSize; i++) {
+            int points = submissionValues[i / teamSize][i % teamSize];
+            claimedSanitized[i] = isSanitized(points) ? points : NA;
+            claimedSanitizedNormalized[i] = claimedSanitized[i];
+        }
+        for (int i = 0; i < teamSize; i++) {
+            normalizeInPlace(claimedSanitizedNormalized, i * teamSize, teamSize);
+        }
+        if (isLoggingDetails) {
+            log.fine("claimed values sanitized :\n"
+                    + pointsToString(toIntMatrix(claimedSanitized, teamSize)));
+            log.fine("claimed values sanitized and normalized :\n"
+                    + pointsToString(toMatrix(claimedSanitizedNormalized, teamSize)));
+        }
+        
+        // self ratings removed, then normalized again
+        for (int i = 0; i < teamSize * teamSize; i++) {
+            peerContributionRatio[i] = i / teamSize == i % teamSize ? NA : claimedSanitizedNormalized[i];
+        }
+        for (int i = 0; i < teamSize; i++) {
+            normalizeInPlace(peerContributionRatio, i * teamSize, teamSize);
+        }
+        if (isLoggingDetails) {
+            log.fine("peerContributionRatio as double :\n"
+                    + pointsToString(toMatrix(peerContributionRatio, teamSize)));
+        }
+        
+        averageColumnsInto(peerContributionRatio, teamSize, averagePerceived);
+        if (isLoggingDetails) {
+            log.fine("averagePerceived as double:\n"
+                    + replaceMagicNumbers(Arrays.toString(Arrays.copyOf(averagePerceived, teamSize))));
+        }
+        
+        // the ratios are adjusted to tally with the normalized average perceived by the same factor
+        double averagePerceivedFactor = calculateFactor(averagePerceived, 0, teamSize);
+        for (int i = 0; i < teamSize; i++) {
+            normalizedAveragePerceivedAsDouble[i] = averagePerceived[i];
+        }
+        multiplyByFactorInPlace(averagePerceivedFactor, normalizedAveragePerceivedAsDouble, 0, teamSize);
+        if (isLoggingDetails) {
+            log.fine("normalizedAveragePerceivedAsDouble as double:\n"
+                    + replaceMagicNumbers(Arrays.toString(
+                            Arrays.copyOf(normalizedAveragePerceivedAsDouble, teamSize))));
+            log.fine("normalizedPeerContributionRatio as double :\n"
+                    + pointsToString(toMatrix(peerContributionRatio, teamSize)));
+        }
+        
+        normalizedPeerContributionRatio = new int[teamSize][];
+        for (int i = 0; i < teamSize; i++) {
+            multiplyByFactorInPlace(averagePerceivedFactor, peerContributionRatio, i * teamSize, teamSize);
+            normalizedPeerContributionRatio[i] = roundToInt(peerContributionRatio, i * teamSize, teamSize);
+        }
+        if (isLoggingDetails) {
+            log.fine("normalizedUnbiasedClaimed as int :\n"
+                    + pointsToString(normalizedPeerContributionRatio));
+        }
+        
+        denormalizedAveragePerceived = new int[teamSize][];
+        for (int k = 0; k < teamSize; k++) {
+            calculatePerceivedForStudentInto(claimedSanitized, k * teamSize, teamSize,
+                                             normalizedAveragePerceivedAsDouble, row);
+            denormalizedAveragePerceived[k] = roundToInt(row, 0, teamSize);
+        }
+        if (isLoggingDetails) {
+            log.fine("perceived to students :\n"
+                    + pointsToString(denormalizedAveragePerceived));
+        }
+        
+        normalizedAveragePerceived = roundToInt(normalizedAveragePerceivedAsDouble, 0, teamSize);
+        
+        if (isLoggingDetails) {
+            log.fine("Final result:\n" + this.toString());
+            log.fine("==================");
+        }
     }
-
+    
     /**
-     * Replaces all missing points (for various reasons such as 'not sure' or
-     * 'did not submit') with NA
+     * Buffers for the intermediate values of the calculation, reused by the results calculated in a thread.
      */
-    private int[][] sanitizeInput(int[][] input) {
-        int teamSize = input.length;
-        int[][] output = new int[teamSize][teamSize];
+    private static final class ScratchBuffers {
+        int[] claimedSanitized = new int[0];
+        double[] claimedSanitizedNormalized = new double[0];
+        double[] peerContributionRatio = new double[0];
+        double[] averagePerceived = new double[0];
+        double[] normalizedAveragePerceived = new double[0];
+        double[] row = new double[0];
+        
+        void ensureCapacity(int teamSize) {
+            if (row.length >= teamSize) {
+                return;
+            }
+            claimedSanitized = new int[teamSize * teamSize];
+            claimedSanitizedNormalized = new double[teamSize * teamSize];
+            peerContributionRatio = new double[teamSize * teamSize];
+            averagePerceived = new double[teamSize];
+            normalizedAveragePerceived = new double[teamSize];
+            row = new double[teamSize];
+        }
+    }
+    
+    /**
+     * Same as {@link #normalizeValues(double[])} for {@code length} values of {@code values} from {@code offset},
+     * in place.
+     * @return {@code values}
+     */
+    private static double[] normalizeInPlace(double[] values, int offset, int length) {
+        multiplyByFactorInPlace(calculateFactor(values, offset, length), values, offset, length);
+        return values;
+    }
+    
+    private static void multiplyByFactorInPlace(double factor, double[] values, int offset, int length) {
+        if (factor == 0) {
+            return;
+        }
+        for (int j = offset; j < offset + length; j++) {
+            double value = values[j];
+            if (!isSpecialValue((int) value)) {
+                values[j] = value * factor;
+            }
+        }
+    }
+    
+    /**
+     * Same as {@link #averageColumns(double[][])} for the square matrix in {@code matrix}.
+     */
+    private static void averageColumnsInto(double[] matrix, int teamSize, double[] output) {
+        verifySanitized(matrix, 0, teamSize * teamSize);
         for (int i = 0; i < teamSize; i++) {
+            double sum = 0;
+            int count = 0;
             for (int j = 0; j < teamSize; j++) {
-                int points = input[i][j];
-                boolean pointsNotGiven = points == Const.POINTS_NOT_SUBMITTED
-                                         || points == Const.POINTS_NOT_SURE;
-                output[i][j] = pointsNotGiven ? NA : points;
+                double value = matrix[j * teamSize + i];
+                if (value == NA) {
+                    continue;
+                }
+                sum += value;
+                count++;
             }
+            // omit calculation if no data points
+            output[i] = count == 0 ? NA : sum / count;
         }
-        return output;
     }
-
-    private static double[][] calculatePeerContributionRatio(double[][] input) {
-
-        int teamSize = input.length;
-
-        double[][] selfRatingsRemoved = removeSelfRatings(input);
-
-        double[][] selfRatingRemovedAndNormalized = new double[teamSize][teamSize];
+    
+    /**
+     * Same as {@link #calculatePerceivedForStudent(int[], double[])} for the row of {@code claimedSanitized}
+     * from {@code offset}, without rounding the values put in {@code output}.
+     */
+    private static void calculatePerceivedForStudentInto(int[] claimedSanitized, int offset, int teamSize,
+            double[] normalizedAveragePerceivedAsDouble, double[] output) {
+        double sumOfPerceived = teamSize == 0 ? 0 : NA;
+        double sumOfActualAsDouble = teamSize == 0 ? 0 : NA;
         for (int i = 0; i < teamSize; i++) {
-            selfRatingRemovedAndNormalized[i] = normalizeValues(selfRatingsRemoved[i]);
+            int claimedPoints = claimedSanitized[offset + i];
+            verify("Unsanitized value received ", isSanitized(claimedPoints));
+            
+            // remove from each value the value matching special values in the other
+            double perceived = isSpecialValue(claimedPoints) ? NA : normalizedAveragePerceivedAsDouble[i];
+            double actual = isSpecialValue((int) normalizedAveragePerceivedAsDouble[i]) ? NA : claimedPoints;
+            verifySanitized(perceived);
+            verifySanitized(actual);
+            
+            if (perceived != NA) {
+                sumOfPerceived = sumOfPerceived == NA ? perceived : sumOfPerceived + perceived;
+            }
+            if (actual != NA) {
+                sumOfActualAsDouble = sumOfActualAsDouble == NA ? actual : sumOfActualAsDouble + actual;
+            }
         }
-
-        return selfRatingRemovedAndNormalized;
+        double sumOfActual = (int) sumOfActualAsDouble;
+        
+        // if the student did not submit
+        if (sumOfActual == NA) {
+            sumOfActual = sumOfPerceived;
+        }
+        
+        double factor = sumOfActual / sumOfPerceived;
+        
+        for (int i = 0; i < teamSize; i++) {
+            output[i] = normalizedAveragePerceivedAsDouble[i];
+        }
+        multiplyByFactorInPlace(factor, output, 0, teamSize);
     }
-
-    private static double[][] adjustPeerContributionRatioToTallyNormalizedAveragePerceived(
-            double[][] peerContributionRatio) {
-        double[] columnsAveraged = averageColumns(peerContributionRatio);
-        double factor = calculateFactor(columnsAveraged);
-        return multiplyByFactor(factor, peerContributionRatio);
+    
+    private static int[] roundToInt(double[] values, int offset, int length) {
+        int[] rounded = new int[length];
+        for (int i = 0; i < length; i++) {
+            rounded[i] = (int) (Math.round(values[offset + i]));
+        }
+        return rounded;
     }
-
-    private int[][] calculatePerceivedForStudents(int[][] claimedSanitized,
-            double[] normalizedAveragePerceivedAsDouble) {
-        int teamSize = claimedSanitized.length;
-        int[][] output = new int[teamSize][teamSize];
-        for (int k = 0; k < teamSize; k++) {
-            output[k] = calculatePerceivedForStudent(claimedSanitized[k],
-                    normalizedAveragePerceivedAsDouble);
+    
+    private static double[][] toMatrix(double[] values, int teamSize) {
+        double[][] matrix = new double[teamSize][];
+        for (int i = 0; i < teamSize; i++) {
+            matrix[i] = Arrays.copyOfRange(values, i * teamSize, (i + 1) * teamSize);
+        }
+        return matrix;
+    }
+    
+    private static int[][] toIntMatrix(int[] values, int teamSize) {
+        int[][] matrix = new int[teamSize][];
+        for (int i = 0; i < teamSize; i++) {
+            matrix[i] = Arrays.copyOfRange(values, i * teamSize, (i + 1) * teamSize);
+        }
+        return matrix;
+    }
+    
+    private static void verifySanitized(double[] values, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (!isSanitized((int) (Math.round(values[i])))) {
+                verify("Unsanitized value in " + Arrays.toString(Arrays.copyOfRange(values, offset, offset + length)),
+                       false);
+            }
+        }
+    }
+    
+    private static void verifySanitized(double value) {
+        if (!isSanitized((int) (Math.round(value)))) {
+            verify("Unsanitized value " + value, false);
         }
-        return output;
     }
 
     public static int[] calculatePerceivedForStudent(int[] claimedSanitizedRow,
@@ -187,15 +347,6 @@ public class TeamEvalResult {
         return value == NA || value == NSU || value == NSB;
     }
 
-    private static double[][] multiplyByFactor(double factor, double[][] input) {
-        int teamSize = input.length;
-        double[][] output = new double[teamSize][teamSize];
-        for (int i = 0; i < teamSize; i++) {
-            output[i] = multiplyByFactor(factor, input[i]);
-        }
-        return output;
-    }
-
     private static double[] multiplyByFactor(double factor, double[] input) {
         int teamSize = input.length;
         double[] output = new double[teamSize];
@@ -227,8 +378,7 @@ public class TeamEvalResult {
             return 0;
         }
 
-        verify("Unsanitized value in " + Arrays.toString(input),
-                isSanitized(doubleToInt(input)));
+        verifySanitized(input, 0, input.length);
 
         double sum = NA;
         for (int i = 0; i < input.length; i++) {
@@ -279,9 +429,13 @@ public class TeamEvalResult {
     }
 
     private static double calculateFactor(double[] input) {
+        return calculateFactor(input, 0, input.length);
+    }
+
+    private static double calculateFactor(double[] input, int offset, int length) {
         double actualSum = 0;
         int count = 0;
-        for (int j = 0; j < input.length; j++) {
+        for (int j = offset; j < offset + length; j++) {
             double value = input[j];
             int valueAsInt = (int) value;
             if (isSpecialValue(valueAsInt)) {
@@ -293,7 +447,9 @@ public class TeamEvalResult {
     
         double idealSum = count * 100.0;
         double factor = actualSum == 0 ? 0 : idealSum / actualSum;
-        log.fine("Factor = " + idealSum + "/" + actualSum + " = " + factor);
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Factor = " + idealSum + "/" + actualSum + " = " + factor);
+        }
         return factor;
     }
 
@@ -334,23 +490,21 @@ public class TeamEvalResult {
         double[] output = new double[input.length];
 
         for (int i = 0; i < input.length; i++) {
-            verify("Unsanitized value in " + Arrays.toString(input[i]),
-                    isSanitized(doubleToInt(input[i])));
+            verifySanitized(input[i], 0, input[i].length);
             output[i] = averageColumn(input, i);
         }
-        log.fine("Column averages: "
-                + replaceMagicNumbers(Arrays.toString(output)));
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Column averages: "
+                    + replaceMagicNumbers(Arrays.toString(output)));
+        }
         return output;
     }
 
     private static double averageColumn(double[][] array, int columnIndex) {
         double sum = 0;
         int count = 0;
-        StringBuilder values = new StringBuilder();
         for (int j = 0; j < array.length; j++) {
             double value = array[j][columnIndex];
-
-            values.append(value).append(' ');
             if (value == NA) {
                 continue;
             }
@@ -360,8 +514,14 @@ public class TeamEvalResult {
         // omit calculation if no data points
         double average = count == 0 ? NA : (double) (sum / count);
 
-        String logMessage = "Average(" + values.toString().trim() + ") = " + average;
-        log.fine(replaceMagicNumbers(logMessage));
+        if (log.isLoggable(Level.FINE)) {
+            StringBuilder values = new StringBuilder();
+            for (int j = 0; j < array.length; j++) {
+                values.append(array[j][columnIndex]).append(' ');
+            }
+            String logMessage = "Average(" + values.toString().trim() + ") = " + average;
+            log.fine(replaceMagicNumbers(logMessage));
+        }
 
         return average;
     }
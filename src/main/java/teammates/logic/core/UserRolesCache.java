@@ -0,0 +1,169 @@
+package teammates.logic.core;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import teammates.common.datatransfer.AccountAttributes;
+
+import com.google.appengine.api.memcache.Expiration;
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheService.IdentifiableValue;
+import com.google.appengine.api.memcache.MemcacheService.SetPolicy;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+/**
+ * Caches in memcache, for each Google ID, the account and whether the user is a student in any course,
+ * which are needed on every request to establish who the user is.<br>
+ * Entries expire after {@link #EXPIRY_SECONDS}, and are removed explicitly by the logic which changes
+ * the account of a user or the students with the user's Google ID, e.g. joining a course, enrolling,
+ * adding an instructor and deleting an account. Changes which are not made through the logic,
+ * e.g. course deletion removing the students of a course, take effect once the entries expire.<br>
+ * The entries are kept in a namespace of their own, under keys which include a generation number.
+ * Removing all the entries moves on to the next generation, leaving the rest of memcache untouched.<br>
+ * Roles read from the datastore are cached only if the entry was not removed while they were being read,
+ * so that roles read before a change cannot overwrite the removal made after the change:
+ * a {@link Reservation} is made before reading them and the roles are put only if it is still in place.<br>
+ * The cached account does not have the student profile, which the actions needing it retrieve themselves.
+ */
+public final class UserRolesCache {
+
+    /** How long an entry stays in the cache if it is not removed explicitly */
+    public static final int EXPIRY_SECONDS = 2 * 60;
+
+    private static final String NAMESPACE = "userRoles";
+
+    private static final String GENERATION_KEY = "generation";
+
+    /** What an entry holds while the roles are being read by the holder of a {@link Reservation} */
+    private static final String RESERVED = "reserved";
+
+    private static final MemcacheService memcache = MemcacheServiceFactory.getMemcacheService(NAMESPACE);
+
+    private UserRolesCache() {
+        // utility class
+    }
+
+    /**
+     * @return the cached roles of the user with {@code googleId}, or null if they are not cached
+     */
+    public static UserRoles get(String googleId) {
+        Object value = memcache.get(getKey(googleId));
+        return value instanceof UserRoles ? (UserRoles) value : null;
+    }
+
+    /**
+     * Reserves the entry of the user with {@code googleId}, to be made before the roles are read
+     * from the datastore for {@link #put}.
+     */
+    public static Reservation reserve(String googleId) {
+        String key = getKey(googleId);
+        memcache.put(key, RESERVED, Expiration.byDeltaSeconds(EXPIRY_SECONDS), SetPolicy.ADD_ONLY_IF_NOT_PRESENT);
+        return new Reservation(key, memcache.getIdentifiable(key));
+    }
+
+    /**
+     * Caches the roles of the user with {@code googleId}, unless the entry was removed or changed
+     * since {@code reservation} was made.
+     * @param account the account of the user, or null if the user has none
+     * @return the roles, whether they are cached or not
+     */
+    public static UserRoles put(Reservation reservation, AccountAttributes account, boolean isStudent) {
+        UserRoles roles = new UserRoles(account, isStudent);
+        if (reservation.value != null) {
+            memcache.putIfUntouched(reservation.key, reservation.value, roles,
+                                    Expiration.byDeltaSeconds(EXPIRY_SECONDS));
+        }
+        return roles;
+    }
+
+    /**
+     * Removes the cached roles of the user with {@code googleId}, if there is such a user.
+     */
+    public static void invalidate(String googleId) {
+        if (googleId == null || googleId.isEmpty()) {
+            return;
+        }
+        memcache.delete(getKey(googleId));
+    }
+
+    /**
+     * Removes the cached roles of all users, e.g. after data is changed without going through the logic.
+     */
+    public static void invalidateAll() {
+        memcache.increment(GENERATION_KEY, 1, 0L);
+    }
+
+    private static String getKey(String googleId) {
+        Object generation = memcache.get(GENERATION_KEY);
+        return (generation == null ? 0L : generation) + ":" + googleId;
+    }
+
+    /**
+     * The state of the entry of a user before the user's roles are read from the datastore.
+     */
+    public static final class Reservation {
+
+        private final String key;
+        private final IdentifiableValue value;
+
+        private Reservation(String key, IdentifiableValue value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The roles of a user, kept as the fields of the account so that they can be put in memcache.
+     */
+    public static class UserRoles implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean hasAccount;
+        private final String googleId;
+        private final String name;
+        private final boolean isInstructor;
+        private final String email;
+        private final String institute;
+        private final Date createdAt;
+        private final boolean isStudent;
+
+        UserRoles(AccountAttributes account, boolean isStudent) {
+            this.hasAccount = account != null;
+            this.googleId = hasAccount ? account.googleId : null;
+            this.name = hasAccount ? account.name : null;
+            this.isInstructor = hasAccount && account.isInstructor;
+            this.email = hasAccount ? account.email : null;
+            this.institute = hasAccount ? account.institute : null;
+            this.createdAt = hasAccount ? account.createdAt : null;
+            this.isStudent = isStudent;
+        }
+
+        /**
+         * @return a new copy of the account of the user without the student profile,
+         *         or null if the user has no account
+         */
+        public AccountAttributes getAccount() {
+            if (!hasAccount) {
+                return null;
+            }
+            AccountAttributes account = new AccountAttributes();
+            account.googleId = googleId;
+            account.name = name;
+            account.isInstructor = isInstructor;
+            account.email = email;
+            account.institute = institute;
+            account.createdAt = createdAt;
+            return account;
+        }
+
+        public boolean isInstructor() {
+            return isInstructor;
+        }
+
+        public boolean isStudent() {
+            return isStudent;
+        }
+    }
+
+}
@@ -7,10 +7,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.Const;
-
-import com.google.appengine.api.blobstore.BlobKey;
-import com.google.appengine.api.blobstore.BlobstoreService;
-import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
+import teammates.common.util.ImageServingHelper;
 
 /** 
  * Serves the public image stored in google cloud storage using the blobkey.<br>
@@ -35,9 +32,13 @@ public class PublicImageServlet extends PublicResourcesServlet {
                 logMessage(req, message);
                 resp.sendError(1, "No image found");
             } else {
-                resp.setContentType("image/png");
-                BlobstoreService blobstoreService = BlobstoreServiceFactory.getBlobstoreService();
-                blobstoreService.serve(new BlobKey(blobKey), resp);
+                // public images are uploaded under a fresh key and never overwritten,
+                // so the key alone identifies the content
+                String etag = ImageServingHelper.generateEtag(blobKey, "");
+                if (!ImageServingHelper.sendNotModifiedIfMatching(req, resp, etag,
+                                                                 ImageServingHelper.CACHE_CONTROL_IMMUTABLE_PUBLIC)) {
+                    ImageServingHelper.serveImage(resp, blobKey);
+                }
                 // TODO : restrict image request to those "public" files only
                 
                 String url = req.getRequestURL().toString() + "?blob-key=" + blobKey;
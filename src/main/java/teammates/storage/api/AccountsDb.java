@@ -158,7 +158,7 @@ public class AccountsDb extends EntitiesDb {
                 accountToUpdate.setStudentProfile((StudentProfile) a.studentProfile.toEntity());
             }
         }
-        log.info(a.getBackupIdentifier());
+        logModification(a);
         closePm();
     }
     
@@ -0,0 +1,124 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import teammates.common.util.ActionStats;
+import teammates.common.util.LogLinearHistogram;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.ActionStatsPeriod;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Handles CRUD operations for the {@link ActionStats} kept in the datastore,
+ * as one {@link ActionStatsPeriod} per action, result type and period of each instance.
+ */
+public class ActionStatsDb {
+
+    /** Number of entities deleted at a time */
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private static final String BUCKET_SEPARATOR = ",";
+    private static final String COUNT_SEPARATOR = ":";
+
+    /**
+     * Keeps {@code statsList} as the stats of the period ending at {@code periodEnd}.
+     */
+    public void createActionStats(List<ActionStats> statsList, long periodEnd) {
+        List<ActionStatsPeriod> entities = new ArrayList<ActionStatsPeriod>();
+        for (ActionStats stats : statsList) {
+            LogLinearHistogram latencies = stats.getLatencies();
+            LogLinearHistogram responseSizes = stats.getResponseSizes();
+            entities.add(new ActionStatsPeriod(periodEnd, stats.getActionName(), stats.getResultType(),
+                                               new Text(toBucketsString(latencies.getBucketCounts())),
+                                               latencies.getTotalValue(), latencies.getMaxValue(),
+                                               new Text(toBucketsString(responseSizes.getBucketCounts())),
+                                               responseSizes.getTotalValue(), responseSizes.getMaxValue()));
+        }
+        getPm().makePersistentAll(entities);
+        getPm().flush();
+    }
+
+    /**
+     * @return the stats of the periods ending after {@code startTime} and up to {@code endTime},
+     *         one for each action, result type and period of each instance
+     */
+    public List<ActionStats> getActionStats(long startTime, long endTime) {
+        Query q = getPm().newQuery(ActionStatsPeriod.class);
+        q.declareParameters("long startTimeParam, long endTimeParam");
+        q.setFilter("periodEnd > startTimeParam && periodEnd <= endTimeParam");
+
+        @SuppressWarnings("unchecked")
+        List<ActionStatsPeriod> entities = (List<ActionStatsPeriod>) q.execute(startTime, endTime);
+
+        List<ActionStats> statsList = new ArrayList<ActionStats>();
+        for (ActionStatsPeriod entity : entities) {
+            LogLinearHistogram latencies = LogLinearHistogram.fromBucketCounts(
+                    fromBucketsString(entity.getLatencyBuckets().getValue()),
+                    entity.getLatencyTotal(), entity.getLatencyMax());
+            LogLinearHistogram responseSizes = LogLinearHistogram.fromBucketCounts(
+                    fromBucketsString(entity.getResponseSizeBuckets().getValue()),
+                    entity.getResponseSizeTotal(), entity.getResponseSizeMax());
+            statsList.add(new ActionStats(entity.getActionName(), entity.getResultType(), latencies, responseSizes));
+        }
+        return statsList;
+    }
+
+    /**
+     * Deletes the stats of the periods ending before {@code time}.
+     * @return the number of entities deleted
+     */
+    public int deleteActionStatsOlderThan(long time) {
+        Query q = getPm().newQuery(ActionStatsPeriod.class);
+        q.declareParameters("long timeParam");
+        q.setFilter("periodEnd < timeParam");
+        q.setRange(0, DELETE_BATCH_SIZE);
+
+        int numberOfEntitiesDeleted = 0;
+        while (true) {
+            @SuppressWarnings("unchecked")
+            List<ActionStatsPeriod> entities = (List<ActionStatsPeriod>) q.execute(time);
+            if (entities.isEmpty()) {
+                return numberOfEntitiesDeleted;
+            }
+            numberOfEntitiesDeleted += entities.size();
+            getPm().deletePersistentAll(entities);
+            getPm().flush();
+        }
+    }
+
+    private static String toBucketsString(long[] bucketCounts) {
+        StringBuilder buckets = new StringBuilder();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            if (bucketCounts[i] == 0) {
+                continue;
+            }
+            if (buckets.length() > 0) {
+                buckets.append(BUCKET_SEPARATOR);
+            }
+            buckets.append(i).append(COUNT_SEPARATOR).append(bucketCounts[i]);
+        }
+        return buckets.toString();
+    }
+
+    private static long[] fromBucketsString(String buckets) {
+        long[] bucketCounts = new long[LogLinearHistogram.BUCKET_COUNT];
+        if (buckets.isEmpty()) {
+            return bucketCounts;
+        }
+        for (String bucket : buckets.split(BUCKET_SEPARATOR)) {
+            String[] indexAndCount = bucket.split(COUNT_SEPARATOR);
+            bucketCounts[Integer.parseInt(indexAndCount[0])] = Long.parseLong(indexAndCount[1]);
+        }
+        return bucketCounts;
+    }
+
+    private PersistenceManager getPm() {
+        return Datastore.getPersistenceManager();
+    }
+
+}
@@ -0,0 +1,37 @@
+package teammates.storage.api;
+
+import java.util.List;
+
+import teammates.common.util.ActivityLogRecord;
+import teammates.common.util.ActivityLogStoreQuery;
+
+/**
+ * Keeps the activity log lines written by ControllerServlet as structured records, indexed by person,
+ * role, servlet, time and course, so that the admin activity log page can look them up instead of
+ * scanning the GAE log service.
+ * @see ActivityLogStores
+ */
+public interface ActivityLogStore {
+
+    /**
+     * Adds a record to the store.
+     */
+    void append(ActivityLogRecord record);
+
+    /**
+     * @return the records matching {@code query}, newest first
+     */
+    List<ActivityLogRecord> query(ActivityLogStoreQuery query);
+
+    /**
+     * Removes the records written before {@code time}.
+     * @return the number of records removed
+     */
+    int deleteOlderThan(long time);
+
+    /**
+     * Reorganises the store after records have been removed, e.g. by merging what is left of them.
+     */
+    void compact();
+
+}
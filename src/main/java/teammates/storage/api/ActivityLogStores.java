@@ -0,0 +1,57 @@
+package teammates.storage.api;
+
+import java.io.File;
+
+import teammates.common.util.Config;
+
+/**
+ * Gives the {@link ActivityLogStore} chosen by "app.activitylog.store" in build.properties.
+ */
+public final class ActivityLogStores {
+
+    private static ActivityLogStore configuredStore;
+    private static boolean isConfiguredStoreCreated;
+
+    private ActivityLogStores() {
+        // utility class
+    }
+
+    /**
+     * @return the store the activity logs are kept in, or null if they are only kept in the GAE logs
+     */
+    public static synchronized ActivityLogStore getConfiguredStore() {
+        if (!isConfiguredStoreCreated) {
+            configuredStore = createConfiguredStore();
+            isConfiguredStoreCreated = true;
+        }
+        return configuredStore;
+    }
+
+    /**
+     * Uses {@code store} instead of the store chosen in build.properties, e.g. to test the features
+     * that need a store; null keeps the activity logs only in the GAE logs.
+     */
+    public static synchronized void setConfiguredStore(ActivityLogStore store) {
+        configuredStore = store;
+        isConfiguredStoreCreated = true;
+    }
+
+    /**
+     * Goes back to the store chosen in build.properties, created when it is next asked for.
+     */
+    public static synchronized void resetConfiguredStore() {
+        configuredStore = null;
+        isConfiguredStoreCreated = false;
+    }
+
+    private static ActivityLogStore createConfiguredStore() {
+        if (Config.isUsingFileActivityLogStore()) {
+            return new FileActivityLogStore(new File(Config.ACTIVITY_LOG_STORE_DIRECTORY.trim()));
+        }
+        if (Config.isUsingDatastoreActivityLogStore()) {
+            return new DatastoreActivityLogStore();
+        }
+        return null;
+    }
+
+}
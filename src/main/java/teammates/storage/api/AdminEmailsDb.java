@@ -62,7 +62,7 @@ public class AdminEmailsDb extends EntitiesDb {
         adminEmailToUpdate.setIsInTrashBin(ae.isInTrashBin);
         adminEmailToUpdate.setSendDate(ae.sendDate);
         
-        log.info(ae.getBackupIdentifier());
+        logModification(ae);
         closePm();
         
     }
@@ -116,7 +116,7 @@ public class AdminEmailsDb extends EntitiesDb {
         adminEmailToUpdate.setIsInTrashBin(newAdminEmail.isInTrashBin);
         adminEmailToUpdate.setSendDate(newAdminEmail.sendDate);
         
-        log.info(newAdminEmail.getBackupIdentifier());
+        logModification(newAdminEmail);
         closePm();
         
     }
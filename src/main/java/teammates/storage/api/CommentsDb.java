@@ -9,6 +9,7 @@ import java.util.Set;
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.BatchDeletionResult;
 import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CommentParticipantType;
 import teammates.common.datatransfer.CommentSearchResultBundle;
@@ -259,7 +260,7 @@ public class CommentsDb extends EntitiesDb {
             comment.setSendingState(newState);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logCourseModification(courseId);
         getPm().close();
     }
 
@@ -310,7 +311,7 @@ public class CommentsDb extends EntitiesDb {
         getPm().close();
         
         CommentAttributes updatedComment = new CommentAttributes(comment);
-        log.info(updatedComment.getBackupIdentifier());
+        logModification(updatedComment);
         return updatedComment;
     }
     
@@ -337,7 +338,7 @@ public class CommentsDb extends EntitiesDb {
             giverComment.setGiverEmail(updatedInstrEmail);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logCourseModification(courseId);
         getPm().close();
     }
     
@@ -366,7 +367,7 @@ public class CommentsDb extends EntitiesDb {
             recipientComment.setGiverEmail(updatedInstrEmail);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logCourseModification(courseId);
         getPm().close();
     }
     
@@ -393,7 +394,7 @@ public class CommentsDb extends EntitiesDb {
             recipientComment.getRecipients().add(updatedStudentEmail);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logCourseModification(courseId);
         getPm().close();
     }
     
@@ -478,6 +479,25 @@ public class CommentsDb extends EntitiesDb {
         getPm().flush();
     }
     
+    /**
+     * Deletes up to {@code batchSize} comments in the course, with their search documents.
+     */
+    public BatchDeletionResult deleteCommentsForCourseInBatch(String courseId, int batchSize) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CourseEntitiesBatch<Comment> commentBatch =
+                getEntitiesForCourseInBatch(Comment.class, "courseId", courseId, batchSize);
+        
+        List<String> documentIds = new ArrayList<String>();
+        for (Comment comment : commentBatch.getEntities()) {
+            documentIds.add(comment.getId().toString());
+        }
+        deleteDocuments(Const.SearchIndex.COMMENT, documentIds);
+        
+        return deleteEntitiesForCourse(commentBatch, courseId);
+    }
+    
     /*
      * Delete comments in certain courses
      */
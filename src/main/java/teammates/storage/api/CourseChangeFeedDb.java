@@ -0,0 +1,137 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import teammates.common.datatransfer.CourseChangeFeedPage;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.CourseModification;
+
+/**
+ * Handles the course change feed, which records which courses were modified when
+ * as {@link CourseModification} entities, one per course and time bucket.<br>
+ * The feed is written by the *Db classes whenever they modify an entity of a course,
+ * and read for a window of time in pages, e.g. by the offline backup to find the courses to back up.
+ */
+public class CourseChangeFeedDb {
+
+    /** Length of a time bucket. Windows of the feed are widened to whole buckets. */
+    public static final long TIME_BUCKET_MILLIS = 5 * 60 * 1000;
+
+    /** Number of entities deleted at a time */
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    /** Number of digits the time bucket is padded to in the feed position, enough for any time in millis */
+    private static final int TIME_BUCKET_DIGITS = 15;
+
+    /**
+     * The time bucket in which each course was last recorded by this instance, so that a course
+     * modified many times in a bucket, e.g. by enrolling many students, is recorded once.
+     */
+    private static final ConcurrentHashMap<String, Long> lastRecordedTimeBuckets =
+            new ConcurrentHashMap<String, Long>();
+
+    /**
+     * Records that the course with {@code courseId} was modified at {@code time},
+     * unless this instance already did so for the time bucket of {@code time}.
+     */
+    public void recordCourseModification(String courseId, long time) {
+        long timeBucket = getTimeBucket(time);
+        Long lastRecordedTimeBucket = lastRecordedTimeBuckets.get(courseId);
+        if (lastRecordedTimeBucket != null && lastRecordedTimeBucket == timeBucket) {
+            return;
+        }
+        // entries of the same course and time bucket have the same key, so recording again overwrites the entry
+        getPm().makePersistent(new CourseModification(getFeedPosition(timeBucket, courseId), timeBucket, courseId, time));
+        // only once the entry is persisted, so that a failed attempt is made again on the next modification
+        lastRecordedTimeBuckets.put(courseId, timeBucket);
+    }
+
+    /**
+     * Makes the next modifications recorded even if they are in time buckets already recorded by this instance,
+     * e.g. after the feed entries are deleted.
+     */
+    public void clearRecordedTimeBuckets() {
+        lastRecordedTimeBuckets.clear();
+    }
+
+    /**
+     * @param cursor the cursor given with the previous page, or null to start at {@code startTime}
+     * @param maxEntries the maximum number of feed entries to read for the page
+     * @return the courses modified from the time bucket of {@code startTime} to the time bucket of
+     *         {@code endTime}, both inclusive, after {@code cursor}
+     */
+    public CourseChangeFeedPage getCourseModifications(long startTime, long endTime, String cursor, int maxEntries) {
+        String lowerBound = cursor == null ? getFeedPositionBound(getTimeBucket(startTime)) : cursor;
+        String upperBound = getFeedPositionBound(getTimeBucket(endTime) + TIME_BUCKET_MILLIS);
+
+        Query q = getPm().newQuery(CourseModification.class);
+        q.declareParameters("String lowerBoundParam, String upperBoundParam");
+        q.setFilter("feedPosition > lowerBoundParam && feedPosition < upperBoundParam");
+        q.setOrdering("feedPosition ascending");
+        q.setRange(0, maxEntries);
+
+        @SuppressWarnings("unchecked")
+        List<CourseModification> entities = (List<CourseModification>) q.execute(lowerBound, upperBound);
+
+        Set<String> courseIds = new LinkedHashSet<String>();
+        for (CourseModification entity : entities) {
+            courseIds.add(entity.getCourseId());
+        }
+        String nextCursor = entities.size() < maxEntries
+                          ? null
+                          : entities.get(entities.size() - 1).getFeedPosition();
+        return new CourseChangeFeedPage(new ArrayList<String>(courseIds), nextCursor);
+    }
+
+    /**
+     * Deletes the feed entries of the time buckets before the one of {@code time}.
+     * @return the number of entities deleted
+     */
+    public int deleteCourseModificationsBefore(long time) {
+        Query q = getPm().newQuery(CourseModification.class);
+        q.declareParameters("String upperBoundParam");
+        q.setFilter("feedPosition < upperBoundParam");
+        q.setRange(0, DELETE_BATCH_SIZE);
+
+        int numberOfEntitiesDeleted = 0;
+        while (true) {
+            @SuppressWarnings("unchecked")
+            List<CourseModification> entities =
+                    (List<CourseModification>) q.execute(getFeedPositionBound(getTimeBucket(time)));
+            if (entities.isEmpty()) {
+                return numberOfEntitiesDeleted;
+            }
+            numberOfEntitiesDeleted += entities.size();
+            getPm().deletePersistentAll(entities);
+            getPm().flush();
+        }
+    }
+
+    private static long getTimeBucket(long time) {
+        return time - time % TIME_BUCKET_MILLIS;
+    }
+
+    private static String getFeedPosition(long timeBucket, String courseId) {
+        return getFeedPositionBound(timeBucket) + ":" + courseId;
+    }
+
+    /**
+     * @return a position before the positions of all the entries of {@code timeBucket}
+     *         and after the positions of all the entries of earlier time buckets
+     */
+    private static String getFeedPositionBound(long timeBucket) {
+        return String.format("%0" + TIME_BUCKET_DIGITS + "d", timeBucket);
+    }
+
+    private PersistenceManager getPm() {
+        return Datastore.getPersistenceManager();
+    }
+
+}
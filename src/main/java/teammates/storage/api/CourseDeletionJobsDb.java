@@ -0,0 +1,120 @@
+package teammates.storage.api;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import teammates.common.datatransfer.CourseDeletionProgress;
+import teammates.common.datatransfer.CourseDeletionProgress.Stage;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.CourseDeletionJob;
+
+/**
+ * Handles the {@link CourseDeletionJob} entities, which keep the checkpoints of the courses being deleted.
+ */
+public class CourseDeletionJobsDb {
+
+    /**
+     * Starts the deletion of the course with {@code courseId}, unless it is already being deleted.
+     * @return the progress of the deletion of the course
+     */
+    public CourseDeletionProgress createJob(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        CourseDeletionProgress progress = getProgress(courseId);
+        if (progress != null) {
+            return progress;
+        }
+        Date now = new Date();
+        progress = new CourseDeletionProgress(courseId, Stage.values()[0], 0, now, now);
+        saveProgress(progress);
+        return progress;
+    }
+
+    /**
+     * @return the progress of the deletion of the course with {@code courseId},
+     *         or null if the course is not being deleted
+     */
+    public CourseDeletionProgress getProgress(String courseId) {
+        CourseDeletionJob job = getJobEntity(courseId);
+        if (job == null) {
+            return null;
+        }
+        return new CourseDeletionProgress(job.getCourseId(), Stage.valueOf(job.getStage()),
+                                          job.getNumberOfEntitiesDeleted(), job.getStartedAt(), job.getUpdatedAt());
+    }
+
+    /**
+     * @return the IDs of the courses among {@code courseIds} which are being deleted
+     */
+    public Set<String> getCourseIdsBeingDeleted(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        Set<String> courseIdsBeingDeleted = new HashSet<String>();
+        if (courseIds.isEmpty()) {
+            return courseIdsBeingDeleted;
+        }
+        Query q = getPm().newQuery(CourseDeletionJob.class);
+        q.setFilter(":p.contains(courseId)");
+
+        @SuppressWarnings("unchecked")
+        List<CourseDeletionJob> jobs = (List<CourseDeletionJob>) q.execute(courseIds);
+        for (CourseDeletionJob job : jobs) {
+            if (!JDOHelper.isDeleted(job)) {
+                courseIdsBeingDeleted.add(job.getCourseId());
+            }
+        }
+        return courseIdsBeingDeleted;
+    }
+
+    /**
+     * Keeps {@code progress} as the checkpoint of the deletion of its course.
+     */
+    public void saveProgress(CourseDeletionProgress progress) {
+        CourseDeletionJob job = getJobEntity(progress.getCourseId());
+        if (job == null) {
+            getPm().makePersistent(new CourseDeletionJob(progress.getCourseId(), progress.getStage().name(),
+                                                         progress.getNumberOfEntitiesDeleted(),
+                                                         progress.getStartedAt(), progress.getUpdatedAt()));
+        } else {
+            job.setStage(progress.getStage().name());
+            job.setNumberOfEntitiesDeleted(progress.getNumberOfEntitiesDeleted());
+            job.setUpdatedAt(progress.getUpdatedAt());
+        }
+        getPm().flush();
+    }
+
+    /**
+     * Ends the deletion of the course with {@code courseId}. Fails silently if the course is not being deleted.
+     */
+    public void deleteJob(String courseId) {
+        CourseDeletionJob job = getJobEntity(courseId);
+        if (job == null) {
+            return;
+        }
+        getPm().deletePersistent(job);
+        getPm().flush();
+    }
+
+    private CourseDeletionJob getJobEntity(String courseId) {
+        try {
+            CourseDeletionJob job = getPm().getObjectById(CourseDeletionJob.class, courseId);
+            return JDOHelper.isDeleted(job) ? null : job;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    private PersistenceManager getPm() {
+        return Datastore.getPersistenceManager();
+    }
+
+}
@@ -123,7 +123,7 @@ public class CoursesDb extends EntitiesDb {
         courseEntityToUpdate.setName(courseToUpdate.getName());
         courseEntityToUpdate.setTimeZone(courseToUpdate.getTimeZone());
         
-        log.info(courseToUpdate.getBackupIdentifier());
+        logModification(courseToUpdate);
         getPm().close();
     }
     
@@ -0,0 +1,136 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import teammates.common.util.ActivityLogRecord;
+import teammates.common.util.ActivityLogStoreQuery;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.ActivityLog;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * An {@link ActivityLogStore} kept in the datastore as {@link ActivityLog} entities.<br>
+ * Each query is answered by the datastore index of the most selective of its conditions,
+ * together with the time period; the remaining conditions are checked on the entities fetched.
+ */
+public class DatastoreActivityLogStore implements ActivityLogStore {
+
+    /** Number of entities fetched or deleted at a time */
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void append(ActivityLogRecord record) {
+        List<String> persons = new ArrayList<String>();
+        addPerson(persons, record.getGoogleId());
+        addPerson(persons, record.getEmail());
+        addPerson(persons, record.getName());
+
+        ActivityLog activityLog = new ActivityLog(record.getTime(), toLowerCase(record.getServletName()),
+                                                  toLowerCase(record.getRole()),
+                                                  persons, record.getCourseId(), new Text(record.getLogMessage()),
+                                                  record.getVersion());
+        getPm().makePersistent(activityLog);
+        getPm().flush();
+    }
+
+    private static String toLowerCase(String value) {
+        return value == null ? null : value.toLowerCase();
+    }
+
+    private static void addPerson(List<String> persons, String person) {
+        if (person != null && !persons.contains(person.toLowerCase())) {
+            persons.add(person.toLowerCase());
+        }
+    }
+
+    @Override
+    public List<ActivityLogRecord> query(ActivityLogStoreQuery query) {
+        Query q = getPm().newQuery(ActivityLog.class);
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        StringBuilder filter = new StringBuilder("time >= startTimeParam && time <= endTimeParam");
+        String parameterDeclarations = "long startTimeParam, long endTimeParam";
+        parameters.put("startTimeParam", query.getStartTime());
+        parameters.put("endTimeParam", query.getEndTime());
+
+        if (query.getPerson() != null) {
+            filter.append(" && persons == personParam");
+            parameterDeclarations += ", String personParam";
+            parameters.put("personParam", query.getPerson().toLowerCase());
+        } else if (query.getCourseId() != null) {
+            filter.append(" && courseId == courseIdParam");
+            parameterDeclarations += ", String courseIdParam";
+            parameters.put("courseIdParam", query.getCourseId());
+        } else if (query.getServletNames() != null) {
+            filter.append(" && servletNamesParam.contains(servletName)");
+            parameterDeclarations += ", java.util.List servletNamesParam";
+            parameters.put("servletNamesParam", query.getServletNames());
+        } else if (query.getRoles() != null) {
+            filter.append(" && rolesParam.contains(role)");
+            parameterDeclarations += ", java.util.List rolesParam";
+            parameters.put("rolesParam", query.getRoles());
+        }
+        q.setFilter(filter.toString());
+        q.declareParameters(parameterDeclarations);
+        q.setOrdering("time desc");
+
+        List<ActivityLogRecord> results = new ArrayList<ActivityLogRecord>();
+        for (int offset = 0; results.size() < query.getLimit(); offset += BATCH_SIZE) {
+            q.setRange(offset, offset + BATCH_SIZE);
+            @SuppressWarnings("unchecked")
+            List<ActivityLog> activityLogs = (List<ActivityLog>) q.executeWithMap(parameters);
+            for (ActivityLog activityLog : activityLogs) {
+                ActivityLogRecord record = new ActivityLogRecord(activityLog.getTime(),
+                                                                 activityLog.getLogMessage().getValue(),
+                                                                 activityLog.getCourseId(),
+                                                                 activityLog.getVersion());
+                if (query.matches(record) && results.size() < query.getLimit()) {
+                    results.add(record);
+                }
+            }
+            if (activityLogs.size() < BATCH_SIZE) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public int deleteOlderThan(long time) {
+        Query q = getPm().newQuery(ActivityLog.class);
+        q.declareParameters("long timeParam");
+        q.setFilter("time < timeParam");
+        q.setRange(0, BATCH_SIZE);
+
+        int numberOfRecordsDeleted = 0;
+        while (true) {
+            @SuppressWarnings("unchecked")
+            List<ActivityLog> activityLogs = (List<ActivityLog>) q.execute(time);
+            if (activityLogs.isEmpty()) {
+                return numberOfRecordsDeleted;
+            }
+            numberOfRecordsDeleted += activityLogs.size();
+            getPm().deletePersistentAll(activityLogs);
+            getPm().flush();
+        }
+    }
+
+    /**
+     * Does nothing, as the datastore reclaims the space of deleted entities by itself.
+     */
+    @Override
+    public void compact() {
+        // nothing to compact
+    }
+
+    private PersistenceManager getPm() {
+        return Datastore.getPersistenceManager();
+    }
+
+}
@@ -7,10 +7,13 @@ import java.util.logging.Logger;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
 
+import teammates.common.datatransfer.BatchDeletionResult;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.InvalidParametersException;
+import teammates.common.exception.TeammatesException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
@@ -46,6 +49,11 @@ public abstract class EntitiesDb {
 
     protected static final Logger log = Utils.getLogger();
     
+    /** Number of documents the search service deletes in one call at most */
+    private static final int MAX_DOCUMENTS_PER_DELETE = 200;
+    
+    private static final CourseChangeFeedDb courseChangeFeedDb = new CourseChangeFeedDb();
+    
     /**
      * Preconditions:
      * <br> * {@code entityToAdd} is not null and has valid data.
@@ -96,7 +104,7 @@ public abstract class EntitiesDb {
             }
         }
         
-        log.info(entityToAdd.getBackupIdentifier());
+        logModification(entityToAdd);
         
         return entity;
     }
@@ -123,7 +131,7 @@ public abstract class EntitiesDb {
                 entitiesToUpdate.add(entityToAdd);
             }
             
-            log.info(entityToAdd.getBackupIdentifier());
+            logModification(entityToAdd);
         }
        
         getPm().makePersistentAll(entities);
@@ -155,7 +163,7 @@ public abstract class EntitiesDb {
                 entitiesToUpdate.add(entityToAdd);
             }
             
-            log.info(entityToAdd.getBackupIdentifier());
+            logModification(entityToAdd);
         }
         
         getPm().makePersistentAll(entities);
@@ -206,11 +214,45 @@ public abstract class EntitiesDb {
                          + entityToAdd.getIdentificationString());
             }
         }
-        log.info(entityToAdd.getBackupIdentifier());
+        logModification(entityToAdd);
         
         return entity;
     }
     
+    /**
+     * Creates all of {@code entitiesToAdd} in one batched write.<br>
+     * Warning: Do not use this method unless the entities are known not to exist,
+     * e.g. because their keys are generated by the datastore.
+     * Preconditions:
+     * <br> * {@code entitiesToAdd} is not null.
+     * @return the entities created, in the order of {@code entitiesToAdd}
+     */
+    public List<Object> createEntitiesWithoutExistenceCheck(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToAdd);
+
+        List<Object> entities = new ArrayList<Object>();
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            entityToAdd.sanitizeForSaving();
+
+            if (!entityToAdd.isValid()) {
+                throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
+            }
+
+            entities.add(entityToAdd.toEntity());
+        }
+
+        getPm().makePersistentAll(entities);
+        getPm().flush();
+
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            logModification(entityToAdd);
+        }
+
+        return entities;
+    }
+
     // TODO: use this method for subclasses.
     /**
      * Note: This is a non-cascade delete.<br>
@@ -252,7 +294,7 @@ public abstract class EntitiesDb {
                         + entityToDelete.getIdentificationString());
             }
         }
-        log.info(entityToDelete.getBackupIdentifier());
+        logModification(entityToDelete);
     }
     
     public void deleteEntities(Collection<? extends EntityAttributes> entitiesToDelete) {
@@ -263,7 +305,7 @@ public abstract class EntitiesDb {
             Object entity = getEntity(entityToDelete);
             if (entity != null) {
                 entities.add(entity);
-                log.info(entityToDelete.getBackupIdentifier());
+                logModification(entityToDelete);
             }
         }
         
@@ -281,8 +323,16 @@ public abstract class EntitiesDb {
         }
     }
     
+    /**
+     * Deletes the picture with the given key, together with its thumbnail if there is one.
+     */
     public void deletePicture(BlobKey key) {
         GoogleCloudStorageHelper.deleteFile(key);
+        
+        BlobKey thumbnailKey = GoogleCloudStorageHelper.getThumbnailKey(key.getKeyString());
+        if (GoogleCloudStorageHelper.doesFileExistInGcs(thumbnailKey)) {
+            GoogleCloudStorageHelper.deleteFile(thumbnailKey);
+        }
     }
     
     /**
@@ -334,4 +384,129 @@ public abstract class EntitiesDb {
     protected void deleteDocuments(String indexName, String[] documentId) {
         SearchManager.deleteDocuments(indexName, documentId);
     }
+    
+    /**
+     * Deletes the documents with {@code documentIds} from the index, as few at a time as the search service allows.
+     */
+    protected void deleteDocuments(String indexName, List<String> documentIds) {
+        for (int from = 0; from < documentIds.size(); from += MAX_DOCUMENTS_PER_DELETE) {
+            List<String> batch =
+                    documentIds.subList(from, Math.min(from + MAX_DOCUMENTS_PER_DELETE, documentIds.size()));
+            try {
+                deleteDocuments(indexName, batch.toArray(new String[batch.size()]));
+            } catch (Exception e) {
+                log.info("Unable to delete documents in the index: " + indexName + " with document ids " + batch);
+            }
+        }
+    }
+    
+    /**
+     * Gets up to {@code batchSize} entities of {@code entityClass} in the course with {@code courseId},
+     * e.g. to delete the entities of a large course a batch at a time.
+     * @param courseIdField the name of the field of {@code entityClass} which holds the course ID
+     */
+    protected <T> CourseEntitiesBatch<T> getEntitiesForCourseInBatch(Class<T> entityClass, String courseIdField,
+                                                                     String courseId, int batchSize) {
+        Query q = getPm().newQuery(entityClass);
+        q.declareParameters("String courseIdParam");
+        q.setFilter(courseIdField + " == courseIdParam");
+        q.setRange(0, batchSize);
+        
+        @SuppressWarnings("unchecked")
+        List<T> entities = (List<T>) q.execute(courseId);
+        
+        // queries may still return entities deleted in an earlier batch
+        List<T> entitiesNotDeleted = new ArrayList<T>();
+        for (T entity : entities) {
+            if (!JDOHelper.isDeleted(entity)) {
+                entitiesNotDeleted.add(entity);
+            }
+        }
+        return new CourseEntitiesBatch<T>(entitiesNotDeleted, entities.size(), batchSize);
+    }
+    
+    /**
+     * Deletes the entities of {@code batch}, which are in the course with {@code courseId}.
+     */
+    protected BatchDeletionResult deleteEntitiesForCourse(CourseEntitiesBatch<?> batch, String courseId) {
+        List<?> entities = batch.getEntities();
+        if (!entities.isEmpty()) {
+            getPm().deletePersistentAll(entities);
+            getPm().flush();
+            logCourseModification(courseId);
+        }
+        return new BatchDeletionResult(entities.size(), batch.isLastBatch());
+    }
+    
+    /**
+     * Logs that {@code entity} was modified, and records the modification in the course change feed
+     * if the entity belongs to a course.
+     */
+    protected void logModification(EntityAttributes entity) {
+        String backupIdentifier = entity.getBackupIdentifier();
+        log.info(backupIdentifier);
+        if (backupIdentifier.startsWith(Const.SystemParams.COURSE_BACKUP_LOG_MSG)) {
+            recordCourseModification(backupIdentifier.substring(Const.SystemParams.COURSE_BACKUP_LOG_MSG.length()));
+        }
+    }
+    
+    /**
+     * Logs that entities of the course with {@code courseId} were modified,
+     * and records the modification in the course change feed.
+     */
+    protected void logCourseModification(String courseId) {
+        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        recordCourseModification(courseId);
+    }
+    
+    private void recordCourseModification(String courseId) {
+        try {
+            courseChangeFeedDb.recordCourseModification(courseId, System.currentTimeMillis());
+        } catch (Exception e) {
+            // the modification itself has been made, so it is not undone for the feed
+            log.severe("Failed to record the modification of course " + courseId + " in the change feed: "
+                       + TeammatesException.toStringWithStackTrace(e));
+        }
+    }
+    
+    /**
+     * A batch of the entities of a course read by {@link EntitiesDb#getEntitiesForCourseInBatch}.
+     */
+    protected static class CourseEntitiesBatch<T> {
+        
+        private final List<T> entities;
+        private final int numberOfEntitiesRead;
+        private final int batchSize;
+        
+        CourseEntitiesBatch(List<T> entities, int numberOfEntitiesRead, int batchSize) {
+            this.entities = entities;
+            this.numberOfEntitiesRead = numberOfEntitiesRead;
+            this.batchSize = batchSize;
+        }
+        
+        /**
+         * @return the entities of the batch, without those deleted by an earlier batch
+         */
+        public List<T> getEntities() {
+            return entities;
+        }
+        
+        /**
+         * @return the number of entities read by the query of the batch,
+         *         including those deleted by an earlier batch which the query still returned
+         */
+        public int getNumberOfEntitiesRead() {
+            return numberOfEntitiesRead;
+        }
+        
+        /**
+         * @return true if the query of the batch found fewer entities than the batch size, so there are no more.
+         *         This does not depend on how many of them were deleted by an earlier batch.
+         */
+        public boolean isLastBatch() {
+            return numberOfEntitiesRead < batchSize;
+        }
+        
+    }
+
 }
@@ -0,0 +1,354 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import javax.jdo.JDOException;
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import javax.jdo.Transaction;
+
+import teammates.common.datatransfer.BatchDeletionResult;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAggregate;
+import teammates.common.util.Utils;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackQuestionStatistics;
+import teammates.storage.entity.FeedbackResponseStatisticsMarker;
+
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+
+/**
+ * Handles the {@link FeedbackQuestionStatistics} entities, which keep the statistics aggregates
+ * of the feedback questions, one per question, and the {@link FeedbackResponseStatisticsMarker} entities,
+ * which keep what each response contributes to the aggregate of its question.<br>
+ * An aggregate is always the sum of the counts of the markers of its responses, as both are changed
+ * together in one transaction. This lets a response be folded into the aggregate again without
+ * being counted twice, and lets the aggregate be checked against its markers with strongly consistent reads.
+ */
+public class FeedbackQuestionStatisticsDb {
+
+    private static final Logger log = Utils.getLogger();
+
+    private static final Map<String, FeedbackQuestionStatisticsAggregate> NO_CONTRIBUTIONS =
+            Collections.<String, FeedbackQuestionStatisticsAggregate>emptyMap();
+
+    /**
+     * @return the aggregate of the question with {@code feedbackQuestionId} with its version,
+     *         or null if there is none
+     */
+    public FeedbackQuestionStatisticsAggregate getAggregate(String feedbackQuestionId) {
+        FeedbackQuestionStatistics entity = getEntity(getPm(), feedbackQuestionId);
+        return entity == null ? null : toAggregate(entity);
+    }
+
+    /**
+     * @return true if the question has an aggregate which was reconciled with the responses at least once;
+     *         an aggregate created by folding responses has only the responses folded since it was created
+     *         until it is first reconciled
+     */
+    public boolean hasReconciledAggregate(String feedbackQuestionId) {
+        FeedbackQuestionStatistics entity = getEntity(getPm(), feedbackQuestionId);
+        return entity != null && entity.getLastReconciledAt() != null;
+    }
+
+    /**
+     * @return the aggregates of the questions of the session, keyed by question ID,
+     *         without the questions which have no aggregate reconciled yet
+     */
+    public Map<String, FeedbackQuestionStatisticsAggregate> getAggregatesForSession(String courseId,
+                                                                                  String feedbackSessionName) {
+        Query q = getPm().newQuery(FeedbackQuestionStatistics.class);
+        q.declareParameters("String courseIdParam, String feedbackSessionNameParam");
+        q.setFilter("courseId == courseIdParam && feedbackSessionName == feedbackSessionNameParam");
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackQuestionStatistics> entities =
+                (List<FeedbackQuestionStatistics>) q.execute(courseId, feedbackSessionName);
+
+        Map<String, FeedbackQuestionStatisticsAggregate> aggregates =
+                new HashMap<String, FeedbackQuestionStatisticsAggregate>();
+        for (FeedbackQuestionStatistics entity : entities) {
+            if (!JDOHelper.isDeleted(entity) && entity.getLastReconciledAt() != null) {
+                aggregates.put(entity.getFeedbackQuestionId(), toAggregate(entity));
+            }
+        }
+        return aggregates;
+    }
+
+    /**
+     * @return the IDs of the responses folded into the aggregate of the question, read with
+     *         a strongly consistent ancestor query, including those of responses folded as deleted
+     */
+    public Set<String> getFoldedResponseIds(String feedbackQuestionId) {
+        Set<String> responseIds = new HashSet<String>();
+        for (FeedbackResponseStatisticsMarker marker : getMarkers(getPm(), feedbackQuestionId)) {
+            responseIds.add(marker.getFeedbackResponseId());
+        }
+        return responseIds;
+    }
+
+    /**
+     * Folds the counts of the responses into the aggregate of the question in one transaction, together with
+     * the markers of the responses. The counts of a response replace those folded before, so folding
+     * a response again changes nothing. They are folded only if their version is not older than
+     * the version folded before, so that a response read before a later change is not folded after it.<br>
+     * The aggregate is created from the markers if there is none, and is created again from the markers
+     * if it is found to have negative counts.
+     * @param contributions the counts of each response, keyed by response ID, with the version of the response
+     *         they are counted from; the counts of a response deleted are empty
+     * @return false if the transaction failed, e.g. because of another transaction on the aggregate,
+     *         in which case nothing is changed
+     */
+    public boolean foldContributions(String feedbackQuestionId, String courseId, String feedbackSessionName,
+                                     Map<String, FeedbackQuestionStatisticsAggregate> contributions) {
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        Transaction tx = pm.currentTransaction();
+        try {
+            tx.begin();
+            FeedbackQuestionStatistics entity = getEntity(pm, feedbackQuestionId);
+            FeedbackQuestionStatisticsAggregate aggregate = entity == null
+                    ? sumMarkers(getMarkers(pm, feedbackQuestionId), NO_CONTRIBUTIONS)
+                    : FeedbackQuestionStatisticsAggregate.fromJson(entity.getStatistics());
+
+            Map<String, FeedbackQuestionStatisticsAggregate> contributionsFolded =
+                    new HashMap<String, FeedbackQuestionStatisticsAggregate>();
+            for (Map.Entry<String, FeedbackQuestionStatisticsAggregate> contribution : contributions.entrySet()) {
+                if (foldContribution(pm, feedbackQuestionId, courseId, contribution.getKey(),
+                                     contribution.getValue(), aggregate)) {
+                    contributionsFolded.put(contribution.getKey(), contribution.getValue());
+                }
+            }
+            if (aggregate.hasNegativeCounts()) {
+                log.warning("Statistics aggregate of question " + feedbackQuestionId
+                            + " has negative counts and is created again from its markers: " + aggregate);
+                aggregate = sumMarkers(getMarkers(pm, feedbackQuestionId), contributionsFolded);
+            }
+
+            if (entity == null) {
+                pm.makePersistent(new FeedbackQuestionStatistics(feedbackQuestionId, courseId, feedbackSessionName,
+                                                                 aggregate.toJson(), null));
+            } else {
+                entity.setStatistics(aggregate.toJson());
+                entity.incrementVersion();
+            }
+            tx.commit();
+            return true;
+        } catch (JDOException | ConcurrentModificationException e) {
+            log.info("Responses are not folded into the statistics aggregate of question " + feedbackQuestionId
+                     + " as the transaction failed: " + e.getMessage());
+            return false;
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            pm.close();
+        }
+    }
+
+    /**
+     * Checks the aggregate of the question against the sum of the counts of its markers, read in a transaction
+     * so that no marker is missed, and replaces the aggregate with the sum if they differ.
+     * The aggregate is created from the markers if there is none.
+     * @return false if the transaction failed, in which case nothing is changed
+     */
+    public boolean reconcileAggregateWithMarkers(String feedbackQuestionId, String courseId,
+                                                 String feedbackSessionName) {
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        Transaction tx = pm.currentTransaction();
+        try {
+            tx.begin();
+            FeedbackQuestionStatistics entity = getEntity(pm, feedbackQuestionId);
+            FeedbackQuestionStatisticsAggregate sum = sumMarkers(getMarkers(pm, feedbackQuestionId),
+                                                                 NO_CONTRIBUTIONS);
+            if (entity == null) {
+                pm.makePersistent(new FeedbackQuestionStatistics(feedbackQuestionId, courseId, feedbackSessionName,
+                                                                 sum.toJson(), new Date()));
+            } else {
+                FeedbackQuestionStatisticsAggregate aggregateKept =
+                        FeedbackQuestionStatisticsAggregate.fromJson(entity.getStatistics());
+                if (!sum.equals(aggregateKept)) {
+                    log.warning("Statistics aggregate of question " + feedbackQuestionId + " drifted from "
+                                + aggregateKept + " to " + sum);
+                    entity.setStatistics(sum.toJson());
+                    entity.incrementVersion();
+                }
+                entity.setLastReconciledAt(new Date());
+            }
+            tx.commit();
+            return true;
+        } catch (JDOException | ConcurrentModificationException e) {
+            log.info("Statistics aggregate of question " + feedbackQuestionId
+                     + " is not reconciled as the transaction failed: " + e.getMessage());
+            return false;
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            pm.close();
+        }
+    }
+
+    /**
+     * Deletes the aggregate of the question and the markers of its responses.
+     */
+    public void deleteAggregate(String feedbackQuestionId) {
+        getPm().deletePersistentAll(getMarkers(getPm(), feedbackQuestionId));
+        FeedbackQuestionStatistics entity = getEntity(getPm(), feedbackQuestionId);
+        if (entity != null) {
+            getPm().deletePersistent(entity);
+        }
+        getPm().flush();
+    }
+
+    /**
+     * Deletes up to {@code batchSize} aggregates and markers of the course, the markers first.
+     */
+    public BatchDeletionResult deleteAggregatesForCourseInBatch(String courseId, int batchSize) {
+        List<?> markers = getForCourseInBatch(FeedbackResponseStatisticsMarker.class, courseId, batchSize);
+        BatchDeletionResult markersDeleted = deleteBatch(markers, batchSize);
+        if (!markersDeleted.isLastBatch()) {
+            return markersDeleted;
+        }
+
+        int aggregatesBatchSize = batchSize - markers.size();
+        List<?> aggregates = getForCourseInBatch(FeedbackQuestionStatistics.class, courseId, aggregatesBatchSize);
+        return markersDeleted.followedBy(deleteBatch(aggregates, aggregatesBatchSize));
+    }
+
+    private List<?> getForCourseInBatch(Class<?> entityClass, String courseId, int batchSize) {
+        Query q = getPm().newQuery(entityClass);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        q.setRange(0, batchSize);
+        return (List<?>) q.execute(courseId);
+    }
+
+    /**
+     * Deletes the entities of a batch, skipping those deleted by an earlier batch which the query still returned.
+     */
+    private BatchDeletionResult deleteBatch(List<?> entities, int batchSize) {
+        List<Object> entitiesNotDeleted = new ArrayList<Object>();
+        for (Object entity : entities) {
+            if (!JDOHelper.isDeleted(entity)) {
+                entitiesNotDeleted.add(entity);
+            }
+        }
+        getPm().deletePersistentAll(entitiesNotDeleted);
+        getPm().flush();
+        return new BatchDeletionResult(entitiesNotDeleted.size(), entities.size() < batchSize);
+    }
+
+    /**
+     * Folds the counts of one response into {@code aggregate} and saves them in the marker of the response.
+     * @return false if the counts are not folded, as a later version of the response is folded already
+     */
+    private static boolean foldContribution(PersistenceManager pm, String feedbackQuestionId, String courseId,
+                                         String feedbackResponseId, FeedbackQuestionStatisticsAggregate contribution,
+                                         FeedbackQuestionStatisticsAggregate aggregate) {
+        FeedbackResponseStatisticsMarker marker = getMarker(pm, feedbackQuestionId, feedbackResponseId);
+        if (marker == null) {
+            if (contribution.isEmpty()) {
+                // a response deleted which was never folded contributes nothing
+                return false;
+            }
+            pm.makePersistent(new FeedbackResponseStatisticsMarker(
+                    KeyFactory.keyToString(getAggregateKey(feedbackQuestionId)), feedbackResponseId, courseId,
+                    contribution.toJson(), contribution.getVersion()));
+            aggregate.add(contribution);
+            return true;
+        }
+        if (marker.getVersion() > contribution.getVersion()) {
+            // a later version of the response is folded already
+            return false;
+        }
+        aggregate.subtract(FeedbackQuestionStatisticsAggregate.fromJson(marker.getStatistics()));
+        aggregate.add(contribution);
+        marker.setStatistics(contribution.toJson());
+        marker.setVersion(contribution.getVersion());
+        return true;
+    }
+
+    /**
+     * Sums the counts of the markers, taking the counts in {@code contributionsFolded} instead for the responses
+     * folded in the transaction, as the markers are read as they were when the transaction began.
+     */
+    private static FeedbackQuestionStatisticsAggregate sumMarkers(
+            List<FeedbackResponseStatisticsMarker> markers,
+            Map<String, FeedbackQuestionStatisticsAggregate> contributionsFolded) {
+        FeedbackQuestionStatisticsAggregate sum = new FeedbackQuestionStatisticsAggregate();
+        for (FeedbackResponseStatisticsMarker marker : markers) {
+            if (!contributionsFolded.containsKey(marker.getFeedbackResponseId())) {
+                sum.add(FeedbackQuestionStatisticsAggregate.fromJson(marker.getStatistics()));
+            }
+        }
+        for (FeedbackQuestionStatisticsAggregate contribution : contributionsFolded.values()) {
+            sum.add(contribution);
+        }
+        return sum;
+    }
+
+    private static FeedbackQuestionStatisticsAggregate toAggregate(FeedbackQuestionStatistics entity) {
+        FeedbackQuestionStatisticsAggregate aggregate =
+                FeedbackQuestionStatisticsAggregate.fromJson(entity.getStatistics());
+        aggregate.setVersion(entity.getVersion());
+        return aggregate;
+    }
+
+    /**
+     * @return the markers of the responses of the question, read with an ancestor query,
+     *         which is strongly consistent and can be run in a transaction on the aggregate
+     */
+    private static List<FeedbackResponseStatisticsMarker> getMarkers(PersistenceManager pm,
+                                                                     String feedbackQuestionId) {
+        Query q = pm.newQuery(FeedbackResponseStatisticsMarker.class);
+        q.declareParameters("String feedbackQuestionStatisticsKeyParam");
+        q.setFilter("feedbackQuestionStatisticsKey == feedbackQuestionStatisticsKeyParam");
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponseStatisticsMarker> markers = (List<FeedbackResponseStatisticsMarker>) q.execute(
+                KeyFactory.keyToString(getAggregateKey(feedbackQuestionId)));
+        return markers;
+    }
+
+    private static FeedbackResponseStatisticsMarker getMarker(PersistenceManager pm, String feedbackQuestionId,
+                                                              String feedbackResponseId) {
+        Key markerKey = getAggregateKey(feedbackQuestionId)
+                .getChild(FeedbackResponseStatisticsMarker.class.getSimpleName(), feedbackResponseId);
+        try {
+            FeedbackResponseStatisticsMarker marker =
+                    pm.getObjectById(FeedbackResponseStatisticsMarker.class, KeyFactory.keyToString(markerKey));
+            return JDOHelper.isDeleted(marker) ? null : marker;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Key getAggregateKey(String feedbackQuestionId) {
+        return KeyFactory.createKey(FeedbackQuestionStatistics.class.getSimpleName(), feedbackQuestionId);
+    }
+
+    private static FeedbackQuestionStatistics getEntity(PersistenceManager pm, String feedbackQuestionId) {
+        try {
+            FeedbackQuestionStatistics entity = pm.getObjectById(FeedbackQuestionStatistics.class, feedbackQuestionId);
+            return JDOHelper.isDeleted(entity) ? null : entity;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    private PersistenceManager getPm() {
+        return Datastore.getPersistenceManager();
+    }
+
+}
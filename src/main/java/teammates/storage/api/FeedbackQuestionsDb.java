@@ -7,6 +7,7 @@ import java.util.List;
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.BatchDeletionResult;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
@@ -58,7 +59,22 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         
         return new FeedbackQuestionAttributes((FeedbackQuestion) obj);
     }
-    
+
+    /**
+     * Creates all of {@code questionsToAdd} in one batched write, without checking if they exist.
+     * @return the questions created, with their generated IDs
+     */
+    public List<FeedbackQuestionAttributes> createFeedbackQuestionsWithoutExistenceCheck(
+            Collection<FeedbackQuestionAttributes> questionsToAdd) throws InvalidParametersException {
+        List<Object> entities = createEntitiesWithoutExistenceCheck(questionsToAdd);
+
+        List<FeedbackQuestionAttributes> questionsCreated = new ArrayList<FeedbackQuestionAttributes>();
+        for (Object entity : entities) {
+            questionsCreated.add(new FeedbackQuestionAttributes((FeedbackQuestion) entity));
+        }
+        return questionsCreated;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -133,6 +149,24 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return fqList;
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null, except {@code fromFeedbackSessionName}.
+     * @param fromFeedbackSessionName the name of the session whose questions are the first read,
+     *         or null to read the questions of every session
+     * @return the questions of the course in order of session name, from the session named
+     *         {@code fromFeedbackSessionName} on. An empty list if no such questions are found.
+     */
+    public List<FeedbackQuestionAttributes> getFeedbackQuestionsForCourseInSessionOrder(
+            String courseId, String fromFeedbackSessionName) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        List<FeedbackQuestion> questions =
+                getFeedbackQuestionEntitiesForCourseInSessionOrder(courseId, fromFeedbackSessionName);
+        
+        return getListOfQuestionAttributes(questions);
+    }
+    
     private List<FeedbackQuestionAttributes> getListOfQuestionAttributes(List<FeedbackQuestion> questions) {
         List<FeedbackQuestionAttributes> questionAttributes = new ArrayList<FeedbackQuestionAttributes>();
 
@@ -202,7 +236,7 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         //set true to prevent changes to last update timestamp
         fq.keepUpdateTimestamp = keepUpdateTimestamp;
         
-        log.info(newAttributes.getBackupIdentifier());
+        logModification(newAttributes);
         getPm().close();
     }
     
@@ -223,6 +257,17 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         getPm().flush();
     }
     
+    /**
+     * Deletes up to {@code batchSize} questions in the course.
+     */
+    public BatchDeletionResult deleteFeedbackQuestionsForCourseInBatch(String courseId, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CourseEntitiesBatch<FeedbackQuestion> feedbackQuestionBatch =
+                getEntitiesForCourseInBatch(FeedbackQuestion.class, "courseId", courseId, batchSize);
+        return deleteEntitiesForCourse(feedbackQuestionBatch, courseId);
+    }
+    
     private List<FeedbackQuestion> getFeedbackQuestionEntitiesForCourses(List<String> courseIds) {
         Query q = getPm().newQuery(FeedbackQuestion.class);
         q.setFilter(":p.contains(courseId)");
@@ -297,6 +342,31 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return feedbackQuestionList;
     }
     
+    private List<FeedbackQuestion> getFeedbackQuestionEntitiesForCourseInSessionOrder(
+            String courseId, String fromFeedbackSessionName) {
+        Query q = getPm().newQuery(FeedbackQuestion.class);
+        q.setOrdering("feedbackSessionName ascending");
+        
+        if (fromFeedbackSessionName == null) {
+            q.declareParameters("String courseIdParam");
+            q.setFilter("courseId == courseIdParam");
+            
+            @SuppressWarnings("unchecked")
+            List<FeedbackQuestion> feedbackQuestionList = (List<FeedbackQuestion>) q.execute(courseId);
+            
+            return feedbackQuestionList;
+        }
+        
+        q.declareParameters("String courseIdParam, String feedbackSessionNameParam");
+        q.setFilter("courseId == courseIdParam && feedbackSessionName >= feedbackSessionNameParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackQuestion> feedbackQuestionList =
+                (List<FeedbackQuestion>) q.execute(courseId, fromFeedbackSessionName);
+        
+        return feedbackQuestionList;
+    }
+    
     private List<FeedbackQuestion> getFeedbackQuestionEntitiesForGiverType(
             String feedbackSessionName, String courseId, FeedbackParticipantType giverType) {
         Query q = getPm().newQuery(FeedbackQuestion.class);
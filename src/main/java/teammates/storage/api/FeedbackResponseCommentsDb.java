@@ -10,6 +10,7 @@ import java.util.Map;
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.BatchDeletionResult;
 import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
@@ -225,6 +226,24 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         deleteFeedbackResponseCommentsForCourses(courseIds);
     }
     
+    /**
+     * Deletes up to {@code batchSize} response comments in the course, with their search documents.
+     */
+    public BatchDeletionResult deleteFeedbackResponseCommentsForCourseInBatch(String courseId, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CourseEntitiesBatch<FeedbackResponseComment> frcBatch =
+                getEntitiesForCourseInBatch(FeedbackResponseComment.class, "courseId", courseId, batchSize);
+        
+        List<String> documentIds = new ArrayList<String>();
+        for (FeedbackResponseComment frc : frcBatch.getEntities()) {
+            documentIds.add(frc.getFeedbackResponseCommentId().toString());
+        }
+        deleteDocuments(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, documentIds);
+        
+        return deleteEntitiesForCourse(frcBatch, courseId);
+    }
+    
     /*
      * Get response comments for the course Ids
      */
@@ -336,7 +355,7 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             frc.setFeedbackResponseId(newAttributes.feedbackResponseId);
         }
         
-        log.info(newAttributes.getBackupIdentifier());
+        logModification(newAttributes);
         getPm().close();
         
         return new FeedbackResponseCommentAttributes(frc);
@@ -361,7 +380,7 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             responseComment.setGiverEmail(updatedEmail);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logCourseModification(courseId);
         getPm().close();
     }
     
@@ -424,7 +443,7 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             frComment.setSendingState(newState);
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logCourseModification(courseId);
         getPm().close();
     }
     
@@ -1,24 +1,49 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.BatchDeletionResult;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseConsumer;
+import teammates.common.datatransfer.FeedbackResponsesPage;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
+import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.storage.entity.FeedbackResponse;
 
 public class FeedbackResponsesDb extends EntitiesDb {
 
+    private static final String SESSION_FILTER =
+            "feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam";
+    private static final String SESSION_PARAMETERS = "String feedbackSessionNameParam, String courseIdParam";
+
+    private final boolean isResponseSectionsMigrated;
+
+    public FeedbackResponsesDb() {
+        this(Config.IS_RESPONSE_SECTIONS_MIGRATED);
+    }
+
+    /**
+     * @param isResponseSectionsMigrated whether the responses in a section are read by their {@code sections},
+     *         or by merging the responses from givers in the section with those to recipients in the section,
+     *         which also finds the responses stored before they kept their {@code sections}
+     */
+    public FeedbackResponsesDb(boolean isResponseSectionsMigrated) {
+        this.isResponseSectionsMigrated = isResponseSectionsMigrated;
+    }
+
     public void createFeedbackResponses(Collection<FeedbackResponseAttributes> responsesToAdd)
             throws InvalidParametersException {
         List<EntityAttributes> responsesToUpdate = createEntities(responsesToAdd);
@@ -47,6 +72,35 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return new FeedbackResponseAttributes(feedbackResponse);
     }
 
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the responses with the given IDs which exist, keyed by response ID
+     */
+    public Map<String, FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseIds);
+        
+        Map<String, FeedbackResponseAttributes> responses = new HashMap<String, FeedbackResponseAttributes>();
+        if (feedbackResponseIds.isEmpty()) {
+            return responses;
+        }
+        
+        // a query on the primary key alone is executed as a batch get
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.setFilter(":p.contains(feedbackResponseId)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses =
+                (List<FeedbackResponse>) q.execute(new ArrayList<String>(feedbackResponseIds));
+        
+        for (FeedbackResponse feedbackResponse : feedbackResponses) {
+            if (!JDOHelper.isDeleted(feedbackResponse)) {
+                responses.put(feedbackResponse.getId(), new FeedbackResponseAttributes(feedbackResponse));
+            }
+        }
+        return responses;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -387,6 +441,187 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null, except {@code cursor}.
+     * @param cursor the cursor given with the previous page, or null to read the first page
+     * @return up to {@code pageSize} responses of the session after {@code cursor}, in order of response ID
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionPage(
+            String feedbackSessionName, String courseId, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        return getFeedbackResponsesPage(SESSION_FILTER, SESSION_PARAMETERS,
+                                        new Object[] {feedbackSessionName, courseId}, cursor, pageSize);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null, except {@code cursor}.
+     * @param cursor the cursor given with the previous page, or null to read the first page
+     * @return up to {@code pageSize} responses of the session from givers or to recipients in the section
+     *         after {@code cursor}, in order of response ID
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionInSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        if (!isResponseSectionsMigrated) {
+            return mergeFeedbackResponsesPages(
+                    getFeedbackResponsesForSessionFromSectionPage(feedbackSessionName, courseId, section, cursor, pageSize),
+                    getFeedbackResponsesForSessionToSectionPage(feedbackSessionName, courseId, section, cursor, pageSize),
+                    pageSize);
+        }
+
+        return getFeedbackResponsesPage(SESSION_FILTER + " && sections.contains(sectionParam)",
+                                        SESSION_PARAMETERS + ", String sectionParam",
+                                        new Object[] {feedbackSessionName, courseId, section}, cursor, pageSize);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null, except {@code cursor}.
+     * @param cursor the cursor given with the previous page, or null to read the first page
+     * @return up to {@code pageSize} responses of the session from givers in the section after {@code cursor},
+     *         in order of response ID
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionFromSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        return getFeedbackResponsesPage(SESSION_FILTER + " && giverSection == sectionParam",
+                                        SESSION_PARAMETERS + ", String sectionParam",
+                                        new Object[] {feedbackSessionName, courseId, section}, cursor, pageSize);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null, except {@code cursor}.
+     * @param cursor the cursor given with the previous page, or null to read the first page
+     * @return up to {@code pageSize} responses of the session to recipients in the section after {@code cursor},
+     *         in order of response ID
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionToSectionPage(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        return getFeedbackResponsesPage(SESSION_FILTER + " && receiverSection == sectionParam",
+                                        SESSION_PARAMETERS + ", String sectionParam",
+                                        new Object[] {feedbackSessionName, courseId, section}, cursor, pageSize);
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null, except {@code cursor}.
+     * @param cursor the cursor given with the previous page, or null to read the first page
+     * @return up to {@code pageSize} responses of the question after {@code cursor}, in order of response ID
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForQuestionPage(
+            String feedbackQuestionId, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+
+        return getFeedbackResponsesPage("feedbackQuestionId == feedbackQuestionIdParam",
+                                        "String feedbackQuestionIdParam",
+                                        new Object[] {feedbackQuestionId}, cursor, pageSize);
+    }
+
+    /**
+     * Passes each response of the session to {@code consumer}, reading {@code pageSize} responses at a time.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void forEachFeedbackResponseInSession(String feedbackSessionName, String courseId, int pageSize,
+                                                 FeedbackResponseConsumer consumer) {
+        String cursor = null;
+        do {
+            FeedbackResponsesPage page =
+                    getFeedbackResponsesForSessionPage(feedbackSessionName, courseId, cursor, pageSize);
+            acceptAll(page, consumer);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+
+    /**
+     * Passes each response of the session from givers or to recipients in the section to {@code consumer},
+     * reading {@code pageSize} responses at a time.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void forEachFeedbackResponseInSessionInSection(String feedbackSessionName, String courseId,
+                                                          String section, int pageSize,
+                                                          FeedbackResponseConsumer consumer) {
+        String cursor = null;
+        do {
+            FeedbackResponsesPage page = getFeedbackResponsesForSessionInSectionPage(
+                    feedbackSessionName, courseId, section, cursor, pageSize);
+            acceptAll(page, consumer);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+
+    /**
+     * Passes each response of the session from givers in the section to {@code consumer},
+     * reading {@code pageSize} responses at a time.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void forEachFeedbackResponseInSessionFromSection(String feedbackSessionName, String courseId,
+                                                            String section, int pageSize,
+                                                            FeedbackResponseConsumer consumer) {
+        String cursor = null;
+        do {
+            FeedbackResponsesPage page = getFeedbackResponsesForSessionFromSectionPage(
+                    feedbackSessionName, courseId, section, cursor, pageSize);
+            acceptAll(page, consumer);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+
+    /**
+     * Passes each response of the session to recipients in the section to {@code consumer},
+     * reading {@code pageSize} responses at a time.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void forEachFeedbackResponseInSessionToSection(String feedbackSessionName, String courseId,
+                                                          String section, int pageSize,
+                                                          FeedbackResponseConsumer consumer) {
+        String cursor = null;
+        do {
+            FeedbackResponsesPage page = getFeedbackResponsesForSessionToSectionPage(
+                    feedbackSessionName, courseId, section, cursor, pageSize);
+            acceptAll(page, consumer);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+
+    /**
+     * Passes each response of the question to {@code consumer}, reading {@code pageSize} responses at a time.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void forEachFeedbackResponseForQuestion(String feedbackQuestionId, int pageSize,
+                                                   FeedbackResponseConsumer consumer) {
+        String cursor = null;
+        do {
+            FeedbackResponsesPage page = getFeedbackResponsesForQuestionPage(feedbackQuestionId, cursor, pageSize);
+            acceptAll(page, consumer);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -639,7 +874,7 @@ public class FeedbackResponsesDb extends EntitiesDb {
         fr.setGiverSection(newAttributes.giverSection);
         fr.setRecipientSection(newAttributes.recipientSection);
                 
-        log.info(newAttributes.getBackupIdentifier());
+        logModification(newAttributes);
         getPm().close();
     }
     
@@ -666,6 +901,17 @@ public class FeedbackResponsesDb extends EntitiesDb {
         getPm().flush();
     }
     
+    /**
+     * Deletes up to {@code batchSize} responses in the course.
+     */
+    public BatchDeletionResult deleteFeedbackResponsesForCourseInBatch(String courseId, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CourseEntitiesBatch<FeedbackResponse> feedbackResponseBatch =
+                getEntitiesForCourseInBatch(FeedbackResponse.class, "courseId", courseId, batchSize);
+        return deleteEntitiesForCourse(feedbackResponseBatch, courseId);
+    }
+    
     @SuppressWarnings("unchecked")
     public List<FeedbackResponse> getFeedbackResponseEntitiesForCourses(List<String> courseIds) {
         Query q = getPm().newQuery(FeedbackResponse.class);
@@ -780,6 +1026,103 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
+    /**
+     * Reads the responses matching {@code filter} after {@code cursor}, which is the ID of the last response
+     * of the previous page. Paging by response ID rather than by offset keeps every page one indexed read,
+     * however far into the query it is, and is not thrown off by responses created or deleted between pages.
+     */
+    private FeedbackResponsesPage getFeedbackResponsesPage(String filter, String parameters, Object[] parameterValues,
+                                                           String cursor, int pageSize) {
+        Assumption.assertTrue(pageSize > 0);
+
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        Object[] values = parameterValues;
+        if (cursor == null) {
+            q.declareParameters(parameters);
+            q.setFilter(filter);
+        } else {
+            q.declareParameters(parameters + ", String cursorParam");
+            q.setFilter(filter + " && feedbackResponseId > cursorParam");
+            values = Arrays.copyOf(parameterValues, parameterValues.length + 1);
+            values[parameterValues.length] = cursor;
+        }
+        q.setOrdering("feedbackResponseId ascending");
+        q.setRange(0, pageSize);
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> entities = (List<FeedbackResponse>) q.executeWithArray(values);
+
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponse entity : entities) {
+            if (!JDOHelper.isDeleted(entity)) {
+                responses.add(new FeedbackResponseAttributes(entity));
+            }
+        }
+        String nextCursor = entities.size() < pageSize ? null : entities.get(entities.size() - 1).getId();
+        return new FeedbackResponsesPage(responses, nextCursor);
+    }
+
+    /**
+     * Merges the pages read from the same cursor by two queries into the page of the responses matching either,
+     * dropping the responses read by both. Its next cursor is the earlier of the two, so that no response after
+     * it is passed over by the next page.
+     */
+    private static FeedbackResponsesPage mergeFeedbackResponsesPages(FeedbackResponsesPage firstPage,
+                                                                     FeedbackResponsesPage secondPage, int pageSize) {
+        String nextCursor = firstPage.getNextCursor();
+        if (nextCursor == null
+                || secondPage.hasNextPage() && secondPage.getNextCursor().compareTo(nextCursor) < 0) {
+            nextCursor = secondPage.getNextCursor();
+        }
+
+        TreeMap<String, FeedbackResponseAttributes> responses = new TreeMap<String, FeedbackResponseAttributes>();
+        for (FeedbackResponsesPage page : Arrays.asList(firstPage, secondPage)) {
+            for (FeedbackResponseAttributes response : page.getResponses()) {
+                if (nextCursor == null || response.getId().compareTo(nextCursor) <= 0) {
+                    responses.put(response.getId(), response);
+                }
+            }
+        }
+
+        List<FeedbackResponseAttributes> mergedResponses = new ArrayList<FeedbackResponseAttributes>(responses.values());
+        if (mergedResponses.size() > pageSize) {
+            mergedResponses = new ArrayList<FeedbackResponseAttributes>(mergedResponses.subList(0, pageSize));
+            nextCursor = mergedResponses.get(pageSize - 1).getId();
+        }
+        return new FeedbackResponsesPage(mergedResponses, nextCursor);
+    }
+
+    /**
+     * Executes {@code q} once for responses from givers in the section and once for responses to recipients
+     * in the section, merging the results. The responses stored before they kept their {@code sections}
+     * are found this way until {@link Config#IS_RESPONSE_SECTIONS_MIGRATED} is set.
+     */
+    private static List<FeedbackResponse> executeForGiverOrReceiverSection(Query q, String filter,
+                                                                           Object... parameters) {
+        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
+
+        for (String sectionFilter : Arrays.asList(" && giverSection == sectionParam",
+                                                  " && receiverSection == sectionParam")) {
+            q.setFilter(filter + sectionFilter);
+
+            @SuppressWarnings("unchecked")
+            List<FeedbackResponse> queryResponses = (List<FeedbackResponse>) q.executeWithArray(parameters);
+            for (FeedbackResponse response : queryResponses) {
+                if (!JDOHelper.isDeleted(response)) {
+                    feedbackResponses.put(response.getId(), response);
+                }
+            }
+        }
+
+        return new ArrayList<FeedbackResponse>(feedbackResponses.values());
+    }
+
+    private static void acceptAll(FeedbackResponsesPage page, FeedbackResponseConsumer consumer) {
+        for (FeedbackResponseAttributes response : page.getResponses()) {
+            consumer.accept(response);
+        }
+    }
+
     private List<FeedbackResponse> getFeedbackResponseEntitiesForQuestion(
                 String feedbackQuestionId) {
     
@@ -836,39 +1179,23 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
  
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSection(
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSection(
             String feedbackSessionName, String courseId, String section) {
 
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-
         Query q = getPm().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
-                    + "&& courseId == courseIdParam "
-                    + "&& giverSection == sectionParam");
-        
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
+        if (!isResponseSectionsMigrated) {
+            return executeForGiverOrReceiverSection(q, SESSION_FILTER, feedbackSessionName, courseId, section);
         }
-        
         q.setFilter("feedbackSessionName == feedbackSessionNameParam "
                     + "&& courseId == courseIdParam "
-                    + "&& receiverSection == sectionParam");
+                    + "&& sections.contains(sectionParam)");
+        
         @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
+        List<FeedbackResponse> queryResponses =
                 (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-        
-        return feedbackResponses.values();
+
+        return queryResponses;
     }
 
     private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionFromSection(
@@ -903,41 +1230,24 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return queryResponses;
     }
     
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSectionWithinRange(
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSectionWithinRange(
             String feedbackSessionName, String courseId, String section, long range) {
 
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-
         Query q = getPm().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
-                    + "&& courseId == courseIdParam "
-                    + "&& giverSection == sectionParam");
         q.setRange(0, range + 1);
-        
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
+        if (!isResponseSectionsMigrated) {
+            return executeForGiverOrReceiverSection(q, SESSION_FILTER, feedbackSessionName, courseId, section);
         }
-        
         q.setFilter("feedbackSessionName == feedbackSessionNameParam "
                     + "&& courseId == courseIdParam "
-                    + "&& receiverSection == sectionParam");
-        q.setRange(0, range + 1);
+                    + "&& sections.contains(sectionParam)");
+
         @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
+        List<FeedbackResponse> queryResponses =
                 (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
-        
-        return feedbackResponses.values();
+
+        return queryResponses;
     }
 
     private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionFromSectionWithinRange(
@@ -988,37 +1298,24 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestionInSection(
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestionInSection(
             String feedbackQuestionId, String receiver, String section) {
         
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-        
         Query q = getPm().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackQuestionIdParam, String receiverParam, String sectionParam");
-        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && receiver == receiverParam "
-                    + "&& giverSection == sectionParam");
-    
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackQuestionId, receiver, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
+        if (!isResponseSectionsMigrated) {
+            return executeForGiverOrReceiverSection(q, "feedbackQuestionId == feedbackQuestionIdParam "
+                                                       + "&& receiver == receiverParam",
+                                                    feedbackQuestionId, receiver, section);
         }
-        
         q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && receiver == receiverParam "
-                + "&& receiverSection == sectionParam");
+                    + "&& sections.contains(sectionParam)");
+    
         @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
+        List<FeedbackResponse> queryResponses =
                 (List<FeedbackResponse>) q.execute(feedbackQuestionId, receiver, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
         
-        return feedbackResponses.values();
+        return queryResponses;
     }
     
     private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestion(
@@ -1035,37 +1332,24 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
-    private Collection<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestionInSection(
+    private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestionInSection(
             String feedbackQuestionId, String giverEmail, String section) {
         
-        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
-        
         Query q = getPm().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackQuestionIdParam, String giverEmailParam, String sectionParam");
-        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverEmail == giverEmailParam "
-                    + "&& giverSection == sectionParam");
-    
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> firstQueryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackQuestionId, giverEmail, section);
-        for (FeedbackResponse response : firstQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
+        if (!isResponseSectionsMigrated) {
+            return executeForGiverOrReceiverSection(q, "feedbackQuestionId == feedbackQuestionIdParam "
+                                                       + "&& giverEmail == giverEmailParam",
+                                                    feedbackQuestionId, giverEmail, section);
         }
-        
         q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverEmail == giverEmailParam "
-                + "&& receiverSection == sectionParam");
+                    + "&& sections.contains(sectionParam)");
+    
         @SuppressWarnings("unchecked")
-        List<FeedbackResponse> secondQueryResponses =
+        List<FeedbackResponse> queryResponses =
                 (List<FeedbackResponse>) q.execute(feedbackQuestionId, giverEmail, section);
-        for (FeedbackResponse response : secondQueryResponses) {
-            if (!JDOHelper.isDeleted(response)) {
-                feedbackResponses.put(response.getId(), response);
-            }
-        }
         
-        return feedbackResponses.values();
+        return queryResponses;
     }
     
     private List<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForSessionWithinRange(
@@ -11,6 +11,7 @@ import java.util.List;
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.BatchDeletionResult;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionType;
@@ -266,7 +267,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
         fs.setSendClosingEmail(newAttributes.isClosingEmailEnabled());
         fs.setSendPublishedEmail(newAttributes.isPublishedEmailEnabled());
                 
-        log.info(newAttributes.getBackupIdentifier());
+        logModification(newAttributes);
         getPm().close();
     }
 
@@ -298,7 +299,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingInstructorList().addAll(emails);
         
-        log.info(feedbackSession.getBackupIdentifier());
+        logModification(feedbackSession);
         getPm().close();
     }
 
@@ -326,7 +327,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
             fs.getRespondingInstructorList().add(newEmail);
         }
        
-        log.info(feedbackSession.getBackupIdentifier());
+        logModification(feedbackSession);
         getPm().close();
     }
 
@@ -349,7 +350,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingInstructorList().clear();
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logModification(feedbackSession);
         getPm().close();
     }
 
@@ -381,7 +382,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingInstructorList().remove(email);
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logModification(feedbackSession);
         getPm().close();
     }
 
@@ -405,7 +406,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingStudentList().addAll(emails);
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logModification(feedbackSession);
         getPm().close();
     }
 
@@ -433,7 +434,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
             fs.getRespondingStudentList().add(newEmail);
         }
         
-        log.info(feedbackSession.getBackupIdentifier());
+        logModification(feedbackSession);
         getPm().close();
     }
 
@@ -456,7 +457,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
 
         fs.getRespondingStudentList().clear();
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logModification(feedbackSession);
         getPm().close();
     }
 
@@ -480,7 +481,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
         
         fs.getRespondingStudentList().remove(email);
 
-        log.info(feedbackSession.getBackupIdentifier());
+        logModification(feedbackSession);
         getPm().close();
     }
     
@@ -501,6 +502,17 @@ public class FeedbackSessionsDb extends EntitiesDb {
         getPm().flush();
     }
     
+    /**
+     * Deletes up to {@code batchSize} sessions in the course.
+     */
+    public BatchDeletionResult deleteFeedbackSessionsForCourseInBatch(String courseId, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CourseEntitiesBatch<FeedbackSession> feedbackSessionBatch =
+                getEntitiesForCourseInBatch(FeedbackSession.class, "courseId", courseId, batchSize);
+        return deleteEntitiesForCourse(feedbackSessionBatch, courseId);
+    }
+    
     @SuppressWarnings("unchecked")
     private List<FeedbackSession> getFeedbackSessionEntitiesForCourses(List<String> courseIds) {
         Query q = getPm().newQuery(FeedbackSession.class);
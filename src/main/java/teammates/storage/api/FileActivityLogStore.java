@@ -0,0 +1,472 @@
+package teammates.storage.api;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import teammates.common.util.ActivityLogRecord;
+import teammates.common.util.ActivityLogStoreQuery;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Utils;
+
+/**
+ * An {@link ActivityLogStore} kept in append-only segment files in a local directory,
+ * meant for the dev server and tests as GAE does not allow writing to local files in production.<br>
+ * Records are appended to the newest segment until it is full, when a new segment is started.
+ * All records are held in memory, indexed by time, person, role, servlet and course; the indexes are
+ * rebuilt from the segments when the store is opened.
+ */
+public class FileActivityLogStore implements ActivityLogStore {
+
+    public static final int DEFAULT_MAX_RECORDS_PER_SEGMENT = 10000;
+
+    private static final Logger log = Utils.getLogger();
+
+    private static final String SEGMENT_FILE_PREFIX = "activitylog-";
+    private static final String SEGMENT_FILE_SUFFIX = ".segment";
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private static final Comparator<ActivityLogRecord> NEWEST_FIRST = new Comparator<ActivityLogRecord>() {
+        @Override
+        public int compare(ActivityLogRecord record1, ActivityLogRecord record2) {
+            return Long.compare(record2.getTime(), record1.getTime());
+        }
+    };
+
+    private final File directory;
+    private final int maxRecordsPerSegment;
+
+    private final List<Segment> segments = new ArrayList<Segment>();
+    private int nextSegmentNumber;
+
+    private final NavigableMap<Long, List<ActivityLogRecord>> timeIndex = new TreeMap<Long, List<ActivityLogRecord>>();
+    private final Map<String, List<ActivityLogRecord>> personIndex = new HashMap<String, List<ActivityLogRecord>>();
+    private final Map<String, List<ActivityLogRecord>> roleIndex = new HashMap<String, List<ActivityLogRecord>>();
+    private final Map<String, List<ActivityLogRecord>> servletIndex = new HashMap<String, List<ActivityLogRecord>>();
+    private final Map<String, List<ActivityLogRecord>> courseIndex = new HashMap<String, List<ActivityLogRecord>>();
+
+    public FileActivityLogStore(File directory) {
+        this(directory, DEFAULT_MAX_RECORDS_PER_SEGMENT);
+    }
+
+    /**
+     * Opens the store kept in {@code directory}, creating the directory if it does not exist.
+     */
+    public FileActivityLogStore(File directory, int maxRecordsPerSegment) {
+        Assumption.assertTrue(maxRecordsPerSegment > 0);
+        this.directory = directory;
+        this.maxRecordsPerSegment = maxRecordsPerSegment;
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new RuntimeException("Cannot create the activity log directory " + directory);
+        }
+        loadSegments();
+    }
+
+    @Override
+    public synchronized void append(ActivityLogRecord record) {
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.records.size() >= maxRecordsPerSegment) {
+            segment = new Segment(getSegmentFile(nextSegmentNumber++));
+            segments.add(segment);
+        }
+
+        try (Writer writer = openWriter(segment.file, true)) {
+            writer.write(toLine(record));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        segment.records.add(record);
+        addToIndexes(record);
+    }
+
+    @Override
+    public synchronized List<ActivityLogRecord> query(ActivityLogStoreQuery query) {
+        Collection<ActivityLogRecord> candidates = getSmallestCandidates(query);
+        List<ActivityLogRecord> results = new ArrayList<ActivityLogRecord>();
+
+        if (candidates == null) {
+            // only the time period is given, for which the time index returns the records in order
+            Collection<List<ActivityLogRecord>> recordsInPeriod =
+                    timeIndex.subMap(query.getStartTime(), true, query.getEndTime(), true).descendingMap().values();
+            for (List<ActivityLogRecord> records : recordsInPeriod) {
+                for (ActivityLogRecord record : records) {
+                    if (results.size() >= query.getLimit()) {
+                        return results;
+                    }
+                    if (query.matches(record)) {
+                        results.add(record);
+                    }
+                }
+            }
+            return results;
+        }
+
+        for (ActivityLogRecord record : candidates) {
+            if (query.matches(record)) {
+                results.add(record);
+            }
+        }
+        Collections.sort(results, NEWEST_FIRST);
+        return results.size() > query.getLimit() ? new ArrayList<ActivityLogRecord>(results.subList(0, query.getLimit()))
+                                                 : results;
+    }
+
+    /**
+     * Removes the segments holding only records written before {@code time},
+     * and rewrites the segments holding some of them.
+     */
+    @Override
+    public synchronized int deleteOlderThan(long time) {
+        int numberOfRecordsDeleted = 0;
+        List<Segment> remainingSegments = new ArrayList<Segment>();
+        for (Segment segment : segments) {
+            List<ActivityLogRecord> remainingRecords = new ArrayList<ActivityLogRecord>();
+            for (ActivityLogRecord record : segment.records) {
+                if (record.getTime() >= time) {
+                    remainingRecords.add(record);
+                }
+            }
+            numberOfRecordsDeleted += segment.records.size() - remainingRecords.size();
+
+            if (remainingRecords.isEmpty()) {
+                deleteFile(segment.file);
+            } else {
+                if (remainingRecords.size() < segment.records.size()) {
+                    writeSegment(segment.file, remainingRecords);
+                    segment.records.clear();
+                    segment.records.addAll(remainingRecords);
+                }
+                remainingSegments.add(segment);
+            }
+        }
+        segments.clear();
+        segments.addAll(remainingSegments);
+
+        if (numberOfRecordsDeleted > 0) {
+            rebuildIndexes();
+        }
+        return numberOfRecordsDeleted;
+    }
+
+    /**
+     * Merges neighbouring segments which are small enough to fit into one.
+     */
+    @Override
+    public synchronized void compact() {
+        List<Segment> compactedSegments = new ArrayList<Segment>();
+        Segment previous = null;
+        for (Segment segment : segments) {
+            if (previous != null && previous.records.size() + segment.records.size() <= maxRecordsPerSegment) {
+                List<ActivityLogRecord> mergedRecords = new ArrayList<ActivityLogRecord>(previous.records);
+                mergedRecords.addAll(segment.records);
+                writeSegment(previous.file, mergedRecords);
+                deleteFile(segment.file);
+                previous.records.addAll(segment.records);
+            } else {
+                compactedSegments.add(segment);
+                previous = segment;
+            }
+        }
+        segments.clear();
+        segments.addAll(compactedSegments);
+    }
+
+    /**
+     * @return the number of segment files the records are kept in
+     */
+    public synchronized int getNumberOfSegments() {
+        return segments.size();
+    }
+
+    /**
+     * @return the records which can match the conditions of {@code query} other than the time period,
+     *         taken from the index giving the fewest of them, or null if there are no such conditions
+     */
+    private Collection<ActivityLogRecord> getSmallestCandidates(ActivityLogStoreQuery query) {
+        List<Collection<ActivityLogRecord>> candidateLists = new ArrayList<Collection<ActivityLogRecord>>();
+        if (query.getPerson() != null) {
+            candidateLists.add(lookUp(personIndex, Arrays.asList(query.getPerson().toLowerCase())));
+        }
+        if (query.getCourseId() != null) {
+            candidateLists.add(lookUp(courseIndex, Arrays.asList(query.getCourseId())));
+        }
+        if (query.getServletNames() != null) {
+            candidateLists.add(lookUp(servletIndex, query.getServletNames()));
+        }
+        if (query.getRoles() != null) {
+            candidateLists.add(lookUp(roleIndex, query.getRoles()));
+        }
+
+        Collection<ActivityLogRecord> smallest = null;
+        for (Collection<ActivityLogRecord> candidates : candidateLists) {
+            if (smallest == null || candidates.size() < smallest.size()) {
+                smallest = candidates;
+            }
+        }
+        return smallest;
+    }
+
+    private static Collection<ActivityLogRecord> lookUp(Map<String, List<ActivityLogRecord>> index,
+                                                        List<String> keys) {
+        if (keys.size() == 1) {
+            List<ActivityLogRecord> records = index.get(keys.get(0));
+            return records == null ? Collections.<ActivityLogRecord>emptyList() : records;
+        }
+        List<ActivityLogRecord> records = new ArrayList<ActivityLogRecord>();
+        for (String key : keys) {
+            List<ActivityLogRecord> recordsOfKey = index.get(key);
+            if (recordsOfKey != null) {
+                records.addAll(recordsOfKey);
+            }
+        }
+        return records;
+    }
+
+    private void addToIndexes(ActivityLogRecord record) {
+        addToIndex(timeIndex, record.getTime(), record);
+        addToIndex(roleIndex, toLowerCase(record.getRole()), record);
+        addToIndex(servletIndex, toLowerCase(record.getServletName()), record);
+        addToIndex(courseIndex, record.getCourseId(), record);
+
+        String googleId = toLowerCase(record.getGoogleId());
+        String email = toLowerCase(record.getEmail());
+        String name = toLowerCase(record.getName());
+        addToIndex(personIndex, googleId, record);
+        if (email != null && !email.equals(googleId)) {
+            addToIndex(personIndex, email, record);
+        }
+        if (name != null && !name.equals(googleId) && !name.equals(email)) {
+            addToIndex(personIndex, name, record);
+        }
+    }
+
+    private static <K> void addToIndex(Map<K, List<ActivityLogRecord>> index, K key, ActivityLogRecord record) {
+        if (key == null) {
+            return;
+        }
+        List<ActivityLogRecord> records = index.get(key);
+        if (records == null) {
+            records = new ArrayList<ActivityLogRecord>();
+            index.put(key, records);
+        }
+        records.add(record);
+    }
+
+    private static String toLowerCase(String value) {
+        return value == null ? null : value.toLowerCase();
+    }
+
+    private void rebuildIndexes() {
+        timeIndex.clear();
+        personIndex.clear();
+        roleIndex.clear();
+        servletIndex.clear();
+        courseIndex.clear();
+        for (Segment segment : segments) {
+            for (ActivityLogRecord record : segment.records) {
+                addToIndexes(record);
+            }
+        }
+    }
+
+    private void loadSegments() {
+        File[] files = directory.listFiles();
+        List<Integer> segmentNumbers = new ArrayList<Integer>();
+        for (File file : files == null ? new File[0] : files) {
+            Integer segmentNumber = getSegmentNumber(file.getName());
+            if (segmentNumber != null) {
+                segmentNumbers.add(segmentNumber);
+            }
+        }
+        Collections.sort(segmentNumbers);
+
+        for (int segmentNumber : segmentNumbers) {
+            Segment segment = new Segment(getSegmentFile(segmentNumber));
+            segment.records.addAll(readSegment(segment.file));
+            segments.add(segment);
+            nextSegmentNumber = segmentNumber + 1;
+        }
+        rebuildIndexes();
+    }
+
+    private File getSegmentFile(int segmentNumber) {
+        return new File(directory, SEGMENT_FILE_PREFIX + String.format("%08d", segmentNumber) + SEGMENT_FILE_SUFFIX);
+    }
+
+    private static Integer getSegmentNumber(String fileName) {
+        if (!fileName.startsWith(SEGMENT_FILE_PREFIX) || !fileName.endsWith(SEGMENT_FILE_SUFFIX)) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(fileName.substring(SEGMENT_FILE_PREFIX.length(),
+                                                      fileName.length() - SEGMENT_FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static List<ActivityLogRecord> readSegment(File file) {
+        List<ActivityLogRecord> records = new ArrayList<ActivityLogRecord>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), Const.SystemParams.ENCODING))) {
+            String line = reader.readLine();
+            while (line != null) {
+                ActivityLogRecord record = fromLine(line);
+                if (record == null) {
+                    log.warning("Skipping malformed activity log record in " + file + ": " + line);
+                } else {
+                    records.add(record);
+                }
+                line = reader.readLine();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return records;
+    }
+
+    /**
+     * Replaces the content of {@code file} with {@code records}, through a temporary file
+     * so that the segment is never left half-written.
+     */
+    private void writeSegment(File file, List<ActivityLogRecord> records) {
+        File temporaryFile = new File(directory, file.getName() + ".tmp");
+        try {
+            try (Writer writer = openWriter(temporaryFile, false)) {
+                for (ActivityLogRecord record : records) {
+                    writer.write(toLine(record));
+                }
+            }
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void deleteFile(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Writer openWriter(File file, boolean isAppending) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, isAppending),
+                                                         Const.SystemParams.ENCODING));
+    }
+
+    /**
+     * Writes a record as one line of tab-separated time, course ID and log message,
+     * escaping the characters that would break the line.
+     */
+    private static String toLine(ActivityLogRecord record) {
+        String courseId = record.getCourseId() == null ? "" : record.getCourseId();
+        String version = record.getVersion() == null ? "" : record.getVersion();
+        return record.getTime() + FIELD_SEPARATOR + escape(courseId) + FIELD_SEPARATOR
+               + escape(record.getLogMessage()) + FIELD_SEPARATOR + escape(version) + "\n";
+    }
+
+    /**
+     * Reads a line written by {@link #toLine(ActivityLogRecord)}, or one without the version
+     * written before the versions were recorded.
+     */
+    private static ActivityLogRecord fromLine(String line) {
+        String[] fields = line.split(FIELD_SEPARATOR, -1);
+        if (fields.length < 3 || fields.length > 4) {
+            return null;
+        }
+        String version = fields.length == 4 ? unescape(fields[3]) : null;
+        try {
+            return new ActivityLogRecord(Long.parseLong(fields[0]), unescape(fields[2]), unescape(fields[1]),
+                                         version);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '\\':
+                escaped.append("\\\\");
+                break;
+            case '\t':
+                escaped.append("\\t");
+                break;
+            case '\n':
+                escaped.append("\\n");
+                break;
+            case '\r':
+                escaped.append("\\r");
+                break;
+            default:
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String unescape(String value) {
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i == value.length() - 1) {
+                unescaped.append(c);
+                continue;
+            }
+            i++;
+            char escapedChar = value.charAt(i);
+            switch (escapedChar) {
+            case 't':
+                unescaped.append('\t');
+                break;
+            case 'n':
+                unescaped.append('\n');
+                break;
+            case 'r':
+                unescaped.append('\r');
+                break;
+            default:
+                unescaped.append(escapedChar);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    /**
+     * A segment file and the records in it.
+     */
+    private static final class Segment {
+        final File file;
+        final List<ActivityLogRecord> records = new ArrayList<ActivityLogRecord>();
+
+        Segment(File file) {
+            this.file = file;
+        }
+    }
+
+}
@@ -9,6 +9,7 @@ import java.util.List;
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.BatchDeletionResult;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.InstructorSearchResultBundle;
@@ -311,7 +312,7 @@ public class InstructorsDb extends EntitiesDb {
         //TODO: make courseId+email the non-modifiable values
         
         putDocument(new InstructorAttributes(instructorToUpdate));
-        log.info(instructorAttributesToUpdate.getBackupIdentifier());
+        logModification(instructorAttributesToUpdate);
         getPm().close();
     }
     
@@ -348,7 +349,7 @@ public class InstructorsDb extends EntitiesDb {
         
         //TODO: make courseId+email the non-modifiable values
         putDocument(new InstructorAttributes(instructorToUpdate));
-        log.info(instructorAttributesToUpdate.getBackupIdentifier());
+        logModification(instructorAttributesToUpdate);
         getPm().close();
     }
     
@@ -449,6 +450,29 @@ public class InstructorsDb extends EntitiesDb {
 
     }
     
+    /**
+     * Deletes up to {@code batchSize} instructors of the course specified by courseId, with their
+     * search documents.
+     */
+    public BatchDeletionResult deleteInstructorsForCourseInBatch(String courseId, int batchSize) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CourseEntitiesBatch<Instructor> instructorBatch =
+                getEntitiesForCourseInBatch(Instructor.class, "courseId", courseId, batchSize);
+        
+        List<String> documentIds = new ArrayList<String>();
+        for (Instructor instructor : instructorBatch.getEntities()) {
+            // legacy data do not have the key
+            if (instructor.getRegistrationKey() != null) {
+                documentIds.add(StringHelper.encrypt(instructor.getRegistrationKey()));
+            }
+        }
+        deleteDocuments(Const.SearchIndex.INSTRUCTOR, documentIds);
+        
+        return deleteEntitiesForCourse(instructorBatch, courseId);
+    }
+    
     private Instructor getInstructorEntityForGoogleId(String courseId, String googleId) {
         
         Query q = getPm().newQuery(Instructor.class);
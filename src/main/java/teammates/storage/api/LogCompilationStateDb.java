@@ -0,0 +1,66 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
+
+import teammates.common.util.LogCursor;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.LogCompilationState;
+
+/**
+ * Handles the {@link LogCompilationState} entities, which keep the cursors up to which
+ * the compilations of the application logs have gone, one per compilation.
+ */
+public class LogCompilationStateDb {
+
+    /**
+     * @return the cursor of the compilation named {@code compilationName},
+     *         or null if the compilation has not been done before
+     */
+    public LogCursor getCursor(String compilationName) {
+        LogCompilationState state = getStateEntity(compilationName);
+        if (state == null) {
+            return null;
+        }
+        // the datastore keeps an empty list as null
+        Set<String> lastRequestIds = state.getLastRequestIds() == null
+                                   ? new HashSet<String>()
+                                   : new HashSet<String>(state.getLastRequestIds());
+        return new LogCursor(state.getLastEndTimeUsec(), lastRequestIds);
+    }
+
+    /**
+     * Keeps {@code cursor} as the cursor of the compilation named {@code compilationName},
+     * replacing the one kept before.
+     */
+    public void saveCursor(String compilationName, LogCursor cursor) {
+        LogCompilationState state = getStateEntity(compilationName);
+        if (state == null) {
+            getPm().makePersistent(new LogCompilationState(compilationName, cursor.getEndTimeUsec(),
+                                                           new ArrayList<String>(cursor.getRequestIds())));
+        } else {
+            state.setLastEndTimeUsec(cursor.getEndTimeUsec());
+            state.setLastRequestIds(new ArrayList<String>(cursor.getRequestIds()));
+        }
+        getPm().flush();
+    }
+
+    private LogCompilationState getStateEntity(String compilationName) {
+        try {
+            LogCompilationState state = getPm().getObjectById(LogCompilationState.class, compilationName);
+            return JDOHelper.isDeleted(state) ? null : state;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    private PersistenceManager getPm() {
+        return Datastore.getPersistenceManager();
+    }
+
+}
@@ -1,9 +1,15 @@
 package teammates.storage.api;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.StudentProfileAttributes;
@@ -43,6 +49,40 @@ public class ProfilesDb extends EntitiesDb {
         return new StudentProfileAttributes(sp);
     }
     
+    /**
+     * Gets the profiles of the given googleIds with a single batch lookup.
+     * Profiles that do not exist are not included in the returned map.
+     * 
+     * @return a map of googleId to the profile of that googleId
+     */
+    public Map<String, StudentProfileAttributes> getStudentProfiles(Collection<String> accountGoogleIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, accountGoogleIds);
+        
+        Map<String, StudentProfileAttributes> profiles = new HashMap<String, StudentProfileAttributes>();
+        if (accountGoogleIds.isEmpty()) {
+            return profiles;
+        }
+        
+        List<String> profileIds = new ArrayList<String>();
+        for (String googleId : accountGoogleIds) {
+            profileIds.add(KeyFactory.keyToString(getStudentProfileKey(googleId)));
+        }
+        
+        // a query on the primary key alone is executed as a batch get
+        Query q = getPm().newQuery(StudentProfile.class);
+        q.setFilter(":p.contains(profileId)");
+        
+        @SuppressWarnings("unchecked")
+        List<StudentProfile> profileEntities = (List<StudentProfile>) q.execute(profileIds);
+        
+        for (StudentProfile profile : profileEntities) {
+            if (!JDOHelper.isDeleted(profile)) {
+                profiles.put(profile.getGoogleId(), new StudentProfileAttributes(profile));
+            }
+        }
+        return profiles;
+    }
+    
     /**
      * Updates the entire profile based on the given new profile attributes.
      * Assumes that the googleId remains the same and so updates the profile
@@ -107,7 +147,10 @@ public class ProfilesDb extends EntitiesDb {
     /**
      * Udates the pictureKey of the profile with given GoogleId.
      * Deletes existing picture if key is different and updates
-     * modifiedDate
+     * modifiedDate.
+     * The modifiedDate is updated even if the key is the same, as the picture
+     * may have been overwritten in place (e.g. after cropping); this invalidates
+     * copies of the picture cached by browsers.
      * 
      * @param googleId
      * @param newPictureKey
@@ -125,8 +168,8 @@ public class ProfilesDb extends EntitiesDb {
         
         if (hasNewNonEmptyPictureKey) {
             profileToUpdate.setPictureKey(new BlobKey(newPictureKey));
-            profileToUpdate.setModifiedDate(new Date());
         }
+        profileToUpdate.setModifiedDate(new Date());
         
         closePm();
     }
@@ -218,8 +261,7 @@ public class ProfilesDb extends EntitiesDb {
      * @param googleId
      */
     private StudentProfile getStudentProfileEntityFromDb(String googleId) {
-        Key childKey = KeyFactory.createKey(Account.class.getSimpleName(), googleId)
-                                 .getChild(StudentProfile.class.getSimpleName(), googleId);
+        Key childKey = getStudentProfileKey(googleId);
         
         try {
             StudentProfile profile = getPm().getObjectById(StudentProfile.class, childKey);
@@ -234,6 +276,11 @@ public class ProfilesDb extends EntitiesDb {
         }
     }
     
+    private Key getStudentProfileKey(String googleId) {
+        return KeyFactory.createKey(Account.class.getSimpleName(), googleId)
+                         .getChild(StudentProfile.class.getSimpleName(), googleId);
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         // this method is never used and is here only for future expansion and completeness
@@ -10,6 +10,7 @@ import java.util.Map;
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import teammates.common.datatransfer.BatchDeletionResult;
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
@@ -530,7 +531,7 @@ public class StudentsDb extends EntitiesDb {
             // Set true to prevent changes to last update timestamp
             courseStudent.keepUpdateTimestamp = keepUpdateTimestamp;
             
-            log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+            logCourseModification(courseId);
         }
         
         // Update on Student
@@ -562,7 +563,7 @@ public class StudentsDb extends EntitiesDb {
             student.keepUpdateTimestamp = keepUpdateTimestamp;
         }
         
-        log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
+        logCourseModification(courseId);
         getPm().close();
     }
 
@@ -709,6 +710,37 @@ public class StudentsDb extends EntitiesDb {
 
     }
 
+    /**
+     * Deletes up to {@code batchSize} students of the course specified by courseId, with their
+     * search documents. Students of the old {@link Student} kind are deleted after the others.
+     */
+    public BatchDeletionResult deleteStudentsForCourseInBatch(String courseId, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CourseEntitiesBatch<CourseStudent> courseStudentBatch =
+                getEntitiesForCourseInBatch(CourseStudent.class, "courseId", courseId, batchSize);
+        
+        List<String> documentIds = new ArrayList<String>();
+        for (CourseStudent student : courseStudentBatch.getEntities()) {
+            documentIds.add(student.getRegistrationKey());
+        }
+        if (!courseStudentBatch.isLastBatch()) {
+            deleteDocuments(Const.SearchIndex.STUDENT, documentIds);
+            return deleteEntitiesForCourse(courseStudentBatch, courseId);
+        }
+        
+        CourseEntitiesBatch<Student> studentBatch =
+                getEntitiesForCourseInBatch(Student.class, "courseID", courseId,
+                                            batchSize - courseStudentBatch.getNumberOfEntitiesRead());
+        for (Student student : studentBatch.getEntities()) {
+            documentIds.add(student.getRegistrationKey());
+        }
+        deleteDocuments(Const.SearchIndex.STUDENT, documentIds);
+        
+        return deleteEntitiesForCourse(courseStudentBatch, courseId)
+                .followedBy(deleteEntitiesForCourse(studentBatch, courseId));
+    }
+    
     public void deleteStudentsForCourses(List<String> courseIds) {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
@@ -7,6 +7,7 @@ import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.Transaction;
 
+import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 
 //TODO: we might not really need this class. To be reconsidered.
@@ -32,25 +33,40 @@ public final class Datastore {
         } else {
             log.warning("Trying to initialize Datastore again");
         }
+        // the worker threads of parallel tasks release their persistence managers as requests do
+        ThreadHelper.setParallelTaskCleanup(new Runnable() {
+            @Override
+            public void run() {
+                finishRequest();
+            }
+        });
     }
 
     public static PersistenceManager getPersistenceManager() {
 
         PersistenceManager pm = PER_THREAD_PM.get();
         if (pm == null) {
-            pm = pmf.getPersistenceManager();
+            pm = InstrumentedPersistenceManager.wrap(pmf.getPersistenceManager());
             PER_THREAD_PM.set(pm);
 
         } else if (pm.isClosed()) {
 
             PER_THREAD_PM.remove();
-            pm = pmf.getPersistenceManager();
+            pm = InstrumentedPersistenceManager.wrap(pmf.getPersistenceManager());
             PER_THREAD_PM.set(pm);
 
         }
         return pm;
     }
 
+    /**
+     * @return a persistence manager apart from the one of the current request, e.g. to run a transaction
+     *         on an entity without the other changes of the request; the caller closes it after use
+     */
+    public static PersistenceManager getNewPersistenceManager() {
+        return InstrumentedPersistenceManager.wrap(pmf.getPersistenceManager());
+    }
+
     public static void finishRequest() {
 
         PersistenceManager pm = PER_THREAD_PM.get();
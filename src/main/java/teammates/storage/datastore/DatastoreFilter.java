@@ -8,6 +8,8 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 
+import teammates.common.util.StorageAccessStats;
+
 //TODO: Do we really need this filter? To be reconsidered.
 /**
  * Servlet Filter to ensure that the datastore is initialized before a request
@@ -26,6 +28,7 @@ public final class DatastoreFilter implements javax.servlet.Filter {
         //There was a Datastore.finishRequest() here inside a finally clause.
         //  It was removed at 4.19 because some requests span multiple entity
         //  groups. We are not allowed to apply transactions to such requests.
+        StorageAccessStats.startRequest();
         chain.doFilter(request, response);
 
     }
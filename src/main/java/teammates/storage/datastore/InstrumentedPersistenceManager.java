@@ -0,0 +1,209 @@
+package teammates.storage.datastore;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import teammates.common.util.StorageAccessStats;
+
+/**
+ * Wraps persistence managers and their queries so that every datastore access made through them
+ * is recorded in the {@link StorageAccessStats} of the current request.<br>
+ * This way all the *Db classes are instrumented without changes to how they use the persistence manager.
+ * A query's shape is its kind with its filter, which names the parameters of the query instead of their values.<br>
+ * The entities a query returns are counted as they are read from its result, so that recording them
+ * does not fetch results the caller never reads.
+ */
+public final class InstrumentedPersistenceManager {
+
+    private InstrumentedPersistenceManager() {
+        // utility class
+    }
+
+    /**
+     * @return a persistence manager which passes everything through to {@code pm}, recording the accesses
+     */
+    public static PersistenceManager wrap(PersistenceManager pm) {
+        return (PersistenceManager) Proxy.newProxyInstance(PersistenceManager.class.getClassLoader(),
+                                                           new Class<?>[] { PersistenceManager.class },
+                                                           new PersistenceManagerHandler(pm));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int countEntities(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Object[]) {
+            return ((Object[]) result).length;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    private static String getKind(Object[] args) {
+        if (args != null && args.length > 0 && args[0] instanceof Class) {
+            return ((Class<?>) args[0]).getSimpleName();
+        }
+        return "Unknown";
+    }
+
+    private static class PersistenceManagerHandler implements InvocationHandler {
+
+        private final PersistenceManager pm;
+
+        PersistenceManagerHandler(PersistenceManager pm) {
+            this.pm = pm;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            if ("newQuery".equals(methodName)) {
+                Query query = (Query) InstrumentedPersistenceManager.invoke(pm, method, args);
+                return Proxy.newProxyInstance(Query.class.getClassLoader(), new Class<?>[] { Query.class },
+                                              new QueryHandler(query, getKind(args)));
+            }
+
+            long startTime = System.nanoTime();
+            Object result = InstrumentedPersistenceManager.invoke(pm, method, args);
+            long timeTaken = System.nanoTime() - startTime;
+
+            if ("getObjectById".equals(methodName)) {
+                StorageAccessStats.current().recordGet(timeTaken);
+            } else if (methodName.startsWith("makePersistent") || methodName.startsWith("deletePersistent")) {
+                StorageAccessStats.current().recordWrite(countEntities(args[0]), timeTaken);
+            }
+            return result;
+        }
+    }
+
+    private static class QueryHandler implements InvocationHandler {
+
+        private final Query query;
+        private final String kind;
+        private String filter = "";
+
+        QueryHandler(Query query, String kind) {
+            this.query = query;
+            this.kind = kind;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            if ("setFilter".equals(methodName)) {
+                filter = (String) args[0];
+            }
+
+            long startTime = System.nanoTime();
+            Object result = InstrumentedPersistenceManager.invoke(query, method, args);
+
+            if (methodName.startsWith("execute")) {
+                StorageAccessStats stats = StorageAccessStats.current();
+                if (result instanceof List) {
+                    stats.recordQuery(getShape(), 0, System.nanoTime() - startTime);
+                    return new CountingResultList<Object>((List<Object>) result, stats);
+                }
+                stats.recordQuery(getShape(), countEntities(result), System.nanoTime() - startTime);
+            } else if ("deletePersistentAll".equals(methodName)) {
+                StorageAccessStats.current().recordQuery(getShape(), 0, 0);
+                StorageAccessStats.current().recordWrite(((Long) result).intValue(), System.nanoTime() - startTime);
+            }
+            return result;
+        }
+
+        private String getShape() {
+            return filter == null || filter.isEmpty() ? kind : kind + " where " + filter;
+        }
+    }
+
+    /**
+     * A query result which records the entities returned by the query as they are read.
+     * Only the furthest position read counts, so reading an entity again is not counted twice.
+     * Asking for the size counts all the entities, as the size is only known once they are all fetched.
+     */
+    private static class CountingResultList<E> extends AbstractList<E> {
+
+        private final List<E> result;
+        private final StorageAccessStats stats;
+        private int numberOfEntitiesCounted;
+
+        CountingResultList(List<E> result, StorageAccessStats stats) {
+            this.result = result;
+            this.stats = stats;
+        }
+
+        @Override
+        public E get(int index) {
+            E entity = result.get(index);
+            markRead(index + 1);
+            return entity;
+        }
+
+        @Override
+        public int size() {
+            int size = result.size();
+            markRead(size);
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            boolean isEmpty = result.isEmpty();
+            if (!isEmpty) {
+                markRead(1);
+            }
+            return isEmpty;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            final Iterator<E> iterator = result.iterator();
+            return new Iterator<E>() {
+                private int numberRead;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    E entity = iterator.next();
+                    numberRead++;
+                    markRead(numberRead);
+                    return entity;
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        private synchronized void markRead(int numberOfEntitiesRead) {
+            if (numberOfEntitiesRead > numberOfEntitiesCounted) {
+                stats.recordEntitiesReturned(numberOfEntitiesRead - numberOfEntitiesCounted);
+                numberOfEntitiesCounted = numberOfEntitiesRead;
+            }
+        }
+    }
+
+}
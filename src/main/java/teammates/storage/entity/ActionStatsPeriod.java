@@ -0,0 +1,107 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents the latencies and response sizes of the requests to an action which gave one type of result,
+ * served by one instance in the period before {@link #getPeriodEnd()}.<br>
+ * The histograms are kept as their non-empty buckets, e.g. "3:10,40:2" for 10 values in bucket 3
+ * and 2 values in bucket 40.
+ */
+@PersistenceCapable
+public class ActionStatsPeriod {
+
+    @PrimaryKey
+    @Persistent(valueStrategy = IdGeneratorStrategy.IDENTITY)
+    private Long id;
+
+    @Persistent
+    private long periodEnd;
+
+    @Persistent
+    private String actionName;
+
+    @Persistent
+    private String resultType;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text latencyBuckets;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long latencyTotal;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long latencyMax;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text responseSizeBuckets;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long responseSizeTotal;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long responseSizeMax;
+
+    public ActionStatsPeriod(long periodEnd, String actionName, String resultType,
+                             Text latencyBuckets, long latencyTotal, long latencyMax,
+                             Text responseSizeBuckets, long responseSizeTotal, long responseSizeMax) {
+        this.periodEnd = periodEnd;
+        this.actionName = actionName;
+        this.resultType = resultType;
+        this.latencyBuckets = latencyBuckets;
+        this.latencyTotal = latencyTotal;
+        this.latencyMax = latencyMax;
+        this.responseSizeBuckets = responseSizeBuckets;
+        this.responseSizeTotal = responseSizeTotal;
+        this.responseSizeMax = responseSizeMax;
+    }
+
+    public long getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public String getActionName() {
+        return actionName;
+    }
+
+    public String getResultType() {
+        return resultType;
+    }
+
+    public Text getLatencyBuckets() {
+        return latencyBuckets;
+    }
+
+    public long getLatencyTotal() {
+        return latencyTotal;
+    }
+
+    public long getLatencyMax() {
+        return latencyMax;
+    }
+
+    public Text getResponseSizeBuckets() {
+        return responseSizeBuckets;
+    }
+
+    public long getResponseSizeTotal() {
+        return responseSizeTotal;
+    }
+
+    public long getResponseSizeMax() {
+        return responseSizeMax;
+    }
+
+}
@@ -0,0 +1,89 @@
+package teammates.storage.entity;
+
+import java.util.List;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents an activity log line written by ControllerServlet, with the values it is looked up by.
+ */
+@PersistenceCapable
+public class ActivityLog {
+
+    @PrimaryKey
+    @Persistent(valueStrategy = IdGeneratorStrategy.IDENTITY)
+    private Long id;
+
+    @Persistent
+    private long time;
+
+    /** In lower case */
+    @Persistent
+    private String servletName;
+
+    /** In lower case */
+    @Persistent
+    private String role;
+
+    /** The Google ID, email and name of the user, in lower case */
+    @Persistent
+    private List<String> persons;
+
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text logMessage;
+
+    /** The version of the app that wrote the log line, null for log lines written before it was recorded */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String version;
+
+    public ActivityLog(long time, String servletName, String role, List<String> persons, String courseId,
+                       Text logMessage, String version) {
+        this.time = time;
+        this.servletName = servletName;
+        this.role = role;
+        this.persons = persons;
+        this.courseId = courseId;
+        this.logMessage = logMessage;
+        this.version = version;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public String getServletName() {
+        return servletName;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public List<String> getPersons() {
+        return persons;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public Text getLogMessage() {
+        return logMessage;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+}
@@ -0,0 +1,79 @@
+package teammates.storage.entity;
+
+import java.util.Date;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents a course being deleted a batch at a time, with the checkpoint to resume the deletion from:
+ * the kind of entities being deleted and the number of entities deleted so far.
+ * The course is being deleted as long as this entity exists.
+ */
+@PersistenceCapable
+public class CourseDeletionJob {
+
+    @PrimaryKey
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String stage;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long numberOfEntitiesDeleted;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Date startedAt;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Date updatedAt;
+
+    public CourseDeletionJob(String courseId, String stage, long numberOfEntitiesDeleted,
+                             Date startedAt, Date updatedAt) {
+        this.courseId = courseId;
+        this.stage = stage;
+        this.numberOfEntitiesDeleted = numberOfEntitiesDeleted;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public long getNumberOfEntitiesDeleted() {
+        return numberOfEntitiesDeleted;
+    }
+
+    public void setNumberOfEntitiesDeleted(long numberOfEntitiesDeleted) {
+        this.numberOfEntitiesDeleted = numberOfEntitiesDeleted;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+}
@@ -0,0 +1,61 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents an entry of the course change feed: the course was modified in the time bucket
+ * starting at {@link #getTimeBucket()}. There is one entry per course and time bucket, however many
+ * modifications were made to the course in that bucket.<br>
+ * The feed position, which is also the key, is the zero-padded time bucket followed by the course ID,
+ * so that the feed is read in order of time by a range query on it.
+ */
+@PersistenceCapable
+public class CourseModification {
+
+    @PrimaryKey
+    @Persistent
+    private String id;
+
+    @Persistent
+    private String feedPosition;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long timeBucket;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String courseId;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long lastModifiedAt;
+
+    public CourseModification(String feedPosition, long timeBucket, String courseId, long lastModifiedAt) {
+        this.id = feedPosition;
+        this.feedPosition = feedPosition;
+        this.timeBucket = timeBucket;
+        this.courseId = courseId;
+        this.lastModifiedAt = lastModifiedAt;
+    }
+
+    public String getFeedPosition() {
+        return feedPosition;
+    }
+
+    public long getTimeBucket() {
+        return timeBucket;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public long getLastModifiedAt() {
+        return lastModifiedAt;
+    }
+
+}
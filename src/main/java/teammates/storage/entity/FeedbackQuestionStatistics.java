@@ -0,0 +1,88 @@
+package teammates.storage.entity;
+
+import java.util.Date;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents the statistics aggregate of a feedback question, kept as the responses to the question
+ * are changed so that the statistics need not be counted from all the responses whenever they are viewed.
+ */
+@PersistenceCapable
+public class FeedbackQuestionStatistics {
+
+    @PrimaryKey
+    @Persistent
+    private String feedbackQuestionId;
+
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    private String feedbackSessionName;
+
+    /** The counts of the aggregate, in JSON */
+    @Persistent
+    private Text statistics;
+
+    /** The number of times the aggregate was changed, to tell whether it changed while being reconciled */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long version;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Date lastReconciledAt;
+
+    public FeedbackQuestionStatistics(String feedbackQuestionId, String courseId, String feedbackSessionName,
+                                      String statistics, Date lastReconciledAt) {
+        this.feedbackQuestionId = feedbackQuestionId;
+        this.courseId = courseId;
+        this.feedbackSessionName = feedbackSessionName;
+        this.statistics = new Text(statistics);
+        this.version = 0;
+        this.lastReconciledAt = lastReconciledAt;
+    }
+
+    public String getFeedbackQuestionId() {
+        return feedbackQuestionId;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getStatistics() {
+        return statistics.getValue();
+    }
+
+    public void setStatistics(String statistics) {
+        this.statistics = new Text(statistics);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void incrementVersion() {
+        version++;
+    }
+
+    public Date getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    public void setLastReconciledAt(Date lastReconciledAt) {
+        this.lastReconciledAt = lastReconciledAt;
+    }
+
+}
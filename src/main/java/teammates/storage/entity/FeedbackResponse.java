@@ -1,6 +1,8 @@
 package teammates.storage.entity;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import javax.jdo.annotations.NotPersistent;
 import javax.jdo.annotations.PersistenceCapable;
@@ -55,6 +57,13 @@ public class FeedbackResponse implements StoreCallback {
     @Persistent
     private String receiverSection;
 
+    /**
+     * The sections of the giver and the recipient, kept in step with {@link #giverSection} and
+     * {@link #receiverSection} so that the responses from or to a section are found with one query.
+     */
+    @Persistent
+    private List<String> sections;
+
     @Persistent
     private Text answer; //TODO: rename to responseMetaData, will require database conversion
 
@@ -76,6 +85,7 @@ public class FeedbackResponse implements StoreCallback {
         this.receiver = recipient;
         this.receiverSection = recipientSection;
         this.answer = answer;
+        updateSections();
                 
         this.feedbackResponseId = feedbackQuestionId + "%" + giverEmail + "%" + receiver;
         
@@ -137,6 +147,7 @@ public class FeedbackResponse implements StoreCallback {
 
     public void setGiverSection(String giverSection) {
         this.giverSection = giverSection;
+        updateSections();
     }
 
     public String getRecipientEmail() {
@@ -153,6 +164,40 @@ public class FeedbackResponse implements StoreCallback {
 
     public void setRecipientSection(String recipientSection) {
         this.receiverSection = recipientSection;
+        updateSections();
+    }
+
+    /**
+     * @return the sections of the giver and the recipient, each listed once
+     */
+    public List<String> getSections() {
+        return sections;
+    }
+
+    /**
+     * @return true if the sections kept are those of the giver and the recipient,
+     *         which is not the case for responses stored before the sections were kept
+     */
+    public boolean hasSectionsUpdated() {
+        return getSectionsOf(giverSection, receiverSection).equals(sections);
+    }
+
+    /**
+     * Sets the sections kept to those of the giver and the recipient.
+     */
+    public void updateSections() {
+        this.sections = getSectionsOf(giverSection, receiverSection);
+    }
+
+    private static List<String> getSectionsOf(String giverSection, String receiverSection) {
+        List<String> sections = new ArrayList<String>();
+        if (giverSection != null) {
+            sections.add(giverSection);
+        }
+        if (receiverSection != null && !receiverSection.equals(giverSection)) {
+            sections.add(receiverSection);
+        }
+        return sections;
     }
 
     public Text getResponseMetaData() {
@@ -0,0 +1,82 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents the counts a feedback response contributes to the statistics aggregate of its question,
+ * as last folded into the aggregate, and the version of the response they were counted from.<br>
+ * It is a child of the {@link FeedbackQuestionStatistics} of the question, so that the aggregate and
+ * the markers of its responses are changed together in one transaction, and are read together with
+ * a strongly consistent ancestor query.
+ */
+@PersistenceCapable
+public class FeedbackResponseStatisticsMarker {
+
+    // PMD.UnusedPrivateField is suppressed as markerId is persisted to the database
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    @PrimaryKey
+    @Persistent(valueStrategy = IdGeneratorStrategy.IDENTITY)
+    @Extension(vendorName = "datanucleus", key = "gae.encoded-pk", value = "true")
+    private String markerId;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.pk-name", value = "true")
+    private String feedbackResponseId;
+
+    /** The key of the {@link FeedbackQuestionStatistics} of the question, encoded */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.parent-pk", value = "true")
+    private String feedbackQuestionStatisticsKey;
+
+    @Persistent
+    private String courseId;
+
+    /** The counts the response contributes, in JSON, which are empty for a response deleted */
+    @Persistent
+    private Text statistics;
+
+    /** The time the response was last updated, or found deleted, when the counts were folded */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long version;
+
+    public FeedbackResponseStatisticsMarker(String feedbackQuestionStatisticsKey, String feedbackResponseId,
+                                            String courseId, String statistics, long version) {
+        this.feedbackQuestionStatisticsKey = feedbackQuestionStatisticsKey;
+        this.feedbackResponseId = feedbackResponseId;
+        this.courseId = courseId;
+        this.statistics = new Text(statistics);
+        this.version = version;
+    }
+
+    public String getFeedbackResponseId() {
+        return feedbackResponseId;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public String getStatistics() {
+        return statistics.getValue();
+    }
+
+    public void setStatistics(String statistics) {
+        this.statistics = new Text(statistics);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+}
@@ -0,0 +1,56 @@
+package teammates.storage.entity;
+
+import java.util.List;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents how far a compilation of the application logs, e.g. the compilation of error logs
+ * for email notification, has gone: the end time of the last request compiled and the IDs of the
+ * requests compiled which ended at that time.
+ */
+@PersistenceCapable
+public class LogCompilationState {
+
+    @PrimaryKey
+    @Persistent
+    private String compilationName;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private long lastEndTimeUsec;
+
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private List<String> lastRequestIds;
+
+    public LogCompilationState(String compilationName, long lastEndTimeUsec, List<String> lastRequestIds) {
+        this.compilationName = compilationName;
+        this.lastEndTimeUsec = lastEndTimeUsec;
+        this.lastRequestIds = lastRequestIds;
+    }
+
+    public String getCompilationName() {
+        return compilationName;
+    }
+
+    public long getLastEndTimeUsec() {
+        return lastEndTimeUsec;
+    }
+
+    public void setLastEndTimeUsec(long lastEndTimeUsec) {
+        this.lastEndTimeUsec = lastEndTimeUsec;
+    }
+
+    public List<String> getLastRequestIds() {
+        return lastRequestIds;
+    }
+
+    public void setLastRequestIds(List<String> lastRequestIds) {
+        this.lastRequestIds = lastRequestIds;
+    }
+
+}
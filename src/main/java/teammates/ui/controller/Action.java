@@ -118,7 +118,7 @@ public abstract class Action {
             Assumption.assertNotNull(regkey);
             loggedInUser = authenticateNotLoggedInUser(email, courseId);
         } else {
-            loggedInUser = logic.getAccount(currentUser.id);
+            loggedInUser = logic.getCurrentUserAccount();
             if (doesRegkeyMatchLoggedInUserGoogleId(currentUser.id)) {
                 loggedInUser = createDummyAccountIfUserIsUnregistered(currentUser, loggedInUser);
             }
@@ -507,7 +507,7 @@ public abstract class Action {
         return createRedirectResult(Const.ActionURIs.STUDENT_HOME_PAGE);
     }
     
-    protected ActionResult createImageResult(String blobKey) {
+    protected ImageResult createImageResult(String blobKey) {
         return new ImageResult("imagedisplay",
                                blobKey,
                                account,
@@ -0,0 +1,52 @@
+package teammates.ui.controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.util.ActionStats;
+import teammates.common.util.Const;
+import teammates.logic.api.GateKeeper;
+import teammates.logic.core.ActionStatsLogic;
+
+/**
+ * Shows the throughput, latency percentiles and average response size of each action and result type,
+ * over a window of time up to now.
+ */
+public class AdminActionMetricsPageAction extends Action {
+
+    private static final long MILLISECONDS_PER_HOUR = 60 * 60 * 1000;
+
+    private static final String DEFAULT_WINDOW = "1h";
+
+    private static final Map<String, Long> WINDOWS = new LinkedHashMap<String, Long>();
+
+    static {
+        WINDOWS.put("1h", MILLISECONDS_PER_HOUR);
+        WINDOWS.put("6h", 6 * MILLISECONDS_PER_HOUR);
+        WINDOWS.put("24h", 24 * MILLISECONDS_PER_HOUR);
+        WINDOWS.put("7d", ActionStatsLogic.RETENTION_PERIOD_MILLIS);
+    }
+
+    @Override
+    protected ActionResult execute() {
+        new GateKeeper().verifyAdminPrivileges(account);
+
+        String window = getRequestParamValue(Const.ParamsNames.ADMIN_ACTION_METRICS_WINDOW);
+        if (window == null || !WINDOWS.containsKey(window)) {
+            window = DEFAULT_WINDOW;
+        }
+        long windowInMillis = WINDOWS.get(window);
+        long endTime = System.currentTimeMillis();
+
+        List<ActionStats> statsList = logic.getActionStats(endTime - windowInMillis, endTime, true);
+        AdminActionMetricsPageData data =
+                new AdminActionMetricsPageData(account, window, new ArrayList<String>(WINDOWS.keySet()),
+                                               statsList, windowInMillis);
+
+        statusToAdmin = "adminActionMetricsPage Page Load<br>Window: " + window;
+        return createShowPageResult(Const.ViewURIs.ADMIN_ACTION_METRICS, data);
+    }
+
+}
@@ -0,0 +1,39 @@
+package teammates.ui.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.util.ActionStats;
+import teammates.ui.template.AdminActionMetricsTableRow;
+
+public class AdminActionMetricsPageData extends PageData {
+
+    private String window;
+    private List<String> windows;
+    private List<AdminActionMetricsTableRow> rows;
+
+    public AdminActionMetricsPageData(AccountAttributes account, String window, List<String> windows,
+                                      List<ActionStats> statsList, long periodInMillis) {
+        super(account);
+        this.window = window;
+        this.windows = windows;
+        this.rows = new ArrayList<AdminActionMetricsTableRow>();
+        for (ActionStats stats : statsList) {
+            rows.add(new AdminActionMetricsTableRow(stats, periodInMillis));
+        }
+    }
+
+    public String getWindow() {
+        return window;
+    }
+
+    public List<String> getWindows() {
+        return windows;
+    }
+
+    public List<AdminActionMetricsTableRow> getRows() {
+        return rows;
+    }
+
+}
@@ -1,6 +1,7 @@
 package teammates.ui.controller;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.LinkedList;
 import java.util.List;
@@ -10,6 +11,8 @@ import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.ActivityLogRecord;
+import teammates.common.util.ActivityLogStoreQuery;
 import teammates.common.util.AdminLogQuery;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
@@ -38,6 +41,10 @@ public class AdminActivityLogPageAction extends Action {
      * Maximum number of versions to query.
      */
     private static final int MAX_VERSIONS_TO_QUERY = 1 + 5; //the current version and its 5 preceding versions
+    /**
+     * Maximum number of logs to retrieve from the activity log store at a time.
+     */
+    private static final int STORE_RECORDS_PER_SEARCH = 500;
     
     private int totalLogsSearched;
     private boolean isFirstRow = true;
@@ -94,14 +101,25 @@ public class AdminActivityLogPageAction extends Action {
             data.setToDate(Long.parseLong(searchTimeOffset));
         }
         
-        List<String> versionToQuery = getVersionsForQuery(data.getVersions());
-        AdminLogQuery query = new AdminLogQuery(versionToQuery, data.getFromDate(), data.getToDate());
-        
+        List<String> versionToQuery;
         List<ActivityLogEntry> logs = null;
-        if (data.isFromDateSpecifiedInQuery()) {
-            logs = searchLogsWithExactTimePeriod(query, data);
+        if (logic.isActivityLogStoreEnabled()) {
+            // unlike the GAE logs, the store keeps the logs of all versions, so only versions asked for are filtered
+            versionToQuery = data.getVersions();
+            logs = searchLogsInStore(data, data.isPersonSpecified());
+            if (logs.isEmpty() && data.isPersonSpecified()) {
+                // the store looks up whole Google IDs, emails and names only, so parts of them are searched for
+                // by going through the logs
+                logs = searchLogsInStore(data, false);
+            }
         } else {
-            logs = searchLogsWithTimeIncrement(query, data);
+            versionToQuery = getVersionsForQuery(data.getVersions());
+            AdminLogQuery query = new AdminLogQuery(versionToQuery, data.getFromDate(), data.getToDate());
+            if (data.isFromDateSpecifiedInQuery()) {
+                logs = searchLogsWithExactTimePeriod(query, data);
+            } else {
+                logs = searchLogsWithTimeIncrement(query, data);
+            }
         }
         
         String courseIdFromSearchPage = getRequestParamValue("courseId");
@@ -172,6 +190,9 @@ public class AdminActivityLogPageAction extends Action {
         }
         
         status.append("Logs are from following version(s): ");
+        if (versionToQuery.isEmpty()) {
+            status.append("all versions kept in the activity log store<br>");
+        }
         for (int i = 0; i < versionToQuery.size(); i++) {
             String version = versionToQuery.get(i).replace('-', '.');
             if (i < versionToQuery.size() - 1) {
@@ -245,6 +266,67 @@ public class AdminActivityLogPageAction extends Action {
         return filteredLogs;
     }
     
+    /**
+     * Retrieves logs from the activity log store, looking them up by the servlet names, roles
+     * and, if {@code isPersonLookedUp}, the person in the query.<br>
+     * Logs are retrieved backwards from the end of the time period until enough logs are found,
+     * or through the whole time period if its start is specified in the query.
+     */
+    private List<ActivityLogEntry> searchLogsInStore(AdminActivityLogPageData data, boolean isPersonLookedUp) {
+        List<ActivityLogEntry> appLogs = new LinkedList<ActivityLogEntry>();
+        isFirstRow = true;
+        totalLogsSearched = 0;
+        
+        long startTime = data.isFromDateSpecifiedInQuery() ? data.getFromDate() : 0;
+        long endTime = data.getToDate();
+        while (endTime >= startTime
+                && (data.isFromDateSpecifiedInQuery() || appLogs.size() < RELEVANT_LOGS_PER_PAGE)) {
+            ActivityLogStoreQuery query = new ActivityLogStoreQuery(startTime, endTime, STORE_RECORDS_PER_SEARCH);
+            if (data.getRequestsSpecified() != null) {
+                query.setServletNames(data.getRequestsSpecified());
+            }
+            if (data.getRolesSpecified() != null) {
+                query.setRoles(data.getRolesSpecified());
+            }
+            if (isPersonLookedUp) {
+                query.setPerson(data.getPersonSpecified());
+            }
+            if (data.getVersions() != null && !data.getVersions().isEmpty()) {
+                query.setVersions(data.getVersions());
+            }
+            List<ActivityLogRecord> records = logic.getActivityLogs(query);
+            
+            if (records.size() < STORE_RECORDS_PER_SEARCH) {
+                endTime = startTime - 1;
+            } else {
+                // the records of the earliest millisecond may not all be returned,
+                // so they are left to the next search unless there are no other records
+                long earliestTime = records.get(records.size() - 1).getTime();
+                List<ActivityLogRecord> recordsAfterEarliestTime = new ArrayList<ActivityLogRecord>();
+                for (ActivityLogRecord record : records) {
+                    if (record.getTime() > earliestTime) {
+                        recordsAfterEarliestTime.add(record);
+                    }
+                }
+                if (recordsAfterEarliestTime.isEmpty()) {
+                    endTime = earliestTime - 1;
+                } else {
+                    records = recordsAfterEarliestTime;
+                    endTime = earliestTime;
+                }
+            }
+            
+            List<AppLogLine> logLines = new ArrayList<AppLogLine>();
+            for (ActivityLogRecord record : records) {
+                logLines.add(record.toAppLogLine());
+            }
+            appLogs.addAll(filterLogsForActivityLogPage(logLines, data));
+            totalLogsSearched += records.size();
+        }
+        nextEndTimeToSearch = endTime;
+        return appLogs;
+    }
+    
     /**
      * Filters logs that should be shown on Admin Activity Log Page.
      */
@@ -80,6 +80,10 @@ public class AdminActivityLogPageData extends PageData {
         this.ifShowTestData = ifShowTestData;
         this.logs = logs;
         
+        // the rows are only generated for the entries that are shown, and are needed in the ajax result
+        for (ActivityLogEntry log : logs) {
+            log.getLogInfoForTableRowAsHtml();
+        }
     }
     
     public boolean getIfShowAll() {
@@ -218,8 +222,9 @@ public class AdminActivityLogPageData extends PageData {
         }
         if (q.isInfoInQuery) {
             
+            String messageInfo = logEntry.getMessageInfo().toLowerCase();
             for (String keyString : q.infoValues) {
-                if (!logEntry.getMessageInfo().toLowerCase().contains(keyString.toLowerCase())) {
+                if (!messageInfo.contains(keyString.toLowerCase())) {
                     logEntry.setToShow(false);
                     return logEntry;
                 }
@@ -502,6 +507,20 @@ public class AdminActivityLogPageData extends PageData {
         return q.personValue;
     }
     
+    /**
+     * @return the servlet names given by "request" in the query, or null if there are none
+     */
+    public String[] getRequestsSpecified() {
+        return q != null && q.isRequestInQuery ? q.requestValues : null;
+    }
+    
+    /**
+     * @return the roles given by "role" in the query, or null if there are none
+     */
+    public String[] getRolesSpecified() {
+        return q != null && q.isRoleInQuery ? q.roleValues : null;
+    }
+    
     public boolean isFromDateSpecifiedInQuery() {
         return isFromDateSpecifiedInQuery;
     }
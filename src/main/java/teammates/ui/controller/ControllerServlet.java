@@ -3,6 +3,7 @@ package teammates.ui.controller;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import javax.servlet.http.HttpServlet;
@@ -14,13 +15,17 @@ import teammates.common.exception.EntityNotFoundException;
 import teammates.common.exception.FeedbackSessionNotVisibleException;
 import teammates.common.exception.NullPostParameterException;
 import teammates.common.exception.PageNotFoundException;
+import teammates.common.exception.TeammatesException;
 import teammates.common.exception.UnauthorizedAccessException;
+import teammates.common.util.ActionMetrics;
 import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
 import teammates.common.util.EmailWrapper;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.StatusMessage;
+import teammates.common.util.StorageAccessStats;
 import teammates.common.util.Utils;
 import teammates.logic.api.GateKeeper;
 import teammates.logic.api.Logic;
@@ -36,6 +41,12 @@ import com.google.apphosting.api.DeadlineExceededException;
 @SuppressWarnings("serial")
 public class ControllerServlet extends HttpServlet {
 
+    /** The result type recorded for requests which are redirected to login instead of executing the action */
+    private static final String LOGIN_REDIRECT_RESULT_TYPE = "LoginRedirect";
+
+    /** The response header with the datastore accesses of the request, only set in the dev server */
+    private static final String STORAGE_ACCESS_STATS_HEADER = "X-Storage-Access-Stats";
+
     private static final Logger log = Utils.getLogger();
 
     @Override
@@ -60,17 +71,29 @@ public class ControllerServlet extends HttpServlet {
             log.info("User agent : " + req.getHeader("User-Agent"));
             
             Action c = new ActionFactory().getAction(req);
+            ResponseSizeCountingWrapper countingResp = new ResponseSizeCountingWrapper(resp);
+            String resultType;
             if (c.isValidUser()) {
                 ActionResult actionResult = c.executeAndPostProcess();
-                actionResult.send(req, resp);
+                if (Config.isDevServer()) {
+                    // the accesses while rendering the page are not counted, as the header must be set before
+                    resp.setHeader(STORAGE_ACCESS_STATS_HEADER, StorageAccessStats.current().toString());
+                }
+                actionResult.send(req, countingResp);
+                resultType = actionResult.getClass().getSimpleName();
             } else {
-                resp.sendRedirect(c.getAuthenticationRedirectUrl());
+                countingResp.sendRedirect(c.getAuthenticationRedirectUrl());
+                resultType = LOGIN_REDIRECT_RESULT_TYPE;
             }
             
             long timeTaken = System.currentTimeMillis() - startTime;
             // This is the log message that is used to generate the 'activity log' for the admin.
-            
-            log.info(c.getLogMessage() + "|||" + timeTaken);
+            StorageAccessStats storageAccessStats = StorageAccessStats.current();
+            String logMessage = c.getLogMessage() + "|||" + timeTaken + "|||" + storageAccessStats;
+            log.info(logMessage);
+            warnIfQueriesRepeated(storageAccessStats);
+            storeActivityLog(req, logMessage);
+            recordActionStats(c.getClass().getSimpleName(), resultType, timeTaken, countingResp.getResponseSize());
             
         } catch (PageNotFoundException e) {
             log.warning(ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
@@ -139,6 +162,43 @@ public class ControllerServlet extends HttpServlet {
         
     }
     
+    /**
+     * Keeps the activity log line in the activity log store too, if there is one.
+     */
+    private void storeActivityLog(HttpServletRequest req, String logMessage) {
+        try {
+            new Logic().appendActivityLog(System.currentTimeMillis(), logMessage,
+                                          req.getParameter(Const.ParamsNames.COURSE_ID));
+        } catch (Exception e) {
+            // the line is in the GAE logs already, so the request is not failed because of this
+            log.warning("Error while storing activity log: " + TeammatesException.toStringWithStackTrace(e));
+        }
+    }
+    
+    /**
+     * Logs the query shapes issued many times in the request, which are likely N+1 patterns.
+     */
+    private void warnIfQueriesRepeated(StorageAccessStats storageAccessStats) {
+        Map<String, Integer> repeatedQueryShapes = storageAccessStats.getRepeatedQueryShapes();
+        if (!repeatedQueryShapes.isEmpty()) {
+            log.warning("Queries repeated in one request, likely N+1: " + repeatedQueryShapes);
+        }
+    }
+    
+    /**
+     * Records the latency and response size of the request in the action metrics of this instance,
+     * keeping the metrics recorded so far in the datastore if it is time to.
+     */
+    private void recordActionStats(String actionName, String resultType, long timeTaken, long responseSize) {
+        try {
+            ActionMetrics.record(actionName, resultType, timeTaken, responseSize);
+            new Logic().flushActionStatsIfDue();
+        } catch (Exception e) {
+            // the response is sent already, so the request is not failed because of this
+            log.warning("Error while recording action stats: " + TeammatesException.toStringWithStackTrace(e));
+        }
+    }
+    
     private void cleanUpStatusMessageInSession(HttpServletRequest req) {
         req.getSession().removeAttribute(Const.ParamsNames.STATUS_MESSAGES_LIST);
     }
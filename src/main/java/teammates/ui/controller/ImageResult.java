@@ -7,16 +7,28 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.ImageServingHelper;
 import teammates.common.util.StatusMessage;
 
 import com.google.appengine.api.blobstore.BlobKey;
-import com.google.appengine.api.blobstore.BlobstoreService;
-import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
 
 public class ImageResult extends ActionResult {
 
     public String blobKey;
-    
+
+    /**
+     * Identifies the current content of the image, e.g. the modified time of the profile owning it.
+     * Null if the version is not known, in which case the image is served without an entity tag.
+     */
+    public String version;
+
+    /** True if the URL of the request already pins {@link #version}, so the image can be cached as is */
+    public boolean isVersionedUrl;
+
+    /** True if the thumbnail of the image should be served instead, when it exists */
+    public boolean isThumbnail;
+
     public ImageResult(String destination, String blobKey, AccountAttributes account,
             List<StatusMessage> status) {
         super(destination, account, status);
@@ -25,14 +37,35 @@ public class ImageResult extends ActionResult {
 
     @Override
     public void send(HttpServletRequest req, HttpServletResponse resp) throws IOException {
-        
+
         if (blobKey.isEmpty()) {
             resp.sendError(1, "No image found");
+            return;
+        }
+
+        if (version == null) {
+            resp.setHeader("Cache-Control", ImageServingHelper.CACHE_CONTROL_REVALIDATE);
         } else {
-            resp.setContentType("image/png");
-            BlobstoreService blobstoreService = BlobstoreServiceFactory.getBlobstoreService();
-            blobstoreService.serve(new BlobKey(blobKey), resp);
+            String etag = ImageServingHelper.generateEtag(blobKey, isThumbnail ? version + "|thumbnail" : version);
+            String cacheControl = isVersionedUrl ? ImageServingHelper.CACHE_CONTROL_IMMUTABLE_PRIVATE
+                                                 : ImageServingHelper.CACHE_CONTROL_REVALIDATE;
+            if (ImageServingHelper.sendNotModifiedIfMatching(req, resp, etag, cacheControl)) {
+                return;
+            }
+        }
+
+        ImageServingHelper.serveImage(resp, getBlobKeyToServe());
+    }
+
+    private String getBlobKeyToServe() {
+        if (isThumbnail) {
+            // pictures that have not been edited since thumbnails were introduced have no thumbnail
+            BlobKey thumbnailKey = GoogleCloudStorageHelper.getThumbnailKey(blobKey);
+            if (GoogleCloudStorageHelper.doesFileExistInGcs(thumbnailKey)) {
+                return thumbnailKey.getKeyString();
+            }
         }
+        return blobKey;
     }
 
 }
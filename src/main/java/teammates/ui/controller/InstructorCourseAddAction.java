@@ -102,7 +102,9 @@ public class InstructorCourseAddAction extends Action {
             isError = false;
             
         } catch (EntityAlreadyExistsException e) {
-            setStatusForException(e, Const.StatusMessages.COURSE_EXISTS);
+            setStatusForException(e, logic.isCourseBeingDeleted(course.getId())
+                                     ? Const.StatusMessages.COURSE_BEING_DELETED
+                                     : Const.StatusMessages.COURSE_EXISTS);
         } catch (InvalidParametersException e) {
             setStatusForException(e);
         }
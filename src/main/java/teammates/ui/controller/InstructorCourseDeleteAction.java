@@ -21,8 +21,8 @@ public class InstructorCourseDeleteAction extends InstructorCoursesPageAction {
                                           logic.getCourse(idOfCourseToDelete),
                                           Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COURSE);
 
-        /* Delete the course and setup status to be shown to user and admin */
-        logic.deleteCourse(idOfCourseToDelete);
+        /* Delete the course in the background and setup status to be shown to user and admin */
+        logic.scheduleCourseDeletion(idOfCourseToDelete);
         String statusMessage = String.format(Const.StatusMessages.COURSE_DELETED, idOfCourseToDelete);
         statusToUser.add(new StatusMessage(statusMessage, StatusMessageColor.SUCCESS));
         statusToAdmin = "Course deleted: " + idOfCourseToDelete;
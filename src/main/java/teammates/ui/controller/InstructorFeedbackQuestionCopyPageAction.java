@@ -5,11 +5,15 @@ import java.util.List;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.logic.api.GateKeeper;
 
 public class InstructorFeedbackQuestionCopyPageAction extends Action {
+    
+    /** Number of questions shown at a time in the copy question modal */
+    public static final int QUESTIONS_PER_PAGE = 100;
 
     @Override
     protected ActionResult execute() throws EntityDoesNotExistException {
@@ -25,11 +29,24 @@ public class InstructorFeedbackQuestionCopyPageAction extends Action {
                 feedbackSession, false,
                 Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION);
         
+        String cursor = getRequestParamValue(Const.ParamsNames.COPIABLE_QUESTIONS_CURSOR);
+        
+        // one more question than shown is read to tell whether there is a next page
         List<FeedbackQuestionAttributes> copiableQuestions = null;
+        try {
+            copiableQuestions = logic.getCopiableFeedbackQuestionsForInstructor(
+                    account.googleId, cursor, QUESTIONS_PER_PAGE + 1);
+        } catch (InvalidParametersException e) {
+            Assumption.fail("Invalid request parameter value for copiable questions cursor: " + cursor);
+        }
         
-        copiableQuestions = logic.getCopiableFeedbackQuestionsForInstructor(account.googleId);
+        String nextCursor = null;
+        if (copiableQuestions.size() > QUESTIONS_PER_PAGE) {
+            copiableQuestions = copiableQuestions.subList(0, QUESTIONS_PER_PAGE);
+            nextCursor = logic.getCopiableQuestionsCursor(copiableQuestions.get(QUESTIONS_PER_PAGE - 1));
+        }
         
-        PageData data = new InstructorFeedbackQuestionCopyPageData(account, copiableQuestions);
+        PageData data = new InstructorFeedbackQuestionCopyPageData(account, copiableQuestions, nextCursor);
         return createShowPageResult(Const.ViewURIs.INSTRUCTOR_FEEDBACK_QUESTION_COPY_MODAL, data);
     }
 }
@@ -12,16 +12,26 @@ import teammates.ui.template.FeedbackQuestionTableRow;
 public class InstructorFeedbackQuestionCopyPageData extends PageData {
 
     private final List<FeedbackQuestionAttributes> questions;
+    private final String nextCursor;
     
     public InstructorFeedbackQuestionCopyPageData(
             AccountAttributes account, List<FeedbackQuestionAttributes> copiableQuestions) {
+        this(account, copiableQuestions, null);
+    }
+    
+    /**
+     * @param nextCursor the cursor of the next page of copiable questions, or null if this is the last page
+     */
+    public InstructorFeedbackQuestionCopyPageData(
+            AccountAttributes account, List<FeedbackQuestionAttributes> copiableQuestions, String nextCursor) {
         super(account);
         questions = copiableQuestions;
+        this.nextCursor = nextCursor;
     }
     
     public FeedbackQuestionCopyTable getCopyQnForm() {
         List<FeedbackQuestionTableRow> copyQuestionRows = buildCopyQuestionsModalRows(questions);
-        return new FeedbackQuestionCopyTable(copyQuestionRows);
+        return new FeedbackQuestionCopyTable(copyQuestionRows, nextCursor);
     }
     
     private List<FeedbackQuestionTableRow> buildCopyQuestionsModalRows(List<FeedbackQuestionAttributes> copiableQuestions) {
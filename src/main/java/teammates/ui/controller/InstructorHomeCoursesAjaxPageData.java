@@ -0,0 +1,26 @@
+package teammates.ui.controller;
+
+import java.util.List;
+
+import teammates.common.datatransfer.AccountAttributes;
+
+/**
+ * Holds the panels of several courses of the instructor home page, loaded in a single request.
+ */
+public class InstructorHomeCoursesAjaxPageData extends PageData {
+    
+    private List<InstructorHomeCourseAjaxPageData> coursePanels;
+    
+    public InstructorHomeCoursesAjaxPageData(AccountAttributes account) {
+        super(account);
+    }
+    
+    public void init(List<InstructorHomeCourseAjaxPageData> coursePanels) {
+        this.coursePanels = coursePanels;
+    }
+    
+    public List<InstructorHomeCourseAjaxPageData> getCoursePanels() {
+        return coursePanels;
+    }
+    
+}
@@ -1,18 +1,24 @@
 package teammates.ui.controller;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.CourseSummaryBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
 import teammates.common.util.Const.StatusMessages;
 import teammates.common.util.StatusMessage;
+import teammates.common.util.StringHelper;
+import teammates.common.util.ThreadHelper;
 import teammates.logic.api.GateKeeper;
 
 public class InstructorHomePageAction extends Action {
@@ -29,8 +35,11 @@ public class InstructorHomePageAction extends Action {
         
         new GateKeeper().verifyInstructorPrivileges(account);
         
-        String courseToLoad = getRequestParamValue(Const.ParamsNames.COURSE_TO_LOAD);
-        return courseToLoad == null ? loadPage() : loadCourse(courseToLoad);
+        String[] coursesToLoad = getRequestParamValues(Const.ParamsNames.COURSE_TO_LOAD);
+        if (coursesToLoad == null) {
+            return loadPage();
+        }
+        return coursesToLoad.length == 1 ? loadCourse(coursesToLoad[0]) : loadCourses(coursesToLoad);
     }
 
     private ActionResult loadCourse(String courseToLoad) throws EntityDoesNotExistException {
@@ -57,6 +66,59 @@ public class InstructorHomePageAction extends Action {
         return createShowPageResult(Const.ViewURIs.INSTRUCTOR_HOME_AJAX_COURSE_TABLE, data);
     }
 
+    /**
+     * Loads the panels of several courses in one request, reading the data of the courses in parallel.
+     * Courses the instructor no longer belongs to are left out of the result.
+     */
+    private ActionResult loadCourses(String[] coursesToLoad) {
+        String[] indexes = getRequestParamValues("index");
+        Assumption.assertEquals(coursesToLoad.length, indexes.length);
+        
+        Map<String, InstructorAttributes> instructorsForCourses = new HashMap<String, InstructorAttributes>();
+        for (InstructorAttributes instructor : logic.getInstructorsForGoogleId(account.googleId)) {
+            instructorsForCourses.put(instructor.courseId, instructor);
+        }
+        
+        List<Callable<InstructorHomeCourseAjaxPageData>> courseTasks =
+                new ArrayList<Callable<InstructorHomeCourseAjaxPageData>>();
+        for (int i = 0; i < coursesToLoad.length; i++) {
+            final InstructorAttributes instructor = instructorsForCourses.get(coursesToLoad[i]);
+            if (instructor == null) {
+                continue;
+            }
+            final int index = Integer.parseInt(indexes[i]);
+            courseTasks.add(new Callable<InstructorHomeCourseAjaxPageData>() {
+                @Override
+                public InstructorHomeCourseAjaxPageData call() throws EntityDoesNotExistException {
+                    return getCourseData(index, instructor);
+                }
+            });
+        }
+        
+        InstructorHomeCoursesAjaxPageData data = new InstructorHomeCoursesAjaxPageData(account);
+        data.init(ThreadHelper.runInParallel(courseTasks, Const.SystemParams.MAX_PARALLEL_TASKS_PER_REQUEST));
+        
+        statusToAdmin = "instructorHome Courses Load:<br>" + StringHelper.toString(Arrays.asList(coursesToLoad), ", ");
+        
+        return createShowPageResult(Const.ViewURIs.INSTRUCTOR_HOME_AJAX_COURSE_TABLES, data);
+    }
+    
+    private InstructorHomeCourseAjaxPageData getCourseData(int index, InstructorAttributes instructor)
+            throws EntityDoesNotExistException {
+        String courseId = instructor.courseId;
+        CourseSummaryBundle course = logic.getCourseSummaryWithFeedbackSessions(instructor);
+        FeedbackSessionAttributes.sortFeedbackSessionsByCreationTimeDescending(course.feedbackSessions);
+        
+        int pendingCommentsCount =
+                logic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size()
+                + logic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING).size();
+        List<String> sectionNames = logic.getSectionNamesForCourse(course.course);
+        
+        InstructorHomeCourseAjaxPageData data = new InstructorHomeCourseAjaxPageData(account);
+        data.init(index, course, instructor, pendingCommentsCount, sectionNames);
+        return data;
+    }
+
     private ActionResult loadPage() {
         boolean omitArchived = true;
         HashMap<String, CourseSummaryBundle> courses = logic.getCourseSummariesWithoutStatsForInstructor(
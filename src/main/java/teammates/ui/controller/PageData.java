@@ -19,6 +19,7 @@ import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
@@ -962,6 +963,25 @@ public class PageData {
                + Const.ParamsNames.USER_ID + "=" + account.googleId;
     }
     
+    /**
+     * @return the link to the picture of the given profile, pinned to the current version of the picture
+     *         so that browsers can cache it. Points to the thumbnail if {@code isThumbnail} is true.
+     */
+    public String getVersionedPictureUrl(StudentProfileAttributes profile, boolean isThumbnail) {
+        if (profile == null || profile.pictureKey.isEmpty()) {
+            return Const.SystemParams.DEFAULT_PROFILE_PICTURE_PATH;
+        }
+        String link = getPictureUrl(profile.pictureKey);
+        if (profile.modifiedDate != null) {
+            link = Url.addParamToUrl(link, Const.ParamsNames.PROFILE_PICTURE_VERSION,
+                                     String.valueOf(profile.modifiedDate.getTime()));
+        }
+        if (isThumbnail) {
+            link = Url.addParamToUrl(link, Const.ParamsNames.PROFILE_PICTURE_THUMBNAIL, "true");
+        }
+        return link;
+    }
+    
     public String getRecipientNames(Set<String> recipients, String courseId, String studentEmail, CourseRoster roster) {
         StringBuilder namesStringBuilder = new StringBuilder();
         int i = 0;
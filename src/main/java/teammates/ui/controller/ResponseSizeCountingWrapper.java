@@ -0,0 +1,95 @@
+package teammates.ui.controller;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Passes everything through to the wrapped response, counting the size of the body written.<br>
+ * Bytes written to the output stream and characters written to the writer are both counted,
+ * so the size of a page written as characters is approximate for non-ASCII content.
+ */
+public class ResponseSizeCountingWrapper extends HttpServletResponseWrapper {
+
+    private long responseSize;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public ResponseSizeCountingWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * @return the number of bytes and characters written to the body so far
+     */
+    public long getResponseSize() {
+        return responseSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            final ServletOutputStream wrappedStream = super.getOutputStream();
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    wrappedStream.write(b);
+                    responseSize++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    wrappedStream.write(b, off, len);
+                    responseSize += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    wrappedStream.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    wrappedStream.close();
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            final PrintWriter wrappedWriter = super.getWriter();
+            writer = new PrintWriter(new Writer() {
+                @Override
+                public void write(char[] cbuf, int off, int len) {
+                    wrappedWriter.write(cbuf, off, len);
+                    responseSize += len;
+                }
+
+                @Override
+                public void write(String str, int off, int len) {
+                    wrappedWriter.write(str, off, len);
+                    responseSize += len;
+                }
+
+                @Override
+                public void flush() {
+                    wrappedWriter.flush();
+                }
+
+                @Override
+                public void close() {
+                    wrappedWriter.close();
+                }
+            });
+        }
+        return writer;
+    }
+
+}
@@ -38,7 +38,14 @@ public class StudentProfilePictureAction extends Action {
     private ActionResult handleRequestWithBlobKey() {
         String blobKey = getBlobKeyFromRequest();
         log.info("blob-key given: " + blobKey);
-        return createImageResult(blobKey);
+        ImageResult result = createImageResult(blobKey);
+        
+        // a versioned link is generated from the profile, so the picture at that link never changes
+        String version = getRequestParamValue(Const.ParamsNames.PROFILE_PICTURE_VERSION);
+        result.version = version;
+        result.isVersionedUrl = version != null;
+        result.isThumbnail = isThumbnailRequested();
+        return result;
     }
 
     private ActionResult handleRequestWithEmailAndCourse()
@@ -50,7 +57,17 @@ public class StudentProfilePictureAction extends Action {
         StudentAttributes student = getStudentForGivenParameters(courseId, email);
         new GateKeeper().verifyAccessibleForCurrentUserAsInstructor(account, courseId, student.section);
 
-        return createImageResult(getPictureKeyForStudent(student));
+        StudentProfileAttributes profile = getProfileForStudent(student);
+        if (profile == null) {
+            return createImageResult("");
+        }
+        
+        ImageResult result = createImageResult(profile.pictureKey);
+        if (profile.modifiedDate != null) {
+            result.version = String.valueOf(profile.modifiedDate.getTime());
+        }
+        result.isThumbnail = isThumbnailRequested();
+        return result;
     }
 
     private StudentAttributes getStudentForGivenParameters(String courseId, String email)
@@ -82,17 +99,17 @@ public class StudentProfilePictureAction extends Action {
         return email;
     }
 
-    private String getPictureKeyForStudent(StudentAttributes student) {
-        // picture request is only relevant for registered student
-        if (!student.googleId.isEmpty()) {
-            StudentProfileAttributes profile = logic.getStudentProfile(student.googleId);
+    private boolean isThumbnailRequested() {
+        return Boolean.parseBoolean(getRequestParamValue(Const.ParamsNames.PROFILE_PICTURE_THUMBNAIL));
+    }
 
-            // TODO: remove the null check once all legacy data has been ported
-            if (profile != null) {
-                return profile.pictureKey;
-            }
+    private StudentProfileAttributes getProfileForStudent(StudentAttributes student) {
+        // picture request is only relevant for registered student
+        if (student.googleId.isEmpty()) {
+            return null;
         }
-        return "";
+        // TODO: remove the null check at callers once all legacy data has been ported
+        return logic.getStudentProfile(student.googleId);
     }
 
 }
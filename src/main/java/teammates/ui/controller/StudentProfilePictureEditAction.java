@@ -2,6 +2,7 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 
+import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
@@ -33,7 +34,7 @@ public class StudentProfilePictureEditAction extends Action {
     private String rotateString;
 
     @Override
-    protected ActionResult execute() {
+    protected ActionResult execute() throws EntityDoesNotExistException {
         new GateKeeper().verifyLoggedInUserPrivileges();
         readAllPostParamterValuesToFields();
         if (!validatePostParameters()) {
@@ -44,7 +45,14 @@ public class StudentProfilePictureEditAction extends Action {
             byte[] transformedImage = this.transformImage();
             if (!isError) {
                 // this branch is covered in UiTests (look at todo in transformImage())
-                GoogleCloudStorageHelper.writeImageDataToGcs(account.googleId, transformedImage);
+                String pictureKey = GoogleCloudStorageHelper.writeImageDataToGcs(account.googleId, transformedImage);
+                byte[] thumbnail = createThumbnail(transformedImage);
+                if (thumbnail.length > 0) {
+                    GoogleCloudStorageHelper.writeThumbnailDataToGcs(pictureKey, thumbnail);
+                }
+                // the picture is overwritten in place, so the profile must be marked as modified
+                // for cached copies of the old picture to be invalidated
+                logic.updateStudentProfilePicture(account.googleId, pictureKey);
             }
         } catch (IOException e) {
             // Happens when GCS Service is down
@@ -78,6 +86,24 @@ public class StudentProfilePictureEditAction extends Action {
         return new byte[0];
     }
 
+    /**
+     * Creates the small version of the picture used in student lists and rosters.
+     * A failure here is not fatal as the full picture is served when there is no thumbnail.
+     */
+    private byte[] createThumbnail(byte[] imageData) {
+        try {
+            Image image = ImagesServiceFactory.makeImage(imageData);
+            Transform resize = ImagesServiceFactory.makeResize(Const.SystemParams.PROFILE_PICTURE_THUMBNAIL_SIZE,
+                                                               Const.SystemParams.PROFILE_PICTURE_THUMBNAIL_SIZE);
+            OutputSettings settings = new OutputSettings(ImagesService.OutputEncoding.PNG);
+            return ImagesServiceFactory.getImagesService().applyTransform(resize, image, settings).getImageData();
+        } catch (RuntimeException re) {
+            log.warning("Creating thumbnail of profile picture failed for " + account.googleId + ": "
+                        + re.getMessage());
+            return new byte[0];
+        }
+    }
+
     private Image getTransformedImage() {
         Assumption.assertNotNull(blobKey);
 
@@ -0,0 +1,70 @@
+package teammates.ui.controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.logic.api.GateKeeper;
+
+/**
+ * Action: resolves the profile picture links of all students in the given courses in one request,
+ *         so that pages showing many students do not have to look up each picture separately.<br>
+ *         The links are pinned to the current version of each picture and can be cached by browsers.
+ */
+public class StudentProfilePictureLinksAction extends Action {
+
+    @Override
+    protected ActionResult execute() {
+        String[] courseIds = getRequestParamValues(Const.ParamsNames.COURSE_ID);
+        Assumption.assertNotNull("null course id", courseIds);
+        boolean isThumbnail = Boolean.parseBoolean(getRequestParamValue(Const.ParamsNames.PROFILE_PICTURE_THUMBNAIL));
+
+        new GateKeeper().verifyInstructorPrivileges(account);
+
+        Map<String, List<StudentAttributes>> viewableStudentsByCourse = new HashMap<String, List<StudentAttributes>>();
+        Set<String> googleIds = new HashSet<String>();
+        for (String courseId : courseIds) {
+            InstructorAttributes instructor = logic.getInstructorForGoogleId(courseId, account.googleId);
+            CourseAttributes course = logic.getCourse(courseId);
+            new GateKeeper().verifyAccessible(instructor, course);
+
+            List<StudentAttributes> viewableStudents = new ArrayList<StudentAttributes>();
+            for (StudentAttributes student : logic.getStudentsForCourse(courseId)) {
+                if (instructor.isAllowedForPrivilege(student.section,
+                        Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS)) {
+                    viewableStudents.add(student);
+                    if (!student.googleId.isEmpty()) {
+                        googleIds.add(student.googleId);
+                    }
+                }
+            }
+            viewableStudentsByCourse.put(courseId, viewableStudents);
+        }
+
+        Map<String, StudentProfileAttributes> profiles = logic.getStudentProfiles(googleIds);
+
+        StudentProfilePictureLinksAjaxPageData data = new StudentProfilePictureLinksAjaxPageData(account);
+        for (Map.Entry<String, List<StudentAttributes>> courseStudents : viewableStudentsByCourse.entrySet()) {
+            Map<String, String> emailToPictureLink = new HashMap<String, String>();
+            for (StudentAttributes student : courseStudents.getValue()) {
+                emailToPictureLink.put(student.email,
+                                       data.getVersionedPictureUrl(profiles.get(student.googleId), isThumbnail));
+            }
+            data.pictureLinks.put(courseStudents.getKey(), emailToPictureLink);
+        }
+
+        statusToAdmin = "Resolved profile pictures of " + googleIds.size() + " registered students in "
+                      + courseIds.length + " course(s)";
+        return createAjaxResult(data);
+    }
+
+}
@@ -0,0 +1,17 @@
+package teammates.ui.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import teammates.common.datatransfer.AccountAttributes;
+
+public class StudentProfilePictureLinksAjaxPageData extends PageData {
+
+    /** Maps course ID to a map of student email to the link to that student's picture */
+    public Map<String, Map<String, String>> pictureLinks = new HashMap<String, Map<String, String>>();
+
+    public StudentProfilePictureLinksAjaxPageData(AccountAttributes account) {
+        super(account);
+    }
+
+}
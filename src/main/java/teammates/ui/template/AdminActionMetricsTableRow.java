@@ -0,0 +1,63 @@
+package teammates.ui.template;
+
+import teammates.common.util.ActionStats;
+
+public class AdminActionMetricsTableRow {
+    private String actionName;
+    private String resultType;
+    private long count;
+    private String throughputPerMinute;
+    private long latencyP50;
+    private long latencyP95;
+    private long latencyP99;
+    private long latencyMax;
+    private long averageResponseSize;
+
+    public AdminActionMetricsTableRow(ActionStats stats, long periodInMillis) {
+        this.actionName = stats.getActionName();
+        this.resultType = stats.getResultType();
+        this.count = stats.getCount();
+        this.throughputPerMinute = String.format("%.2f", stats.getThroughputPerMinute(periodInMillis));
+        this.latencyP50 = stats.getLatencyAtPercentile(50);
+        this.latencyP95 = stats.getLatencyAtPercentile(95);
+        this.latencyP99 = stats.getLatencyAtPercentile(99);
+        this.latencyMax = stats.getLatencies().getMaxValue();
+        this.averageResponseSize = Math.round(stats.getResponseSizes().getMean());
+    }
+
+    public String getActionName() {
+        return actionName;
+    }
+
+    public String getResultType() {
+        return resultType;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public String getThroughputPerMinute() {
+        return throughputPerMinute;
+    }
+
+    public long getLatencyP50() {
+        return latencyP50;
+    }
+
+    public long getLatencyP95() {
+        return latencyP95;
+    }
+
+    public long getLatencyP99() {
+        return latencyP99;
+    }
+
+    public long getLatencyMax() {
+        return latencyMax;
+    }
+
+    public long getAverageResponseSize() {
+        return averageResponseSize;
+    }
+}
@@ -9,13 +9,22 @@ import java.util.List;
  */
 public class FeedbackQuestionCopyTable {
     private List<FeedbackQuestionTableRow> questionRows;
+    private String nextCursor;
 
-    public FeedbackQuestionCopyTable(List<FeedbackQuestionTableRow> questionRows) {
+    public FeedbackQuestionCopyTable(List<FeedbackQuestionTableRow> questionRows, String nextCursor) {
         this.questionRows = questionRows;
+        this.nextCursor = nextCursor;
     }
 
     public List<FeedbackQuestionTableRow> getQuestionRows() {
         return questionRows;
     }
 
+    /**
+     * @return the cursor to load the next page of questions from, or null if all the questions are shown
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
 }
@@ -93,6 +93,7 @@ function readyFeedbackEditPage() {
     bindCopyButton();
     bindCopyEvents();
     setupQuestionCopyModal();
+    setupQuestionCopyModalPaging();
 
     // Additional formatting & bindings.
     disableEditFS();
@@ -782,10 +783,12 @@ function setupQuestionCopyModal() {
         var fsname = button.data('fsname');
         
         var $questionCopyStatusMessage = $('#question-copy-modal-status');
+        var questionCopyUrl = actionlink + '&courseid=' + encodeURIComponent(courseid)
+                                         + '&fsname=' + encodeURIComponent(fsname);
+        $('#copyModal').data('questioncopyurl', questionCopyUrl);
         $.ajax({
             type: 'GET',
-            url: actionlink + '&courseid=' + encodeURIComponent(courseid)
-                            + '&fsname=' + encodeURIComponent(fsname),
+            url: questionCopyUrl,
             beforeSend: function() {
                 $('#button_copy_submit').prop('disabled', true);
                 $('#copyTableModal').remove();
@@ -813,6 +816,33 @@ function setupQuestionCopyModal() {
     });
 }
 
+/**
+ * Adds event handler to load the next page of questions into the 'copy question' modal by ajax.
+ */
+function setupQuestionCopyModalPaging() {
+    $('body').on('click', '#button_copy_more', function() {
+        var $button = $(this);
+        $.ajax({
+            type: 'GET',
+            url: $('#copyModal').data('questioncopyurl')
+                 + '&copiablequestionscursor=' + encodeURIComponent($button.data('cursor')),
+            beforeSend: function() {
+                $button.prop('disabled', true);
+            },
+            error: function() {
+                $button.prop('disabled', false);
+                setStatusMessage('Error retrieving more questions. Please try again.', StatusType.DANGER);
+            },
+            success: function(data) {
+                var $page = $(data);
+                $('#copyTableModal > tbody').append($page.find('tbody > tr'));
+                $('#copyTableModal > tfoot').remove();
+                $('#copyTableModal').append($page.find('tfoot'));
+            }
+        });
+    });
+}
+
 function bindCopyButton() {
 
     $('#button_copy_submit').click(function(e) {
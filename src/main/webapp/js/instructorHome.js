@@ -54,37 +54,56 @@ $(document).ready(function() {
             var isNotLoaded = $(this).find('form').length;
             return isNotLoaded;
         }).click(function() {
-            var $panel = $(this);
-            var formData = $panel.find('form').serialize();
-            var content = $panel.find('.pull-right')[0];
-            
-            $.ajax({
-                type: 'POST',
-                url: '/page/instructorHomePage?' + formData,
-                beforeSend: function() {
-                    $(content).html("<img src='/images/ajax-loader.gif'/>");
-                },
-                error: function() {
-                    var warningSign = '<span class="glyphicon glyphicon-warning-sign"></span>';
-                    var errorMsg = '[ Failed to load. Click here to retry. ]';
-                    errorMsg = '<strong style="margin-left: 1em; margin-right: 1em;">' + errorMsg + '</strong>';
-                    var chevronDown = '<span class="glyphicon glyphicon-chevron-down"></span>';
-                    $(content).html(warningSign + errorMsg + chevronDown);
-                },
-                success: function(data) {
-                    // .outerHTML is used instead of jQuery's .replaceWith() to avoid the <span>
-                    // for statuses' tooltips from being closed due to the presence of <br>
-                    $panel[0].outerHTML = data;
-                    linkAjaxForResponseRate();
-                }
-            });
+            loadCoursePanels($(this));
         });
     });
     
-    // Automatically load top few course panels
-    $coursePanels.slice(0, COURSE_PANELS_TO_AUTO_LOAD_COUNT).click();
+    // Automatically load top few course panels, in a single request
+    loadCoursePanels($coursePanels.slice(0, COURSE_PANELS_TO_AUTO_LOAD_COUNT).filter(function() {
+        return $(this).find('form').length;
+    }));
 });
 
+/**
+ * Loads the given course panels with one request to the server and replaces each of them
+ * with the loaded panel of the same id. Failed panels show a message and can be clicked again to retry.
+ *
+ * @param $panels the course panels that are not loaded yet
+ */
+function loadCoursePanels($panels) {
+    if ($panels.length === 0) {
+        return;
+    }
+    var formData = $panels.find('form').serialize();
+    var $contents = $panels.find('.pull-right');
+    
+    $.ajax({
+        type: 'POST',
+        url: '/page/instructorHomePage?' + formData,
+        beforeSend: function() {
+            $contents.html("<img src='/images/ajax-loader.gif'/>");
+        },
+        error: function() {
+            var warningSign = '<span class="glyphicon glyphicon-warning-sign"></span>';
+            var errorMsg = '[ Failed to load. Click here to retry. ]';
+            errorMsg = '<strong style="margin-left: 1em; margin-right: 1em;">' + errorMsg + '</strong>';
+            var chevronDown = '<span class="glyphicon glyphicon-chevron-down"></span>';
+            $contents.html(warningSign + errorMsg + chevronDown);
+        },
+        success: function(data) {
+            // .outerHTML is used instead of jQuery's .replaceWith() to avoid the <span>
+            // for statuses' tooltips from being closed due to the presence of <br>
+            $('<div>').html(data).children('div[id|="course"]').each(function() {
+                var $panel = $('#' + this.id);
+                if ($panel.length) {
+                    $panel[0].outerHTML = this.outerHTML;
+                }
+            });
+            linkAjaxForResponseRate();
+        }
+    });
+}
+
 /**
  * This is the comparator that is used for sorting start and end times on the InstructorHome page
  * It works by adding on the current year to time values and then comparing them.
@@ -0,0 +1,58 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page import="teammates.common.util.Const" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<%@ taglib tagdir="/WEB-INF/tags" prefix="t" %>
+<%@ taglib tagdir="/WEB-INF/tags/admin" prefix="ta" %>
+<c:set var="jsIncludes">
+    <script type="text/javascript" src="/js/administrator.js"></script>
+</c:set>
+<ta:adminPage bodyTitle="Action Metrics" pageTitle="TEAMMATES - Administrator Action Metrics" jsIncludes="${jsIncludes}">
+    <div class="well well-plain">
+        <div class="btn-group" role="group">
+            <c:forEach items="${data.windows}" var="window">
+                <a href="<%=Const.ActionURIs.ADMIN_ACTION_METRICS_PAGE%>?<%=Const.ParamsNames.ADMIN_ACTION_METRICS_WINDOW%>=${window}"
+                   class="btn <c:choose><c:when test="${window == data.window}">btn-primary</c:when><c:otherwise>btn-default</c:otherwise></c:choose>">
+                    Last ${window}
+                </a>
+            </c:forEach>
+        </div>
+    </div>
+    <t:statusMessage statusMessagesToUser="${data.statusMessagesToUser}" />
+    <div class="panel panel-default">
+        <table class="table table-bordered table-striped table-condensed" id="actionMetricsTable">
+            <thead class="fill-primary">
+                <tr>
+                    <th>Action</th>
+                    <th>Result</th>
+                    <th>Requests</th>
+                    <th>Requests / min</th>
+                    <th>p50 (ms)</th>
+                    <th>p95 (ms)</th>
+                    <th>p99 (ms)</th>
+                    <th>Max (ms)</th>
+                    <th>Avg. Response Size (bytes)</th>
+                </tr>
+            </thead>
+            <tbody>
+                <c:forEach items="${data.rows}" var="row">
+                    <tr>
+                        <td>${row.actionName}</td>
+                        <td>${row.resultType}</td>
+                        <td>${row.count}</td>
+                        <td>${row.throughputPerMinute}</td>
+                        <td>${row.latencyP50}</td>
+                        <td>${row.latencyP95}</td>
+                        <td>${row.latencyP99}</td>
+                        <td>${row.latencyMax}</td>
+                        <td>${row.averageResponseSize}</td>
+                    </tr>
+                </c:forEach>
+                <c:if test="${empty data.rows}">
+                    <tr>
+                        <td colspan="9" class="text-center">No requests recorded in this window.</td>
+                    </tr>
+                </c:if>
+            </tbody>
+        </table>
+    </div>
+</ta:adminPage>
@@ -31,4 +31,16 @@
             <input type="hidden" class="fsname" value="${row.fsName}">
         </tr>
     </c:forEach>
+    <c:if test="${not empty data.copyQnForm.nextCursor}">
+        <tfoot>
+            <tr>
+                <td colspan="5" class="text-center">
+                    <button type="button" class="btn btn-default btn-xs" id="button_copy_more"
+                            data-cursor="${data.copyQnForm.nextCursor}">
+                        Show more questions
+                    </button>
+                </td>
+            </tr>
+        </tfoot>
+    </c:if>
 </table>
\ No newline at end of file
@@ -0,0 +1,8 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<%@ taglib tagdir="/WEB-INF/tags/instructor/home" prefix="home" %>
+<c:forEach items="${data.coursePanels}" var="coursePanel">
+    <home:coursePanel courseTable="${coursePanel.courseTable}" index="${coursePanel.index}">
+        <home:courseTable sessionRows="${coursePanel.courseTable.rows}" />
+    </home:coursePanel>
+</c:forEach>
@@ -0,0 +1,70 @@
+package teammates.test.cases.automated;
+
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActivityLogRecord;
+import teammates.common.util.ActivityLogStoreQuery;
+import teammates.common.util.Config;
+import teammates.common.util.Const;
+import teammates.logic.automated.ActivityLogRetentionServlet;
+import teammates.storage.api.ActivityLogStores;
+import teammates.storage.api.DatastoreActivityLogStore;
+
+/**
+ * SUT: {@link ActivityLogRetentionServlet}
+ */
+public class ActivityLogRetentionServletTest extends BaseComponentUsingTaskQueueTestCase {
+
+    private static final long MILLISECONDS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testRemoveLogsOutsideRetentionPeriod() {
+        ______TS("no store configured");
+
+        ActivityLogStores.setConfiguredStore(null);
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK,
+                     gaeSimulation.runServlet(ActivityLogRetentionServlet.class));
+
+        ______TS("logs older than the retention period removed, the others kept");
+
+        DatastoreActivityLogStore store = new DatastoreActivityLogStore();
+        ActivityLogStores.setConfiguredStore(store);
+        long now = System.currentTimeMillis();
+        long retentionPeriod = Config.ACTIVITY_LOG_RETENTION_DAYS * MILLISECONDS_PER_DAY;
+        store.append(createRecord(now - retentionPeriod - MILLISECONDS_PER_DAY));
+        store.append(createRecord(now - retentionPeriod - 1000));
+        store.append(createRecord(now - retentionPeriod + MILLISECONDS_PER_DAY));
+        store.append(createRecord(now - 1000));
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK,
+                     gaeSimulation.runServlet(ActivityLogRetentionServlet.class));
+
+        List<ActivityLogRecord> records = store.query(new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100));
+        assertEquals(2, records.size());
+        assertEquals(now - 1000, records.get(0).getTime());
+        assertEquals(now - retentionPeriod + MILLISECONDS_PER_DAY, records.get(1).getTime());
+    }
+
+    private static ActivityLogRecord createRecord(long time) {
+        String logMessage = "TEAMMATESLOG|||instructorHomePage|||instructorHomePage|||true|||Instructor"
+                          + "|||Alice|||alice.b|||alice.b@gmail.tmt|||Page loaded|||/page/instructorHomePage"
+                          + "|||alice.b%" + time + "|||25";
+        return new ActivityLogRecord(time, logMessage, null, "5.0");
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        ActivityLogStores.resetConfiguredStore();
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,121 @@
+package teammates.test.cases.automated;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ErrorLogGroup;
+import teammates.common.util.LogCursor;
+import teammates.logic.automated.CompileLogs;
+import teammates.logic.core.LogCompilationLogic;
+
+import com.google.appengine.api.log.AppLogLine;
+import com.google.appengine.api.log.LogService;
+import com.google.appengine.api.log.LogService.LogLevel;
+import com.google.appengine.api.log.RequestLogs;
+
+/**
+ * SUT: {@link CompileLogs}
+ */
+public class CompileLogsTest extends BaseComponentUsingTaskQueueTestCase {
+
+    /** The requests the log service has, newest first as the log service gives them */
+    private final List<RequestLogs> requests = new ArrayList<RequestLogs>();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testDoLogExam() {
+        long nowUsec = System.currentTimeMillis() * 1000;
+        requests.add(createRequest("r2", nowUsec - 2000, "Failed to send email"));
+        requests.add(createRequest("r1", nowUsec - 2000, "Failed to send email"));
+        requests.add(createRequest("r0", nowUsec - 3000, "Unexpected exception"));
+
+        ______TS("first compilation, all the logs compiled");
+
+        CompileLogs compileLogs = new CompileLogs(createLogService());
+        List<ErrorLogGroup> groups = compileLogs.doLogExam();
+        assertEquals(2, groups.size());
+        assertEquals(2, groups.get(0).getCount());
+        compileLogs.saveCursor();
+
+        LogCursor cursor = LogCompilationLogic.inst().getCursor(CompileLogs.COMPILATION_NAME);
+        assertEquals(nowUsec - 2000, cursor.getEndTimeUsec());
+        assertEquals(2, cursor.getRequestIds().size());
+
+        ______TS("resumed from the cursor, the logs compiled before left out");
+
+        requests.add(0, createRequest("r3", nowUsec - 2000, "Request timed out"));
+        requests.add(0, createRequest("r4", nowUsec - 1000, "Request timed out"));
+
+        compileLogs = new CompileLogs(createLogService());
+        groups = compileLogs.doLogExam();
+        assertEquals(1, groups.size());
+        assertEquals(2, groups.get(0).getCount());
+        assertEquals("Request timed out", groups.get(0).getSampleMessage());
+
+        ______TS("cursor not moved until it is saved");
+
+        assertEquals(nowUsec - 2000,
+                     LogCompilationLogic.inst().getCursor(CompileLogs.COMPILATION_NAME).getEndTimeUsec());
+        assertEquals(1, new CompileLogs(createLogService()).doLogExam().size());
+
+        ______TS("nothing new after the cursor is saved");
+
+        compileLogs.saveCursor();
+        assertTrue(new CompileLogs(createLogService()).doLogExam().isEmpty());
+        assertEquals(nowUsec - 1000,
+                     LogCompilationLogic.inst().getCursor(CompileLogs.COMPILATION_NAME).getEndTimeUsec());
+    }
+
+    private static RequestLogs createRequest(String requestId, long endTimeUsec, String errorMessage) {
+        AppLogLine logLine = new AppLogLine();
+        logLine.setLogLevel(LogLevel.ERROR);
+        logLine.setLogMessage(errorMessage);
+        logLine.setTimeUsec(endTimeUsec - 10);
+
+        AppLogLine infoLine = new AppLogLine();
+        infoLine.setLogLevel(LogLevel.INFO);
+        infoLine.setLogMessage("Request started");
+        infoLine.setTimeUsec(endTimeUsec - 20);
+
+        RequestLogs request = new RequestLogs();
+        request.setRequestId(requestId);
+        request.setEndTimeUsec(endTimeUsec);
+        request.setAppLogLines(Arrays.asList(infoLine, logLine));
+        return request;
+    }
+
+    /**
+     * Creates a log service which gives all of {@link #requests} whatever the query.
+     */
+    private LogService createLogService() {
+        return (LogService) Proxy.newProxyInstance(
+                LogService.class.getClassLoader(), new Class<?>[] { LogService.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("fetch".equals(method.getName())) {
+                            return new ArrayList<RequestLogs>(requests);
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
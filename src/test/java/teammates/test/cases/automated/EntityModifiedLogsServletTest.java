@@ -0,0 +1,74 @@
+package teammates.test.cases.automated;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.logic.automated.EntityModifiedLogsServlet;
+import teammates.storage.api.CourseChangeFeedDb;
+
+import com.meterware.httpunit.WebResponse;
+
+/**
+ * SUT: {@link EntityModifiedLogsServlet}
+ */
+public class EntityModifiedLogsServletTest extends BaseComponentUsingTaskQueueTestCase {
+
+    private static final long BUCKET = CourseChangeFeedDb.TIME_BUCKET_MILLIS;
+
+    /** A time at the start of a time bucket, far enough from other tests' modifications */
+    private static final long BASE_TIME = 2000 * BUCKET;
+
+    private CourseChangeFeedDb courseChangeFeedDb = new CourseChangeFeedDb();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testListModifiedCourses() throws Exception {
+        courseChangeFeedDb.deleteCourseModificationsBefore(BASE_TIME + 10 * BUCKET);
+        courseChangeFeedDb.clearRecordedTimeBuckets();
+        courseChangeFeedDb.recordCourseModification("EMLST.course1", BASE_TIME);
+        courseChangeFeedDb.recordCourseModification("EMLST.course2", BASE_TIME + 2 * BUCKET);
+        courseChangeFeedDb.recordCourseModification("EMLST.course3", BASE_TIME + 5 * BUCKET);
+
+        ______TS("courses modified in the window listed one per line");
+
+        WebResponse response = getResponse(BASE_TIME, BASE_TIME + 3 * BUCKET);
+        assertEquals(HttpServletResponse.SC_OK, response.getResponseCode());
+        assertEquals("EMLST.course1\nEMLST.course2", response.getText().trim().replace("\r\n", "\n"));
+        assertNull(response.getHeaderField(EntityModifiedLogsServlet.NEXT_CURSOR_HEADER));
+
+        ______TS("no courses modified in the window");
+
+        response = getResponse(BASE_TIME + 6 * BUCKET, BASE_TIME + 9 * BUCKET);
+        assertEquals(HttpServletResponse.SC_OK, response.getResponseCode());
+        assertEquals("", response.getText().trim());
+
+        ______TS("invalid window");
+
+        response = gaeSimulation.getServletResponse(EntityModifiedLogsServlet.class,
+                                                    Const.ParamsNames.CHANGE_FEED_STARTTIME, "yesterday");
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, response.getResponseCode());
+
+        courseChangeFeedDb.deleteCourseModificationsBefore(BASE_TIME + 10 * BUCKET);
+        courseChangeFeedDb.clearRecordedTimeBuckets();
+    }
+
+    private WebResponse getResponse(long startTime, long endTime) {
+        return gaeSimulation.getServletResponse(EntityModifiedLogsServlet.class,
+                                                Const.ParamsNames.CHANGE_FEED_STARTTIME, String.valueOf(startTime),
+                                                Const.ParamsNames.CHANGE_FEED_ENDTIME, String.valueOf(endTime));
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,82 @@
+package teammates.test.cases.automated;
+
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAggregate;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.logic.automated.FeedbackQuestionStatisticsFoldWorkerServlet;
+import teammates.logic.core.FeedbackQuestionStatisticsLogic;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.storage.api.FeedbackQuestionStatisticsDb;
+
+import com.google.appengine.api.taskqueue.dev.LocalTaskQueue;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
+
+/**
+ * SUT: {@link FeedbackQuestionStatisticsFoldWorkerServlet}
+ */
+public class FeedbackQuestionStatisticsFoldWorkerServletTest extends BaseComponentUsingTaskQueueTestCase {
+
+    private static final String QUEUE_NAME = SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE;
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreDatastoreFromJson("/FeedbackSessionQuestionTypeTest.json");
+    }
+
+    @Test
+    public void testFoldResponsesChanged() {
+        getTaskQueue().flushQueue(QUEUE_NAME);
+        FeedbackQuestionAttributes question =
+                FeedbackQuestionsLogic.inst().getFeedbackQuestion("NUMSCALE Session", "FSQTT.idOfTypicalCourse1", 1);
+        List<FeedbackResponseAttributes> responses =
+                FeedbackResponsesLogic.inst().getFeedbackResponsesForQuestion(question.getId());
+        FeedbackQuestionStatisticsDb fqStatisticsDb = new FeedbackQuestionStatisticsDb();
+
+        ______TS("nothing to fold");
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, runWorker(question.getId()));
+        assertNull(fqStatisticsDb.getAggregate(question.getId()));
+
+        ______TS("responses changed folded and taken out of the queue");
+
+        FeedbackQuestionStatisticsLogic.inst().scheduleFoldForResponses(responses);
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, runWorker(question.getId()));
+        assertEquals(0, getTaskQueue().getQueueStateInfo().get(QUEUE_NAME).getCountTasks());
+        FeedbackQuestionStatisticsAggregate aggregate = fqStatisticsDb.getAggregate(question.getId());
+        assertEquals(responses.size(), aggregate.getNumberOfResponses());
+
+        ______TS("responses folded again, as when a fold is retried: nothing counted twice");
+
+        FeedbackQuestionStatisticsLogic.inst().scheduleFoldForResponses(responses);
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, runWorker(question.getId()));
+        assertEquals(aggregate, fqStatisticsDb.getAggregate(question.getId()));
+    }
+
+    private static int runWorker(String feedbackQuestionId) {
+        return gaeSimulation.runServlet(FeedbackQuestionStatisticsFoldWorkerServlet.class,
+                                        ParamsNames.FEEDBACK_QUESTION_ID, feedbackQuestionId);
+    }
+
+    private static LocalTaskQueue getTaskQueue() {
+        return LocalTaskQueueTestConfig.getLocalTaskQueue();
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,66 @@
+package teammates.test.cases.automated;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.SystemParams;
+import teammates.logic.automated.FeedbackQuestionStatisticsReconciliationServlet;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+
+import com.google.appengine.api.taskqueue.dev.LocalTaskQueue;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
+
+/**
+ * SUT: {@link FeedbackQuestionStatisticsReconciliationServlet}
+ */
+public class FeedbackQuestionStatisticsReconciliationServletTest extends BaseComponentUsingTaskQueueTestCase {
+
+    private static final String QUEUE_NAME = SystemParams.FEEDBACK_QUESTION_STATISTICS_RECONCILIATION_TASK_QUEUE;
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreDatastoreFromJson("/FeedbackSessionQuestionTypeTest.json");
+    }
+
+    @Test
+    public void testScheduleReconciliations() throws Exception {
+        getTaskQueue().flushQueue(QUEUE_NAME);
+
+        ______TS("one reconciliation per aggregatable question of the sessions accepting responses");
+
+        int numberOfQuestionsExpected = 0;
+        for (FeedbackSessionAttributes session : FeedbackSessionsLogic.inst().getFeedbackSessionsAcceptingResponses()) {
+            for (FeedbackQuestionAttributes question : FeedbackQuestionsLogic.inst().getFeedbackQuestionsForSession(
+                    session.getFeedbackSessionName(), session.getCourseId())) {
+                if (question.getQuestionDetails().isStatisticsAggregatable()) {
+                    numberOfQuestionsExpected++;
+                }
+            }
+        }
+        assertTrue(numberOfQuestionsExpected > 0);
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK,
+                     gaeSimulation.runServlet(FeedbackQuestionStatisticsReconciliationServlet.class));
+        assertEquals(numberOfQuestionsExpected, getNumberOfTasks());
+    }
+
+    private static LocalTaskQueue getTaskQueue() {
+        return LocalTaskQueueTestConfig.getLocalTaskQueue();
+    }
+
+    private static int getNumberOfTasks() {
+        return getTaskQueue().getQueueStateInfo().get(QUEUE_NAME).getCountTasks();
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
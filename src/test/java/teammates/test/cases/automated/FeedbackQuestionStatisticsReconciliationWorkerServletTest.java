@@ -0,0 +1,80 @@
+package teammates.test.cases.automated;
+
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAggregate;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.logic.automated.FeedbackQuestionStatisticsReconciliationWorkerServlet;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.storage.api.FeedbackQuestionStatisticsDb;
+import teammates.storage.api.FeedbackResponsesDb;
+
+/**
+ * SUT: {@link FeedbackQuestionStatisticsReconciliationWorkerServlet}
+ */
+public class FeedbackQuestionStatisticsReconciliationWorkerServletTest extends BaseComponentUsingTaskQueueTestCase {
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreDatastoreFromJson("/FeedbackSessionQuestionTypeTest.json");
+    }
+
+    @Test
+    public void testReconcileAggregate() {
+        FeedbackQuestionAttributes question =
+                FeedbackQuestionsLogic.inst().getFeedbackQuestion("MSQ Session", "FSQTT.idOfTypicalCourse1", 1);
+        List<FeedbackResponseAttributes> responses =
+                FeedbackResponsesLogic.inst().getFeedbackResponsesForQuestion(question.getId());
+        FeedbackQuestionStatisticsDb fqStatisticsDb = new FeedbackQuestionStatisticsDb();
+
+        ______TS("aggregate created from the responses");
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, runWorker(question.getId()));
+        assertEquals(countResponses(question, responses), fqStatisticsDb.getAggregate(question.getId()));
+        assertTrue(fqStatisticsDb.hasReconciledAggregate(question.getId()));
+
+        ______TS("aggregate corrected for a response deleted without the aggregate being changed");
+
+        new FeedbackResponsesDb().deleteEntity(responses.get(0));
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, runWorker(question.getId()));
+        assertEquals(countResponses(question, responses.subList(1, responses.size())),
+                     fqStatisticsDb.getAggregate(question.getId()));
+
+        ______TS("question deleted: aggregate deleted");
+
+        FeedbackQuestionsLogic.inst().deleteFeedbackQuestionCascade(question.getId());
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, runWorker(question.getId()));
+        assertNull(fqStatisticsDb.getAggregate(question.getId()));
+    }
+
+    private static int runWorker(String feedbackQuestionId) {
+        return gaeSimulation.runServlet(FeedbackQuestionStatisticsReconciliationWorkerServlet.class,
+                                        ParamsNames.FEEDBACK_QUESTION_ID, feedbackQuestionId);
+    }
+
+    private static FeedbackQuestionStatisticsAggregate countResponses(FeedbackQuestionAttributes question,
+                                                                      List<FeedbackResponseAttributes> responses) {
+        FeedbackQuestionStatisticsAggregate aggregate = new FeedbackQuestionStatisticsAggregate();
+        for (FeedbackResponseAttributes response : responses) {
+            question.getQuestionDetails().countInStatisticsAggregate(response, aggregate, 1);
+        }
+        return aggregate;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,120 @@
+package teammates.test.cases.automated;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.common.util.EmailBodyTemplate;
+import teammates.logic.automated.SendEmailBatchWorkerServlet;
+import teammates.logic.core.TaskQueuesLogic;
+
+import com.google.appengine.api.mail.MailServicePb.MailMessage;
+import com.google.appengine.api.mail.dev.LocalMailService;
+import com.google.appengine.api.taskqueue.TaskOptions;
+import com.google.appengine.api.taskqueue.dev.LocalTaskQueue;
+import com.google.appengine.tools.development.testing.LocalMailServiceTestConfig;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
+
+/**
+ * SUT: {@link SendEmailBatchWorkerServlet}
+ */
+public class SendEmailBatchWorkerServletTest extends BaseComponentUsingTaskQueueTestCase {
+
+    private static final String QUEUE_NAME = SystemParams.PENDING_EMAIL_TASK_QUEUE;
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @BeforeMethod
+    public void methodSetUp() {
+        getMailService().clearSentMessages();
+        getTaskQueue().flushQueue(QUEUE_NAME);
+    }
+
+    @Test
+    public void testNoPendingEmails() {
+        int status = gaeSimulation.runServlet(SendEmailBatchWorkerServlet.class);
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, status);
+        assertTrue(getMailService().getSentMessages().isEmpty());
+    }
+
+    @Test
+    public void testSendPendingEmails() {
+        int numberOfEmails = SystemParams.MAX_EMAILS_PER_SEND_BATCH + 2;
+        List<TaskOptions> tasks = new ArrayList<TaskOptions>();
+        for (int i = 1; i <= numberOfEmails; i++) {
+            tasks.add(createPendingEmailTask("recipient" + i + "@email.com", "User " + i));
+        }
+        TaskQueuesLogic.inst().addTasks(QUEUE_NAME, tasks);
+
+        ______TS("a batch of pending emails is sent and removed from the queue");
+
+        int status = gaeSimulation.runServlet(SendEmailBatchWorkerServlet.class);
+
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, status);
+        List<MailMessage> sentMessages = getMailService().getSentMessages();
+        assertEquals(SystemParams.MAX_EMAILS_PER_SEND_BATCH, sentMessages.size());
+        for (MailMessage message : sentMessages) {
+            String recipientNumber = message.getTo(0).substring("recipient".length(), message.getTo(0).indexOf('@'));
+            String body = getBody(message);
+            assertTrue(body.contains("User " + recipientNumber + ","));
+            assertFalse(body.contains("${userName}"));
+        }
+        assertEquals(2, getNumberOfTasks());
+
+        ______TS("the rest of the pending emails are sent when the worker is run again");
+
+        gaeSimulation.runServlet(SendEmailBatchWorkerServlet.class);
+
+        assertEquals(numberOfEmails, getMailService().getSentMessages().size());
+        assertEquals(0, getNumberOfTasks());
+    }
+
+    private static TaskOptions createPendingEmailTask(String recipient, String userName) {
+        Map<String, String[]> paramMap = new HashMap<String, String[]>();
+        paramMap.put(ParamsNames.EMAIL_SUBJECT, new String[] { "Test subject" });
+        paramMap.put(ParamsNames.EMAIL_CONTENT_TEMPLATE,
+                     new String[] { EmailBodyTemplate.FEEDBACK_SESSION_OPENING.name() });
+        paramMap.put(ParamsNames.EMAIL_CONTENT_TEMPLATE_VALUES,
+                     new String[] { "${userName}", userName, "${submitUrl}", "http://submit.url/" + recipient });
+        paramMap.put(ParamsNames.EMAIL_SENDER, new String[] { "sender@email.com" });
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, new String[] { recipient });
+        paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, new String[] { "replyto@email.com" });
+        return TaskQueuesLogic.inst().createPullTaskMultisetParam(paramMap);
+    }
+
+    private static LocalMailService getMailService() {
+        return LocalMailServiceTestConfig.getLocalMailService();
+    }
+
+    private static String getBody(MailMessage message) {
+        return (message.hasHtmlBody() ? message.getHtmlBody() : "")
+               + (message.hasTextBody() ? message.getTextBody() : "");
+    }
+
+    private static LocalTaskQueue getTaskQueue() {
+        return LocalTaskQueueTestConfig.getLocalTaskQueue();
+    }
+
+    private static int getNumberOfTasks() {
+        return getTaskQueue().getQueueStateInfo().get(QUEUE_NAME).getCountTasks();
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
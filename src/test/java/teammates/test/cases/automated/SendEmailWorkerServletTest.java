@@ -0,0 +1,88 @@
+package teammates.test.cases.automated;
+
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.EmailBodyTemplate;
+import teammates.logic.automated.SendEmailWorkerServlet;
+
+import com.google.appengine.api.mail.MailServicePb.MailMessage;
+import com.google.appengine.api.mail.dev.LocalMailService;
+import com.google.appengine.tools.development.testing.LocalMailServiceTestConfig;
+
+/**
+ * SUT: {@link SendEmailWorkerServlet}
+ */
+public class SendEmailWorkerServletTest extends BaseComponentUsingTaskQueueTestCase {
+    
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+    
+    @BeforeMethod
+    public void methodSetUp() {
+        getMailService().clearSentMessages();
+    }
+    
+    @Test
+    public void testSendEmailWithContent() {
+        int status = gaeSimulation.runServlet(SendEmailWorkerServlet.class,
+                ParamsNames.EMAIL_SUBJECT, "Test subject",
+                ParamsNames.EMAIL_CONTENT, "<p>Direct content</p>",
+                ParamsNames.EMAIL_SENDER, "sender@email.com",
+                ParamsNames.EMAIL_SENDERNAME, "Sender Name",
+                ParamsNames.EMAIL_RECEIVER, "recipient@email.com",
+                ParamsNames.EMAIL_REPLY_TO_ADDRESS, "replyto@email.com");
+        
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, status);
+        List<MailMessage> sentMessages = getMailService().getSentMessages();
+        assertEquals(1, sentMessages.size());
+        assertEquals("recipient@email.com", sentMessages.get(0).getTo(0));
+        assertEquals("Test subject", sentMessages.get(0).getSubject());
+        assertTrue(getBody(sentMessages.get(0)).contains("Direct content"));
+    }
+    
+    @Test
+    public void testSendEmailWithTemplate() {
+        int status = gaeSimulation.runServlet(SendEmailWorkerServlet.class,
+                ParamsNames.EMAIL_SUBJECT, "Test subject",
+                ParamsNames.EMAIL_CONTENT_TEMPLATE, EmailBodyTemplate.FEEDBACK_SESSION_OPENING.name(),
+                ParamsNames.EMAIL_CONTENT_TEMPLATE_VALUES, "${userName}",
+                ParamsNames.EMAIL_CONTENT_TEMPLATE_VALUES, "Template User",
+                ParamsNames.EMAIL_CONTENT_TEMPLATE_VALUES, "${submitUrl}",
+                ParamsNames.EMAIL_CONTENT_TEMPLATE_VALUES, "http://submit.url/1",
+                ParamsNames.EMAIL_SENDER, "sender@email.com",
+                ParamsNames.EMAIL_RECEIVER, "recipient@email.com",
+                ParamsNames.EMAIL_REPLY_TO_ADDRESS, "replyto@email.com");
+        
+        assertEquals(Const.StatusCodes.TASK_QUEUE_RESPONSE_OK, status);
+        List<MailMessage> sentMessages = getMailService().getSentMessages();
+        assertEquals(1, sentMessages.size());
+        String body = getBody(sentMessages.get(0));
+        assertTrue(body.contains("Template User"));
+        assertTrue(body.contains("http://submit.url/1"));
+        assertFalse(body.contains("${userName}"));
+    }
+    
+    private static LocalMailService getMailService() {
+        return LocalMailServiceTestConfig.getLocalMailService();
+    }
+    
+    private static String getBody(MailMessage message) {
+        return (message.hasHtmlBody() ? message.getHtmlBody() : "")
+               + (message.hasTextBody() ? message.getTextBody() : "");
+    }
+    
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+    
+}
@@ -0,0 +1,38 @@
+package teammates.test.cases.benchmark;
+
+import teammates.test.cases.BaseComponentTestCase;
+import teammates.test.driver.SyntheticCourseDataPersister;
+import teammates.test.driver.SyntheticDataBundleGenerator;
+import teammates.test.driver.SyntheticDataBundleGenerator.Shape;
+
+/**
+ * Base class for the benchmarks, which measure how features scale with large synthetic courses
+ * generated by {@link SyntheticDataBundleGenerator}.<br>
+ * The benchmarks take too long for the regular test suites and are run with the {@code benchmarkTests} task.
+ * Each benchmark has a default shape for its course, whose fields can be overridden with
+ * {@code -Psynthetic.<fieldName>=<value>} as described in {@link Shape#fromProperties}.
+ */
+public class BaseBenchmarkTestCase extends BaseComponentTestCase {
+
+    /**
+     * @return a generator of the course of {@code defaultShape},
+     *         overridden by the {@code synthetic.*} system properties
+     */
+    protected static SyntheticDataBundleGenerator createGenerator(Shape defaultShape) {
+        return new SyntheticDataBundleGenerator(Shape.fromProperties(System.getProperties(), defaultShape),
+                                                SyntheticDataBundleGenerator.getSeed(System.getProperties()));
+    }
+
+    /**
+     * Persists the whole course of {@code generator} into the local datastore.
+     * @return the number of responses persisted
+     */
+    protected static int persistSyntheticCourse(SyntheticDataBundleGenerator generator) throws Exception {
+        long startTime = System.currentTimeMillis();
+        int numberOfResponses = new SyntheticCourseDataPersister().persistCourseWithResponses(generator);
+        print("Persisted " + generator.getShape().courseId + " with " + numberOfResponses + " responses in "
+              + (System.currentTimeMillis() - startTime) + "ms");
+        return numberOfResponses;
+    }
+
+}
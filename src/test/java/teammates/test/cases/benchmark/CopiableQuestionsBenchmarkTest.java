@@ -0,0 +1,99 @@
+package teammates.test.cases.benchmark;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.test.driver.SyntheticCourseDataPersister;
+import teammates.test.driver.SyntheticDataBundleGenerator;
+import teammates.test.driver.SyntheticDataBundleGenerator.Shape;
+
+/**
+ * Benchmarks the copiable questions of {@link FeedbackQuestionsLogic} for an instructor of a course
+ * of 100 sessions of 30 questions each by default.
+ */
+public class CopiableQuestionsBenchmarkTest extends BaseBenchmarkTestCase {
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testGetCopiableFeedbackQuestionsForInstructorWithManyQuestions() throws Exception {
+        Shape defaultShape = new Shape();
+        defaultShape.courseId = "benchmark.copiableQuestions";
+        defaultShape.numOfStudents = 20;
+        defaultShape.numOfSections = 2;
+        defaultShape.numOfSessions = 100;
+        defaultShape.numOfMcqQuestions = 10;
+        defaultShape.numOfRubricQuestions = 10;
+        defaultShape.numOfContributionQuestions = 10;
+        SyntheticDataBundleGenerator generator = createGenerator(defaultShape);
+        String courseId = generator.getShape().courseId;
+
+        // the questions are copied from the sessions, so the responses are not needed
+        DataBundle course = generator.generateCourse();
+        new SyntheticCourseDataPersister().persistCourse(course);
+        String instructorGoogleId = course.instructors.get("instructor1").googleId;
+        int numberOfQuestions = course.feedbackQuestions.size();
+
+        ______TS("first page read without reading the rest of the sessions");
+
+        long startTime = System.currentTimeMillis();
+        List<FeedbackQuestionAttributes> firstPage =
+                fqLogic.getCopiableFeedbackQuestionsForInstructor(instructorGoogleId, null, PAGE_SIZE);
+        print("First page of " + firstPage.size() + " of " + numberOfQuestions + " questions in "
+              + (System.currentTimeMillis() - startTime) + "ms");
+        assertEquals(Math.min(PAGE_SIZE, numberOfQuestions), firstPage.size());
+
+        ______TS("each question in one page, a page at a time");
+
+        Set<String> questionIds = new HashSet<String>();
+        int numberOfPages = 0;
+        startTime = System.currentTimeMillis();
+        String cursor = null;
+        List<FeedbackQuestionAttributes> page;
+        do {
+            page = fqLogic.getCopiableFeedbackQuestionsForInstructor(instructorGoogleId, cursor, PAGE_SIZE);
+            for (FeedbackQuestionAttributes question : page) {
+                questionIds.add(question.getId());
+            }
+            if (!page.isEmpty()) {
+                cursor = FeedbackQuestionsLogic.getCopiableQuestionsCursor(page.get(page.size() - 1));
+                numberOfPages++;
+            }
+        } while (page.size() == PAGE_SIZE);
+        print("Paged through " + questionIds.size() + " questions in " + numberOfPages + " pages in "
+              + (System.currentTimeMillis() - startTime) + "ms");
+        assertEquals(numberOfQuestions, questionIds.size());
+
+        ______TS("all the questions in one list");
+
+        startTime = System.currentTimeMillis();
+        List<FeedbackQuestionAttributes> copiableQuestions =
+                fqLogic.getCopiableFeedbackQuestionsForInstructor(instructorGoogleId);
+        print("All " + copiableQuestions.size() + " questions in " + (System.currentTimeMillis() - startTime) + "ms");
+        assertEquals(numberOfQuestions, copiableQuestions.size());
+
+        CoursesLogic.inst().deleteCourseCascade(courseId);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,68 @@
+package teammates.test.cases.benchmark;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseDeletionProgress;
+import teammates.logic.core.CourseDeletionLogic;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.StudentsLogic;
+import teammates.test.driver.SyntheticDataBundleGenerator;
+import teammates.test.driver.SyntheticDataBundleGenerator.Shape;
+
+/**
+ * Benchmarks {@link CourseDeletionLogic} with a course of about 100,000 responses by default.
+ */
+public class CourseDeletionBenchmarkTest extends BaseBenchmarkTestCase {
+
+    private static final CourseDeletionLogic courseDeletionLogic = CourseDeletionLogic.inst();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testDeleteLargeCourseInBatches() throws Exception {
+        Shape defaultShape = new Shape();
+        defaultShape.courseId = "benchmark.courseDeletion";
+        defaultShape.numOfStudents = 400;
+        defaultShape.numOfSessions = 20;
+        SyntheticDataBundleGenerator generator = createGenerator(defaultShape);
+        String courseId = generator.getShape().courseId;
+        int numberOfResponses = persistSyntheticCourse(generator);
+
+        ______TS("course deleted a batch at a time, each batch within the batch size");
+
+        long startTime = System.currentTimeMillis();
+        courseDeletionLogic.scheduleCourseDeletion(courseId);
+
+        // a deadline in the past makes each call delete a single batch, as if each were a task running out of time
+        int numberOfCalls = 0;
+        long lastNumberOfEntitiesDeleted = 0;
+        while (!courseDeletionLogic.deleteCourseInBatches(courseId, 0)) {
+            numberOfCalls++;
+            CourseDeletionProgress progress = courseDeletionLogic.getCourseDeletionProgress(courseId);
+            assertTrue(progress.getNumberOfEntitiesDeleted() - lastNumberOfEntitiesDeleted
+                       <= CourseDeletionLogic.BATCH_SIZE);
+            lastNumberOfEntitiesDeleted = progress.getNumberOfEntitiesDeleted();
+        }
+        long timeTaken = System.currentTimeMillis() - startTime;
+        print(numberOfCalls + " batches to delete " + lastNumberOfEntitiesDeleted + " entities in " + timeTaken
+              + "ms, " + timeTaken / Math.max(numberOfCalls, 1) + "ms per batch");
+        assertTrue(lastNumberOfEntitiesDeleted >= numberOfResponses);
+
+        ______TS("all the data of the course deleted");
+
+        assertFalse(courseDeletionLogic.isCourseBeingDeleted(courseId));
+        assertNull(CoursesLogic.inst().getCourse(courseId));
+        assertTrue(StudentsLogic.inst().getStudentsForCourse(courseId).isEmpty());
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,99 @@
+package teammates.test.cases.benchmark;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseConsumer;
+import teammates.storage.api.FeedbackResponsesDb;
+import teammates.test.driver.SyntheticDataBundleGenerator;
+import teammates.test.driver.SyntheticDataBundleGenerator.Shape;
+
+/**
+ * Benchmarks the paging of {@link FeedbackResponsesDb} through a session of about 200,000 responses by default.
+ */
+public class FeedbackResponsesPagingBenchmarkTest extends BaseBenchmarkTestCase {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String SECTION = "Section 1";
+
+    private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testForEachFeedbackResponseInLargeSession() throws Exception {
+        Shape defaultShape = new Shape();
+        defaultShape.courseId = "benchmark.responsesPaging";
+        defaultShape.numOfStudents = 5000;
+        defaultShape.numOfSessions = 1;
+        defaultShape.numOfRubricQuestions = 8;
+        defaultShape.numOfContributionQuestions = 3;
+        SyntheticDataBundleGenerator generator = createGenerator(defaultShape);
+        String courseId = generator.getShape().courseId;
+        String feedbackSessionName = generator.getSessionName(0);
+
+        int numberOfResponsesInSection = 0;
+        DataBundle sessionResponses = generator.generateResponses(0);
+        for (FeedbackResponseAttributes response : sessionResponses.feedbackResponses.values()) {
+            if (SECTION.equals(response.giverSection) || SECTION.equals(response.recipientSection)) {
+                numberOfResponsesInSection++;
+            }
+        }
+        int numberOfResponses = persistSyntheticCourse(generator);
+
+        ______TS("each response passed once, a page at a time");
+
+        final Set<String> responseIds = new HashSet<String>();
+        final int[] numberOfResponsesPassed = new int[1];
+        long startTime = System.currentTimeMillis();
+        frDb.forEachFeedbackResponseInSession(feedbackSessionName, courseId, PAGE_SIZE, new FeedbackResponseConsumer() {
+            @Override
+            public void accept(FeedbackResponseAttributes response) {
+                responseIds.add(response.getId());
+                numberOfResponsesPassed[0]++;
+            }
+        });
+        print("Paged through " + numberOfResponsesPassed[0] + " responses in "
+              + (System.currentTimeMillis() - startTime) + "ms");
+        assertEquals(numberOfResponses, numberOfResponsesPassed[0]);
+        assertEquals(numberOfResponses, responseIds.size());
+
+        ______TS("each response from or to a section passed once");
+
+        final Set<String> responseIdsInSection = new HashSet<String>();
+        final int[] numberOfResponsesInSectionPassed = new int[1];
+        startTime = System.currentTimeMillis();
+        frDb.forEachFeedbackResponseInSessionInSection(feedbackSessionName, courseId, SECTION, PAGE_SIZE,
+                new FeedbackResponseConsumer() {
+                    @Override
+                    public void accept(FeedbackResponseAttributes response) {
+                        assertTrue(SECTION.equals(response.giverSection)
+                                   || SECTION.equals(response.recipientSection));
+                        responseIdsInSection.add(response.getId());
+                        numberOfResponsesInSectionPassed[0]++;
+                    }
+                });
+        print("Paged through " + numberOfResponsesInSectionPassed[0] + " responses of " + SECTION + " in "
+              + (System.currentTimeMillis() - startTime) + "ms");
+        assertEquals(numberOfResponsesInSection, numberOfResponsesInSectionPassed[0]);
+        assertEquals(numberOfResponsesInSection, responseIdsInSection.size());
+
+        frDb.deleteFeedbackResponsesForCourse(courseId);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,110 @@
+package teammates.test.cases.benchmark;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.util.Const;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.test.driver.SyntheticDataBundleGenerator;
+import teammates.test.driver.SyntheticDataBundleGenerator.Shape;
+
+/**
+ * Benchmarks the checks of {@link InstructorPrivileges} made for each response of a results bundle
+ * of about 10,000 responses by default, for a tutor with privileges for each section of the course.
+ */
+public class InstructorPrivilegesBenchmarkTest extends BaseBenchmarkTestCase {
+
+    private static final int NUMBER_OF_WARMUP_ROUNDS = 10;
+    private static final int NUMBER_OF_ROUNDS = 50;
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testPrivilegeChecksForResultsBundle() throws Exception {
+        Shape defaultShape = new Shape();
+        defaultShape.courseId = "benchmark.instructorPrivileges";
+        defaultShape.numOfStudents = 2800;
+        defaultShape.numOfSessions = 1;
+        defaultShape.numOfMcqQuestions = 0;
+        defaultShape.numOfRubricQuestions = 1;
+        defaultShape.numOfContributionQuestions = 0;
+        defaultShape.commentDensity = 0;
+        SyntheticDataBundleGenerator generator = createGenerator(defaultShape);
+        String courseId = generator.getShape().courseId;
+        String sessionName = generator.getSessionName(0);
+        DataBundle course = generator.generateCourse();
+        String instructorEmail = course.instructors.get("instructor1").email;
+        persistSyntheticCourse(generator);
+
+        FeedbackSessionResultsBundle bundle =
+                FeedbackSessionsLogic.inst().getFeedbackSessionResultsForInstructor(sessionName, courseId,
+                                                                                     instructorEmail);
+        InstructorPrivileges privileges = getTutorPrivileges(generator.getShape().numOfSections, sessionName);
+        // compiles the privileges, which is done once for each change of the privileges and not measured here
+        privileges.getCompiled();
+
+        ______TS("warmup");
+
+        int numberOfResponsesVisible = 0;
+        for (int i = 0; i < NUMBER_OF_WARMUP_ROUNDS; i++) {
+            numberOfResponsesVisible = countResponsesVisible(bundle, privileges, sessionName);
+        }
+
+        ______TS("checks for each response of the bundle");
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_ROUNDS; i++) {
+            assertEquals(numberOfResponsesVisible, countResponsesVisible(bundle, privileges, sessionName));
+        }
+        long timeTakenPerRound = (System.nanoTime() - startTime) / NUMBER_OF_ROUNDS;
+        print("Privilege checks for " + bundle.responses.size() + " responses, " + numberOfResponsesVisible
+              + " visible: " + timeTakenPerRound / 1000 + "us per bundle");
+        assertTrue(numberOfResponsesVisible > 0 && numberOfResponsesVisible < bundle.responses.size());
+
+        CoursesLogic.inst().deleteCourseCascade(courseId);
+    }
+
+    private static int countResponsesVisible(FeedbackSessionResultsBundle bundle, InstructorPrivileges privileges,
+                                             String sessionName) {
+        String privilegeName = Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS;
+        int numberOfResponsesVisible = 0;
+        for (FeedbackResponseAttributes response : bundle.responses) {
+            if (privileges.isAllowedForPrivilege(response.giverSection, sessionName, privilegeName)
+                    && privileges.isAllowedForPrivilege(response.recipientSection, sessionName, privilegeName)) {
+                numberOfResponsesVisible++;
+            }
+        }
+        return numberOfResponsesVisible;
+    }
+
+    /**
+     * Gives a tutor section level privileges to each section, with the session not allowed to be viewed
+     * in every fourth section.
+     */
+    private static InstructorPrivileges getTutorPrivileges(int numberOfSections, String sessionName) {
+        InstructorPrivileges privileges =
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_TUTOR);
+        for (int i = 1; i <= numberOfSections; i++) {
+            String sectionName = "Section " + i;
+            privileges.addSectionWithDefaultPrivileges(sectionName);
+            privileges.updatePrivilege(sectionName, sessionName,
+                                       Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS, i % 4 != 0);
+        }
+        return privileges;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
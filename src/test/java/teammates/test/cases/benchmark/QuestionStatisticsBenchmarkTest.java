@@ -0,0 +1,77 @@
+package teammates.test.cases.benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.test.driver.SyntheticDataBundleGenerator;
+import teammates.test.driver.SyntheticDataBundleGenerator.Shape;
+
+/**
+ * Benchmarks the result statistics of each question of a session, as rendered in HTML, CSV and rows by
+ * {@link FeedbackQuestionDetails}. By default, the rubric question of the session has about 50,000 responses.
+ */
+public class QuestionStatisticsBenchmarkTest extends BaseBenchmarkTestCase {
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testQuestionResultStatisticsOfLargeSession() throws Exception {
+        Shape defaultShape = new Shape();
+        defaultShape.courseId = "benchmark.questionStatistics";
+        defaultShape.numOfStudents = 14000;
+        defaultShape.numOfSessions = 1;
+        defaultShape.numOfMcqQuestions = 1;
+        defaultShape.numOfRubricQuestions = 1;
+        defaultShape.numOfContributionQuestions = 0;
+        defaultShape.commentDensity = 0;
+        SyntheticDataBundleGenerator generator = createGenerator(defaultShape);
+        String courseId = generator.getShape().courseId;
+        DataBundle course = generator.generateCourse();
+        String instructorEmail = course.instructors.get("instructor1").email;
+        persistSyntheticCourse(generator);
+
+        FeedbackSessionResultsBundle bundle = FeedbackSessionsLogic.inst().getFeedbackSessionResultsForInstructor(
+                generator.getSessionName(0), courseId, instructorEmail);
+
+        ______TS("statistics of each question in HTML, CSV and rows");
+
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : bundle.getQuestionResponseMap().entrySet()) {
+            FeedbackQuestionAttributes question = entry.getKey();
+            List<FeedbackResponseAttributes> responses = entry.getValue();
+            FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+
+            long startTime = System.nanoTime();
+            String statisticsHtml = questionDetails.getQuestionResultStatisticsHtml(
+                    responses, question, instructorEmail, bundle, "question");
+            String statisticsCsv = questionDetails.getQuestionResultStatisticsCsv(responses, question, bundle);
+            questionDetails.getQuestionResultStatisticsRows(responses, question, bundle);
+            print(question.questionType + " question with " + responses.size() + " responses: "
+                  + (System.nanoTime() - startTime) / 1000000 + " ms for HTML, CSV and rows");
+            assertFalse(statisticsHtml.isEmpty());
+            assertFalse(statisticsCsv.isEmpty());
+        }
+
+        CoursesLogic.inst().deleteCourseCascade(courseId);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
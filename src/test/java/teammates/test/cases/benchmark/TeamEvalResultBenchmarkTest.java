@@ -0,0 +1,88 @@
+package teammates.test.cases.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.logic.core.TeamEvalResult;
+
+/**
+ * Benchmarks the points calculated by {@link TeamEvalResult} for teams of different sizes,
+ * and for a course of 500 teams of 4 to 6 students.
+ */
+public class TeamEvalResultBenchmarkTest extends BaseBenchmarkTestCase {
+
+    private static final int NUMBER_OF_WARMUP_ROUNDS = 10;
+    private static final int NUMBER_OF_TEAMS = 1000;
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testCalculatePointsForTeamsOfEachSize() {
+        for (int teamSize = 2; teamSize <= 50; teamSize *= 5) {
+            int[][] input = new int[teamSize][teamSize];
+            for (int[] row : input) {
+                Arrays.fill(row, 100);
+            }
+
+            ______TS("teams of " + teamSize);
+
+            for (int i = 0; i < NUMBER_OF_WARMUP_ROUNDS * NUMBER_OF_TEAMS; i++) {
+                new TeamEvalResult(input);
+            }
+            TeamEvalResult result = null;
+            long startTime = System.nanoTime();
+            for (int i = 0; i < NUMBER_OF_TEAMS; i++) {
+                result = new TeamEvalResult(input);
+            }
+            print(NUMBER_OF_TEAMS + " teams of " + teamSize + ": "
+                  + (System.nanoTime() - startTime) / 1000000 + " ms");
+            assertEquals(teamSize, result.normalizedPeerContributionRatio.length);
+        }
+    }
+
+    @Test
+    public void testCalculatePointsForCourse() {
+        Random random = new Random(2016);
+        int[][][] course = new int[500][][];
+        for (int team = 0; team < course.length; team++) {
+            int teamSize = 4 + random.nextInt(3);
+            course[team] = new int[teamSize][teamSize];
+            for (int[] row : course[team]) {
+                for (int j = 0; j < teamSize; j++) {
+                    row[j] = 50 + random.nextInt(101);
+                }
+            }
+        }
+
+        ______TS("warmup");
+
+        for (int i = 0; i < NUMBER_OF_WARMUP_ROUNDS; i++) {
+            for (int[][] input : course) {
+                new TeamEvalResult(input);
+            }
+        }
+
+        ______TS("course of " + course.length + " teams");
+
+        int numberOfStudents = 0;
+        long startTime = System.nanoTime();
+        for (int[][] input : course) {
+            numberOfStudents += new TeamEvalResult(input).normalizedPeerContributionRatio.length;
+        }
+        print("course of " + course.length + " teams: " + (System.nanoTime() - startTime) / 1000000 + " ms");
+        assertTrue(numberOfStudents >= 4 * course.length && numberOfStudents <= 6 * course.length);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
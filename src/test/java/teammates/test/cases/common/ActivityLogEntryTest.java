@@ -1,9 +1,12 @@
 package teammates.test.cases.common;
 
+import java.util.Arrays;
+
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.Const;
 import teammates.test.cases.BaseTestCase;
 import teammates.test.driver.AssertHelper;
 
@@ -45,6 +48,62 @@ public class ActivityLogEntryTest extends BaseTestCase {
         assertEquals("Message", entry.getMessageInfo());
         assertEquals("UserId", entry.getPersonInfo());
         assertEquals("Instructor", entry.getRole());
+        assertNull(entry.getStorageAccessStats());
+        
+        ______TS("Test time taken and storage access stats");
+        appLog.setLogMessage("TEAMMATESLOG|||instructorHome|||Pageload|||true|||Instructor|||UserName|||UserId"
+                             + "|||UserEmail|||Message|||URL|||UserId%20151019143729608|||20"
+                             + "|||queries:3 returned:12 gets:1 writes:0 time:6ms");
+        entry = new ActivityLogEntry(appLog);
+        assertEquals(20L, entry.getTimeTaken().longValue());
+        assertEquals("queries:3 returned:12 gets:1 writes:0 time:6ms", entry.getStorageAccessStats());
+        AssertHelper.assertContains("queries:3 returned:12 gets:1 writes:0 time:6ms",
+                                    entry.getLogInfoForTableRowAsHtml());
+    }
+    
+    @Test
+    public void testSplitLogMessage() {
+        String[] logMessages = {
+                "TEAMMATESLOG|||instructorHome|||Pageload|||true|||Instructor|||UserName|||UserId"
+                        + "|||UserEmail|||Message|||URL|||UserId%20151019143729608|||20",
+                "TEAMMATESLOG|||instructorHome|||Pageload",
+                "|||a||||b|||||||",
+                "no separator",
+                ""
+        };
+        for (String logMessage : logMessages) {
+            assertEquals(Arrays.asList(logMessage.split("\\|\\|\\|", -1)),
+                         Arrays.asList(ActivityLogEntry.splitLogMessage(logMessage)));
+        }
+    }
+    
+    @Test
+    public void testLogInfoAsHtml() {
+        AppLogLine appLog = new AppLogLine();
+        appLog.setLogMessage("TEAMMATESLOG|||instructorHome|||" + Const.ACTION_RESULT_FAILURE + "|||true|||Instructor"
+                             + "|||UserName|||UserId|||UserEmail|||" + Const.ACTION_RESULT_FAILURE + ": Message|||URL");
+        ActivityLogEntry entry = new ActivityLogEntry(appLog);
+        
+        ______TS("failure messages are decorated once, however many times they are read");
+        
+        String messageInfo = "<span class=\"text-danger\"><strong>" + Const.ACTION_RESULT_FAILURE + "</strong><br>"
+                             + ": Message</span><br>";
+        assertEquals(messageInfo, entry.getMessageInfo());
+        assertEquals(messageInfo, entry.getMessageInfo());
+        
+        ______TS("the row is generated on demand, and generated again when the entry changes");
+        
+        String row = entry.getLogInfoForTableRowAsHtml();
+        assertTrue(row.contains(messageInfo));
+        assertFalse(row.contains("first-row"));
+        assertTrue(row == entry.getLogInfoForTableRowAsHtml());
+        
+        entry.setFirstRow();
+        assertTrue(entry.getLogInfoForTableRowAsHtml().contains("id=\"first-row\""));
+        
+        entry.setKeyStringsToHighlight(new String[] {"message"});
+        entry.highlightKeyStringInMessageInfoHtml();
+        assertTrue(entry.getLogInfoForTableRowAsHtml().contains("<mark>Message</mark>"));
     }
     
     @Test
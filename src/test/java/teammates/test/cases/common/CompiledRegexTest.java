@@ -0,0 +1,53 @@
+package teammates.test.cases.common;
+
+import java.util.regex.Pattern;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.CompiledRegex;
+import teammates.common.util.FieldValidator;
+import teammates.test.cases.BaseTestCase;
+
+public class CompiledRegexTest extends BaseTestCase {
+
+    private static final String[] REGEXES = {
+            FieldValidator.REGEX_NAME, FieldValidator.REGEX_COURSE_ID, FieldValidator.REGEX_SAMPLE_COURSE_ID,
+            FieldValidator.REGEX_EMAIL, FieldValidator.REGEX_GOOGLE_ID_NON_EMAIL, "café", "sections?"
+    };
+
+    private static final String[] INPUTS = {
+            "", " ", "John Doe", "{John} Doe", "|John", "John%", "CS2103T-AY1617S1", "CS2103-demo3",
+            "course id", "john.doe@gmail.com", "john..doe@gmail.com", "john@gmail", "john@gmail.c0m",
+            "john_doe", "section", "sections", "cafe", "café", "cafe\u0301", "José Ramírez",
+            "Jose\u0301 Rami\u0301rez", "\u0301Jose", "张三", "josé@example.com"
+    };
+
+    @Test
+    public void testMatches() {
+
+        ______TS("same results as matching with canonical equivalence");
+
+        for (String regex : REGEXES) {
+            CompiledRegex compiledRegex = CompiledRegex.compile(regex);
+            Pattern canonicalPattern = Pattern.compile(regex, Pattern.CANON_EQ);
+            for (String input : INPUTS) {
+                assertEquals("regex: " + regex + ", input: " + input,
+                             canonicalPattern.matcher(input).matches(), compiledRegex.matches(input));
+            }
+        }
+
+        ______TS("canonical characters match regardless of single/double code point encoding");
+
+        CompiledRegex regex = CompiledRegex.compile("café");
+        assertTrue(regex.matches("café"));
+        assertTrue(regex.matches("cafe\u0301"));
+        assertFalse(regex.matches("cafe"));
+
+        ______TS("arrays of regexes");
+
+        CompiledRegex[] regexes = CompiledRegex.compile(FieldValidator.REGEX_COLUMN_EMAIL);
+        assertEquals(FieldValidator.REGEX_COLUMN_EMAIL.length, regexes.length);
+        assertEquals(FieldValidator.REGEX_COLUMN_EMAIL[1], regexes[1].getRegex());
+    }
+
+}
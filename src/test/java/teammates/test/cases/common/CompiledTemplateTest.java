@@ -0,0 +1,71 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.CompiledTemplate;
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+import teammates.test.cases.BaseTestCase;
+
+public class CompiledTemplateTest extends BaseTestCase {
+    
+    @Test
+    public void testRender() {
+        
+        ______TS("placeholders are populated in a single pass");
+        
+        CompiledTemplate template = CompiledTemplate.compile("Hello ${name}, welcome to ${course}. Bye ${name}!");
+        assertEquals("Hello Alice, welcome to CS1101S. Bye Alice!",
+                     template.render("${name}", "Alice", "${course}", "CS1101S"));
+        
+        ______TS("placeholders inside values are not populated");
+        
+        assertEquals("Hello ${course}, welcome to CS1101S. Bye ${course}!",
+                     template.render("${name}", "${course}", "${course}", "CS1101S"));
+        
+        ______TS("placeholders without values are kept, unused values are ignored");
+        
+        assertEquals("Hello Alice, welcome to ${course}. Bye Alice!",
+                     template.render("${name}", "Alice", "${unused}", "value"));
+        
+        ______TS("templates without placeholders, or with placeholders at the ends");
+        
+        assertEquals("no placeholders", CompiledTemplate.compile("no placeholders").render());
+        assertEquals("", CompiledTemplate.compile("").render());
+        assertEquals("AB", CompiledTemplate.compile("${a}${b}").render("${a}", "A", "${b}", "B"));
+        assertEquals("unclosed ${a", CompiledTemplate.compile("unclosed ${a").render("${a}", "A"));
+        
+        ______TS("appending to an existing builder");
+        
+        StringBuilder result = new StringBuilder("1:");
+        template.appendTo(result, "${name}", "Bob", "${course}", "CS2103");
+        assertEquals("1:Hello Bob, welcome to CS2103. Bye Bob!", result.toString());
+        
+        ______TS("odd number of values");
+        
+        try {
+            template.render("${name}");
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals("The number of values passed in must be even", e.getMessage());
+        }
+    }
+    
+    @Test
+    public void testRender_sameAsPopulateTemplate() {
+        String[] values = {
+                "${userName}", "Student 1",
+                "${courseName}", "Software Engineering",
+                "${courseId}", "CS2103",
+                "${feedbackSessionName}", "Peer Evaluation 1",
+                "${deadline}", "Sun, 20 Nov 2016, 11:59 PM",
+                "${instructorFragment}", "",
+                "${submitUrl}", "http://localhost:8888/page/studentFeedbackSubmissionEditPage",
+                "${reportUrl}", "http://localhost:8888/page/studentFeedbackResultsPage",
+                "${supportEmail}", "support@example.com"
+        };
+        assertEquals(Templates.populateTemplate(EmailTemplates.USER_FEEDBACK_SESSION, values),
+                     CompiledTemplate.compile(EmailTemplates.USER_FEEDBACK_SESSION).render(values));
+    }
+    
+}
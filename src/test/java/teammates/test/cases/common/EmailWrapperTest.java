@@ -0,0 +1,51 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.EmailBodyTemplate;
+import teammates.common.util.EmailWrapper;
+import teammates.test.cases.BaseTestCase;
+
+public class EmailWrapperTest extends BaseTestCase {
+    
+    @Test
+    public void testSetContentFromTemplate() {
+        EmailWrapper wrapper = new EmailWrapper();
+        
+        ______TS("content is populated from the template whenever it is read");
+        
+        wrapper.setContentFromTemplate(EmailBodyTemplate.FEEDBACK_SESSION_PUBLISHED,
+                                       "${userName}", "Alice", "${courseId}", "CS1101S");
+        assertEquals(EmailBodyTemplate.FEEDBACK_SESSION_PUBLISHED, wrapper.getContentTemplate());
+        assertEquals(4, wrapper.getContentTemplateValues().length);
+        String content = wrapper.getContent();
+        assertEquals(EmailBodyTemplate.FEEDBACK_SESSION_PUBLISHED.render("${userName}", "Alice",
+                                                                         "${courseId}", "CS1101S"),
+                     content);
+        assertTrue(content.contains("Alice"));
+        assertFalse(content.contains("${userName}"));
+        assertEquals(content, wrapper.getContent());
+        
+        ______TS("content set directly replaces the template");
+        
+        wrapper.setContent("<p>direct content</p>");
+        assertNull(wrapper.getContentTemplate());
+        assertNull(wrapper.getContentTemplateValues());
+        assertEquals("<p>direct content</p>", wrapper.getContent());
+        
+        ______TS("template set after the content replaces the content");
+        
+        wrapper.setContentFromTemplate(EmailBodyTemplate.FEEDBACK_SESSION_CLOSED, "${userName}", "Bob");
+        assertEquals(EmailBodyTemplate.FEEDBACK_SESSION_CLOSED.render("${userName}", "Bob"), wrapper.getContent());
+        
+        ______TS("values must come in key-value pairs");
+        
+        try {
+            wrapper.setContentFromTemplate(EmailBodyTemplate.FEEDBACK_SESSION_CLOSED, "${userName}");
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals("The number of values passed in must be even", e.getMessage());
+        }
+    }
+    
+}
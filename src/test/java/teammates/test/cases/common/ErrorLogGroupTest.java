@@ -0,0 +1,120 @@
+package teammates.test.cases.common;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.appengine.api.log.AppLogLine;
+import com.google.appengine.api.log.LogService.LogLevel;
+
+import teammates.common.util.ErrorLogGroup;
+import teammates.common.util.LogCursor;
+import teammates.test.cases.BaseTestCase;
+
+public class ErrorLogGroupTest extends BaseTestCase {
+
+    private static final String NPE_IN_ACTION = "Unexpected exception for course CS1101\n"
+            + "java.lang.NullPointerException: student is null\n"
+            + "\tat teammates.ui.controller.StudentHomePageAction.execute(StudentHomePageAction.java:40)\n"
+            + "\tat teammates.ui.controller.Action.executeAndPostProcess(Action.java:480)\n";
+
+    private static final String NPE_IN_ACTION_OTHER_MESSAGE = "Unexpected exception for course CS2103\n"
+            + "java.lang.NullPointerException: course is null\n"
+            + "\tat teammates.ui.controller.StudentHomePageAction.execute(StudentHomePageAction.java:40)\n"
+            + "\tat teammates.ui.controller.Action.executeAndPostProcess(Action.java:480)\n";
+
+    private static final String NPE_ELSEWHERE = "Unexpected exception for course CS1101\n"
+            + "java.lang.NullPointerException: student is null\n"
+            + "\tat teammates.ui.controller.InstructorHomePageAction.execute(InstructorHomePageAction.java:52)\n"
+            + "\tat teammates.ui.controller.Action.executeAndPostProcess(Action.java:480)\n";
+
+    private static final String WRAPPED_NPE = "Unexpected exception for course CS1101\n"
+            + "java.lang.RuntimeException: wrapped\n"
+            + "\tat teammates.ui.controller.StudentHomePageAction.execute(StudentHomePageAction.java:40)\n"
+            + "\tat teammates.ui.controller.Action.executeAndPostProcess(Action.java:480)\n"
+            + "Caused by: java.lang.NullPointerException: student is null\n"
+            + "\t... 2 more\n";
+
+    @Test
+    public void testGetFingerprint() {
+
+        ______TS("same exception at the same place, different messages");
+        String fingerprint = ErrorLogGroup.getFingerprint("ERROR", NPE_IN_ACTION);
+        assertEquals(8, fingerprint.length());
+        assertEquals(fingerprint, ErrorLogGroup.getFingerprint("ERROR", NPE_IN_ACTION_OTHER_MESSAGE));
+
+        ______TS("different place, cause or log level");
+        assertFalse(fingerprint.equals(ErrorLogGroup.getFingerprint("ERROR", NPE_ELSEWHERE)));
+        assertFalse(fingerprint.equals(ErrorLogGroup.getFingerprint("ERROR", WRAPPED_NPE)));
+        assertFalse(fingerprint.equals(ErrorLogGroup.getFingerprint("CRITICAL", NPE_IN_ACTION)));
+
+        ______TS("no stack trace: first line without numbers");
+        assertEquals(ErrorLogGroup.getFingerprint("ERROR", "Failed to send 3 emails\nto a@b.c"),
+                     ErrorLogGroup.getFingerprint("ERROR", "Failed to send 12 emails\nto d@e.f"));
+        assertFalse(ErrorLogGroup.getFingerprint("ERROR", "Failed to send 3 emails")
+                                 .equals(ErrorLogGroup.getFingerprint("ERROR", "Failed to send 3 reminders")));
+    }
+
+    @Test
+    public void testGroupByFingerprint() {
+        List<AppLogLine> logLines = new ArrayList<AppLogLine>();
+        logLines.add(createLogLine(NPE_ELSEWHERE, 100));
+        for (int i = 0; i < 1000; i++) {
+            logLines.add(createLogLine(i % 2 == 0 ? NPE_IN_ACTION : NPE_IN_ACTION_OTHER_MESSAGE, 2000 - i));
+        }
+        logLines.add(createLogLine(NPE_ELSEWHERE, 50));
+
+        List<ErrorLogGroup> groups = ErrorLogGroup.groupByFingerprint(logLines);
+
+        assertEquals(2, groups.size());
+        ErrorLogGroup largestGroup = groups.get(0);
+        assertEquals(1000, largestGroup.getCount());
+        assertEquals("ERROR", largestGroup.getLogLevel());
+        assertEquals(NPE_IN_ACTION, largestGroup.getSampleMessage());
+        assertEquals(1001, largestGroup.getFirstTimeUsec());
+        assertEquals(2000, largestGroup.getLastTimeUsec());
+        assertEquals(ErrorLogGroup.getFingerprint("ERROR", NPE_IN_ACTION), largestGroup.getFingerprint());
+
+        assertEquals(2, groups.get(1).getCount());
+        assertEquals(50, groups.get(1).getFirstTimeUsec());
+        assertEquals(100, groups.get(1).getLastTimeUsec());
+
+        assertTrue(ErrorLogGroup.groupByFingerprint(new ArrayList<AppLogLine>()).isEmpty());
+    }
+
+    @Test
+    public void testLogCursor() {
+        LogCursor cursor = new LogCursor(1000, new HashSet<String>());
+
+        ______TS("requests at or before the cursor are compiled");
+        assertTrue(cursor.isCompiled(999, "r1"));
+        assertFalse(cursor.isCompiled(1000, "r1"));
+        assertFalse(cursor.isCompiled(1001, "r1"));
+
+        ______TS("cursor moves past the latest requests only");
+        cursor.advance(2000, "r2");
+        cursor.advance(2000, "r3");
+        cursor.advance(1500, "r4");
+        assertEquals(2000, cursor.getEndTimeUsec());
+        assertEquals(2, cursor.getRequestIds().size());
+        assertTrue(cursor.isCompiled(2000, "r2"));
+        assertTrue(cursor.isCompiled(2000, "r3"));
+        assertFalse(cursor.isCompiled(2000, "r5"));
+
+        cursor.advance(2001, "r5");
+        assertTrue(cursor.isCompiled(2000, "r5"));
+        assertTrue(cursor.isCompiled(2001, "r5"));
+        assertEquals(1, cursor.getRequestIds().size());
+    }
+
+    private static AppLogLine createLogLine(String message, long timeUsec) {
+        AppLogLine logLine = new AppLogLine();
+        logLine.setLogLevel(LogLevel.ERROR);
+        logLine.setLogMessage(message);
+        logLine.setTimeUsec(timeUsec);
+        return logLine;
+    }
+
+}
@@ -0,0 +1,563 @@
+package teammates.test.cases.common;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackConstantSumQuestionDetails;
+import teammates.common.datatransfer.FeedbackMcqQuestionDetails;
+import teammates.common.datatransfer.FeedbackMsqQuestionDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleQuestionDetails;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAggregate;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackRankOptionsQuestionDetails;
+import teammates.common.datatransfer.FeedbackRankRecipientsQuestionDetails;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackRubricQuestionDetails;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Sanitizer;
+import teammates.test.cases.BaseTestCase;
+import teammates.test.driver.TestProperties;
+import teammates.test.util.FileHelper;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * SUT: the result statistics of <br>
+ * * {@link FeedbackMcqQuestionDetails} <br>
+ * * {@link FeedbackMsqQuestionDetails} <br>
+ * * {@link FeedbackNumericalScaleQuestionDetails} <br>
+ * * {@link FeedbackConstantSumQuestionDetails} <br>
+ * * {@link FeedbackRubricQuestionDetails} <br>
+ * * {@link FeedbackRankOptionsQuestionDetails} <br>
+ * * {@link FeedbackRankRecipientsQuestionDetails} <br><br>
+ * The statistics of a generated session are compared with the golden files in
+ * {@link #GOLDEN_FILES_FOLDER}, both when counted from the responses and when rendered from
+ * {@link FeedbackQuestionStatisticsAggregate}s. Run with {@code -Dgodmode=true} to regenerate the golden files.
+ */
+public class FeedbackQuestionStatisticsTest extends BaseTestCase {
+
+    private static final String GOLDEN_FILES_FOLDER = TestProperties.TEST_DATA_FOLDER + "/questionStatistics";
+
+    private static final String COURSE_ID = "FQST.course";
+    private static final String SESSION_NAME = "Statistics Session";
+    private static final String INSTRUCTOR_EMAIL = "instructor@fqst.tmt";
+    private static final int TEAM_SIZE = 4;
+    private static final int TEAMS_PER_SECTION = 3;
+
+    /** Number of students each student gives a response to for questions to other students */
+    private static final int RECIPIENTS_PER_GIVER = 3;
+
+    private static final String[] QUESTION_METADATA = {
+            "{\"questionType\":\"MCQ\", \"questionText\":\"Pick one\", \"numOfMcqChoices\":4,"
+                    + " \"mcqChoices\":[\"Yes\", \"No\", \"<b>Maybe</b>\", \"Won't say, \\\"really\\\"\"],"
+                    + " \"otherEnabled\":true}",
+            "{\"questionType\":\"MSQ\", \"questionText\":\"Pick some\", \"numOfMsqChoices\":4,"
+                    + " \"msqChoices\":[\"Red\", \"Green\", \"<i>Blue</i>\", \"Black, \\\"white\\\"\"],"
+                    + " \"otherEnabled\":true}",
+            "{\"questionType\":\"NUMSCALE\", \"questionText\":\"Rate your peers\", \"minScale\":1, \"maxScale\":5,"
+                    + " \"step\":0.25}",
+            "{\"questionType\":\"NUMSCALE\", \"questionText\":\"Rate the teams\", \"minScale\":-3, \"maxScale\":3,"
+                    + " \"step\":1}",
+            "{\"questionType\":\"CONSTSUM\", \"questionText\":\"Split the points\", \"numOfConstSumOptions\":3,"
+                    + " \"constSumOptions\":[\"Design\", \"<u>Code</u>\", \"Tests, \\\"docs\\\"\"],"
+                    + " \"distributeToRecipients\":false, \"pointsPerOption\":false, \"points\":100,"
+                    + " \"forceUnevenDistribution\":false}",
+            "{\"questionType\":\"CONSTSUM\", \"questionText\":\"Split the points among your team\","
+                    + " \"numOfConstSumOptions\":0, \"constSumOptions\":[], \"distributeToRecipients\":true,"
+                    + " \"pointsPerOption\":true, \"points\":100, \"forceUnevenDistribution\":false}",
+            "{\"questionType\":\"RUBRIC\", \"questionText\":\"Assess your team\", \"numOfRubricChoices\":3,"
+                    + " \"rubricChoices\":[\"Good\", \"<b>OK</b>\", \"Bad, \\\"really\\\"\"],"
+                    + " \"hasAssignedWeights\":true, \"rubricWeights\":[1.5, 0.25, -1.33],"
+                    + " \"numOfRubricSubQuestions\":2,"
+                    + " \"rubricSubQuestions\":[\"Works hard\", \"Communicates <well>, \\\"clearly\\\"\"],"
+                    + " \"rubricDescriptions\":[[\"\", \"\", \"\"], [\"\", \"\", \"\"]]}",
+            "{\"questionType\":\"RUBRIC\", \"questionText\":\"Assess yourself\", \"numOfRubricChoices\":2,"
+                    + " \"rubricChoices\":[\"Agree\", \"Disagree\"], \"hasAssignedWeights\":false,"
+                    + " \"rubricWeights\":[], \"numOfRubricSubQuestions\":3,"
+                    + " \"rubricSubQuestions\":[\"I did my part\", \"I helped others\", \"I met the deadlines\"],"
+                    + " \"rubricDescriptions\":[[\"\", \"\"], [\"\", \"\"], [\"\", \"\"]]}",
+            "{\"questionType\":\"RANK_OPTIONS\", \"questionText\":\"Rank the areas\", \"areDuplicatesAllowed\":true,"
+                    + " \"options\":[\"Quality\", \"<b>Time</b>\", \"Teamwork, \\\"communication\\\"\", \"Reports\"]}",
+            "{\"questionType\":\"RANK_RECIPIENTS\", \"questionText\":\"Rank your team\","
+                    + " \"areDuplicatesAllowed\":true}",
+    };
+
+    private static final FeedbackQuestionType[] QUESTION_TYPES = {
+            FeedbackQuestionType.MCQ,
+            FeedbackQuestionType.MSQ,
+            FeedbackQuestionType.NUMSCALE,
+            FeedbackQuestionType.NUMSCALE,
+            FeedbackQuestionType.CONSTSUM,
+            FeedbackQuestionType.CONSTSUM,
+            FeedbackQuestionType.RUBRIC,
+            FeedbackQuestionType.RUBRIC,
+            FeedbackQuestionType.RANK_OPTIONS,
+            FeedbackQuestionType.RANK_RECIPIENTS,
+    };
+
+    private static final FeedbackParticipantType[] RECIPIENT_TYPES = {
+            FeedbackParticipantType.SELF,
+            FeedbackParticipantType.SELF,
+            FeedbackParticipantType.STUDENTS,
+            FeedbackParticipantType.TEAMS,
+            FeedbackParticipantType.SELF,
+            FeedbackParticipantType.OWN_TEAM_MEMBERS,
+            FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF,
+            FeedbackParticipantType.SELF,
+            FeedbackParticipantType.OWN_TEAM,
+            FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF,
+    };
+
+    @Test
+    public void testStatistics_sameAsGoldenFiles() throws IOException {
+        FeedbackSessionResultsBundle bundle = createBundle(40, new Random(2016), QUESTION_METADATA.length);
+
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : bundle.getQuestionResponseMap().entrySet()) {
+            FeedbackQuestionAttributes question = entry.getKey();
+            verifySameAsGoldenFile(getStatistics(question, entry.getValue(), bundle),
+                                   "/question" + question.questionNumber + ".txt");
+        }
+    }
+
+    @Test
+    public void testStatisticsFromAggregates_sameAsGoldenFiles() throws IOException {
+        FeedbackSessionResultsBundle bundle = createBundle(40, new Random(2016), QUESTION_METADATA.length);
+        bundle.setStatisticsAggregates(computeAggregates(bundle));
+
+        // the NUMSCALE questions have hidden recipients, so their statistics are still counted from the responses
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : bundle.getQuestionResponseMap().entrySet()) {
+            FeedbackQuestionAttributes question = entry.getKey();
+            verifySameAsGoldenFile(getStatistics(question, entry.getValue(), bundle),
+                                   "/question" + question.questionNumber + ".txt");
+        }
+    }
+
+    @Test
+    public void testStatisticsFromAggregates_recipientsShown() {
+        FeedbackSessionResultsBundle bundle = createBundle(40, new Random(2016), QUESTION_METADATA.length);
+        for (FeedbackQuestionAttributes question : bundle.questions.values()) {
+            question.showRecipientNameTo.add(FeedbackParticipantType.INSTRUCTORS);
+        }
+        for (boolean[] visibility : bundle.visibilityTable.values()) {
+            visibility[1] = true;
+        }
+        Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> questionResponseMap =
+                bundle.getQuestionResponseMap();
+        Map<String, String> expectedStatistics = new HashMap<String, String>();
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : questionResponseMap.entrySet()) {
+            expectedStatistics.put(entry.getKey().getId(), getStatistics(entry.getKey(), entry.getValue(), bundle));
+        }
+
+        ______TS("same statistics from aggregates, including NUMSCALE questions");
+
+        Map<String, FeedbackQuestionStatisticsAggregate> aggregates = computeAggregates(bundle);
+        bundle.setStatisticsAggregates(aggregates);
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : questionResponseMap.entrySet()) {
+            assertEquals(expectedStatistics.get(entry.getKey().getId()),
+                         getStatistics(entry.getKey(), entry.getValue(), bundle));
+        }
+
+        ______TS("statistics are rendered from the aggregate");
+
+        FeedbackQuestionAttributes mcqQuestion = bundle.questions.get(getQuestionId(1));
+        List<FeedbackResponseAttributes> mcqResponses = questionResponseMap.get(mcqQuestion);
+        aggregates.get(mcqQuestion.getId()).count("answer", "Yes", 1);
+        aggregates.get(mcqQuestion.getId()).count("answer", "No", -1);
+        assertFalse(expectedStatistics.get(mcqQuestion.getId())
+                    .equals(getStatistics(mcqQuestion, mcqResponses, bundle)));
+
+        ______TS("aggregate counting other responses than the results: statistics counted from the responses");
+
+        aggregates.get(mcqQuestion.getId()).countResponses(1);
+        assertEquals(expectedStatistics.get(mcqQuestion.getId()), getStatistics(mcqQuestion, mcqResponses, bundle));
+    }
+
+    @Test
+    public void testAggregate_countAndTakeBack() {
+        FeedbackSessionResultsBundle bundle = createBundle(40, new Random(2016), QUESTION_METADATA.length);
+
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : bundle.getQuestionResponseMap().entrySet()) {
+            FeedbackQuestionDetails questionDetails = entry.getKey().getQuestionDetails();
+            if (!questionDetails.isStatisticsAggregatable()) {
+                continue;
+            }
+            List<FeedbackResponseAttributes> responses = entry.getValue();
+            List<FeedbackResponseAttributes> responsesKept = responses.subList(0, responses.size() / 2);
+
+            FeedbackQuestionStatisticsAggregate aggregate = new FeedbackQuestionStatisticsAggregate();
+            for (FeedbackResponseAttributes response : responses) {
+                questionDetails.countInStatisticsAggregate(response, aggregate, 1);
+            }
+            FeedbackQuestionStatisticsAggregate delta = new FeedbackQuestionStatisticsAggregate();
+            for (FeedbackResponseAttributes response : responses.subList(responses.size() / 2, responses.size())) {
+                questionDetails.countInStatisticsAggregate(response, delta, -1);
+            }
+            aggregate.add(delta);
+
+            FeedbackQuestionStatisticsAggregate expected = new FeedbackQuestionStatisticsAggregate();
+            for (FeedbackResponseAttributes response : responsesKept) {
+                questionDetails.countInStatisticsAggregate(response, expected, 1);
+            }
+            assertEquals(expected, aggregate);
+            assertEquals(responsesKept.size(), aggregate.getNumberOfResponses());
+            assertFalse(aggregate.hasNegativeCounts());
+            assertEquals(expected, FeedbackQuestionStatisticsAggregate.fromJson(aggregate.toJson()));
+
+            aggregate.add(delta);
+            assertTrue(aggregate.hasNegativeCounts());
+
+            // the counts of one response replaced, as when a response is folded again
+            FeedbackQuestionStatisticsAggregate contribution = new FeedbackQuestionStatisticsAggregate();
+            questionDetails.countInStatisticsAggregate(responses.get(0), contribution, 1);
+            expected.subtract(contribution);
+            expected.add(contribution);
+            FeedbackQuestionStatisticsAggregate expectedAgain = new FeedbackQuestionStatisticsAggregate();
+            for (FeedbackResponseAttributes response : responsesKept) {
+                questionDetails.countInStatisticsAggregate(response, expectedAgain, 1);
+            }
+            assertEquals(expectedAgain, expected);
+            expected.subtract(expectedAgain);
+            assertTrue(expected.isEmpty());
+        }
+    }
+
+    @Test
+    public void testStatisticsRows_sameCellsAsCsv() {
+        FeedbackSessionResultsBundle bundle = createBundle(40, new Random(2016), QUESTION_METADATA.length);
+
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : bundle.getQuestionResponseMap().entrySet()) {
+            FeedbackQuestionAttributes question = entry.getKey();
+            List<FeedbackResponseAttributes> responses = entry.getValue();
+            FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+
+            List<String> csvLines = new ArrayList<String>();
+            for (String line : questionDetails.getQuestionResultStatisticsCsv(responses, question, bundle)
+                                              .split(Const.EOL)) {
+                if (!line.isEmpty()) {
+                    csvLines.add(line);
+                }
+            }
+            List<List<String>> rows = questionDetails.getQuestionResultStatisticsRows(responses, question, bundle);
+
+            assertEquals(csvLines.size(), rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                for (String cell : rows.get(i)) {
+                    assertTrue(csvLines.get(i).contains(cell)
+                               || csvLines.get(i).contains(Sanitizer.sanitizeForCsv(cell)));
+                }
+            }
+        }
+
+        ______TS("no responses");
+
+        FeedbackQuestionAttributes question = bundle.questions.get(getQuestionId(1));
+        assertTrue(question.getQuestionDetails().getQuestionResultStatisticsRows(
+                new ArrayList<FeedbackResponseAttributes>(), question, bundle).isEmpty());
+    }
+
+    private String getStatistics(FeedbackQuestionAttributes question, List<FeedbackResponseAttributes> responses,
+                                 FeedbackSessionResultsBundle bundle) {
+        FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+        StringBuilder statistics = new StringBuilder();
+        statistics.append("=== question view").append(Const.EOL)
+                  .append(questionDetails.getQuestionResultStatisticsHtml(
+                          responses, question, INSTRUCTOR_EMAIL, bundle, "question")).append(Const.EOL);
+        for (String studentEmail : Arrays.asList(getStudentEmail(0), getStudentEmail(5))) {
+            statistics.append("=== student view of ").append(studentEmail).append(Const.EOL)
+                      .append(questionDetails.getQuestionResultStatisticsHtml(
+                              responses, question, studentEmail, bundle, "student")).append(Const.EOL);
+        }
+        statistics.append("=== csv").append(Const.EOL)
+                  .append(questionDetails.getQuestionResultStatisticsCsv(responses, question, bundle))
+                  .append(Const.EOL)
+                  .append("=== end");
+        return statistics.toString();
+    }
+
+    /**
+     * @return the aggregates of the aggregatable questions of {@code bundle}, counting the responses one by one
+     *         as they are counted when created
+     */
+    private Map<String, FeedbackQuestionStatisticsAggregate> computeAggregates(FeedbackSessionResultsBundle bundle) {
+        Map<String, FeedbackQuestionStatisticsAggregate> aggregates =
+                new HashMap<String, FeedbackQuestionStatisticsAggregate>();
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : bundle.getQuestionResponseMap().entrySet()) {
+            FeedbackQuestionDetails questionDetails = entry.getKey().getQuestionDetails();
+            if (!questionDetails.isStatisticsAggregatable()) {
+                continue;
+            }
+            FeedbackQuestionStatisticsAggregate aggregate = new FeedbackQuestionStatisticsAggregate();
+            for (FeedbackResponseAttributes response : entry.getValue()) {
+                FeedbackQuestionStatisticsAggregate delta = new FeedbackQuestionStatisticsAggregate();
+                questionDetails.countInStatisticsAggregate(response, delta, 1);
+                aggregate.add(delta);
+            }
+            aggregates.put(entry.getKey().getId(), aggregate);
+        }
+        return aggregates;
+    }
+
+    private void verifySameAsGoldenFile(String actual, String fileName) throws IOException {
+        String filePath = GOLDEN_FILES_FOLDER + fileName;
+        if (Boolean.parseBoolean(System.getProperty("godmode"))) {
+            FileHelper.saveFile(filePath, actual);
+        }
+        assertEquals(FileHelper.readFile(filePath), actual);
+    }
+
+    /**
+     * Creates the results of a session of the first {@code numOfQuestions} questions of {@link #QUESTION_METADATA}
+     * for {@code numOfStudents} students, with answers and visibilities generated by {@code random}.
+     */
+    private FeedbackSessionResultsBundle createBundle(int numOfStudents, Random random, int numOfQuestions) {
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        Map<String, String> emailNameTable = new HashMap<String, String>();
+        Map<String, String> emailLastNameTable = new HashMap<String, String>();
+        Map<String, String> emailTeamNameTable = new HashMap<String, String>();
+        Map<String, Set<String>> sectionTeamNameTable = new HashMap<String, Set<String>>();
+        for (int i = 0; i < numOfStudents; i++) {
+            String name = i % 7 == 3 ? "Student <" + i + ">, \"Jr\"" : "Student " + i;
+            String team = getTeamName(i / TEAM_SIZE);
+            String section = "Section " + i / TEAM_SIZE / TEAMS_PER_SECTION;
+            StudentAttributes student =
+                    new StudentAttributes(section, team, name, getStudentEmail(i), "", COURSE_ID);
+            students.add(student);
+
+            emailNameTable.put(student.email, name);
+            emailLastNameTable.put(student.email, name);
+            emailTeamNameTable.put(student.email, team);
+            emailNameTable.put(team, team);
+            emailLastNameTable.put(team, team);
+            emailTeamNameTable.put(team, team);
+            if (!sectionTeamNameTable.containsKey(section)) {
+                sectionTeamNameTable.put(section, new TreeSet<String>());
+            }
+            sectionTeamNameTable.get(section).add(team);
+        }
+        emailNameTable.put(INSTRUCTOR_EMAIL, "Instructor");
+        emailLastNameTable.put(INSTRUCTOR_EMAIL, "Instructor");
+        emailTeamNameTable.put(INSTRUCTOR_EMAIL, Const.USER_TEAM_FOR_INSTRUCTOR);
+        List<InstructorAttributes> instructors = Arrays.asList(
+                new InstructorAttributes("FQST.instructor", COURSE_ID, "Instructor", INSTRUCTOR_EMAIL,
+                        Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER, "Instructor",
+                        new InstructorPrivileges(
+                                Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER)));
+
+        Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        Map<String, boolean[]> visibilityTable = new HashMap<String, boolean[]>();
+        for (int questionNumber = 1; questionNumber <= numOfQuestions; questionNumber++) {
+            FeedbackQuestionAttributes question = createQuestion(questionNumber);
+            questions.put(question.getId(), question);
+
+            for (int giver = 0; giver < numOfStudents; giver++) {
+                List<String> recipients = getRecipients(question.recipientType, giver, numOfStudents, random);
+                for (int i = 0; i < recipients.size(); i++) {
+                    String recipient = recipients.get(i);
+                    FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                            SESSION_NAME, COURSE_ID, question.getId(), question.questionType,
+                            getStudentEmail(giver), students.get(giver).section, recipient,
+                            emailTeamNameTable.containsKey(recipient) && recipient.contains("@")
+                                    ? students.get(getStudentIndex(recipient)).section
+                                    : students.get(giver).section,
+                            new Text(createAnswer(question, recipients.size(), random)));
+                    response.setId(question.getId() + "%" + giver + "%" + i);
+                    responses.add(response);
+                    // the giver of 1 in 20 responses is hidden, and so is the recipient of 1 in 10
+                    // responses of NUMSCALE questions, where hidden recipients are left out of the statistics;
+                    // elsewhere they would be shown with names that depend on the encryption key
+                    boolean isRecipientHidden = question.questionType == FeedbackQuestionType.NUMSCALE
+                                                && random.nextInt(10) == 0;
+                    visibilityTable.put(response.getId(),
+                                        new boolean[] { random.nextInt(20) != 0, !isRecipientHidden });
+                }
+            }
+        }
+
+        return new FeedbackSessionResultsBundle(
+                getSession(), responses, questions, emailNameTable, emailLastNameTable, emailTeamNameTable,
+                sectionTeamNameTable, visibilityTable, null, new CourseRoster(students, instructors),
+                new HashMap<String, List<FeedbackResponseCommentAttributes>>());
+    }
+
+    private FeedbackQuestionAttributes createQuestion(int questionNumber) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId(getQuestionId(questionNumber));
+        question.feedbackSessionName = SESSION_NAME;
+        question.courseId = COURSE_ID;
+        question.creatorEmail = INSTRUCTOR_EMAIL;
+        question.questionNumber = questionNumber;
+        question.questionMetaData = new Text(QUESTION_METADATA[questionNumber - 1]);
+        question.questionType = QUESTION_TYPES[questionNumber - 1];
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = RECIPIENT_TYPES[questionNumber - 1];
+        question.numberOfEntitiesToGiveFeedbackTo = Const.MAX_POSSIBLE_RECIPIENTS;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>();
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>();
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>();
+        return question;
+    }
+
+    private List<String> getRecipients(FeedbackParticipantType recipientType, int giver, int numOfStudents,
+                                       Random random) {
+        List<String> recipients = new ArrayList<String>();
+        int firstTeamMember = giver - giver % TEAM_SIZE;
+        int lastTeamMember = Math.min(firstTeamMember + TEAM_SIZE, numOfStudents) - 1;
+        switch (recipientType) {
+        case SELF:
+            recipients.add(getStudentEmail(giver));
+            break;
+        case STUDENTS:
+            while (recipients.size() < Math.min(RECIPIENTS_PER_GIVER, numOfStudents)) {
+                String recipient = getStudentEmail(random.nextInt(numOfStudents));
+                if (!recipients.contains(recipient)) {
+                    recipients.add(recipient);
+                }
+            }
+            break;
+        case TEAMS:
+            int numOfTeams = (numOfStudents + TEAM_SIZE - 1) / TEAM_SIZE;
+            while (recipients.size() < Math.min(RECIPIENTS_PER_GIVER, numOfTeams)) {
+                String recipient = getTeamName(random.nextInt(numOfTeams));
+                if (!recipients.contains(recipient)) {
+                    recipients.add(recipient);
+                }
+            }
+            break;
+        case OWN_TEAM:
+            recipients.add(getTeamName(giver / TEAM_SIZE));
+            break;
+        case OWN_TEAM_MEMBERS:
+        case OWN_TEAM_MEMBERS_INCLUDING_SELF:
+            for (int member = firstTeamMember; member <= lastTeamMember; member++) {
+                if (member != giver || recipientType == FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF) {
+                    recipients.add(getStudentEmail(member));
+                }
+            }
+            break;
+        default:
+            fail("Unexpected recipient type " + recipientType);
+        }
+        // 1 in 10 givers skip one of their recipients
+        if (recipients.size() > 1 && random.nextInt(10) == 0) {
+            recipients.remove(random.nextInt(recipients.size()));
+        }
+        return recipients;
+    }
+
+    private String createAnswer(FeedbackQuestionAttributes question, int numOfResponsesOfGiver, Random random) {
+        String questionType = "\"questionType\":\"" + question.questionType + "\", ";
+        switch (question.questionType) {
+        case MCQ:
+            List<String> mcqChoices = Arrays.asList("Yes", "No", "<b>Maybe</b>", "Won't say, \\\"really\\\"");
+            int mcqChoice = random.nextInt(mcqChoices.size() + 1);
+            return mcqChoice == mcqChoices.size()
+                 ? "{" + questionType + "\"answer\":\"Other " + random.nextInt(3) + "\", \"isOther\":true,"
+                       + " \"otherFieldContent\":\"Other " + random.nextInt(3) + "\"}"
+                 : "{" + questionType + "\"answer\":\"" + mcqChoices.get(mcqChoice) + "\", \"isOther\":false,"
+                       + " \"otherFieldContent\":\"\"}";
+        case MSQ:
+            List<String> msqChoices = Arrays.asList("Red", "Green", "<i>Blue</i>", "Black, \\\"white\\\"");
+            List<String> msqAnswers = new ArrayList<String>();
+            for (String msqChoice : msqChoices) {
+                if (random.nextInt(3) == 0) {
+                    msqAnswers.add("\"" + msqChoice + "\"");
+                }
+            }
+            boolean isOther = random.nextInt(5) == 0;
+            if (isOther) {
+                // the other answer sometimes repeats a choice
+                msqAnswers.add(random.nextBoolean() ? "\"Purple\"" : "\"Red\"");
+            }
+            if (msqAnswers.isEmpty()) {
+                msqAnswers.add("\"\"");
+            }
+            return "{" + questionType + "\"answers\":" + msqAnswers + ", \"isOther\":" + isOther
+                   + ", \"otherFieldContent\":" + (isOther ? msqAnswers.get(msqAnswers.size() - 1) : "\"\"") + "}";
+        case NUMSCALE:
+            FeedbackNumericalScaleQuestionDetails numScaleDetails =
+                    (FeedbackNumericalScaleQuestionDetails) question.getQuestionDetails();
+            int numOfSteps = (int) Math.round(
+                    (numScaleDetails.getMaxScale() - numScaleDetails.getMinScale()) / numScaleDetails.getStep());
+            double numScaleAnswer =
+                    numScaleDetails.getMinScale() + random.nextInt(numOfSteps + 1) * numScaleDetails.getStep();
+            return "{" + questionType + "\"answer\":" + numScaleAnswer + "}";
+        case CONSTSUM:
+            int numOfOptions = question.recipientType == FeedbackParticipantType.SELF ? 3 : 1;
+            List<Integer> points = new ArrayList<Integer>();
+            for (int i = 0; i < numOfOptions; i++) {
+                points.add(random.nextInt(101));
+            }
+            return "{" + questionType + "\"answers\":" + points + "}";
+        case RUBRIC:
+            FeedbackRubricQuestionDetails rubricDetails = (FeedbackRubricQuestionDetails) question.getQuestionDetails();
+            List<Integer> rubricAnswers = new ArrayList<Integer>();
+            for (int i = 0; i < rubricDetails.getNumOfRubricSubQuestions(); i++) {
+                // -1 for a sub-question not answered
+                rubricAnswers.add(random.nextInt(rubricDetails.getNumOfRubricChoices() + 1) - 1);
+            }
+            return "{" + questionType + "\"answer\":" + rubricAnswers + "}";
+        case RANK_OPTIONS:
+            List<Integer> ranks = new ArrayList<Integer>();
+            for (int i = 0; i < 4; i++) {
+                ranks.add(random.nextInt(5) == 0 ? Const.POINTS_NOT_SUBMITTED : 1 + random.nextInt(4));
+            }
+            return "{" + questionType + "\"answers\":" + ranks + "}";
+        case RANK_RECIPIENTS:
+            return "{" + questionType + "\"answer\":" + (1 + random.nextInt(numOfResponsesOfGiver)) + "}";
+        default:
+            fail("Unexpected question type " + question.questionType);
+            return null;
+        }
+    }
+
+    private FeedbackSessionAttributes getSession() {
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes();
+        session.setFeedbackSessionName(SESSION_NAME);
+        session.setCourseId(COURSE_ID);
+        return session;
+    }
+
+    private static String getQuestionId(int questionNumber) {
+        return SESSION_NAME + "%" + COURSE_ID + "%" + questionNumber;
+    }
+
+    private static String getStudentEmail(int index) {
+        return "student" + index + "@fqst.tmt";
+    }
+
+    private static int getStudentIndex(String email) {
+        return Integer.parseInt(email.substring("student".length(), email.indexOf('@')));
+    }
+
+    private static String getTeamName(int index) {
+        return index % 5 == 2 ? "Team <" + index + ">, \"A\"" : "Team " + index;
+    }
+
+}
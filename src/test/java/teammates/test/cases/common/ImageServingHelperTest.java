@@ -0,0 +1,31 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.ImageServingHelper;
+import teammates.test.cases.BaseTestCase;
+
+public class ImageServingHelperTest extends BaseTestCase {
+
+    @Test
+    public void testGenerateEtag() {
+
+        ______TS("entity tag is a quoted hex string");
+
+        String etag = ImageServingHelper.generateEtag("asdf34&hfn3!@", "1400000000000");
+        assertTrue(etag.matches("\"[0-9a-f]{40}\""));
+
+        ______TS("same key and version give the same entity tag");
+
+        assertEquals(etag, ImageServingHelper.generateEtag("asdf34&hfn3!@", "1400000000000"));
+
+        ______TS("a new version of the same picture gives a different entity tag");
+
+        assertFalse(etag.equals(ImageServingHelper.generateEtag("asdf34&hfn3!@", "1400000000001")));
+
+        ______TS("a different picture gives a different entity tag");
+
+        assertFalse(etag.equals(ImageServingHelper.generateEtag("other-key", "1400000000000")));
+    }
+
+}
@@ -1,16 +1,32 @@
 package teammates.test.cases.common;
 
 import java.util.HashMap;
+import java.util.HashSet;
 
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.CompiledInstructorPrivileges;
+import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.util.Const;
+import teammates.common.util.Utils;
 import teammates.test.cases.BaseTestCase;
+import teammates.test.driver.AssertHelper;
+
+import com.google.gson.Gson;
 
 public class InstructorPrivilegesTest extends BaseTestCase {
+    
+    private static final String[] PRIVILEGE_NAMES = new String[] {
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COURSE,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_GIVE_COMMENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS
+    };
+    
     @BeforeClass
     public static void setupClass() {
         printTestClassHeader();
@@ -534,6 +550,197 @@ public class InstructorPrivilegesTest extends BaseTestCase {
         assertFalse(nonDefaultPrivileges.hasTutorPrivileges());
     }
 
+    @Test
+    public void testCompiledPrivileges() {
+        InstructorPrivileges privileges = getPrivilegesWithSpecialSectionsAndSessions(5, 3);
+        String[] sections = new String[] { "Section 0", "Section 1", "Section 2", "Section 4", "Section 9", null };
+        String[] sessions = new String[] { "Session 0", "Session 1", "Session 2", "Session 7" };
+        
+        ______TS("compiled privileges give the same results as the privilege maps");
+        
+        for (String privilegeName : PRIVILEGE_NAMES) {
+            assertEquals(isAllowedByMaps(privileges, null, null, privilegeName),
+                         privileges.isAllowedForPrivilege(privilegeName));
+            for (String section : sections) {
+                assertEquals(isAllowedByMaps(privileges, section, null, privilegeName),
+                             privileges.isAllowedForPrivilege(section, privilegeName));
+                for (String session : sessions) {
+                    assertEquals(isAllowedByMaps(privileges, section, session, privilegeName),
+                                 privileges.isAllowedForPrivilege(section, session, privilegeName));
+                }
+            }
+            for (String session : sessions) {
+                assertEquals(isAllowedInAnySectionByMaps(privileges, session, privilegeName),
+                             privileges.isAllowedForPrivilegeAnySection(session, privilegeName));
+            }
+        }
+        assertFalse(new InstructorPrivileges().isAllowedForPrivilegeAnySection(
+                "Session 0", Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS));
+        
+        ______TS("compiled privileges are kept until the privileges change");
+        
+        CompiledInstructorPrivileges compiled = privileges.getCompiled();
+        assertTrue(compiled == privileges.getCompiled());
+        assertTrue(privileges.isAllowedForPrivilege(
+                "Section 1", "Session 1", Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS));
+        privileges.updatePrivilege(
+                "Section 1", "Session 1", Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS, false);
+        assertFalse(compiled == privileges.getCompiled());
+        assertFalse(privileges.isAllowedForPrivilege(
+                "Section 1", "Session 1", Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS));
+        
+        privileges.removeSectionLevelPrivileges("Section 1");
+        assertTrue(privileges.isAllowedForPrivilege(
+                "Section 1", "Session 1", Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS));
+        
+        ______TS("invalid privilege name");
+        
+        try {
+            privileges.isAllowedForPrivilege("Section 0", "invalidPrivilege");
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains("Invalid privilege name: invalidPrivilege", e.getMessage());
+        }
+    }
+    
+    @Test
+    public void testCompactText() {
+        
+        ______TS("default privileges");
+        
+        InstructorPrivileges privileges =
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER);
+        String compactText = privileges.getCompiled().toCompactText();
+        assertEquals("~17ff7ff0:", compactText);
+        assertTrue(CompiledInstructorPrivileges.isCompactText(compactText));
+        assertEquals(privileges, CompiledInstructorPrivileges.fromCompactText(compactText).toInstructorPrivileges());
+        
+        ______TS("special sections and sessions, with names containing separators");
+        
+        privileges = getPrivilegesWithSpecialSectionsAndSessions(3, 2);
+        privileges.addSessionWithDefaultPrivileges("Section: 12", "Session 3:4");
+        privileges.updatePrivilege(
+                "Section: 12", Const.ParamsNames.INSTRUCTOR_PERMISSION_GIVE_COMMENT_IN_SECTIONS, false);
+        compactText = privileges.getCompiled().toCompactText();
+        InstructorPrivileges readPrivileges =
+                CompiledInstructorPrivileges.fromCompactText(compactText).toInstructorPrivileges();
+        
+        assertEquals(privileges, readPrivileges);
+        assertEquals(compactText, readPrivileges.getCompiled().toCompactText());
+        assertTrue(compactText.length() * 5 < Utils.getTeammatesGson().toJson(privileges).length());
+        
+        ______TS("privileges stored as JSON are still read");
+        
+        InstructorAttributes instructor = new InstructorAttributes(
+                "valid.google.id", "valid-course-id", "valid name", "valid@email.com",
+                Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_CUSTOM, "Tutor",
+                new Gson().toJson(privileges, InstructorPrivileges.class));
+        assertEquals(privileges, instructor.privileges);
+        assertTrue(CompiledInstructorPrivileges.isCompactText(instructor.getTextFromInstructorPrivileges()));
+        
+        ______TS("truncated compact text");
+        
+        try {
+            CompiledInstructorPrivileges.fromCompactText(compactText.substring(0, compactText.length() - 2));
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains("Truncated instructor privileges", e.getMessage());
+        }
+    }
+    
+    @Test
+    public void testPrivilegeChecksForManyResponses() {
+        // the time taken by the checks for a results bundle is measured by InstructorPrivilegesBenchmarkTest
+        int numberOfResponses = 10000;
+        int numberOfSections = 20;
+        String sessionName = "Session 0";
+        InstructorPrivileges privileges = getPrivilegesWithSpecialSectionsAndSessions(numberOfSections, 1);
+        String[][] responseSections = new String[numberOfResponses][2];
+        for (int i = 0; i < numberOfResponses; i++) {
+            responseSections[i][0] = "Section " + i % numberOfSections;
+            responseSections[i][1] = "Section " + i * 7 % numberOfSections;
+        }
+        String privilegeName = Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS;
+        
+        ______TS("checks with the privilege maps, as the results were filtered before");
+        
+        int numberOfResponsesVisibleByMaps = 0;
+        for (String[] sections : responseSections) {
+            if (isAllowedByMaps(privileges, sections[0], sessionName, privilegeName)
+                    && isAllowedByMaps(privileges, sections[1], sessionName, privilegeName)) {
+                numberOfResponsesVisibleByMaps++;
+            }
+        }
+        
+        ______TS("checks with the compiled privileges, allowing the same responses");
+        
+        int numberOfResponsesVisible = 0;
+        for (String[] sections : responseSections) {
+            if (privileges.isAllowedForPrivilege(sections[0], sessionName, privilegeName)
+                    && privileges.isAllowedForPrivilege(sections[1], sessionName, privilegeName)) {
+                numberOfResponsesVisible++;
+            }
+        }
+        assertEquals(numberOfResponsesVisibleByMaps, numberOfResponsesVisible);
+        assertTrue(numberOfResponsesVisible > 0 && numberOfResponsesVisible < numberOfResponses);
+    }
+    
+    /**
+     * Gives section level privileges to {@code numberOfSections} sections, with every third section
+     * not allowed to submit, and session level privileges to {@code numberOfSessions} sessions in
+     * every second section, with the sessions of every fourth section not allowed to be viewed.
+     */
+    private static InstructorPrivileges getPrivilegesWithSpecialSectionsAndSessions(int numberOfSections,
+                                                                                   int numberOfSessions) {
+        InstructorPrivileges privileges =
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_TUTOR);
+        for (int i = 0; i < numberOfSections; i++) {
+            String sectionName = "Section " + i;
+            privileges.addSectionWithDefaultPrivileges(sectionName);
+            if (i % 3 == 0) {
+                privileges.updatePrivilege(
+                        sectionName, Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS, false);
+            }
+            for (int j = 0; i % 2 == 0 && j < numberOfSessions; j++) {
+                privileges.updatePrivilege(sectionName, "Session " + j,
+                                           Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS, i % 4 != 0);
+            }
+        }
+        return privileges;
+    }
+    
+    /**
+     * Checks a privilege by going through the privilege maps, the way the checks were made before
+     * the privileges were compiled.
+     */
+    private static boolean isAllowedByMaps(InstructorPrivileges privileges, String sectionName, String sessionName,
+                                           String privilegeName) {
+        HashMap<String, HashMap<String, HashMap<String, Boolean>>> sessionLevel =
+                privileges.getSessionLevelPrivileges();
+        HashMap<String, HashMap<String, Boolean>> sectionLevel = privileges.getSectionLevelPrivileges();
+        HashMap<String, Boolean> level;
+        if (sessionLevel.containsKey(sectionName) && sessionLevel.get(sectionName).containsKey(sessionName)) {
+            level = sessionLevel.get(sectionName).get(sessionName);
+        } else if (sectionLevel.containsKey(sectionName)) {
+            level = sectionLevel.get(sectionName);
+        } else {
+            level = privileges.getCourseLevelPrivileges();
+        }
+        return level.containsKey(privilegeName) && level.get(privilegeName);
+    }
+    
+    private static boolean isAllowedInAnySectionByMaps(InstructorPrivileges privileges, String sessionName,
+                                                       String privilegeName) {
+        HashSet<String> sections = new HashSet<String>(privileges.getSectionLevelPrivileges().keySet());
+        sections.addAll(privileges.getSessionLevelPrivileges().keySet());
+        for (String sectionName : sections) {
+            if (isAllowedByMaps(privileges, sectionName, sessionName, privilegeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     @AfterClass
     public static void tearDown() {
         printTestClassFooter();
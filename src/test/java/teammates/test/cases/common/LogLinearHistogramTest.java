@@ -0,0 +1,121 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActionStats;
+import teammates.common.util.LogLinearHistogram;
+import teammates.test.cases.BaseTestCase;
+import teammates.test.driver.AssertHelper;
+
+public class LogLinearHistogramTest extends BaseTestCase {
+
+    @Test
+    public void testRecordAndPercentiles() {
+
+        ______TS("empty histogram");
+
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean(), 0.0);
+
+        ______TS("small values are exact");
+
+        for (int i = 1; i <= 20; i++) {
+            histogram.record(i);
+        }
+        assertEquals(20, histogram.getTotalCount());
+        assertEquals(10, histogram.getValueAtPercentile(50));
+        assertEquals(19, histogram.getValueAtPercentile(95));
+        assertEquals(20, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(10.5, histogram.getMean(), 0.0001);
+
+        ______TS("large values are within 1/16 of the value");
+
+        histogram = new LogLinearHistogram();
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i);
+        }
+        assertWithinRelativeError(5000, histogram.getValueAtPercentile(50));
+        assertWithinRelativeError(9900, histogram.getValueAtPercentile(99));
+        assertEquals(10000, histogram.getValueAtPercentile(100));
+        assertEquals(10000, histogram.getMaxValue());
+
+        ______TS("negative and very large values");
+
+        histogram = new LogLinearHistogram();
+        histogram.record(-5);
+        histogram.record(LogLinearHistogram.MAX_TRACKABLE_VALUE * 4);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(LogLinearHistogram.MAX_TRACKABLE_VALUE * 4, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testAddDrainAndBucketCounts() {
+        LogLinearHistogram histogram1 = new LogLinearHistogram();
+        LogLinearHistogram histogram2 = new LogLinearHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram1.record(10);
+            histogram2.record(1000);
+        }
+
+        ______TS("add");
+
+        histogram1.add(histogram2);
+        assertEquals(200, histogram1.getTotalCount());
+        assertEquals(101000, histogram1.getTotalValue());
+        assertEquals(1000, histogram1.getMaxValue());
+        assertEquals(10, histogram1.getValueAtPercentile(50));
+        assertEquals(1000, histogram1.getValueAtPercentile(51));
+
+        ______TS("bucket counts round trip");
+
+        LogLinearHistogram recreated = LogLinearHistogram.fromBucketCounts(
+                histogram1.getBucketCounts(), histogram1.getTotalValue(), histogram1.getMaxValue());
+        assertEquals(histogram1.getTotalCount(), recreated.getTotalCount());
+        assertEquals(histogram1.getValueAtPercentile(75), recreated.getValueAtPercentile(75));
+        assertEquals(histogram1.getMean(), recreated.getMean(), 0.0);
+
+        ______TS("drain");
+
+        LogLinearHistogram drained = histogram1.drain();
+        assertEquals(200, drained.getTotalCount());
+        assertEquals(0, histogram1.getTotalCount());
+        assertEquals(0, histogram1.getMaxValue());
+        histogram1.record(3);
+        assertEquals(3, histogram1.getValueAtPercentile(100));
+        assertEquals(200, drained.getTotalCount());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        final ActionStats stats = new ActionStats("InstructorHomePageAction", "ShowPageResult");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        stats.record(i % 100, 2048);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, stats.getCount());
+        assertEquals(2048.0, stats.getResponseSizes().getMean(), 0.0);
+        assertEquals(4000.0, stats.getThroughputPerMinute(10 * 60 * 1000), 0.0001);
+        AssertHelper.assertLatencyWithinBudget(stats, 95, 100);
+    }
+
+    private void assertWithinRelativeError(long expected, long actual) {
+        assertTrue("expected " + expected + " but was " + actual,
+                   actual >= expected && actual <= expected + expected / LogLinearHistogram.SUB_BUCKET_COUNT);
+    }
+
+}
@@ -0,0 +1,85 @@
+package teammates.test.cases.common;
+
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.StorageAccessStats;
+import teammates.test.cases.BaseTestCase;
+import teammates.test.driver.AssertHelper;
+
+public class StorageAccessStatsTest extends BaseTestCase {
+
+    private static final String STUDENT_BY_EMAIL =
+            "CourseStudent where courseId == courseIdParam && email == emailParam";
+    private static final String QUESTIONS_OF_SESSION =
+            "FeedbackQuestion where feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam";
+
+    @Test
+    public void testRecording() {
+
+        ______TS("request-scoped stats");
+
+        StorageAccessStats stats = StorageAccessStats.startRequest();
+        assertTrue(stats == StorageAccessStats.current());
+        assertEquals("queries:0 returned:0 gets:0 writes:0 time:0ms", stats.toString());
+
+        ______TS("queries, gets and writes");
+
+        stats.recordQuery(QUESTIONS_OF_SESSION, 10, 2000000);
+        stats.recordQuery(STUDENT_BY_EMAIL, 1, 1000000);
+        stats.recordQuery(STUDENT_BY_EMAIL, 1, 1000000);
+        stats.recordGet(500000);
+        stats.recordWrite(3, 1500000);
+
+        assertEquals(3, stats.getQueryCount());
+        assertEquals(12, stats.getEntitiesReturned());
+        assertEquals(1, stats.getGetCount());
+        assertEquals(3, stats.getWriteCount());
+        assertEquals(6, stats.getTimeSpentInMillis());
+        assertEquals("queries:3 returned:12 gets:1 writes:3 time:6ms", stats.toString());
+
+        Map<String, Integer> queryCountsByShape = stats.getQueryCountsByShape();
+        assertEquals(2, queryCountsByShape.size());
+        assertEquals(1, queryCountsByShape.get(QUESTIONS_OF_SESSION).intValue());
+        assertEquals(2, queryCountsByShape.get(STUDENT_BY_EMAIL).intValue());
+        assertTrue(stats.getRepeatedQueryShapes().isEmpty());
+
+        ______TS("new request starts new stats");
+
+        StorageAccessStats.startRequest();
+        assertEquals(0, StorageAccessStats.current().getQueryCount());
+        StorageAccessStats.setCurrent(stats);
+        assertEquals(3, StorageAccessStats.current().getQueryCount());
+    }
+
+    @Test
+    public void testQueryBudget() {
+        StorageAccessStats stats = StorageAccessStats.startRequest();
+        stats.recordQuery(QUESTIONS_OF_SESSION, 10, 0);
+        for (int i = 0; i < StorageAccessStats.REPEATED_QUERY_THRESHOLD; i++) {
+            stats.recordQuery(STUDENT_BY_EMAIL, 1, 0);
+        }
+
+        ______TS("repeated query shape flagged as likely N+1");
+
+        Map<String, Integer> repeatedQueryShapes = stats.getRepeatedQueryShapes();
+        assertEquals(1, repeatedQueryShapes.size());
+        assertEquals(StorageAccessStats.REPEATED_QUERY_THRESHOLD, repeatedQueryShapes.get(STUDENT_BY_EMAIL).intValue());
+
+        ______TS("within budget");
+
+        AssertHelper.assertWithinQueryBudget(stats, StorageAccessStats.REPEATED_QUERY_THRESHOLD + 1);
+
+        ______TS("over budget, with the repeated query shape in the message");
+
+        try {
+            AssertHelper.assertWithinQueryBudget(stats, 2);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains("expected at most 2 queries but was 6", e.getMessage());
+            AssertHelper.assertContains("likely N+1: {" + STUDENT_BY_EMAIL + "=5}", e.getMessage());
+        }
+    }
+
+}
@@ -235,6 +235,21 @@ public class AccountsLogicTest extends BaseComponentTestCase {
         
         accountsLogic.makeAccountInstructor("id-does-not-exist");
         assertFalse(accountsLogic.isAccountPresent("id-does-not-exist"));
+        
+        ______TS("cached roles of the current user are invalidated when the account changes");
+        
+        gaeSimulation.loginUser("student2InCourse1");
+        assertFalse(logic.getCurrentUser().isInstructor);
+        assertTrue(logic.getCurrentUser().isStudent);
+        assertFalse(logic.getCurrentUserAccount().isInstructor);
+        
+        accountsLogic.makeAccountInstructor("student2InCourse1");
+        assertTrue(logic.getCurrentUser().isInstructor);
+        assertTrue(logic.getCurrentUserAccount().isInstructor);
+        
+        accountsLogic.downgradeInstructorToStudentCascade("student2InCourse1");
+        assertFalse(logic.getCurrentUser().isInstructor);
+        gaeSimulation.logoutUser();
 
     }
 
@@ -0,0 +1,94 @@
+package teammates.test.cases.logic;
+
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActionMetrics;
+import teammates.common.util.ActionStats;
+import teammates.logic.core.ActionStatsLogic;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link ActionStatsLogic}
+ */
+public class ActionStatsLogicTest extends BaseComponentTestCase {
+
+    private static final ActionStatsLogic actionStatsLogic = ActionStatsLogic.inst();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testFlushAndGetActionStats() {
+        actionStatsLogic.deleteActionStatsOlderThan(Long.MAX_VALUE);
+        ActionMetrics.clear();
+
+        // far enough ahead of the last flush of this instance, whenever it was
+        long flushTime = System.currentTimeMillis() + 2 * ActionStatsLogic.FLUSH_INTERVAL_MILLIS;
+
+        ______TS("nothing recorded, nothing kept");
+
+        assertFalse(actionStatsLogic.flushActionStatsIfDue(flushTime));
+        assertTrue(actionStatsLogic.getActionStats(0, Long.MAX_VALUE, true).isEmpty());
+
+        ______TS("recorded stats kept and drained when a flush is due");
+
+        flushTime += ActionStatsLogic.FLUSH_INTERVAL_MILLIS;
+        ActionMetrics.record("InstructorHomePageAction", "ShowPageResult", 10, 1000);
+        ActionMetrics.record("InstructorHomePageAction", "ShowPageResult", 30, 3000);
+        ActionMetrics.record("StudentHomePageAction", "ShowPageResult", 20, 2000);
+        assertTrue(actionStatsLogic.flushActionStatsIfDue(flushTime));
+
+        List<ActionStats> statsList = actionStatsLogic.getActionStats(0, Long.MAX_VALUE, false);
+        assertEquals(2, statsList.size());
+        assertEquals("InstructorHomePageAction", statsList.get(0).getActionName());
+        assertEquals(2, statsList.get(0).getCount());
+        assertEquals(0, ActionMetrics.getStats("InstructorHomePageAction", "ShowPageResult").getCount());
+
+        ______TS("no flush until the flush interval has passed");
+
+        ActionMetrics.record("StudentHomePageAction", "ShowPageResult", 40, 4000);
+        assertFalse(actionStatsLogic.flushActionStatsIfDue(flushTime + ActionStatsLogic.FLUSH_INTERVAL_MILLIS - 1));
+        assertEquals(1, ActionMetrics.getStats("StudentHomePageAction", "ShowPageResult").getCount());
+
+        ______TS("unflushed stats combined with the kept stats when asked for");
+
+        statsList = actionStatsLogic.getActionStats(0, Long.MAX_VALUE, true);
+        assertEquals(2, statsList.size());
+        assertEquals("StudentHomePageAction", statsList.get(1).getActionName());
+        assertEquals(2, statsList.get(1).getCount());
+        assertEquals(40, statsList.get(1).getLatencies().getMaxValue());
+
+        assertEquals(1, actionStatsLogic.getActionStats(0, Long.MAX_VALUE, false).get(1).getCount());
+
+        ______TS("window excluding the kept stats");
+
+        assertEquals(0, actionStatsLogic.getActionStats(flushTime, Long.MAX_VALUE, false).size());
+
+        ______TS("the next flush keeps a period of its own");
+
+        assertTrue(actionStatsLogic.flushActionStatsIfDue(flushTime + ActionStatsLogic.FLUSH_INTERVAL_MILLIS));
+        statsList = actionStatsLogic.getActionStats(flushTime, Long.MAX_VALUE, false);
+        assertEquals(1, statsList.size());
+        assertEquals(1, statsList.get(0).getCount());
+
+        ______TS("old periods deleted");
+
+        assertEquals(2, actionStatsLogic.deleteActionStatsOlderThan(flushTime + 1));
+        assertEquals(1, actionStatsLogic.getActionStats(0, Long.MAX_VALUE, false).size());
+
+        actionStatsLogic.deleteActionStatsOlderThan(Long.MAX_VALUE);
+        ActionMetrics.clear();
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,166 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.jdo.PersistenceManager;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CourseDeletionProgress;
+import teammates.common.datatransfer.CourseDeletionProgress.Stage;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.exception.EntityAlreadyExistsException;
+import teammates.common.exception.UnauthorizedAccessException;
+import teammates.logic.api.GateKeeper;
+import teammates.logic.core.CourseDeletionLogic;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.logic.core.InstructorsLogic;
+import teammates.logic.core.StudentsLogic;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackResponse;
+import teammates.test.cases.BaseComponentTestCase;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * SUT: {@link CourseDeletionLogic}
+ */
+public class CourseDeletionLogicTest extends BaseComponentTestCase {
+
+    /** Enough responses for them to be deleted in more than one batch */
+    private static final int NUMBER_OF_SYNTHETIC_RESPONSES = 2 * CourseDeletionLogic.BATCH_SIZE + 1;
+
+    private static final CourseDeletionLogic courseDeletionLogic = CourseDeletionLogic.inst();
+    private static final CoursesLogic coursesLogic = CoursesLogic.inst();
+    private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
+    private static final StudentsLogic studentsLogic = StudentsLogic.inst();
+    private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+    private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+
+    private static DataBundle dataBundle = getTypicalDataBundle();
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    @Test
+    public void testDeleteCourseInBatches() throws Exception {
+        String courseId = dataBundle.courses.get("typicalCourse1").getId();
+        FeedbackQuestionAttributes questionInBundle = dataBundle.feedbackQuestions.get("qn1InSession1InCourse1");
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(
+                questionInBundle.feedbackSessionName, courseId, questionInBundle.questionNumber);
+        addSyntheticResponses(courseId, question, NUMBER_OF_SYNTHETIC_RESPONSES);
+
+        ______TS("scheduled deletion: instructors deleted at once, the rest left to tasks");
+
+        assertFalse(courseDeletionLogic.isCourseBeingDeleted(courseId));
+        courseDeletionLogic.scheduleCourseDeletion(courseId);
+
+        assertTrue(instructorsLogic.getInstructorsForCourse(courseId).isEmpty());
+        assertTrue(courseDeletionLogic.isCourseBeingDeleted(courseId));
+        assertNotNull(coursesLogic.getCourse(courseId));
+        assertFalse(studentsLogic.getStudentsForCourse(courseId).isEmpty());
+        CourseDeletionProgress progress = courseDeletionLogic.getCourseDeletionProgress(courseId);
+        assertEquals(Stage.STUDENTS, progress.getStage());
+
+        ______TS("course being deleted: hidden from and not accessible to its students, ID not reusable");
+
+        StudentAttributes student = dataBundle.students.get("student1InCourse1");
+        for (CourseAttributes course : coursesLogic.getCoursesForStudentAccount(student.googleId)) {
+            assertFalse(course.getId().equals(courseId));
+        }
+        try {
+            new GateKeeper().verifyAccessible(student, coursesLogic.getCourse(courseId));
+            signalFailureToDetectException();
+        } catch (UnauthorizedAccessException e) {
+            assertEquals("Course [" + courseId + "] is being deleted", e.getMessage());
+        }
+        try {
+            coursesLogic.createCourse(courseId, "Course with the same ID", "UTC");
+            signalFailureToDetectException();
+        } catch (EntityAlreadyExistsException e) {
+            assertEquals("The course " + courseId + " is still being deleted. "
+                         + "Its ID can be used again once the deletion is complete.", e.getMessage());
+        }
+
+        ______TS("deletion resumed from the checkpoint a batch at a time");
+
+        // a deadline in the past makes each call delete a single batch, as if each were a task running out of time
+        int numberOfCalls = 0;
+        long lastNumberOfEntitiesDeleted = progress.getNumberOfEntitiesDeleted();
+        while (!courseDeletionLogic.deleteCourseInBatches(courseId, 0)) {
+            numberOfCalls++;
+            progress = courseDeletionLogic.getCourseDeletionProgress(courseId);
+            long numberDeletedInBatch = progress.getNumberOfEntitiesDeleted() - lastNumberOfEntitiesDeleted;
+            assertTrue(numberDeletedInBatch <= CourseDeletionLogic.BATCH_SIZE);
+            lastNumberOfEntitiesDeleted = progress.getNumberOfEntitiesDeleted();
+        }
+        assertTrue(numberOfCalls >= NUMBER_OF_SYNTHETIC_RESPONSES / CourseDeletionLogic.BATCH_SIZE);
+        assertTrue(lastNumberOfEntitiesDeleted >= NUMBER_OF_SYNTHETIC_RESPONSES);
+
+        ______TS("all the data of the course deleted and the deletion ended");
+
+        assertFalse(courseDeletionLogic.isCourseBeingDeleted(courseId));
+        assertNull(coursesLogic.getCourse(courseId));
+        assertTrue(studentsLogic.getStudentsForCourse(courseId).isEmpty());
+        assertTrue(fsLogic.getFeedbackSessionsForCourse(courseId).isEmpty());
+        assertTrue(frLogic.getFeedbackResponsesForQuestion(question.getId()).isEmpty());
+
+        ______TS("course not being deleted, its ID reusable");
+
+        assertTrue(courseDeletionLogic.deleteCourseInBatches(courseId, 0));
+        coursesLogic.createCourse(courseId, "Course with the same ID", "UTC");
+        assertNotNull(coursesLogic.getCourse(courseId));
+        coursesLogic.deleteCourseCascade(courseId);
+    }
+
+    @Test
+    public void testDeleteCourseNow() {
+        String courseId = dataBundle.courses.get("typicalCourse2").getId();
+
+        courseDeletionLogic.deleteCourseNow(courseId);
+
+        assertFalse(courseDeletionLogic.isCourseBeingDeleted(courseId));
+        assertNull(coursesLogic.getCourse(courseId));
+        assertTrue(instructorsLogic.getInstructorsForCourse(courseId).isEmpty());
+        assertTrue(studentsLogic.getStudentsForCourse(courseId).isEmpty());
+        assertTrue(fsLogic.getFeedbackSessionsForCourse(courseId).isEmpty());
+    }
+
+    private static void addSyntheticResponses(String courseId, FeedbackQuestionAttributes question,
+                                              int numberOfResponses) {
+        PersistenceManager pm = Datastore.getPersistenceManager();
+        List<FeedbackResponse> responses = new ArrayList<FeedbackResponse>();
+        for (int i = 0; i < numberOfResponses; i++) {
+            responses.add(new FeedbackResponse(question.feedbackSessionName, courseId, question.getId(),
+                                               FeedbackQuestionType.TEXT, "giver" + i + "@synthetic.tmt", "None",
+                                               "receiver" + i + "@synthetic.tmt", "None", new Text("Answer " + i)));
+            if (responses.size() == CourseDeletionLogic.BATCH_SIZE) {
+                pm.makePersistentAll(responses);
+                pm.flush();
+                responses.clear();
+            }
+        }
+        pm.makePersistentAll(responses);
+        pm.flush();
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
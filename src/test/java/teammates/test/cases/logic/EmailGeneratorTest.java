@@ -20,6 +20,7 @@ import teammates.common.datatransfer.UserType;
 import teammates.common.util.Config;
 import teammates.common.util.EmailType;
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.ErrorLogGroup;
 import teammates.common.util.TimeHelper;
 import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.EmailGenerator;
@@ -355,7 +356,7 @@ public class EmailGeneratorTest extends BaseComponentTestCase {
         logLineWithLineBreak.setLogMessage("Log line \n with line break <br> and also HTML br tag");
         
         EmailWrapper email = new EmailGenerator().generateCompiledLogsEmail(
-                Arrays.asList(typicalLogLine, logLineWithLineBreak));
+                ErrorLogGroup.groupByFingerprint(Arrays.asList(typicalLogLine, logLineWithLineBreak)));
         
         String subject = String.format(EmailType.SEVERE_LOGS_COMPILATION.getSubject(),
                                        Config.getAppVersion());
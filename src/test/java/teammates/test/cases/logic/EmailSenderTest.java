@@ -1,6 +1,8 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.mail.Message;
 import javax.mail.internet.InternetAddress;
@@ -17,8 +19,10 @@ import com.mailjet.client.resource.Email;
 import com.sendgrid.SendGrid;
 import com.sun.jersey.multipart.FormDataMultiPart;
 
+import teammates.common.util.EmailBodyTemplate;
 import teammates.common.util.EmailWrapper;
 import teammates.logic.core.EmailSender;
+import teammates.logic.core.EmailSenderService;
 import teammates.logic.core.JavamailService;
 import teammates.logic.core.MailgunService;
 import teammates.logic.core.MailjetService;
@@ -27,6 +31,7 @@ import teammates.test.cases.BaseComponentTestCase;
 
 /**
  * SUT: {@link EmailSender}
+ *      {@link EmailSenderService}
  *      {@link JavamailService}
  *      {@link SendgridService}
  *      {@link MailgunService}
@@ -59,6 +64,24 @@ public class EmailSenderTest extends BaseComponentTestCase {
         return wrapper;
     }
     
+    private List<EmailWrapper> getTypicalEmailBatch() {
+        List<EmailWrapper> batch = new ArrayList<EmailWrapper>();
+        for (int i = 1; i <= 2; i++) {
+            EmailWrapper wrapper = new EmailWrapper();
+            wrapper.setSenderName("Sender Name");
+            wrapper.setSenderEmail("sender@email.com");
+            wrapper.setReplyTo("replyto@email.com");
+            wrapper.setRecipient("recipient" + i + "@email.com");
+            wrapper.setSubject("Test subject");
+            wrapper.setContentFromTemplate(EmailBodyTemplate.FEEDBACK_SESSION_OPENING,
+                                           "${userName}", "User " + i,
+                                           "${instructorFragment}", "<p>Instructor of the course</p>",
+                                           "${submitUrl}", "http://submit.url/" + i);
+            batch.add(wrapper);
+        }
+        return batch;
+    }
+    
     @Test
     public void testNoExceptionThrownWhenNoMessagesToSend() {
         new EmailSender().sendEmails(new ArrayList<EmailWrapper>());
@@ -123,6 +146,148 @@ public class EmailSenderTest extends BaseComponentTestCase {
         assertEquals(wrapper.getContent(), email.get(Email.HTMLPART));
     }
     
+    @Test
+    public void testConvertBatchToSendgrid() {
+        List<EmailWrapper> batch = getTypicalEmailBatch();
+        SendGrid.Email email = new SendgridService().parseToEmailBatch(batch);
+        
+        assertEquals("sender@email.com", email.getFrom());
+        assertEquals("Sender Name", email.getFromName());
+        assertEquals("replyto@email.com", email.getReplyTo());
+        assertEquals("Test subject", email.getSubject());
+        assertEquals(EmailBodyTemplate.FEEDBACK_SESSION_OPENING.render(), email.getHtml());
+        assertTrue(email.getText().contains("${userNameText}"));
+        assertFalse(email.getText().contains("<p/>"));
+        
+        JSONObject substitutions = email.getSubstitutions();
+        assertEquals("User 1", substitutions.getJSONArray("${userName}").getString(0));
+        assertEquals("User 2", substitutions.getJSONArray("${userName}").getString(1));
+        assertEquals("http://submit.url/2", substitutions.getJSONArray("${submitUrl}").getString(1));
+        assertEquals("Instructor of the course", substitutions.getJSONArray("${instructorFragmentText}").getString(1));
+    }
+    
+    @Test
+    public void testConvertBatchToMailgun() {
+        List<EmailWrapper> batch = getTypicalEmailBatch();
+        FormDataMultiPart formData = new MailgunService().parseToEmailBatch(batch);
+        
+        assertEquals(2, formData.getFields("to").size());
+        assertEquals("recipient2@email.com", formData.getFields("to").get(1).getValue());
+        
+        JSONObject recipientVariables = new JSONObject(formData.getField("recipient-variables").getValue());
+        assertEquals("User 1", recipientVariables.getJSONObject("recipient1@email.com").getString("userName"));
+        assertEquals("http://submit.url/2",
+                     recipientVariables.getJSONObject("recipient2@email.com").getString("submitUrl"));
+        
+        String html = formData.getField("html").getValue();
+        assertTrue(html.contains("%recipient.userName%"));
+        assertFalse(html.contains("${userName}"));
+    }
+    
+    @Test
+    public void testConvertBatchToMailjet() {
+        List<EmailWrapper> batch = getTypicalEmailBatch();
+        MailjetRequest request = new MailjetService().parseToEmailBatch(batch);
+        JSONObject email = new JSONObject(request.getBody());
+        
+        JSONArray recipients = (JSONArray) email.get(Email.RECIPIENTS);
+        assertEquals(2, recipients.length());
+        assertEquals("recipient1@email.com", recipients.getJSONObject(0).get("Email"));
+        assertEquals("User 2", recipients.getJSONObject(1).getJSONObject("Vars").getString("userName"));
+        
+        assertEquals("Instructor of the course",
+                     recipients.getJSONObject(1).getJSONObject("Vars").getString("instructorFragmentText"));
+        
+        String html = email.getString(Email.HTMLPART);
+        assertTrue(html.contains("{{var:userName}}"));
+        assertFalse(html.contains("${userName}"));
+        
+        String text = email.getString(Email.TEXTPART);
+        assertTrue(text.contains("{{var:userNameText}}"));
+        assertFalse(text.contains("<p/>"));
+    }
+    
+    @Test
+    public void testSendEmails_groupedIntoBatches() {
+        BatchRecordingEmailSenderService service = new BatchRecordingEmailSenderService();
+        
+        ______TS("emails without a template or with bcc are sent one at a time");
+        
+        EmailWrapper withoutTemplate = getTypicalEmailWrapper();
+        EmailWrapper withBcc = getTypicalEmailBatch().get(0);
+        withBcc.setBcc("bcc@email.com");
+        service.sendEmails(Arrays.asList(withoutTemplate, withBcc));
+        
+        assertEquals(2, service.batches.size());
+        assertEquals(Arrays.asList(withoutTemplate), service.batches.get(0));
+        assertEquals(Arrays.asList(withBcc), service.batches.get(1));
+        
+        ______TS("emails from the same template are batched up to the maximum size of a batch");
+        
+        service.batches.clear();
+        List<EmailWrapper> wrappers = new ArrayList<EmailWrapper>(getTypicalEmailBatch());
+        EmailWrapper third = getTypicalEmailBatch().get(0);
+        third.setRecipient("recipient3@email.com");
+        wrappers.add(third);
+        service.sendEmails(wrappers);
+        
+        assertEquals(2, service.batches.size());
+        assertEquals(wrappers.subList(0, 2), service.batches.get(0));
+        assertEquals(Arrays.asList(third), service.batches.get(1));
+        
+        ______TS("emails to the same recipient or with a different subject are not in the same batch");
+        
+        service.batches.clear();
+        List<EmailWrapper> typicalBatch = getTypicalEmailBatch();
+        EmailWrapper sameRecipient = getTypicalEmailBatch().get(0);
+        EmailWrapper otherSubject = getTypicalEmailBatch().get(1);
+        otherSubject.setSubject("Other subject");
+        service.sendEmails(Arrays.asList(typicalBatch.get(0), sameRecipient, otherSubject, typicalBatch.get(1)));
+        
+        assertEquals(3, service.batches.size());
+        assertEquals(Arrays.asList(typicalBatch.get(0), typicalBatch.get(1)), service.batches.get(0));
+        assertEquals(Arrays.asList(sameRecipient), service.batches.get(1));
+        assertEquals(Arrays.asList(otherSubject), service.batches.get(2));
+        
+        ______TS("services that do not accept batches send all emails one at a time");
+        
+        service.batches.clear();
+        service.maxBatchSize = 1;
+        service.sendEmails(getTypicalEmailBatch());
+        
+        assertEquals(2, service.batches.size());
+    }
+    
+    /**
+     * Records the batches of emails it is asked to send, instead of sending them.
+     */
+    private static class BatchRecordingEmailSenderService extends EmailSenderService {
+        
+        List<List<EmailWrapper>> batches = new ArrayList<List<EmailWrapper>>();
+        int maxBatchSize = 2;
+        
+        @Override
+        public Object parseToEmail(EmailWrapper wrapper) {
+            return wrapper;
+        }
+        
+        @Override
+        protected void sendEmailWithService(EmailWrapper wrapper) {
+            batches.add(Arrays.asList(wrapper));
+        }
+        
+        @Override
+        protected void sendEmailBatchWithService(List<EmailWrapper> batch) {
+            batches.add(new ArrayList<EmailWrapper>(batch));
+        }
+        
+        @Override
+        protected int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+        
+    }
+    
     @AfterClass
     public static void classTearDown() {
         printTestClassFooter();
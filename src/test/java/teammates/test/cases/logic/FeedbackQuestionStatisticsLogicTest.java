@@ -0,0 +1,165 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAggregate;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.util.Const.SystemParams;
+import teammates.logic.core.FeedbackQuestionStatisticsLogic;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.storage.api.FeedbackQuestionStatisticsDb;
+import teammates.storage.api.FeedbackResponsesDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+import com.google.appengine.api.taskqueue.dev.LocalTaskQueue;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
+
+/**
+ * SUT: {@link FeedbackQuestionStatisticsLogic}
+ */
+public class FeedbackQuestionStatisticsLogicTest extends BaseComponentTestCase {
+
+    private static final String COURSE_ID = "FSQTT.idOfTypicalCourse1";
+
+    private static FeedbackQuestionStatisticsLogic fqStatisticsLogic = FeedbackQuestionStatisticsLogic.inst();
+    private static FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private static FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static FeedbackQuestionStatisticsDb fqStatisticsDb = new FeedbackQuestionStatisticsDb();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @BeforeMethod
+    public void methodSetUp() throws Exception {
+        removeAndRestoreDatastoreFromJson("/FeedbackSessionQuestionTypeTest.json");
+        getTaskQueue().flushQueue(SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE);
+        getTaskQueue().flushQueue(SystemParams.FEEDBACK_QUESTION_STATISTICS_FOLD_TASK_QUEUE);
+        getTaskQueue().flushQueue(SystemParams.FEEDBACK_QUESTION_STATISTICS_RECONCILIATION_TASK_QUEUE);
+    }
+
+    @Test
+    public void testScheduleAndFoldResponsesChanged() {
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion("MCQ Session", COURSE_ID, 1);
+        List<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForQuestion(question.getId());
+        FeedbackQuestionAttributes constSumQuestion = fqLogic.getFeedbackQuestion("CONSTSUM Session", COURSE_ID, 1);
+
+        ______TS("responses of aggregatable questions put in the queue, with one fold per question");
+
+        List<FeedbackResponseAttributes> responsesChanged = new ArrayList<FeedbackResponseAttributes>(responses);
+        responsesChanged.add(responses.get(0));
+        responsesChanged.addAll(frLogic.getFeedbackResponsesForQuestion(constSumQuestion.getId()));
+        fqStatisticsLogic.scheduleFoldForResponses(responsesChanged);
+
+        assertEquals(responses.size() + 1, getNumberOfTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE));
+        assertEquals(1, getNumberOfTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_FOLD_TASK_QUEUE));
+
+        ______TS("fold scheduled once for changes close together");
+
+        fqStatisticsLogic.scheduleFoldForResponses(responses.subList(0, 1));
+        assertEquals(responses.size() + 2, getNumberOfTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE));
+        assertTrue(getNumberOfTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_FOLD_TASK_QUEUE) <= 2);
+
+        ______TS("responses folded and taken out of the queue, each counted once");
+
+        assertTrue(fqStatisticsLogic.foldResponsesChanged(question.getId()));
+
+        assertEquals(0, getNumberOfTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE));
+        assertEquals(countResponses(question, responses), fqStatisticsDb.getAggregate(question.getId()));
+        assertNull(fqStatisticsDb.getAggregate(constSumQuestion.getId()));
+
+        ______TS("aggregate not used until reconciled, and its reconciliation scheduled");
+
+        assertFalse(fqStatisticsDb.hasReconciledAggregate(question.getId()));
+        assertTrue(fqStatisticsLogic.getAggregatesForSession(COURSE_ID, "MCQ Session").isEmpty());
+        assertEquals(1, getNumberOfTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_RECONCILIATION_TASK_QUEUE));
+
+        ______TS("response deleted folded: its counts taken back");
+
+        new FeedbackResponsesDb().deleteEntity(responses.get(0));
+        fqStatisticsLogic.scheduleFoldForResponses(responses.subList(0, 1));
+        assertTrue(fqStatisticsLogic.foldResponsesChanged(question.getId()));
+
+        assertEquals(countResponses(question, responses.subList(1, responses.size())),
+                     fqStatisticsDb.getAggregate(question.getId()));
+
+        ______TS("nothing to fold");
+
+        assertTrue(fqStatisticsLogic.foldResponsesChanged(question.getId()));
+    }
+
+    @Test
+    public void testReconcileAggregate() {
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion("MCQ Session", COURSE_ID, 1);
+        List<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForQuestion(question.getId());
+
+        ______TS("aggregate created from all the responses");
+
+        assertTrue(fqStatisticsLogic.reconcileAggregate(question.getId()));
+
+        assertEquals(countResponses(question, responses), fqStatisticsDb.getAggregate(question.getId()));
+        assertEquals(countResponses(question, responses),
+                     fqStatisticsLogic.getAggregatesForSession(COURSE_ID, "MCQ Session").get(question.getId()));
+
+        ______TS("response deleted without being folded: taken back by the reconciliation");
+
+        new FeedbackResponsesDb().deleteEntity(responses.get(0));
+        assertTrue(fqStatisticsLogic.reconcileAggregate(question.getId()));
+
+        assertEquals(countResponses(question, responses.subList(1, responses.size())),
+                     fqStatisticsDb.getAggregate(question.getId()));
+
+        ______TS("question not aggregatable: nothing kept");
+
+        FeedbackQuestionAttributes constSumQuestion = fqLogic.getFeedbackQuestion("CONSTSUM Session", COURSE_ID, 1);
+        assertTrue(fqStatisticsLogic.reconcileAggregate(constSumQuestion.getId()));
+        assertNull(fqStatisticsDb.getAggregate(constSumQuestion.getId()));
+
+        ______TS("question deleted: aggregate deleted");
+
+        fqLogic.deleteFeedbackQuestionCascade(question.getId());
+        fqStatisticsDb.reconcileAggregateWithMarkers(question.getId(), COURSE_ID, "MCQ Session");
+        assertTrue(fqStatisticsLogic.reconcileAggregate(question.getId()));
+        assertNull(fqStatisticsDb.getAggregate(question.getId()));
+    }
+
+    @Test
+    public void testScheduleReconciliationsForSessionsAcceptingResponses() {
+        int numberOfQuestionsScheduled = fqStatisticsLogic.scheduleReconciliationsForSessionsAcceptingResponses();
+
+        assertEquals(numberOfQuestionsScheduled,
+                     getNumberOfTasks(SystemParams.FEEDBACK_QUESTION_STATISTICS_RECONCILIATION_TASK_QUEUE));
+    }
+
+    private static FeedbackQuestionStatisticsAggregate countResponses(FeedbackQuestionAttributes question,
+                                                                      List<FeedbackResponseAttributes> responses) {
+        FeedbackQuestionStatisticsAggregate aggregate = new FeedbackQuestionStatisticsAggregate();
+        for (FeedbackResponseAttributes response : responses) {
+            question.getQuestionDetails().countInStatisticsAggregate(response, aggregate, 1);
+        }
+        return aggregate;
+    }
+
+    private static LocalTaskQueue getTaskQueue() {
+        return LocalTaskQueueTestConfig.getLocalTaskQueue();
+    }
+
+    private static int getNumberOfTasks(String queueName) {
+        return getTaskQueue().getQueueStateInfo().get(queueName).getCountTasks();
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
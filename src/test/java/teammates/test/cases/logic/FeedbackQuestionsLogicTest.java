@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -13,6 +14,7 @@ import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
@@ -21,6 +23,9 @@ import teammates.common.util.FieldValidator;
 import teammates.logic.core.AccountsLogic;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.storage.api.FeedbackQuestionsDb;
+import teammates.storage.api.FeedbackSessionsDb;
 import teammates.test.cases.BaseComponentTestCase;
 
 import com.google.appengine.api.datastore.Text;
@@ -51,6 +56,7 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
         testDeleteQuestion();
         testAddQuestionNoIntegrityCheck();
         testDeleteQuestionsForCourse();
+        testGetCopiableFeedbackQuestionsForInstructor();
     }
     
     public void testGetRecipientsForQuestion() throws Exception {
@@ -320,6 +326,33 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
         assertEquals(question1.recipientType, copiedQuestion.recipientType);
         assertEquals(question1Details.getQuestionText(), copiedQuestionDetails.getQuestionText());
         
+        ______TS("Typical case: copy several questions in one go");
+        
+        FeedbackQuestionAttributes question2 = typicalBundle.feedbackQuestions.get("qn2InSession1InCourse1");
+        question2 = fqLogic.getFeedbackQuestion(question2.feedbackSessionName, question2.courseId, question2.questionNumber);
+        int numberOfQuestions =
+                fqLogic.getFeedbackQuestionsForSession(question1.feedbackSessionName, question1.courseId).size();
+        
+        List<FeedbackQuestionAttributes> copiedQuestions =
+                fqLogic.copyFeedbackQuestions(Arrays.asList(question2.getId(), question1.getId()),
+                                              question1.feedbackSessionName, question1.courseId,
+                                              instructor2OfCourse1.email);
+        
+        assertEquals(2, copiedQuestions.size());
+        List<FeedbackQuestionAttributes> questions =
+                fqLogic.getFeedbackQuestionsForSession(question1.feedbackSessionName, question1.courseId);
+        assertEquals(numberOfQuestions + 2, questions.size());
+        FeedbackQuestionAttributes copiedQuestion2 = questions.get(numberOfQuestions);
+        FeedbackQuestionAttributes copiedQuestion1 = questions.get(numberOfQuestions + 1);
+        assertEquals(numberOfQuestions + 1, copiedQuestion2.questionNumber);
+        assertEquals(numberOfQuestions + 2, copiedQuestion1.questionNumber);
+        assertEquals(question2.getQuestionDetails().getQuestionText(),
+                     copiedQuestion2.getQuestionDetails().getQuestionText());
+        assertEquals(question1Details.getQuestionText(), copiedQuestion1.getQuestionDetails().getQuestionText());
+        assertEquals(instructor2OfCourse1.email, copiedQuestion1.creatorEmail);
+        
+        fqLogic.deleteFeedbackQuestionCascade(copiedQuestion1.getId());
+        fqLogic.deleteFeedbackQuestionCascade(copiedQuestion2.getId());
     }
     
     public void testUpdateQuestion() throws Exception {
@@ -644,6 +677,118 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
         return question;
     }
     
+    public void testGetCopiableFeedbackQuestionsForInstructor() throws Exception {
+        InstructorAttributes instructor1OfCourse1 = typicalBundle.instructors.get("instructor1OfCourse1");
+        
+        ______TS("Typical case: questions of all the instructor's courses in order");
+        
+        List<FeedbackQuestionAttributes> copiableQuestions =
+                fqLogic.getCopiableFeedbackQuestionsForInstructor(instructor1OfCourse1.googleId);
+        assertFalse(copiableQuestions.isEmpty());
+        verifySortedForCopying(copiableQuestions);
+        
+        ______TS("Typical case: pages of the questions");
+        
+        List<FeedbackQuestionAttributes> firstPage =
+                fqLogic.getCopiableFeedbackQuestionsForInstructor(instructor1OfCourse1.googleId, null, 2);
+        String cursor = FeedbackQuestionsLogic.getCopiableQuestionsCursor(firstPage.get(1));
+        List<FeedbackQuestionAttributes> restOfQuestions =
+                fqLogic.getCopiableFeedbackQuestionsForInstructor(instructor1OfCourse1.googleId, cursor,
+                                                                  Integer.MAX_VALUE);
+        assertEquals(2, firstPage.size());
+        assertEquals(copiableQuestions.size() - 2, restOfQuestions.size());
+        assertEquals(copiableQuestions.get(0).getId(), firstPage.get(0).getId());
+        assertEquals(copiableQuestions.get(2).getId(), restOfQuestions.get(0).getId());
+        
+        cursor = FeedbackQuestionsLogic.getCopiableQuestionsCursor(copiableQuestions.get(copiableQuestions.size() - 1));
+        assertTrue(fqLogic.getCopiableFeedbackQuestionsForInstructor(
+                instructor1OfCourse1.googleId, cursor, 10).isEmpty());
+        
+        ______TS("Failure case: invalid cursors");
+        
+        String[] invalidCursors = {
+                "not a cursor", "CS1101|Session|MCQ", "CS1101|Session|NOT_A_TYPE|1", "CS1101|Session|MCQ|one"
+        };
+        for (String invalidCursor : invalidCursors) {
+            try {
+                fqLogic.getCopiableFeedbackQuestionsForInstructor(instructor1OfCourse1.googleId, invalidCursor, 10);
+                signalFailureToDetectException();
+            } catch (InvalidParametersException e) {
+                assertEquals(FeedbackQuestionsLogic.ERROR_INVALID_COPIABLE_QUESTIONS_CURSOR + invalidCursor,
+                             e.getMessage());
+            }
+        }
+        
+        ______TS("Typical case: questions of sessions that do not exist are not copiable");
+        
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestionsForSession(
+                "First feedback session", instructor1OfCourse1.courseId).get(0);
+        FeedbackQuestionAttributes orphanedQuestion = question.getCopy();
+        orphanedQuestion.feedbackSessionName = "Deleted session";
+        orphanedQuestion.setId(null);
+        List<FeedbackQuestionAttributes> orphanedQuestions =
+                fqLogic.createFeedbackQuestionsNoIntegrityCheck(Arrays.asList(orphanedQuestion));
+        
+        assertEquals(copiableQuestions.size(),
+                     fqLogic.getCopiableFeedbackQuestionsForInstructor(instructor1OfCourse1.googleId).size());
+        
+        new FeedbackQuestionsDb().deleteEntities(orphanedQuestions);
+        
+        ______TS("Typical case: instructor with more questions than a page");
+        
+        // the copiable questions of thousands of questions are measured by CopiableQuestionsBenchmarkTest
+        
+        FeedbackSessionAttributes session = FeedbackSessionsLogic.inst().getFeedbackSession(
+                "First feedback session", instructor1OfCourse1.courseId);
+        List<FeedbackSessionAttributes> syntheticSessions = new ArrayList<FeedbackSessionAttributes>();
+        for (int i = 0; i < 10; i++) {
+            FeedbackSessionAttributes syntheticSession = session.getCopy();
+            syntheticSession.setFeedbackSessionName("Historical session " + i);
+            syntheticSessions.add(syntheticSession);
+        }
+        new FeedbackSessionsDb().createFeedbackSessions(syntheticSessions);
+        
+        List<FeedbackQuestionAttributes> syntheticQuestions = new ArrayList<FeedbackQuestionAttributes>();
+        for (int i = 0; i < 150; i++) {
+            FeedbackQuestionAttributes syntheticQuestion = question.getCopy();
+            syntheticQuestion.feedbackSessionName = "Historical session " + i % 10;
+            syntheticQuestion.questionNumber = i / 10 + 1;
+            syntheticQuestion.setId(null);
+            syntheticQuestions.add(syntheticQuestion);
+        }
+        syntheticQuestions = fqLogic.createFeedbackQuestionsNoIntegrityCheck(syntheticQuestions);
+        
+        List<FeedbackQuestionAttributes> page =
+                fqLogic.getCopiableFeedbackQuestionsForInstructor(instructor1OfCourse1.googleId, null, 100);
+        
+        assertEquals(100, page.size());
+        verifySortedForCopying(page);
+        assertEquals(copiableQuestions.size() + syntheticQuestions.size(),
+                     fqLogic.getCopiableFeedbackQuestionsForInstructor(instructor1OfCourse1.googleId).size());
+        
+        new FeedbackQuestionsDb().deleteEntities(syntheticQuestions);
+        new FeedbackSessionsDb().deleteEntities(syntheticSessions);
+    }
+    
+    private void verifySortedForCopying(List<FeedbackQuestionAttributes> questions) {
+        for (int i = 1; i < questions.size(); i++) {
+            FeedbackQuestionAttributes previous = questions.get(i - 1);
+            FeedbackQuestionAttributes current = questions.get(i);
+            int order = previous.courseId.compareTo(current.courseId);
+            if (order == 0) {
+                order = previous.feedbackSessionName.compareTo(current.feedbackSessionName);
+            }
+            if (order == 0) {
+                order = previous.getQuestionDetails().getQuestionTypeDisplayName()
+                        .compareTo(current.getQuestionDetails().getQuestionTypeDisplayName());
+            }
+            if (order == 0) {
+                order = previous.questionNumber - current.questionNumber;
+            }
+            assertTrue(order < 0);
+        }
+    }
+    
     @AfterClass
     public static void classTearDown() {
         printTestClassFooter();
@@ -11,6 +11,7 @@ import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAggregate;
 import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
@@ -23,17 +24,22 @@ import teammates.common.datatransfer.UserType.Role;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Const.SystemParams;
+import teammates.logic.core.FeedbackQuestionStatisticsLogic;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.StudentsLogic;
+import teammates.storage.api.FeedbackQuestionStatisticsDb;
 import teammates.storage.api.InstructorsDb;
 import teammates.storage.api.StudentsDb;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 
 import com.google.appengine.api.datastore.Text;
+import com.google.appengine.api.taskqueue.dev.LocalTaskQueue;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
 
 public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
     
@@ -64,6 +70,7 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
         testDeleteFeedbackResponsesForStudent();
         testSpecialCharactersInTeamName();
         testDeleteFeedbackResponsesForCourse();
+        testStatisticsFoldScheduledForResponsesChanged();
     }
 
     public void testSpecialCharactersInTeamName() {
@@ -659,6 +666,62 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
 
     }
 
+    public void testStatisticsFoldScheduledForResponsesChanged() throws Exception {
+        FeedbackQuestionAttributes question = getQuestionFromDatastore(questionTypeBundle, "qn1InSession1InCourse1");
+        getTaskQueue().flushQueue(SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE);
+
+        ______TS("response updated: scheduled to be folded");
+
+        FeedbackResponseAttributes response = getResponseFromDatastore(questionTypeBundle, "response1ForQ1S1C1");
+        response.responseMetaData = new Text("{\"questionType\" : \"MCQ\", \"answer\" : \"It's perfect\", "
+                                             + "\"otherFieldContent\" : \"\"}");
+        frLogic.updateFeedbackResponse(response);
+        assertEquals(1, getNumberOfResponsesChanged());
+
+        ______TS("response recreated for a new recipient: the old and the new response scheduled");
+
+        response = getResponseFromDatastore(questionTypeBundle, "response2ForQ1S1C1");
+        response.recipient = "student3InCourse1@gmail.tmt";
+        frLogic.updateFeedbackResponse(response);
+        assertEquals(3, getNumberOfResponsesChanged());
+
+        ______TS("response created and response deleted: scheduled");
+
+        FeedbackResponseAttributes newResponse = new FeedbackResponseAttributes(
+                question.feedbackSessionName, question.courseId, question.getId(), question.questionType,
+                "student4InCourse1@gmail.tmt", "None", "student4InCourse1@gmail.tmt", "None",
+                new Text("{\"questionType\" : \"MCQ\", \"answer\" : \"It's good\", \"otherFieldContent\" : \"\"}"));
+        frLogic.createFeedbackResponse(newResponse);
+        assertEquals(4, getNumberOfResponsesChanged());
+
+        frLogic.deleteFeedbackResponseAndCascade(getResponseFromDatastore(questionTypeBundle, "response1ForQ1S1C1"));
+        assertEquals(5, getNumberOfResponsesChanged());
+
+        ______TS("response to a question not aggregatable: not scheduled");
+
+        frLogic.deleteFeedbackResponseAndCascade(getResponseFromDatastore(questionTypeBundle, "response1ForQ1S4C1"));
+        assertEquals(5, getNumberOfResponsesChanged());
+
+        ______TS("responses changed folded: aggregate has the responses as they are now");
+
+        assertTrue(FeedbackQuestionStatisticsLogic.inst().foldResponsesChanged(question.getId()));
+        FeedbackQuestionStatisticsAggregate expected = new FeedbackQuestionStatisticsAggregate();
+        for (FeedbackResponseAttributes responseKept : frLogic.getFeedbackResponsesForQuestion(question.getId())) {
+            question.getQuestionDetails().countInStatisticsAggregate(responseKept, expected, 1);
+        }
+        assertEquals(2, expected.getNumberOfResponses());
+        assertEquals(expected, new FeedbackQuestionStatisticsDb().getAggregate(question.getId()));
+    }
+
+    private static LocalTaskQueue getTaskQueue() {
+        return LocalTaskQueueTestConfig.getLocalTaskQueue();
+    }
+
+    private static int getNumberOfResponsesChanged() {
+        return getTaskQueue().getQueueStateInfo().get(SystemParams.FEEDBACK_QUESTION_STATISTICS_CHANGE_TASK_QUEUE)
+                             .getCountTasks();
+    }
+
     private FeedbackQuestionAttributes getQuestionFromDatastore(DataBundle dataBundle, String jsonId) {
         FeedbackQuestionAttributes questionToGet = dataBundle.feedbackQuestions.get(jsonId);
         questionToGet = fqLogic.getFeedbackQuestion(questionToGet.feedbackSessionName,
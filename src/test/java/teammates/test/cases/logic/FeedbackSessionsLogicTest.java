@@ -1,10 +1,12 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -354,6 +356,59 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         assertEquals(0, copiedSession.getRespondingInstructorList().size());
         assertEquals(0, copiedSession.getRespondingStudentList().size());
         
+        ______TS("Test copy to several courses");
+        
+        CourseAttributes typicalCourse1 = dataBundle.courses.get("typicalCourse1");
+        List<FeedbackSessionAttributes> copiedSessions = fsLogic.copyFeedbackSession(
+                "Copied Session Twice", Arrays.asList(typicalCourse1.getId(), typicalCourse2.getId()),
+                session1InCourse1.getFeedbackSessionName(),
+                session1InCourse1.getCourseId(), instructor2OfCourse1.email);
+        
+        assertEquals(2, copiedSessions.size());
+        assertEquals(typicalCourse1.getId(), copiedSessions.get(0).getCourseId());
+        assertEquals(typicalCourse2.getId(), copiedSessions.get(1).getCourseId());
+        for (FeedbackSessionAttributes session : copiedSessions) {
+            verifyPresentInDatastore(session);
+            List<FeedbackQuestionAttributes> copiedQuestions =
+                    fqLogic.getFeedbackQuestionsForSession(session.getFeedbackSessionName(), session.getCourseId());
+            assertEquals(questions1.size(), copiedQuestions.size());
+            for (int i = 0; i < questions1.size(); i++) {
+                assertEquals(questions1.get(i).questionNumber, copiedQuestions.get(i).questionNumber);
+                assertEquals(questions1.get(i).getQuestionDetails().getQuestionText(),
+                             copiedQuestions.get(i).getQuestionDetails().getQuestionText());
+                assertEquals(instructor2OfCourse1.email, copiedQuestions.get(i).creatorEmail);
+            }
+            fsLogic.deleteFeedbackSessionCascade(session.getFeedbackSessionName(), session.getCourseId());
+        }
+
+        ______TS("Test copy of several sessions to several courses");
+
+        FeedbackSessionAttributes session2InCourse1 = dataBundle.feedbackSessions.get("session2InCourse1");
+        Map<String, String> newFeedbackSessionNames = new LinkedHashMap<String, String>();
+        newFeedbackSessionNames.put(session1InCourse1.getFeedbackSessionName(), "Copied Session 1");
+        newFeedbackSessionNames.put(session2InCourse1.getFeedbackSessionName(), "Copied Session 2");
+        copiedSessions = fsLogic.copyFeedbackSessions(
+                newFeedbackSessionNames, Arrays.asList(typicalCourse1.getId(), typicalCourse2.getId()),
+                session1InCourse1.getCourseId(), instructor2OfCourse1.email);
+
+        assertEquals(4, copiedSessions.size());
+        String[] expectedSessionNames = {"Copied Session 1", "Copied Session 1", "Copied Session 2", "Copied Session 2"};
+        String[] expectedCourseIds = {typicalCourse1.getId(), typicalCourse2.getId(),
+                                      typicalCourse1.getId(), typicalCourse2.getId()};
+        int numberOfQuestionsOfSession2 =
+                fqLogic.getFeedbackQuestionsForSession(session2InCourse1.getFeedbackSessionName(),
+                                                       session2InCourse1.getCourseId()).size();
+        for (int i = 0; i < copiedSessions.size(); i++) {
+            FeedbackSessionAttributes session = copiedSessions.get(i);
+            assertEquals(expectedSessionNames[i], session.getFeedbackSessionName());
+            assertEquals(expectedCourseIds[i], session.getCourseId());
+            verifyPresentInDatastore(session);
+            assertEquals(i < 2 ? questions1.size() : numberOfQuestionsOfSession2,
+                         fqLogic.getFeedbackQuestionsForSession(session.getFeedbackSessionName(),
+                                                                session.getCourseId()).size());
+            fsLogic.deleteFeedbackSessionCascade(session.getFeedbackSessionName(), session.getCourseId());
+        }
+
         ______TS("Failure case: duplicate session");
         
         try {
@@ -1568,6 +1623,32 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         
         assertEquals(StringUtils.join(expected, Const.EOL), export);
         
+        ______TS("CONTRIB results calculated once per team for all views of the question");
+        
+        StudentAttributes contribStudent = newDataBundle.students.get("student1InCourse1");
+        FeedbackSessionResultsBundle contribResults = fsLogic.getFeedbackSessionResultsForInstructor(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email);
+        
+        for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                : contribResults.getQuestionResponseMap().entrySet()) {
+            FeedbackQuestionAttributes question = entry.getKey();
+            List<FeedbackResponseAttributes> responses = entry.getValue();
+            FeedbackQuestionDetails questionDetails = question.getQuestionDetails();
+            
+            questionDetails.getQuestionResultStatisticsHtml(
+                    responses, question, instructor.email, contribResults, "question");
+            questionDetails.getQuestionResultStatisticsHtml(
+                    responses, question, contribStudent.email, contribResults, "student");
+            questionDetails.getQuestionResultStatisticsCsv(responses, question, contribResults);
+            for (FeedbackResponseAttributes response : responses) {
+                response.getResponseDetails().getAnswerHtml(response, question, contribResults);
+                response.getResponseDetails().getAnswerCsv(response, question, contribResults);
+            }
+        }
+        
+        // once for each of Team 1.1 and Team 1.2
+        assertEquals(2, contribResults.getNumberOfContributionTeamResultsCalculated());
+        
         ______TS("CONTRIB summary visibility variations");
         
         // instructor not allowed to see student
@@ -0,0 +1,197 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.UserType.Role;
+import teammates.logic.core.FeedbackResponseCommentsLogic;
+import teammates.logic.core.ResponseCommentVisibilityEvaluator;
+import teammates.test.cases.BaseTestCase;
+
+public class ResponseCommentVisibilityEvaluatorTest extends BaseTestCase {
+
+    private static final String COURSE_ID = "idOfCourse";
+    private static final String USER = "user@course.tmt";
+    private static final String TEAMMATE = "teammate@course.tmt";
+    private static final String OTHER_STUDENT = "other@course.tmt";
+    private static final String INSTRUCTOR = "instructor@course.tmt";
+    private static final String USER_TEAM = "Team 1";
+    private static final String OTHER_TEAM = "Team 2";
+
+    private static final FeedbackParticipantType[] VISIBILITY_TYPES = new FeedbackParticipantType[] {
+            FeedbackParticipantType.GIVER,
+            FeedbackParticipantType.RECEIVER,
+            FeedbackParticipantType.OWN_TEAM_MEMBERS,
+            FeedbackParticipantType.RECEIVER_TEAM_MEMBERS,
+            FeedbackParticipantType.STUDENTS,
+            FeedbackParticipantType.INSTRUCTORS
+    };
+
+    private static final FeedbackParticipantType[] GIVER_TYPES = new FeedbackParticipantType[] {
+            FeedbackParticipantType.STUDENTS, FeedbackParticipantType.TEAMS, FeedbackParticipantType.INSTRUCTORS
+    };
+
+    private static final FeedbackParticipantType[] RECIPIENT_TYPES = new FeedbackParticipantType[] {
+            FeedbackParticipantType.STUDENTS, FeedbackParticipantType.TEAMS,
+            FeedbackParticipantType.INSTRUCTORS, FeedbackParticipantType.SELF
+    };
+
+    private static final String[] RESPONSE_GIVERS = new String[] { USER, TEAMMATE, OTHER_STUDENT, USER_TEAM };
+
+    private static final String[] RESPONSE_RECIPIENTS = new String[] {
+            USER, TEAMMATE, OTHER_STUDENT, INSTRUCTOR, USER_TEAM, OTHER_TEAM
+    };
+
+    private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testIsVisible_sameAsLogicForAllCombinations() {
+        StudentAttributes student = new StudentAttributes("Section 1", USER_TEAM, "User", USER, "", COURSE_ID);
+        Set<String> studentsEmailInTeam = new HashSet<String>(Arrays.asList(USER, TEAMMATE));
+
+        List<FeedbackQuestionAttributes> questions = getQuestions();
+        List<FeedbackResponseCommentAttributes> comments = getComments();
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (String giver : RESPONSE_GIVERS) {
+            for (String recipient : RESPONSE_RECIPIENTS) {
+                FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+                response.giver = giver;
+                response.recipient = recipient;
+                responses.add(response);
+            }
+        }
+
+        int numberOfCombinations = 0;
+        int numberOfVisibleCombinations = 0;
+        for (Role role : Role.values()) {
+            StudentAttributes studentOfRole = role == Role.STUDENT ? student : null;
+            Set<String> teamOfRole = role == Role.STUDENT ? studentsEmailInTeam : new HashSet<String>();
+            ResponseCommentVisibilityEvaluator evaluator =
+                    new ResponseCommentVisibilityEvaluator(USER, role, studentOfRole, teamOfRole);
+
+            for (FeedbackQuestionAttributes question : questions) {
+                for (FeedbackResponseCommentAttributes comment : comments) {
+                    for (FeedbackResponseAttributes response : responses) {
+                        boolean isVisible = frcLogic.isResponseCommentVisibleForUser(
+                                USER, COURSE_ID, role, null, studentOfRole, teamOfRole,
+                                response, question, comment, null);
+                        if (isVisible != evaluator.isVisible(comment, response, question)) {
+                            fail("expected " + isVisible + " for role " + role + ", question " + question.getId()
+                                 + ", comment " + getDescription(comment)
+                                 + ", response from " + response.giver + " to " + response.recipient);
+                        }
+                        numberOfCombinations++;
+                        numberOfVisibleCombinations += isVisible ? 1 : 0;
+                    }
+                }
+            }
+        }
+        print(numberOfCombinations + " combinations compared, " + numberOfVisibleCombinations + " visible");
+        assertTrue(numberOfVisibleCombinations > 0 && numberOfVisibleCombinations < numberOfCombinations);
+    }
+
+    @Test
+    public void testIsVisible_unknownResponseOrQuestion() {
+        ResponseCommentVisibilityEvaluator evaluator =
+                new ResponseCommentVisibilityEvaluator(INSTRUCTOR, Role.INSTRUCTOR, null, new HashSet<String>());
+        FeedbackResponseCommentAttributes comment = new FeedbackResponseCommentAttributes();
+        comment.giverEmail = INSTRUCTOR;
+        FeedbackQuestionAttributes question = getQuestions().get(0);
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+        response.giver = USER;
+        response.recipient = TEAMMATE;
+
+        assertTrue(evaluator.isVisible(comment, response, question));
+        assertFalse(evaluator.isVisible(comment, null, question));
+        assertFalse(evaluator.isVisible(comment, response, null));
+    }
+
+    /**
+     * @return questions of every combination of giver type, recipient type and visibility
+     */
+    private static List<FeedbackQuestionAttributes> getQuestions() {
+        List<FeedbackQuestionAttributes> questions = new ArrayList<FeedbackQuestionAttributes>();
+        for (FeedbackParticipantType giverType : GIVER_TYPES) {
+            for (FeedbackParticipantType recipientType : RECIPIENT_TYPES) {
+                // the giver is not a type that responses are shown to
+                for (List<FeedbackParticipantType> showResponsesTo : getSubsets(1, VISIBILITY_TYPES.length)) {
+                    FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+                    question.setId(giverType + "-" + recipientType + "-" + showResponsesTo);
+                    question.giverType = giverType;
+                    question.recipientType = recipientType;
+                    question.showResponsesTo = showResponsesTo;
+                    questions.add(question);
+                }
+            }
+        }
+        return questions;
+    }
+
+    /**
+     * @return comments following the visibility of their question and comments of every visibility,
+     *         by the user and by an instructor
+     */
+    private static List<FeedbackResponseCommentAttributes> getComments() {
+        List<FeedbackResponseCommentAttributes> comments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (String giverEmail : new String[] { USER, INSTRUCTOR }) {
+            FeedbackResponseCommentAttributes followingQuestion = new FeedbackResponseCommentAttributes();
+            followingQuestion.giverEmail = giverEmail;
+            followingQuestion.isVisibilityFollowingFeedbackQuestion = true;
+            comments.add(followingQuestion);
+
+            for (List<FeedbackParticipantType> showCommentTo : getSubsets(0, VISIBILITY_TYPES.length)) {
+                FeedbackResponseCommentAttributes comment = new FeedbackResponseCommentAttributes();
+                comment.giverEmail = giverEmail;
+                comment.isVisibilityFollowingFeedbackQuestion = false;
+                comment.showCommentTo = showCommentTo;
+                comments.add(comment);
+            }
+        }
+        return comments;
+    }
+
+    /**
+     * @return all the subsets of {@link #VISIBILITY_TYPES} from index {@code from} to index {@code to}
+     */
+    private static List<List<FeedbackParticipantType>> getSubsets(int from, int to) {
+        List<List<FeedbackParticipantType>> subsets = new ArrayList<List<FeedbackParticipantType>>();
+        for (int bits = 0; bits < 1 << to - from; bits++) {
+            List<FeedbackParticipantType> subset = new ArrayList<FeedbackParticipantType>();
+            for (int i = from; i < to; i++) {
+                if ((bits & 1 << i - from) != 0) {
+                    subset.add(VISIBILITY_TYPES[i]);
+                }
+            }
+            subsets.add(subset);
+        }
+        return subsets;
+    }
+
+    private static String getDescription(FeedbackResponseCommentAttributes comment) {
+        return "by " + comment.giverEmail + " visible to "
+               + (comment.isVisibilityFollowingFeedbackQuestion ? "question's viewers" : comment.showCommentTo);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
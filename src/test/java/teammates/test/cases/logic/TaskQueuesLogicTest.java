@@ -0,0 +1,82 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.logic.core.TaskQueuesLogic;
+import teammates.test.cases.BaseComponentTestCase;
+
+import com.google.appengine.api.taskqueue.QueueConstants;
+import com.google.appengine.api.taskqueue.TaskOptions;
+import com.google.appengine.api.taskqueue.dev.LocalTaskQueue;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
+
+/**
+ * SUT: {@link TaskQueuesLogic}
+ */
+public class TaskQueuesLogicTest extends BaseComponentTestCase {
+    
+    private static final TaskQueuesLogic taskQueuesLogic = TaskQueuesLogic.inst();
+    
+    // a pull queue, whose tasks stay in the queue to be counted
+    private static final String QUEUE_NAME = SystemParams.PENDING_EMAIL_TASK_QUEUE;
+    
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+    
+    @Test
+    public void testAddTasks() {
+        LocalTaskQueue localTaskQueue = LocalTaskQueueTestConfig.getLocalTaskQueue();
+        localTaskQueue.flushQueue(QUEUE_NAME);
+        int batchSize = QueueConstants.maxTasksPerAdd();
+        
+        ______TS("no tasks");
+        
+        taskQueuesLogic.addTasks(QUEUE_NAME, new ArrayList<TaskOptions>());
+        assertEquals(0, getNumberOfTasks(localTaskQueue));
+        
+        ______TS("tasks fitting in one batch");
+        
+        taskQueuesLogic.addTasks(QUEUE_NAME, createTasks(batchSize));
+        assertEquals(batchSize, getNumberOfTasks(localTaskQueue));
+        
+        ______TS("tasks spanning several batches, the last of which is not full");
+        
+        localTaskQueue.flushQueue(QUEUE_NAME);
+        int numberOfTasks = 2 * batchSize + batchSize / 2;
+        taskQueuesLogic.addTasks(QUEUE_NAME, createTasks(numberOfTasks));
+        assertEquals(numberOfTasks, getNumberOfTasks(localTaskQueue));
+        
+        localTaskQueue.flushQueue(QUEUE_NAME);
+    }
+    
+    private List<TaskOptions> createTasks(int numberOfTasks) {
+        List<TaskOptions> tasks = new ArrayList<TaskOptions>();
+        for (int i = 0; i < numberOfTasks; i++) {
+            Map<String, String[]> paramMap = new HashMap<String, String[]>();
+            paramMap.put(ParamsNames.EMAIL_RECEIVER, new String[] { "recipient" + i + "@email.com" });
+            tasks.add(taskQueuesLogic.createPullTaskMultisetParam(paramMap));
+        }
+        return tasks;
+    }
+    
+    private static int getNumberOfTasks(LocalTaskQueue localTaskQueue) {
+        return localTaskQueue.getQueueStateInfo().get(QUEUE_NAME).getCountTasks();
+    }
+    
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+    
+}
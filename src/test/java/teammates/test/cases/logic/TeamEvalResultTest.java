@@ -6,6 +6,7 @@ import static teammates.logic.core.TeamEvalResult.NSB;
 import static teammates.logic.core.TeamEvalResult.NSU;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -290,6 +291,29 @@ public class TeamEvalResultTest extends BaseTestCase {
         verifyCalculatePoints(input11, expected11);
     }
 
+    @Test
+    public void testCalculatePoints_sameAsHelpersForRandomTeams() {
+        Random random = new Random(2016);
+        int[] specialValues = { NSB, NSU, NA };
+        for (int run = 0; run < 5000; run++) {
+            int teamSize = 1 + random.nextInt(run % 10 == 0 ? 50 : 8);
+            int[][] input = new int[teamSize][teamSize];
+            for (int i = 0; i < teamSize; i++) {
+                // some students did not submit or are not sure at all, others gave a mix of points
+                boolean isSpecialRow = random.nextInt(6) == 0;
+                int specialValueOfRow = specialValues[random.nextInt(2)];
+                for (int j = 0; j < teamSize; j++) {
+                    input[i][j] = isSpecialRow ? specialValueOfRow
+                                : random.nextInt(5) == 0 ? specialValues[random.nextInt(3)]
+                                : random.nextInt(201);
+                }
+            }
+            
+            TeamEvalResult result = new TeamEvalResult(input);
+            assertEquals(Arrays.deepToString(input), calculatePointsWithHelpers(input), getPoints(result));
+        }
+    }
+    
     @Test
     public void testNormalizeValues() {
         
@@ -481,6 +505,76 @@ public class TeamEvalResultTest extends BaseTestCase {
         assertEquals(TeamEvalResult.pointsToString(expected), actual);
     }
     
+    private static String getPoints(TeamEvalResult result) {
+        return Arrays.deepToString(result.normalizedClaimed)
+               + Arrays.deepToString(result.normalizedPeerContributionRatio)
+               + Arrays.toString(result.normalizedAveragePerceived)
+               + Arrays.deepToString(result.denormalizedAveragePerceived);
+    }
+    
+    /**
+     * Calculates the points of {@link TeamEvalResult} step by step with its public helper methods.
+     * @return the points in the format of {@link #getPoints(TeamEvalResult)}
+     */
+    private static String calculatePointsWithHelpers(int[][] input) {
+        int teamSize = input.length;
+        int[][] normalizedClaimed = TeamEvalResult.normalizeValues(input);
+        
+        int[][] claimedSanitized = new int[teamSize][teamSize];
+        double[][] claimedSanitizedNormalized = new double[teamSize][];
+        for (int i = 0; i < teamSize; i++) {
+            for (int j = 0; j < teamSize; j++) {
+                boolean isPointsGiven = input[i][j] != NSB && input[i][j] != NSU;
+                claimedSanitized[i][j] = isPointsGiven ? input[i][j] : NA;
+            }
+            claimedSanitizedNormalized[i] = TeamEvalResult.normalizeValues(claimedSanitized[i]);
+        }
+        
+        double[][] peerContributionRatio = TeamEvalResult.removeSelfRatings(claimedSanitizedNormalized);
+        for (int i = 0; i < teamSize; i++) {
+            peerContributionRatio[i] = TeamEvalResult.normalizeValues(peerContributionRatio[i]);
+        }
+        
+        double[] averagePerceived = TeamEvalResult.averageColumns(peerContributionRatio);
+        double[] normalizedAveragePerceived = TeamEvalResult.normalizeValues(averagePerceived);
+        
+        // the factor that normalizes the average perceived values
+        double actualSum = 0;
+        int count = 0;
+        for (double value : averagePerceived) {
+            int valueAsInt = (int) value;
+            if (valueAsInt != NA && valueAsInt != NSU && valueAsInt != NSB) {
+                actualSum += value;
+                count++;
+            }
+        }
+        double factor = actualSum == 0 ? 0 : count * 100.0 / actualSum;
+        
+        int[][] normalizedPeerContributionRatio = new int[teamSize][teamSize];
+        int[][] denormalizedAveragePerceived = new int[teamSize][];
+        for (int i = 0; i < teamSize; i++) {
+            for (int j = 0; j < teamSize; j++) {
+                double value = peerContributionRatio[i][j];
+                int valueAsInt = (int) value;
+                boolean isSpecialValue = valueAsInt == NA || valueAsInt == NSU || valueAsInt == NSB;
+                normalizedPeerContributionRatio[i][j] =
+                        (int) Math.round(isSpecialValue || factor == 0 ? value : value * factor);
+            }
+            denormalizedAveragePerceived[i] =
+                    TeamEvalResult.calculatePerceivedForStudent(claimedSanitized[i], normalizedAveragePerceived);
+        }
+        
+        int[] normalizedAveragePerceivedAsInt = new int[teamSize];
+        for (int i = 0; i < teamSize; i++) {
+            normalizedAveragePerceivedAsInt[i] = (int) Math.round(normalizedAveragePerceived[i]);
+        }
+        
+        return Arrays.deepToString(normalizedClaimed)
+               + Arrays.deepToString(normalizedPeerContributionRatio)
+               + Arrays.toString(normalizedAveragePerceivedAsInt)
+               + Arrays.deepToString(denormalizedAveragePerceived);
+    }
+    
     private void verifyPurgeValuesCorrespondingToSpecialValuesInFilter(
             double[] expected, double[] filterArray, double[] valueArray) {
         assertEquals(Arrays.toString(expected),
@@ -0,0 +1,91 @@
+package teammates.test.cases.logic;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.logic.core.UserRolesCache;
+import teammates.logic.core.UserRolesCache.Reservation;
+import teammates.logic.core.UserRolesCache.UserRoles;
+import teammates.test.cases.BaseComponentTestCase;
+
+import com.google.appengine.api.memcache.MemcacheService;
+import com.google.appengine.api.memcache.MemcacheServiceFactory;
+
+/**
+ * SUT: {@link UserRolesCache}
+ */
+public class UserRolesCacheTest extends BaseComponentTestCase {
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testPutAndInvalidate() {
+        AccountAttributes account = new AccountAttributes("user.id", "User Name", true, "user@email.tmt", "NUS");
+
+        ______TS("roles cached when put with a reservation still in place");
+
+        assertNull(UserRolesCache.get("user.id"));
+        UserRolesCache.put(UserRolesCache.reserve("user.id"), account, false);
+        UserRoles roles = UserRolesCache.get("user.id");
+        assertEquals("User Name", roles.getAccount().name);
+        assertTrue(roles.isInstructor());
+        assertFalse(roles.isStudent());
+
+        ______TS("roles invalidated");
+
+        UserRolesCache.invalidate("user.id");
+        assertNull(UserRolesCache.get("user.id"));
+
+        ______TS("roles not cached if invalidated while they were being read");
+
+        Reservation reservation = UserRolesCache.reserve("user.id");
+        assertNull(UserRolesCache.get("user.id"));
+        UserRolesCache.invalidate("user.id");
+        roles = UserRolesCache.put(reservation, account, true);
+        assertTrue(roles.isStudent());
+        assertNull(UserRolesCache.get("user.id"));
+
+        ______TS("no roles cached for a user without an account");
+
+        UserRolesCache.put(UserRolesCache.reserve("unregistered.id"), null, true);
+        assertNull(UserRolesCache.get("unregistered.id").getAccount());
+        assertTrue(UserRolesCache.get("unregistered.id").isStudent());
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        MemcacheService otherMemcache = MemcacheServiceFactory.getMemcacheService();
+        otherMemcache.put("other.key", "other value");
+        AccountAttributes account = new AccountAttributes("user.id", "User Name", false, "user@email.tmt", "NUS");
+        UserRolesCache.put(UserRolesCache.reserve("user.id"), account, true);
+        Reservation reservation = UserRolesCache.reserve("user2.id");
+
+        ______TS("roles of all users invalidated, the rest of memcache kept");
+
+        UserRolesCache.invalidateAll();
+        assertNull(UserRolesCache.get("user.id"));
+        assertEquals("other value", otherMemcache.get("other.key"));
+
+        ______TS("roles read before the invalidation not cached");
+
+        UserRolesCache.put(reservation, account, true);
+        assertNull(UserRolesCache.get("user2.id"));
+
+        ______TS("roles cached again afterwards");
+
+        UserRolesCache.put(UserRolesCache.reserve("user.id"), account, true);
+        assertTrue(UserRolesCache.get("user.id").isStudent());
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        UserRolesCache.invalidateAll();
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,79 @@
+package teammates.test.cases.storage;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActionStats;
+import teammates.storage.api.ActionStatsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class ActionStatsDbTest extends BaseComponentTestCase {
+
+    private static final long PERIOD_END = 1000000;
+
+    private ActionStatsDb actionStatsDb = new ActionStatsDb();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testCreateGetAndDeleteActionStats() {
+        actionStatsDb.deleteActionStatsOlderThan(Long.MAX_VALUE);
+
+        ActionStats homePageStats = new ActionStats("InstructorHomePageAction", "ShowPageResult");
+        homePageStats.record(5, 1000);
+        homePageStats.record(50, 2000);
+        homePageStats.record(500, 3000);
+        ActionStats ajaxStats = new ActionStats("InstructorHomePageAction", "AjaxResult");
+        ajaxStats.record(20, 100);
+
+        ______TS("stats of a period kept and read back with their histograms");
+
+        actionStatsDb.createActionStats(Arrays.asList(homePageStats, ajaxStats), PERIOD_END);
+        List<ActionStats> statsList = actionStatsDb.getActionStats(PERIOD_END - 1, PERIOD_END);
+        assertEquals(2, statsList.size());
+
+        ActionStats readStats = getStats(statsList, homePageStats.getKey());
+        assertEquals(3, readStats.getCount());
+        assertEquals(500, readStats.getLatencies().getMaxValue());
+        assertEquals(555, readStats.getLatencies().getTotalValue());
+        assertEquals(homePageStats.getLatencyAtPercentile(50), readStats.getLatencyAtPercentile(50));
+        assertEquals(6000, readStats.getResponseSizes().getTotalValue());
+        assertEquals(1, getStats(statsList, ajaxStats.getKey()).getCount());
+
+        ______TS("periods ending after the start and up to the end of the window");
+
+        actionStatsDb.createActionStats(Arrays.asList(ajaxStats), PERIOD_END + 100);
+        assertEquals(1, actionStatsDb.getActionStats(PERIOD_END, PERIOD_END + 100).size());
+        assertEquals(3, actionStatsDb.getActionStats(PERIOD_END - 1, PERIOD_END + 100).size());
+        assertEquals(2, actionStatsDb.getActionStats(PERIOD_END - 1, PERIOD_END + 99).size());
+
+        ______TS("periods ending before a time deleted");
+
+        assertEquals(2, actionStatsDb.deleteActionStatsOlderThan(PERIOD_END + 1));
+        assertEquals(0, actionStatsDb.deleteActionStatsOlderThan(PERIOD_END + 1));
+        assertEquals(1, actionStatsDb.getActionStats(0, Long.MAX_VALUE).size());
+        assertEquals(1, actionStatsDb.deleteActionStatsOlderThan(Long.MAX_VALUE));
+    }
+
+    private static ActionStats getStats(List<ActionStats> statsList, String key) {
+        for (ActionStats stats : statsList) {
+            if (stats.getKey().equals(key)) {
+                return stats;
+            }
+        }
+        return null;
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,115 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseChangeFeedPage;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.util.Const;
+import teammates.storage.api.CourseChangeFeedDb;
+import teammates.storage.api.InstructorsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class CourseChangeFeedDbTest extends BaseComponentTestCase {
+
+    private static final long BUCKET = CourseChangeFeedDb.TIME_BUCKET_MILLIS;
+
+    /** A time at the start of a time bucket, far enough from other tests' modifications */
+    private static final long BASE_TIME = 1000 * BUCKET;
+
+    private CourseChangeFeedDb courseChangeFeedDb = new CourseChangeFeedDb();
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testRecordAndGetCourseModifications() {
+        courseChangeFeedDb.deleteCourseModificationsBefore(BASE_TIME + 10 * BUCKET);
+        courseChangeFeedDb.clearRecordedTimeBuckets();
+
+        ______TS("modifications of a course in the same bucket are recorded once");
+        courseChangeFeedDb.recordCourseModification("CCFDbT.course1", BASE_TIME);
+        courseChangeFeedDb.recordCourseModification("CCFDbT.course1", BASE_TIME + BUCKET - 1);
+        courseChangeFeedDb.recordCourseModification("CCFDbT.course2", BASE_TIME + 1);
+        courseChangeFeedDb.recordCourseModification("CCFDbT.course1", BASE_TIME + 2 * BUCKET);
+        courseChangeFeedDb.recordCourseModification("CCFDbT.course3", BASE_TIME + 5 * BUCKET);
+
+        CourseChangeFeedPage page =
+                courseChangeFeedDb.getCourseModifications(BASE_TIME, BASE_TIME + 5 * BUCKET, null, 10);
+        assertEquals("[CCFDbT.course1, CCFDbT.course2, CCFDbT.course3]", page.getCourseIds().toString());
+        assertFalse(page.hasNextPage());
+
+        ______TS("window is widened to whole time buckets");
+        page = courseChangeFeedDb.getCourseModifications(BASE_TIME + BUCKET - 1, BASE_TIME + 2 * BUCKET + 1, null, 10);
+        assertEquals("[CCFDbT.course1, CCFDbT.course2]", page.getCourseIds().toString());
+
+        page = courseChangeFeedDb.getCourseModifications(BASE_TIME + BUCKET, BASE_TIME + 4 * BUCKET, null, 10);
+        assertEquals("[CCFDbT.course1]", page.getCourseIds().toString());
+
+        ______TS("window read in pages");
+        List<String> courseIds = new ArrayList<String>();
+        String cursor = null;
+        int numberOfPages = 0;
+        do {
+            page = courseChangeFeedDb.getCourseModifications(BASE_TIME, BASE_TIME + 5 * BUCKET, cursor, 2);
+            courseIds.addAll(page.getCourseIds());
+            cursor = page.getNextCursor();
+            numberOfPages++;
+        } while (page.hasNextPage());
+        assertEquals("[CCFDbT.course1, CCFDbT.course2, CCFDbT.course1, CCFDbT.course3]", courseIds.toString());
+        assertEquals(3, numberOfPages);
+
+        ______TS("entries before a time deleted");
+        assertEquals(3, courseChangeFeedDb.deleteCourseModificationsBefore(BASE_TIME + 3 * BUCKET));
+        page = courseChangeFeedDb.getCourseModifications(BASE_TIME, BASE_TIME + 5 * BUCKET, null, 10);
+        assertEquals("[CCFDbT.course3]", page.getCourseIds().toString());
+
+        courseChangeFeedDb.deleteCourseModificationsBefore(BASE_TIME + 10 * BUCKET);
+        courseChangeFeedDb.clearRecordedTimeBuckets();
+    }
+
+    @Test
+    public void testCourseModificationRecordedByCourseScopedDelete() throws Exception {
+        InstructorsDb instructorsDb = new InstructorsDb();
+        String role = Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER;
+        InstructorAttributes instructor = new InstructorAttributes(
+                "CCFDbT.instr", "CCFDbT.deletedCourse", "Instructor", "instr@ccfdbt.tmt", role,
+                InstructorAttributes.DEFAULT_DISPLAY_NAME, new InstructorPrivileges(role));
+        instructorsDb.deleteEntity(instructor);
+        instructorsDb.createEntity(instructor);
+
+        long now = System.currentTimeMillis();
+        courseChangeFeedDb.deleteCourseModificationsBefore(now + 2 * BUCKET);
+        courseChangeFeedDb.clearRecordedTimeBuckets();
+
+        ______TS("deleting the entities of a course records the course in the feed");
+        assertEquals(1, instructorsDb.deleteInstructorsForCourseInBatch("CCFDbT.deletedCourse", 10)
+                .getNumberOfEntitiesDeleted());
+
+        CourseChangeFeedPage page =
+                courseChangeFeedDb.getCourseModifications(now, System.currentTimeMillis(), null, 10);
+        assertEquals("[CCFDbT.deletedCourse]", page.getCourseIds().toString());
+
+        ______TS("nothing recorded if there is nothing to delete");
+        courseChangeFeedDb.deleteCourseModificationsBefore(System.currentTimeMillis() + 2 * BUCKET);
+        courseChangeFeedDb.clearRecordedTimeBuckets();
+        assertEquals(0, instructorsDb.deleteInstructorsForCourseInBatch("CCFDbT.deletedCourse", 10)
+                .getNumberOfEntitiesDeleted());
+
+        page = courseChangeFeedDb.getCourseModifications(now, System.currentTimeMillis(), null, 10);
+        assertTrue(page.getCourseIds().isEmpty());
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
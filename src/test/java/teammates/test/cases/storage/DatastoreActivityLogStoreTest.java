@@ -0,0 +1,128 @@
+package teammates.test.cases.storage;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.ActivityLogRecord;
+import teammates.common.util.ActivityLogStoreQuery;
+import teammates.storage.api.DatastoreActivityLogStore;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class DatastoreActivityLogStoreTest extends BaseComponentTestCase {
+
+    private DatastoreActivityLogStore store = new DatastoreActivityLogStore();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testAppendQueryAndDelete() {
+        store.deleteOlderThan(Long.MAX_VALUE);
+        appendTypicalRecords();
+
+        ______TS("time period only");
+
+        List<ActivityLogRecord> records = store.query(new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100));
+        assertEquals(7, records.size());
+        assertEquals(1600, records.get(0).getTime());
+        assertEquals(1000, records.get(6).getTime());
+
+        records = store.query(new ActivityLogStoreQuery(1100, 1400, 2));
+        assertEquals(2, records.size());
+        assertEquals(1400, records.get(0).getTime());
+        assertEquals(1300, records.get(1).getTime());
+
+        ______TS("person, matching Google ID, email or name ignoring case");
+
+        ActivityLogStoreQuery query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setPerson("Alice.B@gmail.tmt");
+        records = store.query(query);
+        assertEquals(3, records.size());
+        assertEquals(1500, records.get(0).getTime());
+
+        query.setPerson("alice");
+        assertEquals(0, store.query(query).size());
+
+        ______TS("servlets, roles and course, the conditions other than the most selective checked on the records");
+
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setServletNames("instructorHomePage", "studentHomePage");
+        assertEquals(4, store.query(query).size());
+
+        query.setRoles("Student");
+        records = store.query(query);
+        assertEquals(2, records.size());
+        assertEquals("studentHomePage", records.get(0).getServletName());
+
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setCourseId("CS1101");
+        query.setPerson("alice.b");
+        records = store.query(query);
+        assertEquals(2, records.size());
+        assertEquals(1200, records.get(1).getTime());
+
+        ______TS("versions, not matching records of unknown versions");
+
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setVersions(Arrays.asList("5-1"));
+        records = store.query(query);
+        assertEquals(2, records.size());
+        assertEquals(1600, records.get(0).getTime());
+
+        query.setVersions(Arrays.asList("5-0", "5-1"));
+        assertEquals(6, store.query(query).size());
+
+        ______TS("records are read back as activity log entries");
+
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setCourseId("CS1101");
+        records = store.query(query);
+        ActivityLogEntry entry = new ActivityLogEntry(records.get(0).toAppLogLine());
+        assertEquals("instructorCourseDetailsPage", entry.getServletName());
+        assertEquals("Message with\nnew line\tand tab", entry.getMessageInfo());
+        assertEquals("5-1", records.get(0).getVersion());
+        assertNull(records.get(1).getVersion());
+
+        ______TS("records older than a time deleted");
+
+        assertEquals(4, store.deleteOlderThan(1400));
+        records = store.query(new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100));
+        assertEquals(3, records.size());
+        assertEquals(1400, records.get(2).getTime());
+
+        assertEquals(0, store.deleteOlderThan(1400));
+        assertEquals(3, store.deleteOlderThan(Long.MAX_VALUE));
+    }
+
+    private void appendTypicalRecords() {
+        store.append(createRecord(1000, "instructorHomePage", "Instructor", "alice.b", null, "5.0"));
+        store.append(createRecord(1100, "studentHomePage", "Student", "charlie.d", null, "5.0"));
+        store.append(createRecord(1200, "instructorCourseDetailsPage", "Instructor", "alice.b", "CS1101", null));
+        store.append(createRecord(1300, "studentHomePage", "Student", "charlie.d", null, "5.0"));
+        store.append(createRecord(1400, "adminHomePage", "Admin", "admin.e", null, "5.0"));
+        store.append(createRecord(1500, "instructorCourseDetailsPage", "Instructor(M)", "alice.b", "CS1101", "5.1"));
+        store.append(createRecord(1600, "instructorHomePage", "Admin", "admin.e", null, "5.1"));
+    }
+
+    private static ActivityLogRecord createRecord(long time, String servletName, String role, String googleId,
+                                                  String courseId, String version) {
+        String message = courseId == null ? "Page loaded" : "Message with\nnew line\tand tab";
+        String logMessage = "TEAMMATESLOG|||" + servletName + "|||" + servletName + "|||true|||" + role
+                          + "|||Name of " + googleId + "|||" + googleId + "|||" + googleId + "@gmail.tmt|||"
+                          + message + "|||/page/" + servletName + "|||" + googleId + "%" + time + "|||25";
+        return new ActivityLogRecord(time, logMessage, courseId, version);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
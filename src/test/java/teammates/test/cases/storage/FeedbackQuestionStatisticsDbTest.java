@@ -0,0 +1,235 @@
+package teammates.test.cases.storage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import javax.jdo.PersistenceManager;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.BatchDeletionResult;
+import teammates.common.datatransfer.FeedbackQuestionStatisticsAggregate;
+import teammates.storage.api.FeedbackQuestionStatisticsDb;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackQuestionStatistics;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link FeedbackQuestionStatisticsDb}
+ */
+public class FeedbackQuestionStatisticsDbTest extends BaseComponentTestCase {
+
+    private static final String QUESTION_ID = "FQSDbT.question";
+    private static final String COURSE_ID = "FQSDbT.course";
+    private static final String SESSION_NAME = "FQSDbT session";
+
+    private FeedbackQuestionStatisticsDb fqStatisticsDb = new FeedbackQuestionStatisticsDb();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @BeforeMethod
+    public void methodSetUp() {
+        fqStatisticsDb.deleteAggregate(QUESTION_ID);
+        fqStatisticsDb.deleteAggregate(QUESTION_ID + "2");
+    }
+
+    @Test
+    public void testFoldContributions() {
+        ______TS("aggregate created from the responses folded");
+
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r1", createContribution("A", 100), "r2", createContribution("B", 100))));
+
+        assertEquals(createAggregate("A", "B"), fqStatisticsDb.getAggregate(QUESTION_ID));
+        assertEquals(new HashSet<String>(Arrays.asList("r1", "r2")), fqStatisticsDb.getFoldedResponseIds(QUESTION_ID));
+        assertFalse(fqStatisticsDb.hasReconciledAggregate(QUESTION_ID));
+
+        ______TS("response folded again: its counts replace those folded before");
+
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r1", createContribution("C", 200))));
+        assertEquals(createAggregate("B", "C"), fqStatisticsDb.getAggregate(QUESTION_ID));
+
+        ______TS("same version folded again, as when a fold is retried: nothing counted twice");
+
+        long versionBefore = fqStatisticsDb.getAggregate(QUESTION_ID).getVersion();
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r1", createContribution("C", 200), "r2", createContribution("B", 100))));
+        FeedbackQuestionStatisticsAggregate aggregate = fqStatisticsDb.getAggregate(QUESTION_ID);
+        assertEquals(createAggregate("B", "C"), aggregate);
+        assertTrue(aggregate.getVersion() > versionBefore);
+
+        ______TS("older version of a response not folded after a later one");
+
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r1", createContribution("A", 150))));
+        assertEquals(createAggregate("B", "C"), fqStatisticsDb.getAggregate(QUESTION_ID));
+
+        ______TS("response deleted: its counts taken back, and not folded again from an older version");
+
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r2", createDeletion(300))));
+        assertEquals(createAggregate("C"), fqStatisticsDb.getAggregate(QUESTION_ID));
+
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r2", createContribution("B", 100))));
+        assertEquals(createAggregate("C"), fqStatisticsDb.getAggregate(QUESTION_ID));
+        assertEquals(new HashSet<String>(Arrays.asList("r1", "r2")), fqStatisticsDb.getFoldedResponseIds(QUESTION_ID));
+
+        ______TS("response deleted before it is folded: nothing counted or kept");
+
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r3", createDeletion(300))));
+        assertEquals(createAggregate("C"), fqStatisticsDb.getAggregate(QUESTION_ID));
+        assertFalse(fqStatisticsDb.getFoldedResponseIds(QUESTION_ID).contains("r3"));
+    }
+
+    @Test
+    public void testFoldContributions_negativeCounts() {
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r1", createContribution("A", 100), "r2", createContribution("B", 100))));
+
+        ______TS("aggregate with negative counts created again from the markers");
+
+        // the aggregate drifts, e.g. by a change made directly to the datastore
+        setStatistics(QUESTION_ID, new FeedbackQuestionStatisticsAggregate());
+
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r1", createContribution("C", 200))));
+
+        FeedbackQuestionStatisticsAggregate aggregate = fqStatisticsDb.getAggregate(QUESTION_ID);
+        assertFalse(aggregate.hasNegativeCounts());
+        assertEquals(createAggregate("B", "C"), aggregate);
+    }
+
+    @Test
+    public void testReconcileAggregateWithMarkers() {
+        ______TS("aggregate created from the markers if there is none");
+
+        assertTrue(fqStatisticsDb.reconcileAggregateWithMarkers(QUESTION_ID, COURSE_ID, SESSION_NAME));
+        assertEquals(new FeedbackQuestionStatisticsAggregate(), fqStatisticsDb.getAggregate(QUESTION_ID));
+        assertTrue(fqStatisticsDb.hasReconciledAggregate(QUESTION_ID));
+
+        ______TS("aggregate which drifted replaced with the sum of the markers");
+
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r1", createContribution("A", 100), "r2", createContribution("B", 100))));
+        setStatistics(QUESTION_ID, createAggregate("A", "A", "A"));
+
+        long versionBefore = fqStatisticsDb.getAggregate(QUESTION_ID).getVersion();
+        assertTrue(fqStatisticsDb.reconcileAggregateWithMarkers(QUESTION_ID, COURSE_ID, SESSION_NAME));
+        FeedbackQuestionStatisticsAggregate aggregate = fqStatisticsDb.getAggregate(QUESTION_ID);
+        assertEquals(createAggregate("A", "B"), aggregate);
+        assertTrue(aggregate.getVersion() > versionBefore);
+
+        ______TS("aggregate which is correct kept as it is");
+
+        assertTrue(fqStatisticsDb.reconcileAggregateWithMarkers(QUESTION_ID, COURSE_ID, SESSION_NAME));
+        assertEquals(aggregate.getVersion(), fqStatisticsDb.getAggregate(QUESTION_ID).getVersion());
+    }
+
+    @Test
+    public void testGetAggregatesForSession() {
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r1", createContribution("A", 100))));
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID + "2", COURSE_ID, SESSION_NAME,
+                contributions("r2", createContribution("B", 100))));
+
+        ______TS("aggregates not reconciled yet not given, as they may miss responses");
+
+        assertTrue(fqStatisticsDb.getAggregatesForSession(COURSE_ID, SESSION_NAME).isEmpty());
+
+        ______TS("aggregates reconciled given");
+
+        assertTrue(fqStatisticsDb.reconcileAggregateWithMarkers(QUESTION_ID, COURSE_ID, SESSION_NAME));
+        Map<String, FeedbackQuestionStatisticsAggregate> aggregates =
+                fqStatisticsDb.getAggregatesForSession(COURSE_ID, SESSION_NAME);
+        assertEquals(1, aggregates.size());
+        assertEquals(createAggregate("A"), aggregates.get(QUESTION_ID));
+    }
+
+    @Test
+    public void testDeleteAggregates() {
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID, COURSE_ID, SESSION_NAME,
+                contributions("r1", createContribution("A", 100))));
+        assertTrue(fqStatisticsDb.foldContributions(QUESTION_ID + "2", COURSE_ID, SESSION_NAME,
+                contributions("r2", createContribution("B", 100), "r3", createContribution("B", 100))));
+
+        ______TS("aggregate deleted with its markers");
+
+        fqStatisticsDb.deleteAggregate(QUESTION_ID);
+        assertNull(fqStatisticsDb.getAggregate(QUESTION_ID));
+        assertTrue(fqStatisticsDb.getFoldedResponseIds(QUESTION_ID).isEmpty());
+
+        ______TS("aggregates of the course deleted in batches, the markers first");
+
+        BatchDeletionResult result = fqStatisticsDb.deleteAggregatesForCourseInBatch(COURSE_ID, 2);
+        assertEquals(2, result.getNumberOfEntitiesDeleted());
+        assertFalse(result.isLastBatch());
+        assertNotNull(fqStatisticsDb.getAggregate(QUESTION_ID + "2"));
+        assertTrue(fqStatisticsDb.getFoldedResponseIds(QUESTION_ID + "2").isEmpty());
+
+        result = fqStatisticsDb.deleteAggregatesForCourseInBatch(COURSE_ID, 2);
+        assertEquals(1, result.getNumberOfEntitiesDeleted());
+        assertTrue(result.isLastBatch());
+        assertNull(fqStatisticsDb.getAggregate(QUESTION_ID + "2"));
+
+        result = fqStatisticsDb.deleteAggregatesForCourseInBatch(COURSE_ID, 2);
+        assertEquals(0, result.getNumberOfEntitiesDeleted());
+        assertTrue(result.isLastBatch());
+    }
+
+    private static Map<String, FeedbackQuestionStatisticsAggregate> contributions(Object... responseIdsAndCounts) {
+        Map<String, FeedbackQuestionStatisticsAggregate> contributions =
+                new HashMap<String, FeedbackQuestionStatisticsAggregate>();
+        for (int i = 0; i < responseIdsAndCounts.length; i += 2) {
+            contributions.put((String) responseIdsAndCounts[i],
+                              (FeedbackQuestionStatisticsAggregate) responseIdsAndCounts[i + 1]);
+        }
+        return contributions;
+    }
+
+    private static FeedbackQuestionStatisticsAggregate createContribution(String answer, long version) {
+        FeedbackQuestionStatisticsAggregate contribution = createAggregate(answer);
+        contribution.setVersion(version);
+        return contribution;
+    }
+
+    private static FeedbackQuestionStatisticsAggregate createDeletion(long version) {
+        FeedbackQuestionStatisticsAggregate deletion = new FeedbackQuestionStatisticsAggregate();
+        deletion.setVersion(version);
+        return deletion;
+    }
+
+    private static FeedbackQuestionStatisticsAggregate createAggregate(String... answers) {
+        FeedbackQuestionStatisticsAggregate aggregate = new FeedbackQuestionStatisticsAggregate();
+        for (String answer : answers) {
+            aggregate.count("answer", answer, 1);
+            aggregate.countResponses(1);
+        }
+        return aggregate;
+    }
+
+    private static void setStatistics(String feedbackQuestionId, FeedbackQuestionStatisticsAggregate aggregate) {
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        try {
+            pm.getObjectById(FeedbackQuestionStatistics.class, feedbackQuestionId).setStatistics(aggregate.toJson());
+        } finally {
+            pm.close();
+        }
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
@@ -1,17 +1,27 @@
 package teammates.test.cases.storage;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.BatchDeletionResult;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseConsumer;
 import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackResponsesPage;
 import teammates.common.datatransfer.FeedbackTextResponseDetails;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -19,12 +29,18 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackResponse;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 
 public class FeedbackResponsesDbTest extends BaseComponentTestCase {
     
     private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+    // the responses in a section are read by their sections, and by merging those from and to the section
+    private static final FeedbackResponsesDb[] frDbsOfEachSectionsQuery = {
+            new FeedbackResponsesDb(true), new FeedbackResponsesDb(false)
+    };
     private static DataBundle dataBundle = getTypicalDataBundle();
     private static HashMap<String, FeedbackResponseAttributes> fras;
     
@@ -150,6 +166,53 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
     }
 
+    @Test
+    public void testSectionsOfResponse() throws Exception {
+        
+        FeedbackResponseAttributes fra = getNewFeedbackResponseAttributes();
+        fra.giverSection = "Section A";
+        fra.recipientSection = "Section B";
+        frDb.deleteEntity(fra);
+        
+        ______TS("created: sections of the giver and the recipient");
+        
+        frDb.createEntity(fra);
+        FeedbackResponse entity = frDb.getFeedbackResponseEntityWithCheck(fra.feedbackQuestionId, fra.giver,
+                                                                           fra.recipient);
+        assertEquals(Arrays.asList("Section A", "Section B"), entity.getSections());
+        assertTrue(entity.hasSectionsUpdated());
+        fra.setId(entity.getId());
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            assertEquals(1, getResponseIdsInSection(sectionsFrDb, fra, "Section A").size());
+            assertEquals(1, getResponseIdsInSection(sectionsFrDb, fra, "Section B").size());
+        }
+        
+        ______TS("updated to the same section: section listed once");
+        
+        fra.recipientSection = "Section A";
+        frDb.updateFeedbackResponse(fra);
+        entity = frDb.getFeedbackResponseEntityWithCheck(fra.getId());
+        assertEquals(Arrays.asList("Section A"), entity.getSections());
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            assertEquals(1, getResponseIdsInSection(sectionsFrDb, fra, "Section A").size());
+            assertTrue(getResponseIdsInSection(sectionsFrDb, fra, "Section B").isEmpty());
+        }
+        
+        frDb.deleteEntity(fra);
+    }
+    
+    private List<String> getResponseIdsInSection(FeedbackResponsesDb sectionsFrDb, FeedbackResponseAttributes fra,
+                                                 String section) {
+        List<String> responseIds = new ArrayList<String>();
+        for (FeedbackResponseAttributes response
+                : sectionsFrDb.getFeedbackResponsesForSessionInSection(fra.feedbackSessionName, fra.courseId, section)) {
+            if (response.getId().equals(fra.getId())) {
+                responseIds.add(response.getId());
+            }
+        }
+        return responseIds;
+    }
+    
     @Test
     public void testGetFeedbackResponses() {
         
@@ -237,15 +300,21 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
         String questionId = fras.get("response1ForQ1S1C1").feedbackQuestionId;
         
-        List<FeedbackResponseAttributes> responses = frDb.getFeedbackResponsesForQuestionInSection(questionId, "Section 1");
-        
-        assertEquals(3, responses.size());
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            List<FeedbackResponseAttributes> responses =
+                    sectionsFrDb.getFeedbackResponsesForQuestionInSection(questionId, "Section 1");
+            
+            assertEquals(3, responses.size());
+        }
 
         ______TS("No responses as they are filtered out");
 
-        responses = frDb.getFeedbackResponsesForQuestionInSection(questionId, "Section 2");
-        
-        assertEquals(0, responses.size());
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            List<FeedbackResponseAttributes> responses =
+                    sectionsFrDb.getFeedbackResponsesForQuestionInSection(questionId, "Section 2");
+            
+            assertEquals(0, responses.size());
+        }
         
         ______TS("null params");
         
@@ -353,19 +422,23 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
         String questionId = fras.get("response1ForQ1S1C1").feedbackQuestionId;
         
-        List<FeedbackResponseAttributes> responses =
-                frDb.getFeedbackResponsesForReceiverForQuestionInSection(questionId,
-                        "student1InCourse1@gmail.tmt", "Section 1");
-        
-        assertEquals(1, responses.size());
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            List<FeedbackResponseAttributes> responses =
+                    sectionsFrDb.getFeedbackResponsesForReceiverForQuestionInSection(questionId,
+                            "student1InCourse1@gmail.tmt", "Section 1");
+            
+            assertEquals(1, responses.size());
+        }
 
         ______TS("No responses as they are filtered out");
         
-        responses =
-                frDb.getFeedbackResponsesForReceiverForQuestionInSection(questionId,
-                        "student1InCourse1@gmail.tmt", "Section 2");
-        
-        assertEquals(responses.size(), 0);
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            List<FeedbackResponseAttributes> responses =
+                    sectionsFrDb.getFeedbackResponsesForReceiverForQuestionInSection(questionId,
+                            "student1InCourse1@gmail.tmt", "Section 2");
+            
+            assertEquals(responses.size(), 0);
+        }
         
         ______TS("null params");
         
@@ -490,20 +563,24 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
         String questionId = fras.get("response1ForQ1S1C1").feedbackQuestionId;
         
-        List<FeedbackResponseAttributes> responses =
-                frDb.getFeedbackResponsesFromGiverForQuestionInSection(questionId,
-                        "student1InCourse1@gmail.tmt", "Section 1");
-        
-        assertEquals(responses.size(), 1);
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            List<FeedbackResponseAttributes> responses =
+                    sectionsFrDb.getFeedbackResponsesFromGiverForQuestionInSection(questionId,
+                            "student1InCourse1@gmail.tmt", "Section 1");
+            
+            assertEquals(responses.size(), 1);
+        }
         
         ______TS("No reponses as they are filtered out");
-
-        responses =
-                frDb.getFeedbackResponsesFromGiverForQuestionInSection(questionId,
-                        "student1InCourse1@gmail.tmt", "Section 2");
         
-        assertEquals(responses.size(), 0);
-
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            List<FeedbackResponseAttributes> responses =
+                    sectionsFrDb.getFeedbackResponsesFromGiverForQuestionInSection(questionId,
+                            "student1InCourse1@gmail.tmt", "Section 2");
+            
+            assertEquals(responses.size(), 0);
+        }
+        
         ______TS("null params");
         
         try {
@@ -630,10 +707,12 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         String courseId = fras.get("response1ForQ1S1C1").courseId;
         String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
         
-        List<FeedbackResponseAttributes> responses =
-                frDb.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, "Section 1");
-        
-        assertEquals(5, responses.size());
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            List<FeedbackResponseAttributes> responses =
+                    sectionsFrDb.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, "Section 1");
+            
+            assertEquals(5, responses.size());
+        }
         
         ______TS("null params");
         
@@ -821,6 +900,225 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
     }
     
+    @Test
+    public void testGetFeedbackResponsesForSessionPage() {
+        
+        ______TS("pages of the session, in order of response ID");
+        
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        
+        List<String> responseIds = new ArrayList<String>();
+        String cursor = null;
+        do {
+            FeedbackResponsesPage page = frDb.getFeedbackResponsesForSessionPage(feedbackSessionName, courseId,
+                                                                                 cursor, 2);
+            assertTrue(page.getResponses().size() <= 2);
+            for (FeedbackResponseAttributes response : page.getResponses()) {
+                responseIds.add(response.getId());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        List<String> expectedResponseIds =
+                getResponseIds(frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId));
+        Collections.sort(expectedResponseIds);
+        assertEquals(expectedResponseIds, responseIds);
+        
+        ______TS("for each response of the session and its sections");
+        
+        assertEquals(expectedResponseIds,
+                     getSortedResponseIdsForEachInSession(frDb, feedbackSessionName, courseId, null, 2));
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            List<String> expectedResponseIdsInSection = getSortedResponseIds(
+                    sectionsFrDb.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, "Section 1"));
+            assertEquals(expectedResponseIdsInSection,
+                         getSortedResponseIdsForEachInSession(sectionsFrDb, feedbackSessionName, courseId,
+                                                              "Section 1", 2));
+            assertEquals(expectedResponseIdsInSection,
+                         getSortedResponseIdsForEachInSession(sectionsFrDb, feedbackSessionName, courseId,
+                                                              "Section 1", 1));
+        }
+        
+        final List<FeedbackResponseAttributes> responsesFromSection = new ArrayList<FeedbackResponseAttributes>();
+        frDb.forEachFeedbackResponseInSessionFromSection(feedbackSessionName, courseId, "Section 1", 1,
+                new FeedbackResponseConsumer() {
+                    @Override
+                    public void accept(FeedbackResponseAttributes response) {
+                        responsesFromSection.add(response);
+                    }
+                });
+        assertEquals(getSortedResponseIds(
+                             frDb.getFeedbackResponsesForSessionFromSection(feedbackSessionName, courseId, "Section 1")),
+                     getResponseIds(responsesFromSection));
+        
+        final List<FeedbackResponseAttributes> responsesToSection = new ArrayList<FeedbackResponseAttributes>();
+        frDb.forEachFeedbackResponseInSessionToSection(feedbackSessionName, courseId, "Section 1", 1,
+                new FeedbackResponseConsumer() {
+                    @Override
+                    public void accept(FeedbackResponseAttributes response) {
+                        responsesToSection.add(response);
+                    }
+                });
+        assertEquals(getSortedResponseIds(
+                             frDb.getFeedbackResponsesForSessionToSection(feedbackSessionName, courseId, "Section 1")),
+                     getResponseIds(responsesToSection));
+        
+        ______TS("page of a non-existent session");
+        
+        FeedbackResponsesPage page = frDb.getFeedbackResponsesForSessionPage("non-existent feedback session",
+                                                                             courseId, null, 2);
+        assertTrue(page.getResponses().isEmpty());
+        assertFalse(page.hasNextPage());
+        
+        ______TS("null params");
+        
+        try {
+            frDb.getFeedbackResponsesForSessionPage(null, courseId, null, 2);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+        
+        try {
+            frDb.getFeedbackResponsesForSessionToSectionPage(feedbackSessionName, courseId, null, null, 2);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+    
+    @Test
+    public void testForEachFeedbackResponseInSession_manyPages() throws Exception {
+        // the paging of much larger sessions is measured by FeedbackResponsesPagingBenchmarkTest
+        String courseId = "FRDbT.largeCourse";
+        String feedbackSessionName = "Large session";
+        int numberOfResponses = 2000;
+        int numberOfQuestions = 10;
+        int numberOfSections = 4;
+        int pageSize = 150;
+        
+        ______TS("create a session with " + numberOfResponses + " responses");
+        
+        List<FeedbackResponseAttributes> responsesToCreate = new ArrayList<FeedbackResponseAttributes>();
+        for (int i = 0; i < numberOfResponses; i++) {
+            int giver = i / numberOfQuestions;
+            FeedbackResponseAttributes response = getNewFeedbackResponseAttributes();
+            response.courseId = courseId;
+            response.feedbackSessionName = feedbackSessionName;
+            response.feedbackQuestionId = "largeSessionQuestion" + i % numberOfQuestions;
+            response.giver = "giver" + giver + "@email.tmt";
+            response.giverSection = "Section " + giver % numberOfSections;
+            response.recipient = "recipient" + giver + "@email.tmt";
+            response.recipientSection = "Section " + (giver + 1) % numberOfSections;
+            responsesToCreate.add(response);
+        }
+        frDb.createFeedbackResponses(responsesToCreate);
+        
+        ______TS("each response passed once, a page at a time");
+        
+        final Set<String> responseIds = new HashSet<String>();
+        final int[] numberOfResponsesPassed = new int[1];
+        frDb.forEachFeedbackResponseInSession(feedbackSessionName, courseId, pageSize, new FeedbackResponseConsumer() {
+            @Override
+            public void accept(FeedbackResponseAttributes response) {
+                responseIds.add(response.getId());
+                numberOfResponsesPassed[0]++;
+            }
+        });
+        assertEquals(numberOfResponses, numberOfResponsesPassed[0]);
+        assertEquals(numberOfResponses, responseIds.size());
+        
+        ______TS("each response from or to a section passed once");
+        
+        for (FeedbackResponsesDb sectionsFrDb : frDbsOfEachSectionsQuery) {
+            final Set<String> responseIdsInSection = new HashSet<String>();
+            final int[] numberOfResponsesInSectionPassed = new int[1];
+            sectionsFrDb.forEachFeedbackResponseInSessionInSection(feedbackSessionName, courseId, "Section 0",
+                    pageSize, new FeedbackResponseConsumer() {
+                        @Override
+                        public void accept(FeedbackResponseAttributes response) {
+                            assertTrue("Section 0".equals(response.giverSection)
+                                       || "Section 0".equals(response.recipientSection));
+                            responseIdsInSection.add(response.getId());
+                            numberOfResponsesInSectionPassed[0]++;
+                        }
+                    });
+            // a quarter of the responses are from the section and another quarter are to it
+            assertEquals(numberOfResponses / 2, numberOfResponsesInSectionPassed[0]);
+            assertEquals(numberOfResponses / 2, responseIdsInSection.size());
+        }
+        
+        frDb.deleteFeedbackResponsesForCourse(courseId);
+    }
+    
+    @Test
+    public void testDeleteFeedbackResponsesForCourseInBatch_deletedResponsesReturned() throws Exception {
+        String courseId = "FRDbT.batchDeletionCourse";
+        int numberOfResponses = 5;
+        int batchSize = 2;
+        
+        List<FeedbackResponseAttributes> responsesToCreate = new ArrayList<FeedbackResponseAttributes>();
+        for (int i = 0; i < numberOfResponses; i++) {
+            FeedbackResponseAttributes response = getNewFeedbackResponseAttributes();
+            response.courseId = courseId;
+            response.giver = "giver" + i + "@email.tmt";
+            responsesToCreate.add(response);
+        }
+        frDb.createFeedbackResponses(responsesToCreate);
+        
+        ______TS("a full batch of already deleted responses does not end the deletion");
+        
+        // deleted without a flush, so that the next query of the course still returns them
+        PersistenceManager pm = Datastore.getPersistenceManager();
+        Query q = pm.newQuery(FeedbackResponse.class);
+        q.declareParameters("String courseIdParam");
+        q.setFilter("courseId == courseIdParam");
+        q.setRange(0, batchSize);
+        pm.deletePersistentAll((List<?>) q.execute(courseId));
+        
+        BatchDeletionResult result = frDb.deleteFeedbackResponsesForCourseInBatch(courseId, batchSize);
+        assertFalse(result.isLastBatch());
+        
+        ______TS("the rest of the responses deleted by the following batches");
+        
+        while (!result.isLastBatch()) {
+            result = frDb.deleteFeedbackResponsesForCourseInBatch(courseId, batchSize);
+        }
+        assertTrue(frDb.getFeedbackResponsesForCourse(courseId).isEmpty());
+    }
+    
+    private List<String> getSortedResponseIdsForEachInSession(FeedbackResponsesDb db, String feedbackSessionName,
+                                                              String courseId, String section, int pageSize) {
+        final List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        FeedbackResponseConsumer consumer = new FeedbackResponseConsumer() {
+            @Override
+            public void accept(FeedbackResponseAttributes response) {
+                responses.add(response);
+            }
+        };
+        if (section == null) {
+            db.forEachFeedbackResponseInSession(feedbackSessionName, courseId, pageSize, consumer);
+        } else {
+            db.forEachFeedbackResponseInSessionInSection(feedbackSessionName, courseId, section, pageSize, consumer);
+        }
+        return getSortedResponseIds(responses);
+    }
+    
+    private List<String> getSortedResponseIds(List<FeedbackResponseAttributes> responses) {
+        List<String> responseIds = getResponseIds(responses);
+        Collections.sort(responseIds);
+        return responseIds;
+    }
+    
+    private List<String> getResponseIds(List<FeedbackResponseAttributes> responses) {
+        List<String> responseIds = new ArrayList<String>();
+        for (FeedbackResponseAttributes response : responses) {
+            responseIds.add(response.getId());
+        }
+        return responseIds;
+    }
+    
     private FeedbackResponseAttributes getNewFeedbackResponseAttributes() {
         FeedbackResponseAttributes fra = new FeedbackResponseAttributes();
         
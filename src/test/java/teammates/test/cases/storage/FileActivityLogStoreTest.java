@@ -0,0 +1,216 @@
+package teammates.test.cases.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.ActivityLogRecord;
+import teammates.common.util.ActivityLogStoreQuery;
+import teammates.storage.api.FileActivityLogStore;
+import teammates.test.cases.BaseTestCase;
+
+public class FileActivityLogStoreTest extends BaseTestCase {
+
+    private static final int MAX_RECORDS_PER_SEGMENT = 3;
+
+    private File directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("activitylog").toFile();
+    }
+
+    @AfterMethod
+    public void deleteDirectory() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testAppendAndQuery() {
+        FileActivityLogStore store = new FileActivityLogStore(directory, MAX_RECORDS_PER_SEGMENT);
+        appendTypicalRecords(store);
+
+        ______TS("time period only");
+
+        List<ActivityLogRecord> records = store.query(new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100));
+        assertEquals(7, records.size());
+        assertEquals(1600, records.get(0).getTime());
+        assertEquals(1000, records.get(6).getTime());
+
+        records = store.query(new ActivityLogStoreQuery(1100, 1400, 2));
+        assertEquals(2, records.size());
+        assertEquals(1400, records.get(0).getTime());
+        assertEquals(1300, records.get(1).getTime());
+
+        ______TS("person, matching Google ID, email or name ignoring case");
+
+        ActivityLogStoreQuery query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setPerson("Alice.B@gmail.tmt");
+        records = store.query(query);
+        assertEquals(3, records.size());
+        assertEquals(1500, records.get(0).getTime());
+
+        query.setPerson("alice");
+        assertEquals(0, store.query(query).size());
+
+        ______TS("servlets, roles and course combined, servlets and roles ignoring case");
+
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setServletNames("instructorHomePage", "studentHomePage");
+        assertEquals(4, store.query(query).size());
+
+        query.setRoles("Student");
+        records = store.query(query);
+        assertEquals(2, records.size());
+        assertEquals("studentHomePage", records.get(0).getServletName());
+
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setServletNames("instructorhomepage");
+        query.setRoles("admin");
+        assertEquals(1, store.query(query).size());
+
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setCourseId("CS1101");
+        records = store.query(query);
+        assertEquals(2, records.size());
+        assertEquals(1200, records.get(1).getTime());
+
+        ______TS("versions, including records of unknown versions");
+
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setVersions(Arrays.asList("5-1"));
+        records = store.query(query);
+        assertEquals(2, records.size());
+        assertEquals(1600, records.get(0).getTime());
+        assertEquals("5-1", records.get(1).getVersion());
+
+        query.setVersions(Arrays.asList("5-0", "5-1"));
+        query.setCourseId("CS1101");
+        assertEquals(1, store.query(query).size());
+
+        records = store.query(new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100));
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setVersions(Arrays.asList("5-0", "5-1"));
+        assertEquals(records.size() - 1, store.query(query).size());
+
+        ______TS("records are read back as activity log entries");
+
+        query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setCourseId("CS1101");
+        records = store.query(query);
+
+        ActivityLogEntry entry = new ActivityLogEntry(records.get(0).toAppLogLine());
+        assertEquals("instructorCourseDetailsPage", entry.getServletName());
+        assertEquals("Message with\nnew line\tand tab", entry.getMessageInfo());
+        assertEquals(Long.valueOf(25), entry.getTimeTaken());
+    }
+
+    @Test
+    public void testReopen() {
+        FileActivityLogStore store = new FileActivityLogStore(directory, MAX_RECORDS_PER_SEGMENT);
+        appendTypicalRecords(store);
+        assertEquals(3, store.getNumberOfSegments());
+
+        ______TS("indexes are rebuilt from the segment files");
+
+        FileActivityLogStore reopenedStore = new FileActivityLogStore(directory, MAX_RECORDS_PER_SEGMENT);
+        assertEquals(3, reopenedStore.getNumberOfSegments());
+
+        ActivityLogStoreQuery query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setCourseId("CS1101");
+        List<ActivityLogRecord> records = reopenedStore.query(query);
+        assertEquals(2, records.size());
+        assertEquals("Message with\nnew line\tand tab",
+                     new ActivityLogEntry(records.get(0).toAppLogLine()).getMessageInfo());
+        assertEquals("5-1", records.get(0).getVersion());
+        assertNull(records.get(1).getVersion());
+
+        ______TS("records are appended to the last segment");
+
+        reopenedStore.append(createRecord(1700, "instructorHomePage", "Instructor", "alice.b", "CS1101"));
+        assertEquals(3, reopenedStore.getNumberOfSegments());
+        assertEquals(8, new FileActivityLogStore(directory, MAX_RECORDS_PER_SEGMENT)
+                                .query(new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100)).size());
+    }
+
+    @Test
+    public void testReadRecordsWithoutVersion() throws IOException {
+        String logMessage = createRecord(1000, "instructorHomePage", "Instructor", "alice.b", null).getLogMessage();
+        Files.write(new File(directory, "activitylog-00000000.segment").toPath(),
+                    ("1000\tCS1101\t" + logMessage + "\n").getBytes("UTF-8"));
+
+        List<ActivityLogRecord> records = new FileActivityLogStore(directory, MAX_RECORDS_PER_SEGMENT)
+                                                  .query(new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100));
+        assertEquals(1, records.size());
+        assertEquals("CS1101", records.get(0).getCourseId());
+        assertEquals("instructorHomePage", records.get(0).getServletName());
+        assertNull(records.get(0).getVersion());
+    }
+
+    @Test
+    public void testDeleteOlderThanAndCompact() {
+        FileActivityLogStore store = new FileActivityLogStore(directory, MAX_RECORDS_PER_SEGMENT);
+        appendTypicalRecords(store);
+
+        ______TS("whole and part of segments deleted");
+
+        assertEquals(4, store.deleteOlderThan(1400));
+        assertEquals(2, store.getNumberOfSegments());
+        List<ActivityLogRecord> records = store.query(new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100));
+        assertEquals(3, records.size());
+        assertEquals(1500, records.get(1).getTime());
+
+        ActivityLogStoreQuery query = new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100);
+        query.setCourseId("CS1101");
+        assertEquals(1, store.query(query).size());
+
+        ______TS("nothing to delete");
+
+        assertEquals(0, store.deleteOlderThan(1400));
+
+        ______TS("small segments merged");
+
+        store.compact();
+        assertEquals(1, store.getNumberOfSegments());
+        assertEquals(1, directory.listFiles().length);
+
+        FileActivityLogStore reopenedStore = new FileActivityLogStore(directory, MAX_RECORDS_PER_SEGMENT);
+        assertEquals(3, reopenedStore.query(new ActivityLogStoreQuery(0, Long.MAX_VALUE, 100)).size());
+    }
+
+    private void appendTypicalRecords(FileActivityLogStore store) {
+        // the record of unknown version is written as it was before the versions were recorded
+        store.append(createRecord(1000, "instructorHomePage", "Instructor", "alice.b", null, "5.0"));
+        store.append(createRecord(1100, "studentHomePage", "Student", "charlie.d", null, "5.0"));
+        store.append(createRecord(1200, "instructorCourseDetailsPage", "Instructor", "alice.b", "CS1101", null));
+        store.append(createRecord(1300, "studentHomePage", "Student", "charlie.d", null, "5.0"));
+        store.append(createRecord(1400, "adminHomePage", "Admin", "admin.e", null, "5.0"));
+        store.append(createRecord(1500, "instructorCourseDetailsPage", "Instructor(M)", "alice.b", "CS1101", "5.1"));
+        store.append(createRecord(1600, "instructorHomePage", "Admin", "admin.e", null, "5-1"));
+    }
+
+    private static ActivityLogRecord createRecord(long time, String servletName, String role, String googleId,
+                                                  String courseId) {
+        return createRecord(time, servletName, role, googleId, courseId, null);
+    }
+
+    private static ActivityLogRecord createRecord(long time, String servletName, String role, String googleId,
+                                                  String courseId, String version) {
+        String message = courseId == null ? "Page loaded" : "Message with\nnew line\tand tab";
+        String logMessage = "TEAMMATESLOG|||" + servletName + "|||" + servletName + "|||true|||" + role
+                          + "|||Name of " + googleId + "|||" + googleId + "|||" + googleId + "@gmail.tmt|||"
+                          + message + "|||/page/" + servletName + "|||" + googleId + "%" + time + "|||25";
+        return new ActivityLogRecord(time, logMessage, courseId, version);
+    }
+
+}
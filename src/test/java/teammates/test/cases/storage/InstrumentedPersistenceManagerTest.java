@@ -0,0 +1,147 @@
+package teammates.test.cases.storage;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.StorageAccessStats;
+import teammates.storage.datastore.InstrumentedPersistenceManager;
+import teammates.storage.entity.Course;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * SUT: {@link InstrumentedPersistenceManager}
+ */
+public class InstrumentedPersistenceManagerTest extends BaseTestCase {
+
+    private static final List<String> QUERY_RESULT = Arrays.asList("a", "b", "c", "d", "e");
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testQueries() {
+        PersistenceManager pm = InstrumentedPersistenceManager.wrap(createPersistenceManager());
+        StorageAccessStats stats = StorageAccessStats.startRequest();
+
+        ______TS("query recorded with its shape, entities not counted before they are read");
+
+        Query q = pm.newQuery(Course.class);
+        q.setFilter("ID == courseIdParam");
+        @SuppressWarnings("unchecked")
+        List<String> result = (List<String>) q.execute("idOfCourse");
+
+        assertEquals(1, stats.getQueryCount());
+        assertEquals(1, stats.getQueryCountsByShape().get("Course where ID == courseIdParam").intValue());
+        assertEquals(0, stats.getEntitiesReturned());
+
+        ______TS("entities counted as they are iterated over");
+
+        Iterator<String> iterator = result.iterator();
+        assertEquals("a", iterator.next());
+        assertEquals("b", iterator.next());
+        assertEquals(2, stats.getEntitiesReturned());
+
+        ______TS("entities read again not counted twice");
+
+        assertEquals("a", result.get(0));
+        assertEquals("c", result.get(2));
+        assertEquals(3, stats.getEntitiesReturned());
+
+        ______TS("asking for the size counts all the entities");
+
+        assertEquals(5, result.size());
+        assertEquals(5, stats.getEntitiesReturned());
+        for (String entity : result) {
+            assertNotNull(entity);
+        }
+        assertEquals(5, stats.getEntitiesReturned());
+
+        ______TS("query without a filter recorded with its kind only");
+
+        pm.newQuery(Course.class).execute();
+        assertEquals(2, stats.getQueryCount());
+        assertEquals(1, stats.getQueryCountsByShape().get("Course").intValue());
+    }
+
+    @Test
+    public void testGetsAndWrites() {
+        PersistenceManager pm = InstrumentedPersistenceManager.wrap(createPersistenceManager());
+        StorageAccessStats stats = StorageAccessStats.startRequest();
+
+        ______TS("gets by key");
+
+        pm.getObjectById(Course.class, "idOfCourse");
+        assertEquals(1, stats.getGetCount());
+        assertEquals(0, stats.getQueryCount());
+
+        ______TS("writes counted by entity");
+
+        pm.makePersistent("entity");
+        pm.makePersistentAll(Arrays.asList("entity1", "entity2"));
+        pm.deletePersistent("entity");
+        assertEquals(4, stats.getWriteCount());
+
+        ______TS("deletion by query recorded as a query and as writes");
+
+        Query q = pm.newQuery(Course.class);
+        q.setFilter("ID == courseIdParam");
+        q.deletePersistentAll("idOfCourse");
+        assertEquals(1, stats.getQueryCount());
+        assertEquals(0, stats.getEntitiesReturned());
+        assertEquals(7, stats.getWriteCount());
+    }
+
+    /**
+     * Creates a persistence manager whose queries all return {@link #QUERY_RESULT} or delete three entities.
+     */
+    private static PersistenceManager createPersistenceManager() {
+        final Query query = (Query) Proxy.newProxyInstance(
+                Query.class.getClassLoader(), new Class<?>[] { Query.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().startsWith("execute")) {
+                            return QUERY_RESULT;
+                        }
+                        if ("deletePersistentAll".equals(method.getName())) {
+                            return Long.valueOf(3);
+                        }
+                        return null;
+                    }
+                });
+        return (PersistenceManager) Proxy.newProxyInstance(
+                PersistenceManager.class.getClassLoader(), new Class<?>[] { PersistenceManager.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("newQuery".equals(method.getName())) {
+                            return query;
+                        }
+                        if ("getObjectById".equals(method.getName())) {
+                            return "entity";
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        StorageAccessStats.setCurrent(null);
+        printTestClassFooter();
+    }
+
+}
@@ -0,0 +1,66 @@
+package teammates.test.cases.storage;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.LogCursor;
+import teammates.storage.api.LogCompilationStateDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+/**
+ * SUT: {@link LogCompilationStateDb}
+ */
+public class LogCompilationStateDbTest extends BaseComponentTestCase {
+
+    private LogCompilationStateDb logCompilationStateDb = new LogCompilationStateDb();
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testSaveAndGetCursor() {
+        ______TS("no cursor for a compilation not done before");
+
+        assertNull(logCompilationStateDb.getCursor("LCSDbT.compilation"));
+
+        ______TS("cursor kept with its end time and request IDs");
+
+        LogCursor cursor = new LogCursor(1000, new HashSet<String>(Arrays.asList("r1", "r2")));
+        logCompilationStateDb.saveCursor("LCSDbT.compilation", cursor);
+
+        LogCursor savedCursor = logCompilationStateDb.getCursor("LCSDbT.compilation");
+        assertEquals(1000, savedCursor.getEndTimeUsec());
+        assertEquals(new HashSet<String>(Arrays.asList("r1", "r2")), savedCursor.getRequestIds());
+        assertTrue(savedCursor.isCompiled(1000, "r2"));
+        assertFalse(savedCursor.isCompiled(1000, "r3"));
+
+        ______TS("cursor replaced, without request IDs");
+
+        logCompilationStateDb.saveCursor("LCSDbT.compilation", new LogCursor(2000, new HashSet<String>()));
+
+        savedCursor = logCompilationStateDb.getCursor("LCSDbT.compilation");
+        assertEquals(2000, savedCursor.getEndTimeUsec());
+        assertTrue(savedCursor.getRequestIds().isEmpty());
+        assertTrue(savedCursor.isCompiled(1000, "r1"));
+        assertFalse(savedCursor.isCompiled(2000, "r1"));
+
+        ______TS("cursors of different compilations kept apart");
+
+        logCompilationStateDb.saveCursor("LCSDbT.otherCompilation",
+                                         new LogCursor(500, new HashSet<String>(Arrays.asList("r0"))));
+        assertEquals(2000, logCompilationStateDb.getCursor("LCSDbT.compilation").getEndTimeUsec());
+        assertEquals(500, logCompilationStateDb.getCursor("LCSDbT.otherCompilation").getEndTimeUsec());
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
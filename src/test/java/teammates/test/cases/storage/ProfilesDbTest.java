@@ -1,6 +1,10 @@
 package teammates.test.cases.storage;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -39,6 +43,20 @@ public class ProfilesDbTest extends BaseComponentTestCase {
         assertNull(profilesDb.getStudentProfile("non-eXisTent"));
     }
     
+    @Test
+    public void testGetStudentProfiles() throws Exception {
+        AccountAttributes a = createNewAccount();
+        
+        ______TS("success case: mix of existing and non-existent profiles");
+        Map<String, StudentProfileAttributes> profiles =
+                profilesDb.getStudentProfiles(Arrays.asList(a.googleId, "non-eXisTent"));
+        assertEquals(1, profiles.size());
+        assertEquals(a.studentProfile.institute, profiles.get(a.googleId).institute);
+        
+        ______TS("no googleIds given");
+        assertTrue(profilesDb.getStudentProfiles(new ArrayList<String>()).isEmpty());
+    }
+    
     @Test
     public void testUpdateStudentProfile() throws Exception {
         AccountAttributes a = createNewAccount();
@@ -223,8 +241,13 @@ public class ProfilesDbTest extends BaseComponentTestCase {
 
     private void testUpdateProfilePictureSuccessSamePictureKey(
             AccountAttributes a) throws EntityDoesNotExistException {
-        ______TS("update picture key - same key; does nothing");
+        ______TS("update picture key - same key; only updates modified date");
+        Date previousModifiedDate = profilesDb.getStudentProfile(a.googleId).modifiedDate;
         profilesDb.updateStudentProfilePicture(a.googleId, a.studentProfile.pictureKey);
+        
+        StudentProfileAttributes updatedProfile = profilesDb.getStudentProfile(a.googleId);
+        assertEquals(a.studentProfile.pictureKey, updatedProfile.pictureKey);
+        assertFalse(updatedProfile.modifiedDate.before(previousModifiedDate));
     }
     
     @Test
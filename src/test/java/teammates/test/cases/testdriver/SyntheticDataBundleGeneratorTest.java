@@ -0,0 +1,123 @@
+package teammates.test.cases.testdriver;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Utils;
+import teammates.test.cases.BaseTestCase;
+import teammates.test.driver.SyntheticDataBundleGenerator;
+
+public class SyntheticDataBundleGeneratorTest extends BaseTestCase {
+
+    @Test
+    public void testGenerate_sameSeed_sameData() {
+        String data = toJson(new SyntheticDataBundleGenerator(getSmallShape(), 7).generate());
+        assertEquals(data, toJson(new SyntheticDataBundleGenerator(getSmallShape(), 7).generate()));
+        assertFalse(data.equals(toJson(new SyntheticDataBundleGenerator(getSmallShape(), 8).generate())));
+
+        ______TS("responses of a session are the same without generating the other sessions");
+
+        SyntheticDataBundleGenerator generator = new SyntheticDataBundleGenerator(getSmallShape(), 7);
+        generator.generateResponses(0);
+        String responsesOfLastSession = toJson(generator.generateResponses(2));
+        assertEquals(responsesOfLastSession,
+                     toJson(new SyntheticDataBundleGenerator(getSmallShape(), 7).generateResponses(2)));
+    }
+
+    @Test
+    public void testGenerate_shapeOfCourse() {
+        SyntheticDataBundleGenerator.Shape shape = getSmallShape();
+        DataBundle data = new SyntheticDataBundleGenerator(shape, 1).generate();
+
+        assertEquals(1, data.courses.size());
+        assertEquals(shape.numOfInstructors, data.instructors.size());
+        assertEquals(shape.numOfStudents, data.students.size());
+        assertEquals(shape.numOfSessions, data.feedbackSessions.size());
+        assertEquals(shape.numOfSessions * 4, data.feedbackQuestions.size());
+
+        Map<String, StudentAttributes> students = new HashMap<String, StudentAttributes>();
+        Map<String, Integer> teamSizes = new HashMap<String, Integer>();
+        Set<String> sections = new HashSet<String>();
+        for (StudentAttributes student : data.students.values()) {
+            assertTrue(student.getInvalidityInfo().toString(), student.isValid());
+            students.put(student.email, student);
+            Integer teamSize = teamSizes.get(student.team);
+            teamSizes.put(student.team, teamSize == null ? 1 : teamSize + 1);
+            sections.add(student.section);
+        }
+        for (int teamSize : teamSizes.values()) {
+            assertTrue(teamSize >= shape.minTeamSize && teamSize <= shape.maxTeamSize);
+        }
+        assertEquals(shape.numOfSections, sections.size());
+
+        for (FeedbackSessionAttributes session : data.feedbackSessions.values()) {
+            assertTrue(session.getInvalidityInfo().toString(), session.isValid());
+        }
+        Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+        for (FeedbackQuestionAttributes question : data.feedbackQuestions.values()) {
+            assertTrue(question.getInvalidityInfo().toString(), question.isValid());
+            assertTrue(question.getQuestionDetails().validateQuestionDetails().isEmpty());
+            questions.put(question.feedbackSessionName + "%" + question.questionNumber, question);
+        }
+
+        ______TS("responses are given to the giver or the team members of the giver, as the question asks");
+
+        Set<String> responseKeys = new HashSet<String>();
+        for (FeedbackResponseAttributes response : data.feedbackResponses.values()) {
+            assertTrue(response.getInvalidityInfo().toString(), response.isValid());
+            FeedbackQuestionAttributes question =
+                    questions.get(response.feedbackSessionName + "%" + response.feedbackQuestionId);
+            assertEquals(question.questionType, response.feedbackQuestionType);
+            assertEquals(question.questionType, response.getResponseDetails().questionType);
+
+            StudentAttributes giver = students.get(response.giver);
+            StudentAttributes recipient = students.get(response.recipient);
+            assertEquals(giver.section, response.giverSection);
+            assertEquals(recipient.section, response.recipientSection);
+            if (question.recipientType == FeedbackParticipantType.SELF) {
+                assertEquals(giver.email, recipient.email);
+            } else {
+                assertEquals(giver.team, recipient.team);
+            }
+            responseKeys.add(response.feedbackSessionName + "%" + response.feedbackQuestionId + "%"
+                             + response.giver + "%" + response.recipient);
+        }
+        int maxNumOfMcqResponses = shape.numOfSessions * shape.numOfMcqQuestions * shape.numOfStudents;
+        assertTrue(data.feedbackResponses.size() > maxNumOfMcqResponses);
+
+        for (FeedbackResponseCommentAttributes comment : data.feedbackResponseComments.values()) {
+            assertTrue(comment.getInvalidityInfo().toString(), comment.isValid());
+            assertTrue(responseKeys.contains(comment.feedbackSessionName + "%" + comment.feedbackResponseId));
+        }
+        assertFalse(data.feedbackResponseComments.isEmpty());
+        assertTrue(data.feedbackResponseComments.size() < data.feedbackResponses.size());
+    }
+
+    private SyntheticDataBundleGenerator.Shape getSmallShape() {
+        SyntheticDataBundleGenerator.Shape shape = new SyntheticDataBundleGenerator.Shape();
+        shape.numOfStudents = 61;
+        shape.numOfSections = 3;
+        shape.numOfSessions = 3;
+        shape.numOfMcqQuestions = 1;
+        shape.numOfRubricQuestions = 2;
+        shape.numOfContributionQuestions = 1;
+        shape.commentDensity = 0.2;
+        return shape;
+    }
+
+    private static String toJson(DataBundle data) {
+        return Utils.getTeammatesGson().toJson(data);
+    }
+
+}
@@ -0,0 +1,91 @@
+package teammates.test.cases.ui;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActionMetrics;
+import teammates.common.util.ActionStats;
+import teammates.common.util.Const;
+import teammates.storage.api.ActionStatsDb;
+import teammates.ui.controller.Action;
+import teammates.ui.controller.AdminActionMetricsPageData;
+import teammates.ui.controller.ShowPageResult;
+import teammates.ui.template.AdminActionMetricsTableRow;
+
+public class AdminActionMetricsPageActionTest extends BaseActionTest {
+
+    private static final long MILLISECONDS_PER_HOUR = 60 * 60 * 1000;
+
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+        uri = Const.ActionURIs.ADMIN_ACTION_METRICS_PAGE;
+    }
+
+    @Test
+    public void testExecuteAndPostProcess() {
+        ActionStatsDb actionStatsDb = new ActionStatsDb();
+        actionStatsDb.deleteActionStatsOlderThan(Long.MAX_VALUE);
+        ActionMetrics.clear();
+
+        long now = System.currentTimeMillis();
+        ActionStats keptTwoHoursAgo = new ActionStats("InstructorHomePageAction", "ShowPageResult");
+        keptTwoHoursAgo.record(100, 5000);
+        keptTwoHoursAgo.record(300, 7000);
+        actionStatsDb.createActionStats(Arrays.asList(keptTwoHoursAgo), now - 2 * MILLISECONDS_PER_HOUR);
+        ActionMetrics.record("InstructorHomePageAction", "ShowPageResult", 200, 6000);
+        ActionMetrics.record("StudentHomePageAction", "AjaxResult", 10, 100);
+
+        gaeSimulation.loginAsAdmin("admin.user");
+
+        ______TS("default window of 1 hour, with the stats not kept yet");
+
+        AdminActionMetricsPageData data = getPageData();
+        assertEquals("1h", data.getWindow());
+        assertEquals(Arrays.asList("1h", "6h", "24h", "7d"), data.getWindows());
+        List<AdminActionMetricsTableRow> rows = data.getRows();
+        assertEquals(2, rows.size());
+        assertEquals("InstructorHomePageAction", rows.get(0).getActionName());
+        assertEquals(1, rows.get(0).getCount());
+        assertEquals("StudentHomePageAction", rows.get(1).getActionName());
+        assertEquals("AjaxResult", rows.get(1).getResultType());
+
+        ______TS("longer window, with the kept stats");
+
+        data = getPageData(Const.ParamsNames.ADMIN_ACTION_METRICS_WINDOW, "6h");
+        assertEquals("6h", data.getWindow());
+        rows = data.getRows();
+        assertEquals(2, rows.size());
+        assertEquals(3, rows.get(0).getCount());
+        assertEquals(300, rows.get(0).getLatencyMax());
+        assertEquals(6000, rows.get(0).getAverageResponseSize());
+
+        ______TS("unknown window, default window used");
+
+        assertEquals("1h", getPageData(Const.ParamsNames.ADMIN_ACTION_METRICS_WINDOW, "2h").getWindow());
+
+        actionStatsDb.deleteActionStatsOlderThan(Long.MAX_VALUE);
+        ActionMetrics.clear();
+    }
+
+    private AdminActionMetricsPageData getPageData(String... params) {
+        Action a = getAction(params);
+        ShowPageResult result = getShowPageResult(a);
+        assertEquals(Const.ViewURIs.ADMIN_ACTION_METRICS, result.destination);
+        return (AdminActionMetricsPageData) result.data;
+    }
+
+    private Action getAction(String... params) {
+        return (Action) gaeSimulation.getActionObject(uri, params);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        printTestClassFooter();
+    }
+
+}
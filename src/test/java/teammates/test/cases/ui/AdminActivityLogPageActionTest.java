@@ -1,9 +1,19 @@
 package teammates.test.cases.ui;
 
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.ActivityLogRecord;
 import teammates.common.util.Const;
+import teammates.storage.api.ActivityLogStores;
+import teammates.storage.api.DatastoreActivityLogStore;
+import teammates.ui.controller.Action;
+import teammates.ui.controller.AdminActivityLogPageData;
+import teammates.ui.controller.ShowPageResult;
 
 public class AdminActivityLogPageActionTest extends BaseActionTest {
 
@@ -15,11 +25,73 @@ public class AdminActivityLogPageActionTest extends BaseActionTest {
         uri = Const.ActionURIs.ADMIN_ACTIVITY_LOG_PAGE;
         // removeAndRestoreTypicalDataInDatastore();
     }
-    
+
     @Test
     public void testExecuteAndPostProcess() {
-        
-        //TODO: implement this
+
+        //TODO: implement this for the logs kept in the GAE logs only
+    }
+
+    @Test
+    public void testExecuteAndPostProcess_logsInStore() {
+        DatastoreActivityLogStore store = new DatastoreActivityLogStore();
+        store.deleteOlderThan(Long.MAX_VALUE);
+        ActivityLogStores.setConfiguredStore(store);
+
+        long now = System.currentTimeMillis();
+        store.append(createRecord(now - 4000, "instructorHomePage", "alice.b", "5.0"));
+        store.append(createRecord(now - 3000, "studentHomePage", "charlie.d", "5.0"));
+        store.append(createRecord(now - 2000, "instructorHomePage", "alice.b", "5.1"));
+        store.append(createRecord(now - 1000, "studentHomePage", "charlie.d", null));
+
+        gaeSimulation.loginAsAdmin("admin.user");
+
+        ______TS("logs of all versions kept in the store");
+
+        List<ActivityLogEntry> logs = getLogs("");
+        assertEquals(4, logs.size());
+        assertEquals("studentHomePage", logs.get(0).getServletName());
+
+        ______TS("logs of the versions asked for only");
+
+        logs = getLogs("version:5.0");
+        assertEquals(2, logs.size());
+        assertEquals("studentHomePage", logs.get(0).getServletName());
+        assertEquals("instructorHomePage", logs.get(1).getServletName());
+
+        logs = getLogs("version:5.1, 5.0 and request:instructorHomePage");
+        assertEquals(2, logs.size());
+
+        ______TS("person looked up in the store, together with the version");
+
+        logs = getLogs("version:5.0 and person:alice.b");
+        assertEquals(1, logs.size());
+        assertEquals("instructorHomePage", logs.get(0).getServletName());
+
+        assertTrue(getLogs("version:5.2").isEmpty());
+    }
+
+    private List<ActivityLogEntry> getLogs(String filterQuery) {
+        Action a = getAction("filterQuery", filterQuery, "testdata", "true");
+        ShowPageResult result = getShowPageResult(a);
+        return ((AdminActivityLogPageData) result.data).getLogs();
+    }
+
+    private static ActivityLogRecord createRecord(long time, String servletName, String googleId, String version) {
+        String logMessage = "TEAMMATESLOG|||" + servletName + "|||" + servletName + "|||true|||Instructor"
+                          + "|||Name of " + googleId + "|||" + googleId + "|||" + googleId + "@gmail.tmt"
+                          + "|||Page loaded|||/page/" + servletName + "|||" + googleId + "%" + time + "|||25";
+        return new ActivityLogRecord(time, logMessage, null, version);
+    }
+
+    private Action getAction(String... parameters) {
+        return (Action) gaeSimulation.getActionObject(uri, parameters);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        ActivityLogStores.resetConfiguredStore();
+        printTestClassFooter();
     }
 
 }
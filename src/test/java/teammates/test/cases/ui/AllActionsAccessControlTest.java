@@ -117,6 +117,12 @@ public class AllActionsAccessControlTest extends BaseActionTest {
         verifyOnlyAdminsCanAccess(submissionParams);
     }
     
+    @Test
+    public void testAdminActionMetricsPage() {
+        uri = Const.ActionURIs.ADMIN_ACTION_METRICS_PAGE;
+        verifyOnlyAdminsCanAccess(submissionParams);
+    }
+    
     @Test
     public void testAdminExceptionTest() {
         uri = Const.ActionURIs.ADMIN_EXCEPTION_TEST;
@@ -1102,6 +1108,15 @@ public class AllActionsAccessControlTest extends BaseActionTest {
         verifyAnyRegisteredUserCanAccess(submissionParams);
     }
     
+    @Test
+    public void testStudentProfilePictureLinks() {
+        uri = Const.ActionURIs.STUDENT_PROFILE_PICTURE_LINKS;
+        String[] submissionParams = new String[] {
+                Const.ParamsNames.COURSE_ID, dataBundle.instructors.get("instructor1OfCourse1").courseId
+        };
+        verifyOnlyInstructorsOfTheSameCourseCanAccess(submissionParams);
+    }
+    
     private void modifyFeedbackSessionPublishState(FeedbackSessionAttributes session, boolean isPublished) throws Exception {
         // startTime < endTime <= resultsVisibleFromTime
         Date startTime = TimeHelper.getDateOffsetToCurrentTime(-2);
@@ -7,6 +7,7 @@ import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
+import teammates.logic.core.CourseDeletionLogic;
 import teammates.logic.core.CoursesLogic;
 import teammates.test.driver.AssertHelper;
 import teammates.ui.controller.Action;
@@ -116,6 +117,17 @@ public class InstructorCourseAddActionTest extends BaseActionTest {
                              + "user. Please choose a different course ID|||/page/instructorCourseAdd";
         AssertHelper.assertLogMessageEquals(expectedLogMessage, addAction.getLogMessage());
         
+        ______TS("Error: Try to add a course with the ID of a course still being deleted");
+        
+        CourseDeletionLogic.inst().scheduleCourseDeletion("ticac.tpa1.id");
+        addAction = getAction(Const.ParamsNames.COURSE_ID, "ticac.tpa1.id",
+                              Const.ParamsNames.COURSE_NAME, "ticac tpa1 name",
+                              Const.ParamsNames.COURSE_TIME_ZONE, "UTC");
+        pageResult = (ShowPageResult) addAction.executeAndPostProcess();
+        
+        assertTrue(pageResult.isError);
+        assertEquals(Const.StatusMessages.COURSE_BEING_DELETED, pageResult.getStatusMessage());
+        
         ______TS("Masquerade mode, 0 courses");
         
         CoursesLogic.inst().deleteCourseCascade(instructor1OfCourse1.courseId);
@@ -1,19 +1,28 @@
 package teammates.test.cases.ui;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.exception.UnauthorizedAccessException;
 import teammates.common.util.Const;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.storage.api.FeedbackQuestionsDb;
 import teammates.ui.controller.InstructorFeedbackQuestionCopyPageAction;
+import teammates.ui.controller.InstructorFeedbackQuestionCopyPageData;
 import teammates.ui.controller.ShowPageResult;
+import teammates.ui.template.FeedbackQuestionCopyTable;
 
 public class InstructorFeedbackQuestionCopyPageActionTest extends BaseActionTest {
     
     private final DataBundle dataBundle = getTypicalDataBundle();
+    private final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
         
     @BeforeClass
     public static void classSetUp() throws Exception {
@@ -23,7 +32,7 @@ public class InstructorFeedbackQuestionCopyPageActionTest extends BaseActionTest
     }
     
     @Test
-    public void testExecuteAndPostProcess() {
+    public void testExecuteAndPostProcess() throws Exception {
         InstructorAttributes instructor1OfCourse1 = dataBundle.instructors.get("instructor1OfCourse1");
         gaeSimulation.loginAsInstructor(instructor1OfCourse1.googleId);
         
@@ -46,6 +55,48 @@ public class InstructorFeedbackQuestionCopyPageActionTest extends BaseActionTest
         
         assertTrue(result.getStatusMessage().isEmpty());
         
+        ______TS("typical success case: pages of many questions");
+        
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestionsForSession(
+                feedbackSessionAttributes.getFeedbackSessionName(), feedbackSessionAttributes.getCourseId()).get(0);
+        List<FeedbackQuestionAttributes> extraQuestions = new ArrayList<FeedbackQuestionAttributes>();
+        for (int i = 1; i <= InstructorFeedbackQuestionCopyPageAction.QUESTIONS_PER_PAGE; i++) {
+            FeedbackQuestionAttributes extraQuestion = question.getCopy();
+            extraQuestion.questionNumber = 100 + i;
+            extraQuestion.setId(null);
+            extraQuestions.add(extraQuestion);
+        }
+        extraQuestions = fqLogic.createFeedbackQuestionsNoIntegrityCheck(extraQuestions);
+        int numberOfCopiableQuestions =
+                fqLogic.getCopiableFeedbackQuestionsForInstructor(instructor1OfCourse1.googleId).size();
+        
+        FeedbackQuestionCopyTable firstPage = getCopyTable(getAction(submissionParams));
+        assertEquals(InstructorFeedbackQuestionCopyPageAction.QUESTIONS_PER_PAGE, firstPage.getQuestionRows().size());
+        assertNotNull(firstPage.getNextCursor());
+        
+        FeedbackQuestionCopyTable nextPage = getCopyTable(getAction(
+                Const.ParamsNames.COURSE_ID, feedbackSessionAttributes.getCourseId(),
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionAttributes.getFeedbackSessionName(),
+                Const.ParamsNames.COPIABLE_QUESTIONS_CURSOR, firstPage.getNextCursor()));
+        assertEquals(numberOfCopiableQuestions - InstructorFeedbackQuestionCopyPageAction.QUESTIONS_PER_PAGE,
+                     nextPage.getQuestionRows().size());
+        assertNull(nextPage.getNextCursor());
+        
+        new FeedbackQuestionsDb().deleteEntities(extraQuestions);
+        
+        ______TS("failure: invalid cursor");
+        
+        action = getAction(Const.ParamsNames.COURSE_ID, feedbackSessionAttributes.getCourseId(),
+                           Const.ParamsNames.FEEDBACK_SESSION_NAME, feedbackSessionAttributes.getFeedbackSessionName(),
+                           Const.ParamsNames.COPIABLE_QUESTIONS_CURSOR, "not a cursor");
+        try {
+            action.executeAndPostProcess();
+            signalFailureToDetectException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertEquals("Invalid request parameter value for copiable questions cursor: not a cursor",
+                         e.getMessage());
+        }
+        
         ______TS("failure: non-existent feedback session");
         
         submissionParams = new String[] {
@@ -81,6 +132,11 @@ public class InstructorFeedbackQuestionCopyPageActionTest extends BaseActionTest
         }
     }
     
+    private FeedbackQuestionCopyTable getCopyTable(InstructorFeedbackQuestionCopyPageAction action) {
+        ShowPageResult result = (ShowPageResult) action.executeAndPostProcess();
+        return ((InstructorFeedbackQuestionCopyPageData) result.data).getCopyQnForm();
+    }
+    
     private InstructorFeedbackQuestionCopyPageAction getAction(String... params) {
         return (InstructorFeedbackQuestionCopyPageAction) gaeSimulation.getActionObject(uri, params);
     }
@@ -5,9 +5,11 @@ import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.util.Const;
+import teammates.common.util.StorageAccessStats;
 import teammates.logic.api.Logic;
 import teammates.logic.core.CoursesLogic;
 import teammates.test.driver.AssertHelper;
+import teammates.ui.controller.InstructorHomeCoursesAjaxPageData;
 import teammates.ui.controller.InstructorHomePageAction;
 import teammates.ui.controller.InstructorHomePageData;
 import teammates.ui.controller.ShowPageResult;
@@ -173,10 +175,67 @@ public class InstructorHomePageActionTest extends BaseActionTest {
         assertEquals(expectedCourse3IdAfterSortByCourseCreationDate, actualCourse3AfterSortByCourseCreationDate);
         assertEquals(Const.SORT_BY_COURSE_CREATION_DATE, data.getSortCriteria());
         
+        ______TS("load several course panels in one request, masquerade mode");
+        
+        submissionParams = new String[]{
+                Const.ParamsNames.COURSE_TO_LOAD, "idOfTypicalCourse1",
+                "index", "1",
+                Const.ParamsNames.COURSE_TO_LOAD, "idOfTypicalCourse2",
+                "index", "2",
+                Const.ParamsNames.COURSE_TO_LOAD, "idOfArchivedCourse",
+                "index", "3"
+        };
+        
+        a = getAction(addUserIdToParams(instructorWithMultipleCourses, submissionParams));
+        r = getShowPageResult(a);
+        
+        assertEquals("/jsp/instructorHomeAjaxCourses.jsp?error=false&user=" + instructorWithMultipleCourses,
+                     r.getDestinationWithParams());
+        assertFalse(r.isError);
+        
+        // the course the instructor does not belong to is left out
+        InstructorHomeCoursesAjaxPageData coursesData = (InstructorHomeCoursesAjaxPageData) r.data;
+        assertEquals(2, coursesData.getCoursePanels().size());
+        assertEquals("idOfTypicalCourse1", coursesData.getCoursePanels().get(0).getCourseTable().getCourseId());
+        assertEquals(1, coursesData.getCoursePanels().get(0).getIndex());
+        assertEquals("idOfTypicalCourse2", coursesData.getCoursePanels().get(1).getCourseTable().getCourseId());
+        assertEquals(2, coursesData.getCoursePanels().get(1).getIndex());
+        
+        expectedLogMessage = "TEAMMATESLOG|||instructorHomePage|||instructorHomePage|||true"
+                              + "|||Instructor(M)|||Instructor 3 of Course 1 and 2"
+                              + "|||idOfInstructor3|||instr3@course1n2.tmt"
+                              + "|||instructorHome Courses Load:<br>"
+                              + "idOfTypicalCourse1, idOfTypicalCourse2, idOfArchivedCourse"
+                              + "|||/page/instructorHomePage";
+        AssertHelper.assertLogMessageEquals(expectedLogMessage, a.getLogMessage());
+        
         // delete the new course
         CoursesLogic.inst().deleteCourseCascade(newCourseIdForSorting);
     }
     
+    @Test
+    public void testExecuteAndPostProcess_queryBudget() {
+        gaeSimulation.loginAsAdmin("admin.user");
+        
+        ______TS("instructor with one course");
+        
+        String instructorWithOneCourse = dataBundle.accounts.get("instructor1OfCourse1").googleId;
+        InstructorHomePageAction a = getAction(addUserIdToParams(instructorWithOneCourse, new String[]{}));
+        StorageAccessStats stats = StorageAccessStats.startRequest();
+        ShowPageResult r = getShowPageResult(a);
+        assertEquals(1, ((InstructorHomePageData) r.data).getCourseTables().size());
+        int queriesForOneCourse = stats.getQueryCount();
+        
+        ______TS("instructor with more courses, no more queries as the courses are fetched together");
+        
+        String instructorWithMultipleCourses = dataBundle.accounts.get("instructor3").googleId;
+        a = getAction(addUserIdToParams(instructorWithMultipleCourses, new String[]{}));
+        stats = StorageAccessStats.startRequest();
+        r = getShowPageResult(a);
+        assertTrue(((InstructorHomePageData) r.data).getCourseTables().size() > 1);
+        AssertHelper.assertWithinQueryBudget(stats, queriesForOneCourse);
+    }
+    
     private InstructorHomePageAction getAction(String... params) {
         return (InstructorHomePageAction) (gaeSimulation.getActionObject(uri, params));
     }
@@ -0,0 +1,94 @@
+package teammates.test.cases.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import org.testng.annotations.Test;
+
+import teammates.test.cases.BaseTestCase;
+import teammates.ui.controller.ResponseSizeCountingWrapper;
+
+public class ResponseSizeCountingWrapperTest extends BaseTestCase {
+
+    private final ByteArrayOutputStream writtenBytes = new ByteArrayOutputStream();
+    private final StringWriter writtenCharacters = new StringWriter();
+
+    @Test
+    public void testOutputStream() throws IOException {
+        ResponseSizeCountingWrapper wrapper = new ResponseSizeCountingWrapper(createResponse());
+        assertEquals(0, wrapper.getResponseSize());
+
+        ______TS("single bytes and arrays of bytes counted, and passed through");
+
+        ServletOutputStream outputStream = wrapper.getOutputStream();
+        outputStream.write('a');
+        outputStream.write(new byte[] { 'b', 'c', 'd', 'e' }, 1, 2);
+        outputStream.print("fgh");
+        outputStream.flush();
+
+        assertEquals(6, wrapper.getResponseSize());
+        assertEquals("acdfgh", new String(writtenBytes.toByteArray(), "UTF-8"));
+
+        ______TS("the same stream is given every time");
+
+        assertTrue(outputStream == wrapper.getOutputStream());
+    }
+
+    @Test
+    public void testWriter() throws IOException {
+        ResponseSizeCountingWrapper wrapper = new ResponseSizeCountingWrapper(createResponse());
+
+        ______TS("characters and strings counted, and passed through");
+
+        PrintWriter writer = wrapper.getWriter();
+        writer.write("<html>");
+        writer.write(new char[] { 'x', 'y', 'z' }, 0, 2);
+        writer.print(42);
+        writer.println();
+        writer.flush();
+
+        String expected = "<html>xy42" + System.getProperty("line.separator");
+        assertEquals(expected.length(), wrapper.getResponseSize());
+        assertEquals(expected, writtenCharacters.toString());
+
+        ______TS("the same writer is given every time");
+
+        assertTrue(writer == wrapper.getWriter());
+    }
+
+    /**
+     * Creates a response whose body is written into {@link #writtenBytes} or {@link #writtenCharacters}.
+     */
+    private HttpServletResponse createResponse() {
+        final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                writtenBytes.write(b);
+            }
+        };
+        final PrintWriter writer = new PrintWriter(writtenCharacters);
+        return (HttpServletResponse) Proxy.newProxyInstance(
+                HttpServletResponse.class.getClassLoader(), new Class<?>[] { HttpServletResponse.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("getOutputStream".equals(method.getName())) {
+                            return outputStream;
+                        }
+                        if ("getWriter".equals(method.getName())) {
+                            return writer;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+}
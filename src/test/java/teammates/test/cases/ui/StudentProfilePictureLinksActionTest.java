@@ -0,0 +1,67 @@
+package teammates.test.cases.ui;
+
+import java.util.Map;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.test.driver.AssertHelper;
+import teammates.ui.controller.AjaxResult;
+import teammates.ui.controller.StudentProfilePictureLinksAction;
+import teammates.ui.controller.StudentProfilePictureLinksAjaxPageData;
+
+public class StudentProfilePictureLinksActionTest extends BaseActionTest {
+
+    private final DataBundle dataBundle = getTypicalDataBundle();
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+        uri = Const.ActionURIs.STUDENT_PROFILE_PICTURE_LINKS;
+    }
+
+    @Test
+    public void testExecuteAndPostProcess() {
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+
+        ______TS("Failure case: no course given");
+
+        verifyAssumptionFailure();
+
+        ______TS("Typical case: thumbnails of all students in the course");
+
+        String[] submissionParams = new String[] {
+                Const.ParamsNames.COURSE_ID, instructor.courseId,
+                Const.ParamsNames.PROFILE_PICTURE_THUMBNAIL, "true"
+        };
+
+        StudentProfilePictureLinksAction action = getAction(submissionParams);
+        AjaxResult result = (AjaxResult) action.executeAndPostProcess();
+        StudentProfilePictureLinksAjaxPageData data = (StudentProfilePictureLinksAjaxPageData) result.data;
+
+        assertFalse(result.isError);
+        assertEquals(1, data.pictureLinks.size());
+        Map<String, String> links = data.pictureLinks.get(instructor.courseId);
+        assertEquals(5, links.size());
+
+        String link = links.get(dataBundle.students.get("student1InCourse1").email);
+        AssertHelper.assertContains(Const.ActionURIs.STUDENT_PROFILE_PICTURE, link);
+        AssertHelper.assertContains(Const.ParamsNames.BLOB_KEY + "=", link);
+        AssertHelper.assertContains(Const.ParamsNames.PROFILE_PICTURE_VERSION + "=", link);
+        AssertHelper.assertContains(Const.ParamsNames.PROFILE_PICTURE_THUMBNAIL + "=true", link);
+
+        StudentAttributes studentWithoutPicture = dataBundle.students.get("student2InCourse1");
+        assertEquals(Const.SystemParams.DEFAULT_PROFILE_PICTURE_PATH, links.get(studentWithoutPicture.email));
+    }
+
+    private StudentProfilePictureLinksAction getAction(String... params) {
+        return (StudentProfilePictureLinksAction) gaeSimulation.getActionObject(uri, params);
+    }
+
+}
@@ -8,9 +8,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
+import teammates.common.util.ActionStats;
 import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.StorageAccessStats;
 import teammates.common.util.TimeHelper;
 
 import com.google.appengine.labs.repackaged.com.google.common.base.Joiner;
@@ -173,5 +176,28 @@ public final class AssertHelper {
         assertEquals(expectedStringTypeList, actualStringTypeList);
 
     }
+    
+    /**
+     * Asserts that the latency of {@code stats} at {@code percentile} is within {@code budgetInMillis},
+     * e.g. that 95% of the requests recorded took at most 500ms.
+     */
+    public static void assertLatencyWithinBudget(ActionStats stats, double percentile, long budgetInMillis) {
+        long latency = stats.getLatencyAtPercentile(percentile);
+        assertTrue("expected p" + percentile + " latency of " + stats.getKey() + " to be within "
+                   + budgetInMillis + "ms but was " + latency + "ms over " + stats.getCount() + " requests",
+                   latency <= budgetInMillis);
+    }
+    
+    /**
+     * Asserts that at most {@code maxQueries} queries were issued, e.g. by an action during a request.
+     * The query shapes issued many times are named in the failure message, as they are likely N+1 patterns.
+     */
+    public static void assertWithinQueryBudget(StorageAccessStats stats, int maxQueries) {
+        Map<String, Integer> repeatedQueryShapes = stats.getRepeatedQueryShapes();
+        assertTrue("expected at most " + maxQueries + " queries but was " + stats.getQueryCount()
+                   + (repeatedQueryShapes.isEmpty() ? ""
+                                                    : "; queries repeated, likely N+1: " + repeatedQueryShapes),
+                   stats.getQueryCount() <= maxQueries);
+    }
 
 }
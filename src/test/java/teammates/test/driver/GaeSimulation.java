@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 
 import teammates.common.util.Const;
@@ -19,12 +20,16 @@ import teammates.ui.controller.ActionFactory;
 import com.google.appengine.api.taskqueue.dev.LocalTaskQueueCallback;
 import com.google.appengine.tools.development.testing.LocalDatastoreServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalMailServiceTestConfig;
+import com.google.appengine.tools.development.testing.LocalMemcacheServiceTestConfig;
+import com.google.appengine.tools.development.testing.LocalModulesServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalSearchServiceTestConfig;
 import com.google.appengine.tools.development.testing.LocalServiceTestHelper;
 import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
 import com.google.appengine.tools.development.testing.LocalUserServiceTestConfig;
+import com.meterware.httpunit.GetMethodWebRequest;
 import com.meterware.httpunit.PostMethodWebRequest;
 import com.meterware.httpunit.WebRequest;
+import com.meterware.httpunit.WebResponse;
 import com.meterware.servletunit.InvocationContext;
 import com.meterware.servletunit.ServletRunner;
 import com.meterware.servletunit.ServletUnitClient;
@@ -59,7 +64,10 @@ public class GaeSimulation {
         LocalMailServiceTestConfig localMail = new LocalMailServiceTestConfig();
         LocalSearchServiceTestConfig localSearch = new LocalSearchServiceTestConfig();
         localSearch.setPersistent(false);
-        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch);
+        LocalMemcacheServiceTestConfig localMemcache = new LocalMemcacheServiceTestConfig();
+        LocalModulesServiceTestConfig localModules = new LocalModulesServiceTestConfig();
+        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch,
+                                            localMemcache, localModules);
         helper.setUp();
         
         Datastore.initialize();
@@ -81,7 +89,10 @@ public class GaeSimulation {
         LocalMailServiceTestConfig localMail = new LocalMailServiceTestConfig();
         LocalSearchServiceTestConfig localSearch = new LocalSearchServiceTestConfig();
         localSearch.setPersistent(false);
-        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch);
+        LocalMemcacheServiceTestConfig localMemcache = new LocalMemcacheServiceTestConfig();
+        LocalModulesServiceTestConfig localModules = new LocalModulesServiceTestConfig();
+        helper = new LocalServiceTestHelper(localDatastore, localMail, localUserServices, localTasks, localSearch,
+                                            localMemcache, localModules);
         helper.setUp();
         
         Datastore.initialize();
@@ -143,6 +154,34 @@ public class GaeSimulation {
         return new ActionFactory().getAction(req);
     }
 
+    /**
+     * Runs the servlet of {@code servletClass} on a GET request with the parameters given,
+     * as the task queue or the cron service would.
+     * @param parameters Parameters that appear in the request, as key-value pairs
+     * @return the status code of the response
+     */
+    public int runServlet(Class<? extends HttpServlet> servletClass, String... parameters) {
+        return getServletResponse(servletClass, parameters).getResponseCode();
+    }
+
+    /**
+     * Runs the servlet of {@code servletClass} like {@link #runServlet}.
+     * @return the response, with its headers and body
+     */
+    public WebResponse getServletResponse(Class<? extends HttpServlet> servletClass, String... parameters) {
+        ServletRunner servletRunner = new ServletRunner();
+        servletRunner.registerServlet("servlet", servletClass.getName());
+        WebRequest request = new GetMethodWebRequest("http://localhost:8888/servlet");
+        setParameters(request, parameters);
+        try {
+            InvocationContext ic = servletRunner.newClient().newInvocation(request);
+            ic.service();
+            return ic.getServletResponse();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /** Refreshes the datastore by recreating it from scratch. */
     public void resetDatastore() {
         if (helper != null) {
@@ -165,7 +204,17 @@ public class GaeSimulation {
     private HttpServletRequest createWebRequest(String uri, String... parameters) {
         
         WebRequest request = new PostMethodWebRequest("http://localhost:8888" + uri);
-        
+        setParameters(request, parameters);
+
+        try {
+            InvocationContext ic = sc.newInvocation(request);
+            return ic.getRequest();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void setParameters(WebRequest request, String... parameters) {
         Map<String, List<String>> paramMultiMap = new HashMap<String, List<String>>();
         for (int i = 0; i < parameters.length; i = i + 2) {
             String key = parameters[i];
@@ -179,13 +228,6 @@ public class GaeSimulation {
             List<String> values = paramMultiMap.get(key);
             request.setParameter(key, values.toArray(new String[values.size()]));
         }
-
-        try {
-            InvocationContext ic = sc.newInvocation(request);
-            return ic.getRequest();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
     }
 
 }
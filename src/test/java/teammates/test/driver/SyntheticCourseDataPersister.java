@@ -0,0 +1,115 @@
+package teammates.test.driver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.InvalidParametersException;
+import teammates.logic.backdoor.BackDoorLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.storage.api.FeedbackQuestionsDb;
+import teammates.storage.api.FeedbackResponseCommentsDb;
+import teammates.storage.api.FeedbackResponsesDb;
+
+/**
+ * Persists a synthetic course generated by {@link SyntheticDataBundleGenerator} straight into the datastore,
+ * whether the local one of the tests or that of the app.<br>
+ * The course, with its students, sessions and questions, is persisted as a data bundle. The responses
+ * and comments are then persisted a session at a time, in batches, with the IDs of the questions
+ * of the session looked up once instead of once per response.
+ * The responses are persisted without changing the statistics aggregates of their questions, whose statistics
+ * are counted from the responses until the aggregates are reconciled.
+ */
+public class SyntheticCourseDataPersister {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
+    private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+    private static final FeedbackResponseCommentsDb fcDb = new FeedbackResponseCommentsDb();
+
+    /**
+     * Generates and persists the whole course of {@code generator}, a session of responses at a time.
+     * @return the number of responses persisted
+     */
+    public int persistCourseWithResponses(SyntheticDataBundleGenerator generator)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        persistCourse(generator.generateCourse());
+        int numberOfResponses = 0;
+        for (int sessionIndex = 0; sessionIndex < generator.getShape().numOfSessions; sessionIndex++) {
+            DataBundle sessionResponses = generator.generateResponses(sessionIndex);
+            persistResponses(generator.getShape().courseId, generator.getSessionName(sessionIndex), sessionResponses);
+            numberOfResponses += sessionResponses.feedbackResponses.size();
+        }
+        return numberOfResponses;
+    }
+
+    /**
+     * Persists the course generated by {@link SyntheticDataBundleGenerator#generateCourse()}.
+     */
+    public void persistCourse(DataBundle course) throws InvalidParametersException, EntityDoesNotExistException {
+        new BackDoorLogic().persistDataBundle(course);
+    }
+
+    /**
+     * Persists the responses and comments of a session generated by
+     * {@link SyntheticDataBundleGenerator#generateResponses(int)}, once the course is persisted.
+     */
+    public void persistResponses(String courseId, String sessionName, DataBundle sessionResponses)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        Map<String, String> questionIds = new HashMap<String, String>();
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponseAttributes response : sessionResponses.feedbackResponses.values()) {
+            response.feedbackQuestionId = getQuestionId(questionIds, courseId, sessionName, response.feedbackQuestionId);
+            responses.add(response);
+            if (responses.size() == BATCH_SIZE) {
+                frDb.createFeedbackResponses(responses);
+                responses.clear();
+            }
+        }
+        frDb.createFeedbackResponses(responses);
+
+        List<FeedbackResponseCommentAttributes> comments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (FeedbackResponseCommentAttributes comment : sessionResponses.feedbackResponseComments.values()) {
+            String[] responseIdParams = comment.feedbackResponseId.split("%");
+            comment.feedbackQuestionId = getQuestionId(questionIds, courseId, sessionName, comment.feedbackQuestionId);
+            comment.feedbackResponseId =
+                    comment.feedbackQuestionId + "%" + responseIdParams[1] + "%" + responseIdParams[2];
+            comments.add(comment);
+            if (comments.size() == BATCH_SIZE) {
+                fcDb.createFeedbackResponseComments(comments);
+                comments.clear();
+            }
+        }
+        fcDb.createFeedbackResponseComments(comments);
+
+        FeedbackSessionsLogic.inst().updateRespondantsForSession(sessionName, courseId);
+    }
+
+    /**
+     * @return the ID of the question with the {@code questionNumber} in the session, looked up only
+     *         the first time it is needed
+     */
+    private String getQuestionId(Map<String, String> questionIds, String courseId, String sessionName,
+                                 String questionNumber) throws EntityDoesNotExistException {
+        String questionId = questionIds.get(questionNumber);
+        if (questionId == null) {
+            FeedbackQuestionAttributes question =
+                    fqDb.getFeedbackQuestion(sessionName, courseId, Integer.parseInt(questionNumber));
+            if (question == null) {
+                throw new EntityDoesNotExistException("Question " + questionNumber + " of " + sessionName
+                                                      + " has not persisted yet");
+            }
+            questionId = question.getId();
+            questionIds.put(questionNumber, questionId);
+        }
+        return questionId;
+    }
+
+}
@@ -0,0 +1,431 @@
+package teammates.test.driver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.TimeHelper;
+import teammates.common.util.Utils;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Generates the data of a large synthetic course, e.g. for load tests and benchmarks.<br>
+ * The data depends only on the {@link Shape} and the seed, so the same course can be generated again
+ * wherever it is needed instead of being kept as a fixture. The responses and comments of each session
+ * are generated on their own, so that the responses of a course with millions of them can be generated
+ * and stored a session at a time.<br>
+ * As in the data bundles of the tests, the questions of the responses and comments are given by their question
+ * numbers and the responses of the comments by {@code questionNumber%giverEmail%recipientEmail},
+ * to be replaced by the real IDs when the data is persisted.
+ */
+public class SyntheticDataBundleGenerator {
+
+    /**
+     * The shape of the course generated. The defaults are those of a large course.
+     */
+    public static class Shape {
+        public String courseId = "synthetic.course";
+        public int numOfStudents = 2000;
+        public int numOfSections = 20;
+        public int minTeamSize = 3;
+        public int maxTeamSize = 5;
+        public int numOfInstructors = 3;
+        public int numOfSessions = 40;
+        /** Number of the last sessions which are still open for responses */
+        public int numOfOpenSessions = 1;
+        /** Number of questions of each type in each session */
+        public int numOfMcqQuestions = 2;
+        public int numOfRubricQuestions = 2;
+        public int numOfContributionQuestions = 1;
+        public int numOfMcqChoices = 4;
+        public int numOfRubricChoices = 4;
+        public int numOfRubricSubQuestions = 3;
+        /** Chance that a student answers a question */
+        public double responseDensity = 0.9;
+        /** Chance that a response has an instructor's comment */
+        public double commentDensity = 0.05;
+
+        /**
+         * @return the default shape, with each field overridden by the property {@code synthetic.<fieldName>}
+         *         of {@code properties} if it is given
+         */
+        public static Shape fromProperties(Properties properties) {
+            return fromProperties(properties, new Shape());
+        }
+
+        /**
+         * @return {@code defaultShape}, e.g. the shape a benchmark needs, with each field overridden
+         *         by the property {@code synthetic.<fieldName>} of {@code properties} if it is given
+         */
+        public static Shape fromProperties(Properties properties, Shape defaultShape) {
+            Shape shape = defaultShape;
+            shape.courseId = properties.getProperty(PROPERTY_PREFIX + "courseId", shape.courseId);
+            shape.numOfStudents = getInt(properties, "numOfStudents", shape.numOfStudents);
+            shape.numOfSections = getInt(properties, "numOfSections", shape.numOfSections);
+            shape.minTeamSize = getInt(properties, "minTeamSize", shape.minTeamSize);
+            shape.maxTeamSize = getInt(properties, "maxTeamSize", shape.maxTeamSize);
+            shape.numOfInstructors = getInt(properties, "numOfInstructors", shape.numOfInstructors);
+            shape.numOfSessions = getInt(properties, "numOfSessions", shape.numOfSessions);
+            shape.numOfOpenSessions = getInt(properties, "numOfOpenSessions", shape.numOfOpenSessions);
+            shape.numOfMcqQuestions = getInt(properties, "numOfMcqQuestions", shape.numOfMcqQuestions);
+            shape.numOfRubricQuestions = getInt(properties, "numOfRubricQuestions", shape.numOfRubricQuestions);
+            shape.numOfContributionQuestions =
+                    getInt(properties, "numOfContributionQuestions", shape.numOfContributionQuestions);
+            shape.numOfMcqChoices = getInt(properties, "numOfMcqChoices", shape.numOfMcqChoices);
+            shape.numOfRubricChoices = getInt(properties, "numOfRubricChoices", shape.numOfRubricChoices);
+            shape.numOfRubricSubQuestions =
+                    getInt(properties, "numOfRubricSubQuestions", shape.numOfRubricSubQuestions);
+            shape.responseDensity = getDouble(properties, "responseDensity", shape.responseDensity);
+            shape.commentDensity = getDouble(properties, "commentDensity", shape.commentDensity);
+            return shape;
+        }
+
+        private static int getInt(Properties properties, String name, int defaultValue) {
+            String value = properties.getProperty(PROPERTY_PREFIX + name);
+            return value == null ? defaultValue : Integer.parseInt(value);
+        }
+
+        private static double getDouble(Properties properties, String name, double defaultValue) {
+            String value = properties.getProperty(PROPERTY_PREFIX + name);
+            return value == null ? defaultValue : Double.parseDouble(value);
+        }
+    }
+
+    /** Prefix of the properties from which the shape and the seed are read */
+    public static final String PROPERTY_PREFIX = "synthetic.";
+
+    public static final long DEFAULT_SEED = 1;
+
+    private static final Date FIRST_SESSION_START_TIME = TimeHelper.convertToDate("2016-01-04 09:00 AM UTC");
+    private static final Date OPEN_SESSION_END_TIME = TimeHelper.convertToDate("2099-12-31 11:59 PM UTC");
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final long WEEK_MILLIS = 7 * DAY_MILLIS;
+
+    private final Shape shape;
+    private final long seed;
+
+    private final List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+    /** The students of each team, by team name */
+    private final Map<String, List<StudentAttributes>> teams = new LinkedHashMap<String, List<StudentAttributes>>();
+
+    public SyntheticDataBundleGenerator(Shape shape, long seed) {
+        this.shape = shape;
+        this.seed = seed;
+        generateStudents();
+    }
+
+    /**
+     * @return the seed given by the property {@code synthetic.seed} of {@code properties},
+     *         or {@link #DEFAULT_SEED} if it is not given
+     */
+    public static long getSeed(Properties properties) {
+        String seed = properties.getProperty(PROPERTY_PREFIX + "seed");
+        return seed == null ? DEFAULT_SEED : Long.parseLong(seed);
+    }
+
+    /**
+     * @return the whole course with the responses and comments of all its sessions, which is meant only
+     *         for small shapes as all the responses are kept in memory
+     */
+    public DataBundle generate() {
+        DataBundle dataBundle = generateCourse();
+        for (int sessionIndex = 0; sessionIndex < shape.numOfSessions; sessionIndex++) {
+            DataBundle sessionResponses = generateResponses(sessionIndex);
+            dataBundle.feedbackResponses.putAll(sessionResponses.feedbackResponses);
+            dataBundle.feedbackResponseComments.putAll(sessionResponses.feedbackResponseComments);
+        }
+        return dataBundle;
+    }
+
+    /**
+     * @return the course with its instructors, students, sessions and questions, without responses
+     */
+    public DataBundle generateCourse() {
+        DataBundle dataBundle = new DataBundle();
+        dataBundle.courses.put(shape.courseId,
+                               new CourseAttributes(shape.courseId, "Synthetic Course " + shape.courseId, "UTC"));
+        for (int i = 1; i <= shape.numOfInstructors; i++) {
+            InstructorAttributes instructor = new InstructorAttributes(
+                    getInstructorGoogleId(i), shape.courseId, "Instructor " + i, getInstructorEmail(i),
+                    Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER,
+                    InstructorAttributes.DEFAULT_DISPLAY_NAME,
+                    new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER));
+            dataBundle.instructors.put("instructor" + i, instructor);
+        }
+        for (StudentAttributes student : students) {
+            dataBundle.students.put(student.email, student);
+        }
+        for (int sessionIndex = 0; sessionIndex < shape.numOfSessions; sessionIndex++) {
+            dataBundle.feedbackSessions.put(getSessionName(sessionIndex), createSession(sessionIndex));
+            for (FeedbackQuestionAttributes question : createQuestions(sessionIndex)) {
+                dataBundle.feedbackQuestions.put(getSessionName(sessionIndex) + ".question" + question.questionNumber,
+                                                 question);
+            }
+        }
+        return dataBundle;
+    }
+
+    /**
+     * @return the responses and comments of the session with the index {@code sessionIndex}, which are the
+     *         same whether or not the other sessions are generated
+     */
+    public DataBundle generateResponses(int sessionIndex) {
+        Random random = new Random(seed * 31 + sessionIndex + 1);
+        DataBundle dataBundle = new DataBundle();
+        String sessionName = getSessionName(sessionIndex);
+        for (FeedbackQuestionAttributes question : createQuestions(sessionIndex)) {
+            for (StudentAttributes giver : students) {
+                if (random.nextDouble() >= shape.responseDensity) {
+                    continue;
+                }
+                List<StudentAttributes> recipients = question.recipientType == FeedbackParticipantType.SELF
+                                                     ? Collections.singletonList(giver)
+                                                     : teams.get(giver.team);
+                for (StudentAttributes recipient : recipients) {
+                    FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                            sessionName, shape.courseId, String.valueOf(question.questionNumber),
+                            question.questionType, giver.email, giver.section, recipient.email, recipient.section,
+                            new Text(createAnswer(question.questionType, random)));
+                    String responseKey = question.questionNumber + "%" + giver.email + "%" + recipient.email;
+                    dataBundle.feedbackResponses.put(sessionName + "." + responseKey, response);
+
+                    if (random.nextDouble() < shape.commentDensity) {
+                        int instructorIndex = random.nextInt(shape.numOfInstructors) + 1;
+                        FeedbackResponseCommentAttributes comment = new FeedbackResponseCommentAttributes(
+                                shape.courseId, sessionName, String.valueOf(question.questionNumber),
+                                getInstructorEmail(instructorIndex), responseKey,
+                                getSessionStartTime(sessionIndex),
+                                new Text("Comment on the response of " + giver.name + " to " + recipient.name),
+                                giver.section, recipient.section);
+                        dataBundle.feedbackResponseComments.put("comment." + sessionName + "." + responseKey, comment);
+                    }
+                }
+            }
+        }
+        return dataBundle;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public String getSessionName(int sessionIndex) {
+        return "Synthetic Session " + (sessionIndex + 1);
+    }
+
+    /**
+     * Splits the students into teams of {@link Shape#minTeamSize} to {@link Shape#maxTeamSize} students,
+     * except that the last team is smaller if there are too few students left, and spreads the teams evenly
+     * across the sections.
+     */
+    private void generateStudents() {
+        Random random = new Random(seed);
+        List<Integer> teamSizes = new ArrayList<Integer>();
+        int numOfStudentsLeft = shape.numOfStudents;
+        while (numOfStudentsLeft > 0) {
+            int teamSize = shape.minTeamSize + random.nextInt(shape.maxTeamSize - shape.minTeamSize + 1);
+            if (numOfStudentsLeft <= shape.maxTeamSize) {
+                teamSize = numOfStudentsLeft;
+            } else if (numOfStudentsLeft - teamSize < shape.minTeamSize) {
+                // leaves enough students for the last team
+                teamSize = Math.max(numOfStudentsLeft - shape.minTeamSize, 1);
+            }
+            teamSizes.add(teamSize);
+            numOfStudentsLeft -= teamSize;
+        }
+
+        int studentIndex = 1;
+        for (int teamIndex = 0; teamIndex < teamSizes.size(); teamIndex++) {
+            String teamName = "Team " + (teamIndex + 1);
+            String sectionName = "Section " + (teamIndex * shape.numOfSections / teamSizes.size() + 1);
+            List<StudentAttributes> team = new ArrayList<StudentAttributes>();
+            for (int i = 0; i < teamSizes.get(teamIndex); i++) {
+                StudentAttributes student = new StudentAttributes(
+                        sectionName, teamName, "Student " + studentIndex, getStudentEmail(studentIndex),
+                        "", shape.courseId);
+                team.add(student);
+                students.add(student);
+                studentIndex++;
+            }
+            teams.put(teamName, team);
+        }
+    }
+
+    private FeedbackSessionAttributes createSession(int sessionIndex) {
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes();
+        session.setFeedbackSessionName(getSessionName(sessionIndex));
+        session.setCourseId(shape.courseId);
+        session.setCreatorEmail(getInstructorEmail(1));
+        session.setInstructions(new Text("Instructions of " + getSessionName(sessionIndex)));
+        Date startTime = getSessionStartTime(sessionIndex);
+        session.setCreatedTime(new Date(startTime.getTime() - DAY_MILLIS));
+        session.setStartTime(startTime);
+        session.setEndTime(sessionIndex < shape.numOfSessions - shape.numOfOpenSessions
+                           ? new Date(startTime.getTime() + WEEK_MILLIS)
+                           : OPEN_SESSION_END_TIME);
+        session.setSessionVisibleFromTime(startTime);
+        session.setResultsVisibleFromTime(Const.TIME_REPRESENTS_LATER);
+        session.setTimeZone(0);
+        session.setGracePeriod(15);
+        session.setFeedbackSessionType(FeedbackSessionType.STANDARD);
+        // the synthetic students are not sent any emails
+        session.setSentOpenEmail(true);
+        session.setOpeningEmailEnabled(false);
+        session.setClosingEmailEnabled(false);
+        session.setPublishedEmailEnabled(false);
+        return session;
+    }
+
+    private List<FeedbackQuestionAttributes> createQuestions(int sessionIndex) {
+        List<FeedbackQuestionAttributes> questions = new ArrayList<FeedbackQuestionAttributes>();
+        for (int i = 0; i < shape.numOfMcqQuestions; i++) {
+            questions.add(createQuestion(sessionIndex, questions.size() + 1, FeedbackQuestionType.MCQ,
+                                         FeedbackParticipantType.SELF, createMcqQuestionMetaData(i + 1)));
+        }
+        for (int i = 0; i < shape.numOfRubricQuestions; i++) {
+            questions.add(createQuestion(sessionIndex, questions.size() + 1, FeedbackQuestionType.RUBRIC,
+                                         FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF,
+                                         createRubricQuestionMetaData(i + 1)));
+        }
+        for (int i = 0; i < shape.numOfContributionQuestions; i++) {
+            questions.add(createQuestion(sessionIndex, questions.size() + 1, FeedbackQuestionType.CONTRIB,
+                                         FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF,
+                                         createContributionQuestionMetaData(i + 1)));
+        }
+        return questions;
+    }
+
+    private FeedbackQuestionAttributes createQuestion(int sessionIndex, int questionNumber,
+                                                      FeedbackQuestionType questionType,
+                                                      FeedbackParticipantType recipientType, String questionMetaData) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.feedbackSessionName = getSessionName(sessionIndex);
+        question.courseId = shape.courseId;
+        question.creatorEmail = getInstructorEmail(1);
+        question.questionNumber = questionNumber;
+        question.questionMetaData = new Text(questionMetaData);
+        question.questionType = questionType;
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = recipientType;
+        question.numberOfEntitiesToGiveFeedbackTo = Const.MAX_POSSIBLE_RECIPIENTS;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>();
+        question.showResponsesTo.add(FeedbackParticipantType.INSTRUCTORS);
+        question.showResponsesTo.add(FeedbackParticipantType.RECEIVER);
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>();
+        question.showGiverNameTo.add(FeedbackParticipantType.INSTRUCTORS);
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>();
+        question.showRecipientNameTo.add(FeedbackParticipantType.INSTRUCTORS);
+        question.showRecipientNameTo.add(FeedbackParticipantType.RECEIVER);
+        return question;
+    }
+
+    private String createMcqQuestionMetaData(int index) {
+        Map<String, Object> metaData = new LinkedHashMap<String, Object>();
+        metaData.put("questionText", "Multiple choice question " + index);
+        metaData.put("questionType", FeedbackQuestionType.MCQ);
+        metaData.put("numOfMcqChoices", shape.numOfMcqChoices);
+        metaData.put("mcqChoices", getChoices("Choice", shape.numOfMcqChoices));
+        metaData.put("otherEnabled", false);
+        return Utils.getTeammatesGson().toJson(metaData);
+    }
+
+    private String createRubricQuestionMetaData(int index) {
+        List<Double> weights = new ArrayList<Double>();
+        List<List<String>> descriptions = new ArrayList<List<String>>();
+        for (int i = 0; i < shape.numOfRubricChoices; i++) {
+            weights.add((double) i);
+        }
+        for (int i = 0; i < shape.numOfRubricSubQuestions; i++) {
+            descriptions.add(getChoices("Description", shape.numOfRubricChoices));
+        }
+
+        Map<String, Object> metaData = new LinkedHashMap<String, Object>();
+        metaData.put("questionText", "Rubric question " + index);
+        metaData.put("questionType", FeedbackQuestionType.RUBRIC);
+        metaData.put("numOfRubricChoices", shape.numOfRubricChoices);
+        metaData.put("rubricChoices", getChoices("Choice", shape.numOfRubricChoices));
+        metaData.put("hasAssignedWeights", true);
+        metaData.put("rubricWeights", weights);
+        metaData.put("numOfRubricSubQuestions", shape.numOfRubricSubQuestions);
+        metaData.put("rubricSubQuestions", getChoices("Sub-question", shape.numOfRubricSubQuestions));
+        metaData.put("rubricDescriptions", descriptions);
+        return Utils.getTeammatesGson().toJson(metaData);
+    }
+
+    private String createContributionQuestionMetaData(int index) {
+        Map<String, Object> metaData = new LinkedHashMap<String, Object>();
+        metaData.put("questionText", "Contribution question " + index);
+        metaData.put("questionType", FeedbackQuestionType.CONTRIB);
+        metaData.put("isNotSureAllowed", true);
+        return Utils.getTeammatesGson().toJson(metaData);
+    }
+
+    private String createAnswer(FeedbackQuestionType questionType, Random random) {
+        Map<String, Object> answer = new LinkedHashMap<String, Object>();
+        answer.put("questionType", questionType);
+        switch (questionType) {
+        case MCQ:
+            answer.put("answer", "Choice " + (random.nextInt(shape.numOfMcqChoices) + 1));
+            answer.put("isOther", false);
+            break;
+        case RUBRIC:
+            List<Integer> choices = new ArrayList<Integer>();
+            for (int i = 0; i < shape.numOfRubricSubQuestions; i++) {
+                choices.add(random.nextInt(shape.numOfRubricChoices));
+            }
+            answer.put("answer", choices);
+            break;
+        case CONTRIB:
+            // 60 to 140 percent of an equal share, in steps of 10 as given in the UI
+            answer.put("answer", 60 + 10 * random.nextInt(9));
+            break;
+        default:
+            throw new RuntimeException("Unexpected question type " + questionType);
+        }
+        return Utils.getTeammatesGson().toJson(answer);
+    }
+
+    private static List<String> getChoices(String prefix, int numOfChoices) {
+        List<String> choices = new ArrayList<String>();
+        for (int i = 1; i <= numOfChoices; i++) {
+            choices.add(prefix + " " + i);
+        }
+        return choices;
+    }
+
+    private Date getSessionStartTime(int sessionIndex) {
+        return new Date(FIRST_SESSION_START_TIME.getTime() + sessionIndex * WEEK_MILLIS);
+    }
+
+    private String getInstructorGoogleId(int index) {
+        return shape.courseId + ".instructor" + index;
+    }
+
+    private String getInstructorEmail(int index) {
+        return "instructor" + index + "@" + shape.courseId + ".tmt";
+    }
+
+    private String getStudentEmail(int index) {
+        return "student" + index + "@" + shape.courseId + ".tmt";
+    }
+
+}